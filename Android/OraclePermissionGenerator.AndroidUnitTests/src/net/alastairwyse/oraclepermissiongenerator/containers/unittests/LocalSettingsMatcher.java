@@ -47,7 +47,8 @@ public class LocalSettingsMatcher extends ArgumentMatcher<LocalSettings> {
         if ( localSettingsToMatch.getUserIdentifier().equals(comparisonLocalSettings.getUserIdentifier()) == false ||
              localSettingsToMatch.getRemoteDataModelProxyType() != comparisonLocalSettings.getRemoteDataModelProxyType() ||
              localSettingsToMatch.getSoapDataServiceLocation().equals(comparisonLocalSettings.getSoapDataServiceLocation()) == false ||
-             localSettingsToMatch.getRestDataServiceLocation().equals(comparisonLocalSettings.getRestDataServiceLocation()) == false) {
+             localSettingsToMatch.getRestDataServiceLocation().equals(comparisonLocalSettings.getRestDataServiceLocation()) == false ||
+             localSettingsToMatch.getRestRequestContextMode() != comparisonLocalSettings.getRestRequestContextMode()) {
             return false;
         }
         
@@ -57,9 +58,9 @@ public class LocalSettingsMatcher extends ArgumentMatcher<LocalSettings> {
     @Override
     public void describeTo(Description description) {
         // This method is typically used in mockito when a test fails, to report the value that was wanted but not matched.  E.g. this implementation will return...
-        //   "LocalSettings([userIdentifier], [remoteDataModelProxyType], [soapDataServiceLocation], [restDataServiceLocation])"
+        //   "LocalSettings([userIdentifier], [remoteDataModelProxyType], [soapDataServiceLocation], [restDataServiceLocation], [restRequestContextMode])"
         // ... which will typically be written to the mockito failure trace.
         
-        description.appendText(localSettingsToMatch.getClass().getSimpleName() + "(" + localSettingsToMatch.getUserIdentifier().toString() + ", " + localSettingsToMatch.getRemoteDataModelProxyType().name() + ", " + localSettingsToMatch.getSoapDataServiceLocation().toString() + ", " + localSettingsToMatch.getRestDataServiceLocation().toString() + ")");
+        description.appendText(localSettingsToMatch.getClass().getSimpleName() + "(" + localSettingsToMatch.getUserIdentifier().toString() + ", " + localSettingsToMatch.getRemoteDataModelProxyType().name() + ", " + localSettingsToMatch.getSoapDataServiceLocation().toString() + ", " + localSettingsToMatch.getRestDataServiceLocation().toString() + ", " + localSettingsToMatch.getRestRequestContextMode().name() + ")");
     }
 }
\ No newline at end of file
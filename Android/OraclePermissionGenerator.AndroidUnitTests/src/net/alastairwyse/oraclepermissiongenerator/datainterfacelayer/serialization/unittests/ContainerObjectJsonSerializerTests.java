@@ -16,6 +16,7 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.unittests;
 
+import java.io.*;
 import java.util.*;
 
 import android.test.*;
@@ -77,6 +78,92 @@ public class ContainerObjectJsonSerializerTests extends AndroidTestCase {
         assertEquals("SELECT", returnedList.get(2).getObjectPermissions().get(1).getPermission());
     }
     
+    public void testDeserializeOracleObjectPermissionSetArrayListFromStreamSuccessTest() throws Exception {
+        final String serializedList = "[{\"AddFlag\":true,\"ObjectName\":\"sp_inforce_ins\",\"ObjectOwner\":\"TEST_OWNER\",\"ObjectPermissions\":[{\"Permission\":\"EXECUTE\",\"Role\":\"APP_ROLE\"},{\"Permission\":\"EXECUTE\",\"Role\":\"GUI_ROLE\"}],\"ObjectType\":\"Stored Procedure\",\"RemoveFlag\":false} , { \"RemoveFlag\" : true, \"ObjectType\" : \"View\", \"UnknownProperty\" : {\"Nested\":[1, 2.5, null, \"\\u0041\"]}, \"ObjectPermissions\" : [], \"ObjectOwner\" : \"TEST_OWNER\", \"ObjectName\" : \"VW_INFORCE\", \"AddFlag\" : false }]";
+        
+        ArrayList<OracleObjectPermissionSet> returnedList = testContainerObjectJsonSerializer.DeserializeOracleObjectPermissionSetArrayList(new StringReader(serializedList));
+        
+        assertEquals(2, returnedList.size());
+        assertEquals("SP_INFORCE_INS", returnedList.get(0).getObjectName());
+        assertEquals("Stored Procedure", returnedList.get(0).getObjectType());
+        assertEquals("TEST_OWNER", returnedList.get(0).getObjectOwner());
+        assertEquals(true, returnedList.get(0).getAddFlag());
+        assertEquals(false, returnedList.get(0).getRemoveFlag());
+        assertEquals(2, returnedList.get(0).getObjectPermissions().size());
+        assertEquals("APP_ROLE", returnedList.get(0).getObjectPermissions().get(0).getRole());
+        assertEquals("EXECUTE", returnedList.get(0).getObjectPermissions().get(0).getPermission());
+        assertEquals("GUI_ROLE", returnedList.get(0).getObjectPermissions().get(1).getRole());
+        assertEquals("EXECUTE", returnedList.get(0).getObjectPermissions().get(1).getPermission());
+        
+        assertEquals("VW_INFORCE", returnedList.get(1).getObjectName());
+        assertEquals("View", returnedList.get(1).getObjectType());
+        assertEquals("TEST_OWNER", returnedList.get(1).getObjectOwner());
+        assertEquals(false, returnedList.get(1).getAddFlag());
+        assertEquals(true, returnedList.get(1).getRemoveFlag());
+        assertEquals(0, returnedList.get(1).getObjectPermissions().size());
+    }
+    
+    public void testDeserializeOracleObjectPermissionSetArrayListFromStreamMissingProperty() throws Exception {
+        final String serializedList = "[{\"AddFlag\":true,\"ObjectName\":\"SP_INFORCE_INS\",\"ObjectOwner\":\"TEST_OWNER\",\"ObjectPermissions\":[],\"RemoveFlag\":false}]";
+        
+        try {
+            testContainerObjectJsonSerializer.DeserializeOracleObjectPermissionSetArrayList(new StringReader(serializedList));
+            fail("Exception was not thrown.");
+        }
+        catch (Exception e) {
+            assertTrue(e.getMessage().contains("ObjectType"));
+        }
+    }
+    
+    public void testConstructorStringInternPoolSizeLessThan0() {
+        try {
+            testContainerObjectJsonSerializer = new ContainerObjectJsonSerializer(-1);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'stringInternPoolSize' must be greater than or equal to 0."));
+        }
+    }
+    
+    public void testDeserializeOracleObjectPermissionSetArrayListFromStreamLargeModelSharesNameInstances() throws Exception {
+        final String[] objectTypes = new String[] { "Table", "View", "Sequence", "Stored Procedure" };
+        final String[] objectOwners = new String[] { "XYZON_OWNER", "XYZON_AUDIT", "XYZON_ARCHIVE" };
+        final String[] roles = new String[] { "XYZON_APP_ROLE", "XYZON_POWER_ROLE", "XYZON_READ_ROLE", "XYZON_GUI_ROLE", "XYZON_BATCH_ROLE", "XYZON_REPORT_ROLE" };
+        final String[] permissions = new String[] { "SELECT", "INSERT", "UPDATE", "DELETE", "EXECUTE" };
+        final int objectCount = 20000;
+        final int permissionsPerObject = 4;
+        
+        StringBuilder serializedList = new StringBuilder();
+        serializedList.append("[");
+        for (int i = 0; i < objectCount; i++) {
+            if (i > 0) {
+                serializedList.append(",");
+            }
+            serializedList.append("{\"ObjectName\":\"OBJECT_" + i + "\",\"ObjectType\":\"" + objectTypes[i % objectTypes.length] + "\",\"ObjectOwner\":\"" + objectOwners[i % objectOwners.length] + "\",\"AddFlag\":true,\"RemoveFlag\":false,\"ObjectPermissions\":[");
+            for (int j = 0; j < permissionsPerObject; j++) {
+                if (j > 0) {
+                    serializedList.append(",");
+                }
+                serializedList.append("{\"Role\":\"" + roles[(i + j) % roles.length] + "\",\"Permission\":\"" + permissions[(i + j) % permissions.length] + "\"}");
+            }
+            serializedList.append("]}");
+        }
+        serializedList.append("]");
+        
+        ArrayList<OracleObjectPermissionSet> pooledList = testContainerObjectJsonSerializer.DeserializeOracleObjectPermissionSetArrayList(new StringReader(serializedList.toString()));
+        ArrayList<OracleObjectPermissionSet> unpooledList = new ContainerObjectJsonSerializer(0).DeserializeOracleObjectPermissionSetArrayList(new StringReader(serializedList.toString()));
+        
+        assertEquals(objectCount, pooledList.size());
+        assertEquals(objectCount, unpooledList.size());
+        assertEquals("OBJECT_19999", pooledList.get(objectCount - 1).getObjectName());
+        assertEquals(unpooledList.get(objectCount - 1).getObjectPermissions().get(3).getRole(), pooledList.get(objectCount - 1).getObjectPermissions().get(3).getRole());
+        // Each distinct name should be held in a single instance
+        IdentityHashMap<String, Boolean> pooledInstances = GetNameInstances(pooledList);
+        IdentityHashMap<String, Boolean> unpooledInstances = GetNameInstances(unpooledList);
+        assertEquals(objectTypes.length + objectOwners.length + roles.length + permissions.length, pooledInstances.size());
+        assertEquals(objectCount * (2 + permissionsPerObject * 2), unpooledInstances.size());
+    }
+    
     public void testSerializeAuthenticationContextSuccessTest() throws Exception {
         final String expectedSerializedAuthenticationContext = "{\"UserIdentifier\":\"test@tempuri.org\"}";
         AuthenticationContext authenticationContext = new AuthenticationContext("test@tempuri.org");
@@ -181,6 +268,23 @@ public class ContainerObjectJsonSerializerTests extends AndroidTestCase {
         assertEquals(0, returnedArrayList.size());
     }
     
+    public void testDeserializeStringArrayListFromStreamSuccessTest() throws Exception {
+        String serializedString = "[\"View\", \"Stored Procedure\" ,\"Table\"]";
+        
+        ArrayList<String> returnedArrayList = testContainerObjectJsonSerializer.DeserializeStringArrayList(new StringReader(serializedString));
+        
+        assertEquals(3, returnedArrayList.size());
+        assertEquals("View", returnedArrayList.get(0));
+        assertEquals("Stored Procedure", returnedArrayList.get(1));
+        assertEquals("Table", returnedArrayList.get(2));
+        
+        serializedString = " [ ] ";
+
+        returnedArrayList = testContainerObjectJsonSerializer.DeserializeStringArrayList(new StringReader(serializedString));
+        
+        assertEquals(0, returnedArrayList.size());
+    }
+    
     public void testDeserializeValidationResultSuccessTest() throws Exception {
         String serializedValidationResult = "{\"IsValid\":false,\"ValidationError\":\"The object 'SP_INFORCE_INS' already exists\"}";
         
@@ -236,4 +340,166 @@ public class ContainerObjectJsonSerializerTests extends AndroidTestCase {
         
         assertEquals(returnedRoleToUserMapArrayList.size(), 0);
     }
+    
+    public void testDeserializeRoleToUserMapArrayListFromStreamSuccessTest() throws Exception {
+        String serializedRoleToUserMap = "[{\"Role\":\"XYZON_POWER_ROLE\",\"User\":\"XYZON_POWER_USER\"},{\"User\":\"JONES_SAM\",\"Role\":\"XYZON_READ_ROLE\"}]";
+        
+        ArrayList<RoleToUserMap> returnedRoleToUserMapArrayList = testContainerObjectJsonSerializer.DeserializeRoleToUserMapArrayList(new StringReader(serializedRoleToUserMap));
+        
+        assertEquals(returnedRoleToUserMapArrayList.get(0).getRole(), "XYZON_POWER_ROLE");
+        assertEquals(returnedRoleToUserMapArrayList.get(0).getUser(), "XYZON_POWER_USER");
+        assertEquals(returnedRoleToUserMapArrayList.get(1).getRole(), "XYZON_READ_ROLE");
+        assertEquals(returnedRoleToUserMapArrayList.get(1).getUser(), "JONES_SAM");
+        assertEquals(returnedRoleToUserMapArrayList.size(), 2);
+        
+        serializedRoleToUserMap = "[]";
+        
+        returnedRoleToUserMapArrayList = testContainerObjectJsonSerializer.DeserializeRoleToUserMapArrayList(new StringReader(serializedRoleToUserMap));
+        
+        assertEquals(returnedRoleToUserMapArrayList.size(), 0);
+    }
+    
+    public void testSerializeModelOperationListSuccessTest() throws Exception {
+        ArrayList<ModelOperation> testModelOperations = new ArrayList<ModelOperation>();
+        testModelOperations.add(new ModelOperation(ModelOperationType.AddPermission, "ORDER_STATUSES", "XYZON_READ_ROLE", "SELECT"));
+        testModelOperations.add(new ModelOperation(ModelOperationType.SetRemoveFlag, "ORDER_STATUSES", true));
+        
+        String returnedString = testContainerObjectJsonSerializer.SerializeModelOperationList(testModelOperations);
+        
+        // Compare the parsed JSON rather than the string, as the order of properties within each object is not defined
+        org.json.JSONArray returnedJsonArray = new org.json.JSONArray(returnedString);
+        assertEquals(2, returnedJsonArray.length());
+        assertEquals("AddPermission", returnedJsonArray.getJSONObject(0).getString("OperationType"));
+        assertEquals("ORDER_STATUSES", returnedJsonArray.getJSONObject(0).getString("ObjectName"));
+        assertEquals("XYZON_READ_ROLE", returnedJsonArray.getJSONObject(0).getString("Role"));
+        assertEquals("SELECT", returnedJsonArray.getJSONObject(0).getString("Permission"));
+        assertEquals("SetRemoveFlag", returnedJsonArray.getJSONObject(1).getString("OperationType"));
+        assertEquals("ORDER_STATUSES", returnedJsonArray.getJSONObject(1).getString("ObjectName"));
+        assertEquals(true, returnedJsonArray.getJSONObject(1).getBoolean("FlagValue"));
+        assertEquals(true, returnedJsonArray.getJSONObject(1).isNull("Role"));
+        assertEquals(true, returnedJsonArray.getJSONObject(1).isNull("Permission"));
+    }
+    
+    public void testSerializeOracleObjectPermissionSetListSuccessTest() throws Exception {
+        OracleObjectPermissionSet testObject = new OracleObjectPermissionSet("SP_ORDERS_INS");
+        testObject.setObjectType("Stored Procedure");
+        testObject.setObjectOwner("XYZON");
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(testObject);
+        
+        String returnedString = testContainerObjectJsonSerializer.SerializeOracleObjectPermissionSetList(testObjects);
+        
+        // Compare the parsed JSON rather than the string, as the order of properties within each object is not defined
+        org.json.JSONArray returnedJsonArray = new org.json.JSONArray(returnedString);
+        assertEquals(1, returnedJsonArray.length());
+        assertEquals("SP_ORDERS_INS", returnedJsonArray.getJSONObject(0).getString("ObjectName"));
+        assertEquals("Stored Procedure", returnedJsonArray.getJSONObject(0).getString("ObjectType"));
+        assertEquals("XYZON", returnedJsonArray.getJSONObject(0).getString("ObjectOwner"));
+    }
+    
+    public void testSerializeRoleToUserMapListSuccessTest() throws Exception {
+        ArrayList<RoleToUserMap> testRoleToUserMaps = new ArrayList<RoleToUserMap>();
+        testRoleToUserMaps.add(new RoleToUserMap("XYZON_READ_ROLE", "JONES_SAM"));
+        testRoleToUserMaps.add(new RoleToUserMap("XYZON_POWER_ROLE", "XYZON_POWER_USER"));
+        
+        String returnedString = testContainerObjectJsonSerializer.SerializeRoleToUserMapList(testRoleToUserMaps);
+        
+        org.json.JSONArray returnedJsonArray = new org.json.JSONArray(returnedString);
+        assertEquals(2, returnedJsonArray.length());
+        assertEquals("XYZON_READ_ROLE", returnedJsonArray.getJSONObject(0).getString("Role"));
+        assertEquals("JONES_SAM", returnedJsonArray.getJSONObject(0).getString("User"));
+        assertEquals("XYZON_POWER_ROLE", returnedJsonArray.getJSONObject(1).getString("Role"));
+        assertEquals("XYZON_POWER_USER", returnedJsonArray.getJSONObject(1).getString("User"));
+    }
+    
+    public void testDeserializeEntityValidationResultsSuccessTest() throws Exception {
+        String serializedEntityValidationResults = "{\"ObjectResults\":[{\"ObjectNameResult\":{\"IsValid\":true,\"ValidationError\":\"\"},\"ObjectOwnerResult\":{\"IsValid\":true,\"ValidationError\":\"\"},\"ObjectTypeResult\":{\"IsValid\":false,\"ValidationError\":\"Object type 'Sequence' is not valid.\"}}],\"RoleToUserMapResults\":[{\"IsValid\":false,\"ValidationError\":\"Role 'XYZON_READ_ROLE' is already mapped to user 'JONES_SAM'.\"},{\"IsValid\":true,\"ValidationError\":\"\"}]}";
+        
+        EntityValidationResults returnedResults = testContainerObjectJsonSerializer.DeserializeEntityValidationResults(serializedEntityValidationResults);
+        
+        assertEquals(1, returnedResults.getObjectResults().size());
+        assertEquals(true, returnedResults.getObjectResults().get(0).getObjectNameResult().getIsValid());
+        assertEquals(false, returnedResults.getObjectResults().get(0).getObjectTypeResult().getIsValid());
+        assertEquals("Object type 'Sequence' is not valid.", returnedResults.getObjectResults().get(0).getObjectTypeResult().getValidationError());
+        assertEquals(true, returnedResults.getObjectResults().get(0).getObjectOwnerResult().getIsValid());
+        assertEquals(2, returnedResults.getRoleToUserMapResults().size());
+        assertEquals(false, returnedResults.getRoleToUserMapResults().get(0).getIsValid());
+        assertEquals("Role 'XYZON_READ_ROLE' is already mapped to user 'JONES_SAM'.", returnedResults.getRoleToUserMapResults().get(0).getValidationError());
+        assertEquals(true, returnedResults.getRoleToUserMapResults().get(1).getIsValid());
+        
+        serializedEntityValidationResults = "{\"ObjectResults\":[],\"RoleToUserMapResults\":[]}";
+        
+        returnedResults = testContainerObjectJsonSerializer.DeserializeEntityValidationResults(serializedEntityValidationResults);
+        
+        assertEquals(0, returnedResults.getObjectResults().size());
+        assertEquals(0, returnedResults.getRoleToUserMapResults().size());
+    }
+    
+    public void testDeserializeModelOperationResultArrayListSuccessTest() throws Exception {
+        String serializedModelOperationResults = "[{\"ErrorMessage\":null,\"Success\":true},{\"ErrorMessage\":\"Object 'ORDER_STATUSES' does not exist.\",\"Success\":false}]";
+        
+        ArrayList<ModelOperationResult> returnedModelOperationResults = testContainerObjectJsonSerializer.DeserializeModelOperationResultArrayList(serializedModelOperationResults);
+        
+        assertEquals(returnedModelOperationResults.get(0).getSuccess(), true);
+        assertNull(returnedModelOperationResults.get(0).getErrorMessage());
+        assertEquals(returnedModelOperationResults.get(1).getSuccess(), false);
+        assertEquals(returnedModelOperationResults.get(1).getErrorMessage(), "Object 'ORDER_STATUSES' does not exist.");
+        assertEquals(returnedModelOperationResults.size(), 2);
+        
+        serializedModelOperationResults = "[]";
+        
+        returnedModelOperationResults = testContainerObjectJsonSerializer.DeserializeModelOperationResultArrayList(serializedModelOperationResults);
+        
+        assertEquals(returnedModelOperationResults.size(), 0);
+    }
+    
+    public void testDeserializeModelChangeSetSuccessTest() throws Exception {
+        String serializedModelChangeSet = "{\"AddedObjects\":[{\"AddFlag\":true,\"ObjectName\":\"SP_ORDERS_INS\",\"ObjectOwner\":\"XYZON\",\"ObjectPermissions\":[{\"Permission\":\"EXECUTE\",\"Role\":\"XYZON_APP_ROLE\"}],\"ObjectType\":\"Stored Procedure\",\"RemoveFlag\":false}],\"AddedRoleToUserMaps\":[{\"Role\":\"XYZON_READ_ROLE\",\"User\":\"JONES_SAM\"}],\"ModelVersion\":635812345678901234,\"ModifiedObjects\":[],\"RemovedObjectNames\":[\"SP_ORDERS_DEL\"],\"RemovedRoleToUserMaps\":[],\"SnapshotRequired\":false}";
+        
+        ModelChangeSet returnedModelChangeSet = testContainerObjectJsonSerializer.DeserializeModelChangeSet(new StringReader(serializedModelChangeSet));
+        
+        assertEquals(635812345678901234L, returnedModelChangeSet.getModelVersion());
+        assertEquals(false, returnedModelChangeSet.getSnapshotRequired());
+        assertEquals(1, returnedModelChangeSet.getAddedObjects().size());
+        assertEquals("SP_ORDERS_INS", returnedModelChangeSet.getAddedObjects().get(0).getObjectName());
+        assertEquals("Stored Procedure", returnedModelChangeSet.getAddedObjects().get(0).getObjectType());
+        assertEquals(1, returnedModelChangeSet.getAddedObjects().get(0).getObjectPermissions().size());
+        assertEquals(0, returnedModelChangeSet.getModifiedObjects().size());
+        assertEquals(1, returnedModelChangeSet.getRemovedObjectNames().size());
+        assertEquals("SP_ORDERS_DEL", returnedModelChangeSet.getRemovedObjectNames().get(0));
+        assertEquals(1, returnedModelChangeSet.getAddedRoleToUserMaps().size());
+        assertEquals("XYZON_READ_ROLE", returnedModelChangeSet.getAddedRoleToUserMaps().get(0).getRole());
+        assertEquals("JONES_SAM", returnedModelChangeSet.getAddedRoleToUserMaps().get(0).getUser());
+        assertEquals(0, returnedModelChangeSet.getRemovedRoleToUserMaps().size());
+    }
+    
+    public void testDeserializeModelChangeSetMissingProperty() throws Exception {
+        final String serializedModelChangeSet = "{\"AddedObjects\":[],\"AddedRoleToUserMaps\":[],\"ModifiedObjects\":[],\"RemovedObjectNames\":[],\"RemovedRoleToUserMaps\":[],\"SnapshotRequired\":true}";
+        
+        try {
+            testContainerObjectJsonSerializer.DeserializeModelChangeSet(new StringReader(serializedModelChangeSet));
+            fail("Exception was not thrown.");
+        }
+        catch (Exception e) {
+            assertTrue(e.getMessage().contains("ModelVersion"));
+        }
+    }
+    
+    /**
+     * Gets the distinct String instances holding the object type, object owner, role and permission names in the inputted list of OracleObjectPermissionSet objects.
+     * @param   oracleObjectPermissionSets  The OracleObjectPermissionSet objects.
+     * @return                              The distinct String instances, compared by reference.
+     */
+    private IdentityHashMap<String, Boolean> GetNameInstances(List<OracleObjectPermissionSet> oracleObjectPermissionSets) {
+        IdentityHashMap<String, Boolean> instances = new IdentityHashMap<String, Boolean>();
+        for (OracleObjectPermissionSet currentOracleObjectPermissionSet : oracleObjectPermissionSets) {
+            instances.put(currentOracleObjectPermissionSet.getObjectType(), true);
+            instances.put(currentOracleObjectPermissionSet.getObjectOwner(), true);
+            for (RoleToPermissionMap currentRoleToPermissionMap : currentOracleObjectPermissionSet.getObjectPermissions()) {
+                instances.put(currentRoleToPermissionMap.getRole(), true);
+                instances.put(currentRoleToPermissionMap.getPermission(), true);
+            }
+        }
+        return instances;
+    }
 }
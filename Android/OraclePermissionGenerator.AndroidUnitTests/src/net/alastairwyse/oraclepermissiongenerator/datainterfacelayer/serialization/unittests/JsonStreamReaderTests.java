@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.unittests;
+
+import java.io.*;
+
+import org.json.JSONException;
+
+import android.test.*;
+
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.*;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.serialization.JsonStreamReader.
+ * @author Alastair Wyse
+ */
+public class JsonStreamReaderTests extends AndroidTestCase {
+
+    public void testReadNestedStructure() throws Exception {
+        JsonStreamReader testJsonStreamReader = new JsonStreamReader(new StringReader(" { \"Name\" : \"value\", \"Flag\":true, \"Count\":-12, \"Ratio\":2.5e2, \"Empty\":null, \"List\":[ [], {} ] } "));
+        
+        assertEquals(JsonToken.BeginObject, testJsonStreamReader.Peek());
+        testJsonStreamReader.BeginObject();
+        assertEquals("Name", testJsonStreamReader.NextName());
+        assertEquals("value", testJsonStreamReader.NextString());
+        assertEquals("Flag", testJsonStreamReader.NextName());
+        assertEquals(true, testJsonStreamReader.NextBoolean());
+        assertEquals("Count", testJsonStreamReader.NextName());
+        assertEquals(-12, testJsonStreamReader.NextLong());
+        assertEquals("Ratio", testJsonStreamReader.NextName());
+        assertEquals(250.0, testJsonStreamReader.NextDouble());
+        assertEquals("Empty", testJsonStreamReader.NextName());
+        assertEquals(JsonToken.NullValue, testJsonStreamReader.Peek());
+        testJsonStreamReader.NextNull();
+        assertEquals("List", testJsonStreamReader.NextName());
+        testJsonStreamReader.BeginArray();
+        testJsonStreamReader.BeginArray();
+        assertFalse(testJsonStreamReader.HasNext());
+        testJsonStreamReader.EndArray();
+        testJsonStreamReader.BeginObject();
+        assertFalse(testJsonStreamReader.HasNext());
+        testJsonStreamReader.EndObject();
+        testJsonStreamReader.EndArray();
+        testJsonStreamReader.EndObject();
+        assertEquals(JsonToken.EndDocument, testJsonStreamReader.Peek());
+    }
+    
+    public void testReadEscapedStrings() throws Exception {
+        JsonStreamReader testJsonStreamReader = new JsonStreamReader(new StringReader("[\"quote\\\"backslash\\\\slash\\/\", \"\\t\\r\\n\", \"\\u00e9\\u6771\"]"));
+        
+        testJsonStreamReader.BeginArray();
+        assertEquals("quote\"backslash\\slash/", testJsonStreamReader.NextString());
+        assertEquals("\t\r\n", testJsonStreamReader.NextString());
+        assertEquals("\u00e9\u6771", testJsonStreamReader.NextString());
+        testJsonStreamReader.EndArray();
+    }
+    
+    public void testReadStringSpanningBufferBoundary() throws Exception {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longValue.append((char)('A' + (i % 26)));
+        }
+        JsonStreamReader testJsonStreamReader = new JsonStreamReader(new StringReader("[\"" + longValue.toString() + "\",\"\\u0041\"]"));
+        
+        testJsonStreamReader.BeginArray();
+        assertEquals(longValue.toString(), testJsonStreamReader.NextString());
+        assertEquals("A", testJsonStreamReader.NextString());
+        testJsonStreamReader.EndArray();
+    }
+    
+    public void testSkipValue() throws Exception {
+        JsonStreamReader testJsonStreamReader = new JsonStreamReader(new StringReader("[{\"Skipped\":[1,{\"a\":[true,false,null]},\"x\"]}, \"Kept\"]"));
+        
+        testJsonStreamReader.BeginArray();
+        testJsonStreamReader.SkipValue();
+        assertEquals("Kept", testJsonStreamReader.NextString());
+        testJsonStreamReader.EndArray();
+    }
+    
+    public void testMissingSeparatorThrowsException() throws Exception {
+        JsonStreamReader testJsonStreamReader = new JsonStreamReader(new StringReader("[\"a\" \"b\"]"));
+        
+        testJsonStreamReader.BeginArray();
+        testJsonStreamReader.NextString();
+        try {
+            testJsonStreamReader.NextString();
+            fail("Exception was not thrown.");
+        }
+        catch (JSONException e) {
+            assertTrue(e.getMessage().contains("Expected ',' or ']'"));
+        }
+    }
+    
+    public void testUnterminatedArrayThrowsException() throws Exception {
+        JsonStreamReader testJsonStreamReader = new JsonStreamReader(new StringReader("[\"a\""));
+        
+        testJsonStreamReader.BeginArray();
+        testJsonStreamReader.NextString();
+        try {
+            testJsonStreamReader.HasNext();
+            fail("Exception was not thrown.");
+        }
+        catch (JSONException e) {
+            assertTrue(e.getMessage().contains("Unexpected end of document"));
+        }
+    }
+    
+    public void testUnexpectedTokenThrowsException() throws Exception {
+        JsonStreamReader testJsonStreamReader = new JsonStreamReader(new StringReader("{\"a\":1}"));
+        
+        try {
+            testJsonStreamReader.BeginArray();
+            fail("Exception was not thrown.");
+        }
+        catch (JSONException e) {
+            assertTrue(e.getMessage().contains("Expected BeginArray but found BeginObject"));
+        }
+    }
+}
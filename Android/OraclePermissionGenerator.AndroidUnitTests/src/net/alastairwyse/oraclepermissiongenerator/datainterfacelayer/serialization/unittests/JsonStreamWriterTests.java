@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.unittests;
+
+import java.io.*;
+
+import org.json.JSONException;
+
+import android.test.*;
+
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.*;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.serialization.JsonStreamWriter.
+ * @author Alastair Wyse
+ */
+public class JsonStreamWriterTests extends AndroidTestCase {
+
+    private StringWriter testStringWriter;
+    private JsonStreamWriter testJsonStreamWriter;
+    
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        
+        testStringWriter = new StringWriter();
+        testJsonStreamWriter = new JsonStreamWriter(testStringWriter);
+    }
+    
+    public void testWriteNestedStructure() throws Exception {
+        testJsonStreamWriter.BeginObject();
+        testJsonStreamWriter.Name("Name");
+        testJsonStreamWriter.Value("value");
+        testJsonStreamWriter.Name("Flag");
+        testJsonStreamWriter.Value(true);
+        testJsonStreamWriter.Name("Count");
+        testJsonStreamWriter.Value(-12);
+        testJsonStreamWriter.Name("Empty");
+        testJsonStreamWriter.NullValue();
+        testJsonStreamWriter.Name("List");
+        testJsonStreamWriter.BeginArray();
+        testJsonStreamWriter.BeginArray();
+        testJsonStreamWriter.EndArray();
+        testJsonStreamWriter.BeginObject();
+        testJsonStreamWriter.EndObject();
+        testJsonStreamWriter.Value(false);
+        testJsonStreamWriter.EndArray();
+        testJsonStreamWriter.EndObject();
+        testJsonStreamWriter.Flush();
+        
+        assertEquals("{\"Name\":\"value\",\"Flag\":true,\"Count\":-12,\"Empty\":null,\"List\":[[],{},false]}", testStringWriter.toString());
+    }
+    
+    public void testWriteEscapedStrings() throws Exception {
+        testJsonStreamWriter.BeginArray();
+        testJsonStreamWriter.Value("quote\"backslash\\slash/");
+        testJsonStreamWriter.Value("\t\b\n\r\f\u0001\u2028");
+        testJsonStreamWriter.Value("\u00e9\u6771");
+        testJsonStreamWriter.EndArray();
+        
+        assertEquals("[\"quote\\\"backslash\\\\slash\\/\",\"\\t\\b\\n\\r\\f\\u0001\\u2028\",\"\u00e9\u6771\"]", testStringWriter.toString());
+    }
+    
+    public void testWriteNullString() throws Exception {
+        testJsonStreamWriter.BeginArray();
+        testJsonStreamWriter.Value((String)null);
+        testJsonStreamWriter.EndArray();
+        
+        assertEquals("[null]", testStringWriter.toString());
+    }
+    
+    public void testNameNull() throws Exception {
+        testJsonStreamWriter.BeginObject();
+        try {
+            testJsonStreamWriter.Name(null);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'name' cannot be null."));
+        }
+    }
+    
+    public void testValueWithoutName() throws Exception {
+        testJsonStreamWriter.BeginObject();
+        try {
+            testJsonStreamWriter.Value("value");
+            fail("Exception was not thrown.");
+        }
+        catch (JSONException e) {
+            assertTrue(e.getMessage().contains("Cannot write a value within an object without first writing a property name."));
+        }
+    }
+    
+    public void testNameOutsideObject() throws Exception {
+        testJsonStreamWriter.BeginArray();
+        try {
+            testJsonStreamWriter.Name("Name");
+            fail("Exception was not thrown.");
+        }
+        catch (JSONException e) {
+            assertTrue(e.getMessage().contains("Cannot write a property name outside of an object, or directly after another property name."));
+        }
+    }
+    
+    public void testEndArrayOutsideArray() throws Exception {
+        testJsonStreamWriter.BeginObject();
+        try {
+            testJsonStreamWriter.EndArray();
+            fail("Exception was not thrown.");
+        }
+        catch (JSONException e) {
+            assertTrue(e.getMessage().contains("Cannot end an array outside of an array."));
+        }
+    }
+    
+    public void testMultipleTopLevelValues() throws Exception {
+        testJsonStreamWriter.Value(true);
+        try {
+            testJsonStreamWriter.Value(false);
+            fail("Exception was not thrown.");
+        }
+        catch (JSONException e) {
+            assertTrue(e.getMessage().contains("A JSON document must contain a single top level value."));
+        }
+    }
+}
@@ -16,15 +16,20 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
 
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 import android.test.AndroidTestCase;
 
 import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.containers.unittests.LocalSettingsMatcher;
 import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
 
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
+import org.mockito.ArgumentCaptor;
 
 /**
  * Unit tests for class oraclepermissiongenerator.datainterfacelayer.DataInterfaceService.
@@ -38,6 +43,7 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
     private INetworkInfoProvider mockNetworkInfoProvider;
     private ILocalSettingsPersister mockLocalSettingsPersister;
     private IScriptPersister mockScriptPersister;
+    private DeferredExecutor testSynchronizationExecutor;
 
     @Override
     public void setUp() throws Exception {
@@ -48,8 +54,10 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
         mockNetworkInfoProvider = mock(INetworkInfoProvider.class);
         mockLocalSettingsPersister = mock(ILocalSettingsPersister.class);
         mockScriptPersister = mock(IScriptPersister.class);
-        testDataInterfaceService = new DataInterfaceService(mockLocationProvider, mockNetworkInfoProvider, mockLocalSettingsPersister, mockScriptPersister);
+        testSynchronizationExecutor = new DeferredExecutor();
+        testDataInterfaceService = new DataInterfaceService(mockLocationProvider, mockNetworkInfoProvider, mockLocalSettingsPersister, mockScriptPersister, new ObjectPermissionModelReplica(), testSynchronizationExecutor);
         testDataInterfaceService.setRemoteDataModelProxy(mockRemoteDataModelProxy);
+        testDataInterfaceService.setModelStoreSynchronizationInterval(0);
     }
     
     public void testAddObjectPermissionSetSuccessTest() throws Exception {
@@ -131,13 +139,144 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
     
     public void testgetObjects() throws Exception {
         ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
         
+        when(mockRemoteDataModelProxy.getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, true));
+        when(mockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<String>());
         when(mockRemoteDataModelProxy.getObjects(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testObjects);
+        when(mockRemoteDataModelProxy.getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<RoleToUserMap>());
         
         ArrayList<OracleObjectPermissionSet> returnedObjects = testDataInterfaceService.getObjects();
         
+        verify(mockRemoteDataModelProxy).getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy).getRoles(any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy).getObjects(any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy).getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class));
+        verifyNoMoreInteractions(mockRemoteDataModelProxy);
+        assertEquals(0, testSynchronizationExecutor.getPendingTaskCount());
+        assertEquals(1, returnedObjects.size());
+        assertEquals("SP_CUSTOMERS_INS", returnedObjects.get(0).getObjectName());
+    }
+    
+    public void testgetObjectsAppliesChanges() throws Exception {
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_UPD"));
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_DEL"));
+        ModelChangeSet testChangeSet = CreateModelChangeSet(103, false);
+        OracleObjectPermissionSet modifiedObject = new OracleObjectPermissionSet("SP_CUSTOMERS_UPD");
+        modifiedObject.setAddFlag(true);
+        testChangeSet.getModifiedObjects().add(modifiedObject);
+        testChangeSet.getAddedObjects().add(new OracleObjectPermissionSet("SP_ORDERS_INS"));
+        testChangeSet.getRemovedObjectNames().add("SP_CUSTOMERS_DEL");
+        
+        when(mockRemoteDataModelProxy.getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, true));
+        when(mockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<String>());
+        when(mockRemoteDataModelProxy.getObjects(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testObjects);
+        when(mockRemoteDataModelProxy.getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<RoleToUserMap>());
+        when(mockRemoteDataModelProxy.getChangesSince(eq(100L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testChangeSet);
+        
+        testDataInterfaceService.getObjects();
+        // The second call returns the objects held locally, and synchronizes in the background
+        ArrayList<OracleObjectPermissionSet> staleObjects = testDataInterfaceService.getObjects();
+        assertEquals(1, testSynchronizationExecutor.getPendingTaskCount());
+        testSynchronizationExecutor.RunPendingTasks();
+        ArrayList<OracleObjectPermissionSet> returnedObjects = testDataInterfaceService.getObjects();
+        
+        verify(mockRemoteDataModelProxy).getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy, times(2)).getRoles(any(AuthenticationContext.class), any(TrackingData.class));
         verify(mockRemoteDataModelProxy).getObjects(any(AuthenticationContext.class), any(TrackingData.class));
-        assertEquals(testObjects, returnedObjects);
+        verify(mockRemoteDataModelProxy).getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy).getChangesSince(eq(100L), any(AuthenticationContext.class), any(TrackingData.class));
+        verifyNoMoreInteractions(mockRemoteDataModelProxy);
+        assertEquals(3, staleObjects.size());
+        assertEquals("SP_CUSTOMERS_DEL", staleObjects.get(2).getObjectName());
+        assertEquals(3, returnedObjects.size());
+        assertEquals("SP_CUSTOMERS_INS", returnedObjects.get(0).getObjectName());
+        assertEquals("SP_CUSTOMERS_UPD", returnedObjects.get(1).getObjectName());
+        assertEquals(true, returnedObjects.get(1).getAddFlag());
+        assertEquals("SP_ORDERS_INS", returnedObjects.get(2).getObjectName());
+    }
+    
+    public void testgetObjectsSnapshotRequired() throws Exception {
+        ArrayList<OracleObjectPermissionSet> firstObjects = new ArrayList<OracleObjectPermissionSet>();
+        firstObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
+        ArrayList<OracleObjectPermissionSet> secondObjects = new ArrayList<OracleObjectPermissionSet>();
+        secondObjects.add(new OracleObjectPermissionSet("SP_ORDERS_INS"));
+        
+        when(mockRemoteDataModelProxy.getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, true));
+        when(mockRemoteDataModelProxy.getChangesSince(eq(100L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(5000, true));
+        when(mockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<String>());
+        when(mockRemoteDataModelProxy.getObjects(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(firstObjects, secondObjects);
+        when(mockRemoteDataModelProxy.getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<RoleToUserMap>());
+        
+        testDataInterfaceService.getObjects();
+        testDataInterfaceService.getObjects();
+        testSynchronizationExecutor.RunPendingTasks();
+        ArrayList<OracleObjectPermissionSet> returnedObjects = testDataInterfaceService.getObjects();
+        
+        verify(mockRemoteDataModelProxy).getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy).getChangesSince(eq(100L), any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy, times(2)).getRoles(any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy, times(2)).getObjects(any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy, times(2)).getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class));
+        verifyNoMoreInteractions(mockRemoteDataModelProxy);
+        assertEquals(1, returnedObjects.size());
+        assertEquals("SP_ORDERS_INS", returnedObjects.get(0).getObjectName());
+    }
+    
+    public void testgetObjectsModelStoreReloadedWhenUserChanged() throws Exception {
+        LocalSettings testLocalSettings = new LocalSettings();
+        testLocalSettings.setUserIdentifier("user@tempuri.org");
+        testLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.REST);
+        testLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        LocalSettings secondLocalSettings = new LocalSettings();
+        secondLocalSettings.setUserIdentifier("otheruser@tempuri.org");
+        secondLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.REST);
+        secondLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        ArrayList<OracleObjectPermissionSet> firstObjects = new ArrayList<OracleObjectPermissionSet>();
+        firstObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
+        ArrayList<OracleObjectPermissionSet> secondObjects = new ArrayList<OracleObjectPermissionSet>();
+        secondObjects.add(new OracleObjectPermissionSet("SP_ORDERS_INS"));
+        
+        when(mockRemoteDataModelProxy.getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, true), CreateModelChangeSet(200, true));
+        when(mockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<String>());
+        when(mockRemoteDataModelProxy.getObjects(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(firstObjects, secondObjects);
+        when(mockRemoteDataModelProxy.getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<RoleToUserMap>());
+        
+        testDataInterfaceService.setLocalSettings(testLocalSettings);
+        testDataInterfaceService.getObjects();
+        testDataInterfaceService.setLocalSettings(secondLocalSettings);
+        ArrayList<OracleObjectPermissionSet> returnedObjects = testDataInterfaceService.getObjects();
+        
+        verify(mockRemoteDataModelProxy, times(2)).getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy, times(2)).getRoles(any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy, times(2)).getObjects(any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy, times(2)).getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class));
+        verifyNoMoreInteractions(mockRemoteDataModelProxy);
+        assertEquals(0, testSynchronizationExecutor.getPendingTaskCount());
+        assertEquals("SP_ORDERS_INS", returnedObjects.get(0).getObjectName());
+    }
+    
+    public void testgetObjectsModelStoreKeptWhenProxyReplaced() throws Exception {
+        IRemoteDataModelProxy secondMockRemoteDataModelProxy = mock(IRemoteDataModelProxy.class);
+        
+        when(mockRemoteDataModelProxy.getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, true));
+        when(mockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<String>());
+        when(mockRemoteDataModelProxy.getObjects(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<OracleObjectPermissionSet>());
+        when(mockRemoteDataModelProxy.getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<RoleToUserMap>());
+        when(secondMockRemoteDataModelProxy.getChangesSince(eq(100L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, false));
+        when(secondMockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<String>());
+        
+        testDataInterfaceService.getObjects();
+        // A new proxy for the same remote data model (e.g. created when an activity is restarted) does not require the local copy to be retrieved again
+        testDataInterfaceService.setRemoteDataModelProxy(secondMockRemoteDataModelProxy);
+        testDataInterfaceService.getObjects();
+        testSynchronizationExecutor.RunPendingTasks();
+        
+        verify(secondMockRemoteDataModelProxy).getChangesSince(eq(100L), any(AuthenticationContext.class), any(TrackingData.class));
+        verify(secondMockRemoteDataModelProxy).getRoles(any(AuthenticationContext.class), any(TrackingData.class));
+        verifyNoMoreInteractions(secondMockRemoteDataModelProxy);
     }
     
     public void testSetAddFlag() throws Exception {
@@ -148,6 +287,19 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
         verify(mockRemoteDataModelProxy).SetAddFlag(eq(testObjectName), eq(true), any(AuthenticationContext.class), any(TrackingData.class));
     }
     
+    public void testSetAddFlagAppliedToModelStore() throws Exception {
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
+        StubModelStoreSnapshot(testObjects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        
+        testDataInterfaceService.getObjects();
+        testDataInterfaceService.SetAddFlag("SP_CUSTOMERS_INS", true);
+        ArrayList<OracleObjectPermissionSet> returnedObjects = testDataInterfaceService.getObjects();
+        
+        verify(mockRemoteDataModelProxy).SetAddFlag(eq("SP_CUSTOMERS_INS"), eq(true), any(AuthenticationContext.class), any(TrackingData.class));
+        assertEquals(true, returnedObjects.get(0).getAddFlag());
+    }
+    
     public void testSetRemoveFlag() throws Exception {
         final String testObjectName = "SP_CUSTOMERS_INS";
         
@@ -176,10 +328,46 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
         verify(mockRemoteDataModelProxy).RemovePermission(eq(testObjectName), eq(testRole), eq(testPermission), any(AuthenticationContext.class), any(TrackingData.class));
     }
     
+    public void testExecuteBatch() throws Exception {
+        ArrayList<ModelOperation> testOperations = new ArrayList<ModelOperation>();
+        testOperations.add(new ModelOperation(ModelOperationType.RemovePermission, "SP_CUSTOMERS_INS", "XYZON_APP_ROLE", "EXECUTE"));
+        testOperations.add(new ModelOperation(ModelOperationType.SetAddFlag, "SP_CUSTOMERS_INS", false));
+        ArrayList<ModelOperationResult> testResults = new ArrayList<ModelOperationResult>();
+        testResults.add(new ModelOperationResult(true, null));
+        testResults.add(new ModelOperationResult(true, null));
+        
+        when(mockRemoteDataModelProxy.ExecuteBatch(eq(testOperations), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testResults);
+        
+        ArrayList<ModelOperationResult> returnedResults = testDataInterfaceService.ExecuteBatch(testOperations);
+        
+        verify(mockRemoteDataModelProxy).ExecuteBatch(eq(testOperations), any(AuthenticationContext.class), any(TrackingData.class));
+        assertEquals(testResults, returnedResults);
+    }
+    
+    public void testExecuteBatchSuccessfulOperationsAppliedToModelStore() throws Exception {
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
+        testObjects.get(0).getObjectPermissions().add(new RoleToPermissionMap("XYZON_APP_ROLE", "EXECUTE"));
+        StubModelStoreSnapshot(testObjects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        ArrayList<ModelOperation> testOperations = new ArrayList<ModelOperation>();
+        testOperations.add(new ModelOperation(ModelOperationType.AddPermission, "SP_CUSTOMERS_INS", "XYZON_POWER_ROLE", "EXECUTE"));
+        testOperations.add(new ModelOperation(ModelOperationType.RemovePermission, "SP_CUSTOMERS_INS", "XYZON_APP_ROLE", "EXECUTE"));
+        ArrayList<ModelOperationResult> testResults = new ArrayList<ModelOperationResult>();
+        testResults.add(new ModelOperationResult(true, null));
+        testResults.add(new ModelOperationResult(false, "Permission 'EXECUTE' does not exist for role 'XYZON_APP_ROLE'."));
+        
+        when(mockRemoteDataModelProxy.ExecuteBatch(eq(testOperations), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testResults);
+        
+        testDataInterfaceService.getObjects();
+        testDataInterfaceService.ExecuteBatch(testOperations);
+        
+        assertEquals(Arrays.asList("EXECUTE"), testDataInterfaceService.getPermissions("SP_CUSTOMERS_INS", "XYZON_POWER_ROLE"));
+        assertEquals(Arrays.asList("EXECUTE"), testDataInterfaceService.getPermissions("SP_CUSTOMERS_INS", "XYZON_APP_ROLE"));
+    }
+    
     public void testgetRoles() throws Exception {
         ArrayList<String> testRoleList = new ArrayList<String>(Arrays.asList("XYZON_READ_ROLE", "XYZON_POWER_ROLE", "XYZON_APP_ROLE"));
-        
-        when(mockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testRoleList);
+        StubModelStoreSnapshot(new ArrayList<OracleObjectPermissionSet>(), testRoleList, new ArrayList<RoleToUserMap>());
         
         ArrayList<String> returnedRoleList = testDataInterfaceService.getRoles();
         
@@ -200,16 +388,19 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
     }
     
     public void testgetPermissionsForObjectNameAndRole() throws Exception {
-        ArrayList<String> testPermissionList = new ArrayList<String>(Arrays.asList("SELECT", "INSERT", "UPDATE", "DELETE"));
         final String testObjectName = "CUSTOMERS";
         final String testRole = "XYZON_POWER_ROLE";
-        
-        when(mockRemoteDataModelProxy.getPermissions(eq(testObjectName), eq(testRole), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testPermissionList);
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(new OracleObjectPermissionSet(testObjectName));
+        testObjects.get(0).getObjectPermissions().add(new RoleToPermissionMap(testRole, "SELECT"));
+        testObjects.get(0).getObjectPermissions().add(new RoleToPermissionMap("XYZON_READ_ROLE", "SELECT"));
+        testObjects.get(0).getObjectPermissions().add(new RoleToPermissionMap(testRole, "INSERT"));
+        StubModelStoreSnapshot(testObjects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
         
         ArrayList<String> returnedPermissionList = testDataInterfaceService.getPermissions(testObjectName, testRole);
         
-        verify(mockRemoteDataModelProxy).getPermissions(eq(testObjectName), eq(testRole), any(AuthenticationContext.class), any(TrackingData.class));
-        assertEquals(testPermissionList, returnedPermissionList);
+        verify(mockRemoteDataModelProxy, never()).getPermissions(anyString(), anyString(), any(AuthenticationContext.class), any(TrackingData.class));
+        assertEquals(Arrays.asList("SELECT", "INSERT"), returnedPermissionList);
     }
     
     public void testgetMasterRoleToUserMapCollection() throws Exception {
@@ -218,24 +409,61 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
         testRoleToUserMapList.add(new RoleToUserMap("XYZON_POWER_ROLE", "XYZON_POWER_USER"));
         testRoleToUserMapList.add(new RoleToUserMap("XYZON_READ_ROLE", "XYZON_READ_USER"));
         
+        when(mockRemoteDataModelProxy.getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, true));
+        when(mockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<String>());
+        when(mockRemoteDataModelProxy.getObjects(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<OracleObjectPermissionSet>());
         when(mockRemoteDataModelProxy.getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testRoleToUserMapList);
         
         ArrayList<RoleToUserMap> returnedRoleToUserMapList = testDataInterfaceService.getMasterRoleToUserMapCollection();
         
+        verify(mockRemoteDataModelProxy).getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy).getRoles(any(AuthenticationContext.class), any(TrackingData.class));
+        verify(mockRemoteDataModelProxy).getObjects(any(AuthenticationContext.class), any(TrackingData.class));
         verify(mockRemoteDataModelProxy).getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class));
+        verifyNoMoreInteractions(mockRemoteDataModelProxy);
         assertEquals(testRoleToUserMapList, returnedRoleToUserMapList);
     }
     
+    public void testgetMasterRoleToUserMapCollectionAppliesChanges() throws Exception {
+        ArrayList<RoleToUserMap> testRoleToUserMapList = new ArrayList<RoleToUserMap>();
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER"));
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_POWER_ROLE", "XYZON_POWER_USER"));
+        ModelChangeSet testChangeSet = CreateModelChangeSet(102, false);
+        testChangeSet.getRemovedRoleToUserMaps().add(new RoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER"));
+        testChangeSet.getAddedRoleToUserMaps().add(new RoleToUserMap("XYZON_READ_ROLE", "XYZON_READ_USER"));
+        
+        when(mockRemoteDataModelProxy.getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, true));
+        when(mockRemoteDataModelProxy.getObjects(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(new ArrayList<OracleObjectPermissionSet>());
+        when(mockRemoteDataModelProxy.getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testRoleToUserMapList);
+        when(mockRemoteDataModelProxy.getChangesSince(eq(100L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testChangeSet);
+        
+        testDataInterfaceService.getMasterRoleToUserMapCollection();
+        testDataInterfaceService.getMasterRoleToUserMapCollection();
+        testSynchronizationExecutor.RunPendingTasks();
+        ArrayList<RoleToUserMap> returnedRoleToUserMapList = testDataInterfaceService.getMasterRoleToUserMapCollection();
+        
+        assertEquals(2, returnedRoleToUserMapList.size());
+        assertEquals("XYZON_POWER_ROLE", returnedRoleToUserMapList.get(0).getRole());
+        assertEquals("XYZON_POWER_USER", returnedRoleToUserMapList.get(0).getUser());
+        assertEquals("XYZON_READ_ROLE", returnedRoleToUserMapList.get(1).getRole());
+        assertEquals("XYZON_READ_USER", returnedRoleToUserMapList.get(1).getUser());
+    }
+    
     public void testRoleGetReferencingObjects() throws Exception {
-        ArrayList<String> testObjectList = new ArrayList<String>(Arrays.asList("SP_CUSTOMERS_INS", "SP_CUSTOMERS_UPD"));
         final String testRole = "XYZON_APP_ROLE";
-        
-        when(mockRemoteDataModelProxy.RoleGetReferencingObjects(eq(testRole), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testObjectList);
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_DEL"));
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_UPD"));
+        testObjects.get(0).getObjectPermissions().add(new RoleToPermissionMap(testRole, "EXECUTE"));
+        testObjects.get(1).getObjectPermissions().add(new RoleToPermissionMap("XYZON_POWER_ROLE", "EXECUTE"));
+        testObjects.get(2).getObjectPermissions().add(new RoleToPermissionMap(testRole, "EXECUTE"));
+        StubModelStoreSnapshot(testObjects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
         
         ArrayList<String> returnedObjectList = testDataInterfaceService.RoleGetReferencingObjects(testRole);
         
-        verify(mockRemoteDataModelProxy).RoleGetReferencingObjects(eq(testRole), any(AuthenticationContext.class), any(TrackingData.class));
-        assertEquals(testObjectList, returnedObjectList);
+        verify(mockRemoteDataModelProxy, never()).RoleGetReferencingObjects(anyString(), any(AuthenticationContext.class), any(TrackingData.class));
+        assertEquals(Arrays.asList("SP_CUSTOMERS_INS", "SP_CUSTOMERS_UPD"), returnedObjectList);
     }
     
     public void testAddRoleToUserMap() throws Exception {
@@ -256,6 +484,20 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
         verify(mockRemoteDataModelProxy).RemoveRoleToUserMap(eq(testRole), eq(testUser), any(AuthenticationContext.class), any(TrackingData.class));
     }
     
+    public void testRemoveRoleToUserMapAppliedToModelStore() throws Exception {
+        ArrayList<RoleToUserMap> testRoleToUserMapList = new ArrayList<RoleToUserMap>();
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER"));
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_POWER_ROLE", "XYZON_POWER_USER"));
+        StubModelStoreSnapshot(new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), testRoleToUserMapList);
+        
+        testDataInterfaceService.getMasterRoleToUserMapCollection();
+        testDataInterfaceService.RemoveRoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER");
+        ArrayList<RoleToUserMap> returnedRoleToUserMapList = testDataInterfaceService.getMasterRoleToUserMapCollection();
+        
+        assertEquals(1, returnedRoleToUserMapList.size());
+        assertEquals("XYZON_POWER_ROLE", returnedRoleToUserMapList.get(0).getRole());
+    }
+    
     public void testRoleToUserMapValidate() throws Exception {
         final String testRole = "XYZON_APP_ROLE";
         final String testUser = "XYZON_APP_USER";
@@ -268,7 +510,74 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
         verify(mockRemoteDataModelProxy).RoleToUserMapValidate(eq(testRole), eq(testUser), any(AuthenticationContext.class), any(TrackingData.class));
         assertEquals(testValidationResult, returnedValidationResult);
     }
+    
+    public void testRoleToUserMapRemoveValidate() throws Exception {
+        final String testRole = "XYZON_APP_ROLE";
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_DEL"));
+        testObjects.get(0).getObjectPermissions().add(new RoleToPermissionMap(testRole, "EXECUTE"));
+        testObjects.get(1).getObjectPermissions().add(new RoleToPermissionMap(testRole, "EXECUTE"));
+        ArrayList<RoleToUserMap> testRoleToUserMapList = new ArrayList<RoleToUserMap>();
+        testRoleToUserMapList.add(new RoleToUserMap(testRole, "XYZON_APP_USER"));
+        testRoleToUserMapList.add(new RoleToUserMap(testRole, "XYZON_APP_USER2"));
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_POWER_ROLE", "XYZON_POWER_USER"));
+        StubModelStoreSnapshot(testObjects, new ArrayList<String>(), testRoleToUserMapList);
+        
+        ValidationResult firstValidationResult = testDataInterfaceService.RoleToUserMapRemoveValidate(testRole, "XYZON_APP_USER");
+        testDataInterfaceService.RemoveRoleToUserMap(testRole, "XYZON_APP_USER");
+        ValidationResult secondValidationResult = testDataInterfaceService.RoleToUserMapRemoveValidate(testRole, "XYZON_APP_USER2");
+        ValidationResult unreferencedValidationResult = testDataInterfaceService.RoleToUserMapRemoveValidate("XYZON_POWER_ROLE", "XYZON_POWER_USER");
+        
+        verify(mockRemoteDataModelProxy, never()).RoleGetReferencingObjects(anyString(), any(AuthenticationContext.class), any(TrackingData.class));
+        assertTrue(firstValidationResult.getIsValid());
+        assertFalse(secondValidationResult.getIsValid());
+        assertEquals("The role to user mapping is referenced by the following objects.  Please remove the references or objects and try again.\n  SP_CUSTOMERS_INS\n  SP_CUSTOMERS_DEL\n", secondValidationResult.getValidationError());
+        assertTrue(unreferencedValidationResult.getIsValid());
+    }
+    
+    public void testValidateEntities() throws Exception {
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(new OracleObjectPermissionSet("SP_CUSTOMERS_INS"));
+        ArrayList<RoleToUserMap> testRoleToUserMaps = new ArrayList<RoleToUserMap>();
+        testRoleToUserMaps.add(new RoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER"));
+        ArrayList<ObjectValidationResult> testObjectResults = new ArrayList<ObjectValidationResult>();
+        testObjectResults.add(new ObjectValidationResult(new ValidationResult(true, ""), new ValidationResult(false, "Object type must be specified"), new ValidationResult(true, "")));
+        ArrayList<ValidationResult> testRoleToUserMapResults = new ArrayList<ValidationResult>();
+        testRoleToUserMapResults.add(new ValidationResult(true, ""));
+        EntityValidationResults testResults = new EntityValidationResults(testObjectResults, testRoleToUserMapResults);
+        
+        when(mockRemoteDataModelProxy.ValidateEntities(eq(testObjects), eq(testRoleToUserMaps), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testResults);
+        
+        EntityValidationResults returnedResults = testDataInterfaceService.ValidateEntities(testObjects, testRoleToUserMaps);
+        
+        verify(mockRemoteDataModelProxy).ValidateEntities(eq(testObjects), eq(testRoleToUserMaps), any(AuthenticationContext.class), any(TrackingData.class));
+        assertEquals(testResults, returnedResults);
+    }
 
+    public void testTrackingDataRetrievedOnlyWhenSourceChanged() throws Exception {
+        // Tests that the location and IP address are only retrieved from the providers again after one of the providers reports a change
+        ArgumentCaptor<ITrackingDataSourceListener> listenerCaptor = ArgumentCaptor.forClass(ITrackingDataSourceListener.class);
+        verify(mockLocationProvider).setTrackingDataSourceListener(listenerCaptor.capture());
+        verify(mockNetworkInfoProvider).setTrackingDataSourceListener(listenerCaptor.getValue());
+        ArgumentCaptor<TrackingData> trackingDataCaptor = ArgumentCaptor.forClass(TrackingData.class);
+        
+        when(mockLocationProvider.getLastKnownLocation()).thenReturn(new Location(35.6833, 139.6833, 3), new Location(35.6895, 139.6917, 0));
+        
+        testDataInterfaceService.getDefaultObjectOwner();
+        testDataInterfaceService.getDefaultObjectOwner();
+        listenerCaptor.getValue().TrackingDataSourceChanged();
+        testDataInterfaceService.getDefaultObjectOwner();
+        
+        verify(mockLocationProvider, times(2)).getLastKnownLocation();
+        verify(mockNetworkInfoProvider, times(2)).getMobileIpAddress();
+        verifyNoMoreInteractions(mockLocationProvider, mockNetworkInfoProvider);
+        verify(mockRemoteDataModelProxy, times(3)).getDefaultObjectOwner(any(AuthenticationContext.class), trackingDataCaptor.capture());
+        assertEquals(35.6833, trackingDataCaptor.getAllValues().get(1).getLocation().getLatitude());
+        assertEquals(35.6895, trackingDataCaptor.getAllValues().get(2).getLocation().getLatitude());
+        assertNull(trackingDataCaptor.getAllValues().get(2).getIpV4Address());
+    }
+    
     public void testsetLocalSettings() throws Exception {
         LocalSettings testLocalSettings = new LocalSettings();
         testLocalSettings.setUserIdentifier("user@tempuri.org");
@@ -278,7 +587,59 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
         
         testDataInterfaceService.setLocalSettings(testLocalSettings);
         
-        verify(mockLocalSettingsPersister).Write(testLocalSettings);
+        verify(mockLocalSettingsPersister).Write(argThat(new LocalSettingsMatcher(testLocalSettings)));
+    }
+    
+    public void testsetLocalSettingsParameterChangedAfterSet() throws Exception {
+        // Tests that changing the LocalSettings instance passed to setLocalSettings() does not change the settings held by the service
+        LocalSettings testLocalSettings = new LocalSettings();
+        testLocalSettings.setUserIdentifier("user@tempuri.org");
+        testLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.SOAP);
+        testLocalSettings.setSoapDataServiceLocation("192.168.1.101:5000");
+        testLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        
+        testDataInterfaceService.setLocalSettings(testLocalSettings);
+        testLocalSettings.setUserIdentifier("otheruser@tempuri.org");
+        LocalSettings returnedLocalSettings = testDataInterfaceService.getLocalSettings();
+        
+        verify(mockLocalSettingsPersister).Write(any(LocalSettings.class));
+        verifyNoMoreInteractions(mockLocalSettingsPersister);
+        assertEquals("user@tempuri.org", returnedLocalSettings.getUserIdentifier());
+    }
+    
+    public void testsetLocalSettingsListenerNotified() throws Exception {
+        ILocalSettingsListener mockLocalSettingsListener = mock(ILocalSettingsListener.class);
+        LocalSettings firstLocalSettings = new LocalSettings();
+        firstLocalSettings.setUserIdentifier("user@tempuri.org");
+        firstLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.SOAP);
+        firstLocalSettings.setSoapDataServiceLocation("192.168.1.101:5000");
+        firstLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        LocalSettings secondLocalSettings = new LocalSettings();
+        secondLocalSettings.setUserIdentifier("user@tempuri.org");
+        secondLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.REST);
+        secondLocalSettings.setSoapDataServiceLocation("192.168.1.101:5000");
+        secondLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        
+        testDataInterfaceService.setLocalSettings(firstLocalSettings);
+        testDataInterfaceService.AddLocalSettingsListener(mockLocalSettingsListener);
+        // Adding the same listener a second time should have no effect
+        testDataInterfaceService.AddLocalSettingsListener(mockLocalSettingsListener);
+        testDataInterfaceService.setLocalSettings(secondLocalSettings);
+        testDataInterfaceService.RemoveLocalSettingsListener(mockLocalSettingsListener);
+        testDataInterfaceService.setLocalSettings(firstLocalSettings);
+        
+        verify(mockLocalSettingsListener).LocalSettingsChanged(argThat(new LocalSettingsMatcher(firstLocalSettings)), argThat(new LocalSettingsMatcher(secondLocalSettings)));
+        verifyNoMoreInteractions(mockLocalSettingsListener);
+    }
+    
+    public void testAddLocalSettingsListenerNullListener() throws Exception {
+        try {
+            testDataInterfaceService.AddLocalSettingsListener(null);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'localSettingsListener' cannot be null."));
+        }
     }
     
     public void testgetLocalSettings() throws Exception {
@@ -293,38 +654,151 @@ public class DataInterfaceServiceTests extends AndroidTestCase {
         LocalSettings returnedLocalSettings = testDataInterfaceService.getLocalSettings();
         
         verify(mockLocalSettingsPersister).Read();
-        assertEquals(testLocalSettings, returnedLocalSettings);
+        assertTrue(new LocalSettingsMatcher(testLocalSettings).matches(returnedLocalSettings));
+    }
+    
+    public void testgetLocalSettingsReturnedInstanceChanged() throws Exception {
+        // Tests that changing the LocalSettings instance returned by getLocalSettings() does not change the settings held by the service
+        LocalSettings testLocalSettings = new LocalSettings();
+        testLocalSettings.setUserIdentifier("user@tempuri.org");
+        testLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.SOAP);
+        testLocalSettings.setSoapDataServiceLocation("192.168.1.101:5000");
+        testLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        
+        when(mockLocalSettingsPersister.Read()).thenReturn(testLocalSettings);
+        
+        testDataInterfaceService.getLocalSettings().setUserIdentifier("otheruser@tempuri.org");
+        LocalSettings returnedLocalSettings = testDataInterfaceService.getLocalSettings();
+        
+        assertNotSame(testLocalSettings, returnedLocalSettings);
+        assertEquals("user@tempuri.org", returnedLocalSettings.getUserIdentifier());
+        assertEquals("user@tempuri.org", testLocalSettings.getUserIdentifier());
+    }
+    
+    public void testgetLocalSettingsReadOnlyOnce() throws Exception {
+        LocalSettings testLocalSettings = new LocalSettings();
+        testLocalSettings.setUserIdentifier("user@tempuri.org");
+        testLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.SOAP);
+        testLocalSettings.setSoapDataServiceLocation("192.168.1.101:5000");
+        testLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        
+        when(mockLocalSettingsPersister.Read()).thenReturn(testLocalSettings);
+        
+        testDataInterfaceService.getLocalSettings();
+        testDataInterfaceService.getLocalSettings();
+        LocalSettings returnedLocalSettings = testDataInterfaceService.getLocalSettings();
+        
+        verify(mockLocalSettingsPersister).Read();
+        verifyNoMoreInteractions(mockLocalSettingsPersister);
+        assertTrue(new LocalSettingsMatcher(testLocalSettings).matches(returnedLocalSettings));
     }
 
     public void testCreatePrivilegeScript() throws Exception {
         final String testPrivilegeScript = "GRANT EXECUTE ON SP_CUSTOMERS_INS TO XYZON_APP_ROLE;\r\nGRANT EXECUTE ON SP_CUSTOMERS_UPD TO XYZON_APP_ROLE;\r\nGRANT EXECUTE ON SP_CUSTOMERS_INS TO XYZON_POWER_ROLE;\r\nGRANT EXECUTE ON SP_CUSTOMERS_UPD TO XYZON_POWER_ROLE;\r\n";
         final ScriptType testScriptType = ScriptType.Rollout;
+        ArrayList<RoleToUserMap> testRoleToUserMapList = new ArrayList<RoleToUserMap>();
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER"));
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_POWER_ROLE", "XYZON_POWER_USER"));
+        StubModelStoreSnapshot(CreateScriptTestObjects(), new ArrayList<String>(), testRoleToUserMapList);
         
-        when(mockRemoteDataModelProxy.CreatePrivilegeScript(eq(testScriptType), eq(false), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testPrivilegeScript);
+        StringWriter testWriter = new StringWriter();
         
-        String returnedPrivilegeScript = testDataInterfaceService.CreatePrivilegeScript(testScriptType, false);
+        testDataInterfaceService.CreatePrivilegeScript(testScriptType, false, testWriter);
         
-        verify(mockRemoteDataModelProxy).CreatePrivilegeScript(eq(testScriptType), eq(false), any(AuthenticationContext.class), any(TrackingData.class));
-        assertEquals(testPrivilegeScript, returnedPrivilegeScript);
+        verify(mockRemoteDataModelProxy, never()).CreatePrivilegeScript(any(ScriptType.class), anyBoolean(), any(AuthenticationContext.class), any(TrackingData.class));
+        assertEquals(testPrivilegeScript, testWriter.toString());
     }
     
     public void testCreateSynonymScript() throws Exception {
-        final String testSynonymScript = "CREATE SYNONYM XYZON_APP_USER.SP_CUSTOMERS_INS FOR XYZON.SP_CUSTOMERS_INS;\r\nCREATE SYNONYM XYZON_APP_USER.SP_CUSTOMERS_UPD FOR XYZON.SP_CUSTOMERS_UPD;\r\nCREATE SYNONYM XYZON_POWER_USER.SP_CUSTOMERS_INS FOR XYZON.SP_CUSTOMERS_INS;\r\nCREATE SYNONYM XYZON_POWER_USER.SP_CUSTOMERS_UPD FOR XYZON.SP_CUSTOMERS_UPD;";
+        final String testSynonymScript = "CREATE SYNONYM XYZON_APP_USER.SP_CUSTOMERS_INS FOR XYZON.SP_CUSTOMERS_INS;\r\nCREATE SYNONYM XYZON_APP_USER.SP_CUSTOMERS_UPD FOR XYZON.SP_CUSTOMERS_UPD;\r\nCREATE SYNONYM XYZON_POWER_USER.SP_CUSTOMERS_INS FOR XYZON.SP_CUSTOMERS_INS;\r\nCREATE SYNONYM XYZON_POWER_USER.SP_CUSTOMERS_UPD FOR XYZON.SP_CUSTOMERS_UPD;\r\n";
         final ScriptType testScriptType = ScriptType.Rollout;
+        ArrayList<RoleToUserMap> testRoleToUserMapList = new ArrayList<RoleToUserMap>();
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER"));
+        testRoleToUserMapList.add(new RoleToUserMap("XYZON_POWER_ROLE", "XYZON_POWER_USER"));
+        StubModelStoreSnapshot(CreateScriptTestObjects(), new ArrayList<String>(), testRoleToUserMapList);
         
-        when(mockRemoteDataModelProxy.CreateSynonymScript(eq(testScriptType), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(testSynonymScript);
+        StringWriter testWriter = new StringWriter();
         
-        String returnedPrivilegeScript = testDataInterfaceService.CreateSynonymScript(testScriptType);
+        testDataInterfaceService.CreateSynonymScript(testScriptType, testWriter);
         
-        verify(mockRemoteDataModelProxy).CreateSynonymScript(eq(testScriptType), any(AuthenticationContext.class), any(TrackingData.class));
-        assertEquals(testSynonymScript, returnedPrivilegeScript);
+        verify(mockRemoteDataModelProxy, never()).CreateSynonymScript(any(ScriptType.class), any(AuthenticationContext.class), any(TrackingData.class));
+        assertEquals(testSynonymScript, testWriter.toString());
     }
 
-    public void testWriteScript() throws Exception {
-        final String testScript = "CREATE SYNONYM XYZON_APP_USER.SP_CUSTOMERS_INS FOR XYZON.SP_CUSTOMERS_INS;\r\nCREATE SYNONYM XYZON_APP_USER.SP_CUSTOMERS_UPD FOR XYZON.SP_CUSTOMERS_UPD;\r\nCREATE SYNONYM XYZON_POWER_USER.SP_CUSTOMERS_INS FOR XYZON.SP_CUSTOMERS_INS;\r\nCREATE SYNONYM XYZON_POWER_USER.SP_CUSTOMERS_UPD FOR XYZON.SP_CUSTOMERS_UPD;";
+    public void testCreateScriptWriter() throws Exception {
+        StringWriter testWriter = new StringWriter();
+        when(mockScriptPersister.CreateWriter()).thenReturn(testWriter);
         
-        testDataInterfaceService.WriteScript(testScript);
+        Writer returnedWriter = testDataInterfaceService.CreateScriptWriter();
         
-        verify(mockScriptPersister).Write(testScript);
+        verify(mockScriptPersister).CreateWriter();
+        assertSame(testWriter, returnedWriter);
+    }
+    
+    /**
+     * Creates a list of added objects to generate scripts from.
+     * @return  The objects.
+     */
+    private ArrayList<OracleObjectPermissionSet> CreateScriptTestObjects() {
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        for (String currentObjectName : Arrays.asList("SP_CUSTOMERS_INS", "SP_CUSTOMERS_UPD")) {
+            OracleObjectPermissionSet currentObject = new OracleObjectPermissionSet(currentObjectName);
+            currentObject.setObjectType("Stored Procedure");
+            currentObject.setObjectOwner("XYZON");
+            currentObject.setAddFlag(true);
+            currentObject.getObjectPermissions().add(new RoleToPermissionMap("XYZON_APP_ROLE", "EXECUTE"));
+            currentObject.getObjectPermissions().add(new RoleToPermissionMap("XYZON_POWER_ROLE", "EXECUTE"));
+            testObjects.add(currentObject);
+        }
+        return testObjects;
+    }
+    
+    /**
+     * Sets the mock remote data model proxy to return the inputted lists when the local copy of the data model is first retrieved, and no changes on subsequent synchronizations.
+     * @param  objects         The objects to return.
+     * @param  roles           The roles to return.
+     * @param  roleToUserMaps  The role to user mappings to return.
+     */
+    private void StubModelStoreSnapshot(ArrayList<OracleObjectPermissionSet> objects, ArrayList<String> roles, ArrayList<RoleToUserMap> roleToUserMaps) throws Exception {
+        when(mockRemoteDataModelProxy.getChangesSince(eq(0L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, true));
+        when(mockRemoteDataModelProxy.getChangesSince(eq(100L), any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(CreateModelChangeSet(100, false));
+        when(mockRemoteDataModelProxy.getRoles(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(roles);
+        when(mockRemoteDataModelProxy.getObjects(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(objects);
+        when(mockRemoteDataModelProxy.getMasterRoleToUserMapCollection(any(AuthenticationContext.class), any(TrackingData.class))).thenReturn(roleToUserMaps);
+    }
+    
+    /**
+     * Creates a ModelChangeSet containing no changes.
+     * @param   modelVersion      The version of the data model.
+     * @param   snapshotRequired  Whether the change set indicates that the complete data model must be retrieved.
+     * @return                    The ModelChangeSet.
+     */
+    private ModelChangeSet CreateModelChangeSet(long modelVersion, boolean snapshotRequired) {
+        return new ModelChangeSet(modelVersion, snapshotRequired, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>(), new ArrayList<RoleToUserMap>());
+    }
+    
+    /**
+     * Executor which holds submitted tasks until they are explicitly run, to allow tests to control when background synchronizations occur.
+     */
+    private class DeferredExecutor implements Executor {
+        
+        private ArrayList<Runnable> pendingTasks = new ArrayList<Runnable>();
+        
+        @Override
+        public void execute(Runnable command) {
+            pendingTasks.add(command);
+        }
+        
+        public int getPendingTaskCount() {
+            return pendingTasks.size();
+        }
+        
+        public void RunPendingTasks() {
+            ArrayList<Runnable> tasks = new ArrayList<Runnable>(pendingTasks);
+            pendingTasks.clear();
+            for (Runnable currentTask : tasks) {
+                currentTask.run();
+            }
+        }
     }
 }
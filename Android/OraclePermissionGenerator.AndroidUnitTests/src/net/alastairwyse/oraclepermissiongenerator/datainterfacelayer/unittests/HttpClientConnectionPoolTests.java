@@ -0,0 +1,348 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+
+import android.test.AndroidTestCase;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.HttpClientConnectionPool.
+ * @author Alastair Wyse
+ */
+public class HttpClientConnectionPoolTests extends AndroidTestCase {
+
+    private TestHttpServer testHttpServer;
+    private HttpClientConnectionPool testHttpClientConnectionPool;
+    
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        
+        testHttpServer = new TestHttpServer();
+    }
+    
+    @Override
+    public void tearDown() throws Exception {
+        if (testHttpClientConnectionPool != null) {
+            testHttpClientConnectionPool.Shutdown();
+        }
+        testHttpServer.Close();
+        
+        super.tearDown();
+    }
+    
+    public void testConstructorMaximumConnectionsPerRouteLessThan1() {
+        try {
+            testHttpClientConnectionPool = new HttpClientConnectionPool(0, 8, 15000, 30000, 30000, 60000);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'maximumConnectionsPerRoute' must be greater than 0."));
+        }
+    }
+    
+    public void testConstructorMaximumTotalConnectionsLessThanMaximumConnectionsPerRoute() {
+        try {
+            testHttpClientConnectionPool = new HttpClientConnectionPool(4, 3, 15000, 30000, 30000, 60000);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'maximumTotalConnections' must be greater than or equal to argument 'maximumConnectionsPerRoute'."));
+        }
+    }
+    
+    public void testConstructorIdleConnectionTimeoutLessThan1() {
+        try {
+            testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 30000, 0);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'idleConnectionTimeout' must be greater than 0."));
+        }
+    }
+    
+    public void testGetStatisticsConnectionReused() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 30000, 60000);
+        
+        assertEquals("OK", ExecuteRequest());
+        assertEquals("OK", ExecuteRequest());
+        
+        HttpConnectionPoolStatistics statistics = testHttpClientConnectionPool.getStatistics();
+        assertEquals(0, statistics.getLeasedConnections());
+        assertEquals(1, statistics.getAvailableConnections());
+        assertEquals(1, statistics.getCreatedConnections());
+        assertEquals(1, statistics.getReusedConnections());
+        assertEquals(1, testHttpServer.getAcceptedConnections());
+    }
+    
+    public void testGetStatisticsConnectionLeased() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 30000, 60000);
+        
+        HttpResponse response = testHttpClientConnectionPool.getHttpClient().execute(new HttpGet(testHttpServer.getUrl()));
+        HttpConnectionPoolStatistics leasedStatistics = testHttpClientConnectionPool.getStatistics();
+        // Reading the content of the response releases the connection back to the pool
+        EntityUtils.toString(response.getEntity());
+        HttpConnectionPoolStatistics releasedStatistics = testHttpClientConnectionPool.getStatistics();
+        
+        assertEquals(1, leasedStatistics.getLeasedConnections());
+        assertEquals(0, leasedStatistics.getAvailableConnections());
+        assertEquals(1, leasedStatistics.getCreatedConnections());
+        assertEquals(0, leasedStatistics.getReusedConnections());
+        assertEquals(0, releasedStatistics.getLeasedConnections());
+        assertEquals(1, releasedStatistics.getAvailableConnections());
+    }
+    
+    public void testEvictIdleConnections() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 30000, 100);
+        
+        ExecuteRequest();
+        Thread.sleep(200);
+        testHttpClientConnectionPool.EvictIdleConnections();
+        
+        assertEquals(0, testHttpClientConnectionPool.getStatistics().getAvailableConnections());
+        // The next request should open a new connection
+        ExecuteRequest();
+        assertEquals(2, testHttpClientConnectionPool.getStatistics().getCreatedConnections());
+        assertEquals(2, testHttpServer.getAcceptedConnections());
+    }
+    
+    public void testDefaultKeepAliveDurationExpires() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 100, 60000);
+        
+        ExecuteRequest();
+        Thread.sleep(200);
+        testHttpClientConnectionPool.EvictIdleConnections();
+        
+        assertEquals(0, testHttpClientConnectionPool.getStatistics().getAvailableConnections());
+    }
+    
+    public void testKeepAliveHeaderTimeoutOverridesDefaultDuration() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 100, 60000);
+        testHttpServer.setKeepAliveHeaderValue("timeout=60, max=100");
+        
+        ExecuteRequest();
+        Thread.sleep(200);
+        testHttpClientConnectionPool.EvictIdleConnections();
+        
+        assertEquals(1, testHttpClientConnectionPool.getStatistics().getAvailableConnections());
+    }
+    
+    public void testMalformedKeepAliveHeaderTimeoutUsesDefaultDuration() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 100, 60000);
+        testHttpServer.setKeepAliveHeaderValue("timeout=abc");
+        
+        ExecuteRequest();
+        Thread.sleep(200);
+        testHttpClientConnectionPool.EvictIdleConnections();
+        
+        assertEquals(0, testHttpClientConnectionPool.getStatistics().getAvailableConnections());
+    }
+    
+    public void testGetCompressionInterceptorReturnsSameInstance() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 30000, 60000);
+        
+        HttpCompressionInterceptor firstInterceptor = testHttpClientConnectionPool.getCompressionInterceptor("OraclePermissionGeneratorWebServiceAPI/REST");
+        HttpCompressionInterceptor secondInterceptor = testHttpClientConnectionPool.getCompressionInterceptor("OraclePermissionGeneratorWebServiceAPI/REST");
+        
+        assertSame(firstInterceptor, secondInterceptor);
+    }
+    
+    public void testGetCompressionInterceptorAddedOnce() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 30000, 60000);
+        // Proxies sharing a pool each retrieve the interceptor
+        new RestRemoteDataModelProxy(testHttpClientConnectionPool);
+        new RestRemoteDataModelProxy(testHttpClientConnectionPool);
+        TransferByteCounter transferByteCounter = testHttpClientConnectionPool.getCompressionInterceptor("").getTransferByteCounter();
+        
+        assertEquals("OK", ExecuteRequest());
+        
+        // The response would be counted once for each interceptor added to the HTTP client
+        OperationByteCounts byteCounts = transferByteCounter.getByteCounts("GET ");
+        assertEquals(2, byteCounts.getResponseBytes());
+        assertEquals(2, byteCounts.getResponseBytesTransferred());
+    }
+    
+    public void testShutdown() throws Exception {
+        testHttpClientConnectionPool = new HttpClientConnectionPool(4, 8, 15000, 30000, 30000, 60000);
+        ExecuteRequest();
+        
+        testHttpClientConnectionPool.Shutdown();
+        
+        // The pooled connection should be closed
+        assertTrue(testHttpServer.AwaitClosedConnections(1, 5000));
+        try {
+            ExecuteRequest();
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalStateException e) {
+        }
+        testHttpClientConnectionPool = null;
+    }
+    
+    /**
+     * Sends a GET request to the test HTTP server using the pool, and reads the content of the response.
+     * @return  The content of the response.
+     */
+    private String ExecuteRequest() throws Exception {
+        HttpResponse response = testHttpClientConnectionPool.getHttpClient().execute(new HttpGet(testHttpServer.getUrl()));
+        return EntityUtils.toString(response.getEntity());
+    }
+    
+    /**
+     * Minimal HTTP/1.1 server listening on the loopback interface, which responds to every request with 'OK' and keeps connections open between requests.
+     */
+    private class TestHttpServer {
+        
+        private ServerSocket serverSocket;
+        private ArrayList<Socket> clientSockets;
+        private AtomicInteger acceptedConnections;
+        private AtomicInteger closedConnections;
+        private volatile String keepAliveHeaderValue;
+        
+        public TestHttpServer() throws IOException {
+            serverSocket = new ServerSocket(0, 0, InetAddress.getByName("127.0.0.1"));
+            clientSockets = new ArrayList<Socket>();
+            acceptedConnections = new AtomicInteger(0);
+            closedConnections = new AtomicInteger(0);
+            keepAliveHeaderValue = null;
+            Thread acceptThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Accept();
+                }
+            });
+            acceptThread.setDaemon(true);
+            acceptThread.start();
+        }
+        
+        /**
+         * @return  The URL of the server.
+         */
+        public String getUrl() {
+            return "http://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+        }
+        
+        /**
+         * @return  The number of connections accepted by the server.
+         */
+        public int getAcceptedConnections() {
+            return acceptedConnections.get();
+        }
+        
+        /**
+         * Waits until the specified number of connections have been closed by the client.
+         * @param   count    The number of closed connections to wait for.
+         * @param   timeout  The maximum time to wait in milliseconds.
+         * @return           Whether the number of connections were closed within the timeout.
+         */
+        public boolean AwaitClosedConnections(int count, long timeout) throws InterruptedException {
+            long endTime = System.currentTimeMillis() + timeout;
+            while (closedConnections.get() < count) {
+                if (System.currentTimeMillis() > endTime) {
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+            return true;
+        }
+        
+        /**
+         * @param  keepAliveHeaderValue  The value of the 'Keep-Alive' header to include in responses, or null if the header should not be included.
+         */
+        public void setKeepAliveHeaderValue(String keepAliveHeaderValue) {
+            this.keepAliveHeaderValue = keepAliveHeaderValue;
+        }
+        
+        /**
+         * Stops the server and closes all open connections.
+         */
+        public void Close() throws IOException {
+            serverSocket.close();
+            synchronized (clientSockets) {
+                for (Socket currentSocket : clientSockets) {
+                    currentSocket.close();
+                }
+            }
+        }
+        
+        private void Accept() {
+            try {
+                while (true) {
+                    final Socket clientSocket = serverSocket.accept();
+                    acceptedConnections.incrementAndGet();
+                    synchronized (clientSockets) {
+                        clientSockets.add(clientSocket);
+                    }
+                    Thread connectionThread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Respond(clientSocket);
+                        }
+                    });
+                    connectionThread.setDaemon(true);
+                    connectionThread.start();
+                }
+            }
+            catch (IOException e) {
+                // Thrown when the server socket is closed
+            }
+        }
+        
+        private void Respond(Socket clientSocket) {
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(clientSocket.getInputStream(), "US-ASCII"));
+                OutputStream outputStream = clientSocket.getOutputStream();
+                String requestLine = reader.readLine();
+                while (requestLine != null) {
+                    // Skip the request headers (GET requests have no body)
+                    String headerLine = reader.readLine();
+                    while (headerLine != null && headerLine.length() > 0) {
+                        headerLine = reader.readLine();
+                    }
+                    StringBuilder response = new StringBuilder();
+                    response.append("HTTP/1.1 200 OK\r\n");
+                    response.append("Content-Type: text/plain\r\n");
+                    response.append("Content-Length: 2\r\n");
+                    if (keepAliveHeaderValue != null) {
+                        response.append("Keep-Alive: ").append(keepAliveHeaderValue).append("\r\n");
+                    }
+                    response.append("\r\n");
+                    response.append("OK");
+                    outputStream.write(response.toString().getBytes("US-ASCII"));
+                    outputStream.flush();
+                    requestLine = reader.readLine();
+                }
+                closedConnections.incrementAndGet();
+                clientSocket.close();
+            }
+            catch (IOException e) {
+                // Thrown when the connection is closed by the client or by Close()
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.io.*;
+import java.util.zip.*;
+
+import org.apache.http.*;
+import org.apache.http.entity.*;
+import org.apache.http.message.*;
+import org.apache.http.protocol.*;
+import org.json.JSONException;
+
+import android.test.AndroidTestCase;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.JsonStreamWriter;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.HttpCompressionInterceptor.
+ * @author Alastair Wyse
+ */
+public class HttpCompressionInterceptorTests extends AndroidTestCase {
+
+    private final String testUrlBasePath = "OraclePermissionGeneratorWebServiceAPI/REST";
+    private final String testContent = "[\"XYZON_APP_ROLE\",\"XYZON_POWER_ROLE\",\"XYZON_READ_ROLE\",\"XYZON_APP_ROLE\",\"XYZON_POWER_ROLE\",\"XYZON_READ_ROLE\"]";
+    
+    private TransferByteCounter testTransferByteCounter;
+    private HttpCompressionInterceptor testHttpCompressionInterceptor;
+    private HttpContext testHttpContext;
+    
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        
+        testTransferByteCounter = new TransferByteCounter();
+        testHttpCompressionInterceptor = new HttpCompressionInterceptor(testUrlBasePath, testTransferByteCounter, -1);
+        testHttpContext = new BasicHttpContext();
+    }
+    
+    public void testConstructorRequestCompressionThresholdLessThanMinus1() {
+        try {
+            testHttpCompressionInterceptor = new HttpCompressionInterceptor(testUrlBasePath, testTransferByteCounter, -2);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'requestCompressionThreshold' must be greater than or equal to -1."));
+        }
+    }
+    
+    public void testProcessRequestAddsAcceptEncodingHeader() throws Exception {
+        HttpRequest testRequest = new BasicHttpRequest("GET", "/" + testUrlBasePath + "/Roles?authenticationContext=%7B%7D");
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        
+        assertEquals("gzip, deflate", testRequest.getFirstHeader("Accept-Encoding").getValue());
+    }
+    
+    public void testProcessRequestCompressionDisabled() throws Exception {
+        BasicHttpEntityEnclosingRequest testRequest = new BasicHttpEntityEnclosingRequest("POST", "http://192.168.0.1:5001/" + testUrlBasePath + "/Objects?authenticationContext=%7B%7D");
+        StringEntity testEntity = new StringEntity(testContent, "UTF-8");
+        testRequest.setEntity(testEntity);
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        
+        assertSame(testEntity, testRequest.getEntity());
+        OperationByteCounts byteCounts = testTransferByteCounter.getByteCounts("POST Objects");
+        assertEquals(testContent.length(), byteCounts.getRequestBytes());
+        assertEquals(testContent.length(), byteCounts.getRequestBytesTransferred());
+    }
+    
+    public void testProcessRequestCompressionEnabled() throws Exception {
+        testHttpCompressionInterceptor.setRequestCompressionThreshold(64);
+        BasicHttpEntityEnclosingRequest testRequest = new BasicHttpEntityEnclosingRequest("POST", "/" + testUrlBasePath + "/Objects?authenticationContext=%7B%7D");
+        testRequest.setEntity(new StringEntity(testContent, "UTF-8"));
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        ByteArrayOutputStream writtenContent = new ByteArrayOutputStream();
+        testRequest.getEntity().writeTo(writtenContent);
+        
+        assertEquals("gzip", testRequest.getEntity().getContentEncoding().getValue());
+        assertEquals(-1, testRequest.getEntity().getContentLength());
+        assertEquals(testContent, ReadAsString(new GZIPInputStream(new ByteArrayInputStream(writtenContent.toByteArray()))));
+        OperationByteCounts byteCounts = testTransferByteCounter.getByteCounts("POST Objects");
+        assertEquals(testContent.length(), byteCounts.getRequestBytes());
+        assertEquals(writtenContent.size(), byteCounts.getRequestBytesTransferred());
+    }
+    
+    public void testProcessRequestCompressionEnabledGetContent() throws Exception {
+        testHttpCompressionInterceptor.setRequestCompressionThreshold(64);
+        BasicHttpEntityEnclosingRequest testRequest = new BasicHttpEntityEnclosingRequest("POST", "/" + testUrlBasePath + "/Objects?authenticationContext=%7B%7D");
+        testRequest.setEntity(new StringEntity(testContent, "UTF-8"));
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        
+        assertTrue(testRequest.getEntity().isRepeatable());
+        assertEquals(testContent, ReadAsString(new GZIPInputStream(testRequest.getEntity().getContent())));
+        // The content is repeatable, so can be read again
+        assertEquals(testContent, ReadAsString(new GZIPInputStream(testRequest.getEntity().getContent())));
+        OperationByteCounts byteCounts = testTransferByteCounter.getByteCounts("POST Objects");
+        assertEquals(0, byteCounts.getRequestBytes());
+        assertEquals(0, byteCounts.getRequestBytesTransferred());
+    }
+    
+    public void testProcessRequestUnknownLengthCompressionDisabled() throws Exception {
+        BasicHttpEntityEnclosingRequest testRequest = new BasicHttpEntityEnclosingRequest("POST", "/" + testUrlBasePath + "/Objects?authenticationContext=%7B%7D");
+        JsonStreamEntity testEntity = new JsonStreamEntity(new JsonStreamEntity.ContentWriter() {
+            @Override
+            public void Write(JsonStreamWriter jsonWriter) throws IOException, JSONException {
+                jsonWriter.BeginArray();
+                jsonWriter.Value("XYZON_APP_ROLE");
+                jsonWriter.EndArray();
+            }
+        });
+        testRequest.setEntity(testEntity);
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        ByteArrayOutputStream writtenContent = new ByteArrayOutputStream();
+        testRequest.getEntity().writeTo(writtenContent);
+        
+        assertNotSame(testEntity, testRequest.getEntity());
+        assertNull(testRequest.getEntity().getContentEncoding());
+        assertEquals("[\"XYZON_APP_ROLE\"]", new String(writtenContent.toByteArray(), "UTF-8"));
+        OperationByteCounts byteCounts = testTransferByteCounter.getByteCounts("POST Objects");
+        assertEquals(18, byteCounts.getRequestBytes());
+        assertEquals(18, byteCounts.getRequestBytesTransferred());
+    }
+    
+    public void testProcessRequestUnknownLengthCompressionEnabled() throws Exception {
+        testHttpCompressionInterceptor.setRequestCompressionThreshold(1024);
+        BasicHttpEntityEnclosingRequest testRequest = new BasicHttpEntityEnclosingRequest("POST", "/" + testUrlBasePath + "/Objects?authenticationContext=%7B%7D");
+        testRequest.setEntity(new JsonStreamEntity(new JsonStreamEntity.ContentWriter() {
+            @Override
+            public void Write(JsonStreamWriter jsonWriter) throws IOException, JSONException {
+                jsonWriter.BeginArray();
+                jsonWriter.Value("XYZON_APP_ROLE");
+                jsonWriter.EndArray();
+            }
+        }));
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        ByteArrayOutputStream writtenContent = new ByteArrayOutputStream();
+        testRequest.getEntity().writeTo(writtenContent);
+        
+        assertEquals("gzip", testRequest.getEntity().getContentEncoding().getValue());
+        assertEquals("[\"XYZON_APP_ROLE\"]", ReadAsString(new GZIPInputStream(new ByteArrayInputStream(writtenContent.toByteArray()))));
+        OperationByteCounts byteCounts = testTransferByteCounter.getByteCounts("POST Objects");
+        assertEquals(18, byteCounts.getRequestBytes());
+        assertEquals(writtenContent.size(), byteCounts.getRequestBytesTransferred());
+    }
+    
+    public void testProcessRequestBelowCompressionThreshold() throws Exception {
+        testHttpCompressionInterceptor.setRequestCompressionThreshold(1024);
+        BasicHttpEntityEnclosingRequest testRequest = new BasicHttpEntityEnclosingRequest("PUT", "/" + testUrlBasePath + "/Objects/ORDER_STATUSES/AddFlag?authenticationContext=%7B%7D");
+        StringEntity testEntity = new StringEntity("\"true\"", "UTF-8");
+        testRequest.setEntity(testEntity);
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        
+        assertSame(testEntity, testRequest.getEntity());
+        assertEquals(6, testTransferByteCounter.getByteCounts("PUT Objects").getRequestBytesTransferred());
+    }
+    
+    public void testProcessResponseGzipEncoded() throws Exception {
+        byte[] compressedContent = Compress(testContent);
+        HttpRequest testRequest = new BasicHttpRequest("GET", "/" + testUrlBasePath + "/Roles?authenticationContext=%7B%7D");
+        HttpResponse testResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        BasicHttpEntity testEntity = new BasicHttpEntity();
+        testEntity.setContent(new ByteArrayInputStream(compressedContent));
+        testEntity.setContentLength(compressedContent.length);
+        testEntity.setContentEncoding("gzip");
+        testResponse.setEntity(testEntity);
+        testResponse.addHeader("Content-Encoding", "gzip");
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        testHttpCompressionInterceptor.process(testResponse, testHttpContext);
+        String returnedContent = ReadAsString(testResponse.getEntity().getContent());
+        
+        assertEquals(testContent, returnedContent);
+        assertNull(testResponse.getEntity().getContentEncoding());
+        assertEquals(-1, testResponse.getEntity().getContentLength());
+        assertFalse(testResponse.containsHeader("Content-Encoding"));
+        OperationByteCounts byteCounts = testTransferByteCounter.getByteCounts("GET Roles");
+        assertEquals(testContent.length(), byteCounts.getResponseBytes());
+        assertEquals(compressedContent.length, byteCounts.getResponseBytesTransferred());
+    }
+    
+    public void testProcessResponseNotEncoded() throws Exception {
+        HttpRequest testRequest = new BasicHttpRequest("GET", "/" + testUrlBasePath + "/Roles?authenticationContext=%7B%7D");
+        HttpResponse testResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        testResponse.setEntity(new StringEntity(testContent, "UTF-8"));
+        
+        testHttpCompressionInterceptor.process(testRequest, testHttpContext);
+        testHttpCompressionInterceptor.process(testResponse, testHttpContext);
+        testResponse.getEntity().consumeContent();
+        
+        assertEquals(testContent.length(), testResponse.getEntity().getContentLength());
+        OperationByteCounts byteCounts = testTransferByteCounter.getByteCounts("GET Roles");
+        assertEquals(testContent.length(), byteCounts.getResponseBytes());
+        assertEquals(testContent.length(), byteCounts.getResponseBytesTransferred());
+    }
+    
+    /**
+     * Gzip compresses the inputted string.
+     * @param   content  The string to compress.
+     * @return           The UTF-8 encoded, gzip compressed string.
+     */
+    private byte[] Compress(String content) throws IOException {
+        ByteArrayOutputStream compressedStream = new ByteArrayOutputStream();
+        GZIPOutputStream gzipStream = new GZIPOutputStream(compressedStream);
+        gzipStream.write(content.getBytes("UTF-8"));
+        gzipStream.close();
+        return compressedStream.toByteArray();
+    }
+    
+    /**
+     * Reads the entire contents of the inputted stream as a UTF-8 string.
+     * @param   inputStream  The stream to read.
+     * @return               The contents of the stream.
+     */
+    private String ReadAsString(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream contentStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[256];
+        int bytesRead = inputStream.read(buffer);
+        while (bytesRead != -1) {
+            contentStream.write(buffer, 0, bytesRead);
+            bytesRead = inputStream.read(buffer);
+        }
+        inputStream.close();
+        return new String(contentStream.toByteArray(), "UTF-8");
+    }
+}
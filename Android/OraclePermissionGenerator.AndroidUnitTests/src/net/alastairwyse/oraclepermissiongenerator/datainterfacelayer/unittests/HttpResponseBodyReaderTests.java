@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.io.*;
+
+import org.apache.http.entity.BasicHttpEntity;
+
+import android.test.AndroidTestCase;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.HttpResponseBodyReader.
+ * @author Alastair Wyse
+ */
+public class HttpResponseBodyReaderTests extends AndroidTestCase {
+
+    private BufferPool testBufferPool;
+    private HttpResponseBodyReader testHttpResponseBodyReader;
+    
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        
+        testBufferPool = new BufferPool(16, 2);
+        testHttpResponseBodyReader = new HttpResponseBodyReader(testBufferPool, 256);
+    }
+    
+    public void testConstructorMaximumResponseSizeLessThan1() {
+        try {
+            testHttpResponseBodyReader = new HttpResponseBodyReader(testBufferPool, 0);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'maximumResponseSize' must be greater than 0."));
+        }
+    }
+    
+    public void testReadAsStringUnknownContentLength() throws Exception {
+        String content = "[\"ACCESS_PARAMETERS\",\"ACCESS_RULES\",\"CUSTOMER_DETAILS\"]";
+        BasicHttpEntity testEntity = CreateEntity(content.getBytes("UTF-8"), -1, null);
+        
+        String returnedContent = testHttpResponseBodyReader.ReadAsString(testEntity);
+        
+        assertEquals(content, returnedContent);
+    }
+    
+    public void testReadAsStringMultiByteCharactersSplitAcrossBuffers() throws Exception {
+        // Each character is encoded as 3 bytes in UTF-8, so characters will be split across the 16 byte buffer boundaries
+        String content = "\u65e5\u672c\u8a9e\u30c6\u30ad\u30b9\u30c8\u65e5\u672c\u8a9e\u30c6\u30ad\u30b9\u30c8";
+        byte[] contentBytes = content.getBytes("UTF-8");
+        BasicHttpEntity testEntity = CreateEntity(contentBytes, contentBytes.length, "text/json; charset=UTF-8");
+        
+        String returnedContent = testHttpResponseBodyReader.ReadAsString(testEntity);
+        
+        assertEquals(content, returnedContent);
+    }
+    
+    public void testReadAsStringContentTypeCharset() throws Exception {
+        String content = "caf\u00e9";
+        byte[] contentBytes = content.getBytes("ISO-8859-1");
+        BasicHttpEntity testEntity = CreateEntity(contentBytes, contentBytes.length, "text/json; charset=ISO-8859-1");
+        
+        String returnedContent = testHttpResponseBodyReader.ReadAsString(testEntity);
+        
+        assertEquals(content, returnedContent);
+    }
+    
+    public void testReadAsStringContentLengthExceedsMaximum() throws Exception {
+        BasicHttpEntity testEntity = CreateEntity(new byte[257], 257, null);
+        
+        try {
+            testHttpResponseBodyReader.ReadAsString(testEntity);
+            fail("Exception was not thrown.");
+        }
+        catch (IOException e) {
+            assertTrue(e.getMessage().contains("Response content length of 257 bytes exceeds the maximum response size of 256 bytes."));
+        }
+    }
+    
+    public void testReadAsStringUnknownContentLengthExceedsMaximum() throws Exception {
+        byte[] contentBytes = new byte[300];
+        java.util.Arrays.fill(contentBytes, (byte)'a');
+        BasicHttpEntity testEntity = CreateEntity(contentBytes, -1, null);
+        
+        try {
+            testHttpResponseBodyReader.ReadAsString(testEntity);
+            fail("Exception was not thrown.");
+        }
+        catch (IOException e) {
+            assertTrue(e.getMessage().contains("Response exceeds the maximum response size of 256 bytes."));
+        }
+        assertEquals(1, testBufferPool.getAvailableByteBuffers());
+        assertEquals(1, testBufferPool.getAvailableCharBuffers());
+    }
+    
+    public void testReadAsStringReturnsBuffersToPool() throws Exception {
+        BasicHttpEntity testEntity = CreateEntity("\"OWNER\"".getBytes("UTF-8"), 7, null);
+        
+        testHttpResponseBodyReader.ReadAsString(testEntity);
+        testEntity = CreateEntity("\"OWNER\"".getBytes("UTF-8"), 7, null);
+        testHttpResponseBodyReader.ReadAsString(testEntity);
+        
+        assertEquals(1, testBufferPool.getAvailableByteBuffers());
+        assertEquals(1, testBufferPool.getAvailableCharBuffers());
+    }
+    
+    public void testCreateReaderMultiByteCharactersSplitAcrossBuffers() throws Exception {
+        String content = "\u65e5\u672c\u8a9e\u30c6\u30ad\u30b9\u30c8\u65e5\u672c\u8a9e\u30c6\u30ad\u30b9\u30c8";
+        byte[] contentBytes = content.getBytes("UTF-8");
+        BasicHttpEntity testEntity = CreateEntity(contentBytes, -1, "text/json; charset=UTF-8");
+        
+        Reader returnedReader = testHttpResponseBodyReader.CreateReader(testEntity);
+        StringBuilder returnedContent = new StringBuilder();
+        char[] readBuffer = new char[5];
+        int charsRead = returnedReader.read(readBuffer);
+        while (charsRead != -1) {
+            returnedContent.append(readBuffer, 0, charsRead);
+            charsRead = returnedReader.read(readBuffer);
+        }
+        returnedReader.close();
+        
+        assertEquals(content, returnedContent.toString());
+    }
+    
+    public void testCreateReaderMalformedInputReplaced() throws Exception {
+        byte[] contentBytes = new byte[] { (byte)'a', (byte)0xff, (byte)'b' };
+        BasicHttpEntity testEntity = CreateEntity(contentBytes, contentBytes.length, "text/json; charset=UTF-8");
+        
+        Reader returnedReader = testHttpResponseBodyReader.CreateReader(testEntity);
+        char[] readBuffer = new char[16];
+        int charsRead = returnedReader.read(readBuffer);
+        returnedReader.close();
+        
+        assertEquals("a\ufffdb", new String(readBuffer, 0, charsRead));
+    }
+    
+    public void testCreateReaderReturnsBuffersToPoolOnClose() throws Exception {
+        BasicHttpEntity testEntity = CreateEntity("\"OWNER\"".getBytes("UTF-8"), 7, null);
+        
+        Reader returnedReader = testHttpResponseBodyReader.CreateReader(testEntity);
+        assertEquals(0, testBufferPool.getAvailableByteBuffers());
+        assertEquals(0, testBufferPool.getAvailableCharBuffers());
+        returnedReader.close();
+        // Closing a second time should not return the buffers again
+        returnedReader.close();
+        
+        assertEquals(1, testBufferPool.getAvailableByteBuffers());
+        assertEquals(1, testBufferPool.getAvailableCharBuffers());
+    }
+    
+    public void testCreateReaderUnknownContentLengthExceedsMaximum() throws Exception {
+        byte[] contentBytes = new byte[300];
+        java.util.Arrays.fill(contentBytes, (byte)'a');
+        BasicHttpEntity testEntity = CreateEntity(contentBytes, -1, null);
+        
+        Reader returnedReader = testHttpResponseBodyReader.CreateReader(testEntity);
+        char[] readBuffer = new char[64];
+        try {
+            while (returnedReader.read(readBuffer) != -1) {
+            }
+            fail("Exception was not thrown.");
+        }
+        catch (IOException e) {
+            assertTrue(e.getMessage().contains("Response exceeds the maximum response size of 256 bytes."));
+        }
+        finally {
+            returnedReader.close();
+        }
+    }
+    
+    /**
+     * Creates an HTTP entity containing the specified content.
+     * @param   content        The content of the entity.
+     * @param   contentLength  The content length to report, or -1 if the length should be reported as unknown.
+     * @param   contentType    The content type of the entity, or null if no content type should be set.
+     * @return                 The HTTP entity.
+     */
+    private BasicHttpEntity CreateEntity(byte[] content, long contentLength, String contentType) {
+        BasicHttpEntity returnEntity = new BasicHttpEntity();
+        returnEntity.setContent(new ByteArrayInputStream(content));
+        returnEntity.setContentLength(contentLength);
+        if (contentType != null) {
+            returnEntity.setContentType(contentType);
+        }
+        return returnEntity;
+    }
+}
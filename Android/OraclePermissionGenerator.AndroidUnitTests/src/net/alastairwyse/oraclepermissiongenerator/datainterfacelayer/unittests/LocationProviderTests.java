@@ -70,4 +70,15 @@ public class LocationProviderTests extends AndroidTestCase {
         assertEquals(3, returnedLocation.getSecondsSinceUpdate());
         verifyNoMoreInteractions(mockContext, mockDateProvider);
     }
+    
+    public void testOnLocationChangedListenerNotified() throws Exception {
+        ITrackingDataSourceListener mockTrackingDataSourceListener = mock(ITrackingDataSourceListener.class);
+        android.location.Location testLocation = new android.location.Location("UnitTestCode");
+        
+        testLocationProvider.setTrackingDataSourceListener(mockTrackingDataSourceListener);
+        testLocationProvider.onLocationChanged(testLocation);
+        
+        verify(mockTrackingDataSourceListener).TrackingDataSourceChanged();
+        verifyNoMoreInteractions(mockContext, mockDateProvider, mockTrackingDataSourceListener);
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import android.net.Uri;
+import android.test.AndroidTestCase;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.ContainerObjectJsonSerializer;
+
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.RequestContextFragmentCache.
+ * @author Alastair Wyse
+ */
+public class RequestContextFragmentCacheTests extends AndroidTestCase {
+
+    private RequestContextFragmentCache testRequestContextFragmentCache;
+    private ContainerObjectJsonSerializer mockJsonSerializer;
+    
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        
+        mockJsonSerializer = mock(ContainerObjectJsonSerializer.class);
+        testRequestContextFragmentCache = new RequestContextFragmentCache(mockJsonSerializer);
+    }
+    
+    public void testAuthenticationContextSerializedOnlyWhenChanged() throws Exception {
+        when(mockJsonSerializer.SerializeAuthenticationContext(any(AuthenticationContext.class))).thenReturn("{\"UserIdentifier\":\"user@tempuri.org\"}", "{\"UserIdentifier\":\"otheruser@tempuri.org\"}");
+        
+        String firstResult = testRequestContextFragmentCache.getSerializedAuthenticationContext(new AuthenticationContext("user@tempuri.org"));
+        String secondResult = testRequestContextFragmentCache.getEncodedAuthenticationContext(new AuthenticationContext("user@tempuri.org"));
+        String thirdResult = testRequestContextFragmentCache.getSerializedAuthenticationContext(new AuthenticationContext("otheruser@tempuri.org"));
+        
+        verify(mockJsonSerializer, times(2)).SerializeAuthenticationContext(any(AuthenticationContext.class));
+        verifyNoMoreInteractions(mockJsonSerializer);
+        assertEquals("{\"UserIdentifier\":\"user@tempuri.org\"}", firstResult);
+        assertEquals(Uri.encode("{\"UserIdentifier\":\"user@tempuri.org\"}"), secondResult);
+        assertEquals("{\"UserIdentifier\":\"otheruser@tempuri.org\"}", thirdResult);
+    }
+    
+    public void testTrackingDataSerializedOnlyWhenChanged() throws Exception {
+        TrackingData firstTrackingData = new TrackingData();
+        firstTrackingData.setLocation(new Location(35.6833, 139.6833, 3));
+        firstTrackingData.setIpV4Address(new byte[] { (byte)192, (byte)168, 0, 1 });
+        TrackingData secondTrackingData = new TrackingData();
+        secondTrackingData.setLocation(new Location(35.6833, 139.6833, 3));
+        secondTrackingData.setIpV4Address(new byte[] { (byte)192, (byte)168, 0, 1 });
+        TrackingData thirdTrackingData = new TrackingData();
+        thirdTrackingData.setLocation(new Location(35.6833, 139.6833, 4));
+        thirdTrackingData.setIpV4Address(new byte[] { (byte)192, (byte)168, 0, 1 });
+        TrackingData fourthTrackingData = new TrackingData();
+        fourthTrackingData.setLocation(new Location(35.6833, 139.6833, 4));
+        fourthTrackingData.setIpV4Address(new byte[] { (byte)192, (byte)168, 0, 2 });
+        
+        // The serialized forms returned by the mock do not contain a 'SecondsSinceUpdate' property, so a change in that value also causes the tracking data to be serialized again
+        when(mockJsonSerializer.SerializeTrackingData(any(TrackingData.class))).thenReturn("first", "second", "third");
+        
+        assertEquals("first", testRequestContextFragmentCache.getSerializedTrackingData(firstTrackingData));
+        assertEquals("first", testRequestContextFragmentCache.getEncodedTrackingData(secondTrackingData));
+        assertEquals("second", testRequestContextFragmentCache.getSerializedTrackingData(thirdTrackingData));
+        assertEquals("third", testRequestContextFragmentCache.getSerializedTrackingData(fourthTrackingData));
+        
+        verify(mockJsonSerializer, times(3)).SerializeTrackingData(any(TrackingData.class));
+        verifyNoMoreInteractions(mockJsonSerializer);
+    }
+    
+    public void testTrackingDataNotSerializedWhenOnlySecondsSinceUpdateChanged() throws Exception {
+        ContainerObjectJsonSerializer jsonSerializer = new ContainerObjectJsonSerializer();
+        ContainerObjectJsonSerializer spyJsonSerializer = spy(jsonSerializer);
+        testRequestContextFragmentCache = new RequestContextFragmentCache(spyJsonSerializer);
+        TrackingData firstTrackingData = new TrackingData();
+        firstTrackingData.setLocation(new Location(35.6833, 139.6833, 3));
+        firstTrackingData.setIpV4Address(new byte[] { (byte)192, (byte)168, 0, 1 });
+        TrackingData secondTrackingData = new TrackingData();
+        secondTrackingData.setLocation(new Location(35.6833, 139.6833, 1234));
+        secondTrackingData.setIpV4Address(new byte[] { (byte)192, (byte)168, 0, 1 });
+        TrackingData thirdTrackingData = new TrackingData();
+        thirdTrackingData.setLocation(new Location(35.6833, 139.6833, 0));
+        thirdTrackingData.setIpV4Address(new byte[] { (byte)192, (byte)168, 0, 1 });
+        
+        String firstResult = testRequestContextFragmentCache.getSerializedTrackingData(firstTrackingData);
+        String secondResult = testRequestContextFragmentCache.getSerializedTrackingData(secondTrackingData);
+        String secondEncodedResult = testRequestContextFragmentCache.getEncodedTrackingData(secondTrackingData);
+        String thirdEncodedResult = testRequestContextFragmentCache.getEncodedTrackingData(thirdTrackingData);
+        
+        verify(spyJsonSerializer, times(1)).SerializeTrackingData(any(TrackingData.class));
+        assertEquals(jsonSerializer.SerializeTrackingData(firstTrackingData), firstResult);
+        assertEquals(jsonSerializer.SerializeTrackingData(secondTrackingData), secondResult);
+        assertTrue(secondResult.contains("\"SecondsSinceUpdate\":1234"));
+        assertEquals(Uri.encode(jsonSerializer.SerializeTrackingData(secondTrackingData)), secondEncodedResult);
+        assertEquals(Uri.encode(jsonSerializer.SerializeTrackingData(thirdTrackingData)), thirdEncodedResult);
+    }
+    
+    public void testTrackingDataChangedAfterSerialization() throws Exception {
+        // Tests that changing the contents of a TrackingData instance after it has been serialized causes it to be serialized again
+        TrackingData testTrackingData = new TrackingData();
+        testTrackingData.setLocation(null);
+        testTrackingData.setIpV4Address(null);
+        
+        when(mockJsonSerializer.SerializeTrackingData(any(TrackingData.class))).thenReturn("first", "second");
+        
+        testRequestContextFragmentCache.getSerializedTrackingData(testTrackingData);
+        testTrackingData.setLocation(new Location(35.6833, 139.6833, 3));
+        String returnedResult = testRequestContextFragmentCache.getSerializedTrackingData(testTrackingData);
+        
+        verify(mockJsonSerializer, times(2)).SerializeTrackingData(testTrackingData);
+        assertEquals("second", returnedResult);
+    }
+}
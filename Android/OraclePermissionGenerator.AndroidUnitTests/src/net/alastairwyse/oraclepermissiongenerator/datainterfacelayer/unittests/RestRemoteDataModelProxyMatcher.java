@@ -16,6 +16,7 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
 
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.CachingRemoteDataModelProxy;
 import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.RestRemoteDataModelProxy;
 
 import org.hamcrest.Description;
@@ -39,12 +40,17 @@ public class RestRemoteDataModelProxyMatcher extends ArgumentMatcher<RestRemoteD
     
     @Override
     public boolean matches(Object argument) {
+        // The presenter wraps the proxy in a CachingRemoteDataModelProxy, so match against the wrapped proxy
+        if (argument instanceof CachingRemoteDataModelProxy) {
+            argument = ((CachingRemoteDataModelProxy)argument).getRemoteDataModelProxy();
+        }
         if (argument.getClass() != restRemoteDataModelProxyToMatch.getClass()) {
             return false;
         }
         
         RestRemoteDataModelProxy comparisonRestRemoteDataModelProxy = (RestRemoteDataModelProxy)argument;
-        if (restRemoteDataModelProxyToMatch.getDataModelLocation().equals(comparisonRestRemoteDataModelProxy.getDataModelLocation()) == false ) {
+        if (restRemoteDataModelProxyToMatch.getDataModelLocation().equals(comparisonRestRemoteDataModelProxy.getDataModelLocation()) == false ||
+            restRemoteDataModelProxyToMatch.getRequestContextMode() != comparisonRestRemoteDataModelProxy.getRequestContextMode()) {
             return false;
         }
         
@@ -54,9 +60,9 @@ public class RestRemoteDataModelProxyMatcher extends ArgumentMatcher<RestRemoteD
     @Override
     public void describeTo(Description description) {
         // This method is typically used in mockito when a test fails, to report the value that was wanted but not matched.  E.g. this implementation will return...
-        //   "RestRemoteDataModelProxy([dataModelLocation])"
+        //   "RestRemoteDataModelProxy([dataModelLocation], [requestContextMode])"
         // ... which will typically be written to the mockito failure trace.
         
-        description.appendText(restRemoteDataModelProxyToMatch.getClass().getSimpleName() + "(" + restRemoteDataModelProxyToMatch.getDataModelLocation().toString() + ")");
+        description.appendText(restRemoteDataModelProxyToMatch.getClass().getSimpleName() + "(" + restRemoteDataModelProxyToMatch.getDataModelLocation().toString() + ", " + restRemoteDataModelProxyToMatch.getRequestContextMode().name() + ")");
     }
 }
\ No newline at end of file
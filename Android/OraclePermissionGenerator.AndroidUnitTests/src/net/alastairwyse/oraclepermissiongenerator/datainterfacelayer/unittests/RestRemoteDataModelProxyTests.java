@@ -24,7 +24,10 @@ import org.apache.http.*;
 import org.apache.http.client.*;
 import org.apache.http.client.methods.*;
 import org.apache.http.entity.*;
+import org.apache.http.util.EntityUtils;
+import org.json.JSONArray;
 import org.json.JSONException;
+import org.json.JSONObject;
 
 import android.net.Uri;
 import android.test.AndroidTestCase;
@@ -34,6 +37,7 @@ import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serializati
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.*;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -94,23 +98,111 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
     
     public void testGetObjects() throws Exception {
         String expectedUrl = BuildExpectedUrl("Objects", "");
-        String expectedStringResponse = "[{\"AddFlag\":false,\"ObjectName\":\"CUSTOMERS\",\"ObjectOwner\":\"XYZON\",\"ObjectPermissions\":[{\"Permission\":\"SELECT\",\"Role\":\"XYZON_POWER_ROLE\"},{\"Permission\":\"SELECT\",\"Role\":\"XYZON_READ_ROLE\"}],\"ObjectType\":\"Table\",\"RemoveFlag\":false}]";
-        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
 
         SetCreateRestUrlWhenStatements();
         when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
-        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        SetCreateHttpResponseReaderWhenStatements();
 
         testRestRemoteDataModelProxy.getObjects(testAuthenticationContext, testTrackingData);
         
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpGet).setURI(new URI(expectedUrl));
         verify(mockHttpClient).execute(mockHttpGet);
-        SetConvertHttpResponseToStringVerifyStatements();
-        verify(mockJsonSerializer).DeserializeOracleObjectPermissionSetArrayList(expectedStringResponse);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeOracleObjectPermissionSetArrayList(any(Reader.class));
+        verify(mockHttpResponse).getFirstHeader("ETag");
+        verify(mockHttpResponse).getFirstHeader("Last-Modified");
+        verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
+    }
+    
+    public void testGetObjectsHeadersRequestContextMode() throws Exception {
+        String expectedUrl = "http://" + testDataServiceLocation + "/OraclePermissionGeneratorWebServiceAPI/REST/Objects";
+
+        SetCreateRestUrlWhenStatements();
+        when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
+        SetCreateHttpResponseReaderWhenStatements();
+
+        testRestRemoteDataModelProxy.setRequestContextMode(RestRequestContextMode.Headers);
+        testRestRemoteDataModelProxy.getObjects(testAuthenticationContext, testTrackingData);
+        
+        SetCreateRestUrlVerifyStatements();
+        verify(mockHttpGet).setURI(new URI(expectedUrl));
+        verify(mockHttpGet).setHeader("X-Authentication-Context", Uri.encode(serializedAuthenticationContext));
+        verify(mockHttpGet).setHeader("X-Tracking-Data", Uri.encode(serializedTrackingData));
+        verify(mockHttpClient).execute(mockHttpGet);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeOracleObjectPermissionSetArrayList(any(Reader.class));
+        verify(mockHttpResponse).getFirstHeader("ETag");
+        verify(mockHttpResponse).getFirstHeader("Last-Modified");
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
+    public void testGetConnectionPoolStatisticsTestConstructor() {
+        HttpConnectionPoolStatistics statistics = testRestRemoteDataModelProxy.getConnectionPoolStatistics();
+        
+        assertEquals(0, statistics.getLeasedConnections());
+        assertEquals(0, statistics.getAvailableConnections());
+        assertEquals(0, statistics.getCreatedConnections());
+        assertEquals(0, statistics.getReusedConnections());
+    }
+    
+    public void testRequestContextModeDefaultsToQueryString() {
+        assertEquals(RestRequestContextMode.QueryString, testRestRemoteDataModelProxy.getRequestContextMode());
+    }
+    
+    public void testGetObjectsNotModified() throws Exception {
+        final String entityTag = "\"5f1c2b7e-3\"";
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        StatusLine mockNotModifiedStatusLine = mock(StatusLine.class);
+        Header mockEntityTagHeader = mock(Header.class);
+
+        SetCreateRestUrlWhenStatements();
+        when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
+        SetCreateHttpResponseReaderWhenStatements();
+        when(mockJsonSerializer.DeserializeOracleObjectPermissionSetArrayList(any(Reader.class))).thenReturn(objects);
+        when(mockEntityTagHeader.getValue()).thenReturn(entityTag);
+        when(mockHttpResponse.getFirstHeader("ETag")).thenReturn(mockEntityTagHeader);
+        when(mockNotModifiedStatusLine.getStatusCode()).thenReturn(HttpStatus.SC_NOT_MODIFIED);
+        when(mockHttpResponse.getStatusLine()).thenReturn(mockNotModifiedStatusLine);
+
+        ArrayList<OracleObjectPermissionSet> firstResult = testRestRemoteDataModelProxy.getObjects(testAuthenticationContext, testTrackingData);
+        // Changes to the items returned by the first call should not be reflected in the result of the second
+        firstResult.get(0).setAddFlag(true);
+        firstResult.get(0).getObjectPermissions().add(new RoleToPermissionMap("SALES_ROLE", "SELECT"));
+        ArrayList<OracleObjectPermissionSet> result = testRestRemoteDataModelProxy.getObjects(testAuthenticationContext, testTrackingData);
+
+        // The second request should include the entity tag from the first response, and the 304 response should not be deserialized
+        verify(mockHttpGet, times(1)).setHeader("If-None-Match", entityTag);
+        verify(mockHttpClient, times(2)).execute(mockHttpGet);
+        verify(mockJsonSerializer, times(1)).DeserializeOracleObjectPermissionSetArrayList(any(Reader.class));
+        assertEquals(1, result.size());
+        assertNotSame(objects, result);
+        assertNotSame(objects.get(0), result.get(0));
+        assertEquals("SALES", result.get(0).getObjectName());
+        assertEquals(false, result.get(0).getAddFlag());
+        assertEquals(0, result.get(0).getObjectPermissions().size());
+    }
+    
+    public void testGetObjectsValidatorsClearedWhenLocationChanged() throws Exception {
+        Header mockEntityTagHeader = mock(Header.class);
+
+        SetCreateRestUrlWhenStatements();
+        when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
+        SetCreateHttpResponseReaderWhenStatements();
+        when(mockJsonSerializer.DeserializeOracleObjectPermissionSetArrayList(any(Reader.class))).thenReturn(new ArrayList<OracleObjectPermissionSet>());
+        when(mockEntityTagHeader.getValue()).thenReturn("\"5f1c2b7e-3\"");
+        when(mockHttpResponse.getFirstHeader("ETag")).thenReturn(mockEntityTagHeader);
+
+        testRestRemoteDataModelProxy.getObjects(testAuthenticationContext, testTrackingData);
+        testRestRemoteDataModelProxy.setDataModelLocation("192.168.0.2:5001");
+        testRestRemoteDataModelProxy.getObjects(testAuthenticationContext, testTrackingData);
+
+        verify(mockHttpGet, never()).setHeader(eq("If-None-Match"), anyString());
+        verify(mockHttpResponse, never()).getStatusLine();
+        verify(mockJsonSerializer, times(2)).DeserializeOracleObjectPermissionSetArrayList(any(Reader.class));
+    }
+    
     public void testObjectNameValidate() throws Exception {
         final String newObjectName = "SP_APPLICATION_STATS_INS";
         String expectedUrl = BuildExpectedUrl("Validations/ObjectName/" + Uri.encode(newObjectName), "");
@@ -202,47 +294,45 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpPut).setURI(new URI(expectedUrl));
         verify(mockHttpPut).setHeader(httpHeaderName, httpHeaderValue);
-        verify(mockHttpPut).setEntity(argThat(new StringEntityMatcher(new StringEntity("\"" + objectOwner + "\""))));
+        verify(mockHttpPut).setEntity(argThat(new HttpEntityMatcher(new StringEntity("\"" + objectOwner + "\""))));
         verify(mockHttpClient).execute(mockHttpPut);
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
     public void testgetMasterRoleToUserMapCollection() throws Exception {
         String expectedUrl = BuildExpectedUrl("RoleToUserMappings", "");
-        String expectedStringResponse = "[{\"Role\":\"XYZON_APP_ROLE\",\"User\":\"XYZON_APP_USER\"},{\"Role\":\"XYZON_POWER_ROLE\",\"User\":\"XYZON_POWER_USER\"},{\"Role\":\"XYZON_READ_ROLE\",\"User\":\"JONES_SAM\"},{\"Role\":\"XYZON_READ_ROLE\",\"User\":\"SMITH_JOHN\"}]";
-        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
 
         SetCreateRestUrlWhenStatements();
         when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
-        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        SetCreateHttpResponseReaderWhenStatements();
 
         testRestRemoteDataModelProxy.getMasterRoleToUserMapCollection(testAuthenticationContext, testTrackingData);
         
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpGet).setURI(new URI(expectedUrl));
         verify(mockHttpClient).execute(mockHttpGet);
-        SetConvertHttpResponseToStringVerifyStatements();
-        verify(mockJsonSerializer).DeserializeRoleToUserMapArrayList(expectedStringResponse);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeRoleToUserMapArrayList(any(Reader.class));
+        verify(mockHttpResponse).getFirstHeader("ETag");
+        verify(mockHttpResponse).getFirstHeader("Last-Modified");
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
     public void testRoleGetReferencingObjects() throws Exception {
         final String testRole = "XYZON_READ_ROLE";
         String expectedUrl = BuildExpectedUrl("ReferencingObjects/" + testRole, "entity=role&");
-        String expectedStringResponse = "[\"APPLICATION_STATS\",\"ORDER_STATUSES\"]";
-        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
 
         SetCreateRestUrlWhenStatements();
         when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
-        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        SetCreateHttpResponseReaderWhenStatements();
 
         testRestRemoteDataModelProxy.RoleGetReferencingObjects(testRole, testAuthenticationContext, testTrackingData);
         
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpGet).setURI(new URI(expectedUrl));
         verify(mockHttpClient).execute(mockHttpGet);
-        SetConvertHttpResponseToStringVerifyStatements();
-        verify(mockJsonSerializer).DeserializeStringArrayList(expectedStringResponse);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeStringArrayList(any(Reader.class));
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
@@ -258,7 +348,7 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpPost).setURI(new URI(expectedUrl));
         verify(mockHttpPost).setHeader(httpHeaderName, httpHeaderValue);
-        verify(mockHttpPost).setEntity(argThat(new StringEntityMatcher(new StringEntity("{\"user\":\"" + testUser + "\",\"role\":\"" + testRole + "\"}"))));
+        verify(mockHttpPost).setEntity(argThat(new HttpEntityMatcher(new StringEntity("{\"role\":\"" + testRole + "\",\"user\":\"" + testUser + "\"}"))));
         verify(mockHttpClient).execute(mockHttpPost);
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
@@ -311,7 +401,7 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpPut).setURI(new URI(expectedUrl));
         verify(mockHttpPut).setHeader(httpHeaderName, httpHeaderValue);
-        verify(mockHttpPut).setEntity(argThat(new StringEntityMatcher(new StringEntity("\"true\""))));
+        verify(mockHttpPut).setEntity(argThat(new HttpEntityMatcher(new StringEntity("\"true\""))));
         verify(mockHttpClient).execute(mockHttpPut);
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
@@ -328,7 +418,7 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpPut).setURI(new URI(expectedUrl));
         verify(mockHttpPut).setHeader(httpHeaderName, httpHeaderValue);
-        verify(mockHttpPut).setEntity(argThat(new StringEntityMatcher(new StringEntity("\"false\""))));
+        verify(mockHttpPut).setEntity(argThat(new HttpEntityMatcher(new StringEntity("\"false\""))));
         verify(mockHttpClient).execute(mockHttpPut);
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
@@ -349,20 +439,18 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
     
     public void testgetObjectTypes() throws Exception {
         String expectedUrl = BuildExpectedUrl("ObjectTypes", "");
-        String expectedStringResponse = "[\"View\",\"Stored Procedure\",\"Table\"]";
-        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
 
         SetCreateRestUrlWhenStatements();
         when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
-        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        SetCreateHttpResponseReaderWhenStatements();
 
         testRestRemoteDataModelProxy.getObjectTypes(testAuthenticationContext, testTrackingData);
         
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpGet).setURI(new URI(expectedUrl));
         verify(mockHttpClient).execute(mockHttpGet);
-        SetConvertHttpResponseToStringVerifyStatements();
-        verify(mockJsonSerializer).DeserializeStringArrayList(expectedStringResponse);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeStringArrayList(any(Reader.class));
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
@@ -373,56 +461,57 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         final boolean testAddFlag = true;
         final boolean testRemoveFlag = false;
         ArrayList<RoleToPermissionMap> testObjectPermissions = new ArrayList<RoleToPermissionMap>();
+        testObjectPermissions.add(new RoleToPermissionMap("XYZON_READ_ROLE", "EXECUTE"));
         String expectedUrl = BuildExpectedUrl("Objects", "");
         
         SetCreateRestUrlWhenStatements();
+        doCallRealMethod().when(mockJsonSerializer).SerializeRoleToPermissionMapList(anyListOf(RoleToPermissionMap.class), any(JsonStreamWriter.class));
         
         testRestRemoteDataModelProxy.AddObjectPermissionSet(testObjectName, testObjectType, testObjectOwner, testAddFlag, testRemoveFlag, testObjectPermissions, testAuthenticationContext, testTrackingData);
         
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpPost).setURI(new URI(expectedUrl));
         verify(mockHttpPost).setHeader(httpHeaderName, httpHeaderValue);
-        verify(mockHttpPost).setEntity(argThat(new StringEntityMatcher(new StringEntity("{\"objectPermissions\":[],\"removeFlag\":false,\"objectOwner\":\"" + testObjectOwner + "\",\"addFlag\":true,\"objectType\":\"" + testObjectType + "\",\"objectName\":\"" + testObjectName + "\"}"))));
+        ArgumentCaptor<HttpEntity> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(mockHttpPost).setEntity(entityCaptor.capture());
+        assertEquals("{\"objectName\":\"" + testObjectName + "\",\"objectType\":\"" + testObjectType + "\",\"objectOwner\":\"" + testObjectOwner + "\",\"addFlag\":true,\"removeFlag\":false,\"objectPermissions\":[{\"Role\":\"XYZON_READ_ROLE\",\"Permission\":\"EXECUTE\"}]}", EntityUtils.toString(entityCaptor.getValue()));
+        verify(mockJsonSerializer).SerializeRoleToPermissionMapList(eq(testObjectPermissions), any(JsonStreamWriter.class));
         verify(mockHttpClient).execute(mockHttpPost);
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
     public void testgetRoles() throws Exception {
         String expectedUrl = BuildExpectedUrl("Roles", "");
-        String expectedStringResponse = "[\"XYZON_READ_ROLE\",\"XYZON_POWER_ROLE\",\"XYZON_APP_ROLE\"]";
-        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
 
         SetCreateRestUrlWhenStatements();
         when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
-        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        SetCreateHttpResponseReaderWhenStatements();
 
         testRestRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
         
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpGet).setURI(new URI(expectedUrl));
         verify(mockHttpClient).execute(mockHttpGet);
-        SetConvertHttpResponseToStringVerifyStatements();
-        verify(mockJsonSerializer).DeserializeStringArrayList(expectedStringResponse);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeStringArrayList(any(Reader.class));
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
     public void testgetPermissionsForObjectType() throws Exception {
         final String testObjectType = "Stored Procedure";
         String expectedUrl = BuildExpectedUrl("Permissions/" + Uri.encode(testObjectType), "entity=objectType&");
-        String expectedStringResponse = "[\"EXECUTE\"]";
-        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
 
         SetCreateRestUrlWhenStatements();
         when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
-        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        SetCreateHttpResponseReaderWhenStatements();
 
         testRestRemoteDataModelProxy.getPermissions(testObjectType, testAuthenticationContext, testTrackingData);
         
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpGet).setURI(new URI(expectedUrl));
         verify(mockHttpClient).execute(mockHttpGet);
-        SetConvertHttpResponseToStringVerifyStatements();
-        verify(mockJsonSerializer).DeserializeStringArrayList(expectedStringResponse);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeStringArrayList(any(Reader.class));
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
@@ -430,20 +519,18 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         final String testObject = "ORDER_STATUSES";
         final String testRole = "XYZON_READ_ROLE";
         String expectedUrl = BuildExpectedUrl("Permissions/" + Uri.encode(testObject) + "/" + Uri.encode(testRole), "entity=" + Uri.encode("object,role") + "&");
-        String expectedStringResponse = "[\"SELECT\"]";
-        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
 
         SetCreateRestUrlWhenStatements();
         when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
-        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        SetCreateHttpResponseReaderWhenStatements();
 
         testRestRemoteDataModelProxy.getPermissions(testObject, testRole, testAuthenticationContext, testTrackingData);
         
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpGet).setURI(new URI(expectedUrl));
         verify(mockHttpClient).execute(mockHttpGet);
-        SetConvertHttpResponseToStringVerifyStatements();
-        verify(mockJsonSerializer).DeserializeStringArrayList(expectedStringResponse);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeStringArrayList(any(Reader.class));
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
@@ -460,7 +547,7 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         SetCreateRestUrlVerifyStatements();
         verify(mockHttpPost).setURI(new URI(expectedUrl));
         verify(mockHttpPost).setHeader(httpHeaderName, httpHeaderValue);
-        verify(mockHttpPost).setEntity(argThat(new StringEntityMatcher(new StringEntity("{\"role\":\"" + testRole + "\",\"objectName\":\"" + testObjectName + "\",\"permission\":\"" + testPermission + "\"}"))));
+        verify(mockHttpPost).setEntity(argThat(new HttpEntityMatcher(new StringEntity("{\"objectName\":\"" + testObjectName + "\",\"role\":\"" + testRole + "\",\"permission\":\"" + testPermission + "\"}"))));
         verify(mockHttpClient).execute(mockHttpPost);
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
@@ -481,6 +568,104 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
     }
     
+    public void testExecuteBatch() throws Exception {
+        ArrayList<ModelOperation> testOperations = new ArrayList<ModelOperation>();
+        testOperations.add(new ModelOperation(ModelOperationType.RemovePermission, "ORDER_STATUSES", "XYZON_READ_ROLE", "SELECT"));
+        testOperations.add(new ModelOperation(ModelOperationType.SetAddFlag, "ORDER_STATUSES", true));
+        String expectedUrl = BuildExpectedUrl("Batches", "");
+        String expectedStringResponse = "[{\"ErrorMessage\":null,\"Success\":true},{\"ErrorMessage\":null,\"Success\":true}]";
+        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
+        
+        SetCreateRestUrlWhenStatements();
+        doCallRealMethod().when(mockJsonSerializer).SerializeModelOperationList(anyListOf(ModelOperation.class), any(JsonStreamWriter.class));
+        when(mockHttpClient.execute(mockHttpPost)).thenReturn(mockHttpResponse);
+        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        
+        testRestRemoteDataModelProxy.ExecuteBatch(testOperations, testAuthenticationContext, testTrackingData);
+        
+        SetCreateRestUrlVerifyStatements();
+        verify(mockHttpPost).setURI(new URI(expectedUrl));
+        verify(mockHttpPost).setHeader(httpHeaderName, httpHeaderValue);
+        ArgumentCaptor<HttpEntity> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(mockHttpPost).setEntity(entityCaptor.capture());
+        // Compare the parsed JSON rather than the string, as the order of properties within each object is not defined
+        JSONArray sentOperations = new JSONObject(EntityUtils.toString(entityCaptor.getValue())).getJSONArray("operations");
+        assertEquals(2, sentOperations.length());
+        assertEquals("RemovePermission", sentOperations.getJSONObject(0).getString("OperationType"));
+        assertEquals("ORDER_STATUSES", sentOperations.getJSONObject(0).getString("ObjectName"));
+        assertEquals("XYZON_READ_ROLE", sentOperations.getJSONObject(0).getString("Role"));
+        assertEquals("SELECT", sentOperations.getJSONObject(0).getString("Permission"));
+        assertEquals("SetAddFlag", sentOperations.getJSONObject(1).getString("OperationType"));
+        assertEquals("ORDER_STATUSES", sentOperations.getJSONObject(1).getString("ObjectName"));
+        assertEquals(true, sentOperations.getJSONObject(1).getBoolean("FlagValue"));
+        verify(mockJsonSerializer).SerializeModelOperationList(eq(testOperations), any(JsonStreamWriter.class));
+        verify(mockHttpClient).execute(mockHttpPost);
+        SetConvertHttpResponseToStringVerifyStatements();
+        verify(mockJsonSerializer).DeserializeModelOperationResultArrayList(expectedStringResponse);
+        verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
+    }
+    
+    public void testValidateEntities() throws Exception {
+        OracleObjectPermissionSet testObject = new OracleObjectPermissionSet("SP_INFORCE_INS");
+        testObject.setObjectType("Stored Procedure");
+        testObject.setObjectOwner("XYZON");
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(testObject);
+        ArrayList<RoleToUserMap> testRoleToUserMaps = new ArrayList<RoleToUserMap>();
+        testRoleToUserMaps.add(new RoleToUserMap("XYZON_READ_ROLE", "JONES_SAM"));
+        String expectedUrl = BuildExpectedUrl("EntityValidations", "");
+        String expectedStringResponse = "{\"ObjectResults\":[{\"ObjectNameResult\":{\"IsValid\":true,\"ValidationError\":\"\"},\"ObjectOwnerResult\":{\"IsValid\":true,\"ValidationError\":\"\"},\"ObjectTypeResult\":{\"IsValid\":true,\"ValidationError\":\"\"}}],\"RoleToUserMapResults\":[{\"IsValid\":true,\"ValidationError\":\"\"}]}";
+        byte[] byteResponse = expectedStringResponse.getBytes("UTF-8");
+        
+        SetCreateRestUrlWhenStatements();
+        doCallRealMethod().when(mockJsonSerializer).SerializeOracleObjectPermissionSetList(anyListOf(OracleObjectPermissionSet.class), any(JsonStreamWriter.class));
+        doCallRealMethod().when(mockJsonSerializer).SerializeRoleToUserMapList(anyListOf(RoleToUserMap.class), any(JsonStreamWriter.class));
+        when(mockHttpClient.execute(mockHttpPost)).thenReturn(mockHttpResponse);
+        SetConvertHttpResponseToStringWhenStatements(byteResponse);
+        
+        testRestRemoteDataModelProxy.ValidateEntities(testObjects, testRoleToUserMaps, testAuthenticationContext, testTrackingData);
+        
+        SetCreateRestUrlVerifyStatements();
+        verify(mockHttpPost).setURI(new URI(expectedUrl));
+        verify(mockHttpPost).setHeader(httpHeaderName, httpHeaderValue);
+        ArgumentCaptor<HttpEntity> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(mockHttpPost).setEntity(entityCaptor.capture());
+        // Compare the parsed JSON rather than the string, as the order of properties within each object is not defined
+        JSONObject sentParameters = new JSONObject(EntityUtils.toString(entityCaptor.getValue()));
+        JSONArray sentObjects = sentParameters.getJSONArray("objects");
+        assertEquals(1, sentObjects.length());
+        assertEquals("SP_INFORCE_INS", sentObjects.getJSONObject(0).getString("ObjectName"));
+        assertEquals("Stored Procedure", sentObjects.getJSONObject(0).getString("ObjectType"));
+        assertEquals("XYZON", sentObjects.getJSONObject(0).getString("ObjectOwner"));
+        JSONArray sentRoleToUserMaps = sentParameters.getJSONArray("roleToUserMaps");
+        assertEquals(1, sentRoleToUserMaps.length());
+        assertEquals("XYZON_READ_ROLE", sentRoleToUserMaps.getJSONObject(0).getString("Role"));
+        assertEquals("JONES_SAM", sentRoleToUserMaps.getJSONObject(0).getString("User"));
+        verify(mockJsonSerializer).SerializeOracleObjectPermissionSetList(eq(testObjects), any(JsonStreamWriter.class));
+        verify(mockJsonSerializer).SerializeRoleToUserMapList(eq(testRoleToUserMaps), any(JsonStreamWriter.class));
+        verify(mockHttpClient).execute(mockHttpPost);
+        SetConvertHttpResponseToStringVerifyStatements();
+        verify(mockJsonSerializer).DeserializeEntityValidationResults(expectedStringResponse);
+        verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
+    }
+    
+    public void testgetChangesSince() throws Exception {
+        String expectedUrl = BuildExpectedUrl("Changes", "modelVersion=635812345678901234&");
+
+        SetCreateRestUrlWhenStatements();
+        when(mockHttpClient.execute(mockHttpGet)).thenReturn(mockHttpResponse);
+        SetCreateHttpResponseReaderWhenStatements();
+
+        testRestRemoteDataModelProxy.getChangesSince(635812345678901234L, testAuthenticationContext, testTrackingData);
+        
+        SetCreateRestUrlVerifyStatements();
+        verify(mockHttpGet).setURI(new URI(expectedUrl));
+        verify(mockHttpClient).execute(mockHttpGet);
+        SetCreateHttpResponseReaderVerifyStatements();
+        verify(mockJsonSerializer).DeserializeModelChangeSet(any(Reader.class));
+        verifyNoMoreInteractions(mockJsonSerializer,  mockHttpClient,  mockHttpGet,  mockHttpPut,  mockHttpPost,  mockHttpDelete,  mockHttpResponse,  mockHttpEntity,  mockInputStream);
+    }
+    
     public void testCreatePrivilegeScript() throws Exception {
         final ScriptType testScriptType = ScriptType.Rollout;
         final boolean testGenerateRevokeStatementsFlag = true;
@@ -544,7 +729,6 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
         when(mockHttpEntity.getContentLength()).thenReturn((long)characterBuffer.length);
         when(mockHttpEntity.getContent()).thenReturn(mockInputStream);
-        when(mockInputStream.available()).thenReturn(characterBuffer.length);
         when(mockInputStream.read(any(byte[].class), eq(0), eq(8192))).thenAnswer(new ReadMethodAnswer(characterBuffer, characterBuffer.length));
     }
     
@@ -552,11 +736,30 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
      * Calls verify() methods for mock interactions in RestRemoteDataModelProxy private method ConvertHttpResponseToString().
      */
     private void SetConvertHttpResponseToStringVerifyStatements() throws IOException {
-        verify(mockHttpResponse, times(4)).getEntity();
-        verify(mockHttpEntity, times(3)).getContentLength();
+        verify(mockHttpResponse).getEntity();
+        verify(mockHttpEntity).getContentLength();
+        verify(mockHttpEntity).getContentType();
+        verify(mockHttpEntity).getContent();
+        verify(mockInputStream, times(2)).read(any(byte[].class), eq(0), eq(8192));
+        verify(mockInputStream).close();
+    }
+    
+    /**
+     * Calls when() methods for mock interactions in RestRemoteDataModelProxy private method CreateHttpResponseReader().
+     */
+    private void SetCreateHttpResponseReaderWhenStatements() throws IOException {
+        when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
+        when(mockHttpEntity.getContent()).thenReturn(mockInputStream);
+    }
+    
+    /**
+     * Calls verify() methods for mock interactions in RestRemoteDataModelProxy private method CreateHttpResponseReader().
+     */
+    private void SetCreateHttpResponseReaderVerifyStatements() throws IOException {
+        verify(mockHttpResponse).getEntity();
+        verify(mockHttpEntity).getContentLength();
+        verify(mockHttpEntity).getContentType();
         verify(mockHttpEntity).getContent();
-        verify(mockInputStream).available();
-        verify(mockInputStream).read(any(byte[].class), eq(0), eq(8192));
         verify(mockInputStream).close();
     }
     
@@ -583,96 +786,70 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
     }
     
     /**
-     * Extension of the mockito ArgumentMatcher class which allows org.apache.http.entity.StringEntity classes to be compared when used as parameters in mockito verify() and when() method calls.
+     * Extension of the mockito ArgumentMatcher class which allows org.apache.http.HttpEntity classes to be compared by their content when used as parameters in mockito verify() and when() method calls.
      */
-    private class StringEntityMatcher extends ArgumentMatcher<StringEntity> {
+    private class HttpEntityMatcher extends ArgumentMatcher<HttpEntity> {
 
-        private StringEntity stringEntityToMatch;
+        private HttpEntity entityToMatch;
         
         /**
-         * Initialises a new instance of the StringEntityMatcher class.
-         * @param  stringEntityToMatch  The StringEntity class that should match the parameter passed to the mockito verify() or when() method call.
+         * Initialises a new instance of the HttpEntityMatcher class.
+         * @param  entityToMatch  The HttpEntity whose content should match the content of the parameter passed to the mockito verify() or when() method call.
          */
-        public StringEntityMatcher(StringEntity stringEntityToMatch) {
-            this.stringEntityToMatch = stringEntityToMatch;
+        public HttpEntityMatcher(HttpEntity entityToMatch) {
+            this.entityToMatch = entityToMatch;
         }
         
         @Override
         public boolean matches(Object argument) {
-            if (argument.getClass() != stringEntityToMatch.getClass()) {
+            if ((argument instanceof HttpEntity) == false) {
                 return false;
             }
             
-            StringEntity comparisonStringEntity = (StringEntity)argument;
-            // Convert both StringEntity object to Strings on order to compare them
-            String stringToMatch = null;
-            String comparisonString = null;
+            // Convert both HttpEntity objects to Strings in order to compare them
             try {
-                stringToMatch = ConvertInputStreamToString(stringEntityToMatch.getContent(), (int)stringEntityToMatch.getContentLength(), "UTF-8");
-                comparisonString = ConvertInputStreamToString(comparisonStringEntity.getContent(), (int)comparisonStringEntity.getContentLength(), "UTF-8");
+                return ConvertEntityToString(entityToMatch).equals(ConvertEntityToString((HttpEntity)argument));
             }
             catch (Exception e) {
                 return false;
             }
-            if (stringToMatch.equals(comparisonString) == false ) {
-                return false;
-            }
-            
-            return true;
         }
         
         @Override
         public void describeTo(Description description) {
-            // This method is typically used in mockito when a test fails, to report the value that was wanted but not matched.  E.g. this implementation will return...
-            //   "RestRemoteDataModelProxy([dataModelLocation])"
-            // ... which will typically be written to the mockito failure trace.
-            
             String stringToMatch;
             try {
-                stringToMatch = ConvertInputStreamToString(stringEntityToMatch.getContent(), (int)stringEntityToMatch.getContentLength(), "UTF-8");
+                stringToMatch = ConvertEntityToString(entityToMatch);
             }
             catch (Exception e) {
-                stringToMatch = "WARNING: Exception occured coverting StringEntity object to a String.";
+                stringToMatch = "WARNING: Exception occured coverting HttpEntity object to a String.";
             }
             
-            description.appendText(stringEntityToMatch.getClass().getSimpleName() + "(" + stringToMatch + ")");
+            description.appendText(entityToMatch.getClass().getSimpleName() + "(" + stringToMatch + ")");
         }
         
         /**
-         * Converts the inputted InputStream into a String.
-         * @param   inputStream                   The InputStream to convert.
-         * @param   inputStreamLength             The length of the input stream.
-         * @param   encoding                      The encoding scheme to use when converting the stream (e.g. 'UTF-8').
-         * @return  The InputStream               converted into a String.
-         * @throws  UnsupportedEncodingException  if the specified encoding scheme is invalid.
-         * @throws  IOException                   if an error occurs when reading form the InputStream
+         * Converts the content of the inputted HttpEntity into a String, by writing it to a stream as when sending a request.
+         * @param   entity                        The HttpEntity to convert.
+         * @return                                The content of the HttpEntity converted into a String.
+         * @throws  UnsupportedEncodingException  if the UTF-8 encoding scheme is not supported.
+         * @throws  IOException                   if an error occurs when writing the content of the HttpEntity.
          */
-        private String ConvertInputStreamToString(InputStream inputStream, Integer inputStreamLength, String encoding) throws UnsupportedEncodingException, IOException {
-            char[] characterBuffer = new char[inputStreamLength];
-            InputStreamReader inputStreamReader = new InputStreamReader(inputStream);
-            try {
-                BufferedReader bufferedReader = new BufferedReader(inputStreamReader, inputStreamLength);
-                try {
-                    bufferedReader.read(characterBuffer, 0, inputStreamLength);
-                }
-                finally {
-                    bufferedReader.close();
-                }
-            }
-            finally {
-                inputStreamReader.close();
-            }
-            return new String(characterBuffer);
+        private String ConvertEntityToString(HttpEntity entity) throws UnsupportedEncodingException, IOException {
+            ByteArrayOutputStream contentStream = new ByteArrayOutputStream();
+            entity.writeTo(contentStream);
+            return new String(contentStream.toByteArray(), "UTF-8");
         }
     }
     
     /**
-     * Mock answer for the BufferedReader.Read() method.
+     * Mock answer for the InputStream.read() method.  Writes the specified bytes and returns the specified value on the first call, and returns -1 (end of stream) on subsequent calls.
      */
     private class ReadMethodAnswer implements Answer<Integer> {
 
         private byte[] bytesToWrite;
         private Integer returnValue;
+        private boolean bytesWritten = false;
 
         /**
          * Initialises a new instance of the ReadMethodAnswer class.
@@ -686,6 +863,10 @@ public class RestRemoteDataModelProxyTests extends AndroidTestCase {
         
         @Override
         public Integer answer(InvocationOnMock invocation) throws Throwable {
+            if (bytesWritten == true) {
+                return -1;
+            }
+            bytesWritten = true;
             byte[] bufferParameter = (byte[])invocation.getArguments()[0];
             System.arraycopy(bytesToWrite, 0, bufferParameter, 0, bytesToWrite.length);
             return returnValue;
@@ -36,6 +36,7 @@ public class SharedPreferencesLocalSettingsPersisterTests extends AndroidTestCas
     private final String remoteDataModelProxyTypeKey = "remoteDataModelProxyTypeKey";
     private final String soapDataServiceLocationKey = "soapDataServiceLocation";
     private final String restDataServiceLocationKey = "restDataServiceLocation";
+    private final String restRequestContextModeKey = "restRequestContextMode";
     
     private SharedPreferencesLocalSettingsPersister testSharedPreferencesLocalSettingsPersister;
     private Context mockContext;
@@ -75,6 +76,9 @@ public class SharedPreferencesLocalSettingsPersisterTests extends AndroidTestCas
             .thenReturn(RemoteDataModelProxyType.REST.name());
         when(mockSharedPreferences.getString(soapDataServiceLocationKey, "")).thenReturn(testSoapDataServiceLocation);
         when(mockSharedPreferences.getString(restDataServiceLocationKey, "")).thenReturn(testRestDataServiceLocation);
+        when(mockSharedPreferences.getString(restRequestContextModeKey, RestRequestContextMode.QueryString.name()))
+            .thenReturn(RestRequestContextMode.QueryString.name())
+            .thenReturn(RestRequestContextMode.Headers.name());
         
         LocalSettings returnedLocalSettings = testSharedPreferencesLocalSettingsPersister.Read();
         
@@ -82,8 +86,9 @@ public class SharedPreferencesLocalSettingsPersisterTests extends AndroidTestCas
         assertEquals(returnedLocalSettings.getRemoteDataModelProxyType(), expectedLocalSettings.getRemoteDataModelProxyType());
         assertEquals(returnedLocalSettings.getSoapDataServiceLocation(), expectedLocalSettings.getSoapDataServiceLocation());
         assertEquals(returnedLocalSettings.getRestDataServiceLocation(), expectedLocalSettings.getRestDataServiceLocation());
+        assertEquals(returnedLocalSettings.getRestRequestContextMode(), RestRequestContextMode.QueryString);
         
-        // Test again returning RemoteDataModelProxyType.REST from the SharedPreferences mock, to ensure both values in the RemoteDataModelProxyType enum are properly deserialized from strings
+        // Test again returning RemoteDataModelProxyType.REST and RestRequestContextMode.Headers from the SharedPreferences mock, to ensure all values in the enums are properly deserialized from strings
         expectedLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.REST);
         
         returnedLocalSettings = testSharedPreferencesLocalSettingsPersister.Read();
@@ -92,5 +97,6 @@ public class SharedPreferencesLocalSettingsPersisterTests extends AndroidTestCas
         assertEquals(returnedLocalSettings.getRemoteDataModelProxyType(), RemoteDataModelProxyType.REST);
         assertEquals(returnedLocalSettings.getSoapDataServiceLocation(), expectedLocalSettings.getSoapDataServiceLocation());
         assertEquals(returnedLocalSettings.getRestDataServiceLocation(), expectedLocalSettings.getRestDataServiceLocation());
+        assertEquals(returnedLocalSettings.getRestRequestContextMode(), RestRequestContextMode.Headers);
     }
 }
@@ -16,6 +16,7 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
 
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.CachingRemoteDataModelProxy;
 import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.SoapRemoteDataModelProxy;
 
 import org.hamcrest.Description;
@@ -39,6 +40,10 @@ public class SoapRemoteDataModelProxyMatcher extends ArgumentMatcher<SoapRemoteD
     
     @Override
     public boolean matches(Object argument) {
+        // The presenter wraps the proxy in a CachingRemoteDataModelProxy, so match against the wrapped proxy
+        if (argument instanceof CachingRemoteDataModelProxy) {
+            argument = ((CachingRemoteDataModelProxy)argument).getRemoteDataModelProxy();
+        }
         if (argument.getClass() != soapRemoteDataModelProxyToMatch.getClass()) {
             return false;
         }
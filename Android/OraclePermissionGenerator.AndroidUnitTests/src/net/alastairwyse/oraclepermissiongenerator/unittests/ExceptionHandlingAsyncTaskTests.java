@@ -68,6 +68,8 @@ public class ExceptionHandlingAsyncTaskTests extends InstrumentationTestCase {
         
         verify(mockObjectListView).ShowWaitDialog("Please Wait", "Retrieving data...");
         verify(mockDataInterface).getObjects();
+        verify(mockDataInterface, timeout(1000)).getObjectTypes();
+        verify(mockDataInterface, timeout(1000)).getDefaultObjectOwner();
         verify(mockObjectListView).ClearObjects();
         verify(mockObjectListView).PopulateObjects(testData);
         verify(mockObjectListView).CloseWaitDialog();
@@ -16,8 +16,12 @@
 
 package net.alastairwyse.oraclepermissiongenerator.unittests;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import android.content.DialogInterface.OnClickListener;
@@ -31,7 +35,10 @@ import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests.*
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.hamcrest.Description;
 
 /**
@@ -72,6 +79,7 @@ public class PresenterTests extends InstrumentationTestCase {
         mockConnectionSettingsView = mock(IConnectionSettingsView.class);
         mockSelectScriptView = mock(ISelectScriptView.class);
         allMocks = new Object[] { mockDataInterface, mockExceptionLogger, mockObjectListView, mockAddObjectView, mockSelectRoleView, mockSetPermissionsView, mockRoleToUserMapView, mockAddRoleToUserMapView, mockSettingsView, mockConnectionSettingsView, mockSelectScriptView };
+        when(mockDataInterface.ExecuteBatch(anyListOf(ModelOperation.class))).thenAnswer(new SuccessfulBatchAnswer());
         testPresenter = new Presenter(mockDataInterface, mockExceptionLogger, backgroundThreadCompleteSignal);
         testPresenter.setObjectListView(mockObjectListView);
         testPresenter.setAddObjectView(mockAddObjectView);
@@ -99,6 +107,9 @@ public class PresenterTests extends InstrumentationTestCase {
 
         verify(mockObjectListView).ShowWaitDialog("Please Wait", "Retrieving data...");
         verify(mockDataInterface).getObjects();
+        // The data displayed by the add object view is prefetched in the background once the objects have been retrieved
+        verify(mockDataInterface, timeout(1000)).getObjectTypes();
+        verify(mockDataInterface, timeout(1000)).getDefaultObjectOwner();
         verify(mockObjectListView).ClearObjects();
         verify(mockObjectListView).PopulateObjects(testData);
         verify(mockObjectListView).CloseWaitDialog();
@@ -110,9 +121,7 @@ public class PresenterTests extends InstrumentationTestCase {
         final String testObjectType = "Stored Procedure";
         final String testObjectOwner = "DEFAULT_OWNER";
 
-        when(mockDataInterface.ObjectNameValidate(testObjectName)).thenReturn(new ValidationResult(true, ""));
-        when(mockDataInterface.ObjectTypeValidate(testObjectType)).thenReturn(new ValidationResult(true, ""));
-        when(mockDataInterface.ObjectOwnerValidate(testObjectOwner)).thenReturn(new ValidationResult(true, ""));
+        when(mockDataInterface.ValidateEntities(anyListOf(OracleObjectPermissionSet.class), anyListOf(RoleToUserMap.class))).thenReturn(CreateObjectValidationResults(new ValidationResult(true, ""), new ValidationResult(true, ""), new ValidationResult(true, "")));
         
         runTestOnUiThread(new Runnable() {
             @Override
@@ -123,9 +132,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockAddObjectView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).ObjectNameValidate(testObjectName);
-        verify(mockDataInterface).ObjectTypeValidate(testObjectType);
-        verify(mockDataInterface).ObjectOwnerValidate(testObjectOwner);
+        verify(mockDataInterface).ValidateEntities(anyListOf(OracleObjectPermissionSet.class), anyListOf(RoleToUserMap.class));
         verify(mockDataInterface).AddObjectPermissionSet(eq(testObjectName), eq(testObjectType), eq(testObjectOwner), eq(true), eq(false), any(ArrayList.class));
         verify(mockObjectListView).AddObject(any(OracleObjectPermissionSet.class));
         verify(mockAddObjectView).Close();
@@ -139,7 +146,7 @@ public class PresenterTests extends InstrumentationTestCase {
         final String testObjectOwner = "DEFAULT_OWNER";
         final String validationError = "The object name must be between 1 and 30 characters in length";
         
-        when(mockDataInterface.ObjectNameValidate(testObjectName)).thenReturn(new ValidationResult(false, validationError));
+        when(mockDataInterface.ValidateEntities(anyListOf(OracleObjectPermissionSet.class), anyListOf(RoleToUserMap.class))).thenReturn(CreateObjectValidationResults(new ValidationResult(false, validationError), new ValidationResult(true, ""), new ValidationResult(true, "")));
         
         runTestOnUiThread(new Runnable() {
             @Override
@@ -150,7 +157,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockAddObjectView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).ObjectNameValidate(testObjectName);
+        verify(mockDataInterface).ValidateEntities(anyListOf(OracleObjectPermissionSet.class), anyListOf(RoleToUserMap.class));
         verify(mockAddObjectView).ShowOkDialog(eq("Error"), eq(validationError), any(OnClickListener.class));
         verify(mockAddObjectView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
@@ -162,9 +169,7 @@ public class PresenterTests extends InstrumentationTestCase {
         final String testObjectOwner = "";
         final String validationError = "The object owner must be between 1 and 30 characters in length";
         
-        when(mockDataInterface.ObjectNameValidate(testObjectName)).thenReturn(new ValidationResult(true, ""));
-        when(mockDataInterface.ObjectTypeValidate(testObjectType)).thenReturn(new ValidationResult(true, ""));
-        when(mockDataInterface.ObjectOwnerValidate(testObjectOwner)).thenReturn(new ValidationResult(false, validationError));
+        when(mockDataInterface.ValidateEntities(anyListOf(OracleObjectPermissionSet.class), anyListOf(RoleToUserMap.class))).thenReturn(CreateObjectValidationResults(new ValidationResult(true, ""), new ValidationResult(true, ""), new ValidationResult(false, validationError)));
         
         runTestOnUiThread(new Runnable() {
             @Override
@@ -175,9 +180,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockAddObjectView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).ObjectNameValidate(testObjectName);
-        verify(mockDataInterface).ObjectTypeValidate(testObjectType);
-        verify(mockDataInterface).ObjectOwnerValidate(testObjectOwner);
+        verify(mockDataInterface).ValidateEntities(anyListOf(OracleObjectPermissionSet.class), anyListOf(RoleToUserMap.class));
         verify(mockAddObjectView).ShowOkDialog(eq("Error"), eq(validationError), any(OnClickListener.class));
         verify(mockAddObjectView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
@@ -189,8 +192,7 @@ public class PresenterTests extends InstrumentationTestCase {
         final String testObjectOwner = "DEFAULT_OWNER";
         final String validationError = "The object owner must be between 1 and 30 characters in length";
         
-        when(mockDataInterface.ObjectNameValidate(testObjectName)).thenReturn(new ValidationResult(true, ""));
-        when(mockDataInterface.ObjectTypeValidate(testObjectType)).thenReturn(new ValidationResult(false, validationError));
+        when(mockDataInterface.ValidateEntities(anyListOf(OracleObjectPermissionSet.class), anyListOf(RoleToUserMap.class))).thenReturn(CreateObjectValidationResults(new ValidationResult(true, ""), new ValidationResult(false, validationError), new ValidationResult(true, "")));
         
         runTestOnUiThread(new Runnable() {
             @Override
@@ -201,8 +203,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockAddObjectView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).ObjectNameValidate(testObjectName);
-        verify(mockDataInterface).ObjectTypeValidate(testObjectType);
+        verify(mockDataInterface).ValidateEntities(anyListOf(OracleObjectPermissionSet.class), anyListOf(RoleToUserMap.class));
         verify(mockAddObjectView).ShowOkDialog(eq("Error"), eq(validationError), any(OnClickListener.class));
         verify(mockAddObjectView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
@@ -238,7 +239,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockObjectListView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).SetAddFlag(testOracleObjectName, true);
+        verify(mockDataInterface).ExecuteBatch(argThat(new ModelOperationListMatcher(new ModelOperation(ModelOperationType.SetAddFlag, testOracleObjectName, true))));
         verify(mockObjectListView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
     }
@@ -255,7 +256,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockObjectListView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).SetRemoveFlag(testOracleObjectName, true);
+        verify(mockDataInterface).ExecuteBatch(argThat(new ModelOperationListMatcher(new ModelOperation(ModelOperationType.SetRemoveFlag, testOracleObjectName, true))));
         verify(mockObjectListView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
     }
@@ -350,7 +351,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockSetPermissionsView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).AddPermission(testObjectName, testRole, testPermission);
+        verify(mockDataInterface).ExecuteBatch(argThat(new ModelOperationListMatcher(new ModelOperation(ModelOperationType.AddPermission, testObjectName, testRole, testPermission))));
         verify(mockSetPermissionsView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
     }
@@ -369,11 +370,61 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockSetPermissionsView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).RemovePermission(testObjectName, testRole, testPermission);
+        verify(mockDataInterface).ExecuteBatch(argThat(new ModelOperationListMatcher(new ModelOperation(ModelOperationType.RemovePermission, testObjectName, testRole, testPermission))));
         verify(mockSetPermissionsView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
     }
     
+    public void testSetPermssionOpposingChangesCoalesced() throws Throwable {
+        final String testObjectName = "INFORCE";
+        final String testRole = "APP_ROLE";
+        
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                testPresenter.SetPermssion(testObjectName, testRole, "INSERT", true);
+                testPresenter.SetPermssion(testObjectName, testRole, "UPDATE", true);
+                testPresenter.SetPermssion(testObjectName, testRole, "INSERT", false);
+                testPresenter.SetPermssion(testObjectName, testRole, "DELETE", false);
+            }
+        });
+        backgroundThreadCompleteSignal.await();
+        
+        verify(mockSetPermissionsView).ShowWaitDialog("Please Wait", "Retrieving data...");
+        verify(mockDataInterface).ExecuteBatch(argThat(new ModelOperationListMatcher(new ModelOperation(ModelOperationType.AddPermission, testObjectName, testRole, "UPDATE"), new ModelOperation(ModelOperationType.RemovePermission, testObjectName, testRole, "DELETE"))));
+        verify(mockSetPermissionsView).CloseWaitDialog();
+        verifyNoMoreInteractions(allMocks);
+    }
+    
+    public void testSetAddFlagPendingChangesFlushedBeforeGeneratingScript() throws Throwable {
+        final String testOracleObjectName = "SP_INFORCE_INS";
+        final String testScriptText = "GRANT EXECUTE ON SP_INFORCE_INS TO XYZON_APP_ROLE;";
+        
+        RecordingScriptWriter testScriptWriter = new RecordingScriptWriter();
+        when(mockDataInterface.CreateScriptWriter()).thenReturn(testScriptWriter);
+        doAnswer(new WriteScriptAnswer(1, testScriptText)).when(mockDataInterface).CreateSynonymScript(ScriptType.Rollout, testScriptWriter);
+        testPresenter.setWriteCoalescingWindow(60000);
+        
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                testPresenter.SetAddFlag(testOracleObjectName, false);
+                testPresenter.GenerateSynonymScript(ScriptType.Rollout);
+            }
+        });
+        backgroundThreadCompleteSignal.await();
+        
+        verify(mockSelectScriptView).ShowWaitDialog("Please Wait", "Retrieving data...");
+        verify(mockDataInterface).ExecuteBatch(argThat(new ModelOperationListMatcher(new ModelOperation(ModelOperationType.SetAddFlag, testOracleObjectName, false))));
+        verify(mockDataInterface).CreateScriptWriter();
+        verify(mockDataInterface).CreateSynonymScript(ScriptType.Rollout, testScriptWriter);
+        assertEquals(testScriptText, testScriptWriter.toString());
+        assertTrue(testScriptWriter.getClosed());
+        verify(mockSelectScriptView).CloseWaitDialog();
+        verify(mockSelectScriptView).Close();
+        verifyNoMoreInteractions(allMocks);
+    }
+    
     public void testShowRoleToUserMapViewSuccessTest() throws Throwable {
         ArrayList<RoleToUserMap> testRoleToUserMappings = new ArrayList<RoleToUserMap>();
         testRoleToUserMappings.add(new RoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER"));
@@ -443,37 +494,11 @@ public class PresenterTests extends InstrumentationTestCase {
         verifyNoMoreInteractions(allMocks);
     }
     
-    public void testRemoveRoleToUserMapReferencingObjectsDontExistSuccessTest() throws Throwable {
-        final String testRole = "XYZON_POWER_ROLE";
-        final String testUser = "XYZON_POWER_USER";
-        
-        when(mockDataInterface.RoleGetReferencingObjects(testRole)).thenReturn(new ArrayList<String>());
-        when(mockDataInterface.getMasterRoleToUserMapCollection()).thenReturn(new ArrayList<RoleToUserMap>(Arrays.asList(new RoleToUserMap(testRole, testUser))));
-        
-        runTestOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-                testPresenter.RemoveRoleToUserMap(testRole, testUser);
-            }
-        });
-        backgroundThreadCompleteSignal.await();
-        
-        verify(mockRoleToUserMapView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).RoleGetReferencingObjects(testRole);
-        verify(mockDataInterface).getMasterRoleToUserMapCollection();
-        verify(mockDataInterface).RemoveRoleToUserMap(testRole, testUser);
-        verify(mockRoleToUserMapView).RemoveRoleToUserMap(argThat(new RoleToUserMapMatcher(new RoleToUserMap(testRole, testUser))));
-        verify(mockRoleToUserMapView).CloseWaitDialog();
-        verifyNoMoreInteractions(allMocks);
-    }
-    
-    public void testRemoveRoleToUserMapReferencingObjectsExistSuccessTest() throws Throwable {
+    public void testRemoveRoleToUserMapSuccessTest() throws Throwable {
         final String testRole = "XYZON_POWER_ROLE";
         final String testUser = "XYZON_POWER_USER";
-        final String referencingObjectName = "VW_CUSTOMERS";
         
-        when(mockDataInterface.RoleGetReferencingObjects(testRole)).thenReturn(new ArrayList<String>(Arrays.asList(referencingObjectName)));
-        when(mockDataInterface.getMasterRoleToUserMapCollection()).thenReturn(new ArrayList<RoleToUserMap>(Arrays.asList(new RoleToUserMap(testRole, testUser), new RoleToUserMap(testRole, "XYZON_POWER_USER2"))));
+        when(mockDataInterface.RoleToUserMapRemoveValidate(testRole, testUser)).thenReturn(new ValidationResult(true, ""));
         
         runTestOnUiThread(new Runnable() {
             @Override
@@ -484,8 +509,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockRoleToUserMapView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).RoleGetReferencingObjects(testRole);
-        verify(mockDataInterface).getMasterRoleToUserMapCollection();
+        verify(mockDataInterface).RoleToUserMapRemoveValidate(testRole, testUser);
         verify(mockDataInterface).RemoveRoleToUserMap(testRole, testUser);
         verify(mockRoleToUserMapView).RemoveRoleToUserMap(argThat(new RoleToUserMapMatcher(new RoleToUserMap(testRole, testUser))));
         verify(mockRoleToUserMapView).CloseWaitDialog();
@@ -498,8 +522,7 @@ public class PresenterTests extends InstrumentationTestCase {
         final String referencingObjectName = "VW_CUSTOMERS";
         final String validationError = "The role to user mapping is referenced by the following objects.  Please remove the references or objects and try again.\n  " + referencingObjectName + "\n";
         
-        when(mockDataInterface.RoleGetReferencingObjects(testRole)).thenReturn(new ArrayList<String>(Arrays.asList(referencingObjectName)));
-        when(mockDataInterface.getMasterRoleToUserMapCollection()).thenReturn(new ArrayList<RoleToUserMap>(Arrays.asList(new RoleToUserMap(testRole, testUser))));
+        when(mockDataInterface.RoleToUserMapRemoveValidate(testRole, testUser)).thenReturn(new ValidationResult(false, validationError));
         
         runTestOnUiThread(new Runnable() {
             @Override
@@ -510,8 +533,7 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockRoleToUserMapView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).RoleGetReferencingObjects(testRole);
-        verify(mockDataInterface).getMasterRoleToUserMapCollection();
+        verify(mockDataInterface).RoleToUserMapRemoveValidate(testRole, testUser);
         verify(mockRoleToUserMapView).ShowOkDialog(eq("Error"), eq(validationError), any(OnClickListener.class));
         verify(mockRoleToUserMapView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
@@ -589,6 +611,7 @@ public class PresenterTests extends InstrumentationTestCase {
         testLocalSettings.setRemoteDataModelProxyType(testRemoteDataModelProxyType);
         testLocalSettings.setSoapDataServiceLocation(testSoapDataServiceLocation);
         testLocalSettings.setRestDataServiceLocation(testRestDataServiceLocation);
+        testLocalSettings.setRestRequestContextMode(RestRequestContextMode.Headers);
 
         when(mockDataInterface.getLocalSettings()).thenReturn(testLocalSettings);
         
@@ -606,6 +629,7 @@ public class PresenterTests extends InstrumentationTestCase {
         verify(mockConnectionSettingsView).PopulateRemoteDataModelProxyType(testRemoteDataModelProxyType);
         verify(mockConnectionSettingsView).PopulateSoapDataServiceLocation(testSoapDataServiceLocation);
         verify(mockConnectionSettingsView).PopulateRestDataServiceLocation(testRestDataServiceLocation);
+        verify(mockConnectionSettingsView).PopulateRestRequestContextMode(RestRequestContextMode.Headers);
         verify(mockObjectListView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
     }
@@ -640,22 +664,22 @@ public class PresenterTests extends InstrumentationTestCase {
         currentLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
         ArrayList<OracleObjectPermissionSet> testData = new ArrayList<OracleObjectPermissionSet>();
         
-        when(mockDataInterface.getLocalSettings()).thenReturn(currentLocalSettings);
         when(mockDataInterface.getObjects()).thenReturn(testData);
         
         runTestOnUiThread(new Runnable() {
             @Override
             public void run() {
-                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation);
+                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation, RestRequestContextMode.QueryString);
             }
         });
         backgroundThreadCompleteSignal.await();
 
         verify(mockConnectionSettingsView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).getLocalSettings();
         verify(mockDataInterface).setLocalSettings(argThat(new LocalSettingsMatcher(currentLocalSettings)));
         verify(mockConnectionSettingsView).Close();
         verify(mockDataInterface).getObjects();
+        verify(mockDataInterface, timeout(1000)).getObjectTypes();
+        verify(mockDataInterface, timeout(1000)).getDefaultObjectOwner();
         verify(mockConnectionSettingsView).CloseWaitDialog();
         verifyNoMoreInteractions(mockDataInterface, mockConnectionSettingsView);
     }
@@ -677,6 +701,9 @@ public class PresenterTests extends InstrumentationTestCase {
         testPresenter.setSettingsView(mockSettingsView);
         testPresenter.setConnectionSettingsView(mockConnectionSettingsView);
         testPresenter.setSelectScriptView(mockSelectScriptView);
+        // Capture the listener which the presenter registers to recreate the remote data model proxy when the connection settings change
+        ArgumentCaptor<ILocalSettingsListener> localSettingsListenerCaptor = ArgumentCaptor.forClass(ILocalSettingsListener.class);
+        verify(mockDataInterfaceService).AddLocalSettingsListener(localSettingsListenerCaptor.capture());
         
         final String testUserIdentifier = "user@tempuri.org";
         final RemoteDataModelProxyType testRemoteDataModelProxyType = RemoteDataModelProxyType.SOAP;
@@ -698,23 +725,24 @@ public class PresenterTests extends InstrumentationTestCase {
         
         ArrayList<OracleObjectPermissionSet> testData = new ArrayList<OracleObjectPermissionSet>();
         
-        when(mockDataInterfaceService.getLocalSettings()).thenReturn(currentLocalSettings);
+        doAnswer(new LocalSettingsChangedAnswer(localSettingsListenerCaptor.getValue(), currentLocalSettings)).when(mockDataInterfaceService).setLocalSettings(any(LocalSettings.class));
         when(mockDataInterfaceService.getObjects()).thenReturn(testData);
         
         runTestOnUiThread(new Runnable() {
             @Override
             public void run() {
-                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation);
+                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation, RestRequestContextMode.QueryString);
             }
         });
         backgroundThreadCompleteSignal.await();
 
         verify(mockConnectionSettingsView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterfaceService).getLocalSettings();
         verify(mockDataInterfaceService).setLocalSettings(argThat(new LocalSettingsMatcher(testLocalSettings)));
         verify(mockDataInterfaceService).setRemoteDataModelProxy(argThat(new SoapRemoteDataModelProxyMatcher(testRemoteDataModelProxy)));
         verify(mockConnectionSettingsView).Close();
         verify(mockDataInterfaceService).getObjects();
+        verify(mockDataInterfaceService, timeout(1000)).getObjectTypes();
+        verify(mockDataInterfaceService, timeout(1000)).getDefaultObjectOwner();
         verify(mockConnectionSettingsView).CloseWaitDialog();
         verifyNoMoreInteractions(mockDataInterfaceService, mockConnectionSettingsView);
     }
@@ -736,6 +764,9 @@ public class PresenterTests extends InstrumentationTestCase {
         testPresenter.setSettingsView(mockSettingsView);
         testPresenter.setConnectionSettingsView(mockConnectionSettingsView);
         testPresenter.setSelectScriptView(mockSelectScriptView);
+        // Capture the listener which the presenter registers to recreate the remote data model proxy when the connection settings change
+        ArgumentCaptor<ILocalSettingsListener> localSettingsListenerCaptor = ArgumentCaptor.forClass(ILocalSettingsListener.class);
+        verify(mockDataInterfaceService).AddLocalSettingsListener(localSettingsListenerCaptor.capture());
         
         final String testUserIdentifier = "user@tempuri.org";
         final RemoteDataModelProxyType testRemoteDataModelProxyType = RemoteDataModelProxyType.SOAP;
@@ -757,23 +788,24 @@ public class PresenterTests extends InstrumentationTestCase {
         
         ArrayList<OracleObjectPermissionSet> testData = new ArrayList<OracleObjectPermissionSet>();
         
-        when(mockDataInterfaceService.getLocalSettings()).thenReturn(currentLocalSettings);
+        doAnswer(new LocalSettingsChangedAnswer(localSettingsListenerCaptor.getValue(), currentLocalSettings)).when(mockDataInterfaceService).setLocalSettings(any(LocalSettings.class));
         when(mockDataInterfaceService.getObjects()).thenReturn(testData);
         
         runTestOnUiThread(new Runnable() {
             @Override
             public void run() {
-                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation);
+                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation, RestRequestContextMode.QueryString);
             }
         });
         backgroundThreadCompleteSignal.await();
 
         verify(mockConnectionSettingsView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterfaceService).getLocalSettings();
         verify(mockDataInterfaceService).setLocalSettings(argThat(new LocalSettingsMatcher(testLocalSettings)));
         verify(mockDataInterfaceService).setRemoteDataModelProxy(argThat(new SoapRemoteDataModelProxyMatcher(testRemoteDataModelProxy)));
         verify(mockConnectionSettingsView).Close();
         verify(mockDataInterfaceService).getObjects();
+        verify(mockDataInterfaceService, timeout(1000)).getObjectTypes();
+        verify(mockDataInterfaceService, timeout(1000)).getDefaultObjectOwner();
         verify(mockConnectionSettingsView).CloseWaitDialog();
         verifyNoMoreInteractions(mockDataInterfaceService, mockConnectionSettingsView);
     }
@@ -795,6 +827,9 @@ public class PresenterTests extends InstrumentationTestCase {
         testPresenter.setSettingsView(mockSettingsView);
         testPresenter.setConnectionSettingsView(mockConnectionSettingsView);
         testPresenter.setSelectScriptView(mockSelectScriptView);
+        // Capture the listener which the presenter registers to recreate the remote data model proxy when the connection settings change
+        ArgumentCaptor<ILocalSettingsListener> localSettingsListenerCaptor = ArgumentCaptor.forClass(ILocalSettingsListener.class);
+        verify(mockDataInterfaceService).AddLocalSettingsListener(localSettingsListenerCaptor.capture());
         
         final String testUserIdentifier = "user@tempuri.org";
         final RemoteDataModelProxyType testRemoteDataModelProxyType = RemoteDataModelProxyType.REST;
@@ -816,23 +851,140 @@ public class PresenterTests extends InstrumentationTestCase {
         
         ArrayList<OracleObjectPermissionSet> testData = new ArrayList<OracleObjectPermissionSet>();
         
-        when(mockDataInterfaceService.getLocalSettings()).thenReturn(currentLocalSettings);
+        doAnswer(new LocalSettingsChangedAnswer(localSettingsListenerCaptor.getValue(), currentLocalSettings)).when(mockDataInterfaceService).setLocalSettings(any(LocalSettings.class));
         when(mockDataInterfaceService.getObjects()).thenReturn(testData);
         
         runTestOnUiThread(new Runnable() {
             @Override
             public void run() {
-                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation);
+                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation, RestRequestContextMode.QueryString);
             }
         });
         backgroundThreadCompleteSignal.await();
 
         verify(mockConnectionSettingsView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterfaceService).getLocalSettings();
         verify(mockDataInterfaceService).setLocalSettings(argThat(new LocalSettingsMatcher(testLocalSettings)));
         verify(mockDataInterfaceService).setRemoteDataModelProxy(argThat(new RestRemoteDataModelProxyMatcher(testRemoteDataModelProxy)));
         verify(mockConnectionSettingsView).Close();
         verify(mockDataInterfaceService).getObjects();
+        verify(mockDataInterfaceService, timeout(1000)).getObjectTypes();
+        verify(mockDataInterfaceService, timeout(1000)).getDefaultObjectOwner();
+        verify(mockConnectionSettingsView).CloseWaitDialog();
+        verifyNoMoreInteractions(mockDataInterfaceService, mockConnectionSettingsView);
+    }
+    
+    public void testSaveConnectionSettingsRestRequestContextModeChangedSuccessTest() throws Throwable {
+        // Tests that a new IRemoteDataModelProxy is created and set on the data layer when the RestRequestContextMode is changed from 'QueryString' to 'Headers'
+        
+        // Reset the 'backgroundThreadCompleteSignal' to have a count of 2, as 2 worker threads are created using AsyncTask objects in the SaveConnectionSettings() method (due to nested call to Presenter.Initialise() method). 
+        backgroundThreadCompleteSignal = new CountDownLatch(2);
+        // Mock the IDataInterface parameter set on the Presenter as a DataInterfaceService class rather than IDataInterface interface, so that the setRemoteDataModelProxy() method is available to the test code. 
+        DataInterfaceService mockDataInterfaceService = mock(DataInterfaceService.class);
+        testPresenter = new Presenter(mockDataInterfaceService, mockExceptionLogger, backgroundThreadCompleteSignal);
+        testPresenter.setObjectListView(mockObjectListView);
+        testPresenter.setAddObjectView(mockAddObjectView);
+        testPresenter.setSelectRoleView(mockSelectRoleView);
+        testPresenter.setSetPermissionsView(mockSetPermissionsView);
+        testPresenter.setRoleToUserMapView(mockRoleToUserMapView);
+        testPresenter.setAddRoleToUserMapView(mockAddRoleToUserMapView);
+        testPresenter.setSettingsView(mockSettingsView);
+        testPresenter.setConnectionSettingsView(mockConnectionSettingsView);
+        testPresenter.setSelectScriptView(mockSelectScriptView);
+        // Capture the listener which the presenter registers to recreate the remote data model proxy when the connection settings change
+        ArgumentCaptor<ILocalSettingsListener> localSettingsListenerCaptor = ArgumentCaptor.forClass(ILocalSettingsListener.class);
+        verify(mockDataInterfaceService).AddLocalSettingsListener(localSettingsListenerCaptor.capture());
+        
+        final String testUserIdentifier = "user@tempuri.org";
+        final RemoteDataModelProxyType testRemoteDataModelProxyType = RemoteDataModelProxyType.REST;
+        final String testSoapDataServiceLocation = "192.168.1.101:5000";
+        final String testRestDataServiceLocation = "192.168.1.101:5001";
+
+        LocalSettings testLocalSettings = new LocalSettings();
+        testLocalSettings.setUserIdentifier(testUserIdentifier);
+        testLocalSettings.setRemoteDataModelProxyType(testRemoteDataModelProxyType);
+        testLocalSettings.setSoapDataServiceLocation(testSoapDataServiceLocation);
+        testLocalSettings.setRestDataServiceLocation(testRestDataServiceLocation);
+        testLocalSettings.setRestRequestContextMode(RestRequestContextMode.Headers);
+        LocalSettings currentLocalSettings = new LocalSettings();
+        currentLocalSettings.setUserIdentifier("user@tempuri.org");
+        currentLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.REST);
+        currentLocalSettings.setSoapDataServiceLocation("192.168.1.101:5000");
+        currentLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        RestRemoteDataModelProxy testRemoteDataModelProxy = new RestRemoteDataModelProxy();
+        testRemoteDataModelProxy.setDataModelLocation(testRestDataServiceLocation);
+        testRemoteDataModelProxy.setRequestContextMode(RestRequestContextMode.Headers);
+        
+        ArrayList<OracleObjectPermissionSet> testData = new ArrayList<OracleObjectPermissionSet>();
+        
+        doAnswer(new LocalSettingsChangedAnswer(localSettingsListenerCaptor.getValue(), currentLocalSettings)).when(mockDataInterfaceService).setLocalSettings(any(LocalSettings.class));
+        when(mockDataInterfaceService.getObjects()).thenReturn(testData);
+        
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation, RestRequestContextMode.Headers);
+            }
+        });
+        backgroundThreadCompleteSignal.await();
+
+        verify(mockConnectionSettingsView).ShowWaitDialog("Please Wait", "Retrieving data...");
+        verify(mockDataInterfaceService).setLocalSettings(argThat(new LocalSettingsMatcher(testLocalSettings)));
+        verify(mockDataInterfaceService).setRemoteDataModelProxy(argThat(new RestRemoteDataModelProxyMatcher(testRemoteDataModelProxy)));
+        verify(mockConnectionSettingsView).Close();
+        verify(mockDataInterfaceService).getObjects();
+        verify(mockDataInterfaceService, timeout(1000)).getObjectTypes();
+        verify(mockDataInterfaceService, timeout(1000)).getDefaultObjectOwner();
+        verify(mockConnectionSettingsView).CloseWaitDialog();
+        verifyNoMoreInteractions(mockDataInterfaceService, mockConnectionSettingsView);
+    }
+    
+    public void testSaveConnectionSettingsInactiveDataServiceLocationChangedSuccessTest() throws Throwable {
+        // Tests that the IRemoteDataModelProxy is not recreated when the RestDataServiceLocation is changed, but the RemoteDataModelProxyType remains 'SOAP'
+        
+        // Reset the 'backgroundThreadCompleteSignal' to have a count of 2, as 2 worker threads are created using AsyncTask objects in the SaveConnectionSettings() method (due to nested call to Presenter.Initialise() method). 
+        backgroundThreadCompleteSignal = new CountDownLatch(2);
+        DataInterfaceService mockDataInterfaceService = mock(DataInterfaceService.class);
+        testPresenter = new Presenter(mockDataInterfaceService, mockExceptionLogger, backgroundThreadCompleteSignal);
+        testPresenter.setObjectListView(mockObjectListView);
+        testPresenter.setConnectionSettingsView(mockConnectionSettingsView);
+        ArgumentCaptor<ILocalSettingsListener> localSettingsListenerCaptor = ArgumentCaptor.forClass(ILocalSettingsListener.class);
+        verify(mockDataInterfaceService).AddLocalSettingsListener(localSettingsListenerCaptor.capture());
+        
+        final String testUserIdentifier = "user@tempuri.org";
+        final RemoteDataModelProxyType testRemoteDataModelProxyType = RemoteDataModelProxyType.SOAP;
+        final String testSoapDataServiceLocation = "192.168.1.101:5000";
+        final String testRestDataServiceLocation = "192.168.1.101:5002";
+
+        LocalSettings testLocalSettings = new LocalSettings();
+        testLocalSettings.setUserIdentifier(testUserIdentifier);
+        testLocalSettings.setRemoteDataModelProxyType(testRemoteDataModelProxyType);
+        testLocalSettings.setSoapDataServiceLocation(testSoapDataServiceLocation);
+        testLocalSettings.setRestDataServiceLocation(testRestDataServiceLocation);
+        LocalSettings currentLocalSettings = new LocalSettings();
+        currentLocalSettings.setUserIdentifier("user@tempuri.org");
+        currentLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.SOAP);
+        currentLocalSettings.setSoapDataServiceLocation("192.168.1.101:5000");
+        currentLocalSettings.setRestDataServiceLocation("192.168.1.101:5001");
+        
+        ArrayList<OracleObjectPermissionSet> testData = new ArrayList<OracleObjectPermissionSet>();
+        
+        doAnswer(new LocalSettingsChangedAnswer(localSettingsListenerCaptor.getValue(), currentLocalSettings)).when(mockDataInterfaceService).setLocalSettings(any(LocalSettings.class));
+        when(mockDataInterfaceService.getObjects()).thenReturn(testData);
+        
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                testPresenter.SaveConnectionSettings(testUserIdentifier, testRemoteDataModelProxyType, testSoapDataServiceLocation, testRestDataServiceLocation, RestRequestContextMode.QueryString);
+            }
+        });
+        backgroundThreadCompleteSignal.await();
+
+        verify(mockConnectionSettingsView).ShowWaitDialog("Please Wait", "Retrieving data...");
+        verify(mockDataInterfaceService).setLocalSettings(argThat(new LocalSettingsMatcher(testLocalSettings)));
+        verify(mockConnectionSettingsView).Close();
+        verify(mockDataInterfaceService).getObjects();
+        verify(mockDataInterfaceService, timeout(1000)).getObjectTypes();
+        verify(mockDataInterfaceService, timeout(1000)).getDefaultObjectOwner();
         verify(mockConnectionSettingsView).CloseWaitDialog();
         verifyNoMoreInteractions(mockDataInterfaceService, mockConnectionSettingsView);
     }
@@ -840,7 +992,9 @@ public class PresenterTests extends InstrumentationTestCase {
     public void testGeneratePrivilegeScriptSuccessTest() throws Throwable {
         final String testScriptText = "GRANT SELECT ON CUSTOMERS TO XYZON_POWER_ROLE;\nGRANT SELECT ON ITEMS TO XYZON_POWER_ROLE;";
         
-        when(mockDataInterface.CreatePrivilegeScript(ScriptType.Rollout, true)).thenReturn(testScriptText);
+        RecordingScriptWriter testScriptWriter = new RecordingScriptWriter();
+        when(mockDataInterface.CreateScriptWriter()).thenReturn(testScriptWriter);
+        doAnswer(new WriteScriptAnswer(2, testScriptText)).when(mockDataInterface).CreatePrivilegeScript(ScriptType.Rollout, true, testScriptWriter);
         
         runTestOnUiThread(new Runnable() {
             @Override
@@ -851,8 +1005,10 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockSelectScriptView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).CreatePrivilegeScript(ScriptType.Rollout, true);
-        verify(mockDataInterface).WriteScript(testScriptText);
+        verify(mockDataInterface).CreateScriptWriter();
+        verify(mockDataInterface).CreatePrivilegeScript(ScriptType.Rollout, true, testScriptWriter);
+        assertEquals(testScriptText, testScriptWriter.toString());
+        assertTrue(testScriptWriter.getClosed());
         verify(mockSelectScriptView).Close();
         verify(mockSelectScriptView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
@@ -861,7 +1017,9 @@ public class PresenterTests extends InstrumentationTestCase {
     public void testGenerateSynonymScriptSuccessTest() throws Throwable {
         final String testScriptText = "CREATE SYNONYM XYZON_POWER_USER.CUSTOMERS FOR XYZON.CUSTOMERS;\nCREATE SYNONYM XYZON_POWER_USER.ITEMS FOR XYZON.ITEMS;";
         
-        when(mockDataInterface.CreateSynonymScript(ScriptType.Rollout)).thenReturn(testScriptText);
+        RecordingScriptWriter testScriptWriter = new RecordingScriptWriter();
+        when(mockDataInterface.CreateScriptWriter()).thenReturn(testScriptWriter);
+        doAnswer(new WriteScriptAnswer(1, testScriptText)).when(mockDataInterface).CreateSynonymScript(ScriptType.Rollout, testScriptWriter);
         
         runTestOnUiThread(new Runnable() {
             @Override
@@ -872,8 +1030,10 @@ public class PresenterTests extends InstrumentationTestCase {
         backgroundThreadCompleteSignal.await();
         
         verify(mockSelectScriptView).ShowWaitDialog("Please Wait", "Retrieving data...");
-        verify(mockDataInterface).CreateSynonymScript(ScriptType.Rollout);
-        verify(mockDataInterface).WriteScript(testScriptText);
+        verify(mockDataInterface).CreateScriptWriter();
+        verify(mockDataInterface).CreateSynonymScript(ScriptType.Rollout, testScriptWriter);
+        assertEquals(testScriptText, testScriptWriter.toString());
+        assertTrue(testScriptWriter.getClosed());
         verify(mockSelectScriptView).Close();
         verify(mockSelectScriptView).CloseWaitDialog();
         verifyNoMoreInteractions(allMocks);
@@ -918,4 +1078,149 @@ public class PresenterTests extends InstrumentationTestCase {
             description.appendText(roleToUserMapToMatch.getClass().getSimpleName() + "(" + roleToUserMapToMatch.getRole().toString() + ", " + roleToUserMapToMatch.getUser().toString() + ")");
         }
     }
+    
+    /**
+     * Implementation of the mockito Answer interface which notifies a local settings listener of the change when passed to the DataInterfaceService.setLocalSettings() method, as the real DataInterfaceService does.
+     */
+    private class LocalSettingsChangedAnswer implements Answer<Void> {
+        
+        private ILocalSettingsListener localSettingsListener;
+        private LocalSettings previousLocalSettings;
+        
+        public LocalSettingsChangedAnswer(ILocalSettingsListener localSettingsListener, LocalSettings previousLocalSettings) {
+            this.localSettingsListener = localSettingsListener;
+            this.previousLocalSettings = previousLocalSettings;
+        }
+        
+        @Override
+        public Void answer(InvocationOnMock invocation) throws Throwable {
+            localSettingsListener.LocalSettingsChanged(previousLocalSettings, (LocalSettings)invocation.getArguments()[0]);
+            return null;
+        }
+    }
+    
+    /**
+     * Implementation of the mockito Answer interface which returns a successful ModelOperationResult for each operation passed to the IDataInterface.ExecuteBatch() method.
+     */
+    private class SuccessfulBatchAnswer implements Answer<ArrayList<ModelOperationResult>> {
+
+        @Override
+        public ArrayList<ModelOperationResult> answer(InvocationOnMock invocation) throws Throwable {
+            List<?> operations = (List<?>)invocation.getArguments()[0];
+            ArrayList<ModelOperationResult> results = new ArrayList<ModelOperationResult>();
+            for (int i = 0; i < operations.size(); i++) {
+                results.add(new ModelOperationResult(true, null));
+            }
+            return results;
+        }
+    }
+    
+    /**
+     * Implementation of the mockito Answer interface which writes script text to the Writer passed to the IDataInterface.CreatePrivilegeScript() or IDataInterface.CreateSynonymScript() method.
+     */
+    private class WriteScriptAnswer implements Answer<Void> {
+        
+        private int writerArgumentIndex;
+        private String scriptText;
+        
+        public WriteScriptAnswer(int writerArgumentIndex, String scriptText) {
+            this.writerArgumentIndex = writerArgumentIndex;
+            this.scriptText = scriptText;
+        }
+        
+        @Override
+        public Void answer(InvocationOnMock invocation) throws Throwable {
+            ((Writer)invocation.getArguments()[writerArgumentIndex]).write(scriptText);
+            return null;
+        }
+    }
+    
+    /**
+     * Extension of the StringWriter class which records whether it has been closed, to stand in for the writer returned by the IDataInterface.CreateScriptWriter() method.
+     */
+    private class RecordingScriptWriter extends StringWriter {
+        
+        private boolean closed = false;
+        
+        public boolean getClosed() {
+            return closed;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+    
+    /**
+     * Extension of the mockito ArgumentMatcher class which allows lists of ModelOperation classes to be compared when used as parameters in mockito verify() and when() method calls.
+     */
+    private class ModelOperationListMatcher extends ArgumentMatcher<List<ModelOperation>> {
+
+        private List<ModelOperation> modelOperationsToMatch;
+
+        /**
+         * Initialises a new instance of the ModelOperationListMatcher class.
+         * @param  modelOperationsToMatch  The ModelOperation classes, in order, that should match the list passed to the mockito verify() or when() method call.
+         */
+        public ModelOperationListMatcher(ModelOperation... modelOperationsToMatch) {
+            this.modelOperationsToMatch = Arrays.asList(modelOperationsToMatch);
+        }
+        
+        @Override
+        public boolean matches(Object argument) {
+            if ((argument instanceof List<?>) == false) {
+                return false;
+            }
+            
+            List<?> comparisonModelOperations = (List<?>)argument;
+            if (comparisonModelOperations.size() != modelOperationsToMatch.size()) {
+                return false;
+            }
+            for (int i = 0; i < modelOperationsToMatch.size(); i++) {
+                ModelOperation modelOperationToMatch = modelOperationsToMatch.get(i);
+                ModelOperation comparisonModelOperation = (ModelOperation)comparisonModelOperations.get(i);
+                if ( modelOperationToMatch.getOperationType() != comparisonModelOperation.getOperationType() || 
+                     modelOperationToMatch.getObjectName().equals(comparisonModelOperation.getObjectName()) == false || 
+                     EqualsOrBothNull(modelOperationToMatch.getRole(), comparisonModelOperation.getRole()) == false || 
+                     EqualsOrBothNull(modelOperationToMatch.getPermission(), comparisonModelOperation.getPermission()) == false || 
+                     modelOperationToMatch.getFlagValue() != comparisonModelOperation.getFlagValue() ) {
+                    return false;
+                }
+            }
+            
+            return true;
+        }
+        
+        @Override
+        public void describeTo(Description description) {
+            // Returns a description in the format "[OperationType(objectName, role, permission, flagValue), ...]", which will typically be written to the mockito failure trace.
+            StringBuilder descriptionBuilder = new StringBuilder("[");
+            for (ModelOperation currentModelOperation : modelOperationsToMatch) {
+                if (descriptionBuilder.length() > 1) {
+                    descriptionBuilder.append(", ");
+                }
+                descriptionBuilder.append(currentModelOperation.getOperationType().name() + "(" + currentModelOperation.getObjectName() + ", " + currentModelOperation.getRole() + ", " + currentModelOperation.getPermission() + ", " + currentModelOperation.getFlagValue() + ")");
+            }
+            descriptionBuilder.append("]");
+            description.appendText(descriptionBuilder.toString());
+        }
+        
+        private boolean EqualsOrBothNull(String first, String second) {
+            if (first == null) {
+                return (second == null);
+            }
+            return first.equals(second);
+        }
+    }
+    
+    /**
+     * Creates an EntityValidationResults object containing the results of validating a single object.
+     */
+    private EntityValidationResults CreateObjectValidationResults(ValidationResult objectNameResult, ValidationResult objectTypeResult, ValidationResult objectOwnerResult) {
+        ArrayList<ObjectValidationResult> objectResults = new ArrayList<ObjectValidationResult>();
+        objectResults.add(new ObjectValidationResult(objectNameResult, objectTypeResult, objectOwnerResult));
+        return new EntityValidationResults(objectResults, new ArrayList<ValidationResult>());
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.unittests;
+
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.*;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.serialization.StringInternPool.
+ * @author Alastair Wyse
+ */
+public class StringInternPoolTests {
+
+    @Test
+    public void ConstructorMaximumSizeLessThan0() {
+        try {
+            new StringInternPool(-1);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Argument 'maximumSize' must be greater than or equal to 0."));
+        }
+    }
+    
+    @Test
+    public void InternReturnsFirstInstance() {
+        StringInternPool testStringInternPool = new StringInternPool(10);
+        String firstInstance = new String("SELECT");
+        String secondInstance = new String("SELECT");
+        
+        assertSame(firstInstance, testStringInternPool.Intern(firstInstance));
+        assertSame(firstInstance, testStringInternPool.Intern(secondInstance));
+        assertEquals(1, testStringInternPool.getSize());
+    }
+    
+    @Test
+    public void InternNull() {
+        StringInternPool testStringInternPool = new StringInternPool(10);
+        
+        assertNull(testStringInternPool.Intern(null));
+        assertEquals(0, testStringInternPool.getSize());
+    }
+    
+    @Test
+    public void InternPoolFull() {
+        StringInternPool testStringInternPool = new StringInternPool(2);
+        String firstInstance = new String("SELECT");
+        String secondInstance = new String("INSERT");
+        String thirdInstance = new String("UPDATE");
+        
+        testStringInternPool.Intern(firstInstance);
+        testStringInternPool.Intern(secondInstance);
+        String returnedInstance = testStringInternPool.Intern(thirdInstance);
+        
+        // Strings are returned as-is once the pool is full, but those already pooled continue to be shared
+        assertSame(thirdInstance, returnedInstance);
+        assertSame(thirdInstance, testStringInternPool.Intern(thirdInstance));
+        assertNotSame(thirdInstance, testStringInternPool.Intern(new String("UPDATE")));
+        assertSame(secondInstance, testStringInternPool.Intern(new String("INSERT")));
+        assertEquals(2, testStringInternPool.getSize());
+        assertEquals(2, testStringInternPool.getMaximumSize());
+    }
+}
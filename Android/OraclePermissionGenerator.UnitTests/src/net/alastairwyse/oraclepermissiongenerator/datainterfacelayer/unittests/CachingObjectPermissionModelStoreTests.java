@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.util.*;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.mockito.Mockito.*;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.CachingObjectPermissionModelStore.
+ * @author Alastair Wyse
+ */
+public class CachingObjectPermissionModelStoreTests {
+
+    private final String testIdentity = "SOAP\n192.168.1.101:5000\nuser@tempuri.org";
+    private IObjectPermissionModelStore mockPersistentStore;
+    private ColumnarObjectPermissionModelStore cacheStore;
+    private CachingObjectPermissionModelStore testCachingObjectPermissionModelStore;
+
+    @Before
+    public void setUp() {
+        mockPersistentStore = mock(IObjectPermissionModelStore.class);
+        cacheStore = new ColumnarObjectPermissionModelStore();
+        testCachingObjectPermissionModelStore = new CachingObjectPermissionModelStore(mockPersistentStore, cacheStore);
+    }
+
+    @Test
+    public void ConstructorPersistentStoreNull() {
+        try {
+            new CachingObjectPermissionModelStore(null, cacheStore);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'persistentStore' cannot be null."));
+        }
+    }
+
+    @Test
+    public void ConstructorCacheStoreNull() {
+        try {
+            new CachingObjectPermissionModelStore(mockPersistentStore, null);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'cacheStore' cannot be null."));
+        }
+    }
+
+    @Test
+    public void QueriesAfterLoad() {
+        ArrayList<OracleObjectPermissionSet> objects = CreateObjects();
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+
+        testCachingObjectPermissionModelStore.Load(testIdentity, 100, objects, Arrays.asList("SALES_READ_ROLE"), roleToUserMaps);
+
+        assertEquals(testIdentity, testCachingObjectPermissionModelStore.getIdentity());
+        assertEquals(100, testCachingObjectPermissionModelStore.getModelVersion());
+        assertEquals(true, testCachingObjectPermissionModelStore.getIsPopulated());
+        assertEquals(2, testCachingObjectPermissionModelStore.getObjects().size());
+        assertEquals(Arrays.asList("SALES_READ_ROLE"), testCachingObjectPermissionModelStore.getRoles());
+        assertEquals(1, testCachingObjectPermissionModelStore.getRoleToUserMaps().size());
+        assertEquals(Arrays.asList("INSERT", "UPDATE"), testCachingObjectPermissionModelStore.getPermissions("SALES", "SALES_WRITE_ROLE"));
+        assertEquals(Arrays.asList("SALES", "ORDERS"), testCachingObjectPermissionModelStore.RoleGetReferencingObjects("SALES_READ_ROLE"));
+        assertEquals(2, testCachingObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_READ_ROLE"));
+        assertEquals(1, testCachingObjectPermissionModelStore.RoleGetUserMapCount("SALES_READ_ROLE"));
+        verify(mockPersistentStore).Load(testIdentity, 100, objects, Arrays.asList("SALES_READ_ROLE"), roleToUserMaps);
+        verifyNoMoreInteractions(mockPersistentStore);
+    }
+
+    @Test
+    public void QueriesPopulateCacheFromPopulatedStore() {
+        when(mockPersistentStore.getIsPopulated()).thenReturn(true);
+        when(mockPersistentStore.getIdentity()).thenReturn(testIdentity);
+        when(mockPersistentStore.getModelVersion()).thenReturn(100L);
+        when(mockPersistentStore.getObjects()).thenReturn(CreateObjects());
+        when(mockPersistentStore.getRoles()).thenReturn(new ArrayList<String>());
+        when(mockPersistentStore.getRoleToUserMaps()).thenReturn(new ArrayList<RoleToUserMap>());
+
+        ArrayList<String> firstPermissions = testCachingObjectPermissionModelStore.getPermissions("SALES", "SALES_READ_ROLE");
+        ArrayList<String> secondPermissions = testCachingObjectPermissionModelStore.getPermissions("SALES", "SALES_WRITE_ROLE");
+
+        verify(mockPersistentStore, times(1)).getObjects();
+        verify(mockPersistentStore, never()).getPermissions(anyString(), anyString());
+        assertEquals(true, cacheStore.getIsPopulated());
+        assertEquals(testIdentity, cacheStore.getIdentity());
+        assertEquals(100, cacheStore.getModelVersion());
+        assertEquals(Arrays.asList("SELECT"), firstPermissions);
+        assertEquals(Arrays.asList("INSERT", "UPDATE"), secondPermissions);
+    }
+
+    @Test
+    public void QueriesUnpopulatedStore() {
+        when(mockPersistentStore.getIsPopulated()).thenReturn(false);
+        when(mockPersistentStore.getPermissions("SALES", "SALES_READ_ROLE")).thenReturn(new ArrayList<String>());
+
+        assertEquals(false, testCachingObjectPermissionModelStore.getIsPopulated());
+        testCachingObjectPermissionModelStore.getPermissions("SALES", "SALES_READ_ROLE");
+
+        verify(mockPersistentStore, never()).getObjects();
+        verify(mockPersistentStore).getPermissions("SALES", "SALES_READ_ROLE");
+        assertEquals(false, cacheStore.getIsPopulated());
+    }
+
+    @Test
+    public void ChangesAppliedToBothStores() {
+        testCachingObjectPermissionModelStore.Load(testIdentity, 100, CreateObjects(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        ModelChangeSet changeSet = new ModelChangeSet(101, false, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>(), new ArrayList<RoleToUserMap>());
+        changeSet.getRemovedObjectNames().add("ORDERS");
+        OracleObjectPermissionSet invoicesObject = new OracleObjectPermissionSet("INVOICES");
+
+        testCachingObjectPermissionModelStore.Apply(changeSet);
+        testCachingObjectPermissionModelStore.setRoles(Arrays.asList("SALES_READ_ROLE"));
+        testCachingObjectPermissionModelStore.AddObjectPermissionSet(invoicesObject);
+        testCachingObjectPermissionModelStore.SetAddFlag("INVOICES", true);
+        testCachingObjectPermissionModelStore.SetRemoveFlag("SALES", true);
+        testCachingObjectPermissionModelStore.AddPermission("INVOICES", "SALES_READ_ROLE", "SELECT");
+        testCachingObjectPermissionModelStore.RemovePermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testCachingObjectPermissionModelStore.AddRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER");
+        testCachingObjectPermissionModelStore.AddRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER");
+        testCachingObjectPermissionModelStore.RemoveRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER");
+
+        verify(mockPersistentStore).Apply(changeSet);
+        verify(mockPersistentStore).setRoles(Arrays.asList("SALES_READ_ROLE"));
+        verify(mockPersistentStore).AddObjectPermissionSet(invoicesObject);
+        verify(mockPersistentStore).SetAddFlag("INVOICES", true);
+        verify(mockPersistentStore).SetRemoveFlag("SALES", true);
+        verify(mockPersistentStore).AddPermission("INVOICES", "SALES_READ_ROLE", "SELECT");
+        verify(mockPersistentStore).RemovePermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        verify(mockPersistentStore).AddRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER");
+        verify(mockPersistentStore).AddRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER");
+        verify(mockPersistentStore).RemoveRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER");
+        assertEquals(101, cacheStore.getModelVersion());
+        assertEquals(Arrays.asList("SALES_READ_ROLE"), cacheStore.getRoles());
+        ArrayList<OracleObjectPermissionSet> cachedObjects = cacheStore.getObjects();
+        assertEquals(2, cachedObjects.size());
+        assertEquals("SALES", cachedObjects.get(0).getObjectName());
+        assertEquals(true, cachedObjects.get(0).getRemoveFlag());
+        assertEquals("INVOICES", cachedObjects.get(1).getObjectName());
+        assertEquals(true, cachedObjects.get(1).getAddFlag());
+        assertEquals(Arrays.asList("SELECT"), cacheStore.getPermissions("INVOICES", "SALES_READ_ROLE"));
+        assertEquals(Arrays.asList("UPDATE"), cacheStore.getPermissions("SALES", "SALES_WRITE_ROLE"));
+        assertEquals(1, cacheStore.RoleGetUserMapCount("SALES_READ_ROLE"));
+        assertEquals(0, cacheStore.RoleGetUserMapCount("SALES_WRITE_ROLE"));
+    }
+
+    @Test
+    public void ChangesToUnpopulatedCacheAppliedToPersistentStoreOnly() {
+        OracleObjectPermissionSet invoicesObject = new OracleObjectPermissionSet("INVOICES");
+
+        testCachingObjectPermissionModelStore.AddObjectPermissionSet(invoicesObject);
+        testCachingObjectPermissionModelStore.AddPermission("INVOICES", "SALES_READ_ROLE", "SELECT");
+
+        verify(mockPersistentStore).AddObjectPermissionSet(invoicesObject);
+        verify(mockPersistentStore).AddPermission("INVOICES", "SALES_READ_ROLE", "SELECT");
+        assertEquals(false, cacheStore.getIsPopulated());
+    }
+
+    @Test
+    public void Clear() {
+        testCachingObjectPermissionModelStore.Load(testIdentity, 100, CreateObjects(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testCachingObjectPermissionModelStore.Clear();
+
+        verify(mockPersistentStore).Clear();
+        assertEquals(false, cacheStore.getIsPopulated());
+        assertEquals(false, testCachingObjectPermissionModelStore.getIsPopulated());
+    }
+
+    /**
+     * Creates a list of objects to load into the store.
+     * @return  The objects.
+     */
+    private ArrayList<OracleObjectPermissionSet> CreateObjects() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        OracleObjectPermissionSet salesObject = new OracleObjectPermissionSet("SALES");
+        salesObject.setObjectType("Table");
+        salesObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        salesObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_WRITE_ROLE", "INSERT"));
+        salesObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_WRITE_ROLE", "UPDATE"));
+        objects.add(salesObject);
+        OracleObjectPermissionSet ordersObject = new OracleObjectPermissionSet("ORDERS");
+        ordersObject.setObjectType("Table");
+        ordersObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        objects.add(ordersObject);
+        return objects;
+    }
+}
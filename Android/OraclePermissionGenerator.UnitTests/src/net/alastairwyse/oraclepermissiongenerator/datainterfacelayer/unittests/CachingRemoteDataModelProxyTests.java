@@ -0,0 +1,224 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.mockito.Mockito.*;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.CachingRemoteDataModelProxy.
+ * @author Alastair Wyse
+ */
+public class CachingRemoteDataModelProxyTests {
+
+    private final String testUserIdentifier = "test_user@tempuri.org";
+    private AuthenticationContext testAuthenticationContext;
+    private TrackingData testTrackingData;
+
+    private CachingRemoteDataModelProxy testCachingRemoteDataModelProxy;
+    private IRemoteDataModelProxy mockRemoteDataModelProxy;
+    private DeferredExecutor testRefreshExecutor;
+
+    @Before
+    public void setUp() {
+        testAuthenticationContext = new AuthenticationContext(testUserIdentifier);
+        testTrackingData = new TrackingData();
+        mockRemoteDataModelProxy = mock(IRemoteDataModelProxy.class);
+        testRefreshExecutor = new DeferredExecutor();
+        testCachingRemoteDataModelProxy = new CachingRemoteDataModelProxy(mockRemoteDataModelProxy, testRefreshExecutor);
+    }
+
+    @Test
+    public void InvalidTimeToLiveArgument() {
+        try {
+            testCachingRemoteDataModelProxy.setRolesTimeToLive(-1);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'rolesTimeToLive' must be greater than or equal to 0."));
+        }
+    }
+
+    @Test
+    public void getObjectTypesCachedWithinTimeToLive() throws Exception {
+        when(mockRemoteDataModelProxy.getObjectTypes(testAuthenticationContext, testTrackingData)).thenReturn(new ArrayList<String>(Arrays.asList("Table", "View")));
+
+        ArrayList<String> firstResult = testCachingRemoteDataModelProxy.getObjectTypes(testAuthenticationContext, testTrackingData);
+        // Modifying the returned list should not affect the cached result
+        firstResult.clear();
+        ArrayList<String> secondResult = testCachingRemoteDataModelProxy.getObjectTypes(testAuthenticationContext, testTrackingData);
+
+        verify(mockRemoteDataModelProxy, times(1)).getObjectTypes(testAuthenticationContext, testTrackingData);
+        assertEquals(Arrays.asList("Table", "View"), secondResult);
+        assertEquals(1, testCachingRemoteDataModelProxy.getMissCount());
+        assertEquals(1, testCachingRemoteDataModelProxy.getHitCount());
+        assertEquals(0, testCachingRemoteDataModelProxy.getStaleHitCount());
+    }
+
+    @Test
+    public void getPermissionsCachedPerObjectType() throws Exception {
+        when(mockRemoteDataModelProxy.getPermissions("Table", testAuthenticationContext, testTrackingData)).thenReturn(new ArrayList<String>(Arrays.asList("SELECT", "INSERT")));
+        when(mockRemoteDataModelProxy.getPermissions("Sequence", testAuthenticationContext, testTrackingData)).thenReturn(new ArrayList<String>(Arrays.asList("SELECT")));
+
+        testCachingRemoteDataModelProxy.getPermissions("Table", testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.getPermissions("Sequence", testAuthenticationContext, testTrackingData);
+        ArrayList<String> tablePermissions = testCachingRemoteDataModelProxy.getPermissions("Table", testAuthenticationContext, testTrackingData);
+        ArrayList<String> sequencePermissions = testCachingRemoteDataModelProxy.getPermissions("Sequence", testAuthenticationContext, testTrackingData);
+
+        verify(mockRemoteDataModelProxy, times(1)).getPermissions("Table", testAuthenticationContext, testTrackingData);
+        verify(mockRemoteDataModelProxy, times(1)).getPermissions("Sequence", testAuthenticationContext, testTrackingData);
+        assertEquals(Arrays.asList("SELECT", "INSERT"), tablePermissions);
+        assertEquals(Arrays.asList("SELECT"), sequencePermissions);
+        assertEquals(2, testCachingRemoteDataModelProxy.getMissCount());
+        assertEquals(2, testCachingRemoteDataModelProxy.getHitCount());
+    }
+
+    @Test
+    public void getRolesStaleResultServedWhileRefreshing() throws Exception {
+        when(mockRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData))
+            .thenReturn(new ArrayList<String>(Arrays.asList("ROLE_1")))
+            .thenReturn(new ArrayList<String>(Arrays.asList("ROLE_1", "ROLE_2")));
+        testCachingRemoteDataModelProxy.setRolesTimeToLive(0);
+
+        testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+        ArrayList<String> staleResult = testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+        // A second stale call while the refresh is pending should not schedule another refresh
+        testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+
+        assertEquals(Arrays.asList("ROLE_1"), staleResult);
+        assertEquals(1, testRefreshExecutor.getPendingTaskCount());
+        verify(mockRemoteDataModelProxy, times(1)).getRoles(testAuthenticationContext, testTrackingData);
+
+        testRefreshExecutor.RunPendingTasks();
+        ArrayList<String> refreshedResult = testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+
+        verify(mockRemoteDataModelProxy, times(2)).getRoles(testAuthenticationContext, testTrackingData);
+        assertEquals(Arrays.asList("ROLE_1", "ROLE_2"), refreshedResult);
+        assertEquals(1, testCachingRemoteDataModelProxy.getMissCount());
+        assertEquals(3, testCachingRemoteDataModelProxy.getStaleHitCount());
+    }
+
+    @Test
+    public void getRolesRefreshFailureKeepsStaleResult() throws Exception {
+        when(mockRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData))
+            .thenReturn(new ArrayList<String>(Arrays.asList("ROLE_1")))
+            .thenThrow(new Exception("Mock connection failure."));
+        testCachingRemoteDataModelProxy.setRolesTimeToLive(0);
+
+        testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+        testRefreshExecutor.RunPendingTasks();
+        ArrayList<String> result = testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+
+        assertEquals(Arrays.asList("ROLE_1"), result);
+        // The failed refresh is retried
+        assertEquals(1, testRefreshExecutor.getPendingTaskCount());
+    }
+
+    @Test
+    public void setDefaultObjectOwnerInvalidatesCachedResult() throws Exception {
+        when(mockRemoteDataModelProxy.getDefaultObjectOwner(testAuthenticationContext, testTrackingData))
+            .thenReturn("OLD_OWNER")
+            .thenReturn("NEW_OWNER");
+
+        testCachingRemoteDataModelProxy.getDefaultObjectOwner(testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.setDefaultObjectOwner("NEW_OWNER", testAuthenticationContext, testTrackingData);
+        String result = testCachingRemoteDataModelProxy.getDefaultObjectOwner(testAuthenticationContext, testTrackingData);
+
+        verify(mockRemoteDataModelProxy).setDefaultObjectOwner("NEW_OWNER", testAuthenticationContext, testTrackingData);
+        verify(mockRemoteDataModelProxy, times(2)).getDefaultObjectOwner(testAuthenticationContext, testTrackingData);
+        assertEquals("NEW_OWNER", result);
+        assertEquals(2, testCachingRemoteDataModelProxy.getMissCount());
+    }
+
+    @Test
+    public void setDefaultObjectOwnerDiscardsRefreshInProgress() throws Exception {
+        when(mockRemoteDataModelProxy.getDefaultObjectOwner(testAuthenticationContext, testTrackingData))
+            .thenReturn("OLD_OWNER")
+            .thenReturn("OLD_OWNER")
+            .thenReturn("NEW_OWNER");
+        testCachingRemoteDataModelProxy.setDefaultObjectOwnerTimeToLive(0);
+
+        testCachingRemoteDataModelProxy.getDefaultObjectOwner(testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.getDefaultObjectOwner(testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.setDefaultObjectOwner("NEW_OWNER", testAuthenticationContext, testTrackingData);
+        // The refresh started before the invalidation, so its result should not be stored
+        testRefreshExecutor.RunPendingTasks();
+        String result = testCachingRemoteDataModelProxy.getDefaultObjectOwner(testAuthenticationContext, testTrackingData);
+
+        assertEquals("NEW_OWNER", result);
+    }
+
+    @Test
+    public void RemoveRoleToUserMapInvalidatesRoles() throws Exception {
+        when(mockRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData)).thenReturn(new ArrayList<String>(Arrays.asList("ROLE_1")));
+        when(mockRemoteDataModelProxy.getObjectTypes(testAuthenticationContext, testTrackingData)).thenReturn(new ArrayList<String>(Arrays.asList("Table")));
+
+        testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.getObjectTypes(testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.RemoveRoleToUserMap("ROLE_1", "USER_1", testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.getRoles(testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.getObjectTypes(testAuthenticationContext, testTrackingData);
+
+        verify(mockRemoteDataModelProxy).RemoveRoleToUserMap("ROLE_1", "USER_1", testAuthenticationContext, testTrackingData);
+        verify(mockRemoteDataModelProxy, times(2)).getRoles(testAuthenticationContext, testTrackingData);
+        verify(mockRemoteDataModelProxy, times(1)).getObjectTypes(testAuthenticationContext, testTrackingData);
+    }
+
+    @Test
+    public void getObjectsNotCached() throws Exception {
+        testCachingRemoteDataModelProxy.getObjects(testAuthenticationContext, testTrackingData);
+        testCachingRemoteDataModelProxy.getObjects(testAuthenticationContext, testTrackingData);
+
+        verify(mockRemoteDataModelProxy, times(2)).getObjects(testAuthenticationContext, testTrackingData);
+        assertEquals(0, testCachingRemoteDataModelProxy.getMissCount());
+    }
+
+    /**
+     * Executor which holds submitted tasks until they are explicitly run, to allow tests to control when background refreshes occur.
+     */
+    private class DeferredExecutor implements Executor {
+
+        private ArrayList<Runnable> pendingTasks = new ArrayList<Runnable>();
+
+        @Override
+        public void execute(Runnable command) {
+            pendingTasks.add(command);
+        }
+
+        public int getPendingTaskCount() {
+            return pendingTasks.size();
+        }
+
+        public void RunPendingTasks() {
+            ArrayList<Runnable> tasks = new ArrayList<Runnable>(pendingTasks);
+            pendingTasks.clear();
+            for (Runnable currentTask : tasks) {
+                currentTask.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.ColumnarObjectPermissionModelStore.
+ * @author Alastair Wyse
+ */
+public class ColumnarObjectPermissionModelStoreTests {
+
+    private final String testIdentity = "SOAP\n192.168.1.101:5000\nuser@tempuri.org";
+    private ColumnarObjectPermissionModelStore testColumnarObjectPermissionModelStore;
+
+    @Before
+    public void setUp() {
+        testColumnarObjectPermissionModelStore = new ColumnarObjectPermissionModelStore();
+    }
+
+    @Test
+    public void InvalidModelVersionArgument() {
+        try {
+            testColumnarObjectPermissionModelStore.Load(testIdentity, -1, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'modelVersion' must be greater than or equal to 0."));
+        }
+    }
+
+    @Test
+    public void ApplyToUnpopulatedStore() {
+        assertEquals(false, testColumnarObjectPermissionModelStore.getIsPopulated());
+        try {
+            testColumnarObjectPermissionModelStore.Apply(CreateModelChangeSet(101, false));
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Changes cannot be applied to a store which has not been populated."));
+        }
+    }
+
+    @Test
+    public void ApplySnapshotRequiredChangeSet() {
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        try {
+            testColumnarObjectPermissionModelStore.Apply(CreateModelChangeSet(150, true));
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'changeSet' cannot be applied as it requires a complete copy of the data model to be retrieved."));
+        }
+        assertEquals(100, testColumnarObjectPermissionModelStore.getModelVersion());
+    }
+
+    @Test
+    public void Apply() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        objects.add(new OracleObjectPermissionSet("ORDERS"));
+        objects.add(new OracleObjectPermissionSet("CUSTOMERS"));
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        roleToUserMaps.add(new RoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER"));
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), roleToUserMaps);
+        ModelChangeSet changeSet = CreateModelChangeSet(104, false);
+        changeSet.getAddedObjects().add(new OracleObjectPermissionSet("INVOICES"));
+        OracleObjectPermissionSet modifiedObject = new OracleObjectPermissionSet("SALES");
+        modifiedObject.setRemoveFlag(true);
+        changeSet.getModifiedObjects().add(modifiedObject);
+        changeSet.getRemovedObjectNames().add("ORDERS");
+        changeSet.getAddedRoleToUserMaps().add(new RoleToUserMap("INVOICES_READ_ROLE", "INVOICES_READ_USER"));
+        changeSet.getRemovedRoleToUserMaps().add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+
+        testColumnarObjectPermissionModelStore.Apply(changeSet);
+
+        assertEquals(104, testColumnarObjectPermissionModelStore.getModelVersion());
+        ArrayList<OracleObjectPermissionSet> returnedObjects = testColumnarObjectPermissionModelStore.getObjects();
+        assertEquals(3, returnedObjects.size());
+        assertEquals("SALES", returnedObjects.get(0).getObjectName());
+        assertEquals(true, returnedObjects.get(0).getRemoveFlag());
+        assertEquals("CUSTOMERS", returnedObjects.get(1).getObjectName());
+        assertEquals("INVOICES", returnedObjects.get(2).getObjectName());
+        ArrayList<RoleToUserMap> returnedRoleToUserMaps = testColumnarObjectPermissionModelStore.getRoleToUserMaps();
+        assertEquals(2, returnedRoleToUserMaps.size());
+        assertEquals("SALES_WRITE_ROLE", returnedRoleToUserMaps.get(0).getRole());
+        assertEquals("INVOICES_READ_ROLE", returnedRoleToUserMaps.get(1).getRole());
+        assertEquals("INVOICES_READ_USER", returnedRoleToUserMaps.get(1).getUser());
+    }
+
+    @Test
+    public void ApplyIsIdempotent() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), roleToUserMaps);
+        // Simulates a change set containing changes which were already included in the loaded copy of the data model
+        ModelChangeSet changeSet = CreateModelChangeSet(102, false);
+        changeSet.getAddedObjects().add(new OracleObjectPermissionSet("SALES"));
+        changeSet.getAddedRoleToUserMaps().add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        changeSet.getRemovedObjectNames().add("ORDERS");
+
+        testColumnarObjectPermissionModelStore.Apply(changeSet);
+        testColumnarObjectPermissionModelStore.Apply(changeSet);
+
+        assertEquals(102, testColumnarObjectPermissionModelStore.getModelVersion());
+        assertEquals(1, testColumnarObjectPermissionModelStore.getObjects().size());
+        assertEquals("SALES", testColumnarObjectPermissionModelStore.getObjects().get(0).getObjectName());
+        assertEquals(1, testColumnarObjectPermissionModelStore.getRoleToUserMaps().size());
+    }
+
+    @Test
+    public void GetObjectsReturnsCopy() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testColumnarObjectPermissionModelStore.getObjects().clear();
+        testColumnarObjectPermissionModelStore.getRoleToUserMaps().add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+
+        assertEquals(1, testColumnarObjectPermissionModelStore.getObjects().size());
+        assertEquals(0, testColumnarObjectPermissionModelStore.getRoleToUserMaps().size());
+    }
+
+    @Test
+    public void Clear() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testColumnarObjectPermissionModelStore.Clear();
+
+        assertEquals(false, testColumnarObjectPermissionModelStore.getIsPopulated());
+        assertNull(testColumnarObjectPermissionModelStore.getIdentity());
+        assertEquals(0, testColumnarObjectPermissionModelStore.getObjects().size());
+    }
+
+    @Test
+    public void Load() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        ArrayList<String> roles = new ArrayList<String>(Arrays.asList("SALES_READ_ROLE", "SALES_WRITE_ROLE"));
+
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, roles, new ArrayList<RoleToUserMap>());
+
+        assertEquals(true, testColumnarObjectPermissionModelStore.getIsPopulated());
+        assertEquals(testIdentity, testColumnarObjectPermissionModelStore.getIdentity());
+        assertEquals(100, testColumnarObjectPermissionModelStore.getModelVersion());
+        assertEquals(roles, testColumnarObjectPermissionModelStore.getRoles());
+    }
+
+    @Test
+    public void PermissionChanges() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        objects.add(new OracleObjectPermissionSet("ORDERS"));
+        objects.get(1).getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testColumnarObjectPermissionModelStore.AddPermission("SALES", "SALES_READ_ROLE", "SELECT");
+        testColumnarObjectPermissionModelStore.AddPermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testColumnarObjectPermissionModelStore.AddPermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testColumnarObjectPermissionModelStore.AddPermission("SALES", "SALES_WRITE_ROLE", "UPDATE");
+        testColumnarObjectPermissionModelStore.RemovePermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testColumnarObjectPermissionModelStore.SetAddFlag("SALES", true);
+
+        assertEquals(Arrays.asList("UPDATE"), testColumnarObjectPermissionModelStore.getPermissions("SALES", "SALES_WRITE_ROLE"));
+        assertEquals(Arrays.asList("SALES", "ORDERS"), testColumnarObjectPermissionModelStore.RoleGetReferencingObjects("SALES_READ_ROLE"));
+        assertEquals(Arrays.asList("SALES"), testColumnarObjectPermissionModelStore.RoleGetReferencingObjects("SALES_WRITE_ROLE"));
+        assertEquals(2, testColumnarObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_READ_ROLE"));
+        assertEquals(1, testColumnarObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_WRITE_ROLE"));
+        assertEquals(0, testColumnarObjectPermissionModelStore.RoleGetReferencingObjectCount("INVOICES_READ_ROLE"));
+        assertEquals(true, testColumnarObjectPermissionModelStore.getObjects().get(0).getAddFlag());
+        // The model version is not changed by changes made locally
+        assertEquals(100, testColumnarObjectPermissionModelStore.getModelVersion());
+    }
+
+    @Test
+    public void RoleToUserMapChanges() {
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testColumnarObjectPermissionModelStore.AddRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER");
+        testColumnarObjectPermissionModelStore.AddRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER");
+        testColumnarObjectPermissionModelStore.AddRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER");
+        testColumnarObjectPermissionModelStore.RemoveRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER");
+
+        ArrayList<RoleToUserMap> returnedRoleToUserMaps = testColumnarObjectPermissionModelStore.getRoleToUserMaps();
+        assertEquals(1, returnedRoleToUserMaps.size());
+        assertEquals("SALES_WRITE_ROLE", returnedRoleToUserMaps.get(0).getRole());
+        assertEquals("SALES_WRITE_USER", returnedRoleToUserMaps.get(0).getUser());
+        assertEquals(0, testColumnarObjectPermissionModelStore.RoleGetUserMapCount("SALES_READ_ROLE"));
+        assertEquals(1, testColumnarObjectPermissionModelStore.RoleGetUserMapCount("SALES_WRITE_ROLE"));
+    }
+
+    @Test
+    public void GetObjectsDecodesColumns() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("SALES", "Table", "XYZON_OWNER", true, false));
+        objects.get(0).getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        objects.get(0).getObjectPermissions().add(new RoleToPermissionMap("SALES_WRITE_ROLE", "INSERT"));
+        objects.get(0).getObjectPermissions().add(new RoleToPermissionMap("SALES_WRITE_ROLE", "SELECT"));
+        objects.add(CreateObject("SP_ORDERS_INS", "Stored Procedure", "XYZON_OWNER", false, true));
+        objects.get(1).getObjectPermissions().add(new RoleToPermissionMap("SALES_WRITE_ROLE", "EXECUTE"));
+        objects.add(new OracleObjectPermissionSet("ORDERS"));
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        ArrayList<OracleObjectPermissionSet> returnedObjects = testColumnarObjectPermissionModelStore.getObjects();
+
+        assertEquals(3, returnedObjects.size());
+        AssertObjectsEqual(objects.get(0), returnedObjects.get(0));
+        AssertObjectsEqual(objects.get(1), returnedObjects.get(1));
+        AssertObjectsEqual(objects.get(2), returnedObjects.get(2));
+        assertNull(returnedObjects.get(2).getObjectType());
+        assertNull(returnedObjects.get(2).getObjectOwner());
+        assertEquals(Arrays.asList("SELECT"), testColumnarObjectPermissionModelStore.getPermissions("SALES", "SALES_READ_ROLE"));
+        assertEquals(Arrays.asList("INSERT", "SELECT"), testColumnarObjectPermissionModelStore.getPermissions("SALES", "SALES_WRITE_ROLE"));
+        assertEquals(0, testColumnarObjectPermissionModelStore.getPermissions("SALES", "INVOICES_READ_ROLE").size());
+        assertEquals(0, testColumnarObjectPermissionModelStore.getPermissions("INVOICES", "SALES_READ_ROLE").size());
+        assertEquals(Arrays.asList("SALES", "SP_ORDERS_INS"), testColumnarObjectPermissionModelStore.RoleGetReferencingObjects("SALES_WRITE_ROLE"));
+        assertEquals(0, testColumnarObjectPermissionModelStore.RoleGetReferencingObjects("INVOICES_READ_ROLE").size());
+    }
+
+    @Test
+    public void GetObjectsReturnsReadOnlyViews() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        objects.get(0).getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        OracleObjectPermissionSet returnedObject = testColumnarObjectPermissionModelStore.getObjects().get(0);
+
+        try {
+            returnedObject.setAddFlag(true);
+            fail("Exception was not thrown.");
+        }
+        catch (UnsupportedOperationException e) {
+            assertTrue(e.getMessage().startsWith("The object is a read-only view of the model store."));
+        }
+        returnedObject.getObjectPermissions().clear();
+        assertEquals(1, returnedObject.getObjectPermissions().size());
+        // Views are not affected by subsequent changes to the store
+        testColumnarObjectPermissionModelStore.AddPermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testColumnarObjectPermissionModelStore.SetRemoveFlag("SALES", true);
+        assertEquals(1, returnedObject.getObjectPermissions().size());
+        assertEquals(false, returnedObject.getRemoveFlag());
+        assertEquals(2, testColumnarObjectPermissionModelStore.getObjects().get(0).getObjectPermissions().size());
+        assertEquals(true, testColumnarObjectPermissionModelStore.getObjects().get(0).getRemoveFlag());
+    }
+
+    @Test
+    public void RemoveManyObjectsPreservesOrder() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        for (int i = 0; i < 100; i++) {
+            objects.add(new OracleObjectPermissionSet("OBJECT_" + i));
+            objects.get(i).getObjectPermissions().add(new RoleToPermissionMap("ROLE_" + (i % 7), "SELECT"));
+        }
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        // Remove all objects other than every tenth, which causes the columns to be compacted
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 != 0) {
+                testColumnarObjectPermissionModelStore.RemoveObjectPermissionSet("OBJECT_" + i);
+            }
+        }
+        testColumnarObjectPermissionModelStore.SetAddFlag("OBJECT_90", true);
+        testColumnarObjectPermissionModelStore.AddObjectPermissionSet(new OracleObjectPermissionSet("OBJECT_100"));
+
+        ArrayList<OracleObjectPermissionSet> returnedObjects = testColumnarObjectPermissionModelStore.getObjects();
+        assertEquals(11, returnedObjects.size());
+        for (int i = 0; i < 11; i++) {
+            assertEquals("OBJECT_" + (i * 10), returnedObjects.get(i).getObjectName());
+        }
+        assertEquals(true, returnedObjects.get(9).getAddFlag());
+        assertEquals(Arrays.asList("SELECT"), testColumnarObjectPermissionModelStore.getPermissions("OBJECT_70", "ROLE_0"));
+        assertEquals(Arrays.asList("OBJECT_0", "OBJECT_70"), testColumnarObjectPermissionModelStore.RoleGetReferencingObjects("ROLE_0"));
+    }
+
+    @Test
+    public void LoadRetainsLessHeapThanReplica() {
+        final int objectCount = 20000;
+        final int permissionsPerObject = 8;
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+        long startBytes = GetUsedHeap(memoryBean);
+        ObjectPermissionModelReplica replica = new ObjectPermissionModelReplica();
+        replica.Load(testIdentity, 100, CreateObjects(objectCount, permissionsPerObject), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        long replicaBytes = GetUsedHeap(memoryBean) - startBytes;
+
+        startBytes = GetUsedHeap(memoryBean);
+        testColumnarObjectPermissionModelStore.Load(testIdentity, 100, CreateObjects(objectCount, permissionsPerObject), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        long columnarBytes = GetUsedHeap(memoryBean) - startBytes;
+
+        // The object names occupy the same heap in both stores, so are measured separately and excluded
+        startBytes = GetUsedHeap(memoryBean);
+        ArrayList<String> objectNames = new ArrayList<String>(objectCount);
+        for (int i = 0; i < objectCount; i++) {
+            objectNames.add("OBJECT_" + i);
+        }
+        long objectNameBytes = GetUsedHeap(memoryBean) - startBytes;
+
+        assertEquals(objectCount, replica.getObjects().size());
+        assertEquals(objectCount, testColumnarObjectPermissionModelStore.getObjects().size());
+        assertEquals(objectCount, objectNames.size());
+        assertTrue("Columnar store retained " + (columnarBytes - objectNameBytes) + " bytes, replica retained " + (replicaBytes - objectNameBytes) + " bytes.", (columnarBytes - objectNameBytes) * 2 < (replicaBytes - objectNameBytes));
+    }
+
+    /**
+     * Creates an OracleObjectPermissionSet with no permissions.
+     * @param   objectName   The name of the object.
+     * @param   objectType   The type of the object.
+     * @param   objectOwner  The owner of the object.
+     * @param   addFlag      The value of the 'add' flag.
+     * @param   removeFlag   The value of the 'remove' flag.
+     * @return               The OracleObjectPermissionSet.
+     */
+    private OracleObjectPermissionSet CreateObject(String objectName, String objectType, String objectOwner, boolean addFlag, boolean removeFlag) {
+        OracleObjectPermissionSet object = new OracleObjectPermissionSet(objectName);
+        object.setObjectType(objectType);
+        object.setObjectOwner(objectOwner);
+        object.setAddFlag(addFlag);
+        object.setRemoveFlag(removeFlag);
+        return object;
+    }
+
+    /**
+     * Creates a synthetic model, with type, owner, role and permission names shared between objects as they would be after deserialization.
+     * @param   objectCount           The number of objects to create.
+     * @param   permissionsPerObject  The number of permissions to create for each object.
+     * @return                        The objects.
+     */
+    private ArrayList<OracleObjectPermissionSet> CreateObjects(int objectCount, int permissionsPerObject) {
+        String[] objectTypes = new String[] { "Table", "View", "Sequence", "Stored Procedure" };
+        String[] roles = new String[] { "XYZON_APP_ROLE", "XYZON_POWER_ROLE", "XYZON_READ_ROLE", "XYZON_GUI_ROLE", "XYZON_BATCH_ROLE", "XYZON_REPORT_ROLE" };
+        String[] permissions = new String[] { "SELECT", "INSERT", "UPDATE", "DELETE", "EXECUTE" };
+
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>(objectCount);
+        for (int i = 0; i < objectCount; i++) {
+            OracleObjectPermissionSet currentObject = CreateObject("OBJECT_" + i, objectTypes[i % objectTypes.length], "XYZON_OWNER", false, false);
+            for (int j = 0; j < permissionsPerObject; j++) {
+                currentObject.getObjectPermissions().add(new RoleToPermissionMap(roles[(i + j) % roles.length], permissions[(i + j) % permissions.length]));
+            }
+            objects.add(currentObject);
+        }
+        return objects;
+    }
+
+    /**
+     * Returns the amount of heap in use after garbage collection.
+     * @param   memoryBean  The bean to read heap usage from.
+     * @return              The heap in use in bytes.
+     */
+    private long GetUsedHeap(MemoryMXBean memoryBean) {
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Asserts that the properties and permissions of two OracleObjectPermissionSet objects are equal.
+     * @param  expected  The expected object.
+     * @param  actual    The actual object.
+     */
+    private void AssertObjectsEqual(OracleObjectPermissionSet expected, OracleObjectPermissionSet actual) {
+        assertEquals(expected.getObjectName(), actual.getObjectName());
+        assertEquals(expected.getObjectType(), actual.getObjectType());
+        assertEquals(expected.getObjectOwner(), actual.getObjectOwner());
+        assertEquals(expected.getAddFlag(), actual.getAddFlag());
+        assertEquals(expected.getRemoveFlag(), actual.getRemoveFlag());
+        assertEquals(expected.getObjectPermissions().size(), actual.getObjectPermissions().size());
+        for (int i = 0; i < expected.getObjectPermissions().size(); i++) {
+            assertEquals(expected.getObjectPermissions().get(i).getRole(), actual.getObjectPermissions().get(i).getRole());
+            assertEquals(expected.getObjectPermissions().get(i).getPermission(), actual.getObjectPermissions().get(i).getPermission());
+        }
+    }
+
+    /**
+     * Creates a ModelChangeSet containing no changes.
+     * @param   modelVersion      The version of the data model.
+     * @param   snapshotRequired  Whether the change set indicates that the complete data model must be retrieved.
+     * @return                    The ModelChangeSet.
+     */
+    private ModelChangeSet CreateModelChangeSet(long modelVersion, boolean snapshotRequired) {
+        return new ModelChangeSet(modelVersion, snapshotRequired, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>(), new ArrayList<RoleToUserMap>());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.util.*;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.mockito.Mockito.*;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.IndexedObjectPermissionModelStore.
+ * @author Alastair Wyse
+ */
+public class IndexedObjectPermissionModelStoreTests {
+
+    private final String testIdentity = "SOAP\n192.168.1.101:5000\nuser@tempuri.org";
+    private IObjectPermissionModelStore mockModelStore;
+    private IndexedObjectPermissionModelStore testIndexedObjectPermissionModelStore;
+
+    @Before
+    public void setUp() {
+        mockModelStore = mock(IObjectPermissionModelStore.class);
+        testIndexedObjectPermissionModelStore = new IndexedObjectPermissionModelStore(mockModelStore);
+    }
+
+    @Test
+    public void ConstructorModelStoreNull() {
+        try {
+            new IndexedObjectPermissionModelStore(null);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'modelStore' cannot be null."));
+        }
+    }
+
+    @Test
+    public void getPermissionsAfterLoad() {
+        ArrayList<OracleObjectPermissionSet> objects = CreateObjects();
+
+        testIndexedObjectPermissionModelStore.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        ArrayList<String> returnedPermissions = testIndexedObjectPermissionModelStore.getPermissions("SALES", "SALES_WRITE_ROLE");
+
+        verify(mockModelStore).Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        verifyNoMoreInteractions(mockModelStore);
+        assertEquals(Arrays.asList("INSERT", "UPDATE"), returnedPermissions);
+    }
+
+    @Test
+    public void getPermissionsBuildsIndexFromPopulatedStore() {
+        when(mockModelStore.getIsPopulated()).thenReturn(true);
+        when(mockModelStore.getObjects()).thenReturn(CreateObjects());
+
+        ArrayList<String> firstPermissions = testIndexedObjectPermissionModelStore.getPermissions("SALES", "SALES_READ_ROLE");
+        ArrayList<String> secondPermissions = testIndexedObjectPermissionModelStore.getPermissions("SALES", "SALES_WRITE_ROLE");
+
+        verify(mockModelStore, times(1)).getObjects();
+        verify(mockModelStore, never()).getPermissions(anyString(), anyString());
+        assertEquals(Arrays.asList("SELECT"), firstPermissions);
+        assertEquals(Arrays.asList("INSERT", "UPDATE"), secondPermissions);
+    }
+
+    @Test
+    public void getPermissionsUnpopulatedStore() {
+        when(mockModelStore.getIsPopulated()).thenReturn(false);
+        when(mockModelStore.getPermissions("SALES", "SALES_READ_ROLE")).thenReturn(new ArrayList<String>());
+
+        testIndexedObjectPermissionModelStore.getPermissions("SALES", "SALES_READ_ROLE");
+
+        verify(mockModelStore, never()).getObjects();
+        verify(mockModelStore).getPermissions("SALES", "SALES_READ_ROLE");
+    }
+
+    @Test
+    public void ChangesUpdateIndex() {
+        testIndexedObjectPermissionModelStore.Load(testIdentity, 100, CreateObjects(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        ModelChangeSet changeSet = new ModelChangeSet(104, false, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>(), new ArrayList<RoleToUserMap>());
+        OracleObjectPermissionSet addedObject = new OracleObjectPermissionSet("INVOICES");
+        addedObject.setObjectType("Table");
+        addedObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        changeSet.getAddedObjects().add(addedObject);
+        changeSet.getRemovedObjectNames().add("ORDERS");
+
+        testIndexedObjectPermissionModelStore.Apply(changeSet);
+        testIndexedObjectPermissionModelStore.AddPermission("SALES", "SALES_READ_ROLE", "INSERT");
+        testIndexedObjectPermissionModelStore.RemovePermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+
+        verify(mockModelStore).Apply(changeSet);
+        verify(mockModelStore).AddPermission("SALES", "SALES_READ_ROLE", "INSERT");
+        verify(mockModelStore).RemovePermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        assertEquals(Arrays.asList("SELECT"), testIndexedObjectPermissionModelStore.getPermissions("INVOICES", "SALES_READ_ROLE"));
+        assertEquals(0, testIndexedObjectPermissionModelStore.getPermissions("ORDERS", "SALES_READ_ROLE").size());
+        assertEquals(Arrays.asList("SELECT", "INSERT"), testIndexedObjectPermissionModelStore.getPermissions("SALES", "SALES_READ_ROLE"));
+        assertEquals(Arrays.asList("UPDATE"), testIndexedObjectPermissionModelStore.getPermissions("SALES", "SALES_WRITE_ROLE"));
+    }
+
+    @Test
+    public void ClearRebuildsIndex() {
+        testIndexedObjectPermissionModelStore.Load(testIdentity, 100, CreateObjects(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testIndexedObjectPermissionModelStore.Clear();
+        when(mockModelStore.getIsPopulated()).thenReturn(true);
+        ArrayList<OracleObjectPermissionSet> reloadedObjects = new ArrayList<OracleObjectPermissionSet>();
+        reloadedObjects.add(new OracleObjectPermissionSet("SALES"));
+        when(mockModelStore.getObjects()).thenReturn(reloadedObjects);
+
+        verify(mockModelStore).Clear();
+        assertEquals(0, testIndexedObjectPermissionModelStore.getPermissions("SALES", "SALES_READ_ROLE").size());
+        verify(mockModelStore).getObjects();
+    }
+
+    @Test
+    public void RoleCountsAfterLoad() {
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER2"));
+        roleToUserMaps.add(new RoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER"));
+
+        testIndexedObjectPermissionModelStore.Load(testIdentity, 100, CreateObjects(), new ArrayList<String>(), roleToUserMaps);
+
+        assertEquals(2, testIndexedObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_READ_ROLE"));
+        assertEquals(1, testIndexedObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_WRITE_ROLE"));
+        assertEquals(2, testIndexedObjectPermissionModelStore.RoleGetUserMapCount("SALES_READ_ROLE"));
+        assertEquals(1, testIndexedObjectPermissionModelStore.RoleGetUserMapCount("SALES_WRITE_ROLE"));
+        assertEquals(0, testIndexedObjectPermissionModelStore.RoleGetUserMapCount("INVOICES_READ_ROLE"));
+        verify(mockModelStore, never()).RoleGetReferencingObjectCount(anyString());
+        verify(mockModelStore, never()).RoleGetUserMapCount(anyString());
+    }
+
+    @Test
+    public void RoleCountsBuiltFromPopulatedStore() {
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        when(mockModelStore.getIsPopulated()).thenReturn(true);
+        when(mockModelStore.getObjects()).thenReturn(CreateObjects());
+        when(mockModelStore.getRoleToUserMaps()).thenReturn(roleToUserMaps);
+
+        int userMapCount = testIndexedObjectPermissionModelStore.RoleGetUserMapCount("SALES_READ_ROLE");
+        int referencingObjectCount = testIndexedObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_READ_ROLE");
+
+        verify(mockModelStore, times(1)).getObjects();
+        verify(mockModelStore, times(1)).getRoleToUserMaps();
+        verify(mockModelStore, never()).RoleGetReferencingObjectCount(anyString());
+        verify(mockModelStore, never()).RoleGetUserMapCount(anyString());
+        assertEquals(1, userMapCount);
+        assertEquals(2, referencingObjectCount);
+    }
+
+    @Test
+    public void RoleCountsUnpopulatedStore() {
+        when(mockModelStore.getIsPopulated()).thenReturn(false);
+        when(mockModelStore.RoleGetReferencingObjectCount("SALES_READ_ROLE")).thenReturn(3);
+        when(mockModelStore.RoleGetUserMapCount("SALES_READ_ROLE")).thenReturn(2);
+
+        assertEquals(3, testIndexedObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_READ_ROLE"));
+        assertEquals(2, testIndexedObjectPermissionModelStore.RoleGetUserMapCount("SALES_READ_ROLE"));
+        verify(mockModelStore, never()).getObjects();
+        verify(mockModelStore, never()).getRoleToUserMaps();
+    }
+
+    @Test
+    public void ChangesUpdateRoleCounts() {
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        testIndexedObjectPermissionModelStore.Load(testIdentity, 100, CreateObjects(), new ArrayList<String>(), roleToUserMaps);
+        ModelChangeSet changeSet = new ModelChangeSet(104, false, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>(), new ArrayList<RoleToUserMap>());
+        changeSet.getRemovedObjectNames().add("ORDERS");
+        changeSet.getAddedRoleToUserMaps().add(new RoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER"));
+        changeSet.getRemovedRoleToUserMaps().add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+
+        testIndexedObjectPermissionModelStore.Apply(changeSet);
+        testIndexedObjectPermissionModelStore.AddRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER");
+        testIndexedObjectPermissionModelStore.AddRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER2");
+        testIndexedObjectPermissionModelStore.RemoveRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER2");
+        testIndexedObjectPermissionModelStore.AddRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER2");
+        testIndexedObjectPermissionModelStore.RemovePermission("SALES", "SALES_READ_ROLE", "SELECT");
+
+        verify(mockModelStore).AddRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER2");
+        verify(mockModelStore).RemoveRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER2");
+        assertEquals(0, testIndexedObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_READ_ROLE"));
+        assertEquals(1, testIndexedObjectPermissionModelStore.RoleGetReferencingObjectCount("SALES_WRITE_ROLE"));
+        assertEquals(1, testIndexedObjectPermissionModelStore.RoleGetUserMapCount("SALES_READ_ROLE"));
+        assertEquals(1, testIndexedObjectPermissionModelStore.RoleGetUserMapCount("SALES_WRITE_ROLE"));
+    }
+
+    /**
+     * Creates a list of objects to load into the store.
+     * @return  The objects.
+     */
+    private ArrayList<OracleObjectPermissionSet> CreateObjects() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        OracleObjectPermissionSet salesObject = new OracleObjectPermissionSet("SALES");
+        salesObject.setObjectType("Table");
+        salesObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        salesObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_WRITE_ROLE", "INSERT"));
+        salesObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_WRITE_ROLE", "UPDATE"));
+        objects.add(salesObject);
+        OracleObjectPermissionSet ordersObject = new OracleObjectPermissionSet("ORDERS");
+        ordersObject.setObjectType("Table");
+        ordersObject.getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        objects.add(ordersObject);
+        return objects;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.ModelStoreSynchronizer.
+ * @author Alastair Wyse
+ */
+public class ModelStoreSynchronizerTests {
+
+    private CountingSynchronizationAction testSynchronizationAction;
+    private DeferredExecutor testSynchronizationExecutor;
+    private ModelStoreSynchronizer testModelStoreSynchronizer;
+
+    @Before
+    public void setUp() {
+        testSynchronizationAction = new CountingSynchronizationAction();
+        testSynchronizationExecutor = new DeferredExecutor();
+        testModelStoreSynchronizer = new ModelStoreSynchronizer(testSynchronizationAction, testSynchronizationExecutor);
+    }
+
+    @Test
+    public void InvalidMinimumIntervalArgument() {
+        try {
+            testModelStoreSynchronizer.setMinimumInterval(-1);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'minimumInterval' must be greater than or equal to 0."));
+        }
+    }
+
+    @Test
+    public void Synchronize() throws Exception {
+        testModelStoreSynchronizer.Synchronize();
+
+        assertEquals(1, testSynchronizationAction.getCallCount());
+        assertEquals(1, testModelStoreSynchronizer.getSynchronizationCount());
+        assertEquals(0, testModelStoreSynchronizer.getFailureCount());
+    }
+
+    @Test
+    public void SynchronizeFailure() throws Exception {
+        Exception testException = new Exception("Failed to connect to the data service.");
+        testSynchronizationAction.setException(testException);
+
+        try {
+            testModelStoreSynchronizer.Synchronize();
+            fail("Exception was not thrown.");
+        }
+        catch (Exception e) {
+            assertSame(testException, e);
+        }
+        assertEquals(0, testModelStoreSynchronizer.getSynchronizationCount());
+        assertEquals(1, testModelStoreSynchronizer.getFailureCount());
+        assertSame(testException, testModelStoreSynchronizer.getLastException());
+    }
+
+    @Test
+    public void RequestSynchronizationCoalescesPendingRequests() throws Exception {
+        testModelStoreSynchronizer.setMinimumInterval(0);
+
+        assertEquals(true, testModelStoreSynchronizer.RequestSynchronization());
+        assertEquals(false, testModelStoreSynchronizer.RequestSynchronization());
+        assertEquals(false, testModelStoreSynchronizer.RequestSynchronization());
+
+        assertEquals(1, testSynchronizationExecutor.getPendingTaskCount());
+        assertEquals(0, testSynchronizationAction.getCallCount());
+        testSynchronizationExecutor.RunPendingTasks();
+        assertEquals(1, testSynchronizationAction.getCallCount());
+
+        // Once the pending synchronization has completed, a further request is scheduled
+        assertEquals(true, testModelStoreSynchronizer.RequestSynchronization());
+        assertEquals(1, testSynchronizationExecutor.getPendingTaskCount());
+    }
+
+    @Test
+    public void RequestSynchronizationWithinMinimumInterval() throws Exception {
+        testModelStoreSynchronizer.setMinimumInterval(3600000);
+        testModelStoreSynchronizer.Synchronize();
+
+        assertEquals(false, testModelStoreSynchronizer.RequestSynchronization());
+
+        assertEquals(0, testSynchronizationExecutor.getPendingTaskCount());
+        assertEquals(1, testSynchronizationAction.getCallCount());
+    }
+
+    @Test
+    public void RequestSynchronizationFailureIsRecorded() throws Exception {
+        Exception testException = new Exception("Failed to connect to the data service.");
+        testSynchronizationAction.setException(testException);
+        testModelStoreSynchronizer.setMinimumInterval(0);
+
+        testModelStoreSynchronizer.RequestSynchronization();
+        testSynchronizationExecutor.RunPendingTasks();
+
+        assertEquals(1, testModelStoreSynchronizer.getFailureCount());
+        assertSame(testException, testModelStoreSynchronizer.getLastException());
+        assertEquals(true, testModelStoreSynchronizer.RequestSynchronization());
+    }
+
+    /**
+     * Synchronization action which counts the number of times it is called, and optionally throws an exception.
+     */
+    private class CountingSynchronizationAction implements Callable<Void> {
+
+        private int callCount = 0;
+        private Exception exception = null;
+
+        public int getCallCount() {
+            return callCount;
+        }
+
+        public void setException(Exception exception) {
+            this.exception = exception;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            callCount++;
+            if (exception != null) {
+                throw exception;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Executor which holds submitted tasks until they are explicitly run, to allow tests to control when background synchronizations occur.
+     */
+    private class DeferredExecutor implements Executor {
+
+        private ArrayList<Runnable> pendingTasks = new ArrayList<Runnable>();
+
+        @Override
+        public void execute(Runnable command) {
+            pendingTasks.add(command);
+        }
+
+        public int getPendingTaskCount() {
+            return pendingTasks.size();
+        }
+
+        public void RunPendingTasks() {
+            ArrayList<Runnable> tasks = new ArrayList<Runnable>(pendingTasks);
+            pendingTasks.clear();
+            for (Runnable currentTask : tasks) {
+                currentTask.run();
+            }
+        }
+    }
+}
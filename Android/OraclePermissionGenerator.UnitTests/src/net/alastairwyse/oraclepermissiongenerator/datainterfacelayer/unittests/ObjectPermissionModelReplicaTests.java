@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.util.*;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.ObjectPermissionModelReplica.
+ * @author Alastair Wyse
+ */
+public class ObjectPermissionModelReplicaTests {
+
+    private final String testIdentity = "SOAP\n192.168.1.101:5000\nuser@tempuri.org";
+    private ObjectPermissionModelReplica testObjectPermissionModelReplica;
+
+    @Before
+    public void setUp() {
+        testObjectPermissionModelReplica = new ObjectPermissionModelReplica();
+    }
+
+    @Test
+    public void InvalidModelVersionArgument() {
+        try {
+            testObjectPermissionModelReplica.Load(testIdentity, -1, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'modelVersion' must be greater than or equal to 0."));
+        }
+    }
+
+    @Test
+    public void ApplyToUnpopulatedReplica() {
+        assertEquals(false, testObjectPermissionModelReplica.getIsPopulated());
+        try {
+            testObjectPermissionModelReplica.Apply(CreateModelChangeSet(101, false));
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Changes cannot be applied to a replica which has not been populated."));
+        }
+    }
+
+    @Test
+    public void ApplySnapshotRequiredChangeSet() {
+        testObjectPermissionModelReplica.Load(testIdentity, 100, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+        try {
+            testObjectPermissionModelReplica.Apply(CreateModelChangeSet(150, true));
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'changeSet' cannot be applied as it requires a complete copy of the data model to be retrieved."));
+        }
+        assertEquals(100, testObjectPermissionModelReplica.getModelVersion());
+    }
+
+    @Test
+    public void Apply() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        objects.add(new OracleObjectPermissionSet("ORDERS"));
+        objects.add(new OracleObjectPermissionSet("CUSTOMERS"));
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        roleToUserMaps.add(new RoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER"));
+        testObjectPermissionModelReplica.Load(testIdentity, 100, objects, new ArrayList<String>(), roleToUserMaps);
+        ModelChangeSet changeSet = CreateModelChangeSet(104, false);
+        changeSet.getAddedObjects().add(new OracleObjectPermissionSet("INVOICES"));
+        OracleObjectPermissionSet modifiedObject = new OracleObjectPermissionSet("SALES");
+        modifiedObject.setRemoveFlag(true);
+        changeSet.getModifiedObjects().add(modifiedObject);
+        changeSet.getRemovedObjectNames().add("ORDERS");
+        changeSet.getAddedRoleToUserMaps().add(new RoleToUserMap("INVOICES_READ_ROLE", "INVOICES_READ_USER"));
+        changeSet.getRemovedRoleToUserMaps().add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+
+        testObjectPermissionModelReplica.Apply(changeSet);
+
+        assertEquals(104, testObjectPermissionModelReplica.getModelVersion());
+        ArrayList<OracleObjectPermissionSet> returnedObjects = testObjectPermissionModelReplica.getObjects();
+        assertEquals(3, returnedObjects.size());
+        assertEquals("SALES", returnedObjects.get(0).getObjectName());
+        assertEquals(true, returnedObjects.get(0).getRemoveFlag());
+        assertEquals("CUSTOMERS", returnedObjects.get(1).getObjectName());
+        assertEquals("INVOICES", returnedObjects.get(2).getObjectName());
+        ArrayList<RoleToUserMap> returnedRoleToUserMaps = testObjectPermissionModelReplica.getRoleToUserMaps();
+        assertEquals(2, returnedRoleToUserMaps.size());
+        assertEquals("SALES_WRITE_ROLE", returnedRoleToUserMaps.get(0).getRole());
+        assertEquals("INVOICES_READ_ROLE", returnedRoleToUserMaps.get(1).getRole());
+        assertEquals("INVOICES_READ_USER", returnedRoleToUserMaps.get(1).getUser());
+    }
+
+    @Test
+    public void ApplyIsIdempotent() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        testObjectPermissionModelReplica.Load(testIdentity, 100, objects, new ArrayList<String>(), roleToUserMaps);
+        // Simulates a change set containing changes which were already included in the loaded copy of the data model
+        ModelChangeSet changeSet = CreateModelChangeSet(102, false);
+        changeSet.getAddedObjects().add(new OracleObjectPermissionSet("SALES"));
+        changeSet.getAddedRoleToUserMaps().add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+        changeSet.getRemovedObjectNames().add("ORDERS");
+
+        testObjectPermissionModelReplica.Apply(changeSet);
+        testObjectPermissionModelReplica.Apply(changeSet);
+
+        assertEquals(102, testObjectPermissionModelReplica.getModelVersion());
+        assertEquals(1, testObjectPermissionModelReplica.getObjects().size());
+        assertEquals("SALES", testObjectPermissionModelReplica.getObjects().get(0).getObjectName());
+        assertEquals(1, testObjectPermissionModelReplica.getRoleToUserMaps().size());
+    }
+
+    @Test
+    public void GetObjectsReturnsCopy() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        testObjectPermissionModelReplica.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testObjectPermissionModelReplica.getObjects().clear();
+        testObjectPermissionModelReplica.getRoleToUserMaps().add(new RoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER"));
+
+        assertEquals(1, testObjectPermissionModelReplica.getObjects().size());
+        assertEquals(0, testObjectPermissionModelReplica.getRoleToUserMaps().size());
+    }
+
+    @Test
+    public void Clear() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        testObjectPermissionModelReplica.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testObjectPermissionModelReplica.Clear();
+
+        assertEquals(false, testObjectPermissionModelReplica.getIsPopulated());
+        assertNull(testObjectPermissionModelReplica.getIdentity());
+        assertEquals(0, testObjectPermissionModelReplica.getObjects().size());
+    }
+
+    @Test
+    public void Load() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        ArrayList<String> roles = new ArrayList<String>(Arrays.asList("SALES_READ_ROLE", "SALES_WRITE_ROLE"));
+
+        testObjectPermissionModelReplica.Load(testIdentity, 100, objects, roles, new ArrayList<RoleToUserMap>());
+
+        assertEquals(true, testObjectPermissionModelReplica.getIsPopulated());
+        assertEquals(testIdentity, testObjectPermissionModelReplica.getIdentity());
+        assertEquals(100, testObjectPermissionModelReplica.getModelVersion());
+        assertEquals(roles, testObjectPermissionModelReplica.getRoles());
+    }
+
+    @Test
+    public void PermissionChanges() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(new OracleObjectPermissionSet("SALES"));
+        objects.add(new OracleObjectPermissionSet("ORDERS"));
+        objects.get(1).getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "SELECT"));
+        testObjectPermissionModelReplica.Load(testIdentity, 100, objects, new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testObjectPermissionModelReplica.AddPermission("SALES", "SALES_READ_ROLE", "SELECT");
+        testObjectPermissionModelReplica.AddPermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testObjectPermissionModelReplica.AddPermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testObjectPermissionModelReplica.AddPermission("SALES", "SALES_WRITE_ROLE", "UPDATE");
+        testObjectPermissionModelReplica.RemovePermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testObjectPermissionModelReplica.SetAddFlag("SALES", true);
+
+        assertEquals(Arrays.asList("UPDATE"), testObjectPermissionModelReplica.getPermissions("SALES", "SALES_WRITE_ROLE"));
+        assertEquals(Arrays.asList("SALES", "ORDERS"), testObjectPermissionModelReplica.RoleGetReferencingObjects("SALES_READ_ROLE"));
+        assertEquals(Arrays.asList("SALES"), testObjectPermissionModelReplica.RoleGetReferencingObjects("SALES_WRITE_ROLE"));
+        assertEquals(2, testObjectPermissionModelReplica.RoleGetReferencingObjectCount("SALES_READ_ROLE"));
+        assertEquals(1, testObjectPermissionModelReplica.RoleGetReferencingObjectCount("SALES_WRITE_ROLE"));
+        assertEquals(0, testObjectPermissionModelReplica.RoleGetReferencingObjectCount("INVOICES_READ_ROLE"));
+        assertEquals(true, testObjectPermissionModelReplica.getObjects().get(0).getAddFlag());
+        // The model version is not changed by changes made locally
+        assertEquals(100, testObjectPermissionModelReplica.getModelVersion());
+    }
+
+    @Test
+    public void RoleToUserMapChanges() {
+        testObjectPermissionModelReplica.Load(testIdentity, 100, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>());
+
+        testObjectPermissionModelReplica.AddRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER");
+        testObjectPermissionModelReplica.AddRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER");
+        testObjectPermissionModelReplica.AddRoleToUserMap("SALES_WRITE_ROLE", "SALES_WRITE_USER");
+        testObjectPermissionModelReplica.RemoveRoleToUserMap("SALES_READ_ROLE", "SALES_READ_USER");
+
+        ArrayList<RoleToUserMap> returnedRoleToUserMaps = testObjectPermissionModelReplica.getRoleToUserMaps();
+        assertEquals(1, returnedRoleToUserMaps.size());
+        assertEquals("SALES_WRITE_ROLE", returnedRoleToUserMaps.get(0).getRole());
+        assertEquals("SALES_WRITE_USER", returnedRoleToUserMaps.get(0).getUser());
+        assertEquals(0, testObjectPermissionModelReplica.RoleGetUserMapCount("SALES_READ_ROLE"));
+        assertEquals(1, testObjectPermissionModelReplica.RoleGetUserMapCount("SALES_WRITE_ROLE"));
+    }
+
+    /**
+     * Creates a ModelChangeSet containing no changes.
+     * @param   modelVersion      The version of the data model.
+     * @param   snapshotRequired  Whether the change set indicates that the complete data model must be retrieved.
+     * @return                    The ModelChangeSet.
+     */
+    private ModelChangeSet CreateModelChangeSet(long modelVersion, boolean snapshotRequired) {
+        return new ModelChangeSet(modelVersion, snapshotRequired, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>(), new ArrayList<RoleToUserMap>());
+    }
+}
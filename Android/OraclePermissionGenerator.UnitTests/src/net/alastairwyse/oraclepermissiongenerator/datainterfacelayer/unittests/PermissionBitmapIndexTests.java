@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.util.*;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.PermissionBitmapIndex.
+ * @author Alastair Wyse
+ */
+public class PermissionBitmapIndexTests {
+
+    private PermissionBitmapIndex testPermissionBitmapIndex;
+
+    @Before
+    public void setUp() {
+        testPermissionBitmapIndex = new PermissionBitmapIndex();
+    }
+
+    @Test
+    public void Build() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("SALES", "Table", "SALES_READ_ROLE", "SELECT", "SALES_WRITE_ROLE", "INSERT", "SALES_WRITE_ROLE", "UPDATE"));
+        objects.add(CreateObject("ORDERS", "Table", "SALES_WRITE_ROLE", "UPDATE", "SALES_WRITE_ROLE", "DELETE"));
+        objects.add(CreateObject("SP_ORDERS_INS", "Stored Procedure", "SALES_WRITE_ROLE", "EXECUTE"));
+
+        testPermissionBitmapIndex.Build(objects);
+
+        assertEquals(true, testPermissionBitmapIndex.getIsComplete());
+        assertEquals(Arrays.asList("SELECT"), testPermissionBitmapIndex.getPermissions("SALES", "SALES_READ_ROLE"));
+        assertEquals(Arrays.asList("INSERT", "UPDATE"), testPermissionBitmapIndex.getPermissions("SALES", "SALES_WRITE_ROLE"));
+        assertEquals(Arrays.asList("UPDATE", "DELETE"), testPermissionBitmapIndex.getPermissions("ORDERS", "SALES_WRITE_ROLE"));
+        assertEquals(Arrays.asList("EXECUTE"), testPermissionBitmapIndex.getPermissions("SP_ORDERS_INS", "SALES_WRITE_ROLE"));
+        assertEquals(0, testPermissionBitmapIndex.getPermissions("ORDERS", "SALES_READ_ROLE").size());
+        assertEquals(0, testPermissionBitmapIndex.getPermissions("INVOICES", "SALES_READ_ROLE").size());
+        assertEquals(0, testPermissionBitmapIndex.getPermissions("SALES", "INVOICES_READ_ROLE").size());
+        assertTrue(testPermissionBitmapIndex.HasPermission("SALES", "SALES_WRITE_ROLE", "UPDATE"));
+        assertFalse(testPermissionBitmapIndex.HasPermission("SALES", "SALES_READ_ROLE", "UPDATE"));
+        // A permission in the catalogue of a different object type
+        assertFalse(testPermissionBitmapIndex.HasPermission("SP_ORDERS_INS", "SALES_WRITE_ROLE", "UPDATE"));
+        assertFalse(testPermissionBitmapIndex.HasPermission("SALES", "SALES_WRITE_ROLE", "ALTER"));
+    }
+
+    @Test
+    public void PermissionChanges() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("SALES", "Table", "SALES_READ_ROLE", "SELECT"));
+        testPermissionBitmapIndex.Build(objects);
+
+        testPermissionBitmapIndex.AddPermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testPermissionBitmapIndex.AddPermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testPermissionBitmapIndex.AddPermission("SALES", "SALES_WRITE_ROLE", "UPDATE");
+        testPermissionBitmapIndex.RemovePermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        testPermissionBitmapIndex.RemovePermission("SALES", "SALES_READ_ROLE", "DELETE");
+        testPermissionBitmapIndex.AddPermission("ORDERS", "SALES_READ_ROLE", "SELECT");
+
+        assertEquals(Arrays.asList("UPDATE"), testPermissionBitmapIndex.getPermissions("SALES", "SALES_WRITE_ROLE"));
+        assertEquals(Arrays.asList("SELECT"), testPermissionBitmapIndex.getPermissions("SALES", "SALES_READ_ROLE"));
+        assertEquals(0, testPermissionBitmapIndex.getPermissions("ORDERS", "SALES_READ_ROLE").size());
+    }
+
+    @Test
+    public void PutAndRemoveObject() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("SALES", "Table", "SALES_READ_ROLE", "SELECT"));
+        objects.add(CreateObject("ORDERS", "Table", "SALES_READ_ROLE", "SELECT"));
+        testPermissionBitmapIndex.Build(objects);
+
+        testPermissionBitmapIndex.PutObject(CreateObject("SALES", "Table", "SALES_WRITE_ROLE", "INSERT"));
+        testPermissionBitmapIndex.RemoveObject("ORDERS");
+
+        assertEquals(0, testPermissionBitmapIndex.getPermissions("SALES", "SALES_READ_ROLE").size());
+        assertEquals(Arrays.asList("INSERT"), testPermissionBitmapIndex.getPermissions("SALES", "SALES_WRITE_ROLE"));
+        assertEquals(0, testPermissionBitmapIndex.getPermissions("ORDERS", "SALES_READ_ROLE").size());
+    }
+
+    @Test
+    public void ReferencingObjectCounts() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("SALES", "Table", "SALES_READ_ROLE", "SELECT", "SALES_WRITE_ROLE", "INSERT", "SALES_WRITE_ROLE", "UPDATE"));
+        objects.add(CreateObject("ORDERS", "Table", "SALES_READ_ROLE", "SELECT"));
+        testPermissionBitmapIndex.Build(objects);
+
+        assertEquals(2, testPermissionBitmapIndex.getReferencingObjectCount("SALES_READ_ROLE"));
+        assertEquals(1, testPermissionBitmapIndex.getReferencingObjectCount("SALES_WRITE_ROLE"));
+        assertEquals(0, testPermissionBitmapIndex.getReferencingObjectCount("INVOICES_READ_ROLE"));
+
+        // Removing one of two permissions leaves the object referencing the role
+        testPermissionBitmapIndex.RemovePermission("SALES", "SALES_WRITE_ROLE", "INSERT");
+        assertEquals(1, testPermissionBitmapIndex.getReferencingObjectCount("SALES_WRITE_ROLE"));
+        testPermissionBitmapIndex.RemovePermission("SALES", "SALES_WRITE_ROLE", "UPDATE");
+        testPermissionBitmapIndex.RemovePermission("SALES", "SALES_WRITE_ROLE", "UPDATE");
+        assertEquals(0, testPermissionBitmapIndex.getReferencingObjectCount("SALES_WRITE_ROLE"));
+        testPermissionBitmapIndex.AddPermission("ORDERS", "SALES_WRITE_ROLE", "DELETE");
+        testPermissionBitmapIndex.AddPermission("ORDERS", "SALES_WRITE_ROLE", "UPDATE");
+        assertEquals(1, testPermissionBitmapIndex.getReferencingObjectCount("SALES_WRITE_ROLE"));
+
+        // Replacing and removing objects releases the references of the previous version of the object
+        testPermissionBitmapIndex.PutObject(CreateObject("SALES", "Table", "SALES_WRITE_ROLE", "INSERT"));
+        testPermissionBitmapIndex.RemoveObject("ORDERS");
+        testPermissionBitmapIndex.RemoveObject("ORDERS");
+        assertEquals(0, testPermissionBitmapIndex.getReferencingObjectCount("SALES_READ_ROLE"));
+        assertEquals(1, testPermissionBitmapIndex.getReferencingObjectCount("SALES_WRITE_ROLE"));
+    }
+
+    @Test
+    public void ReferencingObjectCountsManyRoles() {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        for (int i = 0; i < 20; i++) {
+            objects.add(CreateObject("SALES_" + i, "Table", "ROLE_" + i, "SELECT", "ROLE_0", "SELECT"));
+        }
+        testPermissionBitmapIndex.Build(objects);
+
+        assertEquals(20, testPermissionBitmapIndex.getReferencingObjectCount("ROLE_0"));
+        assertEquals(1, testPermissionBitmapIndex.getReferencingObjectCount("ROLE_19"));
+    }
+
+    @Test
+    public void CatalogueFull() {
+        OracleObjectPermissionSet object = new OracleObjectPermissionSet("SALES");
+        object.setObjectType("Table");
+        for (int i = 0; i < 64; i++) {
+            object.getObjectPermissions().add(new RoleToPermissionMap("SALES_READ_ROLE", "PERMISSION_" + i));
+        }
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(object);
+        testPermissionBitmapIndex.Build(objects);
+
+        assertEquals(true, testPermissionBitmapIndex.getIsComplete());
+        assertEquals(64, testPermissionBitmapIndex.getPermissions("SALES", "SALES_READ_ROLE").size());
+        assertTrue(testPermissionBitmapIndex.HasPermission("SALES", "SALES_READ_ROLE", "PERMISSION_63"));
+
+        testPermissionBitmapIndex.AddPermission("SALES", "SALES_READ_ROLE", "PERMISSION_64");
+
+        assertEquals(false, testPermissionBitmapIndex.getIsComplete());
+        testPermissionBitmapIndex.Clear();
+        assertEquals(true, testPermissionBitmapIndex.getIsComplete());
+    }
+
+    /**
+     * Creates an OracleObjectPermissionSet.
+     * @param   objectName             The name of the object.
+     * @param   objectType             The type of the object.
+     * @param   rolesAndPermissions    Pairs of roles and permissions to assign to the object.
+     * @return                         The OracleObjectPermissionSet.
+     */
+    private OracleObjectPermissionSet CreateObject(String objectName, String objectType, String... rolesAndPermissions) {
+        OracleObjectPermissionSet object = new OracleObjectPermissionSet(objectName);
+        object.setObjectType(objectType);
+        for (int i = 0; i < rolesAndPermissions.length; i += 2) {
+            object.getObjectPermissions().add(new RoleToPermissionMap(rolesAndPermissions[i], rolesAndPermissions[i + 1]));
+        }
+        return object;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+/**
+ * Measures the heap allocated and time taken per REST URL built, comparing the URL construction previously used in class RestRemoteDataModelProxy with class RestUrlBuilder.
+ * <b>Note</b> this is not a unit test, and should be run as a Java application on a HotSpot JVM (it uses com.sun.management.ThreadMXBean to measure the bytes allocated by the current thread).
+ * The previous construction is reproduced here, with android.net.Uri.encode() replaced by an equivalent which converts the string to UTF-8 bytes (as the Android implementation does).
+ * @author Alastair Wyse
+ */
+public class RestUrlBuilderBenchmark {
+
+    private static final int warmupIterations = 200000;
+    private static final int measuredIterations = 1000000;
+    private static final String dataModelLocation = "192.168.0.101:5000";
+    private static final String urlBasePath = "OraclePermissionGeneratorWebServiceAPI/REST";
+    private static final String objectName = "SALES_ORDER_SUMMARY";
+    private static final String role = "SALES READ ROLE";
+    private static final String encodedAuthenticationContext = "%7B%22UserIdentifier%22%3A%22user1%22%7D";
+    private static final String encodedTrackingData = "%7B%22Location%22%3A%7B%22Latitude%22%3A-33.86%2C%22Longitude%22%3A151.2%7D%7D";
+    
+    private static int checksum;
+    
+    public static void main(String[] args) {
+        RestUrlBuilder urlBuilder = new RestUrlBuilder(urlBasePath);
+        urlBuilder.setDataModelLocation(dataModelLocation);
+        if (BuildLegacyUrl().equals(BuildUrl(urlBuilder)) == false) {
+            throw new IllegalStateException("The URLs built by the previous construction and RestUrlBuilder differ.");
+        }
+        
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        
+        // Previous construction
+        for (int i = 0; i < warmupIterations; i++) {
+            checksum += BuildLegacyUrl().length();
+        }
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < measuredIterations; i++) {
+            checksum += BuildLegacyUrl().length();
+        }
+        long legacyNanoseconds = System.nanoTime() - startTime;
+        long legacyBytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+        
+        // RestUrlBuilder
+        for (int i = 0; i < warmupIterations; i++) {
+            checksum += BuildUrl(urlBuilder).length();
+        }
+        startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        startTime = System.nanoTime();
+        for (int i = 0; i < measuredIterations; i++) {
+            checksum += BuildUrl(urlBuilder).length();
+        }
+        long builderNanoseconds = System.nanoTime() - startTime;
+        long builderBytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+        
+        System.out.println("URL: " + BuildUrl(urlBuilder));
+        System.out.println(String.format("Previous construction : %6d bytes/URL, %6d ns/URL", legacyBytes / measuredIterations, legacyNanoseconds / measuredIterations));
+        System.out.println(String.format("RestUrlBuilder        : %6d bytes/URL, %6d ns/URL", builderBytes / measuredIterations, builderNanoseconds / measuredIterations));
+        System.out.println("(checksum " + checksum + ")");
+    }
+    
+    /**
+     * Builds the URL used by RestRemoteDataModelProxy.getPermissions(String, String, ...) with class RestUrlBuilder.
+     */
+    private static String BuildUrl(RestUrlBuilder urlBuilder) {
+        return urlBuilder.Begin("Permissions")
+            .AppendEncodedPathSegment(objectName)
+            .AppendEncodedPathSegment(role)
+            .AppendQueryParameter("entity", "object,role")
+            .AppendPreEncodedQueryParameter("authenticationContext", encodedAuthenticationContext)
+            .AppendPreEncodedQueryParameter("trackingData", encodedTrackingData)
+            .toString();
+    }
+    
+    /**
+     * Builds the URL used by RestRemoteDataModelProxy.getPermissions(String, String, ...) as previously constructed.
+     */
+    private static String BuildLegacyUrl() {
+        StringBuilder urlPathSegment = new StringBuilder();
+        urlPathSegment.append("Permissions");
+        urlPathSegment.append('/');
+        urlPathSegment.append(EncodeUtf8Bytes(objectName));
+        urlPathSegment.append('/');
+        urlPathSegment.append(EncodeUtf8Bytes(role));
+        ArrayList<LegacyQueryParameter> queryParameters = new ArrayList<LegacyQueryParameter>();
+        queryParameters.add(new LegacyQueryParameter("entity", "object,role"));
+        
+        StringBuilder urlStringBuilder = new StringBuilder(512);
+        urlStringBuilder.append("http://");
+        urlStringBuilder.append(dataModelLocation);
+        urlStringBuilder.append('/');
+        urlStringBuilder.append(urlBasePath);
+        urlStringBuilder.append('/');
+        urlStringBuilder.append(urlPathSegment.toString());
+        urlStringBuilder.append('?');
+        for (int i = 0; i < queryParameters.size(); i++) {
+            urlStringBuilder.append(queryParameters.get(i).Name);
+            urlStringBuilder.append("=");
+            urlStringBuilder.append(EncodeUtf8Bytes(queryParameters.get(i).Value));
+            urlStringBuilder.append('&');
+        }
+        urlStringBuilder.append("authenticationContext=");
+        urlStringBuilder.append(encodedAuthenticationContext);
+        urlStringBuilder.append('&');
+        urlStringBuilder.append("trackingData=");
+        urlStringBuilder.append(encodedTrackingData);
+        return urlStringBuilder.toString();
+    }
+    
+    /**
+     * Percent encodes a string in the same way as android.net.Uri.encode(), which converts each run of characters requiring encoding to UTF-8 bytes.
+     */
+    private static String EncodeUtf8Bytes(String value) {
+        StringBuilder encodedValue = null;
+        int length = value.length();
+        int current = 0;
+        while (current < length) {
+            int nextToEncode = current;
+            while (nextToEncode < length && IsUnreserved(value.charAt(nextToEncode)) == true) {
+                nextToEncode++;
+            }
+            if (nextToEncode == length) {
+                if (current == 0) {
+                    return value;
+                }
+                encodedValue.append(value, current, length);
+                return encodedValue.toString();
+            }
+            if (encodedValue == null) {
+                encodedValue = new StringBuilder();
+            }
+            if (nextToEncode > current) {
+                encodedValue.append(value, current, nextToEncode);
+            }
+            current = nextToEncode;
+            int nextAllowed = current + 1;
+            while (nextAllowed < length && IsUnreserved(value.charAt(nextAllowed)) == false) {
+                nextAllowed++;
+            }
+            try {
+                byte[] bytes = value.substring(current, nextAllowed).getBytes("UTF-8");
+                for (byte currentByte : bytes) {
+                    encodedValue.append('%');
+                    encodedValue.append(Character.toUpperCase(Character.forDigit((currentByte & 0xF0) >> 4, 16)));
+                    encodedValue.append(Character.toUpperCase(Character.forDigit(currentByte & 0x0F, 16)));
+                }
+            }
+            catch (java.io.UnsupportedEncodingException e) {
+                throw new AssertionError(e);
+            }
+            current = nextAllowed;
+        }
+        return encodedValue == null ? value : encodedValue.toString();
+    }
+    
+    private static boolean IsUnreserved(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') || "_-!.~'()*".indexOf(character) >= 0;
+    }
+    
+    /**
+     * Query parameter container as previously used by RestRemoteDataModelProxy.
+     */
+    private static class LegacyQueryParameter {
+        
+        public String Name;
+        public String Value;
+        
+        public LegacyQueryParameter(String name, String value) {
+            Name = name;
+            Value = value;
+        }
+    }
+}
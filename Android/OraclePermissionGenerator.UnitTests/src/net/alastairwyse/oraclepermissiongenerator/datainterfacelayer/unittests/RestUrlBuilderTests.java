@@ -0,0 +1,290 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Random;
+
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Unit tests for classes oraclepermissiongenerator.datainterfacelayer.PercentEncoder and oraclepermissiongenerator.datainterfacelayer.RestUrlBuilder.
+ * @author Alastair Wyse
+ */
+public class RestUrlBuilderTests {
+
+    private final String dataModelLocation = "192.168.0.101:5000";
+    private final String urlBasePath = "OraclePermissionGeneratorWebServiceAPI/REST";
+    private final String encodedAuthenticationContext = "%7B%22UserIdentifier%22%3A%22user1%22%7D";
+    private final String encodedTrackingData = "%7B%22Location%22%3A%7B%22Latitude%22%3A-33.86%2C%22Longitude%22%3A151.2%7D%7D";
+
+    @Test
+    public void EncodeNullValue() {
+        assertNull(PercentEncoder.Encode(null));
+        StringBuilder output = new StringBuilder();
+        PercentEncoder.Encode(null, output);
+        assertEquals("null", output.toString());
+    }
+    
+    @Test
+    public void EncodeUnreservedCharactersReturnsSameInstance() {
+        String value = "SALES_READ_ROLE-1.0~!'()*";
+        
+        assertSame(value, PercentEncoder.Encode(value));
+    }
+    
+    @Test
+    public void EncodeReservedAndNonAsciiCharacters() {
+        assertEquals("a%20b%2Fc%3Fd%26e%3Df%25%2B%2C%3A", PercentEncoder.Encode("a b/c?d&e=f%+,:"));
+        assertEquals("%7B%22UserIdentifier%22%3A%22user1%22%7D", PercentEncoder.Encode("{\"UserIdentifier\":\"user1\"}"));
+        // 2, 3 and 4 byte UTF-8 sequences
+        assertEquals("caf%C3%A9", PercentEncoder.Encode("caf\u00E9"));
+        assertEquals("%E2%82%AC10", PercentEncoder.Encode("\u20AC10"));
+        assertEquals("%F0%9F%98%80", PercentEncoder.Encode("\uD83D\uDE00"));
+        // Unpaired surrogates
+        assertEquals("x%3Fy%3F", PercentEncoder.Encode("x\uD83Dy\uDE00"));
+    }
+    
+    @Test
+    public void EncodeMatchesUtf8ByteEncoding() throws Exception {
+        Random random = new Random(1234);
+        for (int i = 0; i < 1000; i++) {
+            StringBuilder value = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                // Bias towards ASCII, but include characters from the rest of the basic multilingual plane
+                if (random.nextInt(4) == 0) {
+                    char currentCharacter = (char)(128 + random.nextInt(0xD800 - 128));
+                    value.append(currentCharacter);
+                }
+                else {
+                    value.append((char)random.nextInt(128));
+                }
+            }
+            
+            assertEquals(EncodeUtf8Bytes(value.toString()), PercentEncoder.Encode(value.toString()));
+        }
+    }
+    
+    @Test
+    public void BuildUrl() {
+        RestUrlBuilder testRestUrlBuilder = new RestUrlBuilder("OraclePermissionGeneratorWebServiceAPI/REST");
+        testRestUrlBuilder.setDataModelLocation("192.168.0.1:5000");
+        
+        assertEquals("http://192.168.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/Objects", testRestUrlBuilder.Begin("Objects").toString());
+        
+        String url = testRestUrlBuilder.Begin("Permissions")
+            .AppendEncodedPathSegment("SALES ORDERS")
+            .AppendPathSegment("Roles")
+            .AppendQueryParameter("entity", "object,role")
+            .AppendPreEncodedQueryParameter("trackingData", "%7B%7D")
+            .toString();
+        
+        assertEquals("http://192.168.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/Permissions/SALES%20ORDERS/Roles?entity=object%2Crole&trackingData=%7B%7D", url);
+    }
+    
+    @Test
+    public void BuildUrlReusesBufferAndResetsQuery() {
+        RestUrlBuilder testRestUrlBuilder = new RestUrlBuilder("REST");
+        testRestUrlBuilder.setDataModelLocation("localhost");
+        
+        RestUrlBuilder.Url firstUrl = testRestUrlBuilder.Begin("Changes").AppendQueryParameter("modelVersion", "12");
+        assertEquals("http://localhost/REST/Changes?modelVersion=12", firstUrl.toString());
+        RestUrlBuilder.Url secondUrl = testRestUrlBuilder.Begin("Roles").AppendQueryParameter("entity", "role");
+        
+        assertSame(firstUrl, secondUrl);
+        assertEquals("http://localhost/REST/Roles?entity=role", secondUrl.toString());
+    }
+    
+    @Test
+    public void SetDataModelLocationChangesBaseUrl() {
+        RestUrlBuilder testRestUrlBuilder = new RestUrlBuilder("REST");
+        testRestUrlBuilder.setDataModelLocation("10.0.0.1:80");
+        assertEquals("http://10.0.0.1:80/REST/Roles", testRestUrlBuilder.Begin("Roles").toString());
+        
+        testRestUrlBuilder.setDataModelLocation("10.0.0.2:8080");
+        
+        assertEquals("http://10.0.0.2:8080/REST/Roles", testRestUrlBuilder.Begin("Roles").toString());
+    }
+    
+    @Test
+    public void BuildUrlOnSeparateThreads() throws Exception {
+        final RestUrlBuilder testRestUrlBuilder = new RestUrlBuilder("REST");
+        testRestUrlBuilder.setDataModelLocation("localhost");
+        final RestUrlBuilder.Url[] otherThreadUrl = new RestUrlBuilder.Url[1];
+        
+        RestUrlBuilder.Url url = testRestUrlBuilder.Begin("Objects");
+        Thread otherThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                otherThreadUrl[0] = testRestUrlBuilder.Begin("Roles");
+            }
+        });
+        otherThread.start();
+        otherThread.join();
+        
+        assertNotSame(url, otherThreadUrl[0]);
+        assertEquals("http://localhost/REST/Objects", url.toString());
+        assertEquals("http://localhost/REST/Roles", otherThreadUrl[0].toString());
+    }
+    
+    @Test
+    public void BuildUrlMatchesPreviousConstruction() {
+        // Allocation per URL compared to the previous construction is measured by RestUrlBuilderBenchmark
+        RestUrlBuilder testRestUrlBuilder = new RestUrlBuilder(urlBasePath);
+        testRestUrlBuilder.setDataModelLocation(dataModelLocation);
+        
+        assertEquals(BuildPreviousPermissionsUrl(), BuildPermissionsUrl(testRestUrlBuilder));
+        // Building a second URL with the same builder should give the same result
+        assertEquals(BuildPreviousPermissionsUrl(), BuildPermissionsUrl(testRestUrlBuilder));
+    }
+    
+    @Test
+    public void InvalidUrlBasePathArgument() {
+        try {
+            new RestUrlBuilder(null);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'urlBasePath' cannot be null."));
+        }
+    }
+    
+    /**
+     * Percent encodes a string by converting it to UTF-8 bytes (as performed by android.net.Uri.encode()).
+     * @param   value  The string to encode.
+     * @return         The encoded string.
+     */
+    private String EncodeUtf8Bytes(String value) throws Exception {
+        StringBuilder encodedValue = new StringBuilder();
+        for (byte currentByte : value.getBytes("UTF-8")) {
+            char currentCharacter = (char)(currentByte & 0xFF);
+            if ((currentCharacter >= 'a' && currentCharacter <= 'z') || (currentCharacter >= 'A' && currentCharacter <= 'Z') || (currentCharacter >= '0' && currentCharacter <= '9') || "_-!.~'()*".indexOf(currentCharacter) >= 0) {
+                encodedValue.append(currentCharacter);
+            }
+            else {
+                encodedValue.append(String.format("%%%02X", (int)currentCharacter));
+            }
+        }
+        return encodedValue.toString();
+    }
+    
+    /**
+     * Builds the URL used by RestRemoteDataModelProxy.getPermissions() with class RestUrlBuilder.
+     * @param   urlBuilder  The RestUrlBuilder to build the URL with.
+     * @return              The URL.
+     */
+    private String BuildPermissionsUrl(RestUrlBuilder urlBuilder) {
+        return urlBuilder.Begin("Permissions")
+            .AppendEncodedPathSegment("SALES_ORDER_SUMMARY")
+            .AppendEncodedPathSegment("SALES READ ROLE")
+            .AppendQueryParameter("entity", "object,role")
+            .AppendPreEncodedQueryParameter("authenticationContext", encodedAuthenticationContext)
+            .AppendPreEncodedQueryParameter("trackingData", encodedTrackingData)
+            .toString();
+    }
+    
+    /**
+     * Builds the URL used by RestRemoteDataModelProxy.getPermissions() as constructed before class RestUrlBuilder was introduced.
+     * @return  The URL.
+     */
+    private String BuildPreviousPermissionsUrl() {
+        StringBuilder urlPathSegment = new StringBuilder();
+        urlPathSegment.append("Permissions");
+        urlPathSegment.append('/');
+        urlPathSegment.append(EncodeUtf8Runs("SALES_ORDER_SUMMARY"));
+        urlPathSegment.append('/');
+        urlPathSegment.append(EncodeUtf8Runs("SALES READ ROLE"));
+        ArrayList<String[]> queryParameters = new ArrayList<String[]>();
+        queryParameters.add(new String[] { "entity", "object,role" });
+        
+        StringBuilder urlStringBuilder = new StringBuilder(512);
+        urlStringBuilder.append("http://");
+        urlStringBuilder.append(dataModelLocation);
+        urlStringBuilder.append('/');
+        urlStringBuilder.append(urlBasePath);
+        urlStringBuilder.append('/');
+        urlStringBuilder.append(urlPathSegment.toString());
+        urlStringBuilder.append('?');
+        for (int i = 0; i < queryParameters.size(); i++) {
+            urlStringBuilder.append(queryParameters.get(i)[0]);
+            urlStringBuilder.append("=");
+            urlStringBuilder.append(EncodeUtf8Runs(queryParameters.get(i)[1]));
+            urlStringBuilder.append('&');
+        }
+        urlStringBuilder.append("authenticationContext=");
+        urlStringBuilder.append(encodedAuthenticationContext);
+        urlStringBuilder.append('&');
+        urlStringBuilder.append("trackingData=");
+        urlStringBuilder.append(encodedTrackingData);
+        return urlStringBuilder.toString();
+    }
+    
+    /**
+     * Percent encodes a string in the same way as android.net.Uri.encode(), which returns the string unchanged if no characters require encoding, and otherwise converts each run of characters requiring encoding to UTF-8 bytes.
+     * @param   value  The string to encode.
+     * @return         The encoded string.
+     */
+    private String EncodeUtf8Runs(String value) {
+        StringBuilder encodedValue = null;
+        int length = value.length();
+        int current = 0;
+        while (current < length) {
+            int nextToEncode = current;
+            while (nextToEncode < length && IsUnreserved(value.charAt(nextToEncode)) == true) {
+                nextToEncode++;
+            }
+            if (nextToEncode == length) {
+                if (current == 0) {
+                    return value;
+                }
+                encodedValue.append(value, current, length);
+                return encodedValue.toString();
+            }
+            if (encodedValue == null) {
+                encodedValue = new StringBuilder();
+            }
+            encodedValue.append(value, current, nextToEncode);
+            current = nextToEncode;
+            int nextAllowed = current + 1;
+            while (nextAllowed < length && IsUnreserved(value.charAt(nextAllowed)) == false) {
+                nextAllowed++;
+            }
+            byte[] bytes = value.substring(current, nextAllowed).getBytes(Charset.forName("UTF-8"));
+            for (byte currentByte : bytes) {
+                encodedValue.append('%');
+                encodedValue.append(Character.toUpperCase(Character.forDigit((currentByte & 0xF0) >> 4, 16)));
+                encodedValue.append(Character.toUpperCase(Character.forDigit(currentByte & 0x0F, 16)));
+            }
+            current = nextAllowed;
+        }
+        return encodedValue == null ? value : encodedValue.toString();
+    }
+    
+    /**
+     * Determines whether a character is left unencoded by android.net.Uri.encode().
+     * @param   character  The character.
+     * @return             True if the character is unreserved.
+     */
+    private boolean IsUnreserved(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') || "_-!.~'()*".indexOf(character) >= 0;
+    }
+}
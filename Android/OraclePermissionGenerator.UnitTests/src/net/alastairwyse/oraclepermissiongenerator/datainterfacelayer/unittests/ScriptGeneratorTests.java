@@ -0,0 +1,341 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.*;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.ScriptGenerator.
+ * <p>The scripts generated for the 'Tutorial 2' sample model are compared against the scripts in the C# Resources/Scripts folder, which contain the output of the remote data model's PermissionScriptGenerator class for the same model.  The C# PermissionScriptFixtureTests class verifies those scripts against the remote data model.  Paths are relative to the root of this project.</p>
+ * @author Alastair Wyse
+ */
+public class ScriptGeneratorTests {
+
+    private static final String tutorialModelPath = "../../C#/Resources/Tutorial 2.xml";
+    private static final String scriptFixturePath = "../../C#/Resources/Scripts/";
+
+    private ScriptGenerator testScriptGenerator;
+    private StringWriter testWriter;
+    private ArrayList<OracleObjectPermissionSet> tutorialObjects;
+    private ArrayList<RoleToUserMap> tutorialRoleToUserMaps;
+
+    @Before
+    public void setUp() throws Exception {
+        testScriptGenerator = new ScriptGenerator();
+        testWriter = new StringWriter();
+        tutorialObjects = new ArrayList<OracleObjectPermissionSet>();
+        tutorialRoleToUserMaps = new ArrayList<RoleToUserMap>();
+        LoadTutorialModel(tutorialObjects, tutorialRoleToUserMaps);
+    }
+
+    @Test
+    public void ConstructorLineSeparatorNull() {
+        try {
+            new ScriptGenerator(null);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'lineSeparator' cannot be null."));
+        }
+    }
+
+    @Test
+    public void CreatePrivilegeScriptObjectsNull() throws Exception {
+        try {
+            testScriptGenerator.CreatePrivilegeScript(null, tutorialRoleToUserMaps, ScriptType.Rollout, false, testWriter);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'objects' cannot be null."));
+        }
+    }
+
+    @Test
+    public void CreatePrivilegeScriptRoleToUserMapsNull() throws Exception {
+        try {
+            testScriptGenerator.CreatePrivilegeScript(tutorialObjects, null, ScriptType.Rollout, false, testWriter);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'roleToUserMaps' cannot be null."));
+        }
+    }
+
+    @Test
+    public void CreateSynonymScriptRoleToUserMapsNull() throws Exception {
+        try {
+            testScriptGenerator.CreateSynonymScript(tutorialObjects, null, ScriptType.Rollout, testWriter);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'roleToUserMaps' cannot be null."));
+        }
+    }
+
+    @Test
+    public void CreatePrivilegeScriptRollout() throws Exception {
+        testScriptGenerator.CreatePrivilegeScript(tutorialObjects, tutorialRoleToUserMaps, ScriptType.Rollout, false, testWriter);
+
+        assertEquals(ReadScriptFixture("Tutorial 2 Privilege Rollout.sql"), testWriter.toString());
+    }
+
+    @Test
+    public void CreatePrivilegeScriptRolloutWithRevokeStatements() throws Exception {
+        testScriptGenerator.CreatePrivilegeScript(tutorialObjects, tutorialRoleToUserMaps, ScriptType.Rollout, true, testWriter);
+
+        assertEquals(ReadScriptFixture("Tutorial 2 Privilege Rollout Revoke.sql"), testWriter.toString());
+    }
+
+    @Test
+    public void CreatePrivilegeScriptRollback() throws Exception {
+        testScriptGenerator.CreatePrivilegeScript(tutorialObjects, tutorialRoleToUserMaps, ScriptType.Rollback, false, testWriter);
+
+        assertEquals(ReadScriptFixture("Tutorial 2 Privilege Rollback.sql"), testWriter.toString());
+    }
+
+    @Test
+    public void CreatePrivilegeScriptRollbackWithRevokeStatements() throws Exception {
+        testScriptGenerator.CreatePrivilegeScript(tutorialObjects, tutorialRoleToUserMaps, ScriptType.Rollback, true, testWriter);
+
+        assertEquals(ReadScriptFixture("Tutorial 2 Privilege Rollback Revoke.sql"), testWriter.toString());
+    }
+
+    @Test
+    public void CreateSynonymScriptRollout() throws Exception {
+        testScriptGenerator.CreateSynonymScript(tutorialObjects, tutorialRoleToUserMaps, ScriptType.Rollout, testWriter);
+
+        assertEquals(ReadScriptFixture("Tutorial 2 Synonym Rollout.sql"), testWriter.toString());
+    }
+
+    @Test
+    public void CreateSynonymScriptRollback() throws Exception {
+        testScriptGenerator.CreateSynonymScript(tutorialObjects, tutorialRoleToUserMaps, ScriptType.Rollback, testWriter);
+
+        assertEquals(ReadScriptFixture("Tutorial 2 Synonym Rollback.sql"), testWriter.toString());
+    }
+
+    @Test
+    public void CreatePrivilegeScriptRoleNotMappedToUser() throws Exception {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("VW_ORDER_STATUSES", "View", true, false, "XYZON_AUDIT_ROLE", "SELECT", "XYZON_APP_ROLE", "SELECT"));
+
+        testScriptGenerator.CreatePrivilegeScript(objects, tutorialRoleToUserMaps, ScriptType.Rollout, false, testWriter);
+
+        assertEquals("GRANT SELECT ON VW_ORDER_STATUSES TO XYZON_APP_ROLE;\r\n", testWriter.toString());
+    }
+
+    @Test
+    public void CreatePrivilegeScriptRoleNameOrder() throws Exception {
+        ArrayList<RoleToUserMap> roleToUserMaps = new ArrayList<RoleToUserMap>();
+        roleToUserMaps.add(new RoleToUserMap("XYZON_APPROLE", "XYZON_APP_USER"));
+        roleToUserMaps.add(new RoleToUserMap("XYZON_APP_ROLE", "XYZON_APP_USER"));
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("VW_ORDER_STATUSES", "View", true, false, "XYZON_APPROLE", "SELECT", "XYZON_APP_ROLE", "SELECT"));
+
+        testScriptGenerator.CreatePrivilegeScript(objects, roleToUserMaps, ScriptType.Rollout, false, testWriter);
+
+        // Roles are ordered using a culture sensitive comparison as they are by the remote data model, so '_' sorts before letters (an ordinal comparison sorts it after upper case letters)
+        assertEquals("GRANT SELECT ON VW_ORDER_STATUSES TO XYZON_APP_ROLE;\r\nGRANT SELECT ON VW_ORDER_STATUSES TO XYZON_APPROLE;\r\n", testWriter.toString());
+    }
+
+    @Test
+    public void CreateSynonymScriptUserMappedToMultipleRoles() throws Exception {
+        tutorialRoleToUserMaps.add(new RoleToUserMap("XYZON_POWER_ROLE", "XYZON_APP_USER"));
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("VW_ORDER_STATUSES", "View", true, false, "XYZON_POWER_ROLE", "SELECT", "XYZON_APP_ROLE", "SELECT"));
+        // The remote data model writes a statement for each role the user is mapped to
+        String expectedScript = 
+            "CREATE SYNONYM XYZON_APP_USER.VW_ORDER_STATUSES FOR XYZON.VW_ORDER_STATUSES;\r\n" + 
+            "CREATE SYNONYM XYZON_POWER_USER.VW_ORDER_STATUSES FOR XYZON.VW_ORDER_STATUSES;\r\n" + 
+            "CREATE SYNONYM XYZON_APP_USER.VW_ORDER_STATUSES FOR XYZON.VW_ORDER_STATUSES;\r\n";
+
+        testScriptGenerator.CreateSynonymScript(objects, tutorialRoleToUserMaps, ScriptType.Rollout, testWriter);
+
+        assertEquals(expectedScript, testWriter.toString());
+    }
+
+    @Test
+    public void CreatePrivilegeScriptLineSeparator() throws Exception {
+        ArrayList<OracleObjectPermissionSet> objects = new ArrayList<OracleObjectPermissionSet>();
+        objects.add(CreateObject("SP_CUSTOMERS_INS", "Stored Procedure", true, false, "XYZON_APP_ROLE", "EXECUTE", "XYZON_POWER_ROLE", "EXECUTE"));
+        objects.add(CreateObject("SP_CUSTOMERS_UPD", "Stored Procedure", true, false, "XYZON_APP_ROLE", "EXECUTE", "XYZON_POWER_ROLE", "EXECUTE"));
+        String expectedScript = "GRANT EXECUTE ON SP_CUSTOMERS_INS TO XYZON_APP_ROLE;\nGRANT EXECUTE ON SP_CUSTOMERS_UPD TO XYZON_APP_ROLE;\nGRANT EXECUTE ON SP_CUSTOMERS_INS TO XYZON_POWER_ROLE;\nGRANT EXECUTE ON SP_CUSTOMERS_UPD TO XYZON_POWER_ROLE;\n";
+
+        new ScriptGenerator("\n").CreatePrivilegeScript(objects, tutorialRoleToUserMaps, ScriptType.Rollout, false, testWriter);
+
+        assertEquals(expectedScript, testWriter.toString());
+    }
+
+    @Test
+    public void CreatePrivilegeScriptWritesIncrementally() throws Exception {
+        RecordingWriter recordingWriter = new RecordingWriter();
+
+        testScriptGenerator.CreatePrivilegeScript(tutorialObjects, tutorialRoleToUserMaps, ScriptType.Rollout, false, recordingWriter);
+
+        // Each statement is written as it is generated, and the writer is flushed once the script is complete
+        assertEquals("GRANT ", recordingWriter.Writes.get(0));
+        assertEquals("VW_ORDER_STATUSES", recordingWriter.Writes.get(3));
+        assertEquals(9 * 8, recordingWriter.Writes.size());
+        assertEquals(1, recordingWriter.FlushCount);
+        assertEquals(false, recordingWriter.Closed);
+    }
+
+    @Test
+    public void CreateScriptsEmptyModel() throws Exception {
+        testScriptGenerator.CreatePrivilegeScript(new ArrayList<OracleObjectPermissionSet>(), tutorialRoleToUserMaps, ScriptType.Rollback, true, testWriter);
+        testScriptGenerator.CreateSynonymScript(new ArrayList<OracleObjectPermissionSet>(), tutorialRoleToUserMaps, ScriptType.Rollout, testWriter);
+
+        assertEquals("", testWriter.toString());
+    }
+
+    /**
+     * Reads the objects and role to user mappings in the 'Tutorial 2' sample model, in the order they appear in the model file.
+     * @param  objects         The list to add the objects to.
+     * @param  roleToUserMaps  The list to add the role to user mappings to.
+     */
+    private void LoadTutorialModel(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps) throws Exception {
+        Document model = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new File(tutorialModelPath));
+        
+        NodeList mappings = ((Element)model.getElementsByTagName("ROLE_TO_USER_MAP").item(0)).getElementsByTagName("MAPPING");
+        for (int i = 0; i < mappings.getLength(); i++) {
+            Element currentMapping = (Element)mappings.item(i);
+            roleToUserMaps.add(new RoleToUserMap(GetChildText(currentMapping, "ROLE"), GetChildText(currentMapping, "USER")));
+        }
+        
+        NodeList permissionSets = model.getElementsByTagName("ORACLE_OBJECT_PERMISSION_SET");
+        for (int i = 0; i < permissionSets.getLength(); i++) {
+            Element currentPermissionSet = (Element)permissionSets.item(i);
+            OracleObjectPermissionSet object = new OracleObjectPermissionSet(GetChildText(currentPermissionSet, "OBJECT_NAME"));
+            object.setObjectType(GetChildText(currentPermissionSet, "OBJECT_TYPE"));
+            object.setObjectOwner(GetChildText(currentPermissionSet, "OBJECT_OWNER"));
+            object.setAddFlag(Boolean.parseBoolean(GetChildText(currentPermissionSet, "ADD_FLAG")));
+            object.setRemoveFlag(Boolean.parseBoolean(GetChildText(currentPermissionSet, "REMOVE_FLAG")));
+            NodeList permissions = currentPermissionSet.getElementsByTagName("OBJECT_PERMISSION");
+            for (int j = 0; j < permissions.getLength(); j++) {
+                Element currentPermission = (Element)permissions.item(j);
+                object.getObjectPermissions().add(new RoleToPermissionMap(GetChildText(currentPermission, "ROLE"), GetChildText(currentPermission, "PERMISSION")));
+            }
+            objects.add(object);
+        }
+    }
+
+    /**
+     * @param   parent   The parent element.
+     * @param   tagName  The tag name of the child element.
+     * @return           The text of the first descendant element of the parent with the specified tag name.
+     */
+    private String GetChildText(Element parent, String tagName) {
+        return parent.getElementsByTagName(tagName).item(0).getTextContent();
+    }
+
+    /**
+     * Reads a script generated by the remote data model for the 'Tutorial 2' sample model.
+     * @param   fileName  The name of the script file.
+     * @return            The contents of the script file, including line separators.
+     */
+    private String ReadScriptFixture(String fileName) throws Exception {
+        FileInputStream inputStream = new FileInputStream(scriptFixturePath + fileName);
+        try {
+            ByteArrayOutputStream contents = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                contents.write(buffer, 0, bytesRead);
+            }
+            return contents.toString("UTF-8");
+        }
+        finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Creates an OracleObjectPermissionSet owned by 'XYZON'.
+     * @param   objectName           The name of the object.
+     * @param   objectType           The type of the object.
+     * @param   addFlag              The value of the 'add' flag.
+     * @param   removeFlag           The value of the 'remove' flag.
+     * @param   rolesAndPermissions  Pairs of roles and permissions to assign to the object.
+     * @return                       The OracleObjectPermissionSet.
+     */
+    private OracleObjectPermissionSet CreateObject(String objectName, String objectType, boolean addFlag, boolean removeFlag, String... rolesAndPermissions) {
+        OracleObjectPermissionSet object = new OracleObjectPermissionSet(objectName);
+        object.setObjectType(objectType);
+        object.setObjectOwner("XYZON");
+        object.setAddFlag(addFlag);
+        object.setRemoveFlag(removeFlag);
+        for (int i = 0; i < rolesAndPermissions.length; i += 2) {
+            object.getObjectPermissions().add(new RoleToPermissionMap(rolesAndPermissions[i], rolesAndPermissions[i + 1]));
+        }
+        return object;
+    }
+
+    /**
+     * Writer which records the calls made to it.
+     * @author Alastair Wyse
+     */
+    private class RecordingWriter extends Writer {
+
+        /** The strings and characters written, one per call. */
+        public final ArrayList<String> Writes = new ArrayList<String>();
+        public int FlushCount = 0;
+        public boolean Closed = false;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            Writes.add(new String(cbuf, off, len));
+        }
+
+        @Override
+        public void write(String str) {
+            Writes.add(str);
+        }
+
+        @Override
+        public void write(int c) {
+            Writes.add(String.valueOf((char)c));
+        }
+
+        @Override
+        public void flush() {
+            FlushCount++;
+        }
+
+        @Override
+        public void close() {
+            Closed = true;
+        }
+    }
+}
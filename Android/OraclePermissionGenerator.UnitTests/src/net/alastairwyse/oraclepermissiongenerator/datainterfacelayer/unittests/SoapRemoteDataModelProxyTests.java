@@ -16,6 +16,7 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
 
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -314,6 +315,68 @@ public class SoapRemoteDataModelProxyTests {
         verify(mockHttpTransportSE).call(expectedSoapAction, mockSoapSerializationEnvelope);
     }
     
+    @Test
+    public void ExecuteBatchSuccessTest() throws Exception {
+        ArrayList<ModelOperation> testOperations = new ArrayList<ModelOperation>();
+        testOperations.add(new ModelOperation(ModelOperationType.AddPermission, "SP_CUSTOMERS_INS", "XYZON_APP_ROLE", "EXECUTE"));
+        testOperations.add(new ModelOperation(ModelOperationType.SetRemoveFlag, "SP_CUSTOMERS_INS", true));
+        final String expectedSerializedOperations = "[{\"OperationType\":\"AddPermission\",\"ObjectName\":\"SP_CUSTOMERS_INS\",\"Role\":\"XYZON_APP_ROLE\",\"Permission\":\"EXECUTE\",\"FlagValue\":false},{\"OperationType\":\"SetRemoveFlag\",\"ObjectName\":\"SP_CUSTOMERS_INS\",\"FlagValue\":true}]";
+        final String expectedSoapAction = "http://tempuri.org/ISoapWebServiceApi/ExecuteBatch";
+        final String testSoapResponse = "[{\"ErrorMessage\":null,\"Success\":true},{\"ErrorMessage\":\"Object 'SP_CUSTOMERS_INS' does not exist.\",\"Success\":false}]";
+        ArrayList<ModelOperationResult> testResults = new ArrayList<ModelOperationResult>();
+        testResults.add(new ModelOperationResult(true, null));
+        testResults.add(new ModelOperationResult(false, "Object 'SP_CUSTOMERS_INS' does not exist."));
+        
+        when(mockJsonSerializer.SerializeModelOperationList(testOperations)).thenReturn(expectedSerializedOperations);
+        when(mockSoapSerializationEnvelope.getResponse()).thenReturn(testSoapResponse);
+        when(mockJsonSerializer.DeserializeModelOperationResultArrayList(testSoapResponse)).thenReturn(testResults);
+        
+        ArrayList<ModelOperationResult> returnedResults = testSoapRemoteDataModelProxy.ExecuteBatch(testOperations, testAuthenticationContext, testTrackingData);
+        
+        verify(mockJsonSerializer).SerializeModelOperationList(testOperations);
+        verify(mockSoapObject).addProperty("operations", expectedSerializedOperations);
+        verify(mockHttpTransportSE).call(expectedSoapAction, mockSoapSerializationEnvelope);
+        verify(mockSoapSerializationEnvelope).getResponse();
+        verify(mockJsonSerializer).DeserializeModelOperationResultArrayList(testSoapResponse);
+        assertEquals(testResults, returnedResults);
+    }
+    
+    @Test
+    public void ValidateEntitiesSuccessTest() throws Exception {
+        OracleObjectPermissionSet testObject = new OracleObjectPermissionSet("SP_CUSTOMERS_INS");
+        testObject.setObjectType("Stored Procedure");
+        testObject.setObjectOwner("XYZON");
+        ArrayList<OracleObjectPermissionSet> testObjects = new ArrayList<OracleObjectPermissionSet>();
+        testObjects.add(testObject);
+        ArrayList<RoleToUserMap> testRoleToUserMaps = new ArrayList<RoleToUserMap>();
+        testRoleToUserMaps.add(new RoleToUserMap("XYZON_READ_ROLE", "JONES_SAM"));
+        final String expectedSerializedObjects = "[{\"ObjectName\":\"SP_CUSTOMERS_INS\",\"ObjectType\":\"Stored Procedure\",\"ObjectOwner\":\"XYZON\"}]";
+        final String expectedSerializedRoleToUserMaps = "[{\"Role\":\"XYZON_READ_ROLE\",\"User\":\"JONES_SAM\"}]";
+        final String expectedSoapAction = "http://tempuri.org/ISoapWebServiceApi/ValidateEntities";
+        final String testSoapResponse = "{\"ObjectResults\":[{\"ObjectNameResult\":{\"IsValid\":true,\"ValidationError\":\"\"},\"ObjectOwnerResult\":{\"IsValid\":true,\"ValidationError\":\"\"},\"ObjectTypeResult\":{\"IsValid\":true,\"ValidationError\":\"\"}}],\"RoleToUserMapResults\":[{\"IsValid\":true,\"ValidationError\":\"\"}]}";
+        ArrayList<ObjectValidationResult> testObjectResults = new ArrayList<ObjectValidationResult>();
+        testObjectResults.add(new ObjectValidationResult(new ValidationResult(true, ""), new ValidationResult(true, ""), new ValidationResult(true, "")));
+        ArrayList<ValidationResult> testRoleToUserMapResults = new ArrayList<ValidationResult>();
+        testRoleToUserMapResults.add(new ValidationResult(true, ""));
+        EntityValidationResults testResults = new EntityValidationResults(testObjectResults, testRoleToUserMapResults);
+        
+        when(mockJsonSerializer.SerializeOracleObjectPermissionSetList(testObjects)).thenReturn(expectedSerializedObjects);
+        when(mockJsonSerializer.SerializeRoleToUserMapList(testRoleToUserMaps)).thenReturn(expectedSerializedRoleToUserMaps);
+        when(mockSoapSerializationEnvelope.getResponse()).thenReturn(testSoapResponse);
+        when(mockJsonSerializer.DeserializeEntityValidationResults(testSoapResponse)).thenReturn(testResults);
+        
+        EntityValidationResults returnedResults = testSoapRemoteDataModelProxy.ValidateEntities(testObjects, testRoleToUserMaps, testAuthenticationContext, testTrackingData);
+        
+        verify(mockJsonSerializer).SerializeOracleObjectPermissionSetList(testObjects);
+        verify(mockJsonSerializer).SerializeRoleToUserMapList(testRoleToUserMaps);
+        verify(mockSoapObject).addProperty("objects", expectedSerializedObjects);
+        verify(mockSoapObject).addProperty("roleToUserMaps", expectedSerializedRoleToUserMaps);
+        verify(mockHttpTransportSE).call(expectedSoapAction, mockSoapSerializationEnvelope);
+        verify(mockSoapSerializationEnvelope).getResponse();
+        verify(mockJsonSerializer).DeserializeEntityValidationResults(testSoapResponse);
+        assertEquals(testResults, returnedResults);
+    }
+    
     @Test
     public void getRolesSuccessTest() throws Exception {
         final String expectedSoapAction = "http://tempuri.org/ISoapWebServiceApi/GetRoles";
@@ -388,6 +451,23 @@ public class SoapRemoteDataModelProxyTests {
         assertEquals(testRoleToUserMapList, returnedRoleToUserMapList);
     }
     
+    @Test
+    public void getChangesSinceSuccessTest() throws Exception {
+        final String expectedSoapAction = "http://tempuri.org/ISoapWebServiceApi/GetChangesSince";
+        final String testSoapResponse = "{\"AddedObjects\":[],\"AddedRoleToUserMaps\":[],\"ModelVersion\":635812345678901234,\"ModifiedObjects\":[],\"RemovedObjectNames\":[],\"RemovedRoleToUserMaps\":[],\"SnapshotRequired\":true}";
+        ModelChangeSet testModelChangeSet = new ModelChangeSet(635812345678901234L, true, new ArrayList<OracleObjectPermissionSet>(), new ArrayList<OracleObjectPermissionSet>(), new ArrayList<String>(), new ArrayList<RoleToUserMap>(), new ArrayList<RoleToUserMap>());
+        
+        when(mockSoapSerializationEnvelope.getResponse()).thenReturn(testSoapResponse);
+        when(mockJsonSerializer.DeserializeModelChangeSet(any(Reader.class))).thenReturn(testModelChangeSet);
+        
+        ModelChangeSet returnedModelChangeSet = testSoapRemoteDataModelProxy.getChangesSince(0, testAuthenticationContext, testTrackingData);
+        
+        verify(mockHttpTransportSE).call(expectedSoapAction, mockSoapSerializationEnvelope);
+        verify(mockSoapSerializationEnvelope).getResponse();
+        verify(mockJsonSerializer).DeserializeModelChangeSet(any(Reader.class));
+        assertEquals(testModelChangeSet, returnedModelChangeSet);
+    }
+    
     @Test
     public void RoleGetReferencingObjectsSuccessTest() throws Exception {
         final String expectedSoapAction = "http://tempuri.org/ISoapWebServiceApi/RoleGetReferencingObjects";
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.unittests;
+
+import java.util.*;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.datainterfacelayer.WriteCoalescingQueue.
+ * @author Alastair Wyse
+ */
+public class WriteCoalescingQueueTests {
+
+    private WriteCoalescingQueue testWriteCoalescingQueue;
+
+    @Before
+    public void setUp() {
+        testWriteCoalescingQueue = new WriteCoalescingQueue(500);
+    }
+
+    @Test
+    public void InvalidCoalescingWindowArgument() {
+        try {
+            testWriteCoalescingQueue = new WriteCoalescingQueue(-1);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'coalescingWindow' must be greater than or equal to 0."));
+        }
+
+        try {
+            testWriteCoalescingQueue.setCoalescingWindow(-1);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'coalescingWindow' must be greater than or equal to 0."));
+        }
+    }
+
+    @Test
+    public void EnqueueDrainPreservesOrder() {
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.AddPermission, "SALES", "SALES_READ_ROLE", "SELECT"));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.SetAddFlag, "SALES", true));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.RemovePermission, "SALES", "SALES_WRITE_ROLE", "DELETE"));
+
+        assertEquals(3, testWriteCoalescingQueue.getPendingCount());
+        List<ModelOperation> drainedOperations = testWriteCoalescingQueue.Drain();
+
+        assertEquals(3, drainedOperations.size());
+        assertEquals(ModelOperationType.AddPermission, drainedOperations.get(0).getOperationType());
+        assertEquals("SALES_READ_ROLE", drainedOperations.get(0).getRole());
+        assertEquals(ModelOperationType.SetAddFlag, drainedOperations.get(1).getOperationType());
+        assertEquals(ModelOperationType.RemovePermission, drainedOperations.get(2).getOperationType());
+        assertEquals("DELETE", drainedOperations.get(2).getPermission());
+        assertEquals(0, testWriteCoalescingQueue.getPendingCount());
+        assertEquals(0, testWriteCoalescingQueue.Drain().size());
+    }
+
+    @Test
+    public void EnqueueOpposingPermissionOperationsCancelled() {
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.AddPermission, "SALES", "SALES_READ_ROLE", "SELECT"));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.AddPermission, "SALES", "SALES_READ_ROLE", "UPDATE"));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.RemovePermission, "SALES", "SALES_READ_ROLE", "SELECT"));
+
+        List<ModelOperation> drainedOperations = testWriteCoalescingQueue.Drain();
+
+        assertEquals(1, drainedOperations.size());
+        assertEquals("UPDATE", drainedOperations.get(0).getPermission());
+        assertEquals(3, testWriteCoalescingQueue.getQueuedOperationCount());
+        assertEquals(2, testWriteCoalescingQueue.getCancelledOperationCount());
+    }
+
+    @Test
+    public void EnqueueOpposingFlagOperationsCancelled() {
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.SetAddFlag, "SALES", true));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.SetRemoveFlag, "SALES", true));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.SetAddFlag, "SALES", false));
+
+        List<ModelOperation> drainedOperations = testWriteCoalescingQueue.Drain();
+
+        // The add and remove flags are separate items, so only the add flag operations cancel out
+        assertEquals(1, drainedOperations.size());
+        assertEquals(ModelOperationType.SetRemoveFlag, drainedOperations.get(0).getOperationType());
+        assertEquals(true, drainedOperations.get(0).getFlagValue());
+        assertEquals(2, testWriteCoalescingQueue.getCancelledOperationCount());
+    }
+
+    @Test
+    public void EnqueueDuplicateOperationsIgnored() {
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.RemovePermission, "SALES", "SALES_READ_ROLE", "SELECT"));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.RemovePermission, "SALES", "SALES_READ_ROLE", "SELECT"));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.SetAddFlag, "SALES", false));
+        testWriteCoalescingQueue.Enqueue(new ModelOperation(ModelOperationType.SetAddFlag, "SALES", false));
+
+        List<ModelOperation> drainedOperations = testWriteCoalescingQueue.Drain();
+
+        assertEquals(2, drainedOperations.size());
+        assertEquals(ModelOperationType.RemovePermission, drainedOperations.get(0).getOperationType());
+        assertEquals(ModelOperationType.SetAddFlag, drainedOperations.get(1).getOperationType());
+        assertEquals(4, testWriteCoalescingQueue.getQueuedOperationCount());
+        assertEquals(2, testWriteCoalescingQueue.getCancelledOperationCount());
+    }
+}
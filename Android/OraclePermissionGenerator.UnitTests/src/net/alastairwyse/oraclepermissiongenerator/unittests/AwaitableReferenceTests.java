@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.unittests;
+
+import java.util.concurrent.*;
+
+import net.alastairwyse.oraclepermissiongenerator.AwaitableReference;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.AwaitableReference.
+ * @author Alastair Wyse
+ */
+public class AwaitableReferenceTests {
+
+    private AwaitableReference<String> testAwaitableReference;
+
+    @Before
+    public void setUp() {
+        testAwaitableReference = new AwaitableReference<String>();
+    }
+
+    @Test
+    public void AwaitTimeoutLessThanZero() throws Exception {
+        try {
+            testAwaitableReference.Await(-1);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'timeout' must be greater than or equal to 0."));
+        }
+    }
+
+    @Test
+    public void AwaitValueAlreadySet() throws Exception {
+        testAwaitableReference.set("AddObjectView");
+
+        assertEquals("AddObjectView", testAwaitableReference.Await(0));
+    }
+
+    @Test
+    public void AwaitValueSetOnAnotherThread() throws Exception {
+        Thread setterThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                }
+                catch (InterruptedException e) {
+                }
+                testAwaitableReference.set("AddObjectView");
+            }
+        });
+        setterThread.start();
+
+        assertEquals("AddObjectView", testAwaitableReference.Await(10000));
+        setterThread.join();
+    }
+
+    @Test
+    public void AwaitTimesOut() throws Exception {
+        try {
+            testAwaitableReference.Await(50);
+            fail("Exception was not thrown.");
+        }
+        catch (TimeoutException e) {
+            assertTrue(e.getMessage().startsWith("Reference was not set within 50 milliseconds."));
+        }
+    }
+
+    @Test
+    public void AwaitAfterValueCleared() throws Exception {
+        testAwaitableReference.set("AddObjectView");
+        testAwaitableReference.set(null);
+
+        assertNull(testAwaitableReference.get());
+        try {
+            testAwaitableReference.Await(50);
+            fail("Exception was not thrown.");
+        }
+        catch (TimeoutException e) {
+            assertTrue(e.getMessage().startsWith("Reference was not set within 50 milliseconds."));
+        }
+
+        testAwaitableReference.set("SettingsView");
+
+        assertEquals("SettingsView", testAwaitableReference.Await(0));
+    }
+}
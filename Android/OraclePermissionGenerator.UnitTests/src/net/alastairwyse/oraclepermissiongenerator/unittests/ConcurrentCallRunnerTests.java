@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.unittests;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import net.alastairwyse.oraclepermissiongenerator.ConcurrentCallRunner;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.ConcurrentCallRunner.
+ * @author Alastair Wyse
+ */
+public class ConcurrentCallRunnerTests {
+
+    private ConcurrentCallRunner testConcurrentCallRunner;
+
+    @Before
+    public void setUp() {
+        testConcurrentCallRunner = new ConcurrentCallRunner();
+    }
+
+    @After
+    public void tearDown() {
+        testConcurrentCallRunner.Shutdown();
+    }
+
+    @Test
+    public void InvokeAllReturnsResultsInOrder() throws Exception {
+        ArrayList<Callable<String>> calls = new ArrayList<Callable<String>>();
+        calls.add(new DelayedCall<String>("Table", 0));
+        calls.add(new DelayedCall<String>("View", 100));
+        calls.add(new DelayedCall<String>("Sequence", 10));
+
+        ArrayList<String> results = testConcurrentCallRunner.InvokeAll(calls);
+
+        assertEquals(Arrays.asList("Table", "View", "Sequence"), results);
+    }
+
+    @Test
+    public void InvokeAllRunsCallsConcurrently() throws Exception {
+        // Each call waits until all calls have started, so would never complete if the calls were run one after another
+        final CountDownLatch allCallsStartedSignal = new CountDownLatch(3);
+        ArrayList<Callable<Boolean>> calls = new ArrayList<Callable<Boolean>>();
+        for (int i = 0; i < 3; i++) {
+            calls.add(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    allCallsStartedSignal.countDown();
+                    return allCallsStartedSignal.await(5, TimeUnit.SECONDS);
+                }
+            });
+        }
+
+        ArrayList<Boolean> results = testConcurrentCallRunner.InvokeAll(calls);
+
+        assertEquals(Arrays.asList(true, true, true), results);
+    }
+
+    @Test
+    public void InvokeAllRethrowsException() throws Exception {
+        Exception testException = new Exception("Failed to connect to the data service.");
+        ArrayList<Callable<String>> calls = new ArrayList<Callable<String>>();
+        calls.add(new DelayedCall<String>("Table", 0));
+        calls.add(new FailingCall<String>(testException));
+
+        try {
+            testConcurrentCallRunner.InvokeAll(calls);
+            fail("Exception was not thrown.");
+        }
+        catch (Exception e) {
+            assertSame(testException, e);
+        }
+    }
+
+    /**
+     * Call which returns a fixed result after a delay.
+     */
+    private class DelayedCall<T> implements Callable<T> {
+
+        private T result;
+        private long delay;
+
+        public DelayedCall(T result, long delay) {
+            this.result = result;
+            this.delay = delay;
+        }
+
+        @Override
+        public T call() throws Exception {
+            Thread.sleep(delay);
+            return result;
+        }
+    }
+
+    /**
+     * Call which throws an exception.
+     */
+    private class FailingCall<T> implements Callable<T> {
+
+        private Exception exception;
+
+        public FailingCall(Exception exception) {
+            this.exception = exception;
+        }
+
+        @Override
+        public T call() throws Exception {
+            throw exception;
+        }
+    }
+}
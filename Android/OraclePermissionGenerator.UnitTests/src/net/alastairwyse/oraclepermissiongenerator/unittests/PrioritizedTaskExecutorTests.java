@@ -0,0 +1,278 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.unittests;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.alastairwyse.oraclepermissiongenerator.PrioritizedTaskExecutor;
+import net.alastairwyse.oraclepermissiongenerator.TaskLane;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for class oraclepermissiongenerator.PrioritizedTaskExecutor.
+ * @author Alastair Wyse
+ */
+public class PrioritizedTaskExecutorTests {
+
+    private PrioritizedTaskExecutor testPrioritizedTaskExecutor;
+
+    @Before
+    public void setUp() {
+        testPrioritizedTaskExecutor = new PrioritizedTaskExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        testPrioritizedTaskExecutor.Shutdown();
+    }
+
+    @Test
+    public void ConstructorThreadCountLessThanOne() {
+        try {
+            new PrioritizedTaskExecutor(0);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'threadCount' must be greater than 0."));
+        }
+    }
+
+    @Test
+    public void ExecuteLaneNull() {
+        try {
+            testPrioritizedTaskExecutor.Execute(null, null, new RecordingTask("Table", new ArrayList<String>()));
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'lane' cannot be null."));
+        }
+    }
+
+    @Test
+    public void ExecuteTaskNull() {
+        try {
+            testPrioritizedTaskExecutor.Execute(TaskLane.Interactive, null, null);
+            fail("Exception was not thrown.");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Argument 'task' cannot be null."));
+        }
+    }
+
+    @Test
+    public void ExecuteTakesTasksInLanePriorityOrder() throws Exception {
+        final CountDownLatch blockingTaskReleaseSignal = new CountDownLatch(1);
+        List<String> executionOrder = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch tasksCompleteSignal = new CountDownLatch(4);
+
+        // Occupy the single worker thread, so that the subsequent tasks are queued
+        testPrioritizedTaskExecutor.Execute(TaskLane.Interactive, null, new BlockingTask(blockingTaskReleaseSignal));
+        testPrioritizedTaskExecutor.Execute(TaskLane.Prefetch, null, new RecordingTask("Prefetch", executionOrder, tasksCompleteSignal));
+        testPrioritizedTaskExecutor.Execute(TaskLane.Mutation, null, new RecordingTask("Mutation", executionOrder, tasksCompleteSignal));
+        testPrioritizedTaskExecutor.Execute(TaskLane.Interactive, null, new RecordingTask("Interactive1", executionOrder, tasksCompleteSignal));
+        testPrioritizedTaskExecutor.Execute(TaskLane.Interactive, null, new RecordingTask("Interactive2", executionOrder, tasksCompleteSignal));
+        blockingTaskReleaseSignal.countDown();
+
+        assertTrue(tasksCompleteSignal.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("Interactive1", "Interactive2", "Mutation", "Prefetch"), executionOrder);
+    }
+
+    @Test
+    public void ExecuteSameOrderingKeyExecutesOneAtATimeInOrder() throws Exception {
+        testPrioritizedTaskExecutor.Shutdown();
+        testPrioritizedTaskExecutor = new PrioritizedTaskExecutor(3);
+        final AtomicInteger concurrentTaskCount = new AtomicInteger(0);
+        final AtomicInteger maximumConcurrentTaskCount = new AtomicInteger(0);
+        final List<String> executionOrder = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch tasksCompleteSignal = new CountDownLatch(5);
+
+        for (int i = 0; i < 5; i++) {
+            final String taskName = "SetAddFlag" + i;
+            testPrioritizedTaskExecutor.Execute(TaskLane.Mutation, "ORDER_STATUSES", new Runnable() {
+                @Override
+                public void run() {
+                    int currentCount = concurrentTaskCount.incrementAndGet();
+                    if (currentCount > maximumConcurrentTaskCount.get()) {
+                        maximumConcurrentTaskCount.set(currentCount);
+                    }
+                    try {
+                        Thread.sleep(20);
+                    }
+                    catch (InterruptedException e) {
+                    }
+                    executionOrder.add(taskName);
+                    concurrentTaskCount.decrementAndGet();
+                    tasksCompleteSignal.countDown();
+                }
+            });
+        }
+
+        assertTrue(tasksCompleteSignal.await(5, TimeUnit.SECONDS));
+        assertEquals(1, maximumConcurrentTaskCount.get());
+        assertEquals(Arrays.asList("SetAddFlag0", "SetAddFlag1", "SetAddFlag2", "SetAddFlag3", "SetAddFlag4"), executionOrder);
+    }
+
+    @Test
+    public void ExecuteDifferentOrderingKeysExecuteConcurrently() throws Exception {
+        testPrioritizedTaskExecutor.Shutdown();
+        testPrioritizedTaskExecutor = new PrioritizedTaskExecutor(2);
+        // Each task waits until both tasks have started, so would never complete if the tasks were executed one after another
+        final CountDownLatch allTasksStartedSignal = new CountDownLatch(2);
+        final CountDownLatch tasksCompleteSignal = new CountDownLatch(2);
+        final AtomicInteger successfulTaskCount = new AtomicInteger(0);
+        for (String currentObjectName : new String[] { "ORDER_STATUSES", "ORDER_DETAILS" }) {
+            testPrioritizedTaskExecutor.Execute(TaskLane.Mutation, currentObjectName, new Runnable() {
+                @Override
+                public void run() {
+                    allTasksStartedSignal.countDown();
+                    try {
+                        if (allTasksStartedSignal.await(5, TimeUnit.SECONDS) == true) {
+                            successfulTaskCount.incrementAndGet();
+                        }
+                    }
+                    catch (InterruptedException e) {
+                    }
+                    tasksCompleteSignal.countDown();
+                }
+            });
+        }
+
+        assertTrue(tasksCompleteSignal.await(10, TimeUnit.SECONDS));
+        assertEquals(2, successfulTaskCount.get());
+    }
+
+    @Test
+    public void ExecuteOrderingKeyReleasedWhenTaskThrowsException() throws Exception {
+        CountDownLatch tasksCompleteSignal = new CountDownLatch(1);
+        List<String> executionOrder = Collections.synchronizedList(new ArrayList<String>());
+
+        testPrioritizedTaskExecutor.Execute(TaskLane.Mutation, "ORDER_STATUSES", new Runnable() {
+            @Override
+            public void run() {
+                throw new RuntimeException("Object 'ORDER_STATUSES' does not exist.");
+            }
+        });
+        testPrioritizedTaskExecutor.Execute(TaskLane.Mutation, "ORDER_STATUSES", new RecordingTask("AddObject", executionOrder, tasksCompleteSignal));
+
+        assertTrue(tasksCompleteSignal.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("AddObject"), executionOrder);
+    }
+
+    @Test
+    public void QueueDepthAndWaitTimeMetrics() throws Exception {
+        CountDownLatch blockingTaskReleaseSignal = new CountDownLatch(1);
+        List<String> executionOrder = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch tasksCompleteSignal = new CountDownLatch(3);
+
+        testPrioritizedTaskExecutor.Execute(TaskLane.Interactive, null, new BlockingTask(blockingTaskReleaseSignal));
+        testPrioritizedTaskExecutor.Execute(TaskLane.Mutation, "ORDER_STATUSES", new RecordingTask("SetAddFlag", executionOrder, tasksCompleteSignal));
+        testPrioritizedTaskExecutor.Execute(TaskLane.Mutation, "ORDER_STATUSES", new RecordingTask("SetRemoveFlag", executionOrder, tasksCompleteSignal));
+        testPrioritizedTaskExecutor.Execute(TaskLane.Prefetch, null, new RecordingTask("getRoles", executionOrder, tasksCompleteSignal));
+        
+        assertEquals(2, testPrioritizedTaskExecutor.getQueueDepth(TaskLane.Mutation));
+        assertEquals(1, testPrioritizedTaskExecutor.getQueueDepth(TaskLane.Prefetch));
+        assertEquals(0, testPrioritizedTaskExecutor.getExecutedCount(TaskLane.Mutation));
+        Thread.sleep(50);
+        blockingTaskReleaseSignal.countDown();
+        assertTrue(tasksCompleteSignal.await(5, TimeUnit.SECONDS));
+
+        assertEquals(0, testPrioritizedTaskExecutor.getQueueDepth(TaskLane.Interactive));
+        assertEquals(0, testPrioritizedTaskExecutor.getQueueDepth(TaskLane.Mutation));
+        assertEquals(0, testPrioritizedTaskExecutor.getQueueDepth(TaskLane.Prefetch));
+        assertEquals(1, testPrioritizedTaskExecutor.getExecutedCount(TaskLane.Interactive));
+        assertEquals(2, testPrioritizedTaskExecutor.getExecutedCount(TaskLane.Mutation));
+        assertEquals(1, testPrioritizedTaskExecutor.getExecutedCount(TaskLane.Prefetch));
+        assertTrue(testPrioritizedTaskExecutor.getMaximumWaitTime(TaskLane.Mutation) >= 50);
+        assertTrue(testPrioritizedTaskExecutor.getTotalWaitTime(TaskLane.Mutation) >= testPrioritizedTaskExecutor.getMaximumWaitTime(TaskLane.Mutation));
+        assertTrue(testPrioritizedTaskExecutor.getMaximumWaitTime(TaskLane.Prefetch) >= 50);
+    }
+
+    @Test
+    public void getExecutorSubmitsToLane() throws Exception {
+        CountDownLatch tasksCompleteSignal = new CountDownLatch(1);
+        List<String> executionOrder = Collections.synchronizedList(new ArrayList<String>());
+
+        testPrioritizedTaskExecutor.getExecutor(TaskLane.Prefetch, null).execute(new RecordingTask("getRoles", executionOrder, tasksCompleteSignal));
+
+        assertTrue(tasksCompleteSignal.await(5, TimeUnit.SECONDS));
+        assertEquals(1, testPrioritizedTaskExecutor.getExecutedCount(TaskLane.Prefetch));
+    }
+
+    @Test
+    public void ExecuteAfterShutdown() {
+        testPrioritizedTaskExecutor.Shutdown();
+
+        try {
+            testPrioritizedTaskExecutor.Execute(TaskLane.Interactive, "ORDER_STATUSES", new RecordingTask("getObjects", new ArrayList<String>()));
+            fail("Exception was not thrown.");
+        }
+        catch (RejectedExecutionException e) {
+        }
+        assertEquals(0, testPrioritizedTaskExecutor.getQueueDepth(TaskLane.Interactive));
+    }
+
+    /**
+     * Task which blocks until signalled.
+     */
+    private class BlockingTask implements Runnable {
+        private CountDownLatch releaseSignal;
+
+        public BlockingTask(CountDownLatch releaseSignal) {
+            this.releaseSignal = releaseSignal;
+        }
+
+        @Override
+        public void run() {
+            try {
+                releaseSignal.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+            }
+        }
+    }
+
+    /**
+     * Task which records its name in a list when executed.
+     */
+    private class RecordingTask implements Runnable {
+        private String name;
+        private List<String> executionOrder;
+        private CountDownLatch completeSignal;
+
+        public RecordingTask(String name, List<String> executionOrder) {
+            this(name, executionOrder, new CountDownLatch(1));
+        }
+
+        public RecordingTask(String name, List<String> executionOrder, CountDownLatch completeSignal) {
+            this.name = name;
+            this.executionOrder = executionOrder;
+            this.completeSignal = completeSignal;
+        }
+
+        @Override
+        public void run() {
+            executionOrder.add(name);
+            completeSignal.countDown();
+        }
+    }
+}
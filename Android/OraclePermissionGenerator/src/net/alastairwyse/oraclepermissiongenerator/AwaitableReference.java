@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Holds a reference to an object which becomes available asynchronously (e.g. a view which is set when its activity is created), and allows threads to wait until the reference is set, rather than polling for it.
+ * <p>The reference can be cleared by setting it to null (e.g. when the activity is destroyed), after which threads will again wait until it is set.</p>
+ * @author Alastair Wyse
+ * @param  <T>  The type of the referenced object.
+ */
+public class AwaitableReference<T> {
+
+    private volatile T value;
+    // Released when the reference is set to a non-null value, and replaced with an unreleased latch when the reference is cleared
+    private volatile CountDownLatch setSignal;
+    private final Object lockObject = new Object();
+
+    /**
+     * Initialises a new instance of the AwaitableReference class.
+     */
+    public AwaitableReference() {
+        value = null;
+        setSignal = new CountDownLatch(1);
+    }
+    
+    /**
+     * @return  The referenced object, or null if the reference is not set.
+     */
+    public T get() {
+        return value;
+    }
+    
+    /**
+     * @param  value  The referenced object, or null to clear the reference.
+     */
+    public void set(T value) {
+        synchronized (lockObject) {
+            this.value = value;
+            if (value != null) {
+                setSignal.countDown();
+            }
+            else if (setSignal.getCount() == 0) {
+                setSignal = new CountDownLatch(1);
+            }
+        }
+    }
+    
+    /**
+     * Waits until the reference is set, and returns the referenced object.  Returns immediately if the reference is already set.
+     * @param   timeout               The maximum time in milliseconds to wait.
+     * @return                        The referenced object.
+     * @throws  InterruptedException  if the current thread is interrupted while waiting.
+     * @throws  TimeoutException      if the reference is not set within the specified timeout.
+     */
+    public T Await(long timeout) throws InterruptedException, TimeoutException {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Argument 'timeout' must be greater than or equal to 0.");
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (true) {
+            CountDownLatch currentSetSignal = setSignal;
+            T currentValue = value;
+            if (currentValue != null) {
+                return currentValue;
+            }
+            long remainingTime = deadline - System.nanoTime();
+            if (remainingTime <= 0 || currentSetSignal.await(remainingTime, TimeUnit.NANOSECONDS) == false) {
+                // Check once more in case the reference was set between the timeout expiring and the signal being checked
+                currentValue = value;
+                if (currentValue != null) {
+                    return currentValue;
+                }
+                throw new TimeoutException("Reference was not set within " + timeout + " milliseconds.");
+            }
+            // The reference was set, but may have been cleared again before it could be read, in which case wait again for the remaining time
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs independent calls to the data layer concurrently on a pool of worker threads, and joins their results, so that the time taken for a set of calls is close to that of the slowest call rather than the sum of all of them.
+ * <p>The first call in each set is run on the calling thread, and the remaining calls on the worker threads.</p>
+ * @author Alastair Wyse
+ */
+public class ConcurrentCallRunner {
+
+    private final int defaultThreadCount = 3;
+
+    private ExecutorService executorService;
+    private boolean ownsExecutorService;
+
+    /**
+     * Initialises a new instance of the ConcurrentCallRunner class.
+     */
+    public ConcurrentCallRunner() {
+        this(null);
+        executorService = Executors.newFixedThreadPool(defaultThreadCount, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread callThread = new Thread(runnable, "ConcurrentCallRunner call");
+                callThread.setDaemon(true);
+                return callThread;
+            }
+        });
+        ownsExecutorService = true;
+    }
+
+    /**
+     * Initialises a new instance of the ConcurrentCallRunner class.
+     * @param  executorService  The executor service to use to run calls concurrently.
+     */
+    public ConcurrentCallRunner(ExecutorService executorService) {
+        this.executorService = executorService;
+        ownsExecutorService = false;
+    }
+
+    /**
+     * Runs the inputted calls concurrently, and returns their results once all have completed.  If any call throws an exception, the calls which have not yet completed are cancelled, and the exception is rethrown.
+     * @param   calls      The calls to run.
+     * @return             The results of the calls, in the same order as the calls.
+     * @throws  Exception  if any of the calls throws an exception.
+     */
+    public <T> ArrayList<T> InvokeAll(List<Callable<T>> calls) throws Exception {
+        ArrayList<T> results = new ArrayList<T>(calls.size());
+        if (calls.size() == 0) {
+            return results;
+        }
+        
+        ArrayList<Future<T>> futures = Submit(calls);
+        try {
+            results.add(calls.get(0).call());
+            for (Future<T> currentFuture : futures) {
+                results.add(GetResult(currentFuture));
+            }
+        }
+        finally {
+            Cancel(futures);
+        }
+        return results;
+    }
+
+    /**
+     * Stops the worker threads (if the executor service used to run calls was created by this instance).
+     */
+    public void Shutdown() {
+        if (ownsExecutorService == true) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Submits all but the first of the inputted calls to the executor service.
+     * @param   calls  The calls.
+     * @return         Futures representing the submitted calls, in the same order as the calls.
+     */
+    private <T> ArrayList<Future<T>> Submit(List<Callable<T>> calls) {
+        ArrayList<Future<T>> futures = new ArrayList<Future<T>>(calls.size() - 1);
+        try {
+            for (int i = 1; i < calls.size(); i++) {
+                futures.add(executorService.submit(calls.get(i)));
+            }
+        }
+        catch (RejectedExecutionException e) {
+            Cancel(futures);
+            throw e;
+        }
+        return futures;
+    }
+
+    /**
+     * Waits for the inputted future to complete, and returns its result, rethrowing any exception thrown by the underlying call.
+     * @param   future     The future.
+     * @return             The result of the underlying call.
+     * @throws  Exception  if the underlying call threw an exception, or the wait was interrupted.
+     */
+    private <T> T GetResult(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception)cause;
+            }
+            else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            else {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Cancels any of the inputted futures which have not yet completed.
+     * @param  futures  The futures.
+     */
+    private <T> void Cancel(List<Future<T>> futures) {
+        for (Future<T> currentFuture : futures) {
+            currentFuture.cancel(true);
+        }
+    }
+}
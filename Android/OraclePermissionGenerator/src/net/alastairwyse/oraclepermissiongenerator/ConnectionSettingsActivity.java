@@ -23,6 +23,7 @@ import android.widget.EditText;
 import android.widget.Spinner;
 
 import net.alastairwyse.oraclepermissiongenerator.containers.RemoteDataModelProxyType;
+import net.alastairwyse.oraclepermissiongenerator.containers.RestRequestContextMode;
 
 /**
  * An activity which displays and allows modifying of the connection settings of the application. 
@@ -86,6 +87,24 @@ public class ConnectionSettingsActivity extends BaseActivity implements IConnect
         EditText restDataServiceLocationField = (EditText)findViewById(R.id.connection_settings_rest_data_service_location_field);
         restDataServiceLocationField.setText(restDataServiceLocation);
     }
+    
+    @Override
+    public void PopulateRestRequestContextMode(RestRequestContextMode restRequestContextMode) {
+        int selectedItemIndex = 0;
+        Spinner restRequestContextModeField = (Spinner)findViewById(R.id.connection_settings_rest_request_context_mode_field);
+        ArrayAdapter<CharSequence> restRequestContextModeFieldArrayAdapter = new ArrayAdapter<CharSequence>(this, android.R.layout.simple_spinner_item);
+        int count = 0;
+        for (RestRequestContextMode currentRestRequestContextMode : RestRequestContextMode.values()) {
+            restRequestContextModeFieldArrayAdapter.add(currentRestRequestContextMode.name());
+            if (restRequestContextMode == currentRestRequestContextMode) {
+                selectedItemIndex = count;
+            }
+            count++;
+        }
+        restRequestContextModeFieldArrayAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        restRequestContextModeField.setAdapter(restRequestContextModeFieldArrayAdapter);
+        restRequestContextModeField.setSelection(selectedItemIndex);
+    }
 
     /**
      * Method called when the 'Save' button is clicked.
@@ -97,6 +116,8 @@ public class ConnectionSettingsActivity extends BaseActivity implements IConnect
         RemoteDataModelProxyType remoteDataModelProxyType = RemoteDataModelProxyType.valueOf(remoteDataModelProxyTypeString);
         String soapDataServiceLocation = ((EditText)findViewById(R.id.connection_settings_soap_data_service_location_field)).getText().toString().trim();
         String restDataServiceLocation = ((EditText)findViewById(R.id.connection_settings_rest_data_service_location_field)).getText().toString().trim();
-        presenter.SaveConnectionSettings(userIdentifier, remoteDataModelProxyType, soapDataServiceLocation, restDataServiceLocation);
+        String restRequestContextModeString = ((Spinner)findViewById(R.id.connection_settings_rest_request_context_mode_field)).getSelectedItem().toString();
+        RestRequestContextMode restRequestContextMode = RestRequestContextMode.valueOf(restRequestContextModeString);
+        presenter.SaveConnectionSettings(userIdentifier, remoteDataModelProxyType, soapDataServiceLocation, restDataServiceLocation, restRequestContextMode);
     }
 }
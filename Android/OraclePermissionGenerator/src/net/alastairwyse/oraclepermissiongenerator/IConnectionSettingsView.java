@@ -47,4 +47,10 @@ public interface IConnectionSettingsView extends IMvpView {
      * @param  restDataServiceLocation  The location of the REST data service.
      */
     void PopulateRestDataServiceLocation(String restDataServiceLocation);
+    
+    /**
+     * Populates the view with the way in which the authentication context and tracking data are sent with requests to the REST data service.
+     * @param  restRequestContextMode  The REST request context mode.
+     */
+    void PopulateRestRequestContextMode(RestRequestContextMode restRequestContextMode);
 }
@@ -16,7 +16,11 @@
 
 package net.alastairwyse.oraclepermissiongenerator;
 
+import java.util.List;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.ModelOperation;
 import net.alastairwyse.oraclepermissiongenerator.containers.RemoteDataModelProxyType;
+import net.alastairwyse.oraclepermissiongenerator.containers.RestRequestContextMode;
 import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.ScriptType;
 
 /**
@@ -75,6 +79,16 @@ public interface IPresenter {
      */
     void setExceptionLogger(IExceptionLogger exceptionLogger);
     
+    /**
+     * @param  writeCoalescingWindow  The time in milliseconds that flag and permission changes are held before being sent to the data interface layer, during which opposing changes to the same flag or permission cancel out.
+     */
+    void setWriteCoalescingWindow(long writeCoalescingWindow);
+    
+    /**
+     * @param  readinessTimeout  The maximum time in milliseconds to wait for a view to open or the data interface service to connect, before the operation waiting on it fails.
+     */
+    void setReadinessTimeout(long readinessTimeout);
+    
     /**
      * Initialises the presenter.
      */
@@ -119,6 +133,12 @@ public interface IPresenter {
      */
     void SetPermssion(String objectName, String role, String permission, boolean value);
     
+    /**
+     * Submits a batch of operations which modify the data interface layer (e.g. a burst of permission or flag edits), so that they are sent to the data model in a single call.
+     * @param  operations  The operations to submit, in the order they should be executed.
+     */
+    void SubmitBatch(List<ModelOperation> operations);
+    
     /**
      * Adds a role to user mapping to the data interface layer and role to user map view.
      * @param  role  The name of the role to add the mapping for.
@@ -145,8 +165,9 @@ public interface IPresenter {
      * @param  remoteDataModelProxyType  The mechanism of proxy to the remote data model instance
      * @param  soapDataServiceLocation   The network location of the SOAP data service.
      * @param  restDataServiceLocation   The network location of the REST data service.
+     * @param  restRequestContextMode    The way in which the authentication context and tracking data are sent with requests to the REST data service.
      */
-    void SaveConnectionSettings(String userIdentifier, RemoteDataModelProxyType remoteDataModelProxyType, String soapDataServiceLocation, String restDataServiceLocation);
+    void SaveConnectionSettings(String userIdentifier, RemoteDataModelProxyType remoteDataModelProxyType, String soapDataServiceLocation, String restDataServiceLocation, RestRequestContextMode restRequestContextMode);
     
     /**
      * Creates and persists an Oracle privilege script.
@@ -16,9 +16,15 @@
 
 package net.alastairwyse.oraclepermissiongenerator;
 
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
 
+import android.annotation.TargetApi;
 import android.content.ComponentName;
 import android.content.Context;
 import android.content.DialogInterface;
@@ -26,7 +32,10 @@ import android.content.ServiceConnection;
 import android.content.Intent;
 import android.content.DialogInterface.OnClickListener;
 import android.os.AsyncTask;
+import android.os.Build;
+import android.os.Handler;
 import android.os.IBinder;
+import android.os.Looper;
 
 import net.alastairwyse.oraclepermissiongenerator.containers.*;
 import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.*;
@@ -38,8 +47,16 @@ import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.DataInterfa
  */
 public class Presenter implements IPresenter {
 
-    // The time in milliseconds to wait between iterations of spinning loops which wait for activities to open, services to start, etc...
-    private final Integer spinInterval = 50;
+    // The default time in milliseconds to wait for activities to open and the data interface service to connect
+    private final long defaultReadinessTimeout = 10000;
+    // The default time in milliseconds to hold flag and permission changes before sending them to the data layer, so that opposing changes can be coalesced
+    private final long defaultWriteCoalescingWindow = 500;
+    // The number of worker threads to execute background tasks on
+    private final int taskThreadCount = 3;
+    // Keys used to order tasks which change the same entity, so that the changes reach the data layer in the order they were made
+    private final String batchOrderingKey = "Batch";
+    private final String settingsOrderingKey = "Settings";
+    private final String connectionSettingsOrderingKey = "ConnectionSettings";
     
     private IObjectListView objectListView;
     private IAddObjectView addObjectView;
@@ -52,10 +69,32 @@ public class Presenter implements IPresenter {
     private ISelectScriptView selectScriptView;
     private IDataInterface dataInterface;
     private DataInterfaceServiceConnection dataInterfaceServiceConnection;
-    private volatile boolean dataInterfaceServiceConnected = false;
+    // Set when the data interface service is connected, and cleared when it is disconnected
+    private AwaitableReference<IDataInterface> connectedDataInterface = new AwaitableReference<IDataInterface>();
+    // Set when the views which are opened by background tasks register with the presenter (i.e. when their activities are created), so that the tasks can wait for the views to open
+    private AwaitableReference<IAddObjectView> addObjectViewOpened = new AwaitableReference<IAddObjectView>();
+    private AwaitableReference<ISelectRoleView> selectRoleViewOpened = new AwaitableReference<ISelectRoleView>();
+    private AwaitableReference<ISetPermissionsView> setPermissionsViewOpened = new AwaitableReference<ISetPermissionsView>();
+    private AwaitableReference<IRoleToUserMapView> roleToUserMapViewOpened = new AwaitableReference<IRoleToUserMapView>();
+    private AwaitableReference<ISettingsView> settingsViewOpened = new AwaitableReference<ISettingsView>();
+    private AwaitableReference<IConnectionSettingsView> connectionSettingsViewOpened = new AwaitableReference<IConnectionSettingsView>();
+    private volatile long readinessTimeout = defaultReadinessTimeout;
+    // Recreates the remote data model proxy on the data interface service when the connection settings are changed
+    private final RemoteDataModelProxyUpdater remoteDataModelProxyUpdater = new RemoteDataModelProxyUpdater();
     private IExceptionLogger exceptionLogger;
     private boolean instantiatedWithTestConstructor = false;
     private CountDownLatch backgroundThreadCompleteSignal;
+    private WriteCoalescingQueue writeCoalescingQueue = new WriteCoalescingQueue(defaultWriteCoalescingWindow);
+    // Ensures that batches of operations are sent to the data layer one at a time and in the order they were drained from the write coalescing queue
+    private final Object operationFlushLock = new Object();
+    // Members used to schedule flushing of the write coalescing queue.  Only accessed on the UI thread.
+    private Handler operationFlushHandler;
+    private boolean operationFlushScheduled = false;
+    private boolean operationFlushIncludesPermissions = false;
+    // Runs independent calls to the data layer concurrently within a single background task
+    private ConcurrentCallRunner concurrentCallRunner = new ConcurrentCallRunner();
+    // Executes background tasks in priority lanes, keeping changes to the same entity in the order they were made
+    private PrioritizedTaskExecutor taskExecutor = new PrioritizedTaskExecutor(taskThreadCount);
     
     /**
      * Initialises a new instance of the Presenter class.
@@ -76,7 +115,10 @@ public class Presenter implements IPresenter {
         this.exceptionLogger = exceptionLogger;
         this.backgroundThreadCompleteSignal = backgroundThreadCompleteSignal;
         instantiatedWithTestConstructor = true;
-        dataInterfaceServiceConnected = true;
+        if (dataInterface instanceof DataInterfaceService) {
+            ((DataInterfaceService)dataInterface).AddLocalSettingsListener(remoteDataModelProxyUpdater);
+        }
+        connectedDataInterface.set(dataInterface);
     }
     
     @Override
@@ -87,21 +129,25 @@ public class Presenter implements IPresenter {
     @Override
     public void setAddObjectView(IAddObjectView addObjectView) {
         this.addObjectView = addObjectView;
+        addObjectViewOpened.set(addObjectView);
     }
     
     @Override
     public void setSelectRoleView(ISelectRoleView selectRoleView) {
         this.selectRoleView = selectRoleView;
+        selectRoleViewOpened.set(selectRoleView);
     }
     
     @Override
     public void setSetPermissionsView(ISetPermissionsView setPermissionsView) {
         this.setPermissionsView = setPermissionsView;
+        setPermissionsViewOpened.set(setPermissionsView);
     }
     
     @Override
     public void setRoleToUserMapView(IRoleToUserMapView roleToUserMapView) {
         this.roleToUserMapView = roleToUserMapView;
+        roleToUserMapViewOpened.set(roleToUserMapView);
     }
     
     @Override
@@ -112,11 +158,13 @@ public class Presenter implements IPresenter {
     @Override
     public void setSettingsView(ISettingsView settingsView) {
         this.settingsView = settingsView;
+        settingsViewOpened.set(settingsView);
     }
     
     @Override
     public void setConnectionSettingsView(IConnectionSettingsView connectionSettingsView) {
         this.connectionSettingsView = connectionSettingsView;
+        connectionSettingsViewOpened.set(connectionSettingsView);
     }
     
     @Override
@@ -128,6 +176,19 @@ public class Presenter implements IPresenter {
     public void setExceptionLogger(IExceptionLogger exceptionLogger) {
         this.exceptionLogger = exceptionLogger;
     }
+    
+    @Override
+    public void setWriteCoalescingWindow(long writeCoalescingWindow) {
+        writeCoalescingQueue.setCoalescingWindow(writeCoalescingWindow);
+    }
+    
+    @Override
+    public void setReadinessTimeout(long readinessTimeout) {
+        if (readinessTimeout < 0) {
+            throw new IllegalArgumentException("Argument 'readinessTimeout' must be greater than or equal to 0.");
+        }
+        this.readinessTimeout = readinessTimeout;
+    }
 
     @Override
     public void Initialise() {
@@ -139,7 +200,9 @@ public class Presenter implements IPresenter {
 
                 try {
                     CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
                     returnedObjects = dataInterface.getObjects();
+                    PrefetchAddObjectViewData();
                 } catch (Exception e) {
                     doInBackgroundException = e;
                 }
@@ -158,7 +221,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(objectPermissionSets);
             }
         };
-        initialiseTask.execute();
+        initialiseTask.Execute(TaskLane.Interactive, null);
     }
     
     @Override
@@ -172,18 +235,21 @@ public class Presenter implements IPresenter {
         ExceptionHandlingAsyncTask<OracleObjectPermissionSet, Void, ValidationResultContainer<OracleObjectPermissionSet>> addObjectTask = new ExceptionHandlingAsyncTask<OracleObjectPermissionSet, Void, ValidationResultContainer<OracleObjectPermissionSet>>(addObjectView) {
             @Override
             protected ValidationResultContainer<OracleObjectPermissionSet> doInBackground(OracleObjectPermissionSet... parameters) {
+                OracleObjectPermissionSet newObject = parameters[0];
                 ValidationResult validationResult = null;
                 try {
                     CheckDataInterfaceServiceConnection();
-                    validationResult = dataInterface.ObjectNameValidate(parameters[0].getObjectName());
-                    if (validationResult.getIsValid() == false) {
-                        return new ValidationResultContainer<OracleObjectPermissionSet>(validationResult, parameters[0]);
+                    FlushPendingOperations();
+                    // Validate the name, type and owner of the object in a single call, and report the first which fails
+                    EntityValidationResults validationResults = dataInterface.ValidateEntities(Collections.singletonList(newObject), Collections.<RoleToUserMap>emptyList());
+                    ObjectValidationResult objectValidationResult = validationResults.getObjectResults().get(0);
+                    validationResult = objectValidationResult.getObjectNameResult();
+                    if (validationResult.getIsValid() == true) {
+                        validationResult = objectValidationResult.getObjectTypeResult();
                     }
-                    validationResult = dataInterface.ObjectTypeValidate(parameters[0].getObjectType());
-                    if (validationResult.getIsValid() == false) {
-                        return new ValidationResultContainer<OracleObjectPermissionSet>(validationResult, parameters[0]);
+                    if (validationResult.getIsValid() == true) {
+                        validationResult = objectValidationResult.getObjectOwnerResult();
                     }
-                    validationResult = dataInterface.ObjectOwnerValidate(parameters[0].getObjectOwner());
                     if (validationResult.getIsValid() == false) {
                         return new ValidationResultContainer<OracleObjectPermissionSet>(validationResult, parameters[0]);
                     }
@@ -223,7 +289,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(validationResultContainer);
             }
         };
-        addObjectTask.execute(newObjectPermissionSet);
+        addObjectTask.Execute(TaskLane.Mutation, GetObjectOrderingKey(objectName), newObjectPermissionSet);
     }
     
     @Override
@@ -233,6 +299,7 @@ public class Presenter implements IPresenter {
             protected String doInBackground(String... parameters) {
                 try {
                     CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
                     dataInterface.RemoveObjectPermissionSet(parameters[0]);
                 } catch (Exception e) {
                     doInBackgroundException = e;
@@ -251,69 +318,49 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(objectName);
             }
         };
-        removeObjectTask.execute(objectName);
+        removeObjectTask.Execute(TaskLane.Mutation, GetObjectOrderingKey(objectName), objectName);
     }
     
     @Override
     public void SetAddFlag(String objectName, boolean addFlagValue) {
-        ExceptionHandlingAsyncTask<OracleObjectFlagParameters, Void, Void> setAddFlagTask = new ExceptionHandlingAsyncTask<OracleObjectFlagParameters, Void, Void>(objectListView) {
-            @Override
-            protected Void doInBackground(OracleObjectFlagParameters... parameters) {
-                try {
-                    CheckDataInterfaceServiceConnection();
-                    dataInterface.SetAddFlag(parameters[0].ObjectName, parameters[0].FlagValue);
-                } catch (Exception e) {
-                    doInBackgroundException = e;
-                }
-                
-                return null;
-            }
-
-            @Override
-            protected void onPostExecute(Void result) {
-                HandleBackgroundException();
-                super.onPostExecute(result);
-            }
-        };
-        setAddFlagTask.execute(new OracleObjectFlagParameters(objectName, addFlagValue));
+        QueueOperation(new ModelOperation(ModelOperationType.SetAddFlag, objectName, addFlagValue));
     }
     
     @Override
     public void SetRemoveFlag(String objectName, boolean removeFlagValue) {
-        ExceptionHandlingAsyncTask<OracleObjectFlagParameters, Void, Void> setRemoveFlagTask = new ExceptionHandlingAsyncTask<OracleObjectFlagParameters, Void, Void>(objectListView) {
-            @Override
-            protected Void doInBackground(OracleObjectFlagParameters... parameters) {
-                try {
-                    CheckDataInterfaceServiceConnection();
-                    dataInterface.SetRemoveFlag(parameters[0].ObjectName, parameters[0].FlagValue);
-                } catch (Exception e) {
-                    doInBackgroundException = e;
-                }
-                
-                return null;
-            }
-
-            @Override
-            protected void onPostExecute(Void result) {
-                HandleBackgroundException();
-                super.onPostExecute(result);
-            }
-        };
-        setRemoveFlagTask.execute(new OracleObjectFlagParameters(objectName, removeFlagValue));
+        QueueOperation(new ModelOperation(ModelOperationType.SetRemoveFlag, objectName, removeFlagValue));
     }
     
     @Override
     public void SetPermssion(String objectName, String role, String permission, boolean value) {
-        ExceptionHandlingAsyncTask<SetPermissionParameters, Void, Void> setPermssionTask = new ExceptionHandlingAsyncTask<SetPermissionParameters, Void, Void>(setPermissionsView) {
+        if (value == true) {
+            QueueOperation(new ModelOperation(ModelOperationType.AddPermission, objectName, role, permission));
+        }
+        else {
+            QueueOperation(new ModelOperation(ModelOperationType.RemovePermission, objectName, role, permission));
+        }
+    }
+    
+    @Override
+    public void SubmitBatch(List<ModelOperation> operations) {
+        // Use the set permissions view to display notifications if the batch contains any permission operations, otherwise the object list view
+        IMvpView notificationView = objectListView;
+        for (ModelOperation currentOperation : operations) {
+            if (currentOperation.getOperationType() == ModelOperationType.AddPermission || currentOperation.getOperationType() == ModelOperationType.RemovePermission) {
+                notificationView = setPermissionsView;
+                break;
+            }
+        }
+        
+        ExceptionHandlingAsyncTask<List<ModelOperation>, Void, Void> submitBatchTask = new ExceptionHandlingAsyncTask<List<ModelOperation>, Void, Void>(notificationView) {
             @Override
-            protected Void doInBackground(SetPermissionParameters... parameters) {
+            protected Void doInBackground(List<ModelOperation>... parameters) {
                 try {
                     CheckDataInterfaceServiceConnection();
-                    if (parameters[0].Value == true) {
-                        dataInterface.AddPermission(parameters[0].ObjectName, parameters[0].Role, parameters[0].Permission);
-                    }
-                    else {
-                        dataInterface.RemovePermission(parameters[0].ObjectName, parameters[0].Role, parameters[0].Permission);
+                    // Hold the flush lock so that the batch is executed after any queued operations, and before any operations queued subsequently
+                    synchronized (operationFlushLock) {
+                        FlushPendingOperations();
+                        ExecuteBatch(parameters[0]);
                     }
                 } catch (Exception e) {
                     doInBackgroundException = e;
@@ -328,7 +375,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(result);
             }
         };
-        setPermssionTask.execute(new SetPermissionParameters(objectName, role, permission, value));
+        submitBatchTask.Execute(TaskLane.Mutation, batchOrderingKey, new ArrayList<ModelOperation>(operations));
     }
     
     @Override
@@ -339,6 +386,7 @@ public class Presenter implements IPresenter {
                 ValidationResult validationResult = null;
                 try {
                     CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
                     validationResult = dataInterface.RoleToUserMapValidate(parameters[0], parameters[1]);
                     if (validationResult.getIsValid() == false) {
                         return new ValidationResultContainer<String[]>(validationResult, new String[] { parameters[0], parameters[1] });
@@ -380,7 +428,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(validationResultContainer);
             }
         };
-        addRoleToUserMapTask.execute(role, user);
+        addRoleToUserMapTask.Execute(TaskLane.Mutation, GetRoleToUserMapOrderingKey(role, user), role, user);
     }
     
     @Override
@@ -391,29 +439,10 @@ public class Presenter implements IPresenter {
                 ValidationResult validationResult = null;
                 try {
                     CheckDataInterfaceServiceConnection();
-                    ArrayList<String> referencingObjects = dataInterface.RoleGetReferencingObjects(parameters[0]);
-                    ArrayList<RoleToUserMap> masterRoleToUserMappings = dataInterface.getMasterRoleToUserMapCollection();
-                    // Find the number of role to user mappings for the specified role
-                    int numMappings = 0;
-                    for (RoleToUserMap currentRoleToUserMap : masterRoleToUserMappings) {
-                        if (currentRoleToUserMap.getRole().equals(parameters[0])) {
-                            numMappings++;
-                        }
-                    }
-                    
-                    // If there are objects referencing the role to user map, and it is the last map for that role, then show an error
-                    if ((referencingObjects.size() != 0) && (numMappings == 1)) {
-                        // Build an error message to display, listing all the objects referencing the role to user mapping
-                        StringBuilder errorMessage = new StringBuilder();
-                        errorMessage.append("The role to user mapping is referenced by the following objects.  Please remove the references or objects and try again.\n");
-                        for (String currentReferencingObject : referencingObjects) {
-                            errorMessage.append("  " + currentReferencingObject + "\n");
-                        }
-
-                        validationResult = new ValidationResult(false, errorMessage.toString());
-                    }
-                    else {
-                        validationResult = new ValidationResult(true, "");
+                    FlushPendingOperations();
+                    // If there are objects referencing the role to user map, and it is the last map for that role, the validation fails and an error is shown
+                    validationResult = dataInterface.RoleToUserMapRemoveValidate(parameters[0], parameters[1]);
+                    if (validationResult.getIsValid() == true) {
                         dataInterface.RemoveRoleToUserMap(parameters[0], parameters[1]);
                     }
                 } catch (Exception e) {
@@ -449,7 +478,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(validationResultContainer);
             }
         };
-        removeRoleToUserMapTask.execute(role, user);
+        removeRoleToUserMapTask.Execute(TaskLane.Mutation, GetRoleToUserMapOrderingKey(role, user), role, user);
     }
     
     @Override
@@ -460,6 +489,7 @@ public class Presenter implements IPresenter {
                 ValidationResult validationResult = null;
                 try {
                     CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
                     validationResult = dataInterface.ObjectOwnerValidate(parameters[0]);
                     if (validationResult.getIsValid() == false) {
                         return new ValidationResultContainer<String>(validationResult, parameters[0]);
@@ -498,32 +528,18 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(validationResultContainer);
             }
         };
-        saveSettingsTask.execute(defaultObjectOwner);
+        saveSettingsTask.Execute(TaskLane.Mutation, settingsOrderingKey, defaultObjectOwner);
     }
     
     @Override
-    public void SaveConnectionSettings(String userIdentifier, RemoteDataModelProxyType remoteDataModelProxyType, String soapDataServiceLocation, String restDataServiceLocation) {
+    public void SaveConnectionSettings(String userIdentifier, RemoteDataModelProxyType remoteDataModelProxyType, String soapDataServiceLocation, String restDataServiceLocation, RestRequestContextMode restRequestContextMode) {
         ExceptionHandlingAsyncTask<LocalSettings, Void, Void> saveConnectionSettingsTask = new ExceptionHandlingAsyncTask<LocalSettings, Void, Void>(connectionSettingsView) {
             @Override
             protected Void doInBackground(LocalSettings... parameters) {
                 try {
                     CheckDataInterfaceServiceConnection();
-                    LocalSettings currentLocalSettings = dataInterface.getLocalSettings();
-                    // If any of the connection settings have changed, then recreate the RemoteDataModelProxy on the data interface
-                    if (parameters[0].getRemoteDataModelProxyType() != currentLocalSettings.getRemoteDataModelProxyType() ||
-                        parameters[0].getSoapDataServiceLocation().equals(currentLocalSettings.getSoapDataServiceLocation()) == false ||
-                        parameters[0].getRestDataServiceLocation().equals(currentLocalSettings.getRestDataServiceLocation()) == false) {
-                        switch (parameters[0].getRemoteDataModelProxyType()) {
-                        case SOAP:
-                            SetDataServiceRemoteDataModelProxy(RemoteDataModelProxyType.SOAP, parameters[0].getSoapDataServiceLocation());
-                            break;
-                        case REST:
-                            SetDataServiceRemoteDataModelProxy(RemoteDataModelProxyType.REST, parameters[0].getRestDataServiceLocation());
-                            break;
-                        default:
-                            throw new Exception("Unhandled " + RemoteDataModelProxyType.class.getName() + " field '" + parameters[0].getRemoteDataModelProxyType().name() + "' encountered.");
-                        }
-                    }
+                    FlushPendingOperations();
+                    // The RemoteDataModelProxy on the data interface is recreated by the 'remoteDataModelProxyUpdater' listener if the connection settings have changed
                     dataInterface.setLocalSettings(parameters[0]);
                 } catch (Exception e) {
                     doInBackgroundException = e;
@@ -547,7 +563,8 @@ public class Presenter implements IPresenter {
         newLocalSettings.setRemoteDataModelProxyType(remoteDataModelProxyType);
         newLocalSettings.setSoapDataServiceLocation(soapDataServiceLocation);
         newLocalSettings.setRestDataServiceLocation(restDataServiceLocation);
-        saveConnectionSettingsTask.execute(newLocalSettings);
+        newLocalSettings.setRestRequestContextMode(restRequestContextMode);
+        saveConnectionSettingsTask.Execute(TaskLane.Mutation, connectionSettingsOrderingKey, newLocalSettings);
     }
     
     @Override
@@ -557,8 +574,10 @@ public class Presenter implements IPresenter {
             protected Void doInBackground(GeneratePrivilegeScriptParameters... parameters) {
                 try {
                     CheckDataInterfaceServiceConnection();
-                    String scriptText = dataInterface.CreatePrivilegeScript(parameters[0].ScriptType, parameters[0].GenerateRevokeStatements);
-                    dataInterface.WriteScript(scriptText);
+                    FlushPendingOperations();
+                    Writer scriptWriter = dataInterface.CreateScriptWriter();
+                    dataInterface.CreatePrivilegeScript(parameters[0].ScriptType, parameters[0].GenerateRevokeStatements, scriptWriter);
+                    scriptWriter.close();
                 } catch (Exception e) {
                     doInBackgroundException = e;
                 }
@@ -575,7 +594,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(result);
             }
         };
-        generatePrivilegeScriptTask.execute(new GeneratePrivilegeScriptParameters(scriptType, generateRevokeStatements));
+        generatePrivilegeScriptTask.Execute(TaskLane.Interactive, null, new GeneratePrivilegeScriptParameters(scriptType, generateRevokeStatements));
     }
     
     @Override
@@ -585,8 +604,10 @@ public class Presenter implements IPresenter {
             protected Void doInBackground(ScriptType... parameters) {
                 try {
                     CheckDataInterfaceServiceConnection();
-                    String scriptText = dataInterface.CreateSynonymScript(parameters[0]);
-                    dataInterface.WriteScript(scriptText);
+                    FlushPendingOperations();
+                    Writer scriptWriter = dataInterface.CreateScriptWriter();
+                    dataInterface.CreateSynonymScript(parameters[0], scriptWriter);
+                    scriptWriter.close();
                 } catch (Exception e) {
                     doInBackgroundException = e;
                 }
@@ -603,7 +624,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(result);
             }
         };
-        generateSynonymScriptTask.execute(scriptType);
+        generateSynonymScriptTask.Execute(TaskLane.Interactive, null, scriptType);
     }
     
     @Override
@@ -616,8 +637,25 @@ public class Presenter implements IPresenter {
                 
                 try {
                     CheckDataInterfaceServiceConnection();
-                    objectTypes = dataInterface.getObjectTypes();
-                    objectOwner = dataInterface.getDefaultObjectOwner();
+                    FlushPendingOperations();
+                    ArrayList<Callable<Object>> calls = new ArrayList<Callable<Object>>();
+                    calls.add(new Callable<Object>() {
+                        @Override
+                        public Object call() throws Exception {
+                            return dataInterface.getObjectTypes();
+                        }
+                    });
+                    calls.add(new Callable<Object>() {
+                        @Override
+                        public Object call() throws Exception {
+                            return dataInterface.getDefaultObjectOwner();
+                        }
+                    });
+                    ArrayList<Object> results = concurrentCallRunner.InvokeAll(calls);
+                    @SuppressWarnings("unchecked")
+                    ArrayList<String> returnedObjectTypes = (ArrayList<String>)results.get(0);
+                    objectTypes = returnedObjectTypes;
+                    objectOwner = (String)results.get(1);
 
                     // If code execution is in a unit test do not actually create the intent
                     if (instantiatedWithTestConstructor == false) {
@@ -627,9 +665,7 @@ public class Presenter implements IPresenter {
                     }
                     
                     // Wait until the activity is opened.
-                    while (addObjectView == null) {
-                        Thread.sleep(spinInterval);
-                    }
+                    AwaitView(addObjectViewOpened, "add object");
                 } catch (Exception e) {
                     doInBackgroundException = e;
                 }
@@ -647,7 +683,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(results);
             }
         };
-        showAddObjectViewTask.execute();
+        showAddObjectViewTask.Execute(TaskLane.Interactive, null);
     }
     
     @Override
@@ -659,6 +695,7 @@ public class Presenter implements IPresenter {
                 
                 try {
                     CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
                     roles = dataInterface.getRoles();
 
                     // If code execution is in a unit test do not actually create the intent
@@ -669,9 +706,7 @@ public class Presenter implements IPresenter {
                     }
                     
                     // Wait until the activity is opened.
-                    while (selectRoleView == null) {
-                        Thread.sleep(spinInterval);
-                    }
+                    AwaitView(selectRoleViewOpened, "select role");
                     selectRoleView.setObjectName(parameters[0].ObjectName);
                     selectRoleView.setObjectType(parameters[0].ObjectType);
                     
@@ -691,7 +726,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(roles);
             }
         };
-        showSelectRoleViewTask.execute(new ShowSelectRoleViewParameters(objectName, objectType));
+        showSelectRoleViewTask.Execute(TaskLane.Interactive, null, new ShowSelectRoleViewParameters(objectName, objectType));
     }
     
     @Override
@@ -699,13 +734,29 @@ public class Presenter implements IPresenter {
         ExceptionHandlingAsyncTask<ShowSetPermissionsViewParameters, Void, ShowSetPermissionsViewResults> showSetPermissionsViewTask = new ExceptionHandlingAsyncTask<ShowSetPermissionsViewParameters, Void, ShowSetPermissionsViewResults>(selectRoleView) {
             @Override
             protected ShowSetPermissionsViewResults doInBackground(ShowSetPermissionsViewParameters... parameters) {
+                final ShowSetPermissionsViewParameters viewParameters = parameters[0];
                 ArrayList<String> allPermissions = null;
                 ArrayList<String> objectPermissions = null;
                 
                 try {
                     CheckDataInterfaceServiceConnection();
-                    allPermissions = dataInterface.getPermissions(parameters[0].ObjectType);
-                    objectPermissions = dataInterface.getPermissions(parameters[0].ObjectName, parameters[0].Role);
+                    FlushPendingOperations();
+                    ArrayList<Callable<ArrayList<String>>> calls = new ArrayList<Callable<ArrayList<String>>>();
+                    calls.add(new Callable<ArrayList<String>>() {
+                        @Override
+                        public ArrayList<String> call() throws Exception {
+                            return dataInterface.getPermissions(viewParameters.ObjectType);
+                        }
+                    });
+                    calls.add(new Callable<ArrayList<String>>() {
+                        @Override
+                        public ArrayList<String> call() throws Exception {
+                            return dataInterface.getPermissions(viewParameters.ObjectName, viewParameters.Role);
+                        }
+                    });
+                    ArrayList<ArrayList<String>> results = concurrentCallRunner.InvokeAll(calls);
+                    allPermissions = results.get(0);
+                    objectPermissions = results.get(1);
 
                     // If code execution is in a unit test do not actually create the intent
                     if (instantiatedWithTestConstructor == false) {
@@ -715,9 +766,7 @@ public class Presenter implements IPresenter {
                     }
                     
                     // Wait until the activity is opened.
-                    while (setPermissionsView == null) {
-                        Thread.sleep(spinInterval);
-                    }
+                    AwaitView(setPermissionsViewOpened, "set permissions");
                     setPermissionsView.setObjectName(parameters[0].ObjectName);
                     setPermissionsView.setRole(parameters[0].Role);
 
@@ -737,7 +786,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(results);
             }
         };
-        showSetPermissionsViewTask.execute(new ShowSetPermissionsViewParameters(objectName, objectType, role));
+        showSetPermissionsViewTask.Execute(TaskLane.Interactive, null, new ShowSetPermissionsViewParameters(objectName, objectType, role));
     }
     
     @Override
@@ -749,6 +798,7 @@ public class Presenter implements IPresenter {
                 
                 try {
                     CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
                     mappings = dataInterface.getMasterRoleToUserMapCollection();
 
                     // If code execution is in a unit test do not actually create the intent
@@ -759,9 +809,7 @@ public class Presenter implements IPresenter {
                     }
                     
                     // Wait until the activity is opened.
-                    while (roleToUserMapView == null) {
-                        Thread.sleep(spinInterval);
-                    }
+                    AwaitView(roleToUserMapViewOpened, "role to user map");
                 } catch (Exception e) {
                     doInBackgroundException = e;
                 }
@@ -778,7 +826,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(mappings);
             }
         };
-        showRoleToUserMapViewTask.execute();
+        showRoleToUserMapViewTask.Execute(TaskLane.Interactive, null);
     }
     
     @Override
@@ -797,6 +845,7 @@ public class Presenter implements IPresenter {
                 
                 try {
                     CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
                     defaultObjectOwner = dataInterface.getDefaultObjectOwner();
 
                     // If code execution is in a unit test do not actually create the intent
@@ -807,9 +856,7 @@ public class Presenter implements IPresenter {
                     }
                     
                     // Wait until the activity is opened.
-                    while (settingsView == null) {
-                        Thread.sleep(spinInterval);
-                    }
+                    AwaitView(settingsViewOpened, "settings");
                 } catch (Exception e) {
                     doInBackgroundException = e;
                 }
@@ -826,7 +873,7 @@ public class Presenter implements IPresenter {
                 super.onPostExecute(defaultObjectOwner);
             }
         };
-        showSettingsViewTask.execute();
+        showSettingsViewTask.Execute(TaskLane.Interactive, null);
     }
     
     @Override
@@ -838,6 +885,7 @@ public class Presenter implements IPresenter {
                 
                 try {
                     CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
                     returnLocalSettings = dataInterface.getLocalSettings();
 
                     // If code execution is in a unit test do not actually create the intent
@@ -848,9 +896,7 @@ public class Presenter implements IPresenter {
                     }
                     
                     // Wait until the activity is opened.
-                    while (connectionSettingsView == null) {
-                        Thread.sleep(spinInterval);
-                    }
+                    AwaitView(connectionSettingsViewOpened, "connection settings");
                 } catch (Exception e) {
                     doInBackgroundException = e;
                 }
@@ -865,12 +911,13 @@ public class Presenter implements IPresenter {
                     connectionSettingsView.PopulateRemoteDataModelProxyType(localSettings.getRemoteDataModelProxyType());
                     connectionSettingsView.PopulateSoapDataServiceLocation(localSettings.getSoapDataServiceLocation());
                     connectionSettingsView.PopulateRestDataServiceLocation(localSettings.getRestDataServiceLocation());
+                    connectionSettingsView.PopulateRestRequestContextMode(localSettings.getRestRequestContextMode());
                 }
                 
                 super.onPostExecute(localSettings);
             }
         };
-        showConnectionSettingsViewTask.execute();
+        showConnectionSettingsViewTask.Execute(TaskLane.Interactive, null);
     }
     
     @Override
@@ -912,12 +959,140 @@ public class Presenter implements IPresenter {
         System.exit(exitStatus);
     }
     
+    /**
+     * Adds an operation to the write coalescing queue, and schedules the queue to be flushed after the coalescing window if a flush is not already scheduled.
+     * <b>Note</b> - This method should only be called on the UI thread.
+     * @param  operation  The operation to add.
+     */
+    private void QueueOperation(ModelOperation operation) {
+        writeCoalescingQueue.Enqueue(operation);
+        if (operation.getOperationType() == ModelOperationType.AddPermission || operation.getOperationType() == ModelOperationType.RemovePermission) {
+            operationFlushIncludesPermissions = true;
+        }
+        if (operationFlushScheduled == false) {
+            if (operationFlushHandler == null) {
+                operationFlushHandler = new Handler(Looper.getMainLooper());
+            }
+            operationFlushHandler.postDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    boolean includesPermissions = operationFlushIncludesPermissions;
+                    operationFlushScheduled = false;
+                    operationFlushIncludesPermissions = false;
+                    // Queued operations may have cancelled each other out, or been flushed by another task
+                    if (writeCoalescingQueue.getPendingCount() > 0) {
+                        // Permission changes are made in the set permissions view, but that view is cleared when it is closed, so fall back to the object list view in that case
+                        if (includesPermissions == true && setPermissionsView != null) {
+                            FlushOperationQueue(setPermissionsView);
+                        }
+                        else {
+                            FlushOperationQueue(objectListView);
+                        }
+                    }
+                }
+            }, writeCoalescingQueue.getCoalescingWindow());
+            operationFlushScheduled = true;
+        }
+    }
+    
+    /**
+     * Returns the key used to order background tasks which change the specified object.
+     * @param   objectName  The name of the object.
+     * @return              The ordering key.
+     */
+    private String GetObjectOrderingKey(String objectName) {
+        return "Object\n" + objectName;
+    }
+    
+    /**
+     * Returns the key used to order background tasks which change the specified role to user mapping.
+     * @param   role  The role in the mapping.
+     * @param   user  The user in the mapping.
+     * @return        The ordering key.
+     */
+    private String GetRoleToUserMapOrderingKey(String role, String user) {
+        return "RoleToUserMap\n" + role + "\n" + user;
+    }
+    
+    /**
+     * Flushes the write coalescing queue on a background worker thread.
+     * @param  notificationView  The view to use to display notifications to the user.
+     */
+    private void FlushOperationQueue(IMvpView notificationView) {
+        ExceptionHandlingAsyncTask<Void, Void, Void> flushOperationQueueTask = new ExceptionHandlingAsyncTask<Void, Void, Void>(notificationView) {
+            @Override
+            protected Void doInBackground(Void... arg0) {
+                try {
+                    CheckDataInterfaceServiceConnection();
+                    FlushPendingOperations();
+                } catch (Exception e) {
+                    doInBackgroundException = e;
+                }
+                
+                return null;
+            }
+
+            @Override
+            protected void onPostExecute(Void result) {
+                HandleBackgroundException();
+                super.onPostExecute(result);
+            }
+        };
+        flushOperationQueueTask.Execute(TaskLane.Mutation, batchOrderingKey);
+    }
+    
+    /**
+     * Reads the data displayed by the add object view in the prefetch lane, so that the results are cached by the data interface layer before the view is opened.  Any exception is ignored, as the data is read again (and any exception handled) when the view is opened.
+     */
+    private void PrefetchAddObjectViewData() {
+        taskExecutor.Execute(TaskLane.Prefetch, null, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    dataInterface.getObjectTypes();
+                    dataInterface.getDefaultObjectOwner();
+                } catch (Exception e) {
+                    // Ignore the exception, as no user is waiting on the data
+                }
+            }
+        });
+    }
+    
+    /**
+     * Sends any operations held in the write coalescing queue to the data interface layer.  Called at the start of background tasks which access the data interface layer, so that the data layer reflects all changes made in the views before it is read or further modified.
+     * @throws  Exception  if an error occurs when sending the operations, or any of the operations fail.
+     */
+    private void FlushPendingOperations() throws Exception {
+        synchronized (operationFlushLock) {
+            List<ModelOperation> pendingOperations = writeCoalescingQueue.Drain();
+            if (pendingOperations.size() > 0) {
+                ExecuteBatch(pendingOperations);
+            }
+        }
+    }
+    
+    /**
+     * Executes a batch of operations against the data interface layer.
+     * @param   operations  The operations to execute.
+     * @throws  Exception   if an error occurs when executing the batch, or any of the operations fail.
+     */
+    private void ExecuteBatch(List<ModelOperation> operations) throws Exception {
+        ArrayList<ModelOperationResult> results = dataInterface.ExecuteBatch(operations);
+        // Treat the first failed operation as an error, consistent with an exception being thrown by an individual call
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).getSuccess() == false) {
+                ModelOperation failedOperation = operations.get(i);
+                throw new Exception("Operation '" + failedOperation.getOperationType().name() + "' on object '" + failedOperation.getObjectName() + "' failed with error '" + results.get(i).getErrorMessage() + "'.");
+            }
+        }
+    }
+    
     /**
      * Checks that the data interface service is connected, and if not connects.
      * <b>Note</b> - This method attempts to cast private member objectListView to a Context, and hence will likely break if used in unit tests where the object list view is mocked.
      */
     private void CheckDataInterfaceServiceConnection() throws Exception, InterruptedException {
-        if (dataInterfaceServiceConnected == false) {
+        if (connectedDataInterface.get() == null) {
             Context context = (Context)objectListView;
 
             // Create an intent to bind to the data interface service 
@@ -925,21 +1100,16 @@ public class Presenter implements IPresenter {
             context.bindService(dataInterfaceServiceBindIntent, dataInterfaceServiceConnection, Context.BIND_AUTO_CREATE);
 
             // Wait until the dataInterface is set by the onServiceConnected() method.
-            while (dataInterfaceServiceConnected == false) {
-                Thread.sleep(spinInterval);
+            try {
+                connectedDataInterface.Await(readinessTimeout);
+            }
+            catch (TimeoutException e) {
+                context.unbindService(dataInterfaceServiceConnection);
+                throw new TimeoutException("The data interface service was not connected within " + readinessTimeout + " milliseconds.");
             }
             
             // Set the remote data model proxy on the data service
-            switch (dataInterface.getLocalSettings().getRemoteDataModelProxyType()) {
-            case SOAP:
-                SetDataServiceRemoteDataModelProxy(dataInterface.getLocalSettings().getRemoteDataModelProxyType(), dataInterface.getLocalSettings().getSoapDataServiceLocation());
-                break;
-            case REST:
-                SetDataServiceRemoteDataModelProxy(dataInterface.getLocalSettings().getRemoteDataModelProxyType(), dataInterface.getLocalSettings().getRestDataServiceLocation());
-                break;
-            default:
-                throw new Exception("Unhandled " + RemoteDataModelProxyType.class.getName() + " field '" + dataInterface.getLocalSettings().getRemoteDataModelProxyType().name() + "' encountered.");
-            }
+            SetDataServiceRemoteDataModelProxy(dataInterface.getLocalSettings());
             
             // Unbind the context of the object list activity from the service.
             //   According to the Android documentation this should not be done, as the service could be stopped by the OS at any time after unbinding the activity from it
@@ -949,28 +1119,80 @@ public class Presenter implements IPresenter {
         }
     }
     
+    /**
+     * Waits until the specified view is opened (i.e. registers with the presenter), and returns it.
+     * @param   viewOpened            The reference which is set when the view is opened.
+     * @param   viewName              A description of the view to include in the exception message if the view is not opened in time.
+     * @return                        The view.
+     * @throws  InterruptedException  if the current thread is interrupted while waiting.
+     * @throws  TimeoutException      if the view is not opened within the readiness timeout.
+     */
+    private <T> T AwaitView(AwaitableReference<T> viewOpened, String viewName) throws InterruptedException, TimeoutException {
+        try {
+            return viewOpened.Await(readinessTimeout);
+        }
+        catch (TimeoutException e) {
+            throw new TimeoutException("The " + viewName + " view was not opened within " + readinessTimeout + " milliseconds.");
+        }
+    }
+    
+    /**
+     * Sets a remote data model proxy object and associated location on the data layer, based on the type and location in the specified local settings.
+     * @param  localSettings  The local settings containing the type and location of the remote data model proxy to set on the data layer.
+     */
+    private void SetDataServiceRemoteDataModelProxy(LocalSettings localSettings) throws Exception {
+        switch (localSettings.getRemoteDataModelProxyType()) {
+        case SOAP:
+            SetDataServiceRemoteDataModelProxy(RemoteDataModelProxyType.SOAP, localSettings.getSoapDataServiceLocation(), localSettings.getRestRequestContextMode());
+            break;
+        case REST:
+            SetDataServiceRemoteDataModelProxy(RemoteDataModelProxyType.REST, localSettings.getRestDataServiceLocation(), localSettings.getRestRequestContextMode());
+            break;
+        default:
+            throw new Exception("Unhandled " + RemoteDataModelProxyType.class.getName() + " field '" + localSettings.getRemoteDataModelProxyType().name() + "' encountered.");
+        }
+    }
+    
     /**
      * Sets a remote data model proxy object and associated location on the data layer.
      * @param  remoteDataModelProxyType  The type of remote data model proxy to set on the data layer.
      * @param  dataServiceLocation       The location (IP address or hostname and port) of the remote data model proxy, for example '192.168.0.101:5000'.
+     * @param  restRequestContextMode    The way in which the authentication context and tracking data are sent with requests, if the remote data model proxy is a REST proxy.
      */
-    private void SetDataServiceRemoteDataModelProxy(RemoteDataModelProxyType remoteDataModelProxyType, String dataServiceLocation) throws Exception {
+    private void SetDataServiceRemoteDataModelProxy(RemoteDataModelProxyType remoteDataModelProxyType, String dataServiceLocation, RestRequestContextMode restRequestContextMode) throws Exception {
         switch (remoteDataModelProxyType) {
         case SOAP:
             SoapRemoteDataModelProxy soapRemoteDataModelProxy = new SoapRemoteDataModelProxy();
             soapRemoteDataModelProxy.setDataModelLocation(dataServiceLocation);
-            ((DataInterfaceService)dataInterface).setRemoteDataModelProxy(soapRemoteDataModelProxy);
+            ((DataInterfaceService)dataInterface).setRemoteDataModelProxy(new CachingRemoteDataModelProxy(soapRemoteDataModelProxy));
             break;
         case REST:
             RestRemoteDataModelProxy restRemoteDataModelProxy = new RestRemoteDataModelProxy();
             restRemoteDataModelProxy.setDataModelLocation(dataServiceLocation);
-            ((DataInterfaceService)dataInterface).setRemoteDataModelProxy(restRemoteDataModelProxy);
+            restRemoteDataModelProxy.setRequestContextMode(restRequestContextMode);
+            ((DataInterfaceService)dataInterface).setRemoteDataModelProxy(new CachingRemoteDataModelProxy(restRemoteDataModelProxy));
             break;
         default:
             throw new Exception("Unhandled " + RemoteDataModelProxyType.class.getName() + " field '" + remoteDataModelProxyType.name() + "' encountered.");
         }
     }
     
+    /**
+     * Implementation of the ILocalSettingsListener interface which recreates the remote data model proxy on the data layer when the type of the proxy, the location of the data service it connects to, or the REST request context mode is changed.
+     */
+    private class RemoteDataModelProxyUpdater implements ILocalSettingsListener {
+
+        @Override
+        public void LocalSettingsChanged(LocalSettings previousLocalSettings, LocalSettings newLocalSettings) throws Exception {
+            if (newLocalSettings.getRemoteDataModelProxyType() != previousLocalSettings.getRemoteDataModelProxyType() ||
+                (newLocalSettings.getRemoteDataModelProxyType() == RemoteDataModelProxyType.SOAP && newLocalSettings.getSoapDataServiceLocation().equals(previousLocalSettings.getSoapDataServiceLocation()) == false) ||
+                (newLocalSettings.getRemoteDataModelProxyType() == RemoteDataModelProxyType.REST && newLocalSettings.getRestDataServiceLocation().equals(previousLocalSettings.getRestDataServiceLocation()) == false) ||
+                (newLocalSettings.getRemoteDataModelProxyType() == RemoteDataModelProxyType.REST && newLocalSettings.getRestRequestContextMode() != previousLocalSettings.getRestRequestContextMode())) {
+                SetDataServiceRemoteDataModelProxy(newLocalSettings);
+            }
+        }
+    }
+    
     /**
      * Implementation of the ServiceConnection class to facilitate connecting to the android service which provides the data interface for the application.
      * According to Android documentation (http://developer.android.com/reference/android/content/ServiceConnection.html), the callback methods defined in this interface are called from the main thread of the process, hence locks are not placed around access to the 'dataInterface' member.
@@ -983,13 +1205,14 @@ public class Presenter implements IPresenter {
             DataInterfaceServiceBinder binder = (DataInterfaceServiceBinder)service;
             DataInterfaceService dataInterface = binder.getService();
             dataInterface.Initialize();
+            dataInterface.AddLocalSettingsListener(remoteDataModelProxyUpdater);
             Presenter.this.dataInterface = dataInterface;
-            dataInterfaceServiceConnected = true;
+            connectedDataInterface.set(dataInterface);
         }
 
         @Override
         public void onServiceDisconnected(ComponentName name) {
-            dataInterfaceServiceConnected = false;
+            connectedDataInterface.set(null);
         }
     }
     
@@ -1014,6 +1237,10 @@ public class Presenter implements IPresenter {
         protected final String connectExceptionDialogTitle = "Connection Error";
         /** The error message to display if a connection error occurs in the doInBackground() method. */
         protected final String connectExceptionDialogBaseMessage = "Unable to connect to a network.  Please try again when a network is available.";
+        /** The title of the alert dialog which is displayed if a view does not open or the data interface service does not connect in the doInBackground() method. */
+        protected final String timeoutExceptionDialogTitle = "Error";
+        /** The error message to display if a view does not open or the data interface service does not connect in the doInBackground() method. */
+        protected final String timeoutExceptionDialogBaseMessage = "The screen did not respond in time.  Please try again.";
         /** Member which should be assigned an exception, if one occurs in the doInBackground() method. */
         protected Exception doInBackgroundException;
         /** The view to use to display notification to the user (i.e. to wait for the task to complete, or to alert an exception occurs when executing the doInBackground() method). */
@@ -1029,6 +1256,22 @@ public class Presenter implements IPresenter {
             this.notificationDialogDisplayView = notificationDialogDisplayView;
         }
 
+        /**
+         * Executes the task on the presenter's task executor.  On platforms prior to Honeycomb, which do not allow an AsyncTask to be executed on a specified executor, the task is executed using the execute() method and the lane and ordering key are ignored.
+         * @param  lane         The lane to execute the task in.
+         * @param  orderingKey  The key identifying tasks which must execute one at a time in the order they were submitted, or null if the task can execute concurrently with any other task.
+         * @param  parameters   The parameters to pass to the doInBackground() method.
+         */
+        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+        public void Execute(TaskLane lane, String orderingKey, Params... parameters) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+                executeOnExecutor(taskExecutor.getExecutor(lane, orderingKey), parameters);
+            }
+            else {
+                execute(parameters);
+            }
+        }
+        
         @Override
         protected void onPreExecute() {
             notificationDialogDisplayView.ShowWaitDialog(waitDialogTitle, waitDialogMessage);
@@ -1045,7 +1288,7 @@ public class Presenter implements IPresenter {
         }
         
         /**
-         * Handles any exception that occurred when calling the doInBackground() method.  Deriving classes should call this method in their implementation of the onPostExecute() method.  If the exception which occurred is an instance of java.io.IOException, this method will display an alert dialog to ask the user to retry the operation when the network becomes available.  If the exception which occurred is any other type of exception, this method will attempt to log the exception using the presenter's 'exceptionLogger' member, before displaying an alert dialog to inform the user of a critical error, and closing the application. 
+         * Handles any exception that occurred when calling the doInBackground() method.  Deriving classes should call this method in their implementation of the onPostExecute() method.  If the exception which occurred is an instance of java.io.IOException, this method will display an alert dialog to ask the user to retry the operation when the network becomes available.  If the exception is an instance of java.util.concurrent.TimeoutException, this method will log the exception, and display an alert dialog to ask the user to retry the operation.  If the exception which occurred is any other type of exception, this method will attempt to log the exception using the presenter's 'exceptionLogger' member, before displaying an alert dialog to inform the user of a critical error, and closing the application. 
          * @return  Whether an exception occurred.
          */
         protected boolean HandleBackgroundException() {
@@ -1065,6 +1308,19 @@ public class Presenter implements IPresenter {
                     notificationDialogDisplayView.ShowOkDialog(connectExceptionDialogTitle, connectExceptionDialogBaseMessage, alertDialogConfirmationAction);
                 }
                 
+                // If the exception was a TimeoutException (i.e. a view did not open or the data interface service did not connect), log the exception and show an alert dialog to ask the user to retry
+                else if (doInBackgroundException instanceof TimeoutException) {
+                    OnClickListener alertDialogConfirmationAction = new OnClickListener() {
+                        @Override
+                        public void onClick(DialogInterface arg0, int arg1) {
+                            // Close the alert dialog
+                            notificationDialogDisplayView.CloseOkDialog();
+                        }
+                    };
+                    exceptionLogger.LogException(doInBackgroundException);
+                    notificationDialogDisplayView.ShowOkDialog(timeoutExceptionDialogTitle, timeoutExceptionDialogBaseMessage, alertDialogConfirmationAction);
+                }
+                
                 // Otherwise attempt to log the exception and close the application
                 else {
                     OnClickListener alertDialogConfirmationAction = new OnClickListener() {
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes background tasks on a bounded pool of worker threads, taking queued tasks in order of the priority of their lane, and then in the order they were submitted.
+ * <p>Tasks submitted with the same ordering key are executed one at a time in the order they were submitted, regardless of the number of worker threads (e.g. so that changes to the same object reach the data layer in the order they were made).  Tasks with no ordering key may execute concurrently with any other task.</p>
+ * <p>The depth of the queue and the time tasks wait before starting are recorded per lane.</p>
+ * @author Alastair Wyse
+ */
+public class PrioritizedTaskExecutor {
+
+    private ThreadPoolExecutor threadPoolExecutor;
+    // Sequence number assigned to each task on submission, so that tasks in the same lane are taken in submission order
+    private AtomicLong sequenceNumber;
+    // Holds tasks which are waiting on an earlier task with the same ordering key.  The presence of a key indicates that a task with that key is queued or executing.
+    private HashMap<String, LinkedList<PrioritizedTask>> orderedTaskQueues;
+    // Per lane metrics, indexed by the ordinal of the lane
+    private AtomicInteger[] queueDepths;
+    private AtomicLong[] executedCounts;
+    private AtomicLong[] totalWaitTimes;
+    private AtomicLong[] maximumWaitTimes;
+
+    /**
+     * Initialises a new instance of the PrioritizedTaskExecutor class.
+     * @param  threadCount  The number of worker threads to execute tasks on.
+     */
+    public PrioritizedTaskExecutor(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Argument 'threadCount' must be greater than 0.");
+        }
+        
+        threadPoolExecutor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread taskThread = new Thread(runnable, "PrioritizedTaskExecutor task");
+                taskThread.setDaemon(true);
+                return taskThread;
+            }
+        });
+        sequenceNumber = new AtomicLong(0);
+        orderedTaskQueues = new HashMap<String, LinkedList<PrioritizedTask>>();
+        int laneCount = TaskLane.values().length;
+        queueDepths = new AtomicInteger[laneCount];
+        executedCounts = new AtomicLong[laneCount];
+        totalWaitTimes = new AtomicLong[laneCount];
+        maximumWaitTimes = new AtomicLong[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            queueDepths[i] = new AtomicInteger(0);
+            executedCounts[i] = new AtomicLong(0);
+            totalWaitTimes[i] = new AtomicLong(0);
+            maximumWaitTimes[i] = new AtomicLong(0);
+        }
+    }
+    
+    /**
+     * @param   lane  The lane.
+     * @return        The number of tasks in the specified lane which have been submitted but have not yet started executing (including tasks waiting on an earlier task with the same ordering key).
+     */
+    public int getQueueDepth(TaskLane lane) {
+        return queueDepths[lane.ordinal()].get();
+    }
+    
+    /**
+     * @param   lane  The lane.
+     * @return        The number of tasks in the specified lane which have started executing.
+     */
+    public long getExecutedCount(TaskLane lane) {
+        return executedCounts[lane.ordinal()].get();
+    }
+    
+    /**
+     * @param   lane  The lane.
+     * @return        The total time in milliseconds that tasks in the specified lane waited between being submitted and starting to execute.
+     */
+    public long getTotalWaitTime(TaskLane lane) {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitTimes[lane.ordinal()].get());
+    }
+    
+    /**
+     * @param   lane  The lane.
+     * @return        The longest time in milliseconds that a task in the specified lane waited between being submitted and starting to execute.
+     */
+    public long getMaximumWaitTime(TaskLane lane) {
+        return TimeUnit.NANOSECONDS.toMillis(maximumWaitTimes[lane.ordinal()].get());
+    }
+    
+    /**
+     * Submits a task for execution.
+     * @param   lane                        The lane to execute the task in.
+     * @param   orderingKey                 The key identifying tasks which must execute one at a time in the order they were submitted (e.g. the name of the object the task changes), or null if the task can execute concurrently with any other task.
+     * @param   task                        The task to execute.
+     * @throws  RejectedExecutionException  if the executor has been shut down.
+     */
+    public void Execute(TaskLane lane, String orderingKey, Runnable task) {
+        if (lane == null) {
+            throw new IllegalArgumentException("Argument 'lane' cannot be null.");
+        }
+        if (task == null) {
+            throw new IllegalArgumentException("Argument 'task' cannot be null.");
+        }
+        
+        PrioritizedTask prioritizedTask = new PrioritizedTask(lane, orderingKey, task);
+        queueDepths[lane.ordinal()].incrementAndGet();
+        if (orderingKey != null) {
+            synchronized (orderedTaskQueues) {
+                LinkedList<PrioritizedTask> orderedTaskQueue = orderedTaskQueues.get(orderingKey);
+                if (orderedTaskQueue != null) {
+                    // An earlier task with the same key is queued or executing, so hold this task until it completes
+                    orderedTaskQueue.add(prioritizedTask);
+                    return;
+                }
+                orderedTaskQueues.put(orderingKey, new LinkedList<PrioritizedTask>());
+            }
+        }
+        try {
+            threadPoolExecutor.execute(prioritizedTask);
+        }
+        catch (RejectedExecutionException e) {
+            queueDepths[lane.ordinal()].decrementAndGet();
+            if (orderingKey != null) {
+                synchronized (orderedTaskQueues) {
+                    orderedTaskQueues.remove(orderingKey);
+                }
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Returns a java.util.concurrent.Executor which submits tasks to this executor in the specified lane and with the specified ordering key (e.g. for use with android.os.AsyncTask.executeOnExecutor()).
+     * @param   lane         The lane to execute tasks in.
+     * @param   orderingKey  The ordering key to submit tasks with, or null.
+     * @return               The executor.
+     */
+    public Executor getExecutor(final TaskLane lane, final String orderingKey) {
+        return new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                Execute(lane, orderingKey, task);
+            }
+        };
+    }
+    
+    /**
+     * Stops the worker threads.  Tasks which have not started executing are discarded.
+     */
+    public void Shutdown() {
+        threadPoolExecutor.shutdownNow();
+    }
+    
+    /**
+     * Submits the next task waiting on the inputted ordering key for execution, or releases the key if there are no waiting tasks.
+     * @param  orderingKey  The ordering key.
+     */
+    private void ReleaseOrderingKey(String orderingKey) {
+        PrioritizedTask nextTask;
+        synchronized (orderedTaskQueues) {
+            nextTask = orderedTaskQueues.get(orderingKey).poll();
+            if (nextTask == null) {
+                orderedTaskQueues.remove(orderingKey);
+                return;
+            }
+        }
+        try {
+            threadPoolExecutor.execute(nextTask);
+        }
+        catch (RejectedExecutionException e) {
+            // The executor has been shut down, so the waiting task is discarded along with any other queued tasks
+        }
+    }
+    
+    /**
+     * Records the metrics for a task which is starting to execute.
+     * @param  lane      The lane of the task.
+     * @param  waitTime  The time in nanoseconds the task waited before starting.
+     */
+    private void RecordTaskStart(TaskLane lane, long waitTime) {
+        int laneIndex = lane.ordinal();
+        queueDepths[laneIndex].decrementAndGet();
+        executedCounts[laneIndex].incrementAndGet();
+        totalWaitTimes[laneIndex].addAndGet(waitTime);
+        long currentMaximum = maximumWaitTimes[laneIndex].get();
+        while (waitTime > currentMaximum && maximumWaitTimes[laneIndex].compareAndSet(currentMaximum, waitTime) == false) {
+            currentMaximum = maximumWaitTimes[laneIndex].get();
+        }
+    }
+    
+    /**
+     * A task submitted to the executor, ordered by the priority of its lane and then by the order it was submitted.
+     */
+    private class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        
+        private TaskLane lane;
+        private String orderingKey;
+        private Runnable task;
+        private long sequence;
+        private long submittedTime;
+        
+        public PrioritizedTask(TaskLane lane, String orderingKey, Runnable task) {
+            this.lane = lane;
+            this.orderingKey = orderingKey;
+            this.task = task;
+            sequence = sequenceNumber.getAndIncrement();
+            submittedTime = System.nanoTime();
+        }
+        
+        @Override
+        public void run() {
+            RecordTaskStart(lane, System.nanoTime() - submittedTime);
+            try {
+                task.run();
+            }
+            finally {
+                if (orderingKey != null) {
+                    ReleaseOrderingKey(orderingKey);
+                }
+            }
+        }
+        
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            if (lane != other.lane) {
+                return (lane.ordinal() < other.lane.ordinal()) ? -1 : 1;
+            }
+            if (sequence != other.sequence) {
+                return (sequence < other.sequence) ? -1 : 1;
+            }
+            return 0;
+        }
+    }
+}
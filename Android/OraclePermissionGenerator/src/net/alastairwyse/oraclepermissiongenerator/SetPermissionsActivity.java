@@ -17,6 +17,7 @@
 package net.alastairwyse.oraclepermissiongenerator;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import android.os.Bundle;
 import android.view.View;
@@ -80,8 +81,9 @@ public class SetPermissionsActivity extends BaseActivity implements ISetPermissi
     
     @Override
     public void PopulatePermissions(ArrayList<String> objectPermission, ArrayList<String> allPermissions) {
+        HashSet<String> objectPermissionSet = new HashSet<String>(objectPermission);
         for (String currentPermssion : allPermissions) {
-            if (objectPermission.contains(currentPermssion)) {
+            if (objectPermissionSet.contains(currentPermssion)) {
                 permissionListData.add(new MultipleChoiceListItem(currentPermssion, true));
             }
             else {
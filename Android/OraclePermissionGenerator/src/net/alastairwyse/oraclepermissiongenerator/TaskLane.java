@@ -0,0 +1,30 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator;
+
+/**
+ * Represents the priority lane a background task is executed in by a PrioritizedTaskExecutor.  Lanes are listed in order of descending priority.
+ * @author Alastair Wyse
+ */
+public enum TaskLane {
+    /** Reads of the data layer which a user is waiting on (e.g. to populate a view) */
+    Interactive, 
+    /** Changes to the data layer made by a user */
+    Mutation, 
+    /** Speculative reads of the data layer which no user is currently waiting on */
+    Prefetch
+}
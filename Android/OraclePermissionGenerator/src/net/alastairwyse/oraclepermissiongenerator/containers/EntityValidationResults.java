@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.containers;
+
+import java.util.ArrayList;
+
+/**
+ * Contains the results of validating a set of candidate Oracle objects and role to user mappings in a single call to the remote data model.
+ * @author Alastair Wyse
+ */
+public class EntityValidationResults {
+
+    private ArrayList<ObjectValidationResult> objectResults;
+    private ArrayList<ValidationResult> roleToUserMapResults;
+    
+    /**
+     * @return  The result of validating each object, in the same order as the objects were provided.
+     */
+    public ArrayList<ObjectValidationResult> getObjectResults() {
+        return objectResults;
+    }
+    
+    /**
+     * @return  The result of validating each role to user mapping, in the same order as the mappings were provided.
+     */
+    public ArrayList<ValidationResult> getRoleToUserMapResults() {
+        return roleToUserMapResults;
+    }
+    
+    /**
+     * Initialises a new instance of the EntityValidationResults class.
+     * @param  objectResults         The result of validating each object, in the same order as the objects were provided.
+     * @param  roleToUserMapResults  The result of validating each role to user mapping, in the same order as the mappings were provided.
+     */
+    public EntityValidationResults(ArrayList<ObjectValidationResult> objectResults, ArrayList<ValidationResult> roleToUserMapResults) {
+        this.objectResults = objectResults;
+        this.roleToUserMapResults = roleToUserMapResults;
+    }
+}
@@ -26,6 +26,25 @@ public class LocalSettings {
     private RemoteDataModelProxyType remoteDataModelProxyType;
     private String soapDataServiceLocation;
     private String restDataServiceLocation;
+    private RestRequestContextMode restRequestContextMode = RestRequestContextMode.QueryString;
+    
+    /**
+     * Initialises a new instance of the LocalSettings class.
+     */
+    public LocalSettings() {
+    }
+    
+    /**
+     * Initialises a new instance of the LocalSettings class, copying the settings from an existing instance.
+     * @param  localSettings  The local settings to copy.
+     */
+    public LocalSettings(LocalSettings localSettings) {
+        this.userIdentifier = localSettings.userIdentifier;
+        this.remoteDataModelProxyType = localSettings.remoteDataModelProxyType;
+        this.soapDataServiceLocation = localSettings.soapDataServiceLocation;
+        this.restDataServiceLocation = localSettings.restDataServiceLocation;
+        this.restRequestContextMode = localSettings.restRequestContextMode;
+    }
     
     /**
      * @return  The unique identifier of the user of the application.
@@ -83,4 +102,18 @@ public class LocalSettings {
     public void setRestDataServiceLocation(String restDataServiceLocation) {
         this.restDataServiceLocation = restDataServiceLocation;
     }
+    
+    /**
+     * @return  The way in which the authentication context and tracking data are sent with requests to the REST data service.
+     */
+    public RestRequestContextMode getRestRequestContextMode() {
+        return restRequestContextMode;
+    }
+    
+    /**
+     * @param  restRequestContextMode  The way in which the authentication context and tracking data are sent with requests to the REST data service.  Defaults to RestRequestContextMode.QueryString, which is supported by all versions of the REST data service.
+     */
+    public void setRestRequestContextMode(RestRequestContextMode restRequestContextMode) {
+        this.restRequestContextMode = restRequestContextMode;
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.containers;
+
+import java.util.ArrayList;
+
+/**
+ * Contains the changes made to the objects and role to user mappings in the data model since a specified version of the data model.
+ * Each changed object and role to user mapping is held in its current state, so applying the same change set more than once gives the same result.
+ * @author Alastair Wyse
+ */
+public class ModelChangeSet {
+
+    private long modelVersion;
+    private boolean snapshotRequired;
+    private ArrayList<OracleObjectPermissionSet> addedObjects;
+    private ArrayList<OracleObjectPermissionSet> modifiedObjects;
+    private ArrayList<String> removedObjectNames;
+    private ArrayList<RoleToUserMap> addedRoleToUserMaps;
+    private ArrayList<RoleToUserMap> removedRoleToUserMaps;
+    
+    /**
+     * @return  The version of the data model which the changes bring the specified version up to.
+     */
+    public long getModelVersion() {
+        return modelVersion;
+    }
+    
+    /**
+     * @return  Whether the changes since the specified version are not available, in which case the complete lists of objects and role to user mappings must be retrieved instead.
+     */
+    public boolean getSnapshotRequired() {
+        return snapshotRequired;
+    }
+    
+    /**
+     * @return  The objects which were added to the data model.
+     */
+    public ArrayList<OracleObjectPermissionSet> getAddedObjects() {
+        return addedObjects;
+    }
+    
+    /**
+     * @return  The objects which were changed, in their current state.
+     */
+    public ArrayList<OracleObjectPermissionSet> getModifiedObjects() {
+        return modifiedObjects;
+    }
+    
+    /**
+     * @return  The names of the objects which were removed from the data model.
+     */
+    public ArrayList<String> getRemovedObjectNames() {
+        return removedObjectNames;
+    }
+    
+    /**
+     * @return  The role to user mappings which were added to the data model.
+     */
+    public ArrayList<RoleToUserMap> getAddedRoleToUserMaps() {
+        return addedRoleToUserMaps;
+    }
+    
+    /**
+     * @return  The role to user mappings which were removed from the data model.
+     */
+    public ArrayList<RoleToUserMap> getRemovedRoleToUserMaps() {
+        return removedRoleToUserMaps;
+    }
+    
+    /**
+     * Initialises a new instance of the ModelChangeSet class.
+     * @param  modelVersion           The version of the data model which the changes bring the specified version up to.
+     * @param  snapshotRequired       Whether the changes since the specified version are not available, in which case the complete lists of objects and role to user mappings must be retrieved instead.
+     * @param  addedObjects           The objects which were added to the data model.
+     * @param  modifiedObjects        The objects which were changed, in their current state.
+     * @param  removedObjectNames     The names of the objects which were removed from the data model.
+     * @param  addedRoleToUserMaps    The role to user mappings which were added to the data model.
+     * @param  removedRoleToUserMaps  The role to user mappings which were removed from the data model.
+     */
+    public ModelChangeSet(long modelVersion, boolean snapshotRequired, ArrayList<OracleObjectPermissionSet> addedObjects, ArrayList<OracleObjectPermissionSet> modifiedObjects, ArrayList<String> removedObjectNames, ArrayList<RoleToUserMap> addedRoleToUserMaps, ArrayList<RoleToUserMap> removedRoleToUserMaps) {
+        this.modelVersion = modelVersion;
+        this.snapshotRequired = snapshotRequired;
+        this.addedObjects = addedObjects;
+        this.modifiedObjects = modifiedObjects;
+        this.removedObjectNames = removedObjectNames;
+        this.addedRoleToUserMaps = addedRoleToUserMaps;
+        this.removedRoleToUserMaps = removedRoleToUserMaps;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.containers;
+
+/**
+ * Container class representing a single mutating operation on the data model, to be executed as part of a batch.
+ * @author Alastair Wyse
+ */
+public class ModelOperation {
+
+    private ModelOperationType operationType;
+    private String objectName;
+    private String role;
+    private String permission;
+    private boolean flagValue;
+    
+    /**
+     * @return  The type of the operation.
+     */
+    public ModelOperationType getOperationType() {
+        return operationType;
+    }
+    
+    /**
+     * @return  The name of the object the operation applies to.
+     */
+    public String getObjectName() {
+        return objectName;
+    }
+    
+    /**
+     * @return  The role the operation applies to (only set for AddPermission and RemovePermission operations).
+     */
+    public String getRole() {
+        return role;
+    }
+    
+    /**
+     * @return  The permission to add or remove (only set for AddPermission and RemovePermission operations).
+     */
+    public String getPermission() {
+        return permission;
+    }
+    
+    /**
+     * @return  The value to set the flag to (only used for SetAddFlag and SetRemoveFlag operations).
+     */
+    public boolean getFlagValue() {
+        return flagValue;
+    }
+    
+    /**
+     * Initialises a new instance of the ModelOperation class, representing an AddPermission or RemovePermission operation.
+     * @param  operationType  The type of the operation.  Must be either AddPermission or RemovePermission.
+     * @param  objectName     The name of the object the operation applies to.
+     * @param  role           The role the operation applies to.
+     * @param  permission     The permission to add or remove.
+     */
+    public ModelOperation(ModelOperationType operationType, String objectName, String role, String permission) {
+        if (operationType != ModelOperationType.AddPermission && operationType != ModelOperationType.RemovePermission) {
+            throw new IllegalArgumentException("Argument 'operationType' must be either '" + ModelOperationType.AddPermission.name() + "' or '" + ModelOperationType.RemovePermission.name() + "'.");
+        }
+        
+        this.operationType = operationType;
+        this.objectName = objectName;
+        this.role = role;
+        this.permission = permission;
+    }
+    
+    /**
+     * Initialises a new instance of the ModelOperation class, representing a SetAddFlag or SetRemoveFlag operation.
+     * @param  operationType  The type of the operation.  Must be either SetAddFlag or SetRemoveFlag.
+     * @param  objectName     The name of the object the operation applies to.
+     * @param  flagValue      The value to set the flag to.
+     */
+    public ModelOperation(ModelOperationType operationType, String objectName, boolean flagValue) {
+        if (operationType != ModelOperationType.SetAddFlag && operationType != ModelOperationType.SetRemoveFlag) {
+            throw new IllegalArgumentException("Argument 'operationType' must be either '" + ModelOperationType.SetAddFlag.name() + "' or '" + ModelOperationType.SetRemoveFlag.name() + "'.");
+        }
+        
+        this.operationType = operationType;
+        this.objectName = objectName;
+        this.flagValue = flagValue;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.containers;
+
+/**
+ * Contains the result of executing a single ModelOperation as part of a batch.
+ * @author Alastair Wyse
+ */
+public class ModelOperationResult {
+
+    private boolean success;
+    private String errorMessage;
+    
+    /**
+     * @return  Whether the operation was executed successfully.
+     */
+    public boolean getSuccess() {
+        return success;
+    }
+    
+    /**
+     * @return  The error message generated in the case that the operation failed.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    /**
+     * Initialises a new instance of the ModelOperationResult class.
+     * @param  success       Whether the operation was executed successfully.
+     * @param  errorMessage  The error message generated in the case that the operation failed.
+     */
+    public ModelOperationResult(boolean success, String errorMessage) {
+        this.success = success;
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.containers;
+
+/**
+ * Represents the type of a mutating operation which can be executed against the data model as part of a batch.
+ * @author Alastair Wyse
+ */
+public enum ModelOperationType {
+    /** Adds a permission to an object and role */
+    AddPermission, 
+    /** Removes a permission from an object and role */
+    RemovePermission, 
+    /** Sets the add flag of an object */
+    SetAddFlag, 
+    /** Sets the remove flag of an object */
+    SetRemoveFlag
+}
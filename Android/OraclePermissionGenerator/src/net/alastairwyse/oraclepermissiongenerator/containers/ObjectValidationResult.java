@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.containers;
+
+/**
+ * Contains the results of validating each field of a single candidate Oracle object.
+ * @author Alastair Wyse
+ */
+public class ObjectValidationResult {
+
+    private ValidationResult objectNameResult;
+    private ValidationResult objectTypeResult;
+    private ValidationResult objectOwnerResult;
+    
+    /**
+     * @return  The result of validating the name of the object.
+     */
+    public ValidationResult getObjectNameResult() {
+        return objectNameResult;
+    }
+    
+    /**
+     * @return  The result of validating the type of the object.
+     */
+    public ValidationResult getObjectTypeResult() {
+        return objectTypeResult;
+    }
+    
+    /**
+     * @return  The result of validating the owner of the object.
+     */
+    public ValidationResult getObjectOwnerResult() {
+        return objectOwnerResult;
+    }
+    
+    /**
+     * Initialises a new instance of the ObjectValidationResult class.
+     * @param  objectNameResult   The result of validating the name of the object.
+     * @param  objectTypeResult   The result of validating the type of the object.
+     * @param  objectOwnerResult  The result of validating the owner of the object.
+     */
+    public ObjectValidationResult(ValidationResult objectNameResult, ValidationResult objectTypeResult, ValidationResult objectOwnerResult) {
+        this.objectNameResult = objectNameResult;
+        this.objectTypeResult = objectTypeResult;
+        this.objectOwnerResult = objectOwnerResult;
+    }
+}
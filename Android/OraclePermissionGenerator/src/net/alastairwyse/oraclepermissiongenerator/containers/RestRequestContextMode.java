@@ -0,0 +1,28 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.containers;
+
+/**
+ * Represents the way in which the authentication context and tracking data are sent with REST requests.
+ * @author Alastair Wyse
+ */
+public enum RestRequestContextMode {
+    /** The authentication context and tracking data are sent as parameters in the query portion of the URL (supported by all versions of the REST web service) */
+    QueryString,
+    /** The authentication context and tracking data are sent as request headers, so that the URL of a resource does not change when the tracking data changes */
+    Headers
+}
@@ -16,11 +16,16 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
 import android.content.Context;
 import android.content.Intent;
 
 /**
  * Sends an Oracle script to another application via an Android Intent.
+ * <p>The script is sent as the text extra of the Intent, so is held in memory by the writer until it is closed.</p>
  * @author Alastair Wyse
  */
 public class AndroidIntentScriptPersister implements IScriptPersister {
@@ -37,7 +42,26 @@ public class AndroidIntentScriptPersister implements IScriptPersister {
     }
     
     @Override
-    public void Write(String scriptText) {
+    public Writer CreateWriter() {
+        return new StringWriter() {
+            private boolean closed = false;
+            
+            @Override
+            public void close() throws IOException {
+                if (closed == false) {
+                    closed = true;
+                    super.close();
+                    Send(toString());
+                }
+            }
+        };
+    }
+    
+    /**
+     * Sends the specified script to another application.
+     * @param  scriptText  The text of the script.
+     */
+    private void Send(String scriptText) {
         Intent sendIntent = new Intent();
         sendIntent.setAction(Intent.ACTION_SEND);
         sendIntent.putExtra(Intent.EXTRA_TEXT, scriptText);
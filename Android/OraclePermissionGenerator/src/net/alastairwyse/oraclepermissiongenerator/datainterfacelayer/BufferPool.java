@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+/**
+ * Thread-safe, bounded pool of fixed size byte and character buffers, which allows buffers used to read network responses to be reused rather than allocated for each response.
+ * @author Alastair Wyse
+ */
+public class BufferPool {
+
+    private int bufferSize;
+    private byte[][] byteBuffers;
+    private int byteBufferCount;
+    private char[][] charBuffers;
+    private int charBufferCount;
+    private Object byteBuffersLock;
+    private Object charBuffersLock;
+
+    /**
+     * Initialises a new instance of the BufferPool class.
+     * @param  bufferSize        The size of each buffer in the pool.
+     * @param  maximumPoolSize   The maximum number of buffers of each type (byte and character) to retain in the pool for reuse.
+     */
+    public BufferPool(int bufferSize, int maximumPoolSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Argument 'bufferSize' must be greater than 0.");
+        }
+        if (maximumPoolSize < 0) {
+            throw new IllegalArgumentException("Argument 'maximumPoolSize' must be greater than or equal to 0.");
+        }
+
+        this.bufferSize = bufferSize;
+        byteBuffers = new byte[maximumPoolSize][];
+        byteBufferCount = 0;
+        charBuffers = new char[maximumPoolSize][];
+        charBufferCount = 0;
+        byteBuffersLock = new Object();
+        charBuffersLock = new Object();
+    }
+
+    /**
+     * @return  The size of each buffer in the pool.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Takes a byte buffer from the pool, or allocates a new buffer if the pool is empty.
+     * @return  The byte buffer.
+     */
+    public byte[] TakeByteBuffer() {
+        synchronized (byteBuffersLock) {
+            if (byteBufferCount > 0) {
+                byteBufferCount--;
+                byte[] returnBuffer = byteBuffers[byteBufferCount];
+                byteBuffers[byteBufferCount] = null;
+                return returnBuffer;
+            }
+        }
+        return new byte[bufferSize];
+    }
+
+    /**
+     * Returns a byte buffer to the pool for reuse.  If the pool is full the buffer is discarded.
+     * @param  buffer  The byte buffer, which must previously have been taken from this pool.
+     */
+    public void ReturnByteBuffer(byte[] buffer) {
+        if (buffer.length != bufferSize) {
+            throw new IllegalArgumentException("Argument 'buffer' was not taken from this pool.");
+        }
+        synchronized (byteBuffersLock) {
+            if (byteBufferCount < byteBuffers.length) {
+                byteBuffers[byteBufferCount] = buffer;
+                byteBufferCount++;
+            }
+        }
+    }
+
+    /**
+     * Takes a character buffer from the pool, or allocates a new buffer if the pool is empty.
+     * @return  The character buffer.
+     */
+    public char[] TakeCharBuffer() {
+        synchronized (charBuffersLock) {
+            if (charBufferCount > 0) {
+                charBufferCount--;
+                char[] returnBuffer = charBuffers[charBufferCount];
+                charBuffers[charBufferCount] = null;
+                return returnBuffer;
+            }
+        }
+        return new char[bufferSize];
+    }
+
+    /**
+     * Returns a character buffer to the pool for reuse.  If the pool is full the buffer is discarded.
+     * @param  buffer  The character buffer, which must previously have been taken from this pool.
+     */
+    public void ReturnCharBuffer(char[] buffer) {
+        if (buffer.length != bufferSize) {
+            throw new IllegalArgumentException("Argument 'buffer' was not taken from this pool.");
+        }
+        synchronized (charBuffersLock) {
+            if (charBufferCount < charBuffers.length) {
+                charBuffers[charBufferCount] = buffer;
+                charBufferCount++;
+            }
+        }
+    }
+
+    /**
+     * @return  The number of byte buffers currently held in the pool.
+     */
+    public int getAvailableByteBuffers() {
+        synchronized (byteBuffersLock) {
+            return byteBufferCount;
+        }
+    }
+
+    /**
+     * @return  The number of character buffers currently held in the pool.
+     */
+    public int getAvailableCharBuffers() {
+        synchronized (charBuffersLock) {
+            return charBufferCount;
+        }
+    }
+}
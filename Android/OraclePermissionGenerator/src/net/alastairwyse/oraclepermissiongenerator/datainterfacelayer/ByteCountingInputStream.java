@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.io.*;
+
+/**
+ * Wrapper around an InputStream which counts the number of bytes read from the stream.
+ * @author Alastair Wyse
+ */
+public class ByteCountingInputStream extends FilterInputStream {
+
+    private long byteCount;
+
+    /**
+     * Initialises a new instance of the ByteCountingInputStream class.
+     * @param  inputStream  The stream to count bytes read from.
+     */
+    public ByteCountingInputStream(InputStream inputStream) {
+        super(inputStream);
+        byteCount = 0;
+    }
+
+    /**
+     * @return  The number of bytes read from the stream.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int returnByte = super.read();
+        if (returnByte != -1) {
+            byteCount++;
+        }
+        return returnByte;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int bytesRead = super.read(buffer, offset, length);
+        if (bytesRead > 0) {
+            byteCount = byteCount + bytesRead;
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public long skip(long byteCount) throws IOException {
+        long skipped = super.skip(byteCount);
+        this.byteCount = this.byteCount + skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
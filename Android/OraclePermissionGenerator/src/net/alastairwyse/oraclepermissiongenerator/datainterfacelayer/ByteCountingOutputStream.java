@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.io.*;
+
+/**
+ * Wrapper around an OutputStream which counts the number of bytes written to the stream.
+ * @author Alastair Wyse
+ */
+public class ByteCountingOutputStream extends FilterOutputStream {
+
+    private long byteCount;
+
+    /**
+     * Initialises a new instance of the ByteCountingOutputStream class.
+     * @param  outputStream  The stream to count bytes written to.
+     */
+    public ByteCountingOutputStream(OutputStream outputStream) {
+        super(outputStream);
+        byteCount = 0;
+    }
+
+    /**
+     * @return  The number of bytes written to the stream.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    @Override
+    public void write(int oneByte) throws IOException {
+        out.write(oneByte);
+        byteCount++;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        // Overridden as FilterOutputStream writes arrays one byte at a time
+        out.write(buffer, offset, length);
+        byteCount = byteCount + length;
+    }
+}
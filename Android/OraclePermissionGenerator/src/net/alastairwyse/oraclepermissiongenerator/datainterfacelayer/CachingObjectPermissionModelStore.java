@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Decorates a persistent IObjectPermissionModelStore with an in-memory cache of its contents (e.g. a ColumnarObjectPermissionModelStore), so that queries are answered from memory rather than from persistent storage.
+ * <p>Changes are made to the persistent store first, and then to the cache.  The cache is populated with the contents passed to Load(), or from the contents of the persistent store the first time it is queried if the store was populated previously (e.g. by a previous instance of the application).  Changes made while the cache is not populated are only made to the persistent store, and are included when the cache is subsequently populated from it.</p>
+ * <b>Note</b> this class is not thread safe, and access to an instance must be synchronized by the caller.
+ * @author Alastair Wyse
+ */
+public class CachingObjectPermissionModelStore implements IObjectPermissionModelStore {
+
+    private IObjectPermissionModelStore persistentStore;
+    private IObjectPermissionModelStore cacheStore;
+    
+    /**
+     * Initialises a new instance of the CachingObjectPermissionModelStore class.
+     * @param  persistentStore  The persistent model store to decorate.
+     * @param  cacheStore       The in-memory model store to cache the contents of the persistent store in.
+     */
+    public CachingObjectPermissionModelStore(IObjectPermissionModelStore persistentStore, IObjectPermissionModelStore cacheStore) {
+        if (persistentStore == null) {
+            throw new IllegalArgumentException("Argument 'persistentStore' cannot be null.");
+        }
+        if (cacheStore == null) {
+            throw new IllegalArgumentException("Argument 'cacheStore' cannot be null.");
+        }
+        
+        this.persistentStore = persistentStore;
+        this.cacheStore = cacheStore;
+    }
+    
+    @Override
+    public String getIdentity() {
+        return GetReadStore().getIdentity();
+    }
+    
+    @Override
+    public long getModelVersion() {
+        return GetReadStore().getModelVersion();
+    }
+    
+    @Override
+    public boolean getIsPopulated() {
+        return GetReadStore().getIsPopulated();
+    }
+    
+    @Override
+    public ArrayList<OracleObjectPermissionSet> getObjects() {
+        return GetReadStore().getObjects();
+    }
+    
+    @Override
+    public ArrayList<String> getRoles() {
+        return GetReadStore().getRoles();
+    }
+    
+    @Override
+    public ArrayList<RoleToUserMap> getRoleToUserMaps() {
+        return GetReadStore().getRoleToUserMaps();
+    }
+    
+    @Override
+    public ArrayList<String> getPermissions(String objectName, String role) {
+        return GetReadStore().getPermissions(objectName, role);
+    }
+    
+    @Override
+    public ArrayList<String> RoleGetReferencingObjects(String role) {
+        return GetReadStore().RoleGetReferencingObjects(role);
+    }
+    
+    @Override
+    public int RoleGetReferencingObjectCount(String role) {
+        return GetReadStore().RoleGetReferencingObjectCount(role);
+    }
+    
+    @Override
+    public int RoleGetUserMapCount(String role) {
+        return GetReadStore().RoleGetUserMapCount(role);
+    }
+    
+    @Override
+    public void Load(String identity, long modelVersion, List<OracleObjectPermissionSet> objects, List<String> roles, List<RoleToUserMap> roleToUserMaps) {
+        persistentStore.Load(identity, modelVersion, objects, roles, roleToUserMaps);
+        cacheStore.Load(identity, modelVersion, objects, roles, roleToUserMaps);
+    }
+    
+    @Override
+    public void Apply(ModelChangeSet changeSet) {
+        persistentStore.Apply(changeSet);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.Apply(changeSet);
+        }
+    }
+    
+    @Override
+    public void setRoles(List<String> roles) {
+        persistentStore.setRoles(roles);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.setRoles(roles);
+        }
+    }
+    
+    @Override
+    public void AddObjectPermissionSet(OracleObjectPermissionSet objectPermissionSet) {
+        persistentStore.AddObjectPermissionSet(objectPermissionSet);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.AddObjectPermissionSet(objectPermissionSet);
+        }
+    }
+    
+    @Override
+    public void RemoveObjectPermissionSet(String objectName) {
+        persistentStore.RemoveObjectPermissionSet(objectName);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.RemoveObjectPermissionSet(objectName);
+        }
+    }
+    
+    @Override
+    public void SetAddFlag(String objectName, boolean addFlagValue) {
+        persistentStore.SetAddFlag(objectName, addFlagValue);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.SetAddFlag(objectName, addFlagValue);
+        }
+    }
+    
+    @Override
+    public void SetRemoveFlag(String objectName, boolean removeFlagValue) {
+        persistentStore.SetRemoveFlag(objectName, removeFlagValue);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.SetRemoveFlag(objectName, removeFlagValue);
+        }
+    }
+    
+    @Override
+    public void AddPermission(String objectName, String role, String permission) {
+        persistentStore.AddPermission(objectName, role, permission);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.AddPermission(objectName, role, permission);
+        }
+    }
+    
+    @Override
+    public void RemovePermission(String objectName, String role, String permission) {
+        persistentStore.RemovePermission(objectName, role, permission);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.RemovePermission(objectName, role, permission);
+        }
+    }
+    
+    @Override
+    public void AddRoleToUserMap(String role, String user) {
+        persistentStore.AddRoleToUserMap(role, user);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.AddRoleToUserMap(role, user);
+        }
+    }
+    
+    @Override
+    public void RemoveRoleToUserMap(String role, String user) {
+        persistentStore.RemoveRoleToUserMap(role, user);
+        if (cacheStore.getIsPopulated() == true) {
+            cacheStore.RemoveRoleToUserMap(role, user);
+        }
+    }
+    
+    @Override
+    public void Clear() {
+        persistentStore.Clear();
+        cacheStore.Clear();
+    }
+    
+    /**
+     * Returns the store to answer queries from, populating the cache from the persistent store if the cache is not populated and the persistent store is.
+     * @return  The cache if it is populated, otherwise the persistent store.
+     */
+    private IObjectPermissionModelStore GetReadStore() {
+        if (cacheStore.getIsPopulated() == true) {
+            return cacheStore;
+        }
+        if (persistentStore.getIsPopulated() == true) {
+            cacheStore.Load(persistentStore.getIdentity(), persistentStore.getModelVersion(), persistentStore.getObjects(), persistentStore.getRoles(), persistentStore.getRoleToUserMaps());
+            return cacheStore;
+        }
+        return persistentStore;
+    }
+}
@@ -0,0 +1,518 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Decorates an IRemoteDataModelProxy, caching the results of methods which return reference data that rarely changes (object types, roles, permissions for an object type, and the default object owner).
+ * <p>Each cached result is considered fresh for a configurable time to live.  Once the time to live has elapsed, the stale result is still returned to the caller, and the result is refreshed from the decorated proxy in the background.  Cached results are invalidated when a method which could change them is called.  All other methods are passed straight through to the decorated proxy.</p>
+ * @author Alastair Wyse
+ */
+public class CachingRemoteDataModelProxy implements IRemoteDataModelProxy {
+
+    private final long defaultObjectTypesTimeToLive = 3600000;
+    private final long defaultRolesTimeToLive = 300000;
+    private final long defaultPermissionsTimeToLive = 3600000;
+    private final long defaultDefaultObjectOwnerTimeToLive = 300000;
+    private final String objectTypesCacheKey = "ObjectTypes";
+    private final String rolesCacheKey = "Roles";
+    private final String permissionsCacheKeyPrefix = "Permissions\0";
+    private final String defaultObjectOwnerCacheKey = "DefaultObjectOwner";
+
+    private IRemoteDataModelProxy remoteDataModelProxy;
+    private Executor refreshExecutor;
+    private ExecutorService ownedRefreshExecutor;
+    private volatile long objectTypesTimeToLive;
+    private volatile long rolesTimeToLive;
+    private volatile long permissionsTimeToLive;
+    private volatile long defaultObjectOwnerTimeToLive;
+    /** The cached results, keyed by the method and any parameters which identify the result. */
+    private HashMap<String, CacheEntry> cacheEntries;
+    /** The keys of cached results which are currently being refreshed in the background. */
+    private HashSet<String> refreshingKeys;
+    /** Incremented whenever a cached result is invalidated, so that a result fetched before the invalidation is not stored in the cache. */
+    private long invalidationVersion;
+    private AtomicLong hitCount;
+    private AtomicLong staleHitCount;
+    private AtomicLong missCount;
+
+    /**
+     * Initialises a new instance of the CachingRemoteDataModelProxy class.
+     * @param  remoteDataModelProxy  The proxy to decorate.
+     */
+    public CachingRemoteDataModelProxy(IRemoteDataModelProxy remoteDataModelProxy) {
+        this(remoteDataModelProxy, null);
+        ownedRefreshExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread refreshThread = new Thread(runnable, "CachingRemoteDataModelProxy refresh");
+                refreshThread.setDaemon(true);
+                return refreshThread;
+            }
+        });
+        refreshExecutor = ownedRefreshExecutor;
+    }
+
+    /**
+     * Initialises a new instance of the CachingRemoteDataModelProxy class.
+     * @param  remoteDataModelProxy  The proxy to decorate.
+     * @param  refreshExecutor       The executor to use to refresh stale cached results in the background.
+     */
+    public CachingRemoteDataModelProxy(IRemoteDataModelProxy remoteDataModelProxy, Executor refreshExecutor) {
+        if (remoteDataModelProxy == null) {
+            throw new IllegalArgumentException("Argument 'remoteDataModelProxy' cannot be null.");
+        }
+
+        this.remoteDataModelProxy = remoteDataModelProxy;
+        this.refreshExecutor = refreshExecutor;
+        objectTypesTimeToLive = defaultObjectTypesTimeToLive;
+        rolesTimeToLive = defaultRolesTimeToLive;
+        permissionsTimeToLive = defaultPermissionsTimeToLive;
+        defaultObjectOwnerTimeToLive = defaultDefaultObjectOwnerTimeToLive;
+        cacheEntries = new HashMap<String, CacheEntry>();
+        refreshingKeys = new HashSet<String>();
+        invalidationVersion = 0;
+        hitCount = new AtomicLong(0);
+        staleHitCount = new AtomicLong(0);
+        missCount = new AtomicLong(0);
+    }
+
+    /**
+     * @return  The proxy decorated by this instance.
+     */
+    public IRemoteDataModelProxy getRemoteDataModelProxy() {
+        return remoteDataModelProxy;
+    }
+
+    /**
+     * @param  objectTypesTimeToLive  The time in milliseconds that the result of getObjectTypes() is considered fresh after being fetched.
+     */
+    public void setObjectTypesTimeToLive(long objectTypesTimeToLive) {
+        ValidateTimeToLive("objectTypesTimeToLive", objectTypesTimeToLive);
+        this.objectTypesTimeToLive = objectTypesTimeToLive;
+    }
+
+    /**
+     * @return  The time in milliseconds that the result of getObjectTypes() is considered fresh after being fetched.
+     */
+    public long getObjectTypesTimeToLive() {
+        return objectTypesTimeToLive;
+    }
+
+    /**
+     * @param  rolesTimeToLive  The time in milliseconds that the result of getRoles() is considered fresh after being fetched.
+     */
+    public void setRolesTimeToLive(long rolesTimeToLive) {
+        ValidateTimeToLive("rolesTimeToLive", rolesTimeToLive);
+        this.rolesTimeToLive = rolesTimeToLive;
+    }
+
+    /**
+     * @return  The time in milliseconds that the result of getRoles() is considered fresh after being fetched.
+     */
+    public long getRolesTimeToLive() {
+        return rolesTimeToLive;
+    }
+
+    /**
+     * @param  permissionsTimeToLive  The time in milliseconds that the result of getPermissions() for an object type is considered fresh after being fetched.
+     */
+    public void setPermissionsTimeToLive(long permissionsTimeToLive) {
+        ValidateTimeToLive("permissionsTimeToLive", permissionsTimeToLive);
+        this.permissionsTimeToLive = permissionsTimeToLive;
+    }
+
+    /**
+     * @return  The time in milliseconds that the result of getPermissions() for an object type is considered fresh after being fetched.
+     */
+    public long getPermissionsTimeToLive() {
+        return permissionsTimeToLive;
+    }
+
+    /**
+     * @param  defaultObjectOwnerTimeToLive  The time in milliseconds that the result of getDefaultObjectOwner() is considered fresh after being fetched.
+     */
+    public void setDefaultObjectOwnerTimeToLive(long defaultObjectOwnerTimeToLive) {
+        ValidateTimeToLive("defaultObjectOwnerTimeToLive", defaultObjectOwnerTimeToLive);
+        this.defaultObjectOwnerTimeToLive = defaultObjectOwnerTimeToLive;
+    }
+
+    /**
+     * @return  The time in milliseconds that the result of getDefaultObjectOwner() is considered fresh after being fetched.
+     */
+    public long getDefaultObjectOwnerTimeToLive() {
+        return defaultObjectOwnerTimeToLive;
+    }
+
+    /**
+     * @return  The total number of calls which were served with a fresh cached result.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return  The total number of calls which were served with a stale cached result, and caused the result to be refreshed in the background.
+     */
+    public long getStaleHitCount() {
+        return staleHitCount.get();
+    }
+
+    /**
+     * @return  The total number of calls which had no cached result, and hence were passed through to the decorated proxy.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Removes all cached results, so that subsequent calls fetch the results from the decorated proxy.
+     */
+    public synchronized void Invalidate() {
+        cacheEntries.clear();
+        invalidationVersion++;
+    }
+
+    /**
+     * Stops the background refresh of cached results (if the executor used to refresh was created by this instance), and shuts down the decorated proxy if it is a RestRemoteDataModelProxy.
+     */
+    public void Shutdown() {
+        if (ownedRefreshExecutor != null) {
+            ownedRefreshExecutor.shutdownNow();
+        }
+        if (remoteDataModelProxy instanceof RestRemoteDataModelProxy) {
+            ((RestRemoteDataModelProxy)remoteDataModelProxy).Shutdown();
+        }
+    }
+
+    @Override
+    public void AddObjectPermissionSet(String objectName, String objectType, String objectOwner, boolean addFlag, boolean removeFlag, ArrayList<RoleToPermissionMap> objectPermissions, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        remoteDataModelProxy.AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, objectPermissions, authenticationContext, trackingData);
+    }
+
+    @Override
+    public void RemoveObjectPermissionSet(String objectName, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        remoteDataModelProxy.RemoveObjectPermissionSet(objectName, authenticationContext, trackingData);
+    }
+
+    @Override
+    public ValidationResult ObjectNameValidate(String objectName, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.ObjectNameValidate(objectName, authenticationContext, trackingData);
+    }
+
+    @Override
+    public ValidationResult ObjectTypeValidate(String objectType, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.ObjectTypeValidate(objectType, authenticationContext, trackingData);
+    }
+
+    @Override
+    public ValidationResult ObjectOwnerValidate(String objectOwner, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.ObjectOwnerValidate(objectOwner, authenticationContext, trackingData);
+    }
+
+    @Override
+    public String getDefaultObjectOwner(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return GetCachedResult(defaultObjectOwnerCacheKey, defaultObjectOwnerTimeToLive, new ResultLoader<String>() {
+            @Override
+            public String Load(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+                return remoteDataModelProxy.getDefaultObjectOwner(authenticationContext, trackingData);
+            }
+        }, authenticationContext, trackingData);
+    }
+
+    @Override
+    public void setDefaultObjectOwner(String defaultObjectOwner, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        try {
+            remoteDataModelProxy.setDefaultObjectOwner(defaultObjectOwner, authenticationContext, trackingData);
+        }
+        finally {
+            // Invalidate even if the call fails, as the remote data model may have been updated before the failure occurred
+            Invalidate(defaultObjectOwnerCacheKey);
+        }
+    }
+
+    @Override
+    public ArrayList<String> getObjectTypes(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        ArrayList<String> objectTypes = GetCachedResult(objectTypesCacheKey, objectTypesTimeToLive, new ResultLoader<ArrayList<String>>() {
+            @Override
+            public ArrayList<String> Load(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+                return remoteDataModelProxy.getObjectTypes(authenticationContext, trackingData);
+            }
+        }, authenticationContext, trackingData);
+        return new ArrayList<String>(objectTypes);
+    }
+
+    @Override
+    public ArrayList<OracleObjectPermissionSet> getObjects(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.getObjects(authenticationContext, trackingData);
+    }
+
+    @Override
+    public void SetAddFlag(String objectName, boolean addFlagValue, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        remoteDataModelProxy.SetAddFlag(objectName, addFlagValue, authenticationContext, trackingData);
+    }
+
+    @Override
+    public void SetRemoveFlag(String objectName, boolean removeFlagValue, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        remoteDataModelProxy.SetRemoveFlag(objectName, removeFlagValue, authenticationContext, trackingData);
+    }
+
+    @Override
+    public void AddPermission(String objectName, String role, String permission, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        remoteDataModelProxy.AddPermission(objectName, role, permission, authenticationContext, trackingData);
+    }
+
+    @Override
+    public void RemovePermission(String objectName, String role, String permission, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        remoteDataModelProxy.RemovePermission(objectName, role, permission, authenticationContext, trackingData);
+    }
+
+    @Override
+    public ArrayList<ModelOperationResult> ExecuteBatch(List<ModelOperation> operations, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.ExecuteBatch(operations, authenticationContext, trackingData);
+    }
+
+    @Override
+    public EntityValidationResults ValidateEntities(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.ValidateEntities(objects, roleToUserMaps, authenticationContext, trackingData);
+    }
+
+    @Override
+    public ArrayList<String> getRoles(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        ArrayList<String> roles = GetCachedResult(rolesCacheKey, rolesTimeToLive, new ResultLoader<ArrayList<String>>() {
+            @Override
+            public ArrayList<String> Load(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+                return remoteDataModelProxy.getRoles(authenticationContext, trackingData);
+            }
+        }, authenticationContext, trackingData);
+        return new ArrayList<String>(roles);
+    }
+
+    @Override
+    public ArrayList<String> getPermissions(final String objectType, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        ArrayList<String> permissions = GetCachedResult(permissionsCacheKeyPrefix + objectType, permissionsTimeToLive, new ResultLoader<ArrayList<String>>() {
+            @Override
+            public ArrayList<String> Load(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+                return remoteDataModelProxy.getPermissions(objectType, authenticationContext, trackingData);
+            }
+        }, authenticationContext, trackingData);
+        return new ArrayList<String>(permissions);
+    }
+
+    @Override
+    public ArrayList<String> getPermissions(String objectName, String role, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.getPermissions(objectName, role, authenticationContext, trackingData);
+    }
+
+    @Override
+    public ArrayList<RoleToUserMap> getMasterRoleToUserMapCollection(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.getMasterRoleToUserMapCollection(authenticationContext, trackingData);
+    }
+
+    @Override
+    public ModelChangeSet getChangesSince(long modelVersion, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.getChangesSince(modelVersion, authenticationContext, trackingData);
+    }
+
+    @Override
+    public ArrayList<String> RoleGetReferencingObjects(String role, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.RoleGetReferencingObjects(role, authenticationContext, trackingData);
+    }
+
+    @Override
+    public void AddRoleToUserMap(String role, String user, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        try {
+            remoteDataModelProxy.AddRoleToUserMap(role, user, authenticationContext, trackingData);
+        }
+        finally {
+            // The set of roles in the data model is defined by the role to user mappings
+            Invalidate(rolesCacheKey);
+        }
+    }
+
+    @Override
+    public void RemoveRoleToUserMap(String role, String user, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        try {
+            remoteDataModelProxy.RemoveRoleToUserMap(role, user, authenticationContext, trackingData);
+        }
+        finally {
+            Invalidate(rolesCacheKey);
+        }
+    }
+
+    @Override
+    public ValidationResult RoleToUserMapValidate(String role, String user, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.RoleToUserMapValidate(role, user, authenticationContext, trackingData);
+    }
+
+    @Override
+    public String CreatePrivilegeScript(ScriptType scriptType, boolean generateRevokeStatements, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.CreatePrivilegeScript(scriptType, generateRevokeStatements, authenticationContext, trackingData);
+    }
+
+    @Override
+    public String CreateSynonymScript(ScriptType scriptType, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        return remoteDataModelProxy.CreateSynonymScript(scriptType, authenticationContext, trackingData);
+    }
+
+    /**
+     * Returns a result from the cache, loading it from the decorated proxy if it is not cached, or scheduling a background refresh if the cached result is stale.
+     * @param   key                    The key which identifies the result in the cache.
+     * @param   timeToLive             The time in milliseconds that the result is considered fresh after being fetched.
+     * @param   loader                 Loads the result from the decorated proxy.
+     * @param   authenticationContext  Authentication information to pass to the remote data model.
+     * @param   trackingData           Tracking information to pass to the remote data model.
+     * @return                         The result.
+     * @throws  Exception              if the result is not cached and an error occurs when loading it.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T GetCachedResult(String key, long timeToLive, ResultLoader<T> loader, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        long loadVersion;
+        synchronized (this) {
+            CacheEntry cacheEntry = cacheEntries.get(key);
+            if (cacheEntry != null) {
+                if (System.currentTimeMillis() - cacheEntry.getFetchTime() < timeToLive) {
+                    hitCount.incrementAndGet();
+                }
+                else {
+                    staleHitCount.incrementAndGet();
+                    if (refreshingKeys.contains(key) == false) {
+                        refreshingKeys.add(key);
+                        ScheduleRefresh(key, loader, authenticationContext, trackingData);
+                    }
+                }
+                return (T)cacheEntry.getValue();
+            }
+            missCount.incrementAndGet();
+            loadVersion = invalidationVersion;
+        }
+
+        T result = loader.Load(authenticationContext, trackingData);
+        Store(key, result, loadVersion);
+        return result;
+    }
+
+    /**
+     * Refreshes a stale cached result from the decorated proxy using the refresh executor.  Any error which occurs during the refresh is ignored, and the stale result is kept until the next refresh attempt.
+     * @param  key                    The key which identifies the result in the cache.
+     * @param  loader                 Loads the result from the decorated proxy.
+     * @param  authenticationContext  Authentication information to pass to the remote data model.
+     * @param  trackingData           Tracking information to pass to the remote data model.
+     */
+    private <T> void ScheduleRefresh(final String key, final ResultLoader<T> loader, final AuthenticationContext authenticationContext, final TrackingData trackingData) {
+        final long loadVersion = invalidationVersion;
+        Runnable refreshTask = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Store(key, loader.Load(authenticationContext, trackingData), loadVersion);
+                }
+                catch (Exception e) {
+                    // Keep serving the stale result, and retry on the next call
+                }
+                finally {
+                    synchronized (CachingRemoteDataModelProxy.this) {
+                        refreshingKeys.remove(key);
+                    }
+                }
+            }
+        };
+
+        try {
+            refreshExecutor.execute(refreshTask);
+        }
+        catch (RejectedExecutionException e) {
+            // The executor has been shut down, so the stale result will continue to be served
+            refreshingKeys.remove(key);
+        }
+    }
+
+    /**
+     * Stores a result in the cache, unless any result has been invalidated since loading of the result started.
+     * @param  key          The key which identifies the result in the cache.
+     * @param  value        The result.
+     * @param  loadVersion  The invalidation version at the point that loading of the result started.
+     */
+    private synchronized void Store(String key, Object value, long loadVersion) {
+        if (loadVersion == invalidationVersion) {
+            cacheEntries.put(key, new CacheEntry(value, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Removes the cached result with the specified key.
+     * @param  key  The key which identifies the result in the cache.
+     */
+    private synchronized void Invalidate(String key) {
+        cacheEntries.remove(key);
+        invalidationVersion++;
+    }
+
+    /**
+     * Throws an exception if the specified time to live is invalid.
+     * @param  argumentName  The name of the argument containing the time to live.
+     * @param  timeToLive    The time to live.
+     */
+    private void ValidateTimeToLive(String argumentName, long timeToLive) {
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("Argument '" + argumentName + "' must be greater than or equal to 0.");
+        }
+    }
+
+    /**
+     * Loads a result from the decorated proxy.
+     * @param  <T>  The type of the result.
+     */
+    private interface ResultLoader<T> {
+
+        /**
+         * Loads the result.
+         * @param   authenticationContext  Authentication information to pass to the remote data model.
+         * @param   trackingData           Tracking information to pass to the remote data model.
+         * @return                         The result.
+         * @throws  Exception              if an error occurs when calling the remote data model.
+         */
+        T Load(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception;
+    }
+
+    /**
+     * Container class holding a cached result, and the time it was fetched.
+     */
+    private class CacheEntry {
+
+        private Object value;
+        private long fetchTime;
+
+        public CacheEntry(Object value, long fetchTime) {
+            this.value = value;
+            this.fetchTime = fetchTime;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public long getFetchTime() {
+            return fetchTime;
+        }
+    }
+}
@@ -0,0 +1,667 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Holds a local copy of the objects, permissions, roles and role to user mappings in the remote data model in memory, in a compact columnar form.
+ * <p>Object types, object owners, roles and permissions are dictionary encoded to small integer codes, and the attributes of the objects are held in parallel arrays indexed by the position of the object, rather than in an OracleObjectPermissionSet and a RoleToPermissionMap per permission.  Each permission is packed into a single int holding the codes of its role and permission, so occupies 4 bytes compared to over 100 bytes for a RoleToPermissionMap.</p>
+ * <p>The objects returned by getObjects() are read-only views of the objects at the time they were returned, and are not affected by subsequent changes to the store.</p>
+ * <b>Note</b> this class is not thread safe, and access to an instance must be synchronized by the caller.
+ * @author Alastair Wyse
+ */
+public class ColumnarObjectPermissionModelStore implements IObjectPermissionModelStore {
+
+    /** The model version of a store which has not been populated. */
+    private static final long unpopulatedModelVersion = -1;
+    private static final int initialObjectCapacity = 16;
+    /** The number of low order bits of a packed permission which hold the permission code.  The remaining high order bits hold the role code. */
+    private static final int permissionCodeBits = 16;
+    private static final int permissionCodeMask = 0xFFFF;
+    /** The code of a null string in a dictionary. */
+    private static final int nullCode = -1;
+    private static final byte addFlagBit = 1;
+    private static final byte removeFlagBit = 2;
+    private static final int[] emptyPermissions = new int[0];
+    
+    private String identity;
+    private long modelVersion;
+    private StringDictionary objectTypeDictionary;
+    private StringDictionary objectOwnerDictionary;
+    private StringDictionary roleDictionary;
+    private StringDictionary permissionDictionary;
+    /** Maps the name of each object to its position in the columns. */
+    private HashMap<String, Integer> objectPositions;
+    // Columns holding the attributes of each object.  The position of a removed object holds a null name until the columns are compacted.
+    private String[] objectNames;
+    private int[] objectTypeCodes;
+    private int[] objectOwnerCodes;
+    private byte[] objectFlags;
+    /** The packed permissions of each object.  An array is replaced rather than modified when the permissions of the object change, so that it can be shared with views returned from getObjects(). */
+    private int[][] objectPermissions;
+    /** The number of positions in the columns which are in use, including those of removed objects. */
+    private int positionCount;
+    private int removedPositionCount;
+    private ArrayList<String> roles;
+    private ArrayList<RoleToUserMap> roleToUserMaps;
+    
+    @Override
+    public String getIdentity() {
+        return identity;
+    }
+    
+    @Override
+    public long getModelVersion() {
+        return modelVersion;
+    }
+    
+    @Override
+    public boolean getIsPopulated() {
+        return (modelVersion != unpopulatedModelVersion);
+    }
+    
+    @Override
+    public ArrayList<OracleObjectPermissionSet> getObjects() {
+        ArrayList<OracleObjectPermissionSet> returnObjects = new ArrayList<OracleObjectPermissionSet>(objectPositions.size());
+        String[] objectTypes = objectTypeDictionary.getValues();
+        String[] objectOwners = objectOwnerDictionary.getValues();
+        String[] roleValues = roleDictionary.getValues();
+        String[] permissionValues = permissionDictionary.getValues();
+        for (int i = 0; i < positionCount; i++) {
+            if (objectNames[i] != null) {
+                returnObjects.add(new OracleObjectPermissionSetView(
+                    objectNames[i], 
+                    Decode(objectTypes, objectTypeCodes[i]), 
+                    Decode(objectOwners, objectOwnerCodes[i]), 
+                    (objectFlags[i] & addFlagBit) != 0, 
+                    (objectFlags[i] & removeFlagBit) != 0, 
+                    objectPermissions[i], 
+                    roleValues, 
+                    permissionValues
+                ));
+            }
+        }
+        return returnObjects;
+    }
+    
+    @Override
+    public ArrayList<String> getRoles() {
+        return new ArrayList<String>(roles);
+    }
+    
+    @Override
+    public ArrayList<RoleToUserMap> getRoleToUserMaps() {
+        return new ArrayList<RoleToUserMap>(roleToUserMaps);
+    }
+    
+    @Override
+    public ArrayList<String> getPermissions(String objectName, String role) {
+        ArrayList<String> returnPermissions = new ArrayList<String>();
+        Integer position = objectPositions.get(objectName);
+        int roleCode = roleDictionary.getCode(role);
+        if (position != null && roleCode != nullCode) {
+            for (int currentPermission : objectPermissions[position]) {
+                if ((currentPermission >>> permissionCodeBits) == roleCode) {
+                    returnPermissions.add(permissionDictionary.Decode(currentPermission & permissionCodeMask));
+                }
+            }
+        }
+        return returnPermissions;
+    }
+    
+    @Override
+    public ArrayList<String> RoleGetReferencingObjects(String role) {
+        ArrayList<String> returnObjectNames = new ArrayList<String>();
+        int roleCode = roleDictionary.getCode(role);
+        if (roleCode != nullCode) {
+            for (int i = 0; i < positionCount; i++) {
+                if (objectNames[i] != null) {
+                    for (int currentPermission : objectPermissions[i]) {
+                        if ((currentPermission >>> permissionCodeBits) == roleCode) {
+                            returnObjectNames.add(objectNames[i]);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return returnObjectNames;
+    }
+    
+    @Override
+    public int RoleGetReferencingObjectCount(String role) {
+        return RoleGetReferencingObjects(role).size();
+    }
+    
+    @Override
+    public int RoleGetUserMapCount(String role) {
+        int count = 0;
+        for (RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+            if (currentRoleToUserMap.getRole().equals(role) == true) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Initialises a new instance of the ColumnarObjectPermissionModelStore class.
+     */
+    public ColumnarObjectPermissionModelStore() {
+        InitializeObjects();
+        roles = new ArrayList<String>();
+        roleToUserMaps = new ArrayList<RoleToUserMap>();
+        identity = null;
+        modelVersion = unpopulatedModelVersion;
+    }
+    
+    @Override
+    public void Load(String identity, long modelVersion, List<OracleObjectPermissionSet> objects, List<String> roles, List<RoleToUserMap> roleToUserMaps) {
+        if (modelVersion < 0) {
+            throw new IllegalArgumentException("Argument 'modelVersion' must be greater than or equal to 0.");
+        }
+        
+        InitializeObjects();
+        for (OracleObjectPermissionSet currentObject : objects) {
+            PutObject(currentObject);
+        }
+        this.roles = new ArrayList<String>(roles);
+        this.roleToUserMaps = new ArrayList<RoleToUserMap>(roleToUserMaps);
+        this.identity = identity;
+        this.modelVersion = modelVersion;
+    }
+    
+    /**
+     * Applies a set of changes to the store, and updates the store to the version of the data model the changes bring it up to.
+     * Added and modified objects replace any existing object with the same name, and added role to user mappings are ignored if already present, so a change set can safely be applied to a store which already contains some of the changes (e.g. changes made between retrieving the model version and the complete copy of the data model in Load()).
+     * @param  changeSet  The changes to apply.
+     */
+    @Override
+    public void Apply(ModelChangeSet changeSet) {
+        if (getIsPopulated() == false) {
+            throw new IllegalStateException("Changes cannot be applied to a store which has not been populated.");
+        }
+        if (changeSet.getSnapshotRequired() == true) {
+            throw new IllegalArgumentException("Argument 'changeSet' cannot be applied as it requires a complete copy of the data model to be retrieved.");
+        }
+        
+        for (String currentObjectName : changeSet.getRemovedObjectNames()) {
+            RemoveObjectPermissionSet(currentObjectName);
+        }
+        for (OracleObjectPermissionSet currentObject : changeSet.getAddedObjects()) {
+            PutObject(currentObject);
+        }
+        for (OracleObjectPermissionSet currentObject : changeSet.getModifiedObjects()) {
+            PutObject(currentObject);
+        }
+        for (RoleToUserMap currentRoleToUserMap : changeSet.getRemovedRoleToUserMaps()) {
+            RemoveRoleToUserMap(currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser());
+        }
+        for (RoleToUserMap currentRoleToUserMap : changeSet.getAddedRoleToUserMaps()) {
+            AddRoleToUserMap(currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser());
+        }
+        modelVersion = changeSet.getModelVersion();
+    }
+    
+    @Override
+    public void setRoles(List<String> roles) {
+        this.roles = new ArrayList<String>(roles);
+    }
+    
+    @Override
+    public void AddObjectPermissionSet(OracleObjectPermissionSet objectPermissionSet) {
+        PutObject(objectPermissionSet);
+    }
+    
+    @Override
+    public void RemoveObjectPermissionSet(String objectName) {
+        Integer position = objectPositions.remove(objectName);
+        if (position != null) {
+            objectNames[position] = null;
+            objectPermissions[position] = null;
+            removedPositionCount++;
+            // Compact once most positions are unused, so that the cost of compacting is spread over the removals which caused it
+            if (removedPositionCount > initialObjectCapacity && removedPositionCount > positionCount / 2) {
+                CompactObjects();
+            }
+        }
+    }
+    
+    @Override
+    public void SetAddFlag(String objectName, boolean addFlagValue) {
+        Integer position = objectPositions.get(objectName);
+        if (position != null) {
+            objectFlags[position] = SetFlagBit(objectFlags[position], addFlagBit, addFlagValue);
+        }
+    }
+    
+    @Override
+    public void SetRemoveFlag(String objectName, boolean removeFlagValue) {
+        Integer position = objectPositions.get(objectName);
+        if (position != null) {
+            objectFlags[position] = SetFlagBit(objectFlags[position], removeFlagBit, removeFlagValue);
+        }
+    }
+    
+    @Override
+    public void AddPermission(String objectName, String role, String permission) {
+        Integer position = objectPositions.get(objectName);
+        if (position != null) {
+            int packedPermission = PackPermission(role, permission);
+            int[] currentPermissions = objectPermissions[position];
+            for (int currentPermission : currentPermissions) {
+                if (currentPermission == packedPermission) {
+                    return;
+                }
+            }
+            int[] newPermissions = new int[currentPermissions.length + 1];
+            System.arraycopy(currentPermissions, 0, newPermissions, 0, currentPermissions.length);
+            newPermissions[currentPermissions.length] = packedPermission;
+            objectPermissions[position] = newPermissions;
+        }
+    }
+    
+    @Override
+    public void RemovePermission(String objectName, String role, String permission) {
+        Integer position = objectPositions.get(objectName);
+        int roleCode = roleDictionary.getCode(role);
+        int permissionCode = permissionDictionary.getCode(permission);
+        if (position != null && roleCode != nullCode && permissionCode != nullCode) {
+            int packedPermission = (roleCode << permissionCodeBits) | permissionCode;
+            int[] currentPermissions = objectPermissions[position];
+            int retainedCount = 0;
+            for (int currentPermission : currentPermissions) {
+                if (currentPermission != packedPermission) {
+                    retainedCount++;
+                }
+            }
+            if (retainedCount < currentPermissions.length) {
+                int[] newPermissions = (retainedCount == 0) ? emptyPermissions : new int[retainedCount];
+                int newIndex = 0;
+                for (int currentPermission : currentPermissions) {
+                    if (currentPermission != packedPermission) {
+                        newPermissions[newIndex] = currentPermission;
+                        newIndex++;
+                    }
+                }
+                objectPermissions[position] = newPermissions;
+            }
+        }
+    }
+    
+    @Override
+    public void AddRoleToUserMap(String role, String user) {
+        for (RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+            if (currentRoleToUserMap.getRole().equals(role) == true && currentRoleToUserMap.getUser().equals(user) == true) {
+                return;
+            }
+        }
+        roleToUserMaps.add(new RoleToUserMap(role, user));
+    }
+    
+    @Override
+    public void RemoveRoleToUserMap(String role, String user) {
+        Iterator<RoleToUserMap> roleToUserMapIterator = roleToUserMaps.iterator();
+        while (roleToUserMapIterator.hasNext() == true) {
+            RoleToUserMap currentRoleToUserMap = roleToUserMapIterator.next();
+            if (currentRoleToUserMap.getRole().equals(role) == true && currentRoleToUserMap.getUser().equals(user) == true) {
+                roleToUserMapIterator.remove();
+            }
+        }
+    }
+    
+    @Override
+    public void Clear() {
+        InitializeObjects();
+        roles.clear();
+        roleToUserMaps.clear();
+        identity = null;
+        modelVersion = unpopulatedModelVersion;
+    }
+    
+    /**
+     * Empties the columns and dictionaries holding the objects.
+     * The dictionaries are recreated rather than cleared, as views returned from getObjects() may still reference their values.
+     */
+    private void InitializeObjects() {
+        objectTypeDictionary = new StringDictionary();
+        objectOwnerDictionary = new StringDictionary();
+        roleDictionary = new StringDictionary();
+        permissionDictionary = new StringDictionary();
+        objectPositions = new HashMap<String, Integer>();
+        objectNames = new String[initialObjectCapacity];
+        objectTypeCodes = new int[initialObjectCapacity];
+        objectOwnerCodes = new int[initialObjectCapacity];
+        objectFlags = new byte[initialObjectCapacity];
+        objectPermissions = new int[initialObjectCapacity][];
+        positionCount = 0;
+        removedPositionCount = 0;
+    }
+    
+    /**
+     * Adds an object to the columns, replacing any existing object with the same name in place, so that it retains its position in the list.
+     * @param  object  The object to add.
+     */
+    private void PutObject(OracleObjectPermissionSet object) {
+        Integer position = objectPositions.get(object.getObjectName());
+        if (position == null) {
+            if (positionCount == objectNames.length) {
+                GrowObjects();
+            }
+            position = positionCount;
+            positionCount++;
+            objectPositions.put(object.getObjectName(), position);
+        }
+        objectNames[position] = object.getObjectName();
+        objectTypeCodes[position] = objectTypeDictionary.Encode(object.getObjectType());
+        objectOwnerCodes[position] = objectOwnerDictionary.Encode(object.getObjectOwner());
+        byte flags = SetFlagBit((byte)0, addFlagBit, object.getAddFlag());
+        objectFlags[position] = SetFlagBit(flags, removeFlagBit, object.getRemoveFlag());
+        List<RoleToPermissionMap> roleToPermissionMaps = object.getObjectPermissions();
+        if (roleToPermissionMaps.size() == 0) {
+            objectPermissions[position] = emptyPermissions;
+        }
+        else {
+            int[] packedPermissions = new int[roleToPermissionMaps.size()];
+            for (int i = 0; i < packedPermissions.length; i++) {
+                packedPermissions[i] = PackPermission(roleToPermissionMaps.get(i).getRole(), roleToPermissionMaps.get(i).getPermission());
+            }
+            objectPermissions[position] = packedPermissions;
+        }
+    }
+    
+    /**
+     * Doubles the capacity of the columns.
+     */
+    private void GrowObjects() {
+        int newCapacity = objectNames.length * 2;
+        String[] newObjectNames = new String[newCapacity];
+        System.arraycopy(objectNames, 0, newObjectNames, 0, positionCount);
+        objectNames = newObjectNames;
+        int[] newObjectTypeCodes = new int[newCapacity];
+        System.arraycopy(objectTypeCodes, 0, newObjectTypeCodes, 0, positionCount);
+        objectTypeCodes = newObjectTypeCodes;
+        int[] newObjectOwnerCodes = new int[newCapacity];
+        System.arraycopy(objectOwnerCodes, 0, newObjectOwnerCodes, 0, positionCount);
+        objectOwnerCodes = newObjectOwnerCodes;
+        byte[] newObjectFlags = new byte[newCapacity];
+        System.arraycopy(objectFlags, 0, newObjectFlags, 0, positionCount);
+        objectFlags = newObjectFlags;
+        int[][] newObjectPermissions = new int[newCapacity][];
+        System.arraycopy(objectPermissions, 0, newObjectPermissions, 0, positionCount);
+        objectPermissions = newObjectPermissions;
+    }
+    
+    /**
+     * Moves the remaining objects into the positions of removed objects, preserving their order.
+     */
+    private void CompactObjects() {
+        int newPosition = 0;
+        for (int i = 0; i < positionCount; i++) {
+            if (objectNames[i] != null) {
+                if (newPosition != i) {
+                    objectNames[newPosition] = objectNames[i];
+                    objectTypeCodes[newPosition] = objectTypeCodes[i];
+                    objectOwnerCodes[newPosition] = objectOwnerCodes[i];
+                    objectFlags[newPosition] = objectFlags[i];
+                    objectPermissions[newPosition] = objectPermissions[i];
+                    objectPositions.put(objectNames[i], newPosition);
+                }
+                newPosition++;
+            }
+        }
+        for (int i = newPosition; i < positionCount; i++) {
+            objectNames[i] = null;
+            objectPermissions[i] = null;
+        }
+        positionCount = newPosition;
+        removedPositionCount = 0;
+    }
+    
+    /**
+     * Packs the codes of the inputted role and permission into a single int, adding them to the role and permission dictionaries if required.
+     * @param   role        The role.
+     * @param   permission  The permission.
+     * @return              The packed permission.
+     */
+    private int PackPermission(String role, String permission) {
+        int roleCode = roleDictionary.Encode(role);
+        int permissionCode = permissionDictionary.Encode(permission);
+        if (roleCode > permissionCodeMask || permissionCode > permissionCodeMask) {
+            throw new IllegalStateException("The number of distinct roles or permissions in the store exceeds " + (permissionCodeMask + 1) + ".");
+        }
+        return (roleCode << permissionCodeBits) | permissionCode;
+    }
+    
+    /**
+     * Sets or clears a bit in the inputted object flags.
+     * @param   flags     The object flags.
+     * @param   flagBit   The bit to set or clear.
+     * @param   value     Whether to set the bit.
+     * @return            The updated object flags.
+     */
+    private static byte SetFlagBit(byte flags, byte flagBit, boolean value) {
+        if (value == true) {
+            return (byte)(flags | flagBit);
+        }
+        else {
+            return (byte)(flags & ~flagBit);
+        }
+    }
+    
+    /**
+     * Decodes a dictionary code.
+     * @param   values  The values of the dictionary, indexed by code.
+     * @param   code    The code.
+     * @return          The value corresponding to the code, or null if the code represents null.
+     */
+    private static String Decode(String[] values, int code) {
+        if (code == nullCode) {
+            return null;
+        }
+        return values[code];
+    }
+    
+    /**
+     * Assigns a sequential integer code to each distinct string added to it.
+     * The values are held in an array which is replaced rather than modified in place when it grows, and codes are never reassigned, so a reference to the array obtained from getValues() can decode any code assigned before it was obtained, even after further values are added.
+     * @author Alastair Wyse
+     */
+    private static class StringDictionary {
+        
+        private HashMap<String, Integer> codes;
+        private String[] values;
+        private int size;
+        
+        /**
+         * Initialises a new instance of the StringDictionary class.
+         */
+        public StringDictionary() {
+            codes = new HashMap<String, Integer>();
+            values = new String[8];
+            size = 0;
+        }
+        
+        /**
+         * @return  The values in the dictionary, indexed by code.  The array may be longer than the number of values in the dictionary.
+         */
+        public String[] getValues() {
+            return values;
+        }
+        
+        /**
+         * Returns the code of the inputted string, without adding it to the dictionary.
+         * @param   value  The string.
+         * @return         The code of the string, or the null code if the string is null or not in the dictionary.
+         */
+        public int getCode(String value) {
+            if (value == null) {
+                return nullCode;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                return nullCode;
+            }
+            return code;
+        }
+        
+        /**
+         * Returns the code of the inputted string, adding it to the dictionary if it is not already present.
+         * @param   value  The string.
+         * @return         The code of the string, or the null code if the string is null.
+         */
+        public int Encode(String value) {
+            if (value == null) {
+                return nullCode;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == values.length) {
+                String[] newValues = new String[values.length * 2];
+                System.arraycopy(values, 0, newValues, 0, size);
+                values = newValues;
+            }
+            values[size] = value;
+            codes.put(value, size);
+            size++;
+            return size - 1;
+        }
+        
+        /**
+         * Returns the string corresponding to the inputted code.
+         * @param   code  The code.
+         * @return        The string, or null if the code is the null code.
+         */
+        public String Decode(int code) {
+            return ColumnarObjectPermissionModelStore.Decode(values, code);
+        }
+    }
+    
+    /**
+     * Read-only view of an object in the store, which decodes its permissions from the packed form when they are requested.
+     * @author Alastair Wyse
+     */
+    private static class OracleObjectPermissionSetView extends OracleObjectPermissionSet {
+        
+        private String objectName;
+        private String objectType;
+        private String objectOwner;
+        private boolean addFlag;
+        private boolean removeFlag;
+        private int[] packedPermissions;
+        private String[] roleValues;
+        private String[] permissionValues;
+        
+        /**
+         * Initialises a new instance of the OracleObjectPermissionSetView class.
+         * @param  objectName         The name of the object.
+         * @param  objectType         The type of the object.
+         * @param  objectOwner        The owner of the object.
+         * @param  addFlag            Whether add statements are to be included when generating the set of permissions.
+         * @param  removeFlag         Whether remove statements are to be included when generating the set of permissions.
+         * @param  packedPermissions  The packed permissions of the object, which must not be subsequently modified.
+         * @param  roleValues         The values of the role dictionary, indexed by code.
+         * @param  permissionValues   The values of the permission dictionary, indexed by code.
+         */
+        public OracleObjectPermissionSetView(String objectName, String objectType, String objectOwner, boolean addFlag, boolean removeFlag, int[] packedPermissions, String[] roleValues, String[] permissionValues) {
+            super();
+            this.objectName = objectName;
+            this.objectType = objectType;
+            this.objectOwner = objectOwner;
+            this.addFlag = addFlag;
+            this.removeFlag = removeFlag;
+            this.packedPermissions = packedPermissions;
+            this.roleValues = roleValues;
+            this.permissionValues = permissionValues;
+        }
+        
+        @Override
+        public String getObjectName() {
+            return objectName;
+        }
+        
+        @Override
+        public void setObjectName(String objectName) {
+            throw new UnsupportedOperationException("The object is a read-only view of the model store.");
+        }
+        
+        @Override
+        public String getObjectType() {
+            return objectType;
+        }
+        
+        @Override
+        public void setObjectType(String objectType) {
+            throw new UnsupportedOperationException("The object is a read-only view of the model store.");
+        }
+        
+        @Override
+        public String getObjectOwner() {
+            return objectOwner;
+        }
+        
+        @Override
+        public void setObjectOwner(String objectOwner) {
+            throw new UnsupportedOperationException("The object is a read-only view of the model store.");
+        }
+        
+        /**
+         * @return  A new list containing the permissions related to the object.  Changes to the list are not reflected in the model store.
+         */
+        @Override
+        public ArrayList<RoleToPermissionMap> getObjectPermissions() {
+            ArrayList<RoleToPermissionMap> returnRoleToPermissionMaps = new ArrayList<RoleToPermissionMap>(packedPermissions.length);
+            for (int currentPermission : packedPermissions) {
+                returnRoleToPermissionMaps.add(new RoleToPermissionMap(roleValues[currentPermission >>> permissionCodeBits], permissionValues[currentPermission & permissionCodeMask]));
+            }
+            return returnRoleToPermissionMaps;
+        }
+        
+        @Override
+        public void setObjectPermissions(ArrayList<RoleToPermissionMap> objectPermissions) {
+            throw new UnsupportedOperationException("The object is a read-only view of the model store.");
+        }
+        
+        @Override
+        public boolean getAddFlag() {
+            return addFlag;
+        }
+        
+        @Override
+        public void setAddFlag(boolean addFlag) {
+            throw new UnsupportedOperationException("The object is a read-only view of the model store.");
+        }
+        
+        @Override
+        public boolean getRemoveFlag() {
+            return removeFlag;
+        }
+        
+        @Override
+        public void setRemoveFlag(boolean removeFlag) {
+            throw new UnsupportedOperationException("The object is a read-only view of the model store.");
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.io.*;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.ksoap2.SoapEnvelope;
+import org.ksoap2.transport.HttpTransportSE;
+import org.ksoap2.transport.ServiceConnection;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ * Extension of the kSOAP HttpTransportSE class which optionally gzip compresses request bodies, and records the number of bytes sent and received per SOAP operation before and after compression.
+ * Note that HttpTransportSE already requests gzip compressed responses and decompresses them transparently.
+ * @author Alastair Wyse
+ */
+public class CompressingHttpTransportSE extends HttpTransportSE {
+
+    private final String contentEncodingHeaderName = "Content-Encoding";
+    private final String gzipEncoding = "gzip";
+
+    private TransferByteCounter transferByteCounter;
+    private int requestCompressionThreshold;
+    private String operationName;
+    private boolean requestCompressed;
+    private ByteCountingInputStream transferredResponseStream;
+
+    /**
+     * Initialises a new instance of the CompressingHttpTransportSE class.
+     * @param  url                          The URL of the SOAP web service.
+     * @param  transferByteCounter          The counter to record the number of bytes sent and received per operation in.
+     * @param  requestCompressionThreshold  The minimum size in bytes of a request body for it to be gzip compressed, or -1 if request bodies should not be compressed.
+     */
+    public CompressingHttpTransportSE(String url, TransferByteCounter transferByteCounter, int requestCompressionThreshold) {
+        super(url);
+        if (requestCompressionThreshold < -1) {
+            throw new IllegalArgumentException("Argument 'requestCompressionThreshold' must be greater than or equal to -1.");
+        }
+
+        this.transferByteCounter = transferByteCounter;
+        this.requestCompressionThreshold = requestCompressionThreshold;
+        operationName = "";
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public List call(String soapAction, SoapEnvelope envelope, List headers, File outputFile) throws IOException, XmlPullParserException {
+        // Operation name is the last segment of the SOAP action (e.g. 'getObjects' in 'http://tempuri.org/ISoapWebServiceApi/getObjects')
+        if (soapAction != null) {
+            operationName = soapAction.substring(soapAction.lastIndexOf('/') + 1);
+        }
+        requestCompressed = false;
+        transferredResponseStream = null;
+
+        return super.call(soapAction, envelope, headers, outputFile);
+    }
+
+    @Override
+    protected byte[] createRequestData(SoapEnvelope envelope, String encoding) throws IOException {
+        byte[] requestData = super.createRequestData(envelope, encoding);
+        if (requestCompressionThreshold != -1 && requestData.length >= requestCompressionThreshold) {
+            ByteArrayOutputStream compressedStream = new ByteArrayOutputStream(requestData.length);
+            GZIPOutputStream gzipStream = new GZIPOutputStream(compressedStream);
+            try {
+                gzipStream.write(requestData);
+            }
+            finally {
+                gzipStream.close();
+            }
+            byte[] compressedRequestData = compressedStream.toByteArray();
+            transferByteCounter.AddRequestBytes(operationName, requestData.length, compressedRequestData.length);
+            requestCompressed = true;
+            return compressedRequestData;
+        }
+        else {
+            transferByteCounter.AddRequestBytes(operationName, requestData.length, requestData.length);
+            return requestData;
+        }
+    }
+
+    @Override
+    public ServiceConnection getServiceConnection() throws IOException {
+        return new CountingServiceConnection(super.getServiceConnection());
+    }
+
+    @Override
+    protected void parseResponse(SoapEnvelope envelope, InputStream inputStream) throws XmlPullParserException, IOException {
+        ByteCountingInputStream responseStream = new ByteCountingInputStream(inputStream);
+        try {
+            super.parseResponse(envelope, responseStream);
+        }
+        finally {
+            long bytesTransferred = responseStream.getByteCount();
+            if (transferredResponseStream != null) {
+                bytesTransferred = transferredResponseStream.getByteCount();
+            }
+            transferByteCounter.AddResponseBytes(operationName, responseStream.getByteCount(), bytesTransferred);
+        }
+    }
+
+    /**
+     * Wraps a kSOAP ServiceConnection, setting the content encoding header on compressed requests, and counting the number of bytes of the response read from the network.
+     */
+    private class CountingServiceConnection implements ServiceConnection {
+
+        private ServiceConnection serviceConnection;
+
+        public CountingServiceConnection(ServiceConnection serviceConnection) {
+            this.serviceConnection = serviceConnection;
+        }
+
+        @Override
+        public void connect() throws IOException {
+            serviceConnection.connect();
+        }
+
+        @Override
+        public void disconnect() throws IOException {
+            serviceConnection.disconnect();
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Override
+        public List getResponseProperties() throws IOException {
+            return serviceConnection.getResponseProperties();
+        }
+
+        @Override
+        public int getResponseCode() throws IOException {
+            return serviceConnection.getResponseCode();
+        }
+
+        @Override
+        public void setRequestProperty(String propertyName, String value) throws IOException {
+            serviceConnection.setRequestProperty(propertyName, value);
+        }
+
+        @Override
+        public void setRequestMethod(String requestMethodType) throws IOException {
+            serviceConnection.setRequestMethod(requestMethodType);
+        }
+
+        @Override
+        public void setFixedLengthStreamingMode(int contentLength) {
+            serviceConnection.setFixedLengthStreamingMode(contentLength);
+        }
+
+        @Override
+        public OutputStream openOutputStream() throws IOException {
+            // Request data has been created by this point, so it is known whether it was compressed
+            if (requestCompressed == true) {
+                serviceConnection.setRequestProperty(contentEncodingHeaderName, gzipEncoding);
+            }
+            return serviceConnection.openOutputStream();
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException {
+            transferredResponseStream = new ByteCountingInputStream(serviceConnection.openInputStream());
+            return transferredResponseStream;
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return serviceConnection.getErrorStream();
+        }
+
+        @Override
+        public String getHost() {
+            return serviceConnection.getHost();
+        }
+
+        @Override
+        public int getPort() {
+            return serviceConnection.getPort();
+        }
+
+        @Override
+        public String getPath() {
+            return serviceConnection.getPath();
+        }
+    }
+}
@@ -16,8 +16,14 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 
+import java.io.Writer;
 import java.net.InetAddress;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 import android.app.Service;
 import android.content.Intent;
@@ -25,6 +31,7 @@ import android.os.Binder;
 import android.os.IBinder;
 
 import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.frameworkabstraction.*;
 
 /**
  * Android service which implements the application data interface layer.
@@ -38,7 +45,33 @@ public class DataInterfaceService extends Service implements IDataInterface {
     private INetworkInfoProvider networkInfoProvider;
     private ILocalSettingsPersister localSettingsPersister;
     private IScriptPersister scriptPersister;
-    private LocalSettings localSettings;
+    /** Snapshot of the local settings.  The instance is never modified once set, and is replaced in its entirety when the settings change. */
+    private volatile LocalSettings localSettings;
+    /** Indicates whether the local settings have been read from persistent storage (or set) since the service was created. */
+    private boolean localSettingsLoaded;
+    /** Lock object used to synchronize loading and replacing the local settings. */
+    private final Object localSettingsLock = new Object();
+    /** Listeners which are notified when the local settings are changed. */
+    private final CopyOnWriteArrayList<ILocalSettingsListener> localSettingsListeners = new CopyOnWriteArrayList<ILocalSettingsListener>();
+    /** Snapshot of the tracking data, which is rebuilt on the next remote call after the location or network connectivity of the device changes.  Null if the snapshot needs to be rebuilt. */
+    private volatile TrackingDataSnapshot trackingDataSnapshot;
+    /** Incremented whenever the location or network connectivity of the device changes, so that a snapshot built before the change is not stored. */
+    private final AtomicLong trackingDataSourceVersion = new AtomicLong();
+    /** Lock object used to synchronize storing the tracking data snapshot. */
+    private final Object trackingDataSnapshotLock = new Object();
+    private final TrackingDataSnapshotInvalidator trackingDataSnapshotInvalidator = new TrackingDataSnapshotInvalidator();
+    private IDateProvider dateProvider = new DateProvider();
+    /** Local copy of the objects, permissions, roles and role to user mappings, which is read from instead of the remote data model, and is kept up to date with the remote data model by the model store synchronizer. */
+    private IObjectPermissionModelStore modelStore;
+    /** The SQLite database which persists the model store, which must be closed when the service is destroyed.  Null if the service was instantiated with a test constructor. */
+    private SqliteObjectPermissionModelStore sqliteModelStore;
+    private ModelStoreSynchronizer modelStoreSynchronizer;
+    /** Incremented whenever a change made through this service is applied to the model store, so that a synchronization which retrieved changes before the change was made does not overwrite it. */
+    private long modelStoreWriteCount;
+    /** Lock object used to synchronize access to the model store. */
+    private final Object modelStoreLock = new Object();
+    /** Generates privilege and synonym scripts from the model store, so that scripts can be created without calling the remote data model. */
+    private final ScriptGenerator scriptGenerator = new ScriptGenerator();
 
     /**
      * Initialises a new instance of the DataInterfaceService class.
@@ -49,6 +82,9 @@ public class DataInterfaceService extends Service implements IDataInterface {
         localSettingsPersister = new SharedPreferencesLocalSettingsPersister(this);
         scriptPersister = new AndroidIntentScriptPersister(this);
         localSettings = new LocalSettings();
+        sqliteModelStore = new SqliteObjectPermissionModelStore(this);
+        modelStore = new IndexedObjectPermissionModelStore(new CachingObjectPermissionModelStore(sqliteModelStore, new ColumnarObjectPermissionModelStore()));
+        modelStoreSynchronizer = new ModelStoreSynchronizer(new ModelStoreSynchronizationAction());
     }
 
     /**
@@ -66,31 +102,92 @@ public class DataInterfaceService extends Service implements IDataInterface {
         this.networkInfoProvider = networkInfoProvider;
         this.localSettingsPersister = localSettingsPersister;
         this.scriptPersister = scriptPersister;
+        locationProvider.setTrackingDataSourceListener(trackingDataSnapshotInvalidator);
+        networkInfoProvider.setTrackingDataSourceListener(trackingDataSnapshotInvalidator);
         localSettings = new LocalSettings();
+        modelStore = new ObjectPermissionModelReplica();
+        modelStoreSynchronizer = new ModelStoreSynchronizer(new ModelStoreSynchronizationAction());
+    }
+
+    /**
+     * Initialises a new instance of the DataInterfaceService class.
+     * <b>Note</b> this is an additional constructor to facilitate unit tests, and should not be used to instantiate the class under normal conditions.
+     * @param  locationProvider         A test (mock) location provider.
+     * @param  networkInfoProvider      A test (mock) network info provider.
+     * @param  localSettingsPersister   A test (mock) local settings persister.
+     * @param  scriptPersister          A test (mock) script persister.
+     * @param  modelStore               A test local store of the data model.
+     * @param  synchronizationExecutor  A test executor to use to synchronize the local store of the data model in the background.
+     */
+    public DataInterfaceService(ILocationProvider locationProvider, INetworkInfoProvider networkInfoProvider, ILocalSettingsPersister localSettingsPersister, IScriptPersister scriptPersister, IObjectPermissionModelStore modelStore, Executor synchronizationExecutor) {
+        super();
+        
+        this.locationProvider = locationProvider;
+        this.networkInfoProvider = networkInfoProvider;
+        this.localSettingsPersister = localSettingsPersister;
+        this.scriptPersister = scriptPersister;
+        locationProvider.setTrackingDataSourceListener(trackingDataSnapshotInvalidator);
+        networkInfoProvider.setTrackingDataSourceListener(trackingDataSnapshotInvalidator);
+        localSettings = new LocalSettings();
+        this.modelStore = modelStore;
+        modelStoreSynchronizer = new ModelStoreSynchronizer(new ModelStoreSynchronizationAction(), synchronizationExecutor);
     }
     
     /**
      * @param  remoteDataModelProxy  The IRemoteDataModelProxy instance to use to call data model methods remotely.
      */
     public void setRemoteDataModelProxy(IRemoteDataModelProxy remoteDataModelProxy) {
+        if (this.remoteDataModelProxy != remoteDataModelProxy) {
+            ShutdownRemoteDataModelProxy();
+        }
         this.remoteDataModelProxy = remoteDataModelProxy;
     }
     
+    /**
+     * Adds a listener which is notified when the local settings are changed.  Adding a listener which has already been added has no effect.
+     * @param  localSettingsListener  The listener to add.
+     */
+    public void AddLocalSettingsListener(ILocalSettingsListener localSettingsListener) {
+        if (localSettingsListener == null) {
+            throw new IllegalArgumentException("Argument 'localSettingsListener' cannot be null.");
+        }
+        localSettingsListeners.addIfAbsent(localSettingsListener);
+    }
+    
+    /**
+     * Removes a listener which was previously added with the AddLocalSettingsListener() method.
+     * @param  localSettingsListener  The listener to remove.
+     */
+    public void RemoveLocalSettingsListener(ILocalSettingsListener localSettingsListener) {
+        localSettingsListeners.remove(localSettingsListener);
+    }
+    
+    /**
+     * @param  modelStoreSynchronizationInterval  The minimum time in milliseconds between synchronizations of the local store of the data model, which are started in the background when the store is read.
+     */
+    public void setModelStoreSynchronizationInterval(long modelStoreSynchronizationInterval) {
+        modelStoreSynchronizer.setMinimumInterval(modelStoreSynchronizationInterval);
+    }
+    
     /**
      * Initializes local members and connections to android system-level services.  Should be called only after the instance of this class has been started as an Android service.
      */
     public void Initialize() {
         // Setup location provider
         LocationProvider locationProvider = new LocationProvider(this);
+        locationProvider.setTrackingDataSourceListener(trackingDataSnapshotInvalidator);
         locationProvider.Connect();
         this.locationProvider = locationProvider;
 
-        // Setup network info provider 
+        // Setup network info provider (disconnecting any provider set up by a previous call to this method)
+        DisconnectNetworkInfoProvider();
         NetworkInfoProvider networkInfoProvider = new NetworkInfoProvider(this);
+        networkInfoProvider.setTrackingDataSourceListener(trackingDataSnapshotInvalidator);
         networkInfoProvider.Connect();
         this.networkInfoProvider = networkInfoProvider;
+        trackingDataSnapshotInvalidator.TrackingDataSourceChanged();
         
-        // Call getLocalSettings() to pull the local settings from persistent storage into the local member
+        // Call getLocalSettings() to pull the local settings from persistent storage into the local member (if not already loaded)
         getLocalSettings();
     }
     
@@ -98,15 +195,46 @@ public class DataInterfaceService extends Service implements IDataInterface {
     public IBinder onBind(Intent arg0) {
         return binder;
     }
+    
+    @Override
+    public void onDestroy() {
+        DisconnectNetworkInfoProvider();
+        modelStoreSynchronizer.Shutdown();
+        ShutdownRemoteDataModelProxy();
+        if (sqliteModelStore != null) {
+            sqliteModelStore.close();
+        }
+        super.onDestroy();
+    }
 
     @Override
     public void AddObjectPermissionSet(String objectName, String objectType, String objectOwner, boolean addFlag, boolean removeFlag, ArrayList<RoleToPermissionMap> objectPermissions) throws Exception {
         remoteDataModelProxy.AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, objectPermissions, getAuthenticationContext(), getTrackingData());
+        OracleObjectPermissionSet addedObject = new OracleObjectPermissionSet(objectName);
+        addedObject.setObjectType(objectType);
+        addedObject.setObjectOwner(objectOwner);
+        addedObject.setAddFlag(addFlag);
+        addedObject.setRemoveFlag(removeFlag);
+        if (objectPermissions != null) {
+            addedObject.setObjectPermissions(new ArrayList<RoleToPermissionMap>(objectPermissions));
+        }
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                modelStore.AddObjectPermissionSet(addedObject);
+                modelStoreWriteCount++;
+            }
+        }
     }
     
     @Override
     public void RemoveObjectPermissionSet(String objectName) throws Exception {
         remoteDataModelProxy.RemoveObjectPermissionSet(objectName, getAuthenticationContext(), getTrackingData()); 
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                modelStore.RemoveObjectPermissionSet(objectName);
+                modelStoreWriteCount++;
+            }
+        }
     }
     
     @Override
@@ -141,32 +269,83 @@ public class DataInterfaceService extends Service implements IDataInterface {
     
     @Override
     public ArrayList<OracleObjectPermissionSet> getObjects() throws Exception {
-        return remoteDataModelProxy.getObjects(getAuthenticationContext(), getTrackingData());
+        PrepareModelStore();
+        synchronized (modelStoreLock) {
+            return modelStore.getObjects();
+        }
     }
     
     @Override
     public void SetAddFlag(String objectName, boolean addFlagValue) throws Exception {
         remoteDataModelProxy.SetAddFlag(objectName, addFlagValue, getAuthenticationContext(), getTrackingData());
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                modelStore.SetAddFlag(objectName, addFlagValue);
+                modelStoreWriteCount++;
+            }
+        }
     }
     
     @Override
     public void SetRemoveFlag(String objectName, boolean removeFlagValue) throws Exception {
         remoteDataModelProxy.SetRemoveFlag(objectName, removeFlagValue, getAuthenticationContext(), getTrackingData());
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                modelStore.SetRemoveFlag(objectName, removeFlagValue);
+                modelStoreWriteCount++;
+            }
+        }
     }
     
     @Override
     public void AddPermission(String objectName, String role, String permission) throws Exception {
         remoteDataModelProxy.AddPermission(objectName, role, permission, getAuthenticationContext(), getTrackingData());
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                modelStore.AddPermission(objectName, role, permission);
+                modelStoreWriteCount++;
+            }
+        }
     }
     
     @Override
     public void RemovePermission(String objectName, String role, String permission) throws Exception {
         remoteDataModelProxy.RemovePermission(objectName, role, permission, getAuthenticationContext(), getTrackingData());
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                modelStore.RemovePermission(objectName, role, permission);
+                modelStoreWriteCount++;
+            }
+        }
+    }
+    
+    @Override
+    public ArrayList<ModelOperationResult> ExecuteBatch(List<ModelOperation> operations) throws Exception {
+        ArrayList<ModelOperationResult> results = remoteDataModelProxy.ExecuteBatch(operations, getAuthenticationContext(), getTrackingData());
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                for (int i = 0; i < operations.size() && i < results.size(); i++) {
+                    if (results.get(i).getSuccess() == true) {
+                        ApplyToModelStore(operations.get(i));
+                    }
+                }
+                modelStoreWriteCount++;
+            }
+        }
+        return results;
+    }
+    
+    @Override
+    public EntityValidationResults ValidateEntities(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps) throws Exception {
+        return remoteDataModelProxy.ValidateEntities(objects, roleToUserMaps, getAuthenticationContext(), getTrackingData());
     }
     
     @Override
     public ArrayList<String> getRoles() throws Exception {
-        return remoteDataModelProxy.getRoles(getAuthenticationContext(), getTrackingData());
+        PrepareModelStore();
+        synchronized (modelStoreLock) {
+            return modelStore.getRoles();
+        }
     }
     
     @Override
@@ -176,27 +355,48 @@ public class DataInterfaceService extends Service implements IDataInterface {
     
     @Override
     public ArrayList<String> getPermissions(String objectName, String role) throws Exception {
-        return remoteDataModelProxy.getPermissions(objectName, role, getAuthenticationContext(), getTrackingData());
+        PrepareModelStore();
+        synchronized (modelStoreLock) {
+            return modelStore.getPermissions(objectName, role);
+        }
     }
     
     @Override
     public ArrayList<RoleToUserMap> getMasterRoleToUserMapCollection() throws Exception {
-        return remoteDataModelProxy.getMasterRoleToUserMapCollection(getAuthenticationContext(), getTrackingData());
+        PrepareModelStore();
+        synchronized (modelStoreLock) {
+            return modelStore.getRoleToUserMaps();
+        }
     }
     
     @Override
     public ArrayList<String> RoleGetReferencingObjects(String role) throws Exception {
-        return remoteDataModelProxy.RoleGetReferencingObjects(role, getAuthenticationContext(), getTrackingData());
+        PrepareModelStore();
+        synchronized (modelStoreLock) {
+            return modelStore.RoleGetReferencingObjects(role);
+        }
     }
     
     @Override
     public void AddRoleToUserMap(String role, String user) throws Exception {
         remoteDataModelProxy.AddRoleToUserMap(role, user, getAuthenticationContext(), getTrackingData());
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                modelStore.AddRoleToUserMap(role, user);
+                modelStoreWriteCount++;
+            }
+        }
     }
     
     @Override
     public void RemoveRoleToUserMap(String role, String user) throws Exception {
         remoteDataModelProxy.RemoveRoleToUserMap(role, user, getAuthenticationContext(), getTrackingData());
+        synchronized (modelStoreLock) {
+            if (ModelStoreIsCurrent() == true) {
+                modelStore.RemoveRoleToUserMap(role, user);
+                modelStoreWriteCount++;
+            }
+        }
     }
     
     @Override
@@ -205,30 +405,72 @@ public class DataInterfaceService extends Service implements IDataInterface {
     }
     
     @Override
-    public void setLocalSettings(LocalSettings localSettings) {
-        this.localSettings = localSettings;
-        localSettingsPersister.Write(this.localSettings);
+    public ValidationResult RoleToUserMapRemoveValidate(String role, String user) throws Exception {
+        PrepareModelStore();
+        synchronized (modelStoreLock) {
+            // The referencing objects are only retrieved if the map cannot be removed, so the check is answered by the counts held by the model store in the usual case
+            if (modelStore.RoleGetUserMapCount(role) == 1 && modelStore.RoleGetReferencingObjectCount(role) != 0) {
+                // Build an error message listing all the objects referencing the role to user mapping
+                StringBuilder errorMessage = new StringBuilder();
+                errorMessage.append("The role to user mapping is referenced by the following objects.  Please remove the references or objects and try again.\n");
+                for (String currentReferencingObject : modelStore.RoleGetReferencingObjects(role)) {
+                    errorMessage.append("  " + currentReferencingObject + "\n");
+                }
+                return new ValidationResult(false, errorMessage.toString());
+            }
+            else {
+                return new ValidationResult(true, "");
+            }
+        }
+    }
+    
+    @Override
+    public void setLocalSettings(LocalSettings localSettings) throws Exception {
+        // Take a copy so that the snapshot cannot be changed by the caller modifying the parameter
+        LocalSettings newLocalSettings = new LocalSettings(localSettings);
+        LocalSettings previousLocalSettings;
+        synchronized (localSettingsLock) {
+            previousLocalSettings = this.localSettings;
+            this.localSettings = newLocalSettings;
+            localSettingsLoaded = true;
+        }
+        localSettingsPersister.Write(newLocalSettings);
+        for (ILocalSettingsListener currentListener : localSettingsListeners) {
+            currentListener.LocalSettingsChanged(previousLocalSettings, newLocalSettings);
+        }
     }
     
     @Override
     public LocalSettings getLocalSettings() {
-        localSettings = localSettingsPersister.Read();
-        return localSettings;
+        synchronized (localSettingsLock) {
+            if (localSettingsLoaded == false) {
+                localSettings = localSettingsPersister.Read();
+                localSettingsLoaded = true;
+            }
+            // Return a copy so that the cached settings cannot be changed by the caller modifying the returned instance
+            return new LocalSettings(localSettings);
+        }
     }
     
     @Override
-    public String CreatePrivilegeScript(ScriptType scriptType, boolean generateRevokeStatements) throws Exception {
-        return remoteDataModelProxy.CreatePrivilegeScript(scriptType, generateRevokeStatements, getAuthenticationContext(), getTrackingData());
+    public void CreatePrivilegeScript(ScriptType scriptType, boolean generateRevokeStatements, Writer writer) throws Exception {
+        PrepareModelStore();
+        synchronized (modelStoreLock) {
+            scriptGenerator.CreatePrivilegeScript(modelStore.getObjects(), modelStore.getRoleToUserMaps(), scriptType, generateRevokeStatements, writer);
+        }
     }
 
     @Override
-    public String CreateSynonymScript(ScriptType scriptType) throws Exception {
-        return remoteDataModelProxy.CreateSynonymScript(scriptType, getAuthenticationContext(), getTrackingData());
+    public void CreateSynonymScript(ScriptType scriptType, Writer writer) throws Exception {
+        PrepareModelStore();
+        synchronized (modelStoreLock) {
+            scriptGenerator.CreateSynonymScript(modelStore.getObjects(), modelStore.getRoleToUserMaps(), scriptType, writer);
+        }
     }
     
     @Override
-    public void WriteScript(String scriptText) {
-        scriptPersister.Write(scriptText);
+    public Writer CreateScriptWriter() {
+        return scriptPersister.CreateWriter();
     }
     
     /**
@@ -242,17 +484,223 @@ public class DataInterfaceService extends Service implements IDataInterface {
      * @return  The current tracking data.
      */
     private TrackingData getTrackingData() {
-        TrackingData returnTrackingData = new TrackingData();
-        // TODO: locationProvider seems to always be null the first time the code is run on the emulator after booting.  Need to understand why.
-        returnTrackingData.setLocation(locationProvider.getLastKnownLocation());
-        InetAddress ipAddress = networkInfoProvider.getMobileIpAddress();
-        if (ipAddress == null) {
-            returnTrackingData.setIpV4Address(null);
+        TrackingDataSnapshot snapshot = trackingDataSnapshot;
+        if (snapshot == null) {
+            long sourceVersion = trackingDataSourceVersion.get();
+            
+            // TODO: locationProvider seems to always be null the first time the code is run on the emulator after booting.  Need to understand why.
+            Location location = locationProvider.getLastKnownLocation();
+            InetAddress ipAddress = networkInfoProvider.getMobileIpAddress();
+            byte[] ipV4Address = null;
+            if (ipAddress != null) {
+                ipV4Address = ipAddress.getAddress();
+            }
+            snapshot = new TrackingDataSnapshot(location, ipV4Address, dateProvider.getDate().getTime());
+            
+            // Only store the snapshot if the location or network connectivity did not change while it was being built
+            synchronized (trackingDataSnapshotLock) {
+                if (trackingDataSourceVersion.get() == sourceVersion) {
+                    trackingDataSnapshot = snapshot;
+                }
+            }
+        }
+        
+        return snapshot.CreateTrackingData(dateProvider.getDate().getTime());
+    }
+    
+    /**
+     * Disconnects the network info provider from the Android operating system, if it was connected by the Initialize() method.
+     */
+    private void DisconnectNetworkInfoProvider() {
+        if (networkInfoProvider instanceof NetworkInfoProvider) {
+            ((NetworkInfoProvider)networkInfoProvider).Disconnect();
+        }
+    }
+    
+    /**
+     * @return  Identifies the remote data model which the model store should hold a copy of, based on the type and location of the configured remote data model proxy, and the configured user.
+     */
+    private String getModelStoreIdentity() {
+        LocalSettings localSettings = this.localSettings;
+        String dataServiceLocation = null;
+        if (localSettings.getRemoteDataModelProxyType() == RemoteDataModelProxyType.SOAP) {
+            dataServiceLocation = localSettings.getSoapDataServiceLocation();
+        }
+        else if (localSettings.getRemoteDataModelProxyType() == RemoteDataModelProxyType.REST) {
+            dataServiceLocation = localSettings.getRestDataServiceLocation();
+        }
+        return localSettings.getRemoteDataModelProxyType() + "\n" + dataServiceLocation + "\n" + localSettings.getUserIdentifier();
+    }
+    
+    /**
+     * Returns true if the model store has been populated with a copy of the remote data model which is currently configured.
+     * <b>Note</b> must be called while holding the lock on member 'modelStoreLock'.
+     * @return  Whether the model store holds a copy of the current remote data model.
+     */
+    private boolean ModelStoreIsCurrent() {
+        return (modelStore.getIsPopulated() == true && getModelStoreIdentity().equals(modelStore.getIdentity()) == true);
+    }
+    
+    /**
+     * Ensures the model store can be read from.  If the store holds a copy of the current remote data model, a synchronization is requested in the background and the method returns immediately.  Otherwise the store is synchronized in the foreground.
+     * @throws  Exception  if an error occurs when synchronizing the model store.
+     */
+    private void PrepareModelStore() throws Exception {
+        boolean modelStoreIsCurrent;
+        synchronized (modelStoreLock) {
+            modelStoreIsCurrent = ModelStoreIsCurrent();
+        }
+        if (modelStoreIsCurrent == true) {
+            modelStoreSynchronizer.RequestSynchronization();
         }
         else {
-            returnTrackingData.setIpV4Address(ipAddress.getAddress());
+            modelStoreSynchronizer.Synchronize();
+        }
+    }
+    
+    /**
+     * Brings the model store up to date with the remote data model.  Only the objects and role to user mappings which have changed since the store was last synchronized are retrieved, unless the store does not hold a copy of the current remote data model or the remote data model no longer holds the changes, in which case the complete lists are retrieved.
+     * <p>The remote data model is called without holding the lock on the model store, so that the store can still be read while the synchronization is in progress.  If a change is made through this service while the synchronization is in progress, the retrieved changes are discarded, and are retrieved again on the next synchronization.</p>
+     * @throws  Exception  if an error occurs when calling the remote data model.
+     */
+    private void SynchronizeModelStore() throws Exception {
+        AuthenticationContext authenticationContext = getAuthenticationContext();
+        TrackingData trackingData = getTrackingData();
+        String identity;
+        boolean modelStoreIsCurrent;
+        // A store which does not hold the current remote data model requests changes since version 0, which is never held by the remote data model, to retrieve the current model version
+        long modelVersion = 0;
+        long writeCount;
+        synchronized (modelStoreLock) {
+            identity = getModelStoreIdentity();
+            modelStoreIsCurrent = ModelStoreIsCurrent();
+            if (modelStoreIsCurrent == true) {
+                modelVersion = modelStore.getModelVersion();
+            }
+            writeCount = modelStoreWriteCount;
+        }
+        
+        ModelChangeSet changeSet = remoteDataModelProxy.getChangesSince(modelVersion, authenticationContext, trackingData);
+        ArrayList<String> roles = remoteDataModelProxy.getRoles(authenticationContext, trackingData);
+        if (changeSet.getSnapshotRequired() == false && modelStoreIsCurrent == true) {
+            synchronized (modelStoreLock) {
+                if (writeCount == modelStoreWriteCount && ModelStoreIsCurrent() == true && modelStore.getModelVersion() == modelVersion) {
+                    modelStore.Apply(changeSet);
+                    modelStore.setRoles(roles);
+                }
+            }
+        }
+        else {
+            // The model version is retrieved before the complete lists, so any changes made in between are retrieved again on the next synchronization
+            ArrayList<OracleObjectPermissionSet> objects = remoteDataModelProxy.getObjects(authenticationContext, trackingData);
+            ArrayList<RoleToUserMap> roleToUserMaps = remoteDataModelProxy.getMasterRoleToUserMapCollection(authenticationContext, trackingData);
+            synchronized (modelStoreLock) {
+                // Replace the store unless it has since been populated with the current remote data model and changed through this service
+                if (identity.equals(getModelStoreIdentity()) == true && (writeCount == modelStoreWriteCount || ModelStoreIsCurrent() == false)) {
+                    modelStore.Load(identity, changeSet.getModelVersion(), objects, roles, roleToUserMaps);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Applies a batched operation which succeeded against the remote data model to the model store.
+     * <b>Note</b> must be called while holding the lock on member 'modelStoreLock'.
+     * @param  operation  The operation.
+     */
+    private void ApplyToModelStore(ModelOperation operation) {
+        switch (operation.getOperationType()) {
+            case AddPermission:
+                modelStore.AddPermission(operation.getObjectName(), operation.getRole(), operation.getPermission());
+                break;
+            case RemovePermission:
+                modelStore.RemovePermission(operation.getObjectName(), operation.getRole(), operation.getPermission());
+                break;
+            case SetAddFlag:
+                modelStore.SetAddFlag(operation.getObjectName(), operation.getFlagValue());
+                break;
+            case SetRemoveFlag:
+                modelStore.SetRemoveFlag(operation.getObjectName(), operation.getFlagValue());
+                break;
+        }
+    }
+    
+    /**
+     * Releases any network connections held by the current remote data model proxy.
+     */
+    private void ShutdownRemoteDataModelProxy() {
+        if (remoteDataModelProxy instanceof CachingRemoteDataModelProxy) {
+            ((CachingRemoteDataModelProxy)remoteDataModelProxy).Shutdown();
+        }
+        else if (remoteDataModelProxy instanceof RestRemoteDataModelProxy) {
+            ((RestRemoteDataModelProxy)remoteDataModelProxy).Shutdown();
+        }
+    }
+    
+    /**
+     * Invalidates the tracking data snapshot when the location or network connectivity of the device changes.
+     * @author Alastair Wyse
+     */
+    private class TrackingDataSnapshotInvalidator implements ITrackingDataSourceListener {
+
+        @Override
+        public void TrackingDataSourceChanged() {
+            synchronized (trackingDataSnapshotLock) {
+                trackingDataSourceVersion.incrementAndGet();
+                trackingDataSnapshot = null;
+            }
+        }
+    }
+    
+    /**
+     * Immutable copy of the tracking data at a point in time, from which TrackingData instances can be created cheaply for each remote call.
+     * @author Alastair Wyse
+     */
+    private static class TrackingDataSnapshot {
+        
+        private final Location location;
+        private final byte[] ipV4Address;
+        private final long creationTime;
+        
+        /**
+         * Initialises a new instance of the TrackingDataSnapshot class.
+         * @param  location      The last known location of the device, or null if not known.
+         * @param  ipV4Address   The IPv4 address of the device, or null if not known.
+         * @param  creationTime  The time the snapshot was created, in milliseconds since the epoch.
+         */
+        public TrackingDataSnapshot(Location location, byte[] ipV4Address, long creationTime) {
+            this.location = location;
+            this.ipV4Address = ipV4Address;
+            this.creationTime = creationTime;
+        }
+        
+        /**
+         * Creates tracking data from the snapshot, adjusting the number of seconds since the location was updated to the specified time.
+         * @param   currentTime  The current time in milliseconds since the epoch.
+         * @return               The tracking data.
+         */
+        public TrackingData CreateTrackingData(long currentTime) {
+            TrackingData returnTrackingData = new TrackingData();
+            if (location != null) {
+                int secondsSinceUpdate = location.getSecondsSinceUpdate() + (int)((currentTime - creationTime) / 1000);
+                returnTrackingData.setLocation(new Location(location.getLatitude(), location.getLongitude(), secondsSinceUpdate));
+            }
+            returnTrackingData.setIpV4Address(ipV4Address);
+            return returnTrackingData;
+        }
+    }
+    
+    /**
+     * Synchronizes the model store with the remote data model when called by the model store synchronizer.
+     * @author Alastair Wyse
+     */
+    private class ModelStoreSynchronizationAction implements Callable<Void> {
+        
+        @Override
+        public Void call() throws Exception {
+            SynchronizeModelStore();
+            return null;
         }
-        return returnTrackingData;
     }
     
     /**
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.*;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.*;
+import org.apache.http.conn.params.*;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.*;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.params.*;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Maintains a single, long-lived HTTP client backed by a thread-safe pool of keep-alive connections, so that successive REST requests can reuse an existing connection rather than opening a new one for each request.
+ * @author Alastair Wyse
+ */
+public class HttpClientConnectionPool {
+
+    private final int defaultMaximumConnectionsPerRoute = 4;
+    private final int defaultMaximumTotalConnections = 8;
+    private final int defaultConnectionTimeout = 15000;
+    private final int defaultSocketTimeout = 30000;
+    private final long defaultKeepAliveDuration = 30000;
+    private final long defaultIdleConnectionTimeout = 60000;
+    private final int defaultRequestCompressionThreshold = -1;
+
+    private int maximumConnectionsPerRoute;
+    private long keepAliveDuration;
+    private long idleConnectionTimeout;
+    private StatisticsTrackingConnectionManager connectionManager;
+    private DefaultHttpClient httpClient;
+    private HttpCompressionInterceptor compressionInterceptor;
+    private Thread idleConnectionEvictionThread;
+    private volatile boolean shutdown;
+
+    /**
+     * Initialises a new instance of the HttpClientConnectionPool class.
+     */
+    public HttpClientConnectionPool() {
+        maximumConnectionsPerRoute = defaultMaximumConnectionsPerRoute;
+        keepAliveDuration = defaultKeepAliveDuration;
+        idleConnectionTimeout = defaultIdleConnectionTimeout;
+        Initialize(defaultMaximumTotalConnections, defaultConnectionTimeout, defaultSocketTimeout);
+    }
+
+    /**
+     * Initialises a new instance of the HttpClientConnectionPool class.
+     * @param  maximumConnectionsPerRoute  The maximum number of connections which can be open to a single route (i.e. host and port) at any time.
+     * @param  maximumTotalConnections     The maximum number of connections which can be open in the pool at any time.
+     * @param  connectionTimeout           The time in milliseconds to wait while establishing a new connection before giving up.
+     * @param  socketTimeout               The time in milliseconds to wait for data on an open connection before giving up.
+     * @param  keepAliveDuration           The time in milliseconds to keep an idle connection open for reuse, if the server does not specify a keep-alive timeout.
+     * @param  idleConnectionTimeout       The time in milliseconds after which idle connections are evicted from the pool.
+     */
+    public HttpClientConnectionPool(int maximumConnectionsPerRoute, int maximumTotalConnections, int connectionTimeout, int socketTimeout, long keepAliveDuration, long idleConnectionTimeout) {
+        if (maximumConnectionsPerRoute < 1) {
+            throw new IllegalArgumentException("Argument 'maximumConnectionsPerRoute' must be greater than 0.");
+        }
+        if (maximumTotalConnections < maximumConnectionsPerRoute) {
+            throw new IllegalArgumentException("Argument 'maximumTotalConnections' must be greater than or equal to argument 'maximumConnectionsPerRoute'.");
+        }
+        if (idleConnectionTimeout < 1) {
+            throw new IllegalArgumentException("Argument 'idleConnectionTimeout' must be greater than 0.");
+        }
+
+        this.maximumConnectionsPerRoute = maximumConnectionsPerRoute;
+        this.keepAliveDuration = keepAliveDuration;
+        this.idleConnectionTimeout = idleConnectionTimeout;
+        Initialize(maximumTotalConnections, connectionTimeout, socketTimeout);
+    }
+
+    /**
+     * @return  The maximum number of connections which can be open to a single route at any time.
+     */
+    public int getMaximumConnectionsPerRoute() {
+        return maximumConnectionsPerRoute;
+    }
+
+    /**
+     * @return  The HTTP client which sends requests using the pooled connections.  The same instance is returned for the lifetime of the pool, and is safe to use from multiple threads.
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * @return  A snapshot of the current usage statistics of the pool.
+     */
+    public HttpConnectionPoolStatistics getStatistics() {
+        return connectionManager.getStatistics();
+    }
+
+    /**
+     * Returns the HttpCompressionInterceptor which is applied to all requests and responses sent using the pooled connections, creating it and adding it to the HTTP client on the first call.
+     * The same instance is returned on subsequent calls, so that clients sharing the pool share a single interceptor (and hence its byte counts and request compression threshold), rather than each adding an interceptor which would process every request sent by the HTTP client.
+     * @param   urlBasePath  The base path of the URLs of requests, after which the path segment identifying the operation appears (e.g. 'OraclePermissionGeneratorWebServiceAPI/REST').  Only used on the first call.
+     * @return               The compression interceptor.
+     */
+    public synchronized HttpCompressionInterceptor getCompressionInterceptor(String urlBasePath) {
+        if (compressionInterceptor == null) {
+            compressionInterceptor = new HttpCompressionInterceptor(urlBasePath, new TransferByteCounter(), defaultRequestCompressionThreshold);
+            // Added at the start of the list of request interceptors, so that the standard protocol interceptors set the content headers from any compressed entity
+            httpClient.addRequestInterceptor(compressionInterceptor, 0);
+            httpClient.addResponseInterceptor(compressionInterceptor, 0);
+        }
+        return compressionInterceptor;
+    }
+
+    /**
+     * Closes any connections in the pool which have expired, or which have been idle for longer than the idle connection timeout.
+     */
+    public void EvictIdleConnections() {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(idleConnectionTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops idle connection eviction and closes all connections in the pool.  The HTTP client returned by getHttpClient() should not be used after this method is called.
+     */
+    public void Shutdown() {
+        shutdown = true;
+        idleConnectionEvictionThread.interrupt();
+        connectionManager.shutdown();
+    }
+
+    /**
+     * Creates the connection manager and HTTP client, and starts the thread which evicts idle connections.
+     * @param  maximumTotalConnections  The maximum number of connections which can be open in the pool at any time.
+     * @param  connectionTimeout        The time in milliseconds to wait while establishing a new connection before giving up.
+     * @param  socketTimeout            The time in milliseconds to wait for data on an open connection before giving up.
+     */
+    private void Initialize(int maximumTotalConnections, int connectionTimeout, int socketTimeout) {
+        HttpParams httpParameters = new BasicHttpParams();
+        ConnManagerParams.setMaxConnectionsPerRoute(httpParameters, new ConnPerRouteBean(maximumConnectionsPerRoute));
+        ConnManagerParams.setMaxTotalConnections(httpParameters, maximumTotalConnections);
+        HttpConnectionParams.setConnectionTimeout(httpParameters, connectionTimeout);
+        HttpConnectionParams.setSoTimeout(httpParameters, socketTimeout);
+        HttpConnectionParams.setStaleCheckingEnabled(httpParameters, true);
+        HttpProtocolParams.setVersion(httpParameters, HttpVersion.HTTP_1_1);
+        HttpProtocolParams.setContentCharset(httpParameters, HTTP.UTF_8);
+
+        SchemeRegistry schemeRegistry = new SchemeRegistry();
+        schemeRegistry.register(new Scheme("http", PlainSocketFactory.getSocketFactory(), 80));
+
+        connectionManager = new StatisticsTrackingConnectionManager(httpParameters, schemeRegistry);
+        httpClient = new DefaultHttpClient(connectionManager, httpParameters);
+        httpClient.setKeepAliveStrategy(new DefaultDurationKeepAliveStrategy());
+
+        idleConnectionEvictionThread = new Thread(new IdleConnectionEvictor(), "HttpClientConnectionPool idle connection evictor");
+        idleConnectionEvictionThread.setDaemon(true);
+        idleConnectionEvictionThread.start();
+    }
+
+    /**
+     * Keep-alive strategy which uses the timeout specified by the server in the 'Keep-Alive' response header if present, and otherwise keeps the connection alive for the default keep-alive duration.
+     */
+    private class DefaultDurationKeepAliveStrategy implements ConnectionKeepAliveStrategy {
+
+        private final String keepAliveHeaderName = "Keep-Alive";
+        private final String timeoutParameterName = "timeout";
+
+        @Override
+        public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+            HeaderIterator headerIterator = response.headerIterator(keepAliveHeaderName);
+            while (headerIterator.hasNext()) {
+                for (HeaderElement currentElement : headerIterator.nextHeader().getElements()) {
+                    if (currentElement.getName().equalsIgnoreCase(timeoutParameterName) == true && currentElement.getValue() != null) {
+                        try {
+                            return Long.parseLong(currentElement.getValue()) * 1000;
+                        }
+                        catch (NumberFormatException e) {
+                            // Ignore malformed timeout values and fall back to the default duration
+                        }
+                    }
+                }
+            }
+
+            return keepAliveDuration;
+        }
+    }
+
+    /**
+     * Periodically closes expired and idle connections in the pool, so that connections closed by the server side while idle are not handed out for reuse.
+     */
+    private class IdleConnectionEvictor implements Runnable {
+
+        @Override
+        public void run() {
+            while (shutdown == false) {
+                try {
+                    Thread.sleep(idleConnectionTimeout);
+                }
+                catch (InterruptedException e) {
+                    // Interrupted by the Shutdown() method
+                    break;
+                }
+                EvictIdleConnections();
+            }
+        }
+    }
+
+    /**
+     * Extension of the ThreadSafeClientConnManager class which records the number of connections leased from the pool, and whether leased connections were newly created or reused.
+     */
+    private class StatisticsTrackingConnectionManager extends ThreadSafeClientConnManager {
+
+        private AtomicInteger leasedConnections;
+        private AtomicLong createdConnections;
+        private AtomicLong reusedConnections;
+
+        public StatisticsTrackingConnectionManager(HttpParams httpParameters, SchemeRegistry schemeRegistry) {
+            super(httpParameters, schemeRegistry);
+            leasedConnections = new AtomicInteger(0);
+            createdConnections = new AtomicLong(0);
+            reusedConnections = new AtomicLong(0);
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            final ClientConnectionRequest connectionRequest = super.requestConnection(route, state);
+
+            return new ClientConnectionRequest() {
+
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit timeUnit) throws InterruptedException, ConnectionPoolTimeoutException {
+                    ManagedClientConnection connection = connectionRequest.getConnection(timeout, timeUnit);
+                    leasedConnections.incrementAndGet();
+                    // A connection which is already open has been taken from the pool, rather than being newly created
+                    if (connection.isOpen() == true) {
+                        reusedConnections.incrementAndGet();
+                    }
+                    else {
+                        createdConnections.incrementAndGet();
+                    }
+                    return connection;
+                }
+
+                @Override
+                public void abortRequest() {
+                    connectionRequest.abortRequest();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection connection, long validDuration, TimeUnit timeUnit) {
+            super.releaseConnection(connection, validDuration, timeUnit);
+            leasedConnections.decrementAndGet();
+        }
+
+        /**
+         * @return  A snapshot of the current usage statistics of the connection manager.
+         */
+        public HttpConnectionPoolStatistics getStatistics() {
+            int leased = leasedConnections.get();
+            int available = Math.max(getConnectionsInPool() - leased, 0);
+            return new HttpConnectionPoolStatistics(leased, available, createdConnections.get(), reusedConnections.get());
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.io.*;
+import java.util.zip.*;
+
+import org.apache.http.*;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * HTTP client interceptor which requests compressed responses from the server, transparently decompresses gzip and deflate encoded responses, optionally gzip compresses request bodies, and records the number of bytes sent and received per operation before and after compression.
+ * An operation is identified by the HTTP method and the first path segment of the URL following the base path (e.g. 'GET Objects').
+ * @author Alastair Wyse
+ */
+public class HttpCompressionInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+    private final String acceptEncodingHeaderName = "Accept-Encoding";
+    private final String acceptEncodingHeaderValue = "gzip, deflate";
+    private final String contentEncodingHeaderName = "Content-Encoding";
+    private final String gzipEncoding = "gzip";
+    private final String deflateEncoding = "deflate";
+    private final String operationNameAttributeName = "net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.operationName";
+    private final int drainBufferSize = 4096;
+
+    private String urlBasePath;
+    private TransferByteCounter transferByteCounter;
+    private volatile int requestCompressionThreshold;
+
+    /**
+     * Initialises a new instance of the HttpCompressionInterceptor class.
+     * @param  urlBasePath                  The base path of the URLs of requests, after which the path segment identifying the operation appears (e.g. 'OraclePermissionGeneratorWebServiceAPI/REST').
+     * @param  transferByteCounter          The counter to record the number of bytes sent and received per operation in.
+     * @param  requestCompressionThreshold  The minimum size in bytes of a request body for it to be gzip compressed, or -1 if request bodies should not be compressed.
+     */
+    public HttpCompressionInterceptor(String urlBasePath, TransferByteCounter transferByteCounter, int requestCompressionThreshold) {
+        if (requestCompressionThreshold < -1) {
+            throw new IllegalArgumentException("Argument 'requestCompressionThreshold' must be greater than or equal to -1.");
+        }
+
+        this.urlBasePath = urlBasePath;
+        this.transferByteCounter = transferByteCounter;
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
+    /**
+     * @return  The counter recording the number of bytes sent and received per operation.
+     */
+    public TransferByteCounter getTransferByteCounter() {
+        return transferByteCounter;
+    }
+
+    /**
+     * @return  The minimum size in bytes of a request body for it to be gzip compressed, or -1 if request bodies are not compressed.
+     */
+    public int getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    /**
+     * @param  requestCompressionThreshold  The minimum size in bytes of a request body for it to be gzip compressed, or -1 if request bodies should not be compressed.  Should only be enabled if the server supports gzip encoded request bodies.
+     */
+    public void setRequestCompressionThreshold(int requestCompressionThreshold) {
+        if (requestCompressionThreshold < -1) {
+            throw new IllegalArgumentException("Argument 'requestCompressionThreshold' must be greater than or equal to -1.");
+        }
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) throws HttpException, IOException {
+        if (request.containsHeader(acceptEncodingHeaderName) == false) {
+            request.addHeader(acceptEncodingHeaderName, acceptEncodingHeaderValue);
+        }
+
+        String operationName = GetOperationName(request);
+        context.setAttribute(operationNameAttributeName, operationName);
+
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntityEnclosingRequest entityEnclosingRequest = (HttpEntityEnclosingRequest)request;
+            HttpEntity entity = entityEnclosingRequest.getEntity();
+            // The entity will already be wrapped if the request is being retried
+            if (entity != null && (entity instanceof GzipCompressingEntity) == false && (entity instanceof ByteCountingEntity) == false) {
+                long contentLength = entity.getContentLength();
+                int threshold = requestCompressionThreshold;
+                // Entities of unknown length (e.g. streamed JSON content) are compressed if compression is enabled, as they are typically large
+                if (threshold != -1 && (contentLength >= threshold || contentLength < 0) && entity.getContentEncoding() == null) {
+                    entityEnclosingRequest.setEntity(new GzipCompressingEntity(entity, operationName));
+                }
+                else if (contentLength >= 0) {
+                    transferByteCounter.AddRequestBytes(operationName, contentLength, contentLength);
+                }
+                else {
+                    entityEnclosingRequest.setEntity(new ByteCountingEntity(entity, operationName));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) throws HttpException, IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            return;
+        }
+
+        String operationName = (String)context.getAttribute(operationNameAttributeName);
+        if (operationName == null) {
+            operationName = "";
+        }
+        String contentEncoding = null;
+        Header contentEncodingHeader = entity.getContentEncoding();
+        if (contentEncodingHeader != null) {
+            for (HeaderElement currentElement : contentEncodingHeader.getElements()) {
+                if (currentElement.getName().equalsIgnoreCase(gzipEncoding) == true) {
+                    contentEncoding = gzipEncoding;
+                }
+                else if (currentElement.getName().equalsIgnoreCase(deflateEncoding) == true) {
+                    contentEncoding = deflateEncoding;
+                }
+            }
+        }
+        response.setEntity(new DecompressingEntity(entity, contentEncoding, operationName));
+        if (contentEncoding != null) {
+            response.removeHeaders(contentEncodingHeaderName);
+        }
+    }
+
+    /**
+     * Returns the name of the operation performed by the inputted request.
+     * @param   request  The HTTP request.
+     * @return           The name of the operation, consisting of the HTTP method and the first path segment of the URL following the base path.
+     */
+    private String GetOperationName(HttpRequest request) {
+        String uri = request.getRequestLine().getUri();
+        int pathStart = uri.indexOf(urlBasePath);
+        if (pathStart == -1) {
+            pathStart = 0;
+        }
+        else {
+            pathStart = pathStart + urlBasePath.length();
+        }
+        while (pathStart < uri.length() && uri.charAt(pathStart) == '/') {
+            pathStart++;
+        }
+        int pathEnd = pathStart;
+        while (pathEnd < uri.length() && uri.charAt(pathEnd) != '/' && uri.charAt(pathEnd) != '?') {
+            pathEnd++;
+        }
+
+        return request.getRequestLine().getMethod() + " " + uri.substring(pathStart, pathEnd);
+    }
+
+    /**
+     * Wraps an HTTP request entity, gzip compressing its content as it is written.
+     */
+    private class GzipCompressingEntity extends HttpEntityWrapper {
+
+        private String operationName;
+
+        public GzipCompressingEntity(HttpEntity wrappedEntity, String operationName) {
+            super(wrappedEntity);
+            this.operationName = operationName;
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            return new BasicHeader(contentEncodingHeaderName, gzipEncoding);
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public boolean isChunked() {
+            return true;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            // Compress the wrapped content into memory, as the compressed content is only otherwise produced as it is written.  Bytes are not recorded, as the content is not being sent.
+            ByteArrayOutputStream compressedStream = new ByteArrayOutputStream();
+            GZIPOutputStream gzipStream = new GZIPOutputStream(compressedStream);
+            wrappedEntity.writeTo(gzipStream);
+            gzipStream.close();
+            return new ByteArrayInputStream(compressedStream.toByteArray());
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            ByteCountingOutputStream compressedCountingStream = new ByteCountingOutputStream(outputStream);
+            GZIPOutputStream gzipStream = new GZIPOutputStream(compressedCountingStream);
+            ByteCountingOutputStream uncompressedCountingStream = new ByteCountingOutputStream(gzipStream);
+            wrappedEntity.writeTo(uncompressedCountingStream);
+            // Finish rather than close the gzip stream, as the underlying stream should not be closed
+            gzipStream.finish();
+            transferByteCounter.AddRequestBytes(operationName, uncompressedCountingStream.getByteCount(), compressedCountingStream.getByteCount());
+        }
+    }
+
+    /**
+     * Wraps an HTTP request entity of unknown length, recording the number of bytes in its content as it is written.
+     */
+    private class ByteCountingEntity extends HttpEntityWrapper {
+
+        private String operationName;
+
+        public ByteCountingEntity(HttpEntity wrappedEntity, String operationName) {
+            super(wrappedEntity);
+            this.operationName = operationName;
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            ByteCountingOutputStream countingStream = new ByteCountingOutputStream(outputStream);
+            wrappedEntity.writeTo(countingStream);
+            transferByteCounter.AddRequestBytes(operationName, countingStream.getByteCount(), countingStream.getByteCount());
+        }
+    }
+
+    /**
+     * Wraps an HTTP response entity, decompressing its content as it is read if it is gzip or deflate encoded, and recording the number of bytes read before and after decompression once the content is fully read or closed.
+     */
+    private class DecompressingEntity extends HttpEntityWrapper {
+
+        private String contentEncoding;
+        private String operationName;
+        private InputStream content;
+
+        public DecompressingEntity(HttpEntity wrappedEntity, String contentEncoding, String operationName) {
+            super(wrappedEntity);
+            this.contentEncoding = contentEncoding;
+            this.operationName = operationName;
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            if (contentEncoding != null) {
+                return null;
+            }
+            return wrappedEntity.getContentEncoding();
+        }
+
+        @Override
+        public long getContentLength() {
+            if (contentEncoding != null) {
+                return -1;
+            }
+            return wrappedEntity.getContentLength();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (content == null) {
+                ByteCountingInputStream transferredStream = new ByteCountingInputStream(wrappedEntity.getContent());
+                InputStream decodedStream = transferredStream;
+                if (gzipEncoding.equals(contentEncoding) == true) {
+                    decodedStream = new GZIPInputStream(transferredStream);
+                }
+                else if (deflateEncoding.equals(contentEncoding) == true) {
+                    decodedStream = new InflaterInputStream(transferredStream);
+                }
+                content = new RecordingInputStream(decodedStream, transferredStream, operationName);
+            }
+            return content;
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            InputStream inputStream = getContent();
+            try {
+                byte[] buffer = new byte[drainBufferSize];
+                int bytesRead = inputStream.read(buffer);
+                while (bytesRead != -1) {
+                    outputStream.write(buffer, 0, bytesRead);
+                    bytesRead = inputStream.read(buffer);
+                }
+            }
+            finally {
+                inputStream.close();
+            }
+        }
+
+        @Override
+        public void consumeContent() throws IOException {
+            // Read through the content rather than delegating to the wrapped entity, so that the bytes are counted
+            InputStream inputStream = getContent();
+            try {
+                byte[] buffer = new byte[drainBufferSize];
+                while (inputStream.read(buffer) != -1) {
+                }
+            }
+            finally {
+                inputStream.close();
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes read from a (possibly decompressed) response stream, and records them together with the number of bytes transferred when the end of the stream is reached or the stream is closed.
+     */
+    private class RecordingInputStream extends ByteCountingInputStream {
+
+        private ByteCountingInputStream transferredStream;
+        private String operationName;
+        private boolean recorded;
+
+        public RecordingInputStream(InputStream decodedStream, ByteCountingInputStream transferredStream, String operationName) {
+            super(decodedStream);
+            this.transferredStream = transferredStream;
+            this.operationName = operationName;
+            recorded = false;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int returnByte = super.read();
+            if (returnByte == -1) {
+                Record();
+            }
+            return returnByte;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int bytesRead = super.read(buffer, offset, length);
+            if (bytesRead == -1) {
+                Record();
+            }
+            return bytesRead;
+        }
+
+        @Override
+        public void close() throws IOException {
+            Record();
+            super.close();
+        }
+
+        private void Record() {
+            if (recorded == false) {
+                recorded = true;
+                transferByteCounter.AddResponseBytes(operationName, getByteCount(), transferredStream.getByteCount());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+/**
+ * Container class holding a snapshot of the usage statistics of an HttpClientConnectionPool.
+ * @author Alastair Wyse
+ */
+public class HttpConnectionPoolStatistics {
+
+    private int leasedConnections;
+    private int availableConnections;
+    private long createdConnections;
+    private long reusedConnections;
+
+    /**
+     * Initialises a new instance of the HttpConnectionPoolStatistics class.
+     * @param  leasedConnections     The number of connections currently leased from the pool and in use by a request.
+     * @param  availableConnections  The number of open connections currently idle in the pool and available for reuse.
+     * @param  createdConnections    The total number of connections which have been newly opened to service a request.
+     * @param  reusedConnections     The total number of requests which were serviced by reusing an already open connection.
+     */
+    public HttpConnectionPoolStatistics(int leasedConnections, int availableConnections, long createdConnections, long reusedConnections) {
+        this.leasedConnections = leasedConnections;
+        this.availableConnections = availableConnections;
+        this.createdConnections = createdConnections;
+        this.reusedConnections = reusedConnections;
+    }
+
+    /**
+     * @return  The number of connections currently leased from the pool and in use by a request.
+     */
+    public int getLeasedConnections() {
+        return leasedConnections;
+    }
+
+    /**
+     * @return  The number of open connections currently idle in the pool and available for reuse.
+     */
+    public int getAvailableConnections() {
+        return availableConnections;
+    }
+
+    /**
+     * @return  The total number of connections which have been newly opened to service a request.
+     */
+    public long getCreatedConnections() {
+        return createdConnections;
+    }
+
+    /**
+     * @return  The total number of requests which were serviced by reusing an already open connection.
+     */
+    public long getReusedConnections() {
+        return reusedConnections;
+    }
+}
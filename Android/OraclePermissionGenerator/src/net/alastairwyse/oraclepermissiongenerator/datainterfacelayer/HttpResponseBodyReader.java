@@ -0,0 +1,356 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+
+import org.apache.http.*;
+
+/**
+ * Reads and decodes the content of HTTP response entities, handling responses of unknown length, using buffers drawn from a BufferPool, and rejecting responses which exceed a maximum size.
+ * @author Alastair Wyse
+ */
+public class HttpResponseBodyReader {
+
+    private final String defaultCharsetName = "UTF-8";
+    private final String charsetParameterName = "charset";
+    /** The maximum initial capacity of the string builder used to hold a decoded response, regardless of the reported content length. */
+    private final int maximumInitialCapacity = 1048576;
+
+    private BufferPool bufferPool;
+    private long maximumResponseSize;
+
+    /**
+     * Initialises a new instance of the HttpResponseBodyReader class.
+     * @param  bufferPool           The pool to draw byte and character buffers from.
+     * @param  maximumResponseSize  The maximum size in bytes of a response which can be read.
+     */
+    public HttpResponseBodyReader(BufferPool bufferPool, long maximumResponseSize) {
+        if (maximumResponseSize < 1) {
+            throw new IllegalArgumentException("Argument 'maximumResponseSize' must be greater than 0.");
+        }
+
+        this.bufferPool = bufferPool;
+        this.maximumResponseSize = maximumResponseSize;
+    }
+
+    /**
+     * @return  The maximum size in bytes of a response which can be read.
+     */
+    public long getMaximumResponseSize() {
+        return maximumResponseSize;
+    }
+
+    /**
+     * @param  maximumResponseSize  The maximum size in bytes of a response which can be read.
+     */
+    public void setMaximumResponseSize(long maximumResponseSize) {
+        if (maximumResponseSize < 1) {
+            throw new IllegalArgumentException("Argument 'maximumResponseSize' must be greater than 0.");
+        }
+        this.maximumResponseSize = maximumResponseSize;
+    }
+
+    /**
+     * Reads the entire content of an HTTP entity and decodes it to a string, using the character set specified in the entity's content type, or UTF-8 if none is specified.
+     * @param   httpEntity   The HTTP entity to read.
+     * @return               The decoded content of the entity.
+     * @throws  IOException  if an error occurs reading the content, or the content exceeds the maximum response size.
+     */
+    public String ReadAsString(HttpEntity httpEntity) throws IOException {
+        long contentLength = httpEntity.getContentLength();
+        CheckContentLength(contentLength);
+        Charset charset = GetCharset(httpEntity);
+
+        // Content length will be -1 if unknown (e.g. when chunked transfer encoding is used)
+        int initialCapacity = bufferPool.getBufferSize();
+        if (contentLength > 0) {
+            initialCapacity = (int)Math.min(contentLength, maximumInitialCapacity);
+        }
+        StringBuilder stringBuilder = new StringBuilder(initialCapacity);
+
+        CharsetDecoder decoder = charset.newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.REPLACE);
+        decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+        byte[] byteArray = bufferPool.TakeByteBuffer();
+        char[] charArray = bufferPool.TakeCharBuffer();
+        InputStream inputStream = new SizeLimitedInputStream(httpEntity.getContent(), maximumResponseSize);
+        try {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(byteArray);
+            CharBuffer charBuffer = CharBuffer.wrap(charArray);
+            int bytesRead = inputStream.read(byteArray, byteBuffer.position(), byteBuffer.remaining());
+            while (bytesRead != -1) {
+                byteBuffer.position(byteBuffer.position() + bytesRead);
+                byteBuffer.flip();
+                Decode(decoder, byteBuffer, charBuffer, stringBuilder, false);
+                // Any bytes of an incomplete multi-byte character are moved to the start of the buffer, to be decoded with the next bytes read
+                byteBuffer.compact();
+                bytesRead = inputStream.read(byteArray, byteBuffer.position(), byteBuffer.remaining());
+            }
+            byteBuffer.flip();
+            Decode(decoder, byteBuffer, charBuffer, stringBuilder, true);
+            while (decoder.flush(charBuffer) == CoderResult.OVERFLOW) {
+                AppendAndClear(charBuffer, stringBuilder);
+            }
+            AppendAndClear(charBuffer, stringBuilder);
+        }
+        finally {
+            inputStream.close();
+            bufferPool.ReturnByteBuffer(byteArray);
+            bufferPool.ReturnCharBuffer(charArray);
+        }
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Creates a Reader which decodes the content of an HTTP entity as it is read, using the character set specified in the entity's content type, or UTF-8 if none is specified.
+     * The Reader should be closed after use, to release the underlying connection and return its buffers to the pool.
+     * @param   httpEntity   The HTTP entity to read.
+     * @return               A Reader over the content of the entity.
+     * @throws  IOException  if an error occurs retrieving the content, or the reported content length exceeds the maximum response size.
+     */
+    public Reader CreateReader(HttpEntity httpEntity) throws IOException {
+        CheckContentLength(httpEntity.getContentLength());
+        Charset charset = GetCharset(httpEntity);
+
+        CharsetDecoder decoder = charset.newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.REPLACE);
+        decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return new PooledDecodingReader(new SizeLimitedInputStream(httpEntity.getContent(), maximumResponseSize), decoder);
+    }
+
+    /**
+     * Throws an exception if the inputted content length exceeds the maximum response size.
+     * @param   contentLength  The content length reported by the entity.
+     */
+    private void CheckContentLength(long contentLength) throws IOException {
+        if (contentLength > maximumResponseSize) {
+            throw new IOException("Response content length of " + contentLength + " bytes exceeds the maximum response size of " + maximumResponseSize + " bytes.");
+        }
+    }
+
+    /**
+     * Returns the character set specified in the content type of the inputted entity, or UTF-8 if none is specified.
+     * @param   httpEntity  The HTTP entity.
+     * @return              The character set.
+     */
+    private Charset GetCharset(HttpEntity httpEntity) throws IOException {
+        String charsetName = defaultCharsetName;
+        Header contentTypeHeader = httpEntity.getContentType();
+        if (contentTypeHeader != null) {
+            for (HeaderElement currentElement : contentTypeHeader.getElements()) {
+                NameValuePair charsetParameter = currentElement.getParameterByName(charsetParameterName);
+                if (charsetParameter != null && charsetParameter.getValue() != null) {
+                    charsetName = charsetParameter.getValue();
+                }
+            }
+        }
+        try {
+            return Charset.forName(charsetName);
+        }
+        catch (IllegalCharsetNameException e) {
+            throw new UnsupportedEncodingException("Response character set '" + charsetName + "' is invalid.");
+        }
+        catch (UnsupportedCharsetException e) {
+            throw new UnsupportedEncodingException("Response character set '" + charsetName + "' is not supported.");
+        }
+    }
+
+    /**
+     * Decodes bytes from the inputted byte buffer, appending the decoded characters to a StringBuilder.
+     * @param  decoder        The decoder to use.
+     * @param  byteBuffer     The bytes to decode.
+     * @param  charBuffer     The buffer to hold decoded characters before they are appended to the StringBuilder.
+     * @param  stringBuilder  The StringBuilder to append decoded characters to.
+     * @param  endOfInput     Whether the bytes are the last in the input.
+     */
+    private void Decode(CharsetDecoder decoder, ByteBuffer byteBuffer, CharBuffer charBuffer, StringBuilder stringBuilder, boolean endOfInput) {
+        while (decoder.decode(byteBuffer, charBuffer, endOfInput) == CoderResult.OVERFLOW) {
+            AppendAndClear(charBuffer, stringBuilder);
+        }
+        AppendAndClear(charBuffer, stringBuilder);
+    }
+
+    /**
+     * Appends the contents of the inputted character buffer to a StringBuilder, and clears the buffer.
+     * @param  charBuffer     The character buffer.
+     * @param  stringBuilder  The StringBuilder to append to.
+     */
+    private void AppendAndClear(CharBuffer charBuffer, StringBuilder stringBuilder) {
+        charBuffer.flip();
+        stringBuilder.append(charBuffer.array(), charBuffer.arrayOffset(), charBuffer.remaining());
+        charBuffer.clear();
+    }
+
+    /**
+     * Reader which decodes the bytes of an InputStream using byte and character buffers drawn from the BufferPool, and returns the buffers to the pool when closed.
+     */
+    private class PooledDecodingReader extends Reader {
+
+        private InputStream inputStream;
+        private CharsetDecoder decoder;
+        private byte[] byteArray;
+        private char[] charArray;
+        private ByteBuffer byteBuffer;
+        private CharBuffer charBuffer;
+        private boolean endOfInput;
+        private boolean flushed;
+        private boolean closed;
+
+        public PooledDecodingReader(InputStream inputStream, CharsetDecoder decoder) {
+            this.inputStream = inputStream;
+            this.decoder = decoder;
+            byteArray = bufferPool.TakeByteBuffer();
+            charArray = bufferPool.TakeCharBuffer();
+            // Both buffers start empty and are kept ready for reading (i.e. flipped) between calls
+            byteBuffer = ByteBuffer.wrap(byteArray);
+            byteBuffer.limit(0);
+            charBuffer = CharBuffer.wrap(charArray);
+            charBuffer.limit(0);
+            endOfInput = false;
+            flushed = false;
+            closed = false;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (closed == true) {
+                throw new IOException("Reader is closed.");
+            }
+            if (length == 0) {
+                return 0;
+            }
+            while (charBuffer.hasRemaining() == false) {
+                if (Fill() == false) {
+                    return -1;
+                }
+            }
+            int charsRead = Math.min(length, charBuffer.remaining());
+            charBuffer.get(buffer, offset, charsRead);
+            return charsRead;
+        }
+
+        @Override
+        public boolean ready() throws IOException {
+            return (closed == false && charBuffer.hasRemaining() == true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed == false) {
+                closed = true;
+                try {
+                    inputStream.close();
+                }
+                finally {
+                    bufferPool.ReturnByteBuffer(byteArray);
+                    bufferPool.ReturnCharBuffer(charArray);
+                }
+            }
+        }
+
+        /**
+         * Reads and decodes bytes from the underlying stream until at least one character is available in the character buffer.
+         * @return  False if the end of the stream has been reached and all characters have been read.
+         */
+        private boolean Fill() throws IOException {
+            charBuffer.clear();
+            while (charBuffer.position() == 0) {
+                if (flushed == true) {
+                    break;
+                }
+                if (endOfInput == false) {
+                    // Any bytes of an incomplete multi-byte character are moved to the start of the buffer, to be decoded with the next bytes read
+                    byteBuffer.compact();
+                    int bytesRead = inputStream.read(byteArray, byteBuffer.position(), byteBuffer.remaining());
+                    if (bytesRead == -1) {
+                        endOfInput = true;
+                    }
+                    else {
+                        byteBuffer.position(byteBuffer.position() + bytesRead);
+                    }
+                    byteBuffer.flip();
+                    decoder.decode(byteBuffer, charBuffer, endOfInput);
+                }
+                else if (byteBuffer.hasRemaining() == true) {
+                    decoder.decode(byteBuffer, charBuffer, true);
+                }
+                else if (decoder.flush(charBuffer) == CoderResult.UNDERFLOW) {
+                    flushed = true;
+                }
+            }
+            charBuffer.flip();
+            return charBuffer.hasRemaining();
+        }
+    }
+
+    /**
+     * Wrapper around an InputStream which throws an exception if more than a specified number of bytes are read from the stream.
+     */
+    private class SizeLimitedInputStream extends FilterInputStream {
+
+        private long maximumSize;
+        private long bytesRead;
+
+        public SizeLimitedInputStream(InputStream inputStream, long maximumSize) {
+            super(inputStream);
+            this.maximumSize = maximumSize;
+            bytesRead = 0;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int returnByte = super.read();
+            if (returnByte != -1) {
+                AddBytesRead(1);
+            }
+            return returnByte;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int returnBytesRead = super.read(buffer, offset, length);
+            if (returnBytesRead > 0) {
+                AddBytesRead(returnBytesRead);
+            }
+            return returnBytesRead;
+        }
+
+        @Override
+        public long skip(long byteCount) throws IOException {
+            long skipped = super.skip(byteCount);
+            AddBytesRead(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void AddBytesRead(long count) throws IOException {
+            bytesRead = bytesRead + count;
+            if (bytesRead > maximumSize) {
+                throw new IOException("Response exceeds the maximum response size of " + maximumSize + " bytes.");
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 
+import java.io.Writer;
 import java.util.*;
 
 import net.alastairwyse.oraclepermissiongenerator.containers.*;
@@ -127,6 +128,23 @@ public interface IDataInterface {
      */
     public void RemovePermission(String objectName, String role, String permission) throws Exception;
     
+    /**
+     * Executes a batch of operations which modify the data layer.  Operations are executed in the order they appear in the batch, and the failure of an individual operation does not prevent subsequent operations from being executed.
+     * @param   operations  The operations to execute.
+     * @return              The result of each operation, in the same order as the operations were provided.
+     * @throws  Exception   if an error occurs when accessing the data layer.
+     */
+    public ArrayList<ModelOperationResult> ExecuteBatch(List<ModelOperation> operations) throws Exception;
+    
+    /**
+     * Validates a set of candidate objects and role to user mappings against the data layer in a single operation.
+     * @param   objects         The candidate objects.  Only the name, type and owner of each object are validated.
+     * @param   roleToUserMaps  The candidate role to user mappings.
+     * @return                  The result of validating each field of each object, and each role to user mapping, in the same order as the objects and mappings were provided.
+     * @throws  Exception       if an error occurs when accessing the data layer.
+     */
+    public EntityValidationResults ValidateEntities(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps) throws Exception;
+    
     /**
      * @return                   A list of all roles in the data layer.
      * @throws  Exception        if an error occurs when accessing the data layer.
@@ -188,36 +206,48 @@ public interface IDataInterface {
     public ValidationResult RoleToUserMapValidate(String role, String user) throws Exception;
     
     /**
-     * @param  localSettings  Persists the given local setting to the device.
+     * Checks whether the inputted role to user map can be removed from the data model.  The map cannot be removed if it is the last map for the role, and the role is referenced by objects.
+     * @param    role       The name of the role.
+     * @param    user       The name of the user.
+     * @return              The result of the validation, listing the objects which reference the role if the map cannot be removed.
+     * @throws   Exception  if an error occurs when accessing the data layer.
+     */
+    public ValidationResult RoleToUserMapRemoveValidate(String role, String user) throws Exception;
+    
+    /**
+     * Replaces the local settings cached in the data layer, and persists them to the device.
+     * @param   localSettings  The local settings.
+     * @throws  Exception      if an error occurs when notifying listeners of the change.
      */
-    public void setLocalSettings(LocalSettings localSettings);
+    public void setLocalSettings(LocalSettings localSettings) throws Exception;
     
     /**
-     * Retrieves the local settings from the device storage, and caches them in the data layer.
+     * Retrieves the local settings cached in the data layer, reading them from the device storage if they have not yet been read.
+     * <b>Note</b> a copy of the cached settings is returned, so modifying the returned instance does not change the settings.  To change the settings, pass the modified instance to setLocalSettings().
      * @return  Local settings for the application.
      */
     public LocalSettings getLocalSettings();
     
     /**
-     * Generates an Oracle privilege script.
+     * Generates an Oracle privilege script from the local copy of the data model.
      * @param   scriptType                The type of script to generate.
      * @param   generateRevokeStatements  Specifies whether revoke statements should be included in the script.
-     * @return                            The Oracle permission script.
+     * @param   writer                    The writer to write the Oracle privilege script to.
      * @throws  Exception                 if an error occurs when accessing the data layer.
      */
-    public String CreatePrivilegeScript(ScriptType scriptType, boolean generateRevokeStatements) throws Exception;
+    public void CreatePrivilegeScript(ScriptType scriptType, boolean generateRevokeStatements, Writer writer) throws Exception;
     
     /**
-     * Generates an Oracle synonym script.
+     * Generates an Oracle synonym script from the local copy of the data model.
      * @param   scriptType  The type of script to generate.
-     * @return              The Oracle synonym script.
+     * @param   writer      The writer to write the Oracle synonym script to.
      * @throws  Exception   if an error occurs when accessing the data layer.
      */
-    public String CreateSynonymScript(ScriptType scriptType) throws Exception;
+    public void CreateSynonymScript(ScriptType scriptType, Writer writer) throws Exception;
     
     /**
-     * Write the provided Oracle script text to persistent storage.
-     * @param  scriptText  The text of the script.
+     * Creates a writer to write an Oracle script to persistent storage.  The script is persisted when the writer is closed.
+     * @return  The writer.
      */
-    public void WriteScript(String scriptText);
+    public Writer CreateScriptWriter();
 }
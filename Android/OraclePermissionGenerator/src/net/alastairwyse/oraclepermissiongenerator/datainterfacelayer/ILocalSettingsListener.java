@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.LocalSettings;
+
+/**
+ * Defines a method which is called when the application's local settings are changed.
+ * @author Alastair Wyse
+ */
+public interface ILocalSettingsListener {
+
+    /**
+     * Called after the local settings have been changed.
+     * @param   previousLocalSettings  The local settings before the change.
+     * @param   newLocalSettings       The local settings after the change.
+     * @throws  Exception              if an error occurs when handling the change.
+     */
+    void LocalSettingsChanged(LocalSettings previousLocalSettings, LocalSettings newLocalSettings) throws Exception;
+}
@@ -25,7 +25,7 @@ import net.alastairwyse.oraclepermissiongenerator.containers.LocalSettings;
 public interface ILocalSettingsPersister {
 
     /**
-     * Writes the specified local settings to persistent storage.
+     * Writes the specified local settings to persistent storage.  The write may complete asynchronously.
      * @param  localSettings  The local settings to write.
      */
     void Write(LocalSettings localSettings);
@@ -28,4 +28,9 @@ public interface ILocationProvider {
      * @return  The last known location of the host device.
      */
     public Location getLastKnownLocation();
+    
+    /**
+     * @param  trackingDataSourceListener  A listener to notify when the location of the host device changes.
+     */
+    public void setTrackingDataSourceListener(ITrackingDataSourceListener trackingDataSourceListener);
 }
@@ -28,4 +28,9 @@ public interface INetworkInfoProvider {
      * @return  The network IP address (IPv4) of the host device's mobile data connection.
      */
     public InetAddress getMobileIpAddress();
+    
+    /**
+     * @param  trackingDataSourceListener  A listener to notify when the network connectivity of the host device changes.
+     */
+    public void setTrackingDataSourceListener(ITrackingDataSourceListener trackingDataSourceListener);
 }
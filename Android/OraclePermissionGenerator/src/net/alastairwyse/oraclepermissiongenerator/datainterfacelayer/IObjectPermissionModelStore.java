@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Defines methods to store a local copy of the objects, permissions, roles and role to user mappings in the remote data model, so that they can be read without calling the remote data model.
+ * @author Alastair Wyse
+ */
+public interface IObjectPermissionModelStore {
+
+    /**
+     * @return  Identifies the remote data model and user which the store was populated from, or null if the store has not been populated.
+     */
+    String getIdentity();
+    
+    /**
+     * @return  The version of the data model which the store is up to date with.
+     */
+    long getModelVersion();
+    
+    /**
+     * @return  Whether the store has been populated with a complete copy of the data model.
+     */
+    boolean getIsPopulated();
+    
+    /**
+     * @return  The objects in the store, in the order they were first added.
+     */
+    ArrayList<OracleObjectPermissionSet> getObjects();
+    
+    /**
+     * @return  The roles in the store.
+     */
+    ArrayList<String> getRoles();
+    
+    /**
+     * @return  The role to user mappings in the store.
+     */
+    ArrayList<RoleToUserMap> getRoleToUserMaps();
+    
+    /**
+     * @param   objectName  The object to return the permissions for.
+     * @param   role        The role to return the permissions for.
+     * @return              The permissions set on the specified object assigned to the specified role.
+     */
+    ArrayList<String> getPermissions(String objectName, String role);
+    
+    /**
+     * Returns a list of names of objects which reference the inputted role.
+     * @param   role  The name of the role.
+     * @return        The names of the objects which have a permission assigned to the role.
+     */
+    ArrayList<String> RoleGetReferencingObjects(String role);
+    
+    /**
+     * Returns the number of objects which reference the inputted role.
+     * @param   role  The name of the role.
+     * @return        The number of objects which have a permission assigned to the role.
+     */
+    int RoleGetReferencingObjectCount(String role);
+    
+    /**
+     * Returns the number of role to user mappings for the inputted role.
+     * @param   role  The name of the role.
+     * @return        The number of role to user mappings for the role.
+     */
+    int RoleGetUserMapCount(String role);
+    
+    /**
+     * Replaces the contents of the store with a complete copy of the data model.
+     * @param  identity        Identifies the remote data model and user which the copy was retrieved from.
+     * @param  modelVersion    The version of the data model, retrieved before the objects and role to user mappings were retrieved.
+     * @param  objects         All objects in the data model.
+     * @param  roles           All roles in the data model.
+     * @param  roleToUserMaps  All role to user mappings in the data model.
+     */
+    void Load(String identity, long modelVersion, List<OracleObjectPermissionSet> objects, List<String> roles, List<RoleToUserMap> roleToUserMaps);
+    
+    /**
+     * Applies a set of changes to the store, and updates the store to the version of the data model the changes bring it up to.
+     * @param  changeSet  The changes to apply.
+     */
+    void Apply(ModelChangeSet changeSet);
+    
+    /**
+     * Replaces the roles in the store.
+     * @param  roles  All roles in the data model.
+     */
+    void setRoles(List<String> roles);
+    
+    /**
+     * Adds an object to the store, replacing any existing object with the same name.
+     * @param  objectPermissionSet  The object to add.
+     */
+    void AddObjectPermissionSet(OracleObjectPermissionSet objectPermissionSet);
+    
+    /**
+     * Removes an object from the store.
+     * @param  objectName  The name of the object to remove.
+     */
+    void RemoveObjectPermissionSet(String objectName);
+    
+    /**
+     * Sets the 'add' flag of an object in the store.
+     * @param  objectName    The name of the object.
+     * @param  addFlagValue  The value of the flag.
+     */
+    void SetAddFlag(String objectName, boolean addFlagValue);
+    
+    /**
+     * Sets the 'remove' flag of an object in the store.
+     * @param  objectName       The name of the object.
+     * @param  removeFlagValue  The value of the flag.
+     */
+    void SetRemoveFlag(String objectName, boolean removeFlagValue);
+    
+    /**
+     * Adds a permission to an object and role in the store.
+     * @param  objectName  The name of the object.
+     * @param  role        The role.
+     * @param  permission  The permission to add.
+     */
+    void AddPermission(String objectName, String role, String permission);
+    
+    /**
+     * Removes a permission from an object and role in the store.
+     * @param  objectName  The name of the object.
+     * @param  role        The role.
+     * @param  permission  The permission to remove.
+     */
+    void RemovePermission(String objectName, String role, String permission);
+    
+    /**
+     * Adds a role to user mapping to the store.
+     * @param  role  The name of the role.
+     * @param  user  The name of the user.
+     */
+    void AddRoleToUserMap(String role, String user);
+    
+    /**
+     * Removes a role to user mapping from the store.
+     * @param  role  The name of the role.
+     * @param  user  The name of the user.
+     */
+    void RemoveRoleToUserMap(String role, String user);
+    
+    /**
+     * Removes the contents of the store, so that it must be populated again via Load() before changes can be applied.
+     */
+    void Clear();
+}
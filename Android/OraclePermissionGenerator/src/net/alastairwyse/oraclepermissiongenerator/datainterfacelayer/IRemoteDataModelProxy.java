@@ -17,6 +17,7 @@
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import net.alastairwyse.oraclepermissiongenerator.containers.*;
 
@@ -153,6 +154,27 @@ public interface IRemoteDataModelProxy {
      */
     public void RemovePermission(String objectName, String role, String permission, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception;
     
+    /**
+     * Executes a batch of operations which modify the data model, in a single call to the remote data model.  Operations are executed in the order they appear in the batch, and the failure of an individual operation does not prevent subsequent operations from being executed.
+     * @param   operations             The operations to execute.
+     * @param   authenticationContext  Authentication information to pass to the remote data model.
+     * @param   trackingData           Tracking information to pass to the remote data model.
+     * @return                         The result of each operation, in the same order as the operations were provided.
+     * @throws  Exception              if an error occurs when calling the remote data model.
+     */
+    public ArrayList<ModelOperationResult> ExecuteBatch(List<ModelOperation> operations, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception;
+    
+    /**
+     * Validates a set of candidate objects and role to user mappings in a single call to the remote data model.
+     * @param   objects                The candidate objects.  Only the name, type and owner of each object are validated.
+     * @param   roleToUserMaps         The candidate role to user mappings.
+     * @param   authenticationContext  Authentication information to pass to the remote data model.
+     * @param   trackingData           Tracking information to pass to the remote data model.
+     * @return                         The result of validating each field of each object, and each role to user mapping, in the same order as the objects and mappings were provided.
+     * @throws  Exception              if an error occurs when calling the remote data model.
+     */
+    public EntityValidationResults ValidateEntities(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception;
+    
     /**
      * @param   authenticationContext  Authentication information to pass to the remote data model.
      * @param   trackingData           Tracking information to pass to the remote data model.
@@ -188,6 +210,16 @@ public interface IRemoteDataModelProxy {
      */
     public ArrayList<RoleToUserMap> getMasterRoleToUserMapCollection(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception;
     
+    /**
+     * Returns the objects and role to user mappings which have changed since the specified version of the data model.
+     * @param   modelVersion           The version of the data model to return the changes since (as returned in a previous change set).
+     * @param   authenticationContext  Authentication information to pass to the remote data model.
+     * @param   trackingData           Tracking information to pass to the remote data model.
+     * @return                         The changes since the specified version, or a change set with 'snapshot required' set if the changes are not available.
+     * @throws  Exception              if an error occurs when calling the remote data model.
+     */
+    public ModelChangeSet getChangesSince(long modelVersion, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception;
+    
     /**
      * Returns a list of names of objects which reference the inputted role.
      * @param   role                   The name of the role.
@@ -16,6 +16,8 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 
+import java.io.Writer;
+
 /**
  * Defines methods to persist Oracle scripts generated by the application.
  * @author Alastair Wyse
@@ -23,8 +25,8 @@ package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 public interface IScriptPersister {
 
     /**
-     * Writes the specified script to persistent storage
-     * @param  scriptText  The text of the script.
+     * Creates a writer to write a script to persistent storage.  The script is persisted when the writer is closed.
+     * @return  The writer.
      */
-    public void Write(String scriptText);
+    public Writer CreateWriter();
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+/**
+ * Defines a method which is called when a source of tracking data (e.g. the location of the host device, or the networks it is connected to) changes.
+ * @author Alastair Wyse
+ */
+public interface ITrackingDataSourceListener {
+
+    /**
+     * Called after the source of tracking data has changed.
+     */
+    void TrackingDataSourceChanged();
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Decorates an IObjectPermissionModelStore, answering getPermissions(String, String), RoleGetReferencingObjectCount(String) and RoleGetUserMapCount(String) from in-memory indexes rather than the decorated store.
+ * <p>The indexes are built from the objects and role to user mappings passed to Load(), or from the contents of the decorated store the first time it is queried if the store was populated previously (e.g. by a previous instance of the application), and are kept up to date as changes are made to the store.  If the permission index becomes incomplete, queries of permissions and referencing objects are passed to the decorated store until it is rebuilt.  All other methods are passed straight through to the decorated store.</p>
+ * <b>Note</b> this class is not thread safe, and access to an instance must be synchronized by the caller.
+ * @author Alastair Wyse
+ */
+public class IndexedObjectPermissionModelStore implements IObjectPermissionModelStore {
+
+    private IObjectPermissionModelStore modelStore;
+    private PermissionBitmapIndex permissionIndex;
+    /** The users mapped to each role. */
+    private HashMap<String, HashSet<String>> roleUsers;
+    /** Whether the indexes have been built from the current contents of the decorated store. */
+    private boolean indexBuilt;
+    
+    /**
+     * Initialises a new instance of the IndexedObjectPermissionModelStore class.
+     * @param  modelStore  The model store to decorate.
+     */
+    public IndexedObjectPermissionModelStore(IObjectPermissionModelStore modelStore) {
+        if (modelStore == null) {
+            throw new IllegalArgumentException("Argument 'modelStore' cannot be null.");
+        }
+        
+        this.modelStore = modelStore;
+        permissionIndex = new PermissionBitmapIndex();
+        roleUsers = new HashMap<String, HashSet<String>>();
+        indexBuilt = false;
+    }
+    
+    @Override
+    public String getIdentity() {
+        return modelStore.getIdentity();
+    }
+    
+    @Override
+    public long getModelVersion() {
+        return modelStore.getModelVersion();
+    }
+    
+    @Override
+    public boolean getIsPopulated() {
+        return modelStore.getIsPopulated();
+    }
+    
+    @Override
+    public ArrayList<OracleObjectPermissionSet> getObjects() {
+        return modelStore.getObjects();
+    }
+    
+    @Override
+    public ArrayList<String> getRoles() {
+        return modelStore.getRoles();
+    }
+    
+    @Override
+    public ArrayList<RoleToUserMap> getRoleToUserMaps() {
+        return modelStore.getRoleToUserMaps();
+    }
+    
+    @Override
+    public ArrayList<String> getPermissions(String objectName, String role) {
+        if (PermissionIndexIsAvailable() == true) {
+            return permissionIndex.getPermissions(objectName, role);
+        }
+        else {
+            return modelStore.getPermissions(objectName, role);
+        }
+    }
+    
+    @Override
+    public ArrayList<String> RoleGetReferencingObjects(String role) {
+        return modelStore.RoleGetReferencingObjects(role);
+    }
+    
+    @Override
+    public int RoleGetReferencingObjectCount(String role) {
+        if (PermissionIndexIsAvailable() == true) {
+            return permissionIndex.getReferencingObjectCount(role);
+        }
+        else {
+            return modelStore.RoleGetReferencingObjectCount(role);
+        }
+    }
+    
+    @Override
+    public int RoleGetUserMapCount(String role) {
+        BuildIndexIfRequired();
+        if (indexBuilt == true) {
+            HashSet<String> users = roleUsers.get(role);
+            if (users == null) {
+                return 0;
+            }
+            return users.size();
+        }
+        else {
+            return modelStore.RoleGetUserMapCount(role);
+        }
+    }
+    
+    @Override
+    public void Load(String identity, long modelVersion, List<OracleObjectPermissionSet> objects, List<String> roles, List<RoleToUserMap> roleToUserMaps) {
+        modelStore.Load(identity, modelVersion, objects, roles, roleToUserMaps);
+        BuildIndex(objects, roleToUserMaps);
+    }
+    
+    @Override
+    public void Apply(ModelChangeSet changeSet) {
+        modelStore.Apply(changeSet);
+        if (indexBuilt == true) {
+            for (String currentObjectName : changeSet.getRemovedObjectNames()) {
+                permissionIndex.RemoveObject(currentObjectName);
+            }
+            for (OracleObjectPermissionSet currentObject : changeSet.getAddedObjects()) {
+                permissionIndex.PutObject(currentObject);
+            }
+            for (OracleObjectPermissionSet currentObject : changeSet.getModifiedObjects()) {
+                permissionIndex.PutObject(currentObject);
+            }
+            for (RoleToUserMap currentRoleToUserMap : changeSet.getRemovedRoleToUserMaps()) {
+                RemoveRoleUser(currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser());
+            }
+            for (RoleToUserMap currentRoleToUserMap : changeSet.getAddedRoleToUserMaps()) {
+                AddRoleUser(currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser());
+            }
+        }
+    }
+    
+    @Override
+    public void setRoles(List<String> roles) {
+        modelStore.setRoles(roles);
+    }
+    
+    @Override
+    public void AddObjectPermissionSet(OracleObjectPermissionSet objectPermissionSet) {
+        modelStore.AddObjectPermissionSet(objectPermissionSet);
+        if (indexBuilt == true) {
+            permissionIndex.PutObject(objectPermissionSet);
+        }
+    }
+    
+    @Override
+    public void RemoveObjectPermissionSet(String objectName) {
+        modelStore.RemoveObjectPermissionSet(objectName);
+        if (indexBuilt == true) {
+            permissionIndex.RemoveObject(objectName);
+        }
+    }
+    
+    @Override
+    public void SetAddFlag(String objectName, boolean addFlagValue) {
+        modelStore.SetAddFlag(objectName, addFlagValue);
+    }
+    
+    @Override
+    public void SetRemoveFlag(String objectName, boolean removeFlagValue) {
+        modelStore.SetRemoveFlag(objectName, removeFlagValue);
+    }
+    
+    @Override
+    public void AddPermission(String objectName, String role, String permission) {
+        modelStore.AddPermission(objectName, role, permission);
+        if (indexBuilt == true) {
+            permissionIndex.AddPermission(objectName, role, permission);
+        }
+    }
+    
+    @Override
+    public void RemovePermission(String objectName, String role, String permission) {
+        modelStore.RemovePermission(objectName, role, permission);
+        if (indexBuilt == true) {
+            permissionIndex.RemovePermission(objectName, role, permission);
+        }
+    }
+    
+    @Override
+    public void AddRoleToUserMap(String role, String user) {
+        modelStore.AddRoleToUserMap(role, user);
+        if (indexBuilt == true) {
+            AddRoleUser(role, user);
+        }
+    }
+    
+    @Override
+    public void RemoveRoleToUserMap(String role, String user) {
+        modelStore.RemoveRoleToUserMap(role, user);
+        if (indexBuilt == true) {
+            RemoveRoleUser(role, user);
+        }
+    }
+    
+    @Override
+    public void Clear() {
+        modelStore.Clear();
+        permissionIndex.Clear();
+        roleUsers.clear();
+        indexBuilt = false;
+    }
+    
+    /**
+     * Builds the indexes from the contents of the decorated store, if they have not been built and the store is populated.
+     */
+    private void BuildIndexIfRequired() {
+        if (indexBuilt == false && modelStore.getIsPopulated() == true) {
+            BuildIndex(modelStore.getObjects(), modelStore.getRoleToUserMaps());
+        }
+    }
+    
+    /**
+     * Replaces the contents of the indexes with the inputted objects and role to user mappings.
+     * @param  objects         The objects to index.
+     * @param  roleToUserMaps  The role to user mappings to index.
+     */
+    private void BuildIndex(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps) {
+        permissionIndex.Build(objects);
+        roleUsers.clear();
+        for (RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+            AddRoleUser(currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser());
+        }
+        indexBuilt = true;
+    }
+    
+    /**
+     * @return  Whether queries of permissions and referencing objects can be answered from the permission index.
+     */
+    private boolean PermissionIndexIsAvailable() {
+        BuildIndexIfRequired();
+        return (indexBuilt == true && permissionIndex.getIsComplete() == true);
+    }
+    
+    /**
+     * Adds a user to the users mapped to a role.
+     * @param  role  The name of the role.
+     * @param  user  The name of the user.
+     */
+    private void AddRoleUser(String role, String user) {
+        HashSet<String> users = roleUsers.get(role);
+        if (users == null) {
+            users = new HashSet<String>();
+            roleUsers.put(role, users);
+        }
+        users.add(user);
+    }
+    
+    /**
+     * Removes a user from the users mapped to a role.
+     * @param  role  The name of the role.
+     * @param  user  The name of the user.
+     */
+    private void RemoveRoleUser(String role, String user) {
+        HashSet<String> users = roleUsers.get(role);
+        if (users != null) {
+            users.remove(user);
+            if (users.size() == 0) {
+                roleUsers.remove(role);
+            }
+        }
+    }
+}
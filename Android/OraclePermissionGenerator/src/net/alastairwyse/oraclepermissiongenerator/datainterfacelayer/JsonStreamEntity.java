@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.io.*;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.json.JSONException;
+
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.JsonStreamWriter;
+
+/**
+ * HTTP request entity whose JSON content is written directly to the request output stream as the request is sent, rather than being built as an in-memory tree and string beforehand.
+ * <b>Note</b> as the length of the content is not known in advance, the entity is sent using chunked transfer encoding.  The content is written again each time it is required (e.g. if the request is retried).
+ * @author Alastair Wyse
+ */
+public class JsonStreamEntity extends AbstractHttpEntity {
+
+    private final String characterEncoding = "UTF-8";
+    private final int writeBufferSize = 8192;
+    
+    private ContentWriter contentWriter;
+    
+    /**
+     * Initialises a new instance of the JsonStreamEntity class.
+     * @param  contentWriter  Writes the JSON content of the entity.
+     */
+    public JsonStreamEntity(ContentWriter contentWriter) {
+        if (contentWriter == null) {
+            throw new IllegalArgumentException("Argument 'contentWriter' cannot be null.");
+        }
+        this.contentWriter = contentWriter;
+        setChunked(true);
+    }
+    
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        ByteArrayOutputStream contentStream = new ByteArrayOutputStream();
+        writeTo(contentStream);
+        return new ByteArrayInputStream(contentStream.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("Argument 'outputStream' cannot be null.");
+        }
+        Writer streamWriter = new BufferedWriter(new OutputStreamWriter(outputStream, characterEncoding), writeBufferSize);
+        JsonStreamWriter jsonWriter = new JsonStreamWriter(streamWriter);
+        try {
+            contentWriter.Write(jsonWriter);
+        }
+        catch (JSONException e) {
+            IOException ioException = new IOException("Error writing JSON content of HTTP entity; " + e.getMessage());
+            ioException.initCause(e);
+            throw ioException;
+        }
+        // Flush rather than close the writer, as the underlying stream should not be closed
+        jsonWriter.Flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+    
+    /**
+     * Writes the JSON content of a JsonStreamEntity.
+     * @author Alastair Wyse
+     */
+    public interface ContentWriter {
+        
+        /**
+         * Writes the JSON content.
+         * @param   jsonWriter     The writer to write the content to.
+         * @throws  IOException    if an error occurs writing to the underlying stream.
+         * @throws  JSONException  if an error occurs while serializing the content.
+         */
+        void Write(JsonStreamWriter jsonWriter) throws IOException, JSONException;
+    }
+}
@@ -34,6 +34,7 @@ public class LocationProvider implements ILocationProvider, LocationListener {
     private IDateProvider dateProvider;
     private LocationManager locationManager;
     private Location lastKnownLocation;
+    private volatile ITrackingDataSourceListener trackingDataSourceListener;
     private Object lastKnownLocationLock;  // Use this object as a lock/mutex around the lastKnownLocation member.  Android examples don't stipulate that this is required, but I think it's possible this could be accessed by 2 threads (OS thread updating with callbacks, and the main thread of the application).
     
     // TODO: This class doesn't seem to work properly on the emulator...
@@ -93,11 +94,20 @@ public class LocationProvider implements ILocationProvider, LocationListener {
         return returnLocation;
     }
 
+    @Override
+    public void setTrackingDataSourceListener(ITrackingDataSourceListener trackingDataSourceListener) {
+        this.trackingDataSourceListener = trackingDataSourceListener;
+    }
+
     @Override
     public void onLocationChanged(Location location) {
         synchronized(lastKnownLocationLock) {
             lastKnownLocation = location;
         }
+        ITrackingDataSourceListener listener = trackingDataSourceListener;
+        if (listener != null) {
+            listener.TrackingDataSourceChanged();
+        }
     }
 
     @Override
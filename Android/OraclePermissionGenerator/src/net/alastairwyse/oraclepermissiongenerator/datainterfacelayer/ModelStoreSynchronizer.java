@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the synchronization of a local store of the data model with the remote data model, either in the foreground, or in the background when requested.
+ * <p>Only one synchronization runs at a time.  Requests for a background synchronization are ignored while one is already pending, or if the last synchronization started less than a configurable minimum interval ago, so that frequent reads of the local store do not each cause a call to the remote data model.</p>
+ * @author Alastair Wyse
+ */
+public class ModelStoreSynchronizer {
+
+    private final long defaultMinimumInterval = 10000;
+
+    private Callable<Void> synchronizationAction;
+    private Executor synchronizationExecutor;
+    private ExecutorService ownedSynchronizationExecutor;
+    private volatile long minimumInterval;
+    /** The time (as returned by System.currentTimeMillis()) that the last synchronization started, or 0 if no synchronization has started. */
+    private volatile long lastSynchronizationStartTime;
+    /** Set while a background synchronization has been requested but has not yet completed. */
+    private AtomicBoolean synchronizationPending;
+    /** Lock object used to ensure only one synchronization runs at a time. */
+    private final Object synchronizationLock = new Object();
+    private AtomicLong synchronizationCount;
+    private AtomicLong failureCount;
+    private volatile Exception lastException;
+
+    /**
+     * Initialises a new instance of the ModelStoreSynchronizer class.
+     * @param  synchronizationAction  The action which synchronizes the local store with the remote data model.
+     */
+    public ModelStoreSynchronizer(Callable<Void> synchronizationAction) {
+        this(synchronizationAction, null);
+        ownedSynchronizationExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread synchronizationThread = new Thread(runnable, "ModelStoreSynchronizer synchronization");
+                synchronizationThread.setDaemon(true);
+                return synchronizationThread;
+            }
+        });
+        synchronizationExecutor = ownedSynchronizationExecutor;
+    }
+
+    /**
+     * Initialises a new instance of the ModelStoreSynchronizer class.
+     * @param  synchronizationAction    The action which synchronizes the local store with the remote data model.
+     * @param  synchronizationExecutor  The executor to use to run background synchronizations.
+     */
+    public ModelStoreSynchronizer(Callable<Void> synchronizationAction, Executor synchronizationExecutor) {
+        if (synchronizationAction == null) {
+            throw new IllegalArgumentException("Argument 'synchronizationAction' cannot be null.");
+        }
+
+        this.synchronizationAction = synchronizationAction;
+        this.synchronizationExecutor = synchronizationExecutor;
+        minimumInterval = defaultMinimumInterval;
+        lastSynchronizationStartTime = 0;
+        synchronizationPending = new AtomicBoolean(false);
+        synchronizationCount = new AtomicLong(0);
+        failureCount = new AtomicLong(0);
+        lastException = null;
+    }
+
+    /**
+     * @return  The minimum time in milliseconds between the start of a synchronization and the start of a subsequent requested background synchronization.
+     */
+    public long getMinimumInterval() {
+        return minimumInterval;
+    }
+
+    /**
+     * @param  minimumInterval  The minimum time in milliseconds between the start of a synchronization and the start of a subsequent requested background synchronization.
+     */
+    public void setMinimumInterval(long minimumInterval) {
+        if (minimumInterval < 0) {
+            throw new IllegalArgumentException("Argument 'minimumInterval' must be greater than or equal to 0.");
+        }
+        this.minimumInterval = minimumInterval;
+    }
+
+    /**
+     * @return  The total number of synchronizations which completed successfully.
+     */
+    public long getSynchronizationCount() {
+        return synchronizationCount.get();
+    }
+
+    /**
+     * @return  The total number of synchronizations which failed.
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * @return  The exception thrown by the most recent failed synchronization, or null if no synchronization has failed.
+     */
+    public Exception getLastException() {
+        return lastException;
+    }
+
+    /**
+     * Synchronizes the local store in the foreground, waiting for any synchronization already running to complete first.
+     * @throws  Exception  if an error occurs during the synchronization.
+     */
+    public void Synchronize() throws Exception {
+        synchronized (synchronizationLock) {
+            lastSynchronizationStartTime = System.currentTimeMillis();
+            try {
+                synchronizationAction.call();
+                synchronizationCount.incrementAndGet();
+            }
+            catch (Exception e) {
+                failureCount.incrementAndGet();
+                lastException = e;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Requests that the local store is synchronized in the background.  The request is ignored if a background synchronization is already pending, or if the minimum interval has not elapsed since the last synchronization started.  Any error which occurs during the background synchronization is recorded, and is otherwise ignored.
+     * @return  Whether a background synchronization was scheduled.
+     */
+    public boolean RequestSynchronization() {
+        if (System.currentTimeMillis() - lastSynchronizationStartTime < minimumInterval) {
+            return false;
+        }
+        if (synchronizationPending.compareAndSet(false, true) == false) {
+            return false;
+        }
+
+        Runnable synchronizationTask = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Synchronize();
+                }
+                catch (Exception e) {
+                    // The failure is recorded by Synchronize(), and the local store continues to be served until the next request
+                }
+                finally {
+                    synchronizationPending.set(false);
+                }
+            }
+        };
+
+        try {
+            synchronizationExecutor.execute(synchronizationTask);
+        }
+        catch (RejectedExecutionException e) {
+            // The executor has been shut down, so the local store will not be synchronized in the background
+            synchronizationPending.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stops background synchronization (if the executor used to synchronize was created by this instance).
+     */
+    public void Shutdown() {
+        if (ownedSynchronizationExecutor != null) {
+            ownedSynchronizationExecutor.shutdownNow();
+        }
+    }
+}
@@ -19,7 +19,10 @@ package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 import java.net.InetAddress;
 import java.util.Enumeration;
 
+import android.content.BroadcastReceiver;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 
@@ -32,8 +35,11 @@ import net.alastairwyse.oraclepermissiongenerator.frameworkabstraction.*;
 public class NetworkInfoProvider implements INetworkInfoProvider {
 
     private Context context;
-    private NetworkInfo mobileNetworkInfo;
+    private volatile NetworkInfo mobileNetworkInfo;
     private INetworkInterface networkInterface;
+    private volatile ITrackingDataSourceListener trackingDataSourceListener;
+    /** Receives broadcasts from the operating system when network connectivity changes. */
+    private ConnectivityChangeReceiver connectivityChangeReceiver;
     
     /**
      * Initialises a new instance of the NetworkInfoProvider class.
@@ -63,6 +69,23 @@ public class NetworkInfoProvider implements INetworkInfoProvider {
     public void Connect() {
         ConnectivityManager connectivityManager = (ConnectivityManager)context.getSystemService(Context.CONNECTIVITY_SERVICE);
         mobileNetworkInfo = connectivityManager.getNetworkInfo(ConnectivityManager.TYPE_MOBILE);
+        connectivityChangeReceiver = new ConnectivityChangeReceiver();
+        context.registerReceiver(connectivityChangeReceiver, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+    }
+    
+    /**
+     * Stops receiving notifications of network connectivity changes from the Android operating system.
+     */
+    public void Disconnect() {
+        if (connectivityChangeReceiver != null) {
+            context.unregisterReceiver(connectivityChangeReceiver);
+            connectivityChangeReceiver = null;
+        }
+    }
+    
+    @Override
+    public void setTrackingDataSourceListener(ITrackingDataSourceListener trackingDataSourceListener) {
+        this.trackingDataSourceListener = trackingDataSourceListener;
     }
     
     @Override
@@ -88,4 +111,20 @@ public class NetworkInfoProvider implements INetworkInfoProvider {
 
         return null;
     }
+    
+    /**
+     * Refreshes the mobile network info and notifies the tracking data source listener when the network connectivity of the device changes.
+     */
+    private class ConnectivityChangeReceiver extends BroadcastReceiver {
+
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            ConnectivityManager connectivityManager = (ConnectivityManager)context.getSystemService(Context.CONNECTIVITY_SERVICE);
+            mobileNetworkInfo = connectivityManager.getNetworkInfo(ConnectivityManager.TYPE_MOBILE);
+            ITrackingDataSourceListener listener = trackingDataSourceListener;
+            if (listener != null) {
+                listener.TrackingDataSourceChanged();
+            }
+        }
+    }
 }
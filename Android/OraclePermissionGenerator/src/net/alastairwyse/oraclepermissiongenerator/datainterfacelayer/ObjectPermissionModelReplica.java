@@ -0,0 +1,258 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Holds a local copy of the objects, permissions, roles and role to user mappings in the remote data model in memory, which is kept up to date by applying the changes made since the version of the data model the copy was taken at.
+ * <b>Note</b> this class is not thread safe, and access to an instance must be synchronized by the caller.
+ * @author Alastair Wyse
+ */
+public class ObjectPermissionModelReplica implements IObjectPermissionModelStore {
+
+    /** The model version of a replica which has not been populated. */
+    private static final long unpopulatedModelVersion = -1;
+    
+    private String identity;
+    private long modelVersion;
+    private LinkedHashMap<String, OracleObjectPermissionSet> objects;
+    private ArrayList<String> roles;
+    private ArrayList<RoleToUserMap> roleToUserMaps;
+    
+    @Override
+    public String getIdentity() {
+        return identity;
+    }
+    
+    @Override
+    public long getModelVersion() {
+        return modelVersion;
+    }
+    
+    @Override
+    public boolean getIsPopulated() {
+        return (modelVersion != unpopulatedModelVersion);
+    }
+    
+    @Override
+    public ArrayList<OracleObjectPermissionSet> getObjects() {
+        return new ArrayList<OracleObjectPermissionSet>(objects.values());
+    }
+    
+    @Override
+    public ArrayList<String> getRoles() {
+        return new ArrayList<String>(roles);
+    }
+    
+    @Override
+    public ArrayList<RoleToUserMap> getRoleToUserMaps() {
+        return new ArrayList<RoleToUserMap>(roleToUserMaps);
+    }
+    
+    @Override
+    public ArrayList<String> getPermissions(String objectName, String role) {
+        ArrayList<String> returnPermissions = new ArrayList<String>();
+        OracleObjectPermissionSet object = objects.get(objectName);
+        if (object != null) {
+            for (RoleToPermissionMap currentRoleToPermissionMap : object.getObjectPermissions()) {
+                if (currentRoleToPermissionMap.getRole().equals(role) == true) {
+                    returnPermissions.add(currentRoleToPermissionMap.getPermission());
+                }
+            }
+        }
+        return returnPermissions;
+    }
+    
+    @Override
+    public ArrayList<String> RoleGetReferencingObjects(String role) {
+        ArrayList<String> returnObjectNames = new ArrayList<String>();
+        for (OracleObjectPermissionSet currentObject : objects.values()) {
+            for (RoleToPermissionMap currentRoleToPermissionMap : currentObject.getObjectPermissions()) {
+                if (currentRoleToPermissionMap.getRole().equals(role) == true) {
+                    returnObjectNames.add(currentObject.getObjectName());
+                    break;
+                }
+            }
+        }
+        return returnObjectNames;
+    }
+    
+    @Override
+    public int RoleGetReferencingObjectCount(String role) {
+        return RoleGetReferencingObjects(role).size();
+    }
+    
+    @Override
+    public int RoleGetUserMapCount(String role) {
+        int count = 0;
+        for (RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+            if (currentRoleToUserMap.getRole().equals(role) == true) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Initialises a new instance of the ObjectPermissionModelReplica class.
+     */
+    public ObjectPermissionModelReplica() {
+        objects = new LinkedHashMap<String, OracleObjectPermissionSet>();
+        roles = new ArrayList<String>();
+        roleToUserMaps = new ArrayList<RoleToUserMap>();
+        identity = null;
+        modelVersion = unpopulatedModelVersion;
+    }
+    
+    @Override
+    public void Load(String identity, long modelVersion, List<OracleObjectPermissionSet> objects, List<String> roles, List<RoleToUserMap> roleToUserMaps) {
+        if (modelVersion < 0) {
+            throw new IllegalArgumentException("Argument 'modelVersion' must be greater than or equal to 0.");
+        }
+        
+        this.objects.clear();
+        for (OracleObjectPermissionSet currentObject : objects) {
+            this.objects.put(currentObject.getObjectName(), currentObject);
+        }
+        this.roles = new ArrayList<String>(roles);
+        this.roleToUserMaps = new ArrayList<RoleToUserMap>(roleToUserMaps);
+        this.identity = identity;
+        this.modelVersion = modelVersion;
+    }
+    
+    /**
+     * Applies a set of changes to the replica, and updates the replica to the version of the data model the changes bring it up to.
+     * Added and modified objects replace any existing object with the same name, and added role to user mappings are ignored if already present, so a change set can safely be applied to a replica which already contains some of the changes (e.g. changes made between retrieving the model version and the complete copy of the data model in Load()).
+     * @param  changeSet  The changes to apply.
+     */
+    @Override
+    public void Apply(ModelChangeSet changeSet) {
+        if (getIsPopulated() == false) {
+            throw new IllegalStateException("Changes cannot be applied to a replica which has not been populated.");
+        }
+        if (changeSet.getSnapshotRequired() == true) {
+            throw new IllegalArgumentException("Argument 'changeSet' cannot be applied as it requires a complete copy of the data model to be retrieved.");
+        }
+        
+        for (String currentObjectName : changeSet.getRemovedObjectNames()) {
+            objects.remove(currentObjectName);
+        }
+        // Objects which already exist are replaced in place, so that they retain their position in the list
+        for (OracleObjectPermissionSet currentObject : changeSet.getAddedObjects()) {
+            objects.put(currentObject.getObjectName(), currentObject);
+        }
+        for (OracleObjectPermissionSet currentObject : changeSet.getModifiedObjects()) {
+            objects.put(currentObject.getObjectName(), currentObject);
+        }
+        for (RoleToUserMap currentRoleToUserMap : changeSet.getRemovedRoleToUserMaps()) {
+            RemoveRoleToUserMap(currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser());
+        }
+        for (RoleToUserMap currentRoleToUserMap : changeSet.getAddedRoleToUserMaps()) {
+            AddRoleToUserMap(currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser());
+        }
+        modelVersion = changeSet.getModelVersion();
+    }
+    
+    @Override
+    public void setRoles(List<String> roles) {
+        this.roles = new ArrayList<String>(roles);
+    }
+    
+    @Override
+    public void AddObjectPermissionSet(OracleObjectPermissionSet objectPermissionSet) {
+        objects.put(objectPermissionSet.getObjectName(), objectPermissionSet);
+    }
+    
+    @Override
+    public void RemoveObjectPermissionSet(String objectName) {
+        objects.remove(objectName);
+    }
+    
+    @Override
+    public void SetAddFlag(String objectName, boolean addFlagValue) {
+        OracleObjectPermissionSet object = objects.get(objectName);
+        if (object != null) {
+            object.setAddFlag(addFlagValue);
+        }
+    }
+    
+    @Override
+    public void SetRemoveFlag(String objectName, boolean removeFlagValue) {
+        OracleObjectPermissionSet object = objects.get(objectName);
+        if (object != null) {
+            object.setRemoveFlag(removeFlagValue);
+        }
+    }
+    
+    @Override
+    public void AddPermission(String objectName, String role, String permission) {
+        OracleObjectPermissionSet object = objects.get(objectName);
+        if (object != null && getPermissions(objectName, role).contains(permission) == false) {
+            object.getObjectPermissions().add(new RoleToPermissionMap(role, permission));
+        }
+    }
+    
+    @Override
+    public void RemovePermission(String objectName, String role, String permission) {
+        OracleObjectPermissionSet object = objects.get(objectName);
+        if (object != null) {
+            Iterator<RoleToPermissionMap> roleToPermissionMapIterator = object.getObjectPermissions().iterator();
+            while (roleToPermissionMapIterator.hasNext() == true) {
+                RoleToPermissionMap currentRoleToPermissionMap = roleToPermissionMapIterator.next();
+                if (currentRoleToPermissionMap.getRole().equals(role) == true && currentRoleToPermissionMap.getPermission().equals(permission) == true) {
+                    roleToPermissionMapIterator.remove();
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void AddRoleToUserMap(String role, String user) {
+        for (RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+            if (currentRoleToUserMap.getRole().equals(role) == true && currentRoleToUserMap.getUser().equals(user) == true) {
+                return;
+            }
+        }
+        roleToUserMaps.add(new RoleToUserMap(role, user));
+    }
+    
+    @Override
+    public void RemoveRoleToUserMap(String role, String user) {
+        Iterator<RoleToUserMap> roleToUserMapIterator = roleToUserMaps.iterator();
+        while (roleToUserMapIterator.hasNext() == true) {
+            RoleToUserMap currentRoleToUserMap = roleToUserMapIterator.next();
+            if (currentRoleToUserMap.getRole().equals(role) == true && currentRoleToUserMap.getUser().equals(user) == true) {
+                roleToUserMapIterator.remove();
+            }
+        }
+    }
+    
+    @Override
+    public void Clear() {
+        objects.clear();
+        roles.clear();
+        roleToUserMaps.clear();
+        identity = null;
+        modelVersion = unpopulatedModelVersion;
+    }
+}
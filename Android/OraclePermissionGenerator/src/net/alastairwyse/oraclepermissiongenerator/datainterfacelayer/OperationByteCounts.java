@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+/**
+ * Container class holding a snapshot of the number of bytes sent and received by a single remote data model operation, both before compression (as produced or consumed by the application) and as transferred over the network.
+ * @author Alastair Wyse
+ */
+public class OperationByteCounts {
+
+    private long requestBytes;
+    private long requestBytesTransferred;
+    private long responseBytes;
+    private long responseBytesTransferred;
+
+    /**
+     * Initialises a new instance of the OperationByteCounts class.
+     * @param  requestBytes              The total size of the request bodies sent before any compression was applied.
+     * @param  requestBytesTransferred   The total size of the request bodies as transferred over the network.
+     * @param  responseBytes             The total size of the response bodies received after any decompression was applied.
+     * @param  responseBytesTransferred  The total size of the response bodies as transferred over the network.
+     */
+    public OperationByteCounts(long requestBytes, long requestBytesTransferred, long responseBytes, long responseBytesTransferred) {
+        this.requestBytes = requestBytes;
+        this.requestBytesTransferred = requestBytesTransferred;
+        this.responseBytes = responseBytes;
+        this.responseBytesTransferred = responseBytesTransferred;
+    }
+
+    /**
+     * @return  The total size of the request bodies sent before any compression was applied.
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * @return  The total size of the request bodies as transferred over the network.
+     */
+    public long getRequestBytesTransferred() {
+        return requestBytesTransferred;
+    }
+
+    /**
+     * @return  The total size of the response bodies received after any decompression was applied.
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return  The total size of the response bodies as transferred over the network.
+     */
+    public long getResponseBytesTransferred() {
+        return responseBytesTransferred;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+/**
+ * Percent encodes strings for inclusion in the path or query portion of a URL, using a lookup table of unreserved characters.
+ * <b>Note</b> the encoding is the same as that performed by android.net.Uri.encode() (letters, digits and the characters _-!.~'()* are not encoded, and all other characters are encoded as UTF-8 bytes), but the class does not depend on the Android framework and does not allocate intermediate byte arrays.
+ * @author Alastair Wyse
+ */
+public final class PercentEncoder {
+
+    private static final char[] hexDigits = new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F' };
+    /** Indexed by character, holds true for ASCII characters which do not require encoding. */
+    private static final boolean[] unreservedCharacters = new boolean[128];
+    
+    static {
+        for (char currentCharacter = 'a'; currentCharacter <= 'z'; currentCharacter++) {
+            unreservedCharacters[currentCharacter] = true;
+        }
+        for (char currentCharacter = 'A'; currentCharacter <= 'Z'; currentCharacter++) {
+            unreservedCharacters[currentCharacter] = true;
+        }
+        for (char currentCharacter = '0'; currentCharacter <= '9'; currentCharacter++) {
+            unreservedCharacters[currentCharacter] = true;
+        }
+        for (char currentCharacter : "_-!.~'()*".toCharArray()) {
+            unreservedCharacters[currentCharacter] = true;
+        }
+    }
+    
+    private PercentEncoder() {
+    }
+    
+    /**
+     * Percent encodes the specified string.
+     * @param   value  The string to encode.
+     * @return         The encoded string, or null if 'value' is null.  If the string contains no characters which require encoding, the same string instance is returned.
+     */
+    public static String Encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        int firstEncodedIndex = FindFirstEncodedIndex(value);
+        if (firstEncodedIndex == value.length()) {
+            return value;
+        }
+        StringBuilder encodedValue = new StringBuilder(value.length() + 16);
+        encodedValue.append(value, 0, firstEncodedIndex);
+        Encode(value, firstEncodedIndex, encodedValue);
+        return encodedValue.toString();
+    }
+    
+    /**
+     * Percent encodes the specified string, appending the result to a StringBuilder.
+     * @param  value   The string to encode.  If null, the string "null" is appended (consistent with StringBuilder.append()).
+     * @param  output  The StringBuilder to append the encoded string to.
+     */
+    public static void Encode(String value, StringBuilder output) {
+        if (value == null) {
+            output.append((String)null);
+            return;
+        }
+        int firstEncodedIndex = FindFirstEncodedIndex(value);
+        output.append(value, 0, firstEncodedIndex);
+        Encode(value, firstEncodedIndex, output);
+    }
+    
+    /**
+     * Returns the index of the first character in the specified string which requires encoding.
+     * @param   value  The string.
+     * @return         The index of the first character which requires encoding, or the length of the string if no characters require encoding.
+     */
+    private static int FindFirstEncodedIndex(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char currentCharacter = value.charAt(i);
+            if (currentCharacter >= 128 || unreservedCharacters[currentCharacter] == false) {
+                return i;
+            }
+        }
+        return length;
+    }
+    
+    /**
+     * Percent encodes the specified string from the specified index, appending the result to a StringBuilder.
+     * @param  value       The string to encode.
+     * @param  startIndex  The index of the first character to encode.
+     * @param  output      The StringBuilder to append the encoded string to.
+     */
+    private static void Encode(String value, int startIndex, StringBuilder output) {
+        int length = value.length();
+        for (int i = startIndex; i < length; i++) {
+            char currentCharacter = value.charAt(i);
+            if (currentCharacter < 128) {
+                if (unreservedCharacters[currentCharacter] == true) {
+                    output.append(currentCharacter);
+                }
+                else {
+                    AppendEncodedByte(currentCharacter, output);
+                }
+            }
+            else if (currentCharacter < 0x800) {
+                AppendEncodedByte(0xC0 | (currentCharacter >> 6), output);
+                AppendEncodedByte(0x80 | (currentCharacter & 0x3F), output);
+            }
+            else if (Character.isHighSurrogate(currentCharacter) == true && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1)) == true) {
+                int codePoint = Character.toCodePoint(currentCharacter, value.charAt(i + 1));
+                i++;
+                AppendEncodedByte(0xF0 | (codePoint >> 18), output);
+                AppendEncodedByte(0x80 | ((codePoint >> 12) & 0x3F), output);
+                AppendEncodedByte(0x80 | ((codePoint >> 6) & 0x3F), output);
+                AppendEncodedByte(0x80 | (codePoint & 0x3F), output);
+            }
+            else if (Character.isHighSurrogate(currentCharacter) == true || Character.isLowSurrogate(currentCharacter) == true) {
+                // Unpaired surrogates are replaced with '?', as when converting to UTF-8 bytes with String.getBytes()
+                AppendEncodedByte('?', output);
+            }
+            else {
+                AppendEncodedByte(0xE0 | (currentCharacter >> 12), output);
+                AppendEncodedByte(0x80 | ((currentCharacter >> 6) & 0x3F), output);
+                AppendEncodedByte(0x80 | (currentCharacter & 0x3F), output);
+            }
+        }
+    }
+    
+    /**
+     * Appends a single byte in percent encoded form (e.g. '%2F').
+     * @param  byteValue  The byte to append.
+     * @param  output     The StringBuilder to append to.
+     */
+    private static void AppendEncodedByte(int byteValue, StringBuilder output) {
+        output.append('%');
+        output.append(hexDigits[(byteValue >> 4) & 0x0F]);
+        output.append(hexDigits[byteValue & 0x0F]);
+    }
+}
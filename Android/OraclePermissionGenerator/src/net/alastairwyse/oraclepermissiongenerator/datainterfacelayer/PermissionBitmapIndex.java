@@ -0,0 +1,380 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Indexes the permissions in a data model by object and role, holding the permissions assigned to each object and role as a bitmap over a catalogue of the permissions seen for the type of the object.  Also holds the number of objects which reference each role.
+ * <p>Each object type has its own catalogue, which assigns a bit to each distinct permission in the order the permissions are first seen, and may hold up to 64 permissions.  If more distinct permissions are seen for an object type, the index is marked as incomplete, and should not be queried until it is rebuilt.</p>
+ * <b>Note</b> this class is not thread safe, and access to an instance must be synchronized by the caller.
+ * @author Alastair Wyse
+ */
+public class PermissionBitmapIndex {
+
+    private static final int maximumCatalogueSize = 64;
+    
+    /** The permission catalogue for each object type. */
+    private HashMap<String, PermissionCatalogue> catalogues;
+    /** Maps each role to a code, so that roles can be held as an int by each indexed object. */
+    private HashMap<String, Integer> roleCodes;
+    private HashMap<String, IndexedObject> objects;
+    /** The number of objects which have a permission assigned to each role, indexed by role code. */
+    private int[] referencingObjectCounts;
+    private boolean isComplete;
+    
+    /**
+     * Initialises a new instance of the PermissionBitmapIndex class.
+     */
+    public PermissionBitmapIndex() {
+        Clear();
+    }
+    
+    /**
+     * @return  Whether the index holds all permissions of the indexed objects.  False if the permissions seen for an object type exceeded the size of a catalogue.
+     */
+    public boolean getIsComplete() {
+        return isComplete;
+    }
+    
+    /**
+     * Replaces the contents of the index with the permissions of the inputted objects.
+     * @param  objects  The objects to index.
+     */
+    public void Build(List<OracleObjectPermissionSet> objects) {
+        Clear();
+        for (OracleObjectPermissionSet currentObject : objects) {
+            PutObject(currentObject);
+        }
+    }
+    
+    /**
+     * Removes all objects from the index.
+     */
+    public void Clear() {
+        catalogues = new HashMap<String, PermissionCatalogue>();
+        roleCodes = new HashMap<String, Integer>();
+        objects = new HashMap<String, IndexedObject>();
+        referencingObjectCounts = new int[8];
+        isComplete = true;
+    }
+    
+    /**
+     * Adds an object to the index, replacing any existing object with the same name.
+     * @param  object  The object to add.
+     */
+    public void PutObject(OracleObjectPermissionSet object) {
+        RemoveObject(object.getObjectName());
+        PermissionCatalogue catalogue = catalogues.get(object.getObjectType());
+        if (catalogue == null) {
+            catalogue = new PermissionCatalogue();
+            catalogues.put(object.getObjectType(), catalogue);
+        }
+        IndexedObject indexedObject = new IndexedObject(catalogue);
+        for (RoleToPermissionMap currentRoleToPermissionMap : object.getObjectPermissions()) {
+            AddPermission(indexedObject, currentRoleToPermissionMap.getRole(), currentRoleToPermissionMap.getPermission());
+        }
+        objects.put(object.getObjectName(), indexedObject);
+    }
+    
+    /**
+     * Removes an object from the index.
+     * @param  objectName  The name of the object.
+     */
+    public void RemoveObject(String objectName) {
+        IndexedObject indexedObject = objects.remove(objectName);
+        if (indexedObject != null) {
+            for (int i = 0; i < indexedObject.getRoleCount(); i++) {
+                if (indexedObject.getBitsAt(i) != 0) {
+                    referencingObjectCounts[indexedObject.getRoleCodeAt(i)]--;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Adds a permission to an object and role in the index.  Has no effect if the object is not in the index.
+     * @param  objectName  The name of the object.
+     * @param  role        The role.
+     * @param  permission  The permission to add.
+     */
+    public void AddPermission(String objectName, String role, String permission) {
+        IndexedObject indexedObject = objects.get(objectName);
+        if (indexedObject != null) {
+            AddPermission(indexedObject, role, permission);
+        }
+    }
+    
+    /**
+     * Removes a permission from an object and role in the index.  Has no effect if the object is not in the index.
+     * @param  objectName  The name of the object.
+     * @param  role        The role.
+     * @param  permission  The permission to remove.
+     */
+    public void RemovePermission(String objectName, String role, String permission) {
+        IndexedObject indexedObject = objects.get(objectName);
+        Integer roleCode = roleCodes.get(role);
+        if (indexedObject != null && roleCode != null) {
+            int bit = indexedObject.Catalogue.getBit(permission);
+            if (bit != -1) {
+                long previousBits = indexedObject.getBits(roleCode);
+                indexedObject.ClearBits(roleCode, 1L << bit);
+                if (previousBits != 0 && indexedObject.getBits(roleCode) == 0) {
+                    referencingObjectCounts[roleCode]--;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns whether a permission is assigned to an object and role.
+     * @param   objectName  The name of the object.
+     * @param   role        The role.
+     * @param   permission  The permission.
+     * @return              Whether the permission is assigned to the object and role.
+     */
+    public boolean HasPermission(String objectName, String role, String permission) {
+        IndexedObject indexedObject = objects.get(objectName);
+        Integer roleCode = roleCodes.get(role);
+        if (indexedObject == null || roleCode == null) {
+            return false;
+        }
+        int bit = indexedObject.Catalogue.getBit(permission);
+        return (bit != -1 && (indexedObject.getBits(roleCode) & (1L << bit)) != 0);
+    }
+    
+    /**
+     * @param   role  The name of the role.
+     * @return        The number of indexed objects which have a permission assigned to the role.
+     */
+    public int getReferencingObjectCount(String role) {
+        Integer roleCode = roleCodes.get(role);
+        if (roleCode == null) {
+            return 0;
+        }
+        return referencingObjectCounts[roleCode];
+    }
+    
+    /**
+     * @param   objectName  The object to return the permissions for.
+     * @param   role        The role to return the permissions for.
+     * @return              The permissions assigned to the specified object and role, in the order of the catalogue for the type of the object.
+     */
+    public ArrayList<String> getPermissions(String objectName, String role) {
+        ArrayList<String> returnPermissions = new ArrayList<String>();
+        IndexedObject indexedObject = objects.get(objectName);
+        Integer roleCode = roleCodes.get(role);
+        if (indexedObject != null && roleCode != null) {
+            long bits = indexedObject.getBits(roleCode);
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                returnPermissions.add(indexedObject.Catalogue.getPermission(bit));
+                bits &= bits - 1;
+            }
+        }
+        return returnPermissions;
+    }
+    
+    /**
+     * Sets the bit for a permission in the bitmap of an indexed object and role, adding the role and permission to the index if required.
+     * @param  indexedObject  The indexed object.
+     * @param  role           The role.
+     * @param  permission     The permission.
+     */
+    private void AddPermission(IndexedObject indexedObject, String role, String permission) {
+        int bit = indexedObject.Catalogue.AddPermission(permission);
+        if (bit == -1) {
+            isComplete = false;
+            return;
+        }
+        Integer roleCode = roleCodes.get(role);
+        if (roleCode == null) {
+            roleCode = roleCodes.size();
+            roleCodes.put(role, roleCode);
+            if (roleCode == referencingObjectCounts.length) {
+                int[] newReferencingObjectCounts = new int[roleCode * 2];
+                System.arraycopy(referencingObjectCounts, 0, newReferencingObjectCounts, 0, roleCode);
+                referencingObjectCounts = newReferencingObjectCounts;
+            }
+        }
+        if (indexedObject.getBits(roleCode) == 0) {
+            referencingObjectCounts[roleCode]++;
+        }
+        indexedObject.SetBits(roleCode, 1L << bit);
+    }
+    
+    /**
+     * Assigns a bit to each distinct permission seen for an object type.
+     * @author Alastair Wyse
+     */
+    private static class PermissionCatalogue {
+        
+        private HashMap<String, Integer> bits;
+        private String[] permissions;
+        
+        /**
+         * Initialises a new instance of the PermissionCatalogue class.
+         */
+        public PermissionCatalogue() {
+            bits = new HashMap<String, Integer>();
+            permissions = new String[maximumCatalogueSize];
+        }
+        
+        /**
+         * @param   permission  The permission.
+         * @return              The bit assigned to the permission, or -1 if the permission is not in the catalogue.
+         */
+        public int getBit(String permission) {
+            Integer bit = bits.get(permission);
+            if (bit == null) {
+                return -1;
+            }
+            return bit;
+        }
+        
+        /**
+         * @param   bit  The bit.
+         * @return       The permission the bit is assigned to.
+         */
+        public String getPermission(int bit) {
+            return permissions[bit];
+        }
+        
+        /**
+         * Returns the bit assigned to a permission, adding the permission to the catalogue if it is not already present.
+         * @param   permission  The permission.
+         * @return              The bit assigned to the permission, or -1 if the catalogue is full.
+         */
+        public int AddPermission(String permission) {
+            Integer bit = bits.get(permission);
+            if (bit != null) {
+                return bit;
+            }
+            if (bits.size() == maximumCatalogueSize) {
+                return -1;
+            }
+            bit = bits.size();
+            permissions[bit] = permission;
+            bits.put(permission, bit);
+            return bit;
+        }
+    }
+    
+    /**
+     * Holds the permission bitmap of each role which has a permission assigned on an object.
+     * The roles are held in parallel arrays rather than a map, as an object typically has permissions assigned to only a few roles.
+     * @author Alastair Wyse
+     */
+    private static class IndexedObject {
+        
+        /** The catalogue of the type of the object. */
+        public final PermissionCatalogue Catalogue;
+        private int[] roleCodes;
+        private long[] bitmaps;
+        private int roleCount;
+        
+        /**
+         * Initialises a new instance of the IndexedObject class.
+         * @param  catalogue  The catalogue of the type of the object.
+         */
+        public IndexedObject(PermissionCatalogue catalogue) {
+            Catalogue = catalogue;
+            roleCodes = new int[2];
+            bitmaps = new long[2];
+            roleCount = 0;
+        }
+        
+        /**
+         * @return  The number of roles held by the object.
+         */
+        public int getRoleCount() {
+            return roleCount;
+        }
+        
+        /**
+         * @param   index  The position of the role in the object.
+         * @return         The code of the role at the specified position.
+         */
+        public int getRoleCodeAt(int index) {
+            return roleCodes[index];
+        }
+        
+        /**
+         * @param   index  The position of the role in the object.
+         * @return         The permission bitmap of the role at the specified position.
+         */
+        public long getBitsAt(int index) {
+            return bitmaps[index];
+        }
+        
+        /**
+         * @param   roleCode  The code of the role.
+         * @return            The permission bitmap of the role.
+         */
+        public long getBits(int roleCode) {
+            for (int i = 0; i < roleCount; i++) {
+                if (roleCodes[i] == roleCode) {
+                    return bitmaps[i];
+                }
+            }
+            return 0;
+        }
+        
+        /**
+         * Sets bits in the permission bitmap of a role.
+         * @param  roleCode  The code of the role.
+         * @param  bits      The bits to set.
+         */
+        public void SetBits(int roleCode, long bits) {
+            for (int i = 0; i < roleCount; i++) {
+                if (roleCodes[i] == roleCode) {
+                    bitmaps[i] |= bits;
+                    return;
+                }
+            }
+            if (roleCount == roleCodes.length) {
+                int[] newRoleCodes = new int[roleCount * 2];
+                System.arraycopy(roleCodes, 0, newRoleCodes, 0, roleCount);
+                roleCodes = newRoleCodes;
+                long[] newBitmaps = new long[roleCount * 2];
+                System.arraycopy(bitmaps, 0, newBitmaps, 0, roleCount);
+                bitmaps = newBitmaps;
+            }
+            roleCodes[roleCount] = roleCode;
+            bitmaps[roleCount] = bits;
+            roleCount++;
+        }
+        
+        /**
+         * Clears bits in the permission bitmap of a role.
+         * @param  roleCode  The code of the role.
+         * @param  bits      The bits to clear.
+         */
+        public void ClearBits(int roleCode, long bits) {
+            for (int i = 0; i < roleCount; i++) {
+                if (roleCodes[i] == roleCode) {
+                    bitmaps[i] &= ~bits;
+                    return;
+                }
+            }
+        }
+    }
+}
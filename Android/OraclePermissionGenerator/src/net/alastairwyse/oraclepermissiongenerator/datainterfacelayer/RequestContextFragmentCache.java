@@ -0,0 +1,272 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.Arrays;
+
+import org.json.JSONException;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.ContainerObjectJsonSerializer;
+
+/**
+ * Caches the serialized (JSON) and URL encoded forms of the authentication context and tracking data which are sent with every remote data model request, so that they are only serialized and encoded again when their contents change.
+ * <p>The seconds since the location in the tracking data was updated changes on almost every request, so is not cached.  Instead the serialized and encoded forms of the rest of the tracking data are cached, and the current value is inserted into them for each request.</p>
+ * <b>Note</b> the cache holds the most recently used authentication context and tracking data only, as these typically change rarely between consecutive requests.  The class is safe to use from multiple threads.
+ * @author Alastair Wyse
+ */
+public class RequestContextFragmentCache {
+
+    private ContainerObjectJsonSerializer jsonSerializer;
+    private volatile AuthenticationContextFragment authenticationContextFragment;
+    private volatile TrackingDataFragment trackingDataFragment;
+    
+    /**
+     * Initialises a new instance of the RequestContextFragmentCache class.
+     * @param  jsonSerializer  The serializer to use to serialize authentication contexts and tracking data.
+     */
+    public RequestContextFragmentCache(ContainerObjectJsonSerializer jsonSerializer) {
+        this.jsonSerializer = jsonSerializer;
+    }
+    
+    /**
+     * Returns the specified authentication context serialized to a JSON string.
+     * @param   authenticationContext  The authentication context.
+     * @return                         The serialized authentication context.
+     * @throws  JSONException          if an error occurs whilst serializing the authentication context.
+     */
+    public String getSerializedAuthenticationContext(AuthenticationContext authenticationContext) throws JSONException {
+        return getAuthenticationContextFragment(authenticationContext).serialized;
+    }
+    
+    /**
+     * Returns the specified authentication context serialized to a JSON string, and encoded for inclusion in a URL.
+     * @param   authenticationContext  The authentication context.
+     * @return                         The serialized and encoded authentication context.
+     * @throws  JSONException          if an error occurs whilst serializing the authentication context.
+     */
+    public String getEncodedAuthenticationContext(AuthenticationContext authenticationContext) throws JSONException {
+        return getAuthenticationContextFragment(authenticationContext).getEncoded();
+    }
+    
+    /**
+     * Returns the specified tracking data serialized to a JSON string.
+     * @param   trackingData   The tracking data.
+     * @return                 The serialized tracking data.
+     * @throws  JSONException  if an error occurs whilst serializing the tracking data.
+     */
+    public String getSerializedTrackingData(TrackingData trackingData) throws JSONException {
+        return getTrackingDataFragment(trackingData).getSerialized(trackingData);
+    }
+    
+    /**
+     * Returns the specified tracking data serialized to a JSON string, and encoded for inclusion in a URL.
+     * @param   trackingData   The tracking data.
+     * @return                 The serialized and encoded tracking data.
+     * @throws  JSONException  if an error occurs whilst serializing the tracking data.
+     */
+    public String getEncodedTrackingData(TrackingData trackingData) throws JSONException {
+        return getTrackingDataFragment(trackingData).getEncoded(trackingData);
+    }
+    
+    /**
+     * Returns the cached fragment for the specified authentication context, creating and caching a new fragment if the cached fragment was created from a different authentication context.
+     * @param   authenticationContext  The authentication context.
+     * @return                         The fragment.
+     * @throws  JSONException          if an error occurs whilst serializing the authentication context.
+     */
+    private AuthenticationContextFragment getAuthenticationContextFragment(AuthenticationContext authenticationContext) throws JSONException {
+        AuthenticationContextFragment fragment = authenticationContextFragment;
+        if (fragment == null || fragment.Matches(authenticationContext) == false) {
+            fragment = new AuthenticationContextFragment(authenticationContext, jsonSerializer.SerializeAuthenticationContext(authenticationContext));
+            authenticationContextFragment = fragment;
+        }
+        return fragment;
+    }
+    
+    /**
+     * Returns the cached fragment for the specified tracking data, creating and caching a new fragment if the cached fragment was created from different tracking data.
+     * @param   trackingData   The tracking data.
+     * @return                 The fragment.
+     * @throws  JSONException  if an error occurs whilst serializing the tracking data.
+     */
+    private TrackingDataFragment getTrackingDataFragment(TrackingData trackingData) throws JSONException {
+        TrackingDataFragment fragment = trackingDataFragment;
+        if (fragment == null || fragment.Matches(trackingData) == false) {
+            fragment = new TrackingDataFragment(trackingData, jsonSerializer.SerializeTrackingData(trackingData));
+            trackingDataFragment = fragment;
+        }
+        return fragment;
+    }
+    
+    /**
+     * Base for a serialized request fragment, which URL encodes the serialized form the first time it is required.
+     * @author Alastair Wyse
+     */
+    private static abstract class Fragment {
+        
+        protected final String serialized;
+        private volatile String encoded;
+        
+        protected Fragment(String serialized) {
+            this.serialized = serialized;
+        }
+        
+        public String getEncoded() {
+            String returnEncoded = encoded;
+            if (returnEncoded == null) {
+                returnEncoded = PercentEncoder.Encode(serialized);
+                encoded = returnEncoded;
+            }
+            return returnEncoded;
+        }
+    }
+    
+    /**
+     * Serialized form of an authentication context, along with a copy of the contents it was serialized from.
+     * @author Alastair Wyse
+     */
+    private static class AuthenticationContextFragment extends Fragment {
+        
+        private final String userIdentifier;
+        
+        public AuthenticationContextFragment(AuthenticationContext authenticationContext, String serialized) {
+            super(serialized);
+            userIdentifier = authenticationContext.getUserIdentifier();
+        }
+        
+        /**
+         * @param   authenticationContext  The authentication context to compare to.
+         * @return                         Whether the specified authentication context has the same contents as the one the fragment was serialized from.
+         */
+        public boolean Matches(AuthenticationContext authenticationContext) {
+            if (userIdentifier == null) {
+                return authenticationContext.getUserIdentifier() == null;
+            }
+            return userIdentifier.equals(authenticationContext.getUserIdentifier());
+        }
+    }
+    
+    /**
+     * Serialized form of tracking data, along with a copy of the contents it was serialized from.
+     * <p>If the tracking data contains a location, the serialized form is split either side of the 'SecondsSinceUpdate' value, so that the fragment can be reused for tracking data which differs only in that value.  If the value cannot be found in the serialized form, the fragment is only reused for tracking data with the same value.</p>
+     * @author Alastair Wyse
+     */
+    private static class TrackingDataFragment extends Fragment {
+        
+        private static final String secondsSinceUpdateName = "\"SecondsSinceUpdate\":";
+        
+        private final boolean hasLocation;
+        private final double latitude;
+        private final double longitude;
+        private final int secondsSinceUpdate;
+        private final byte[] ipV4Address;
+        // The serialized form before and after the 'SecondsSinceUpdate' value, or null if the serialized form is not split
+        private final String serializedPrefix;
+        private final String serializedSuffix;
+        private volatile String encodedPrefix;
+        private volatile String encodedSuffix;
+        
+        public TrackingDataFragment(TrackingData trackingData, String serialized) {
+            super(serialized);
+            Location location = trackingData.getLocation();
+            hasLocation = (location != null);
+            latitude = hasLocation ? location.getLatitude() : 0;
+            longitude = hasLocation ? location.getLongitude() : 0;
+            secondsSinceUpdate = hasLocation ? location.getSecondsSinceUpdate() : 0;
+            ipV4Address = (trackingData.getIpV4Address() == null) ? null : trackingData.getIpV4Address().clone();
+            
+            int valueStartIndex = -1;
+            int valueEndIndex = -1;
+            if (hasLocation == true && serialized != null) {
+                String secondsSinceUpdateProperty = secondsSinceUpdateName + secondsSinceUpdate;
+                int propertyIndex = serialized.indexOf(secondsSinceUpdateProperty);
+                if (propertyIndex >= 0) {
+                    valueStartIndex = propertyIndex + secondsSinceUpdateName.length();
+                    valueEndIndex = propertyIndex + secondsSinceUpdateProperty.length();
+                    // Check that the whole value was found, and that there is only one occurrence of the property
+                    if ((valueEndIndex < serialized.length() && Character.isDigit(serialized.charAt(valueEndIndex)) == true) || serialized.indexOf(secondsSinceUpdateName, valueEndIndex) >= 0) {
+                        valueStartIndex = -1;
+                    }
+                }
+            }
+            if (valueStartIndex >= 0) {
+                serializedPrefix = serialized.substring(0, valueStartIndex);
+                serializedSuffix = serialized.substring(valueEndIndex);
+            }
+            else {
+                serializedPrefix = null;
+                serializedSuffix = null;
+            }
+        }
+        
+        /**
+         * @param   trackingData  The tracking data to compare to.
+         * @return                Whether the specified tracking data has the same contents as the tracking data the fragment was serialized from, other than the 'SecondsSinceUpdate' value if the serialized form is split.
+         */
+        public boolean Matches(TrackingData trackingData) {
+            Location location = trackingData.getLocation();
+            if (location == null) {
+                if (hasLocation == true) {
+                    return false;
+                }
+            }
+            else if (hasLocation == false || location.getLatitude() != latitude || location.getLongitude() != longitude) {
+                return false;
+            }
+            else if (serializedPrefix == null && location.getSecondsSinceUpdate() != secondsSinceUpdate) {
+                return false;
+            }
+            return Arrays.equals(ipV4Address, trackingData.getIpV4Address());
+        }
+        
+        /**
+         * @param   trackingData  The tracking data the fragment matches.
+         * @return                The serialized form of the specified tracking data.
+         */
+        public String getSerialized(TrackingData trackingData) {
+            Location location = trackingData.getLocation();
+            if (serializedPrefix == null || location == null) {
+                return serialized;
+            }
+            return serializedPrefix + location.getSecondsSinceUpdate() + serializedSuffix;
+        }
+        
+        /**
+         * @param   trackingData  The tracking data the fragment matches.
+         * @return                The serialized and encoded form of the specified tracking data.
+         */
+        public String getEncoded(TrackingData trackingData) {
+            Location location = trackingData.getLocation();
+            if (serializedPrefix == null || location == null) {
+                return getEncoded();
+            }
+            String returnEncodedPrefix = encodedPrefix;
+            if (returnEncodedPrefix == null) {
+                returnEncodedPrefix = PercentEncoder.Encode(serializedPrefix);
+                encodedPrefix = returnEncodedPrefix;
+            }
+            String returnEncodedSuffix = encodedSuffix;
+            if (returnEncodedSuffix == null) {
+                returnEncodedSuffix = PercentEncoder.Encode(serializedSuffix);
+                encodedSuffix = returnEncodedSuffix;
+            }
+            // The digits and minus sign of an integer do not require encoding
+            return returnEncodedPrefix + location.getSecondsSinceUpdate() + returnEncodedSuffix;
+        }
+    }
+}
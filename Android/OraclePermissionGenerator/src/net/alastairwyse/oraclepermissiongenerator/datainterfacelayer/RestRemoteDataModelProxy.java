@@ -20,17 +20,18 @@ import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import org.apache.http.*;
 import org.apache.http.client.*;
 import org.apache.http.client.methods.*;
 import org.apache.http.entity.*;
-import org.apache.http.impl.client.DefaultHttpClient;
 
 import org.json.*;
-import android.net.Uri;
 
 import net.alastairwyse.oraclepermissiongenerator.containers.*;
 import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.ContainerObjectJsonSerializer;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.JsonStreamWriter;
 
 /**
  * Proxies method calls to a remote instance of the Oracle Permission Generator data model running as a REST/JSON web service.
@@ -38,28 +39,58 @@ import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serializati
  */
 public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
 
-    private final String httpUrlPrefix = "http://";
     private final String urlBasePath = "OraclePermissionGeneratorWebServiceAPI/REST";
     private final String httpHeaderName = "Content-Type";
     private final String httpHeaderValue = "text/json; charset=UTF-8";
-    private char urlPathDelimiter = '/';
-    private char urlQueryDelimiter = '?';
-    private char urlQueryParameterDelimiter = '&';
+    private final int responseBufferSize = 8192;
+    private final int responseBufferPoolSize = 8;
+    private final long defaultMaximumResponseSize = 16777216;
+    private final int defaultRequestCompressionThreshold = -1;
+    private final String entityTagHeaderName = "ETag";
+    private final String lastModifiedHeaderName = "Last-Modified";
+    private final String ifNoneMatchHeaderName = "If-None-Match";
+    private final String ifModifiedSinceHeaderName = "If-Modified-Since";
+    private final String authenticationContextHeaderName = "X-Authentication-Context";
+    private final String trackingDataHeaderName = "X-Tracking-Data";
     
     private String dataModelLocation;
+    private RestUrlBuilder urlBuilder = new RestUrlBuilder(urlBasePath);
     private ContainerObjectJsonSerializer jsonSerializer;
+    private RequestContextFragmentCache requestContextFragmentCache;
+    private volatile RestRequestContextMode requestContextMode = RestRequestContextMode.QueryString;
+    private HttpClientConnectionPool connectionPool;
     private HttpClient httpClient;
     private HttpGet httpGet;
     private HttpPut httpPut;
     private HttpPost httpPost;
     private HttpDelete httpDelete;
+    private HttpResponseBodyReader responseBodyReader;
+    private TransferByteCounter transferByteCounter;
+    private HttpCompressionInterceptor compressionInterceptor;
+    /** The validators and deserialized results of previous conditional GET requests, keyed by URL path segment and user identifier. */
+    private HashMap<String, ConditionalGetEntry> conditionalGetEntries = new HashMap<String, ConditionalGetEntry>();
     private boolean instantiatedWithTestConstructor = false;
     
     /**
      * Initialises a new instance of the RestRemoteDataModelProxy class.
      */
     public RestRemoteDataModelProxy() {
+        this(new HttpClientConnectionPool());
+    }
+    
+    /**
+     * Initialises a new instance of the RestRemoteDataModelProxy class.
+     * @param  connectionPool  The pool of keep-alive HTTP connections to send REST requests over.
+     */
+    public RestRemoteDataModelProxy(HttpClientConnectionPool connectionPool) {
         jsonSerializer = new ContainerObjectJsonSerializer();
+        requestContextFragmentCache = new RequestContextFragmentCache(jsonSerializer);
+        this.connectionPool = connectionPool;
+        httpClient = connectionPool.getHttpClient();
+        responseBodyReader = new HttpResponseBodyReader(new BufferPool(responseBufferSize, responseBufferPoolSize), defaultMaximumResponseSize);
+        // The interceptor is owned by the pool, so is shared with any other proxies using the same pool
+        compressionInterceptor = connectionPool.getCompressionInterceptor(urlBasePath);
+        transferByteCounter = compressionInterceptor.getTransferByteCounter();
     }
     
     /**
@@ -73,14 +104,16 @@ public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
      * @param  httpDelete      A test (mock) HttpDelete object.
      */
     public RestRemoteDataModelProxy(ContainerObjectJsonSerializer jsonSerializer, HttpClient httpClient, HttpGet httpGet, HttpPut httpPut, HttpPost httpPost, HttpDelete httpDelete) {
-        this();
-        
         this.jsonSerializer = jsonSerializer;
+        requestContextFragmentCache = new RequestContextFragmentCache(jsonSerializer);
         this.httpClient = httpClient;
         this.httpGet = httpGet;
         this.httpPut = httpPut;
         this.httpPost = httpPost;
         this.httpDelete = httpDelete;
+        responseBodyReader = new HttpResponseBodyReader(new BufferPool(responseBufferSize, responseBufferPoolSize), defaultMaximumResponseSize);
+        transferByteCounter = new TransferByteCounter();
+        compressionInterceptor = new HttpCompressionInterceptor(urlBasePath, transferByteCounter, defaultRequestCompressionThreshold);
         instantiatedWithTestConstructor = true;
     }
     
@@ -89,6 +122,11 @@ public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
      */
     public void setDataModelLocation(String dataModelLocation) {
         this.dataModelLocation = dataModelLocation;
+        urlBuilder.setDataModelLocation(dataModelLocation);
+        // Validators returned by a previous location are not valid for the new location
+        synchronized (conditionalGetEntries) {
+            conditionalGetEntries.clear();
+        }
     }
     
     /**
@@ -97,241 +135,372 @@ public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
     public String getDataModelLocation() {
         return dataModelLocation;
     }
+    
+    /**
+     * @param  maximumResponseSize  The maximum size in bytes of a response which will be accepted from the data model web service.  Responses exceeding this size cause an IOException to be thrown.
+     */
+    public void setMaximumResponseSize(long maximumResponseSize) {
+        responseBodyReader.setMaximumResponseSize(maximumResponseSize);
+    }
+    
+    /**
+     * @return  The maximum size in bytes of a response which will be accepted from the data model web service.
+     */
+    public long getMaximumResponseSize() {
+        return responseBodyReader.getMaximumResponseSize();
+    }
+    
+    /**
+     * @param  requestCompressionThreshold  The minimum size in bytes of a request body for it to be gzip compressed, or -1 if request bodies should not be compressed (the default).  Should only be enabled if the data model web service supports gzip encoded request bodies.
+     */
+    public void setRequestCompressionThreshold(int requestCompressionThreshold) {
+        compressionInterceptor.setRequestCompressionThreshold(requestCompressionThreshold);
+    }
+    
+    /**
+     * @return  The minimum size in bytes of a request body for it to be gzip compressed, or -1 if request bodies are not compressed.
+     */
+    public int getRequestCompressionThreshold() {
+        return compressionInterceptor.getRequestCompressionThreshold();
+    }
+    
+    /**
+     * @param  requestContextMode  The way in which the authentication context and tracking data are sent with requests.  Defaults to RestRequestContextMode.QueryString, which is supported by all versions of the data model web service.
+     */
+    public void setRequestContextMode(RestRequestContextMode requestContextMode) {
+        this.requestContextMode = requestContextMode;
+    }
+    
+    /**
+     * @return  The way in which the authentication context and tracking data are sent with requests.
+     */
+    public RestRequestContextMode getRequestContextMode() {
+        return requestContextMode;
+    }
+    
+    /**
+     * @return  The per-operation counts of bytes sent and received by the proxy, before and after compression.  Where the connection pool is shared, the counts include bytes sent and received by other proxies using the same pool.
+     */
+    public TransferByteCounter getTransferByteCounter() {
+        return transferByteCounter;
+    }
+    
+    /**
+     * @return  A snapshot of the usage statistics of the pool of HTTP connections used to send REST requests.  All statistics are 0 if the proxy was instantiated with the test constructor, as no connection pool is used.
+     */
+    public HttpConnectionPoolStatistics getConnectionPoolStatistics() {
+        if (instantiatedWithTestConstructor == true) {
+            return new HttpConnectionPoolStatistics(0, 0, 0, 0);
+        }
+        return connectionPool.getStatistics();
+    }
+    
+    /**
+     * Closes all HTTP connections held by the proxy.  The proxy should not be used after this method is called.
+     */
+    public void Shutdown() {
+        if (instantiatedWithTestConstructor == false) {
+            connectionPool.Shutdown();
+        }
+    }
 
     @Override
-    public void AddObjectPermissionSet(String objectName, String objectType, String objectOwner, boolean addFlag, boolean removeFlag, ArrayList<RoleToPermissionMap> objectPermissions, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        JSONArray permissions = new JSONArray();
-        for(RoleToPermissionMap currentRoleToPermissionMap : objectPermissions) {
-            JSONObject currentRoleToPermissionMapJsonObject = new JSONObject();
-            currentRoleToPermissionMapJsonObject.put("Role", currentRoleToPermissionMap.getRole());
-            currentRoleToPermissionMapJsonObject.put("Permission", currentRoleToPermissionMap.getPermission());
-            permissions.put(currentRoleToPermissionMapJsonObject);
-        }
-        JSONObject parameters = new JSONObject();
-        parameters.put("objectName", objectName);
-        parameters.put("objectType", objectType);
-        parameters.put("objectOwner", objectOwner);
-        parameters.put("addFlag", addFlag);
-        parameters.put("removeFlag", removeFlag);
-        parameters.put("objectPermissions", permissions);
-        MakePostRequest(parameters.toString(), "Objects", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+    public void AddObjectPermissionSet(final String objectName, final String objectType, final String objectOwner, final boolean addFlag, final boolean removeFlag, final ArrayList<RoleToPermissionMap> objectPermissions, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        JsonStreamEntity requestEntity = new JsonStreamEntity(new JsonStreamEntity.ContentWriter() {
+            @Override
+            public void Write(JsonStreamWriter jsonWriter) throws IOException, JSONException {
+                jsonWriter.BeginObject();
+                jsonWriter.Name("objectName");
+                jsonWriter.Value(objectName);
+                jsonWriter.Name("objectType");
+                jsonWriter.Value(objectType);
+                jsonWriter.Name("objectOwner");
+                jsonWriter.Value(objectOwner);
+                jsonWriter.Name("addFlag");
+                jsonWriter.Value(addFlag);
+                jsonWriter.Name("removeFlag");
+                jsonWriter.Value(removeFlag);
+                jsonWriter.Name("objectPermissions");
+                jsonSerializer.SerializeRoleToPermissionMapList(objectPermissions, jsonWriter);
+                jsonWriter.EndObject();
+            }
+        });
+        MakePostRequest(requestEntity, urlBuilder.Begin("Objects"), authenticationContext, trackingData);
     }
 
     @Override
     public void RemoveObjectPermissionSet(String objectName, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Objects");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(objectName));
-        MakeDeleteRequest(urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Objects").AppendEncodedPathSegment(objectName);
+        MakeDeleteRequest(url, authenticationContext, trackingData);
     }
 
     @Override
     public ValidationResult ObjectNameValidate(String objectName, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Validations");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append("ObjectName");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(objectName));
-        String response = MakeGetRequest(urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Validations").AppendPathSegment("ObjectName").AppendEncodedPathSegment(objectName);
+        String response = MakeGetRequest(url, authenticationContext, trackingData);
         return jsonSerializer.DeserializeValidationResult(response);
     }
 
     @Override
     public ValidationResult ObjectTypeValidate(String objectType, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Validations");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append("ObjectType");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(objectType));
-        String response = MakeGetRequest(urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Validations").AppendPathSegment("ObjectType").AppendEncodedPathSegment(objectType);
+        String response = MakeGetRequest(url, authenticationContext, trackingData);
         return jsonSerializer.DeserializeValidationResult(response);
     }
 
     @Override
     public ValidationResult ObjectOwnerValidate(String objectOwner, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Validations");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append("ObjectOwner");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(objectOwner));
-        String response = MakeGetRequest(urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Validations").AppendPathSegment("ObjectOwner").AppendEncodedPathSegment(objectOwner);
+        String response = MakeGetRequest(url, authenticationContext, trackingData);
         return jsonSerializer.DeserializeValidationResult(response);
     }
 
     @Override
     public String getDefaultObjectOwner(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        String response = MakeGetRequest("DefaultObjectOwner", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        String response = MakeGetRequest(urlBuilder.Begin("DefaultObjectOwner"), authenticationContext, trackingData);
         return DeserializeBareJsonString(response);
     }
 
     @Override
     public void setDefaultObjectOwner(String defaultObjectOwner, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        MakePutRequest("\"" + defaultObjectOwner + "\"", "DefaultObjectOwner", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        MakePutRequest("\"" + defaultObjectOwner + "\"", urlBuilder.Begin("DefaultObjectOwner"), authenticationContext, trackingData);
     }
 
     @Override
     public ArrayList<String> getObjectTypes(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        String response = MakeGetRequest("ObjectTypes", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
-        return jsonSerializer.DeserializeStringArrayList(response);
+        HttpResponse httpResponse = ExecuteGetRequest(urlBuilder.Begin("ObjectTypes"), authenticationContext, trackingData);
+        Reader responseReader = CreateHttpResponseReader(httpResponse);
+        try {
+            return jsonSerializer.DeserializeStringArrayList(responseReader);
+        }
+        finally {
+            responseReader.close();
+        }
     }
 
     @Override
     public ArrayList<OracleObjectPermissionSet> getObjects(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        String response = MakeGetRequest("Objects", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
-        return jsonSerializer.DeserializeOracleObjectPermissionSetArrayList(response);
+        return MakeConditionalGetRequest("Objects", authenticationContext, trackingData, new ArrayListDeserializer<OracleObjectPermissionSet>() {
+            @Override
+            public ArrayList<OracleObjectPermissionSet> Deserialize(Reader responseReader) throws Exception {
+                return jsonSerializer.DeserializeOracleObjectPermissionSetArrayList(responseReader);
+            }
+
+            @Override
+            public OracleObjectPermissionSet Copy(OracleObjectPermissionSet item) {
+                OracleObjectPermissionSet returnObject = new OracleObjectPermissionSet();
+                if (item.getObjectName() != null) {
+                    returnObject.setObjectName(item.getObjectName());
+                }
+                returnObject.setObjectType(item.getObjectType());
+                if (item.getObjectOwner() != null) {
+                    returnObject.setObjectOwner(item.getObjectOwner());
+                }
+                // RoleToPermissionMap objects are immutable, so only the list needs to be copied
+                returnObject.setObjectPermissions(new ArrayList<RoleToPermissionMap>(item.getObjectPermissions()));
+                returnObject.setAddFlag(item.getAddFlag());
+                returnObject.setRemoveFlag(item.getRemoveFlag());
+                return returnObject;
+            }
+        });
     }
 
     @Override
     public void SetAddFlag(String objectName, boolean addFlagValue,  AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Objects");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(objectName));
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append("AddFlag");
-        MakePutRequest("\"" + String.valueOf(addFlagValue) + "\"", urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Objects").AppendEncodedPathSegment(objectName).AppendPathSegment("AddFlag");
+        MakePutRequest("\"" + String.valueOf(addFlagValue) + "\"", url, authenticationContext, trackingData);
     }
 
     @Override
     public void SetRemoveFlag(String objectName, boolean removeFlagValue, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Objects");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(objectName));
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append("RemoveFlag");
-        MakePutRequest("\"" + String.valueOf(removeFlagValue) + "\"", urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Objects").AppendEncodedPathSegment(objectName).AppendPathSegment("RemoveFlag");
+        MakePutRequest("\"" + String.valueOf(removeFlagValue) + "\"", url, authenticationContext, trackingData);
     }
 
     @Override
-    public void AddPermission(String objectName, String role, String permission, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        JSONObject parameters = new JSONObject();
-        parameters.put("objectName", objectName);
-        parameters.put("role", role);
-        parameters.put("permission", permission);
-        MakePostRequest(parameters.toString(), "Permissions", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+    public void AddPermission(final String objectName, final String role, final String permission, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        JsonStreamEntity requestEntity = new JsonStreamEntity(new JsonStreamEntity.ContentWriter() {
+            @Override
+            public void Write(JsonStreamWriter jsonWriter) throws IOException, JSONException {
+                jsonWriter.BeginObject();
+                jsonWriter.Name("objectName");
+                jsonWriter.Value(objectName);
+                jsonWriter.Name("role");
+                jsonWriter.Value(role);
+                jsonWriter.Name("permission");
+                jsonWriter.Value(permission);
+                jsonWriter.EndObject();
+            }
+        });
+        MakePostRequest(requestEntity, urlBuilder.Begin("Permissions"), authenticationContext, trackingData);
     }
 
     @Override
     public void RemovePermission(String objectName, String role, String permission, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Permissions");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(objectName));
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(role));
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(permission));
-        MakeDeleteRequest(urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Permissions").AppendEncodedPathSegment(objectName).AppendEncodedPathSegment(role).AppendEncodedPathSegment(permission);
+        MakeDeleteRequest(url, authenticationContext, trackingData);
+    }
+
+    @Override
+    public ArrayList<ModelOperationResult> ExecuteBatch(final List<ModelOperation> operations, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        JsonStreamEntity requestEntity = new JsonStreamEntity(new JsonStreamEntity.ContentWriter() {
+            @Override
+            public void Write(JsonStreamWriter jsonWriter) throws IOException, JSONException {
+                jsonWriter.BeginObject();
+                jsonWriter.Name("operations");
+                jsonSerializer.SerializeModelOperationList(operations, jsonWriter);
+                jsonWriter.EndObject();
+            }
+        });
+        HttpResponse httpResponse = ExecutePostRequest(requestEntity, urlBuilder.Begin("Batches"), authenticationContext, trackingData);
+        String response = ConvertHttpResponseToString(httpResponse);
+        return jsonSerializer.DeserializeModelOperationResultArrayList(response);
+    }
+
+    @Override
+    public EntityValidationResults ValidateEntities(final List<OracleObjectPermissionSet> objects, final List<RoleToUserMap> roleToUserMaps, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        JsonStreamEntity requestEntity = new JsonStreamEntity(new JsonStreamEntity.ContentWriter() {
+            @Override
+            public void Write(JsonStreamWriter jsonWriter) throws IOException, JSONException {
+                jsonWriter.BeginObject();
+                jsonWriter.Name("objects");
+                jsonSerializer.SerializeOracleObjectPermissionSetList(objects, jsonWriter);
+                jsonWriter.Name("roleToUserMaps");
+                jsonSerializer.SerializeRoleToUserMapList(roleToUserMaps, jsonWriter);
+                jsonWriter.EndObject();
+            }
+        });
+        HttpResponse httpResponse = ExecutePostRequest(requestEntity, urlBuilder.Begin("EntityValidations"), authenticationContext, trackingData);
+        String response = ConvertHttpResponseToString(httpResponse);
+        return jsonSerializer.DeserializeEntityValidationResults(response);
     }
 
     @Override
     public ArrayList<String> getRoles(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        String response = MakeGetRequest("Roles", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
-        return jsonSerializer.DeserializeStringArrayList(response);
+        HttpResponse httpResponse = ExecuteGetRequest(urlBuilder.Begin("Roles"), authenticationContext, trackingData);
+        Reader responseReader = CreateHttpResponseReader(httpResponse);
+        try {
+            return jsonSerializer.DeserializeStringArrayList(responseReader);
+        }
+        finally {
+            responseReader.close();
+        }
     }
 
     @Override
     public ArrayList<String> getPermissions(String objectType, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        String urlPathSegment = "Permissions" + urlPathDelimiter + Uri.encode(objectType);
-        ArrayList<RestQueryParameter> queryParameters = new ArrayList<RestQueryParameter>();
-        queryParameters.add(new RestQueryParameter("entity", "objectType"));
-        String response = MakeGetRequest(urlPathSegment, queryParameters, authenticationContext, trackingData);
-        return jsonSerializer.DeserializeStringArrayList(response);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Permissions").AppendEncodedPathSegment(objectType).AppendQueryParameter("entity", "objectType");
+        HttpResponse httpResponse = ExecuteGetRequest(url, authenticationContext, trackingData);
+        Reader responseReader = CreateHttpResponseReader(httpResponse);
+        try {
+            return jsonSerializer.DeserializeStringArrayList(responseReader);
+        }
+        finally {
+            responseReader.close();
+        }
     }
 
     @Override
     public ArrayList<String> getPermissions(String objectName, String role, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Permissions");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(objectName));
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(role));
-        ArrayList<RestQueryParameter> queryParameters = new ArrayList<RestQueryParameter>();
-        queryParameters.add(new RestQueryParameter("entity", "object,role"));
-        String response = MakeGetRequest(urlPathSegment.toString(), queryParameters, authenticationContext, trackingData);
-        return jsonSerializer.DeserializeStringArrayList(response);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Permissions").AppendEncodedPathSegment(objectName).AppendEncodedPathSegment(role).AppendQueryParameter("entity", "object,role");
+        HttpResponse httpResponse = ExecuteGetRequest(url, authenticationContext, trackingData);
+        Reader responseReader = CreateHttpResponseReader(httpResponse);
+        try {
+            return jsonSerializer.DeserializeStringArrayList(responseReader);
+        }
+        finally {
+            responseReader.close();
+        }
     }
 
     @Override
     public ArrayList<RoleToUserMap> getMasterRoleToUserMapCollection(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        String response = MakeGetRequest("RoleToUserMappings", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
-        return jsonSerializer.DeserializeRoleToUserMapArrayList(response);
+        return MakeConditionalGetRequest("RoleToUserMappings", authenticationContext, trackingData, new ArrayListDeserializer<RoleToUserMap>() {
+            @Override
+            public ArrayList<RoleToUserMap> Deserialize(Reader responseReader) throws Exception {
+                return jsonSerializer.DeserializeRoleToUserMapArrayList(responseReader);
+            }
+
+            @Override
+            public RoleToUserMap Copy(RoleToUserMap item) {
+                // RoleToUserMap objects are immutable, so can be shared
+                return item;
+            }
+        });
+    }
+
+    @Override
+    public ModelChangeSet getChangesSince(long modelVersion, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        RestUrlBuilder.Url url = urlBuilder.Begin("Changes").AppendQueryParameter("modelVersion", String.valueOf(modelVersion));
+        HttpResponse httpResponse = ExecuteGetRequest(url, authenticationContext, trackingData);
+        Reader responseReader = CreateHttpResponseReader(httpResponse);
+        try {
+            return jsonSerializer.DeserializeModelChangeSet(responseReader);
+        }
+        finally {
+            responseReader.close();
+        }
     }
 
     @Override
     public ArrayList<String> RoleGetReferencingObjects(String role, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        String urlPathSegment = "ReferencingObjects" + urlPathDelimiter + Uri.encode(role);
-        ArrayList<RestQueryParameter> queryParameters = new ArrayList<RestQueryParameter>();
-        queryParameters.add(new RestQueryParameter("entity", "role"));
-        String response = MakeGetRequest(urlPathSegment, queryParameters, authenticationContext, trackingData);
-        return jsonSerializer.DeserializeStringArrayList(response);
+        RestUrlBuilder.Url url = urlBuilder.Begin("ReferencingObjects").AppendEncodedPathSegment(role).AppendQueryParameter("entity", "role");
+        HttpResponse httpResponse = ExecuteGetRequest(url, authenticationContext, trackingData);
+        Reader responseReader = CreateHttpResponseReader(httpResponse);
+        try {
+            return jsonSerializer.DeserializeStringArrayList(responseReader);
+        }
+        finally {
+            responseReader.close();
+        }
     }
 
     @Override
-    public void AddRoleToUserMap(String role, String user, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        JSONObject parameters = new JSONObject();
-        parameters.put("role", role);
-        parameters.put("user", user);
-        MakePostRequest(parameters.toString(), "RoleToUserMappings", new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+    public void AddRoleToUserMap(final String role, final String user, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        JsonStreamEntity requestEntity = new JsonStreamEntity(new JsonStreamEntity.ContentWriter() {
+            @Override
+            public void Write(JsonStreamWriter jsonWriter) throws IOException, JSONException {
+                jsonWriter.BeginObject();
+                jsonWriter.Name("role");
+                jsonWriter.Value(role);
+                jsonWriter.Name("user");
+                jsonWriter.Value(user);
+                jsonWriter.EndObject();
+            }
+        });
+        MakePostRequest(requestEntity, urlBuilder.Begin("RoleToUserMappings"), authenticationContext, trackingData);
     }
 
     @Override
     public void RemoveRoleToUserMap(String role, String user, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("RoleToUserMappings");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(role));
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(user));
-        MakeDeleteRequest(urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("RoleToUserMappings").AppendEncodedPathSegment(role).AppendEncodedPathSegment(user);
+        MakeDeleteRequest(url, authenticationContext, trackingData);
     }
 
     @Override
     public ValidationResult RoleToUserMapValidate(String role, String user, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("Validations");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append("RoleToUserMap");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(role));
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(user));
-        String response = MakeGetRequest(urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("Validations").AppendPathSegment("RoleToUserMap").AppendEncodedPathSegment(role).AppendEncodedPathSegment(user);
+        String response = MakeGetRequest(url, authenticationContext, trackingData);
         return jsonSerializer.DeserializeValidationResult(response);
     }
 
     @Override
     public String CreatePrivilegeScript(ScriptType scriptType, boolean generateRevokeStatements, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("PrivilegeScripts");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(scriptType.name()));
-        ArrayList<RestQueryParameter> queryParameters = new ArrayList<RestQueryParameter>();
-        queryParameters.add(new RestQueryParameter("generateRevokeStatements", String.valueOf(generateRevokeStatements)));
-        String response = MakeGetRequest(urlPathSegment.toString(), queryParameters, authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("PrivilegeScripts").AppendEncodedPathSegment(scriptType.name()).AppendQueryParameter("generateRevokeStatements", String.valueOf(generateRevokeStatements));
+        String response = MakeGetRequest(url, authenticationContext, trackingData);
         return DeserializeBareJsonString(response);
     }
 
     @Override
     public String CreateSynonymScript(ScriptType scriptType, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
-        StringBuilder urlPathSegment = new StringBuilder();
-        urlPathSegment.append("SynonymScripts");
-        urlPathSegment.append(urlPathDelimiter);
-        urlPathSegment.append(Uri.encode(scriptType.name()));
-        String response = MakeGetRequest(urlPathSegment.toString(), new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+        RestUrlBuilder.Url url = urlBuilder.Begin("SynonymScripts").AppendEncodedPathSegment(scriptType.name());
+        String response = MakeGetRequest(url, authenticationContext, trackingData);
         return DeserializeBareJsonString(response);
     }
     
     /**
      * Creates and sends a REST GET request.
-     * @param   urlPathSegment           The path to use in the URL of the request (e.g. "Objects" in the URL "http://192.68.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/Objects?").
-     * @param   queryParameters          A set of parameters to appear in the query portion of the URL of the request.
+     * @param   url                      The URL of the request, excluding the authentication context and tracking data (which are added according to the request context mode).
      * @param   authenticationContext    Authentication information to include in the URL of the request (as part of the query portion).
      * @param   trackingData             Tracking information to include in the URL of the request (as part of the query portion).
      * @return                           The response from REST request returned as a string.
@@ -340,28 +509,130 @@ public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
      * @throws  ClientProtocolException  if a HTTP protocol error occurs when making the REST request.
      * @throws  IOException              if an error occurs or the connection was aborted when making the REST request.
      */
-    private String MakeGetRequest(String urlPathSegment, ArrayList<RestQueryParameter> queryParameters, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, ClientProtocolException, IOException {
-        String url = CreateRestUrl(urlPathSegment, queryParameters, authenticationContext, trackingData);
+    private String MakeGetRequest(RestUrlBuilder.Url url, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, ClientProtocolException, IOException {
+        HttpResponse httpResponse = ExecuteGetRequest(url, authenticationContext, trackingData);
+
+        return ConvertHttpResponseToString(httpResponse);
+    }
+    
+    /**
+     * Creates and sends a REST GET request, and returns the response without reading its content.
+     * @param   url                      The URL of the request, excluding the authentication context and tracking data (which are added according to the request context mode).
+     * @param   authenticationContext    Authentication information to include in the URL of the request (as part of the query portion).
+     * @param   trackingData             Tracking information to include in the URL of the request (as part of the query portion).
+     * @return                           The response from the REST request.
+     * @throws  JSONException            if an error occurs whilst serializing the 'authenticationContext' and 'trackingData' parameters.
+     * @throws  URISyntaxException       if an error occurs when creating a URI.
+     * @throws  ClientProtocolException  if a HTTP protocol error occurs when making the REST request.
+     * @throws  IOException              if an error occurs or the connection was aborted when making the REST request.
+     */
+    private HttpResponse ExecuteGetRequest(RestUrlBuilder.Url url, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, ClientProtocolException, IOException {
+        return ExecuteGetRequest(url, authenticationContext, trackingData, null);
+    }
+    
+    /**
+     * Creates and sends a REST GET request, and returns the response without reading its content.
+     * @param   url                      The URL of the request, excluding the authentication context and tracking data (which are added according to the request context mode).
+     * @param   authenticationContext    Authentication information to include in the URL of the request (as part of the query portion).
+     * @param   trackingData             Tracking information to include in the URL of the request (as part of the query portion).
+     * @param   conditionalGetEntry      The validators from a previous response to the same request, to include in the request headers so the server can respond with status 304 (Not Modified) if the content is unchanged.  Set to null to send an unconditional request.
+     * @return                           The response from the REST request.
+     * @throws  JSONException            if an error occurs whilst serializing the 'authenticationContext' and 'trackingData' parameters.
+     * @throws  URISyntaxException       if an error occurs when creating a URI.
+     * @throws  ClientProtocolException  if a HTTP protocol error occurs when making the REST request.
+     * @throws  IOException              if an error occurs or the connection was aborted when making the REST request.
+     */
+    private HttpResponse ExecuteGetRequest(RestUrlBuilder.Url url, AuthenticationContext authenticationContext, TrackingData trackingData, ConditionalGetEntry conditionalGetEntry) throws JSONException, URISyntaxException, ClientProtocolException, IOException {
+        String urlString = CreateRestUrl(url, authenticationContext, trackingData);
 
         // Setup objects to create the GET request
+        //   The request object is created per call, as the HTTP client is shared between threads
+        HttpGet httpGet = this.httpGet;
         if (instantiatedWithTestConstructor == false) {
-            // TODO: According to Apache documentation (http://hc.apache.org/httpcomponents-client-ga/httpclient/apidocs/org/apache/http/impl/client/DefaultHttpClient.html), the DefaultHttpClient class is supposed to implement the Closeable interface.
-            //         However, the close() method doesn't appear to be available in Android's implementation of this.
-            //         Was concerned that not calling close() here (and for other Make*Request() methods) might cause memory leaks, but since close() is not available, I have to assume below implementation is OK. 
-            httpClient = new DefaultHttpClient();
             httpGet = new HttpGet();
         }
-        httpGet.setURI(new URI(url));
-        HttpResponse httpResponse = httpClient.execute(httpGet);
+        httpGet.setURI(new URI(urlString));
+        SetRequestContextHeaders(httpGet, authenticationContext, trackingData);
+        if (conditionalGetEntry != null) {
+            if (conditionalGetEntry.EntityTag != null) {
+                httpGet.setHeader(ifNoneMatchHeaderName, conditionalGetEntry.EntityTag);
+            }
+            if (conditionalGetEntry.LastModified != null) {
+                httpGet.setHeader(ifModifiedSinceHeaderName, conditionalGetEntry.LastModified);
+            }
+        }
 
-        return ConvertHttpResponseToString(httpResponse);
+        return httpClient.execute(httpGet);
+    }
+    
+    /**
+     * Sends a conditional REST GET request for a list, using the validators (ETag and Last-Modified headers) returned with the previous response to the same request.  If the server responds with status 304 (Not Modified), the list deserialized from the previous response is returned without reading or deserializing any content.
+     * @param   urlPathSegment         The path to use in the URL of the request (e.g. "Objects" in the URL "http://192.68.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/Objects?").
+     * @param   authenticationContext  Authentication information to include in the URL of the request (as part of the query portion).
+     * @param   trackingData           Tracking information to include in the URL of the request (as part of the query portion).
+     * @param   deserializer           Deserializes the list from the content of the response.
+     * @return                         The list.
+     * @throws  Exception              if an error occurs when making the REST request or deserializing the response.
+     */
+    @SuppressWarnings("unchecked")
+    private <E> ArrayList<E> MakeConditionalGetRequest(String urlPathSegment, AuthenticationContext authenticationContext, TrackingData trackingData, ArrayListDeserializer<E> deserializer) throws Exception {
+        String entryKey = urlPathSegment + '\0' + authenticationContext.getUserIdentifier();
+        ConditionalGetEntry conditionalGetEntry;
+        synchronized (conditionalGetEntries) {
+            conditionalGetEntry = conditionalGetEntries.get(entryKey);
+        }
+
+        HttpResponse httpResponse = ExecuteGetRequest(urlBuilder.Begin(urlPathSegment), authenticationContext, trackingData, conditionalGetEntry);
+        if (conditionalGetEntry != null && httpResponse.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+            ReleaseHttpResponse(httpResponse);
+            // Return a copy, so that changes made to the list or its items by the caller are not reflected in subsequent calls
+            return CopyArrayList((ArrayList<E>)conditionalGetEntry.Result, deserializer);
+        }
+
+        ArrayList<E> result;
+        Reader responseReader = CreateHttpResponseReader(httpResponse);
+        try {
+            result = deserializer.Deserialize(responseReader);
+        }
+        finally {
+            responseReader.close();
+        }
+
+        Header entityTagHeader = httpResponse.getFirstHeader(entityTagHeaderName);
+        Header lastModifiedHeader = httpResponse.getFirstHeader(lastModifiedHeaderName);
+        synchronized (conditionalGetEntries) {
+            if (entityTagHeader != null || lastModifiedHeader != null) {
+                ConditionalGetEntry newEntry = new ConditionalGetEntry();
+                newEntry.EntityTag = (entityTagHeader != null) ? entityTagHeader.getValue() : null;
+                newEntry.LastModified = (lastModifiedHeader != null) ? lastModifiedHeader.getValue() : null;
+                newEntry.Result = CopyArrayList(result, deserializer);
+                conditionalGetEntries.put(entryKey, newEntry);
+            }
+            else {
+                conditionalGetEntries.remove(entryKey);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Creates a copy of a list, including copies of the items in the list.
+     * @param   list          The list to copy.
+     * @param   deserializer  The deserializer used to create the list, which also copies items in the list.
+     * @return                The copy of the list.
+     */
+    private <E> ArrayList<E> CopyArrayList(ArrayList<E> list, ArrayListDeserializer<E> deserializer) {
+        ArrayList<E> returnList = new ArrayList<E>(list.size());
+        for (E currentItem : list) {
+            returnList.add(deserializer.Copy(currentItem));
+        }
+        return returnList;
     }
     
     /**
      * Creates and sends a REST PUT request.
      * @param   requestBody                   The body of the HTTP request.
-     * @param   urlPathSegment                The path to use in the URL of the request (e.g. "Objects" in the URL "http://192.68.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/Objects?").
-     * @param   queryParameters               A set of parameters to appear in the query portion of the URL of the request.
+     * @param   url                           The URL of the request, excluding the authentication context and tracking data (which are added according to the request context mode).
      * @param   authenticationContext         Authentication information to include in the URL of the request (as part of the query portion).
      * @param   trackingData                  Tracking information to include in the URL of the request (as part of the query portion).
      * @throws  JSONException                 if an error occurs whilst serializing the 'authenticationContext' and 'trackingData' parameters.
@@ -370,26 +641,27 @@ public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
      * @throws  ClientProtocolException       if a HTTP protocol error occurs when making the REST request.
      * @throws  IOException                   if an error occurs or the connection was aborted when making the REST request, or an error occurs when reading and converting the response to a string.
      */
-    private void MakePutRequest(String requestBody, String urlPathSegment, ArrayList<RestQueryParameter> queryParameters, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, UnsupportedEncodingException, ClientProtocolException, IOException {
-        String url = CreateRestUrl(urlPathSegment, new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+    private void MakePutRequest(String requestBody, RestUrlBuilder.Url url, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, UnsupportedEncodingException, ClientProtocolException, IOException {
+        String urlString = CreateRestUrl(url, authenticationContext, trackingData);
 
         // Setup objects to create the PUT request
+        HttpPut httpPut = this.httpPut;
         if (instantiatedWithTestConstructor == false) {
-            httpClient = new DefaultHttpClient();
             httpPut = new HttpPut();
         }
-        httpPut.setURI(new URI(url));
+        httpPut.setURI(new URI(urlString));
+        SetRequestContextHeaders(httpPut, authenticationContext, trackingData);
         httpPut.setHeader(httpHeaderName, httpHeaderValue);
         httpPut.setEntity(new StringEntity(requestBody));
         
-        httpClient.execute(httpPut);
+        HttpResponse httpResponse = httpClient.execute(httpPut);
+        ReleaseHttpResponse(httpResponse);
     }
     
     /**
      * Creates and sends a REST POST request.
-     * @param   requestBody                   The body of the HTTP request.
-     * @param   urlPathSegment                The path to use in the URL of the request (e.g. "Objects" in the URL "http://192.68.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/Objects?").
-     * @param   queryParameters               A set of parameters to appear in the query portion of the URL of the request.
+     * @param   requestEntity                 The body of the HTTP request.
+     * @param   url                           The URL of the request, excluding the authentication context and tracking data (which are added according to the request context mode).
      * @param   authenticationContext         Authentication information to include in the URL of the request (as part of the query portion).
      * @param   trackingData                  Tracking information to include in the URL of the request (as part of the query portion).
      * @throws  JSONException                 if an error occurs whilst serializing the 'authenticationContext' and 'trackingData' parameters.
@@ -398,25 +670,43 @@ public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
      * @throws  ClientProtocolException       if a HTTP protocol error occurs when making the REST request.
      * @throws  IOException                   if an error occurs or the connection was aborted when making the REST request, or an error occurs when reading and converting the response to a string.
      */
-    private void MakePostRequest(String requestBody, String urlPathSegment, ArrayList<RestQueryParameter> queryParameters, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, UnsupportedEncodingException, ClientProtocolException, IOException {
-        String url = CreateRestUrl(urlPathSegment, new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+    private void MakePostRequest(HttpEntity requestEntity, RestUrlBuilder.Url url, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, UnsupportedEncodingException, ClientProtocolException, IOException {
+        HttpResponse httpResponse = ExecutePostRequest(requestEntity, url, authenticationContext, trackingData);
+        ReleaseHttpResponse(httpResponse);
+    }
+    
+    /**
+     * Creates and sends a REST POST request, and returns the response without reading its content.
+     * @param   requestEntity                 The body of the HTTP request.
+     * @param   url                           The URL of the request, excluding the authentication context and tracking data (which are added according to the request context mode).
+     * @param   authenticationContext         Authentication information to include in the URL of the request (as part of the query portion).
+     * @param   trackingData                  Tracking information to include in the URL of the request (as part of the query portion).
+     * @return                                The response from the REST request.
+     * @throws  JSONException                 if an error occurs whilst serializing the 'authenticationContext' and 'trackingData' parameters.
+     * @throws  URISyntaxException            if an error occurs when creating a URI.
+     * @throws  UnsupportedEncodingException  if an error occurs whilst attempting to set the HTTP header on the request.
+     * @throws  ClientProtocolException       if a HTTP protocol error occurs when making the REST request.
+     * @throws  IOException                   if an error occurs or the connection was aborted when making the REST request.
+     */
+    private HttpResponse ExecutePostRequest(HttpEntity requestEntity, RestUrlBuilder.Url url, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, UnsupportedEncodingException, ClientProtocolException, IOException {
+        String urlString = CreateRestUrl(url, authenticationContext, trackingData);
 
         // Setup objects to create the POST request
+        HttpPost httpPost = this.httpPost;
         if (instantiatedWithTestConstructor == false) {
-            httpClient = new DefaultHttpClient();
             httpPost = new HttpPost();
         }
-        httpPost.setURI(new URI(url));
+        httpPost.setURI(new URI(urlString));
+        SetRequestContextHeaders(httpPost, authenticationContext, trackingData);
         httpPost.setHeader(httpHeaderName, httpHeaderValue);
-        httpPost.setEntity(new StringEntity(requestBody));
+        httpPost.setEntity(requestEntity);
 
-        httpClient.execute(httpPost);
+        return httpClient.execute(httpPost);
     }
     
     /**
      * Creates and sends a REST DELETE request.
-     * @param   urlPathSegment           The path to use in the URL of the request (e.g. "Objects" in the URL "http://192.68.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/Objects?").
-     * @param   queryParameters          A set of parameters to appear in the query portion of the URL of the request.
+     * @param   url                      The URL of the request, excluding the authentication context and tracking data (which are added according to the request context mode).
      * @param   authenticationContext    Authentication information to include in the URL of the request (as part of the query portion).
      * @param   trackingData             Tracking information to include in the URL of the request (as part of the query portion).
      * @throws  JSONException            if an error occurs whilst serializing the 'authenticationContext' and 'trackingData' parameters.
@@ -424,81 +714,82 @@ public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
      * @throws  ClientProtocolException  if a HTTP protocol error occurs when making the REST request.
      * @throws  IOException              if an error occurs or the connection was aborted when making the REST request.
      */
-    private void MakeDeleteRequest(String urlPathSegment, ArrayList<RestQueryParameter> queryParameters, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, ClientProtocolException, IOException {
-        String url = CreateRestUrl(urlPathSegment, new ArrayList<RestQueryParameter>(), authenticationContext, trackingData);
+    private void MakeDeleteRequest(RestUrlBuilder.Url url, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException, URISyntaxException, ClientProtocolException, IOException {
+        String urlString = CreateRestUrl(url, authenticationContext, trackingData);
 
         // Setup objects to create the DELETE request
+        HttpDelete httpDelete = this.httpDelete;
         if (instantiatedWithTestConstructor == false) {
-            httpClient = new DefaultHttpClient();
             httpDelete = new HttpDelete();
         }
-        httpDelete.setURI(new URI(url));
-        httpClient.execute(httpDelete);
+        httpDelete.setURI(new URI(urlString));
+        SetRequestContextHeaders(httpDelete, authenticationContext, trackingData);
+        HttpResponse httpResponse = httpClient.execute(httpDelete);
+        ReleaseHttpResponse(httpResponse);
     }
     
     /**
-     * Creates a valid REST URL using the given path segment, and including the specified query parameters in addition to the supplied AuthenticationContext and TrackingData as query parameters.
-     * @param   urlPathSegment         The path to use in the URL (e.g. "Objects" in the URL "http://192.168.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/Objects?").
-     * @param   queryParameters        A set of parameters to appear in the query portion of the URL.
+     * Completes the specified REST URL and converts it to a string.  If the request context mode is RestRequestContextMode.QueryString, the supplied AuthenticationContext and TrackingData are included as query parameters.
+     * @param   url                    The URL to complete.
      * @param   authenticationContext  Authentication information to include in the URL (as part of the query portion).
      * @param   trackingData           Tracking information to include in the URL (as part of the query portion).
      * @return                         The REST URL.
      * @throws  JSONException          if an error occurs whilst serializing the 'authenticationContext' and 'trackingData' parameters.
      */
-    private String CreateRestUrl(String urlPathSegment, ArrayList<RestQueryParameter> queryParameters, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException {
-        // Serialize parameters
-        String serializedAuthenticationContext = jsonSerializer.SerializeAuthenticationContext(authenticationContext);
-        String serializedTrackingData = jsonSerializer.SerializeTrackingData(trackingData);
-        
-        // Create the URL
-        StringBuilder urlStringBuilder = new StringBuilder(512);
-        urlStringBuilder.append(httpUrlPrefix);
-        urlStringBuilder.append(dataModelLocation);
-        urlStringBuilder.append(urlPathDelimiter);
-        urlStringBuilder.append(urlBasePath);
-        urlStringBuilder.append(urlPathDelimiter);
-        urlStringBuilder.append(urlPathSegment);
-        urlStringBuilder.append(urlQueryDelimiter);
-        if (queryParameters.size() > 0) {
-            for (RestQueryParameter currentParameter : queryParameters) {
-                urlStringBuilder.append(currentParameter.Name);
-                urlStringBuilder.append("=");
-                urlStringBuilder.append(Uri.encode(currentParameter.Value));
-                urlStringBuilder.append(urlQueryParameterDelimiter);
-            }
+    private String CreateRestUrl(RestUrlBuilder.Url url, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException {
+        if (requestContextMode == RestRequestContextMode.QueryString) {
+            // Serialize and encode parameters (reusing the previous serialized forms if unchanged)
+            url.AppendPreEncodedQueryParameter("authenticationContext", requestContextFragmentCache.getEncodedAuthenticationContext(authenticationContext));
+            url.AppendPreEncodedQueryParameter("trackingData", requestContextFragmentCache.getEncodedTrackingData(trackingData));
+        }
+        return url.toString();
+    }
+    
+    /**
+     * Sets the supplied AuthenticationContext and TrackingData as headers on the specified request, if the request context mode is RestRequestContextMode.Headers.
+     * The header values are JSON, URL encoded so that any non-ASCII characters in the authentication context can be sent in a header.
+     * @param   request                The request to set the headers on.
+     * @param   authenticationContext  Authentication information to include in the request headers.
+     * @param   trackingData           Tracking information to include in the request headers.
+     * @throws  JSONException          if an error occurs whilst serializing the 'authenticationContext' and 'trackingData' parameters.
+     */
+    private void SetRequestContextHeaders(HttpRequestBase request, AuthenticationContext authenticationContext, TrackingData trackingData) throws JSONException {
+        if (requestContextMode == RestRequestContextMode.Headers) {
+            request.setHeader(authenticationContextHeaderName, requestContextFragmentCache.getEncodedAuthenticationContext(authenticationContext));
+            request.setHeader(trackingDataHeaderName, requestContextFragmentCache.getEncodedTrackingData(trackingData));
         }
-        urlStringBuilder.append("authenticationContext=");
-        urlStringBuilder.append(Uri.encode(serializedAuthenticationContext));
-        urlStringBuilder.append(urlQueryParameterDelimiter);
-        urlStringBuilder.append("trackingData=");
-        urlStringBuilder.append(Uri.encode(serializedTrackingData));
-        return urlStringBuilder.toString();
     }
     
     /**
      * Converts an HttpResponse object to a string.
      * @param   httpResponse  The HttpResponse to convert.
      * @return                The HttpResponse converted to a string.
-     * @throws  IOException   if an error occurs when converting the HTTP response to a string.
+     * @throws  IOException   if an error occurs when converting the HTTP response to a string, or the response exceeds the maximum response size.
      */
     private String ConvertHttpResponseToString(HttpResponse httpResponse) throws IOException {
-        char[] characterBuffer = new char[(int)httpResponse.getEntity().getContentLength()];
-        // TODO: If project compliance is changed to Java 1.7 or higher, change below to try with resources statement  
-        InputStreamReader inputStreamReader = new InputStreamReader(httpResponse.getEntity().getContent());
-        try {
-            BufferedReader bufferedReader = new BufferedReader(inputStreamReader, (int)httpResponse.getEntity().getContentLength());
-            try {
-                bufferedReader.read(characterBuffer, 0, (int)httpResponse.getEntity().getContentLength());
-            }
-            finally {
-                bufferedReader.close();
-            }
-        }
-        finally {
-            inputStreamReader.close();
+        return responseBodyReader.ReadAsString(httpResponse.getEntity());
+    }
+    
+    /**
+     * Creates a Reader which decodes the content of an HttpResponse as it is read from the underlying connection, allowing the response to be deserialized without first buffering it into a string.
+     * The Reader should be closed after use, to release the underlying connection back to the connection pool.
+     * @param   httpResponse  The HttpResponse to read.
+     * @return                A Reader over the content of the response.
+     * @throws  IOException   if an error occurs when retrieving the content of the HTTP response, or the response exceeds the maximum response size.
+     */
+    private Reader CreateHttpResponseReader(HttpResponse httpResponse) throws IOException {
+        return responseBodyReader.CreateReader(httpResponse.getEntity());
+    }
+    
+    /**
+     * Consumes any remaining content of an HttpResponse, so that the underlying connection is released back to the connection pool for reuse.
+     * @param   httpResponse  The HttpResponse to release.
+     * @throws  IOException   if an error occurs when consuming the content of the HTTP response.
+     */
+    private void ReleaseHttpResponse(HttpResponse httpResponse) throws IOException {
+        if (httpResponse != null && httpResponse.getEntity() != null) {
+            httpResponse.getEntity().consumeContent();
         }
-
-        return new String(characterBuffer);
     }
     
     /**
@@ -515,16 +806,34 @@ public class RestRemoteDataModelProxy implements IRemoteDataModelProxy {
     }
     
     /**
-     * Container object which holds the name and value of a query parameter to send as part of a REST request.
+     * Deserializes a list from the content of a REST response, and copies items of the list.
+     * @param  <E>  The type of the items in the list.
      */
-    private class RestQueryParameter {
+    private interface ArrayListDeserializer<E> {
         
-        public String Name;
-        public String Value;
+        /**
+         * Deserializes the list.
+         * @param   responseReader  A Reader over the content of the response.
+         * @return                  The deserialized list.
+         * @throws  Exception       if an error occurs when deserializing the list.
+         */
+        ArrayList<E> Deserialize(Reader responseReader) throws Exception;
         
-        public RestQueryParameter(String name, String value) {
-            Name = name;
-            Value = value;
-        }
+        /**
+         * Creates a deep copy of an item in the list.
+         * @param   item  The item to copy.
+         * @return        The copy of the item.
+         */
+        E Copy(E item);
+    }
+    
+    /**
+     * Container object which holds the validators returned in the response to a GET request, and the result deserialized from that response.
+     */
+    private class ConditionalGetEntry {
+        
+        public String EntityTag;
+        public String LastModified;
+        public Object Result;
     }
 }
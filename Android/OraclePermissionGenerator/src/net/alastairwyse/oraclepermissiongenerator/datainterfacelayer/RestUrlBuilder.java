@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+/**
+ * Builds the URLs of REST requests, reusing a per-thread buffer so that building a URL allocates only the resulting string.
+ * <b>Note</b> the part of the URL common to all requests (scheme, network location and base path) is created once when the data model location is set, rather than for each request.
+ * @author Alastair Wyse
+ */
+public class RestUrlBuilder {
+
+    private static final String httpUrlPrefix = "http://";
+    private static final char urlPathDelimiter = '/';
+    private static final char urlQueryDelimiter = '?';
+    private static final char urlQueryParameterDelimiter = '&';
+    private static final char urlQueryValueDelimiter = '=';
+    private static final int initialUrlCapacity = 512;
+    
+    private final String urlBasePath;
+    /** The URL up to and including the delimiter following the base path (e.g. 'http://192.168.0.1:5000/OraclePermissionGeneratorWebServiceAPI/REST/'). */
+    private volatile String baseUrl;
+    private final ThreadLocal<Url> threadUrl = new ThreadLocal<Url>() {
+        @Override
+        protected Url initialValue() {
+            return new Url();
+        }
+    };
+    
+    /**
+     * Initialises a new instance of the RestUrlBuilder class.
+     * @param  urlBasePath  The path within the data model web service under which all REST resources reside (e.g. 'OraclePermissionGeneratorWebServiceAPI/REST').
+     */
+    public RestUrlBuilder(String urlBasePath) {
+        if (urlBasePath == null) {
+            throw new IllegalArgumentException("Argument 'urlBasePath' cannot be null.");
+        }
+        this.urlBasePath = urlBasePath;
+        setDataModelLocation(null);
+    }
+    
+    /**
+     * @param  dataModelLocation  The network location (IP address or hostname and port) of the data model web service, for example '192.168.0.101:5000'.
+     */
+    public void setDataModelLocation(String dataModelLocation) {
+        baseUrl = httpUrlPrefix + dataModelLocation + urlPathDelimiter + urlBasePath + urlPathDelimiter;
+    }
+    
+    /**
+     * Starts building a new URL for the specified resource.
+     * <b>Note</b> the returned object is reused by subsequent calls to this method on the same thread, hence the URL must be completed and converted to a string before this method is called again on the current thread.
+     * @param   resourcePath  The path of the resource relative to the base path (e.g. 'Objects'), which is appended without encoding.
+     * @return                The URL being built.
+     */
+    public Url Begin(String resourcePath) {
+        Url url = threadUrl.get();
+        url.Reset(baseUrl);
+        url.builder.append(resourcePath);
+        return url;
+    }
+    
+    /**
+     * A REST URL in the process of being built.
+     * @author Alastair Wyse
+     */
+    public static class Url {
+        
+        private final StringBuilder builder = new StringBuilder(initialUrlCapacity);
+        private boolean queryStarted;
+        
+        private Url() {
+        }
+        
+        /**
+         * Appends a path segment to the URL without encoding it.
+         * @param   pathSegment  The path segment (e.g. 'Validations').
+         * @return               This URL.
+         */
+        public Url AppendPathSegment(String pathSegment) {
+            builder.append(urlPathDelimiter);
+            builder.append(pathSegment);
+            return this;
+        }
+        
+        /**
+         * Percent encodes a value and appends it to the URL as a path segment.
+         * @param   value  The value (e.g. an object name).
+         * @return         This URL.
+         */
+        public Url AppendEncodedPathSegment(String value) {
+            builder.append(urlPathDelimiter);
+            PercentEncoder.Encode(value, builder);
+            return this;
+        }
+        
+        /**
+         * Percent encodes a value and appends it to the URL as a query parameter.
+         * @param   name   The name of the query parameter.
+         * @param   value  The value of the query parameter.
+         * @return         This URL.
+         */
+        public Url AppendQueryParameter(String name, String value) {
+            AppendQueryParameterName(name);
+            PercentEncoder.Encode(value, builder);
+            return this;
+        }
+        
+        /**
+         * Appends a query parameter whose value has already been percent encoded to the URL.
+         * @param   name          The name of the query parameter.
+         * @param   encodedValue  The percent encoded value of the query parameter.
+         * @return                This URL.
+         */
+        public Url AppendPreEncodedQueryParameter(String name, String encodedValue) {
+            AppendQueryParameterName(name);
+            builder.append(encodedValue);
+            return this;
+        }
+        
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+        
+        /**
+         * Clears the URL and appends the specified base URL.
+         * @param  baseUrl  The base URL.
+         */
+        private void Reset(String baseUrl) {
+            builder.setLength(0);
+            builder.append(baseUrl);
+            queryStarted = false;
+        }
+        
+        /**
+         * Appends the delimiter preceding a query parameter, followed by the name of the parameter and the delimiter separating it from its value.
+         * @param  name  The name of the query parameter.
+         */
+        private void AppendQueryParameterName(String name) {
+            if (queryStarted == false) {
+                builder.append(urlQueryDelimiter);
+                queryStarted = true;
+            }
+            else {
+                builder.append(urlQueryParameterDelimiter);
+            }
+            builder.append(name);
+            builder.append(urlQueryValueDelimiter);
+        }
+    }
+}
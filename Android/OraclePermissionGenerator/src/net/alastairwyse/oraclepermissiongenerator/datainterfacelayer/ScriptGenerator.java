@@ -0,0 +1,229 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Generates Oracle privilege and synonym scripts from a local copy of the data model, producing the same output as the remote data model.
+ * <p>Statements are grouped by role, in role name order, and within each role are written in the order of the objects in the model, with the statements for an object with the 'add' flag set preceding those for an object with the 'remove' flag set.  A rollout script creates the permissions and synonyms of added objects, and removes the synonyms of removed objects.  A rollback script reverses a rollout script.  The statements are written to a Writer as they are generated, so that the script does not need to be held in memory in its entirety.</p>
+ * @author Alastair Wyse
+ */
+public class ScriptGenerator {
+
+    private static final String defaultLineSeparator = "\r\n";
+    
+    // The string written at the end of each statement
+    private final String lineSeparator;
+    // Orders role names the same way as the culture sensitive string comparison used by the remote data model
+    private final Collator roleNameCollator;
+    
+    /**
+     * Initialises a new instance of the ScriptGenerator class.
+     */
+    public ScriptGenerator() {
+        this(defaultLineSeparator);
+    }
+    
+    /**
+     * Initialises a new instance of the ScriptGenerator class.
+     * @param  lineSeparator  The string to write at the end of each statement.
+     */
+    public ScriptGenerator(String lineSeparator) {
+        if (lineSeparator == null) {
+            throw new IllegalArgumentException("Argument 'lineSeparator' cannot be null.");
+        }
+        
+        this.lineSeparator = lineSeparator;
+        roleNameCollator = Collator.getInstance(Locale.ENGLISH);
+    }
+    
+    /**
+     * Generates an Oracle privilege script.
+     * <p>A rollout script grants the permissions of added objects, and if specified, revokes the permissions of removed objects.  A rollback script grants the permissions of removed objects, and if specified, revokes the permissions of added objects.  Statements are generated for the roles in the role to user mappings.</p>
+     * @param   objects                   The objects in the data model.
+     * @param   roleToUserMaps            The role to user mappings in the data model.
+     * @param   scriptType                The type of script to generate.
+     * @param   generateRevokeStatements  Specifies whether revoke statements should be included in the script.
+     * @param   writer                    The writer to write the script to.
+     * @throws  IOException               if an error occurs writing to the writer.
+     */
+    public void CreatePrivilegeScript(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, ScriptType scriptType, boolean generateRevokeStatements, Writer writer) throws IOException {
+        CheckArguments(objects, roleToUserMaps, scriptType, writer);
+        
+        boolean rollout = (scriptType == ScriptType.Rollout);
+        for (String currentRole : GetRoles(roleToUserMaps)) {
+            for (OracleObjectPermissionSet currentObject : objects) {
+                if (currentObject.getAddFlag() == true && (rollout == true || generateRevokeStatements == true)) {
+                    WritePrivilegeStatements(writer, currentObject, currentRole, rollout);
+                }
+                if (currentObject.getRemoveFlag() == true && (rollout == false || generateRevokeStatements == true)) {
+                    WritePrivilegeStatements(writer, currentObject, currentRole, !rollout);
+                }
+            }
+        }
+        writer.flush();
+    }
+    
+    /**
+     * Generates an Oracle synonym script.
+     * <p>For each user mapped to a role which references an object, a rollout script creates synonyms for added objects and drops synonyms for removed objects, and a rollback script does the reverse.  As with the remote data model, a user mapped to multiple roles which reference the same object has a statement written for each of the roles.</p>
+     * @param   objects         The objects in the data model.
+     * @param   roleToUserMaps  The role to user mappings in the data model.
+     * @param   scriptType      The type of script to generate.
+     * @param   writer          The writer to write the script to.
+     * @throws  IOException     if an error occurs writing to the writer.
+     */
+    public void CreateSynonymScript(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, ScriptType scriptType, Writer writer) throws IOException {
+        CheckArguments(objects, roleToUserMaps, scriptType, writer);
+        
+        boolean rollout = (scriptType == ScriptType.Rollout);
+        for (String currentRole : GetRoles(roleToUserMaps)) {
+            // Users are written in the order of the role to user mappings
+            ArrayList<String> users = new ArrayList<String>();
+            for (RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+                if (currentRoleToUserMap.getRole().equals(currentRole) == true) {
+                    users.add(currentRoleToUserMap.getUser());
+                }
+            }
+            for (OracleObjectPermissionSet currentObject : objects) {
+                if (ReferencesRole(currentObject, currentRole) == true) {
+                    if (currentObject.getAddFlag() == true) {
+                        WriteSynonymStatements(writer, currentObject, users, rollout);
+                    }
+                    if (currentObject.getRemoveFlag() == true) {
+                        WriteSynonymStatements(writer, currentObject, users, !rollout);
+                    }
+                }
+            }
+        }
+        writer.flush();
+    }
+    
+    /**
+     * Checks the arguments common to the script generation methods.
+     * @param  objects         The objects in the data model.
+     * @param  roleToUserMaps  The role to user mappings in the data model.
+     * @param  scriptType      The type of script to generate.
+     * @param  writer          The writer to write the script to.
+     */
+    private void CheckArguments(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, ScriptType scriptType, Writer writer) {
+        if (objects == null) {
+            throw new IllegalArgumentException("Argument 'objects' cannot be null.");
+        }
+        if (roleToUserMaps == null) {
+            throw new IllegalArgumentException("Argument 'roleToUserMaps' cannot be null.");
+        }
+        if (scriptType == null) {
+            throw new IllegalArgumentException("Argument 'scriptType' cannot be null.");
+        }
+        if (writer == null) {
+            throw new IllegalArgumentException("Argument 'writer' cannot be null.");
+        }
+    }
+    
+    /**
+     * @param   roleToUserMaps  The role to user mappings in the data model.
+     * @return                  The distinct roles in the role to user mappings, in name order.
+     */
+    private ArrayList<String> GetRoles(List<RoleToUserMap> roleToUserMaps) {
+        ArrayList<String> returnRoles = new ArrayList<String>();
+        for (RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+            if (returnRoles.contains(currentRoleToUserMap.getRole()) == false) {
+                returnRoles.add(currentRoleToUserMap.getRole());
+            }
+        }
+        Collections.sort(returnRoles, roleNameCollator);
+        return returnRoles;
+    }
+    
+    /**
+     * Writes a grant or revoke statement for each of the permissions on an object assigned to a role.
+     * @param   writer       The writer to write the statements to.
+     * @param   object       The object.
+     * @param   role         The name of the role.
+     * @param   grant        Specifies whether to write grant statements (true) or revoke statements (false).
+     * @throws  IOException  if an error occurs writing to the writer.
+     */
+    private void WritePrivilegeStatements(Writer writer, OracleObjectPermissionSet object, String role, boolean grant) throws IOException {
+        for (RoleToPermissionMap currentRoleToPermissionMap : object.getObjectPermissions()) {
+            if (currentRoleToPermissionMap.getRole().equals(role) == true) {
+                if (grant == true) {
+                    WriteStatement(writer, "GRANT ", currentRoleToPermissionMap.getPermission(), " ON ", object.getObjectName(), " TO ", role);
+                }
+                else {
+                    WriteStatement(writer, "REVOKE ", currentRoleToPermissionMap.getPermission(), " ON ", object.getObjectName(), " FROM ", role);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Writes a create or drop synonym statement for an object for each of the specified users.
+     * @param   writer       The writer to write the statements to.
+     * @param   object       The object.
+     * @param   users        The users to write the statements for.
+     * @param   create       Specifies whether to write create statements (true) or drop statements (false).
+     * @throws  IOException  if an error occurs writing to the writer.
+     */
+    private void WriteSynonymStatements(Writer writer, OracleObjectPermissionSet object, List<String> users, boolean create) throws IOException {
+        for (String currentUser : users) {
+            if (create == true) {
+                WriteStatement(writer, "CREATE SYNONYM ", currentUser, ".", object.getObjectName(), " FOR ", object.getObjectOwner(), ".", object.getObjectName());
+            }
+            else {
+                WriteStatement(writer, "DROP SYNONYM ", currentUser, ".", object.getObjectName());
+            }
+        }
+    }
+    
+    /**
+     * @param   object  The object.
+     * @param   role    The name of the role.
+     * @return          Whether the object has a permission assigned to the role.
+     */
+    private boolean ReferencesRole(OracleObjectPermissionSet object, String role) {
+        for (RoleToPermissionMap currentRoleToPermissionMap : object.getObjectPermissions()) {
+            if (currentRoleToPermissionMap.getRole().equals(role) == true) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Writes a statement to the script, followed by a semicolon and the line separator.
+     * @param   writer       The writer to write the statement to.
+     * @param   parts        The parts of the statement, which are written in order.
+     * @throws  IOException  if an error occurs writing to the writer.
+     */
+    private void WriteStatement(Writer writer, String... parts) throws IOException {
+        for (String currentPart : parts) {
+            writer.write(currentPart);
+        }
+        writer.write(';');
+        writer.write(lineSeparator);
+    }
+}
@@ -16,10 +16,13 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 
+import android.annotation.TargetApi;
 import android.content.Context;
+import android.os.Build;
 
 import net.alastairwyse.oraclepermissiongenerator.containers.LocalSettings;
 import net.alastairwyse.oraclepermissiongenerator.containers.RemoteDataModelProxyType;
+import net.alastairwyse.oraclepermissiongenerator.containers.RestRequestContextMode;
 
 /**
  * Stores local settings for the application using the android SharedPreferences class.
@@ -33,6 +36,7 @@ public class SharedPreferencesLocalSettingsPersister implements ILocalSettingsPe
     private final String remoteDataModelProxyTypeKey = "remoteDataModelProxyTypeKey";
     private final String soapDataServiceLocationKey = "soapDataServiceLocation";
     private final String restDataServiceLocationKey = "restDataServiceLocation";
+    private final String restRequestContextModeKey = "restRequestContextMode";
     
     /**
      * Initialises a new instance of the SharedPreferencesLocalSettingsPersister class.
@@ -42,6 +46,7 @@ public class SharedPreferencesLocalSettingsPersister implements ILocalSettingsPe
         this.context = context;
     }
     
+    @TargetApi(Build.VERSION_CODES.GINGERBREAD)
     @Override
     public void Write(LocalSettings localSettings) {
         android.content.SharedPreferences sharedPreferencesLocalSettings = context.getSharedPreferences(settingsName, 0);
@@ -50,7 +55,14 @@ public class SharedPreferencesLocalSettingsPersister implements ILocalSettingsPe
         editor.putString(remoteDataModelProxyTypeKey, localSettings.getRemoteDataModelProxyType().name());
         editor.putString(soapDataServiceLocationKey, localSettings.getSoapDataServiceLocation());
         editor.putString(restDataServiceLocationKey, localSettings.getRestDataServiceLocation());
-        editor.commit();
+        editor.putString(restRequestContextModeKey, localSettings.getRestRequestContextMode().name());
+        // Write to storage asynchronously where supported (apply() is only available from API level 9)
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.GINGERBREAD) {
+            editor.apply();
+        }
+        else {
+            editor.commit();
+        }
     }
 
     @Override
@@ -61,6 +73,7 @@ public class SharedPreferencesLocalSettingsPersister implements ILocalSettingsPe
         returnLocalSettings.setRemoteDataModelProxyType(RemoteDataModelProxyType.valueOf(sharedPreferencesLocalSettings.getString(remoteDataModelProxyTypeKey, RemoteDataModelProxyType.SOAP.name())));
         returnLocalSettings.setSoapDataServiceLocation(sharedPreferencesLocalSettings.getString(soapDataServiceLocationKey, ""));
         returnLocalSettings.setRestDataServiceLocation(sharedPreferencesLocalSettings.getString(restDataServiceLocationKey, ""));
+        returnLocalSettings.setRestRequestContextMode(RestRequestContextMode.valueOf(sharedPreferencesLocalSettings.getString(restRequestContextModeKey, RestRequestContextMode.QueryString.name())));
         return returnLocalSettings;
     }
 }
@@ -17,7 +17,9 @@
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.io.IOException;
+import java.io.StringReader;
 
 import org.xmlpull.v1.XmlPullParserException;
 import org.json.JSONException;
@@ -43,9 +45,12 @@ public class SoapRemoteDataModelProxy implements IRemoteDataModelProxy {
     
     private String dataModelLocation;
     private ContainerObjectJsonSerializer jsonSerializer;
+    private RequestContextFragmentCache requestContextFragmentCache;
     private SoapObject soapObject;
     private SoapSerializationEnvelope envelope;
     private HttpTransportSE transport;
+    private TransferByteCounter transferByteCounter;
+    private int requestCompressionThreshold = -1;
     private boolean instantiatedWithTestConstructor = false;
     
     /**
@@ -53,6 +58,8 @@ public class SoapRemoteDataModelProxy implements IRemoteDataModelProxy {
      */
     public SoapRemoteDataModelProxy() {
         jsonSerializer = new ContainerObjectJsonSerializer();
+        requestContextFragmentCache = new RequestContextFragmentCache(jsonSerializer);
+        transferByteCounter = new TransferByteCounter();
     }
     
     /**
@@ -67,9 +74,11 @@ public class SoapRemoteDataModelProxy implements IRemoteDataModelProxy {
         super();
         
         this.jsonSerializer = jsonSerializer;
+        requestContextFragmentCache = new RequestContextFragmentCache(jsonSerializer);
         this.soapObject = soapObject;
         this.envelope = envelope;
         this.transport = transport;
+        transferByteCounter = new TransferByteCounter();
         instantiatedWithTestConstructor = true;
     }
     
@@ -87,6 +96,30 @@ public class SoapRemoteDataModelProxy implements IRemoteDataModelProxy {
         return dataModelLocation;
     }
     
+    /**
+     * @param  requestCompressionThreshold  The minimum size in bytes of a request body for it to be gzip compressed, or -1 if request bodies should not be compressed (the default).  Should only be enabled if the data model web service supports gzip encoded request bodies.
+     */
+    public void setRequestCompressionThreshold(int requestCompressionThreshold) {
+        if (requestCompressionThreshold < -1) {
+            throw new IllegalArgumentException("Argument 'requestCompressionThreshold' must be greater than or equal to -1.");
+        }
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+    
+    /**
+     * @return  The minimum size in bytes of a request body for it to be gzip compressed, or -1 if request bodies are not compressed.
+     */
+    public int getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+    
+    /**
+     * @return  The per-operation counts of bytes sent and received by the proxy, before and after compression.
+     */
+    public TransferByteCounter getTransferByteCounter() {
+        return transferByteCounter;
+    }
+    
     @Override
     public void AddObjectPermissionSet(String objectName, String objectType, String objectOwner, boolean addFlag, boolean removeFlag, ArrayList<RoleToPermissionMap> objectPermissions, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
         String serializedObjectPermissions = jsonSerializer.SerializeRoleToPermissionMapArrayList(objectPermissions);
@@ -207,6 +240,34 @@ public class SoapRemoteDataModelProxy implements IRemoteDataModelProxy {
         MakeSoapRequest("RemovePermission", parameters, authenticationContext, trackingData);
     }
 
+    @Override
+    public ArrayList<ModelOperationResult> ExecuteBatch(List<ModelOperation> operations, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        String serializedOperations = jsonSerializer.SerializeModelOperationList(operations);
+        
+        ArrayList<SoapProperty> parameters = new ArrayList<SoapProperty>();
+        parameters.add(new SoapProperty("operations", serializedOperations));
+        Object result = MakeSoapRequest("ExecuteBatch", parameters, authenticationContext, trackingData);
+        
+        // Deserialize SOAP response
+        ArrayList<ModelOperationResult> results = jsonSerializer.DeserializeModelOperationResultArrayList(result.toString());
+        return results;
+    }
+
+    @Override
+    public EntityValidationResults ValidateEntities(List<OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        String serializedObjects = jsonSerializer.SerializeOracleObjectPermissionSetList(objects);
+        String serializedRoleToUserMaps = jsonSerializer.SerializeRoleToUserMapList(roleToUserMaps);
+        
+        ArrayList<SoapProperty> parameters = new ArrayList<SoapProperty>();
+        parameters.add(new SoapProperty("objects", serializedObjects));
+        parameters.add(new SoapProperty("roleToUserMaps", serializedRoleToUserMaps));
+        Object result = MakeSoapRequest("ValidateEntities", parameters, authenticationContext, trackingData);
+        
+        // Deserialize SOAP response
+        EntityValidationResults results = jsonSerializer.DeserializeEntityValidationResults(result.toString());
+        return results;
+    }
+
     @Override
     public ArrayList<String> getRoles(AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
         Object result = MakeSoapRequest("GetRoles", new ArrayList<SoapProperty>(), authenticationContext, trackingData);
@@ -248,6 +309,16 @@ public class SoapRemoteDataModelProxy implements IRemoteDataModelProxy {
         return roleToUserMaps;
     }
 
+    @Override
+    public ModelChangeSet getChangesSince(long modelVersion, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
+        ArrayList<SoapProperty> parameters = new ArrayList<SoapProperty>();
+        parameters.add(new SoapProperty("modelVersion", modelVersion));
+        Object result = MakeSoapRequest("GetChangesSince", parameters, authenticationContext, trackingData);
+        
+        // Deserialize SOAP response
+        return jsonSerializer.DeserializeModelChangeSet(new StringReader(result.toString()));
+    }
+
     @Override
     public ArrayList<String> RoleGetReferencingObjects(String role, AuthenticationContext authenticationContext, TrackingData trackingData) throws Exception {
         ArrayList<SoapProperty> parameters = new ArrayList<SoapProperty>();
@@ -323,15 +394,15 @@ public class SoapRemoteDataModelProxy implements IRemoteDataModelProxy {
             soapObject = new SoapObject(webServiceNamespace, operationName);
             envelope = new SoapSerializationEnvelope(SoapEnvelope.VER11);
             String httpTransportUrl = httpTransportUrlPrefix + dataModelLocation + httpTransportUrlPostfix;
-            transport = new HttpTransportSE(httpTransportUrl);
+            transport = new CompressingHttpTransportSE(httpTransportUrl, transferByteCounter, requestCompressionThreshold);
         }
 
         // Add the parameters to the SoapObject 
         for (SoapProperty currentSoapProperty : parameters) {
             soapObject.addProperty(currentSoapProperty.Name, currentSoapProperty.Value);
         }
-        soapObject.addProperty("authenticationContext", jsonSerializer.SerializeAuthenticationContext(authenticationContext));
-        soapObject.addProperty("trackingData", jsonSerializer.SerializeTrackingData(trackingData));
+        soapObject.addProperty("authenticationContext", requestContextFragmentCache.getSerializedAuthenticationContext(authenticationContext));
+        soapObject.addProperty("trackingData", requestContextFragmentCache.getSerializedTrackingData(trackingData));
 
         // Create the SOAP envelope and add the parameters to it
         envelope.dotNet = true;
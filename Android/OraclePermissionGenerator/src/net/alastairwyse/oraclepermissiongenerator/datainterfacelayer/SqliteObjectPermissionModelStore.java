@@ -0,0 +1,447 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+import net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization.StringInternPool;
+
+/**
+ * Stores a local copy of the objects, permissions, roles and role to user mappings in the remote data model in an SQLite database on the device, so that the copy is available while the remote data model cannot be reached, and after the application is restarted.
+ * <p>Permissions are indexed by object name, role, and object name and role together, so that the permissions for an object and role, and the objects referencing a role, can be read without scanning the whole model.</p>
+ * @author Alastair Wyse
+ */
+public class SqliteObjectPermissionModelStore extends SQLiteOpenHelper implements IObjectPermissionModelStore {
+
+    private static final String databaseName = "ObjectPermissionModel.db";
+    /** The version of the database schema.  The database only holds a copy of the remote data model, so on upgrade the tables are recreated and the copy is retrieved again. */
+    private static final int databaseVersion = 1;
+    private static final String[] createStatements = new String[] {
+        "CREATE TABLE ModelState (Id INTEGER PRIMARY KEY, Identity TEXT NOT NULL, ModelVersion INTEGER NOT NULL)", 
+        "CREATE TABLE Objects (Sequence INTEGER PRIMARY KEY AUTOINCREMENT, ObjectName TEXT NOT NULL UNIQUE, ObjectType TEXT NOT NULL, ObjectOwner TEXT NOT NULL, AddFlag INTEGER NOT NULL, RemoveFlag INTEGER NOT NULL)", 
+        "CREATE TABLE ObjectPermissions (ObjectName TEXT NOT NULL, Role TEXT NOT NULL, Permission TEXT NOT NULL, PRIMARY KEY (ObjectName, Role, Permission))", 
+        "CREATE INDEX ObjectPermissionsRoleIndex ON ObjectPermissions (Role)", 
+        "CREATE TABLE Roles (Role TEXT NOT NULL PRIMARY KEY)", 
+        "CREATE TABLE RoleToUserMaps (Sequence INTEGER PRIMARY KEY AUTOINCREMENT, Role TEXT NOT NULL, User TEXT NOT NULL, UNIQUE (Role, User))"
+    };
+    private static final String[] tableNames = new String[] { "ModelState", "Objects", "ObjectPermissions", "Roles", "RoleToUserMaps" };
+    /** The model version of a store which has not been populated. */
+    private static final long unpopulatedModelVersion = -1;
+    /** The maximum number of distinct strings held in the pool used to share repeated names within the objects and role to user mappings read from the database. */
+    private static final int stringInternPoolSize = 1024;
+    
+    /**
+     * Initialises a new instance of the SqliteObjectPermissionModelStore class.
+     * @param  context  The context under which the SqliteObjectPermissionModelStore is being initialized.
+     */
+    public SqliteObjectPermissionModelStore(Context context) {
+        super(context, databaseName, null, databaseVersion);
+    }
+    
+    @Override
+    public void onCreate(SQLiteDatabase database) {
+        for (String currentStatement : createStatements) {
+            database.execSQL(currentStatement);
+        }
+    }
+    
+    @Override
+    public void onUpgrade(SQLiteDatabase database, int oldVersion, int newVersion) {
+        for (String currentTableName : tableNames) {
+            database.execSQL("DROP TABLE IF EXISTS " + currentTableName);
+        }
+        onCreate(database);
+    }
+    
+    @Override
+    public String getIdentity() {
+        Cursor cursor = getReadableDatabase().rawQuery("SELECT Identity FROM ModelState WHERE Id = 0", null);
+        try {
+            if (cursor.moveToFirst() == false) {
+                return null;
+            }
+            return cursor.getString(0);
+        }
+        finally {
+            cursor.close();
+        }
+    }
+    
+    @Override
+    public long getModelVersion() {
+        Cursor cursor = getReadableDatabase().rawQuery("SELECT ModelVersion FROM ModelState WHERE Id = 0", null);
+        try {
+            if (cursor.moveToFirst() == false) {
+                return unpopulatedModelVersion;
+            }
+            return cursor.getLong(0);
+        }
+        finally {
+            cursor.close();
+        }
+    }
+    
+    @Override
+    public boolean getIsPopulated() {
+        return (getModelVersion() != unpopulatedModelVersion);
+    }
+    
+    @Override
+    public ArrayList<OracleObjectPermissionSet> getObjects() {
+        SQLiteDatabase database = getReadableDatabase();
+        ArrayList<OracleObjectPermissionSet> returnObjects = new ArrayList<OracleObjectPermissionSet>();
+        HashMap<String, OracleObjectPermissionSet> objectNameMap = new HashMap<String, OracleObjectPermissionSet>();
+        StringInternPool stringPool = new StringInternPool(stringInternPoolSize);
+        
+        Cursor cursor = database.rawQuery("SELECT ObjectName, ObjectType, ObjectOwner, AddFlag, RemoveFlag FROM Objects ORDER BY Sequence", null);
+        try {
+            while (cursor.moveToNext() == true) {
+                OracleObjectPermissionSet currentObject = new OracleObjectPermissionSet(cursor.getString(0));
+                currentObject.setObjectType(stringPool.Intern(cursor.getString(1)));
+                currentObject.setObjectOwner(stringPool.Intern(cursor.getString(2)));
+                currentObject.setAddFlag(cursor.getInt(3) != 0);
+                currentObject.setRemoveFlag(cursor.getInt(4) != 0);
+                returnObjects.add(currentObject);
+                objectNameMap.put(currentObject.getObjectName(), currentObject);
+            }
+        }
+        finally {
+            cursor.close();
+        }
+        cursor = database.rawQuery("SELECT ObjectName, Role, Permission FROM ObjectPermissions ORDER BY rowid", null);
+        try {
+            while (cursor.moveToNext() == true) {
+                OracleObjectPermissionSet currentObject = objectNameMap.get(cursor.getString(0));
+                if (currentObject != null) {
+                    currentObject.getObjectPermissions().add(new RoleToPermissionMap(stringPool.Intern(cursor.getString(1)), stringPool.Intern(cursor.getString(2))));
+                }
+            }
+        }
+        finally {
+            cursor.close();
+        }
+        
+        return returnObjects;
+    }
+    
+    @Override
+    public ArrayList<String> getRoles() {
+        return QueryStrings("SELECT Role FROM Roles ORDER BY rowid", null);
+    }
+    
+    @Override
+    public ArrayList<RoleToUserMap> getRoleToUserMaps() {
+        ArrayList<RoleToUserMap> returnRoleToUserMaps = new ArrayList<RoleToUserMap>();
+        StringInternPool stringPool = new StringInternPool(stringInternPoolSize);
+        Cursor cursor = getReadableDatabase().rawQuery("SELECT Role, User FROM RoleToUserMaps ORDER BY Sequence", null);
+        try {
+            while (cursor.moveToNext() == true) {
+                returnRoleToUserMaps.add(new RoleToUserMap(stringPool.Intern(cursor.getString(0)), stringPool.Intern(cursor.getString(1))));
+            }
+        }
+        finally {
+            cursor.close();
+        }
+        return returnRoleToUserMaps;
+    }
+    
+    @Override
+    public ArrayList<String> getPermissions(String objectName, String role) {
+        return QueryStrings("SELECT Permission FROM ObjectPermissions WHERE ObjectName = ? AND Role = ? ORDER BY rowid", new String[] { objectName, role });
+    }
+    
+    @Override
+    public ArrayList<String> RoleGetReferencingObjects(String role) {
+        return QueryStrings("SELECT ObjectName FROM Objects WHERE ObjectName IN (SELECT ObjectName FROM ObjectPermissions WHERE Role = ?) ORDER BY Sequence", new String[] { role });
+    }
+    
+    @Override
+    public int RoleGetReferencingObjectCount(String role) {
+        return QueryCount("SELECT COUNT(DISTINCT ObjectName) FROM ObjectPermissions WHERE Role = ?", new String[] { role });
+    }
+    
+    @Override
+    public int RoleGetUserMapCount(String role) {
+        return QueryCount("SELECT COUNT(*) FROM RoleToUserMaps WHERE Role = ?", new String[] { role });
+    }
+    
+    @Override
+    public void Load(String identity, long modelVersion, List<OracleObjectPermissionSet> objects, List<String> roles, List<RoleToUserMap> roleToUserMaps) {
+        if (modelVersion < 0) {
+            throw new IllegalArgumentException("Argument 'modelVersion' must be greater than or equal to 0.");
+        }
+        if (identity == null) {
+            throw new IllegalArgumentException("Argument 'identity' cannot be null.");
+        }
+        
+        SQLiteDatabase database = getWritableDatabase();
+        database.beginTransaction();
+        try {
+            DeleteAll(database);
+            for (OracleObjectPermissionSet currentObject : objects) {
+                UpsertObject(database, currentObject);
+            }
+            InsertRoles(database, roles);
+            for (RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+                database.execSQL("INSERT OR IGNORE INTO RoleToUserMaps (Role, User) VALUES (?, ?)", new Object[] { currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser() });
+            }
+            database.execSQL("INSERT INTO ModelState (Id, Identity, ModelVersion) VALUES (0, ?, ?)", new Object[] { identity, modelVersion });
+            database.setTransactionSuccessful();
+        }
+        finally {
+            database.endTransaction();
+        }
+    }
+    
+    /**
+     * Applies a set of changes to the store, and updates the store to the version of the data model the changes bring it up to.
+     * Added and modified objects replace any existing object with the same name, and added role to user mappings are ignored if already present, so a change set can safely be applied to a store which already contains some of the changes.
+     * @param  changeSet  The changes to apply.
+     */
+    @Override
+    public void Apply(ModelChangeSet changeSet) {
+        if (getIsPopulated() == false) {
+            throw new IllegalStateException("Changes cannot be applied to a store which has not been populated.");
+        }
+        if (changeSet.getSnapshotRequired() == true) {
+            throw new IllegalArgumentException("Argument 'changeSet' cannot be applied as it requires a complete copy of the data model to be retrieved.");
+        }
+        
+        SQLiteDatabase database = getWritableDatabase();
+        database.beginTransaction();
+        try {
+            for (String currentObjectName : changeSet.getRemovedObjectNames()) {
+                DeleteObject(database, currentObjectName);
+            }
+            for (OracleObjectPermissionSet currentObject : changeSet.getAddedObjects()) {
+                UpsertObject(database, currentObject);
+            }
+            for (OracleObjectPermissionSet currentObject : changeSet.getModifiedObjects()) {
+                UpsertObject(database, currentObject);
+            }
+            for (RoleToUserMap currentRoleToUserMap : changeSet.getRemovedRoleToUserMaps()) {
+                database.execSQL("DELETE FROM RoleToUserMaps WHERE Role = ? AND User = ?", new Object[] { currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser() });
+            }
+            for (RoleToUserMap currentRoleToUserMap : changeSet.getAddedRoleToUserMaps()) {
+                database.execSQL("INSERT OR IGNORE INTO RoleToUserMaps (Role, User) VALUES (?, ?)", new Object[] { currentRoleToUserMap.getRole(), currentRoleToUserMap.getUser() });
+            }
+            database.execSQL("UPDATE ModelState SET ModelVersion = ? WHERE Id = 0", new Object[] { changeSet.getModelVersion() });
+            database.setTransactionSuccessful();
+        }
+        finally {
+            database.endTransaction();
+        }
+    }
+    
+    @Override
+    public void setRoles(List<String> roles) {
+        SQLiteDatabase database = getWritableDatabase();
+        database.beginTransaction();
+        try {
+            database.execSQL("DELETE FROM Roles");
+            InsertRoles(database, roles);
+            database.setTransactionSuccessful();
+        }
+        finally {
+            database.endTransaction();
+        }
+    }
+    
+    @Override
+    public void AddObjectPermissionSet(OracleObjectPermissionSet objectPermissionSet) {
+        SQLiteDatabase database = getWritableDatabase();
+        database.beginTransaction();
+        try {
+            UpsertObject(database, objectPermissionSet);
+            database.setTransactionSuccessful();
+        }
+        finally {
+            database.endTransaction();
+        }
+    }
+    
+    @Override
+    public void RemoveObjectPermissionSet(String objectName) {
+        SQLiteDatabase database = getWritableDatabase();
+        database.beginTransaction();
+        try {
+            DeleteObject(database, objectName);
+            database.setTransactionSuccessful();
+        }
+        finally {
+            database.endTransaction();
+        }
+    }
+    
+    @Override
+    public void SetAddFlag(String objectName, boolean addFlagValue) {
+        getWritableDatabase().execSQL("UPDATE Objects SET AddFlag = ? WHERE ObjectName = ?", new Object[] { ConvertBooleanToInteger(addFlagValue), objectName });
+    }
+    
+    @Override
+    public void SetRemoveFlag(String objectName, boolean removeFlagValue) {
+        getWritableDatabase().execSQL("UPDATE Objects SET RemoveFlag = ? WHERE ObjectName = ?", new Object[] { ConvertBooleanToInteger(removeFlagValue), objectName });
+    }
+    
+    @Override
+    public void AddPermission(String objectName, String role, String permission) {
+        getWritableDatabase().execSQL("INSERT OR IGNORE INTO ObjectPermissions (ObjectName, Role, Permission) SELECT ObjectName, ?, ? FROM Objects WHERE ObjectName = ?", new Object[] { role, permission, objectName });
+    }
+    
+    @Override
+    public void RemovePermission(String objectName, String role, String permission) {
+        getWritableDatabase().execSQL("DELETE FROM ObjectPermissions WHERE ObjectName = ? AND Role = ? AND Permission = ?", new Object[] { objectName, role, permission });
+    }
+    
+    @Override
+    public void AddRoleToUserMap(String role, String user) {
+        getWritableDatabase().execSQL("INSERT OR IGNORE INTO RoleToUserMaps (Role, User) VALUES (?, ?)", new Object[] { role, user });
+    }
+    
+    @Override
+    public void RemoveRoleToUserMap(String role, String user) {
+        getWritableDatabase().execSQL("DELETE FROM RoleToUserMaps WHERE Role = ? AND User = ?", new Object[] { role, user });
+    }
+    
+    @Override
+    public void Clear() {
+        SQLiteDatabase database = getWritableDatabase();
+        database.beginTransaction();
+        try {
+            DeleteAll(database);
+            database.setTransactionSuccessful();
+        }
+        finally {
+            database.endTransaction();
+        }
+    }
+    
+    /**
+     * Inserts an object and its permissions, or replaces the existing object with the same name.  An existing object keeps its position in the list of objects.
+     * @param  database  The database to write to.
+     * @param  object    The object.
+     */
+    private void UpsertObject(SQLiteDatabase database, OracleObjectPermissionSet object) {
+        ContentValues objectValues = new ContentValues();
+        objectValues.put("ObjectType", object.getObjectType());
+        objectValues.put("ObjectOwner", object.getObjectOwner());
+        objectValues.put("AddFlag", ConvertBooleanToInteger(object.getAddFlag()));
+        objectValues.put("RemoveFlag", ConvertBooleanToInteger(object.getRemoveFlag()));
+        if (database.update("Objects", objectValues, "ObjectName = ?", new String[] { object.getObjectName() }) == 0) {
+            objectValues.put("ObjectName", object.getObjectName());
+            database.insertOrThrow("Objects", null, objectValues);
+        }
+        
+        database.execSQL("DELETE FROM ObjectPermissions WHERE ObjectName = ?", new Object[] { object.getObjectName() });
+        for (RoleToPermissionMap currentRoleToPermissionMap : object.getObjectPermissions()) {
+            database.execSQL("INSERT OR IGNORE INTO ObjectPermissions (ObjectName, Role, Permission) VALUES (?, ?, ?)", new Object[] { object.getObjectName(), currentRoleToPermissionMap.getRole(), currentRoleToPermissionMap.getPermission() });
+        }
+    }
+    
+    /**
+     * Deletes an object and its permissions.
+     * @param  database    The database to write to.
+     * @param  objectName  The name of the object.
+     */
+    private void DeleteObject(SQLiteDatabase database, String objectName) {
+        database.execSQL("DELETE FROM ObjectPermissions WHERE ObjectName = ?", new Object[] { objectName });
+        database.execSQL("DELETE FROM Objects WHERE ObjectName = ?", new Object[] { objectName });
+    }
+    
+    /**
+     * Inserts the inputted roles, ignoring any duplicates.
+     * @param  database  The database to write to.
+     * @param  roles     The roles.
+     */
+    private void InsertRoles(SQLiteDatabase database, List<String> roles) {
+        for (String currentRole : roles) {
+            database.execSQL("INSERT OR IGNORE INTO Roles (Role) VALUES (?)", new Object[] { currentRole });
+        }
+    }
+    
+    /**
+     * Deletes the contents of all tables.
+     * @param  database  The database to write to.
+     */
+    private void DeleteAll(SQLiteDatabase database) {
+        for (String currentTableName : tableNames) {
+            database.execSQL("DELETE FROM " + currentTableName);
+        }
+    }
+    
+    /**
+     * Executes a query which returns a single string column, and returns the values of the column.
+     * @param   sql            The query.
+     * @param   selectionArgs  The values to bind to the parameters in the query.
+     * @return                 The values of the column.
+     */
+    private ArrayList<String> QueryStrings(String sql, String[] selectionArgs) {
+        ArrayList<String> returnStrings = new ArrayList<String>();
+        Cursor cursor = getReadableDatabase().rawQuery(sql, selectionArgs);
+        try {
+            while (cursor.moveToNext() == true) {
+                returnStrings.add(cursor.getString(0));
+            }
+        }
+        finally {
+            cursor.close();
+        }
+        return returnStrings;
+    }
+    
+    /**
+     * Executes a query which returns a single row containing a count, and returns the count.
+     * @param   sql            The query.
+     * @param   selectionArgs  The values to bind to the parameters in the query.
+     * @return                 The count.
+     */
+    private int QueryCount(String sql, String[] selectionArgs) {
+        Cursor cursor = getReadableDatabase().rawQuery(sql, selectionArgs);
+        try {
+            if (cursor.moveToFirst() == false) {
+                return 0;
+            }
+            return cursor.getInt(0);
+        }
+        finally {
+            cursor.close();
+        }
+    }
+    
+    /**
+     * Converts a boolean to the integer value used to store it in the database.
+     * @param   value  The boolean.
+     * @return         1 if the boolean is true, otherwise 0.
+     */
+    private Integer ConvertBooleanToInteger(boolean value) {
+        if (value == true) {
+            return 1;
+        }
+        else {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.*;
+
+/**
+ * Thread-safe, per-operation record of the number of bytes sent and received by a remote data model proxy, before and after compression.
+ * @author Alastair Wyse
+ */
+public class TransferByteCounter {
+
+    private HashMap<String, long[]> operationCounts;
+
+    /**
+     * Initialises a new instance of the TransferByteCounter class.
+     */
+    public TransferByteCounter() {
+        operationCounts = new HashMap<String, long[]>();
+    }
+
+    /**
+     * Records the size of a request body sent by an operation.
+     * @param  operationName     The name of the operation.
+     * @param  bytes             The size of the request body before any compression was applied.
+     * @param  bytesTransferred  The size of the request body as transferred over the network.
+     */
+    public synchronized void AddRequestBytes(String operationName, long bytes, long bytesTransferred) {
+        long[] counts = GetCounts(operationName);
+        counts[0] = counts[0] + bytes;
+        counts[1] = counts[1] + bytesTransferred;
+    }
+
+    /**
+     * Records the size of a response body received by an operation.
+     * @param  operationName     The name of the operation.
+     * @param  bytes             The size of the response body after any decompression was applied.
+     * @param  bytesTransferred  The size of the response body as transferred over the network.
+     */
+    public synchronized void AddResponseBytes(String operationName, long bytes, long bytesTransferred) {
+        long[] counts = GetCounts(operationName);
+        counts[2] = counts[2] + bytes;
+        counts[3] = counts[3] + bytesTransferred;
+    }
+
+    /**
+     * @param   operationName  The name of the operation.
+     * @return                 A snapshot of the byte counts recorded for the specified operation.  All counts are 0 if nothing has been recorded for the operation.
+     */
+    public synchronized OperationByteCounts getByteCounts(String operationName) {
+        long[] counts = operationCounts.get(operationName);
+        if (counts == null) {
+            return new OperationByteCounts(0, 0, 0, 0);
+        }
+        return new OperationByteCounts(counts[0], counts[1], counts[2], counts[3]);
+    }
+
+    /**
+     * @return  The names of the operations for which byte counts have been recorded.
+     */
+    public synchronized Set<String> getOperationNames() {
+        return new HashSet<String>(operationCounts.keySet());
+    }
+
+    /**
+     * Resets the counts for all operations.
+     */
+    public synchronized void Reset() {
+        operationCounts.clear();
+    }
+
+    /**
+     * Returns the array holding the counts for the specified operation, creating it if it doesn't exist.
+     * @param   operationName  The name of the operation.
+     * @return                 The array of counts, in order request bytes, request bytes transferred, response bytes, response bytes transferred.
+     */
+    private long[] GetCounts(String operationName) {
+        long[] counts = operationCounts.get(operationName);
+        if (counts == null) {
+            counts = new long[4];
+            operationCounts.put(operationName, counts);
+        }
+        return counts;
+    }
+}
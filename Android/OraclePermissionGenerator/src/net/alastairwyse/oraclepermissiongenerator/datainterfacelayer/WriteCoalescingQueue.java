@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer;
+
+import java.util.*;
+
+import net.alastairwyse.oraclepermissiongenerator.containers.*;
+
+/**
+ * Thread-safe queue which holds operations modifying the data model until they are drained and sent as a batch, coalescing operations on the same item so that only the net changes are sent.
+ * <p>Operations apply to an item identified by the object name plus either the role and permission (for AddPermission and RemovePermission operations), or the flag (for SetAddFlag and SetRemoveFlag operations).  When an operation is queued for an item which already has a pending operation, an opposing operation (e.g. a RemovePermission following an AddPermission, or a SetAddFlag with the opposite value) cancels out the pending operation, and a duplicate operation is ignored.  Remaining operations are drained in the order they were first queued.</p>
+ * @author Alastair Wyse
+ */
+public class WriteCoalescingQueue {
+
+    private long coalescingWindow;
+    private LinkedHashMap<String, ModelOperation> pendingOperations;
+    private long queuedOperationCount;
+    private long cancelledOperationCount;
+
+    /**
+     * Initialises a new instance of the WriteCoalescingQueue class.
+     * @param  coalescingWindow  The time in milliseconds that operations should be held in the queue before being drained, to allow opposing operations to be coalesced.
+     */
+    public WriteCoalescingQueue(long coalescingWindow) {
+        setCoalescingWindow(coalescingWindow);
+        pendingOperations = new LinkedHashMap<String, ModelOperation>();
+        queuedOperationCount = 0;
+        cancelledOperationCount = 0;
+    }
+
+    /**
+     * @return  The time in milliseconds that operations should be held in the queue before being drained.
+     */
+    public synchronized long getCoalescingWindow() {
+        return coalescingWindow;
+    }
+
+    /**
+     * @param  coalescingWindow  The time in milliseconds that operations should be held in the queue before being drained.
+     */
+    public synchronized void setCoalescingWindow(long coalescingWindow) {
+        if (coalescingWindow < 0) {
+            throw new IllegalArgumentException("Argument 'coalescingWindow' must be greater than or equal to 0.");
+        }
+
+        this.coalescingWindow = coalescingWindow;
+    }
+
+    /**
+     * @return  The number of operations currently held in the queue.
+     */
+    public synchronized int getPendingCount() {
+        return pendingOperations.size();
+    }
+
+    /**
+     * @return  The total number of operations which have been queued.
+     */
+    public synchronized long getQueuedOperationCount() {
+        return queuedOperationCount;
+    }
+
+    /**
+     * @return  The total number of queued operations which were cancelled out or ignored, and hence will not be sent to the data model.
+     */
+    public synchronized long getCancelledOperationCount() {
+        return cancelledOperationCount;
+    }
+
+    /**
+     * Adds an operation to the queue, coalescing it with any pending operation on the same item.
+     * @param  operation  The operation to add.
+     */
+    public synchronized void Enqueue(ModelOperation operation) {
+        queuedOperationCount++;
+        String key = GetItemKey(operation);
+        ModelOperation pendingOperation = pendingOperations.get(key);
+        if (pendingOperation == null) {
+            pendingOperations.put(key, operation);
+        }
+        else if (IsDuplicate(pendingOperation, operation) == true) {
+            // The pending operation already results in the same state
+            cancelledOperationCount++;
+        }
+        else {
+            // The operation reverts the pending operation, so neither needs to be sent
+            pendingOperations.remove(key);
+            cancelledOperationCount = cancelledOperationCount + 2;
+        }
+    }
+
+    /**
+     * Removes and returns all operations held in the queue.
+     * @return  The pending operations, in the order they were first queued.
+     */
+    public synchronized List<ModelOperation> Drain() {
+        ArrayList<ModelOperation> drainedOperations = new ArrayList<ModelOperation>(pendingOperations.values());
+        pendingOperations.clear();
+        return drainedOperations;
+    }
+
+    /**
+     * Returns a key which uniquely identifies the item the specified operation applies to.
+     * @param   operation  The operation.
+     * @return             The key.
+     */
+    private String GetItemKey(ModelOperation operation) {
+        StringBuilder keyBuilder = new StringBuilder();
+        switch (operation.getOperationType()) {
+        case AddPermission:
+        case RemovePermission:
+            keyBuilder.append("Permission");
+            keyBuilder.append('\0');
+            keyBuilder.append(operation.getObjectName());
+            keyBuilder.append('\0');
+            keyBuilder.append(operation.getRole());
+            keyBuilder.append('\0');
+            keyBuilder.append(operation.getPermission());
+            break;
+        default:
+            keyBuilder.append(operation.getOperationType().name());
+            keyBuilder.append('\0');
+            keyBuilder.append(operation.getObjectName());
+            break;
+        }
+        return keyBuilder.toString();
+    }
+
+    /**
+     * Determines whether two operations on the same item result in the same state.
+     * @param   pendingOperation  The operation already held in the queue.
+     * @param   operation         The operation being added.
+     * @return                    True if the operations result in the same state, or false if the second operation reverts the first.
+     */
+    private boolean IsDuplicate(ModelOperation pendingOperation, ModelOperation operation) {
+        if (pendingOperation.getOperationType() != operation.getOperationType()) {
+            return false;
+        }
+        switch (operation.getOperationType()) {
+        case SetAddFlag:
+        case SetRemoveFlag:
+            return (pendingOperation.getFlagValue() == operation.getFlagValue());
+        default:
+            return true;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization;
 
+import java.io.*;
 import java.util.*;
 
 import org.json.*;
@@ -28,10 +29,28 @@ import net.alastairwyse.oraclepermissiongenerator.containers.*;
  */
 public class ContainerObjectJsonSerializer {
 
+    // The default maximum number of distinct strings held in the pool used to share repeated names within a single deserialized model
+    private final int defaultStringInternPoolSize = 1024;
+    
+    private int stringInternPoolSize;
+    
     /**
      * Initialises a new instance of the ContainerObjectJsonSerializer class.
      */
     public ContainerObjectJsonSerializer() {
+        stringInternPoolSize = defaultStringInternPoolSize;
+    }
+    
+    /**
+     * Initialises a new instance of the ContainerObjectJsonSerializer class.
+     * @param  stringInternPoolSize  The maximum number of distinct strings held in the pool used to share repeated role, permission, user, object type and object owner names within a single deserialized model.
+     */
+    public ContainerObjectJsonSerializer(int stringInternPoolSize) {
+        if (stringInternPoolSize < 0) {
+            throw new IllegalArgumentException("Argument 'stringInternPoolSize' must be greater than or equal to 0.");
+        }
+        
+        this.stringInternPoolSize = stringInternPoolSize;
     }
     
     /**
@@ -69,15 +88,157 @@ public class ContainerObjectJsonSerializer {
      * @throws  JSONException                 if an error occurs while serializing.
      */
     public String SerializeRoleToPermissionMapArrayList(ArrayList<RoleToPermissionMap> roleToPermissionMapArrayList) throws JSONException {
-        JSONArray roleToPermissionMapJsonArray = new JSONArray();
-        for(RoleToPermissionMap currentRoleToPermissionMap : roleToPermissionMapArrayList) {
-            JSONObject currentRoleToPermissionMapJsonObject = new JSONObject();
-            currentRoleToPermissionMapJsonObject.put("Role", currentRoleToPermissionMap.getRole());
-            currentRoleToPermissionMapJsonObject.put("Permission", currentRoleToPermissionMap.getPermission());
-            roleToPermissionMapJsonArray.put(currentRoleToPermissionMapJsonObject);
+        StringWriter stringWriter = new StringWriter();
+        try {
+            SerializeRoleToPermissionMapList(roleToPermissionMapArrayList, new JsonStreamWriter(stringWriter));
+        }
+        catch (IOException e) {
+            throw new JSONException("Error serializing RoleToPermissionMap list; " + e.getMessage());
         }
 
-        return roleToPermissionMapJsonArray.toString();
+        return stringWriter.toString();
+    }
+    
+    /**
+     * Serializes the inputted list of RoleToPermissionMap objects as a JSON array to a JsonStreamWriter.
+     * @param   roleToPermissionMaps  The list of RoleToPermissionMap objects to serialize.
+     * @param   jsonWriter            The writer to write the JSON representation of the objects to.
+     * @throws  IOException           if an error occurs writing to the underlying stream.
+     * @throws  JSONException         if an error occurs while serializing.
+     */
+    public void SerializeRoleToPermissionMapList(List<RoleToPermissionMap> roleToPermissionMaps, JsonStreamWriter jsonWriter) throws IOException, JSONException {
+        jsonWriter.BeginArray();
+        for(RoleToPermissionMap currentRoleToPermissionMap : roleToPermissionMaps) {
+            jsonWriter.BeginObject();
+            jsonWriter.Name("Role");
+            jsonWriter.Value(currentRoleToPermissionMap.getRole());
+            jsonWriter.Name("Permission");
+            jsonWriter.Value(currentRoleToPermissionMap.getPermission());
+            jsonWriter.EndObject();
+        }
+        jsonWriter.EndArray();
+    }
+    
+    /**
+     * Serializes the inputted list of ModelOperation objects to a string using JSON formatting.
+     * @param   modelOperations  The list of ModelOperation objects to serialize.
+     * @return                   A string containing the JSON representation of the object.
+     * @throws  JSONException    if an error occurs while serializing.
+     */
+    public String SerializeModelOperationList(List<ModelOperation> modelOperations) throws JSONException {
+        StringWriter stringWriter = new StringWriter();
+        try {
+            SerializeModelOperationList(modelOperations, new JsonStreamWriter(stringWriter));
+        }
+        catch (IOException e) {
+            throw new JSONException("Error serializing ModelOperation list; " + e.getMessage());
+        }
+
+        return stringWriter.toString();
+    }
+    
+    /**
+     * Serializes the inputted list of ModelOperation objects as a JSON array to a JsonStreamWriter.
+     * @param   modelOperations  The list of ModelOperation objects to serialize.
+     * @param   jsonWriter       The writer to write the JSON representation of the objects to.
+     * @throws  IOException      if an error occurs writing to the underlying stream.
+     * @throws  JSONException    if an error occurs while serializing.
+     */
+    public void SerializeModelOperationList(List<ModelOperation> modelOperations, JsonStreamWriter jsonWriter) throws IOException, JSONException {
+        jsonWriter.BeginArray();
+        for(ModelOperation currentModelOperation : modelOperations) {
+            jsonWriter.BeginObject();
+            jsonWriter.Name("OperationType");
+            jsonWriter.Value(currentModelOperation.getOperationType().name());
+            jsonWriter.Name("ObjectName");
+            jsonWriter.Value(currentModelOperation.getObjectName());
+            jsonWriter.Name("Role");
+            jsonWriter.Value(currentModelOperation.getRole());
+            jsonWriter.Name("Permission");
+            jsonWriter.Value(currentModelOperation.getPermission());
+            jsonWriter.Name("FlagValue");
+            jsonWriter.Value(currentModelOperation.getFlagValue());
+            jsonWriter.EndObject();
+        }
+        jsonWriter.EndArray();
+    }
+    
+    /**
+     * Serializes the name, type and owner of each of the inputted OracleObjectPermissionSet objects to a string using JSON formatting.
+     * @param   oracleObjectPermissionSets  The list of OracleObjectPermissionSet objects to serialize.
+     * @return                              A string containing the JSON representation of the objects.
+     * @throws  JSONException               if an error occurs while serializing.
+     */
+    public String SerializeOracleObjectPermissionSetList(List<OracleObjectPermissionSet> oracleObjectPermissionSets) throws JSONException {
+        StringWriter stringWriter = new StringWriter();
+        try {
+            SerializeOracleObjectPermissionSetList(oracleObjectPermissionSets, new JsonStreamWriter(stringWriter));
+        }
+        catch (IOException e) {
+            throw new JSONException("Error serializing OracleObjectPermissionSet list; " + e.getMessage());
+        }
+
+        return stringWriter.toString();
+    }
+    
+    /**
+     * Serializes the name, type and owner of each of the inputted OracleObjectPermissionSet objects as a JSON array to a JsonStreamWriter.
+     * @param   oracleObjectPermissionSets  The list of OracleObjectPermissionSet objects to serialize.
+     * @param   jsonWriter                  The writer to write the JSON representation of the objects to.
+     * @throws  IOException                 if an error occurs writing to the underlying stream.
+     * @throws  JSONException               if an error occurs while serializing.
+     */
+    public void SerializeOracleObjectPermissionSetList(List<OracleObjectPermissionSet> oracleObjectPermissionSets, JsonStreamWriter jsonWriter) throws IOException, JSONException {
+        jsonWriter.BeginArray();
+        for(OracleObjectPermissionSet currentOracleObjectPermissionSet : oracleObjectPermissionSets) {
+            jsonWriter.BeginObject();
+            jsonWriter.Name("ObjectName");
+            jsonWriter.Value(currentOracleObjectPermissionSet.getObjectName());
+            jsonWriter.Name("ObjectType");
+            jsonWriter.Value(currentOracleObjectPermissionSet.getObjectType());
+            jsonWriter.Name("ObjectOwner");
+            jsonWriter.Value(currentOracleObjectPermissionSet.getObjectOwner());
+            jsonWriter.EndObject();
+        }
+        jsonWriter.EndArray();
+    }
+    
+    /**
+     * Serializes the inputted list of RoleToUserMap objects to a string using JSON formatting.
+     * @param   roleToUserMaps  The list of RoleToUserMap objects to serialize.
+     * @return                  A string containing the JSON representation of the objects.
+     * @throws  JSONException   if an error occurs while serializing.
+     */
+    public String SerializeRoleToUserMapList(List<RoleToUserMap> roleToUserMaps) throws JSONException {
+        StringWriter stringWriter = new StringWriter();
+        try {
+            SerializeRoleToUserMapList(roleToUserMaps, new JsonStreamWriter(stringWriter));
+        }
+        catch (IOException e) {
+            throw new JSONException("Error serializing RoleToUserMap list; " + e.getMessage());
+        }
+
+        return stringWriter.toString();
+    }
+    
+    /**
+     * Serializes the inputted list of RoleToUserMap objects as a JSON array to a JsonStreamWriter.
+     * @param   roleToUserMaps  The list of RoleToUserMap objects to serialize.
+     * @param   jsonWriter      The writer to write the JSON representation of the objects to.
+     * @throws  IOException     if an error occurs writing to the underlying stream.
+     * @throws  JSONException   if an error occurs while serializing.
+     */
+    public void SerializeRoleToUserMapList(List<RoleToUserMap> roleToUserMaps, JsonStreamWriter jsonWriter) throws IOException, JSONException {
+        jsonWriter.BeginArray();
+        for(RoleToUserMap currentRoleToUserMap : roleToUserMaps) {
+            jsonWriter.BeginObject();
+            jsonWriter.Name("Role");
+            jsonWriter.Value(currentRoleToUserMap.getRole());
+            jsonWriter.Name("User");
+            jsonWriter.Value(currentRoleToUserMap.getUser());
+            jsonWriter.EndObject();
+        }
+        jsonWriter.EndArray();
     }
     
     /**
@@ -145,6 +306,26 @@ public class ContainerObjectJsonSerializer {
         return returnArrayList;
     }
     
+    /**
+     * Deserializes JSON formatted characters read from the inputted stream to an ArrayList of strings.
+     * @param   serializedStringArrayList  A stream containing a serialized ArrayList of strings.
+     * @return                             The deserialized ArrayList of strings.
+     * @throws  IOException                if an error occurs reading from the stream.
+     * @throws  JSONException              if an error occurs while deserializing.
+     */
+    public ArrayList<String> DeserializeStringArrayList(Reader serializedStringArrayList) throws IOException, JSONException {
+        ArrayList<String> returnArrayList = new ArrayList<String>();
+        
+        JsonStreamReader jsonReader = new JsonStreamReader(serializedStringArrayList);
+        jsonReader.BeginArray();
+        while (jsonReader.HasNext() == true) {
+            returnArrayList.add(jsonReader.NextString());
+        }
+        jsonReader.EndArray();
+        
+        return returnArrayList;
+    }
+    
     /**
      * Deserializes the inputted JSON formatted string to an ArrayList of OracleObjectPermissionSet objects.
      * @param   serializedOracleObjectPermissionSetArrayList  A JSON formatted string containing a serialized ArrayList of OracleObjectPermissionSet objects.
@@ -153,6 +334,7 @@ public class ContainerObjectJsonSerializer {
      */
     public ArrayList<OracleObjectPermissionSet> DeserializeOracleObjectPermissionSetArrayList(String serializedOracleObjectPermissionSetArrayList) throws JSONException {
         ArrayList<OracleObjectPermissionSet> returnArrayList = new ArrayList<OracleObjectPermissionSet>();
+        StringInternPool stringPool = new StringInternPool(stringInternPoolSize);
 
         JSONArray oracleObjectPermissionSetJsonArray = new JSONArray(serializedOracleObjectPermissionSetArrayList);
         for (int i = 0; i < oracleObjectPermissionSetJsonArray.length(); i++) {
@@ -160,8 +342,8 @@ public class ContainerObjectJsonSerializer {
             OracleObjectPermissionSet currentOracleObjectPermissionSet = new OracleObjectPermissionSet();
             // Get all scalar properties from JSONObject, and set on the OracleObjectPermissionSet
             currentOracleObjectPermissionSet.setObjectName(currentOracleObjectPermissionSetJsonObject.getString("ObjectName"));
-            currentOracleObjectPermissionSet.setObjectType(currentOracleObjectPermissionSetJsonObject.getString("ObjectType"));
-            currentOracleObjectPermissionSet.setObjectOwner(currentOracleObjectPermissionSetJsonObject.getString("ObjectOwner"));
+            currentOracleObjectPermissionSet.setObjectType(stringPool.Intern(currentOracleObjectPermissionSetJsonObject.getString("ObjectType")));
+            currentOracleObjectPermissionSet.setObjectOwner(stringPool.Intern(currentOracleObjectPermissionSetJsonObject.getString("ObjectOwner")));
             currentOracleObjectPermissionSet.setAddFlag(currentOracleObjectPermissionSetJsonObject.getBoolean("AddFlag"));
             currentOracleObjectPermissionSet.setRemoveFlag(currentOracleObjectPermissionSetJsonObject.getBoolean("RemoveFlag"));
             // Get and iterate through the array of role to permission maps
@@ -169,8 +351,8 @@ public class ContainerObjectJsonSerializer {
             ArrayList<RoleToPermissionMap> currentRoleToPermissionMaps = new ArrayList<RoleToPermissionMap>();
             for(int j = 0; j < roleToPermissionMapJsonArray.length(); j++) {
                 JSONObject currentroleToPermissionMapJsonObject = roleToPermissionMapJsonArray.getJSONObject(j);
-                String role = currentroleToPermissionMapJsonObject.getString("Role");
-                String permission = currentroleToPermissionMapJsonObject.getString("Permission");
+                String role = stringPool.Intern(currentroleToPermissionMapJsonObject.getString("Role"));
+                String permission = stringPool.Intern(currentroleToPermissionMapJsonObject.getString("Permission"));
                 currentRoleToPermissionMaps.add(new RoleToPermissionMap(role, permission));
             }
             currentOracleObjectPermissionSet.setObjectPermissions(currentRoleToPermissionMaps);
@@ -180,6 +362,19 @@ public class ContainerObjectJsonSerializer {
         return returnArrayList;
     }
     
+    /**
+     * Deserializes JSON formatted characters read from the inputted stream to an ArrayList of OracleObjectPermissionSet objects.
+     * Each object is read directly from the stream into an OracleObjectPermissionSet, so that the serialized form of the whole list is not held in memory at once.
+     * @param   serializedOracleObjectPermissionSetArrayList  A stream containing a serialized ArrayList of OracleObjectPermissionSet objects.
+     * @return                                                The deserialized ArrayList of OracleObjectPermissionSet objects.
+     * @throws  IOException                                   if an error occurs reading from the stream.
+     * @throws  JSONException                                 if an error occurs while deserializing.
+     */
+    public ArrayList<OracleObjectPermissionSet> DeserializeOracleObjectPermissionSetArrayList(Reader serializedOracleObjectPermissionSetArrayList) throws IOException, JSONException {
+        JsonStreamReader jsonReader = new JsonStreamReader(serializedOracleObjectPermissionSetArrayList);
+        return ReadOracleObjectPermissionSetArrayList(jsonReader, new StringInternPool(stringInternPoolSize));
+    }
+    
     /**
      * Deserializes the inputted JSON formatted string to an ArrayList of RoleToPermissionMap objects.
      * @param   serializedRoleToPermissionMapArrayList  A JSON formatted string containing a serialized ArrayList of RoleToPermissionMap objects.
@@ -188,28 +383,113 @@ public class ContainerObjectJsonSerializer {
      */
     public ArrayList<RoleToPermissionMap> DeserializeRoleToPermissionMapArrayList(String serializedRoleToPermissionMapArrayList) throws JSONException {
         ArrayList<RoleToPermissionMap> returnArray = new ArrayList<RoleToPermissionMap>();
+        StringInternPool stringPool = new StringInternPool(stringInternPoolSize);
         JSONArray roleToPermissionMapJsonArray = new JSONArray(serializedRoleToPermissionMapArrayList);
         for(int i = 0; i < roleToPermissionMapJsonArray.length(); i++) {
             JSONObject currentObject = roleToPermissionMapJsonArray.getJSONObject(i);
-            String role = currentObject.get("Role").toString();
-            String permission = currentObject.get("Permission").toString();
+            String role = stringPool.Intern(currentObject.get("Role").toString());
+            String permission = stringPool.Intern(currentObject.get("Permission").toString());
             returnArray.add(new RoleToPermissionMap(role, permission));
         }
         return returnArray;
     }
     
+    /**
+     * Deserializes the inputted JSON formatted string to an ArrayList of RoleToUserMap objects.
+     * @param   serializedRoleToUserMapArrayList  A JSON formatted string containing a serialized ArrayList of RoleToUserMap objects.
+     * @return                                    The deserialized ArrayList of RoleToUserMap objects.
+     * @throws  JSONException                     if an error occurs while deserializing.
+     */
     public ArrayList<RoleToUserMap> DeserializeRoleToUserMapArrayList(String serializedRoleToUserMapArrayList) throws JSONException {
         ArrayList<RoleToUserMap> returnArray = new ArrayList<RoleToUserMap>();
+        StringInternPool stringPool = new StringInternPool(stringInternPoolSize);
         JSONArray roleToUserMapJsonArray = new JSONArray(serializedRoleToUserMapArrayList);
         for(int i = 0; i < roleToUserMapJsonArray.length(); i++) {
             JSONObject currentObject = roleToUserMapJsonArray.getJSONObject(i);
-            String role = currentObject.get("Role").toString();
-            String user = currentObject.get("User").toString();
+            String role = stringPool.Intern(currentObject.get("Role").toString());
+            String user = stringPool.Intern(currentObject.get("User").toString());
             returnArray.add(new RoleToUserMap(role, user));
         }
         return returnArray;
     }
     
+    /**
+     * Deserializes JSON formatted characters read from the inputted stream to an ArrayList of RoleToUserMap objects.
+     * @param   serializedRoleToUserMapArrayList  A stream containing a serialized ArrayList of RoleToUserMap objects.
+     * @return                                    The deserialized ArrayList of RoleToUserMap objects.
+     * @throws  IOException                       if an error occurs reading from the stream.
+     * @throws  JSONException                     if an error occurs while deserializing.
+     */
+    public ArrayList<RoleToUserMap> DeserializeRoleToUserMapArrayList(Reader serializedRoleToUserMapArrayList) throws IOException, JSONException {
+        JsonStreamReader jsonReader = new JsonStreamReader(serializedRoleToUserMapArrayList);
+        return ReadRoleToUserMapArrayList(jsonReader, new StringInternPool(stringInternPoolSize));
+    }
+    
+    /**
+     * Deserializes JSON formatted characters read from the inputted stream to a ModelChangeSet object.
+     * @param   serializedModelChangeSet  A stream containing a serialized ModelChangeSet object.
+     * @return                            The deserialized ModelChangeSet object.
+     * @throws  IOException               if an error occurs reading from the stream.
+     * @throws  JSONException             if an error occurs while deserializing.
+     */
+    public ModelChangeSet DeserializeModelChangeSet(Reader serializedModelChangeSet) throws IOException, JSONException {
+        Long modelVersion = null;
+        Boolean snapshotRequired = null;
+        ArrayList<OracleObjectPermissionSet> addedObjects = null;
+        ArrayList<OracleObjectPermissionSet> modifiedObjects = null;
+        ArrayList<String> removedObjectNames = null;
+        ArrayList<RoleToUserMap> addedRoleToUserMaps = null;
+        ArrayList<RoleToUserMap> removedRoleToUserMaps = null;
+        // A single pool is shared by all parts of the change set, so that names repeated across the added and modified objects are also shared
+        StringInternPool stringPool = new StringInternPool(stringInternPoolSize);
+        
+        JsonStreamReader jsonReader = new JsonStreamReader(serializedModelChangeSet);
+        jsonReader.BeginObject();
+        while (jsonReader.HasNext() == true) {
+            String name = jsonReader.NextName();
+            if (name.equals("ModelVersion") == true) {
+                modelVersion = jsonReader.NextLong();
+            }
+            else if (name.equals("SnapshotRequired") == true) {
+                snapshotRequired = jsonReader.NextBoolean();
+            }
+            else if (name.equals("AddedObjects") == true) {
+                addedObjects = ReadOracleObjectPermissionSetArrayList(jsonReader, stringPool);
+            }
+            else if (name.equals("ModifiedObjects") == true) {
+                modifiedObjects = ReadOracleObjectPermissionSetArrayList(jsonReader, stringPool);
+            }
+            else if (name.equals("RemovedObjectNames") == true) {
+                removedObjectNames = new ArrayList<String>();
+                jsonReader.BeginArray();
+                while (jsonReader.HasNext() == true) {
+                    removedObjectNames.add(jsonReader.NextString());
+                }
+                jsonReader.EndArray();
+            }
+            else if (name.equals("AddedRoleToUserMaps") == true) {
+                addedRoleToUserMaps = ReadRoleToUserMapArrayList(jsonReader, stringPool);
+            }
+            else if (name.equals("RemovedRoleToUserMaps") == true) {
+                removedRoleToUserMaps = ReadRoleToUserMapArrayList(jsonReader, stringPool);
+            }
+            else {
+                jsonReader.SkipValue();
+            }
+        }
+        jsonReader.EndObject();
+        
+        CheckPropertyFound("ModelVersion", modelVersion);
+        CheckPropertyFound("SnapshotRequired", snapshotRequired);
+        CheckPropertyFound("AddedObjects", addedObjects);
+        CheckPropertyFound("ModifiedObjects", modifiedObjects);
+        CheckPropertyFound("RemovedObjectNames", removedObjectNames);
+        CheckPropertyFound("AddedRoleToUserMaps", addedRoleToUserMaps);
+        CheckPropertyFound("RemovedRoleToUserMaps", removedRoleToUserMaps);
+        
+        return new ModelChangeSet(modelVersion, snapshotRequired, addedObjects, modifiedObjects, removedObjectNames, addedRoleToUserMaps, removedRoleToUserMaps);
+    }
+    
     /**
      * Deserializes the inputted JSON formatted string to a ValidationResult object.
      * @param   serializedValidationResult  A JSON formatted string containing a serialized ValidationResult object.
@@ -218,8 +498,235 @@ public class ContainerObjectJsonSerializer {
      */
     public ValidationResult DeserializeValidationResult(String serializedValidationResult) throws JSONException {
         JSONObject validationResultJsonObject = new JSONObject(serializedValidationResult);
-        ValidationResult returnValidationResult = new ValidationResult(validationResultJsonObject.getBoolean("IsValid"), validationResultJsonObject.getString("ValidationError"));
         
-        return returnValidationResult;
+        return ConvertJsonObjectToValidationResult(validationResultJsonObject);
+    }
+    
+    /**
+     * Deserializes the inputted JSON formatted string to an EntityValidationResults object.
+     * @param   serializedEntityValidationResults  A JSON formatted string containing a serialized EntityValidationResults object.
+     * @return                                     The deserialized EntityValidationResults object.
+     * @throws  JSONException                      if an error occurs while deserializing.
+     */
+    public EntityValidationResults DeserializeEntityValidationResults(String serializedEntityValidationResults) throws JSONException {
+        JSONObject entityValidationResultsJsonObject = new JSONObject(serializedEntityValidationResults);
+        
+        JSONArray objectResultsJsonArray = entityValidationResultsJsonObject.getJSONArray("ObjectResults");
+        ArrayList<ObjectValidationResult> objectResults = new ArrayList<ObjectValidationResult>(objectResultsJsonArray.length());
+        for(int i = 0; i < objectResultsJsonArray.length(); i++) {
+            JSONObject currentObject = objectResultsJsonArray.getJSONObject(i);
+            objectResults.add(new ObjectValidationResult(
+                ConvertJsonObjectToValidationResult(currentObject.getJSONObject("ObjectNameResult")), 
+                ConvertJsonObjectToValidationResult(currentObject.getJSONObject("ObjectTypeResult")), 
+                ConvertJsonObjectToValidationResult(currentObject.getJSONObject("ObjectOwnerResult"))
+            ));
+        }
+        
+        JSONArray roleToUserMapResultsJsonArray = entityValidationResultsJsonObject.getJSONArray("RoleToUserMapResults");
+        ArrayList<ValidationResult> roleToUserMapResults = new ArrayList<ValidationResult>(roleToUserMapResultsJsonArray.length());
+        for(int i = 0; i < roleToUserMapResultsJsonArray.length(); i++) {
+            roleToUserMapResults.add(ConvertJsonObjectToValidationResult(roleToUserMapResultsJsonArray.getJSONObject(i)));
+        }
+        
+        return new EntityValidationResults(objectResults, roleToUserMapResults);
+    }
+    
+    /**
+     * Deserializes the inputted JSON formatted string to an ArrayList of ModelOperationResult objects.
+     * @param   serializedModelOperationResultArrayList  A JSON formatted string containing a serialized ArrayList of ModelOperationResult objects.
+     * @return                                           The deserialized ArrayList of ModelOperationResult objects.
+     * @throws  JSONException                            if an error occurs while deserializing.
+     */
+    public ArrayList<ModelOperationResult> DeserializeModelOperationResultArrayList(String serializedModelOperationResultArrayList) throws JSONException {
+        ArrayList<ModelOperationResult> returnArray = new ArrayList<ModelOperationResult>();
+        JSONArray modelOperationResultJsonArray = new JSONArray(serializedModelOperationResultArrayList);
+        for(int i = 0; i < modelOperationResultJsonArray.length(); i++) {
+            JSONObject currentObject = modelOperationResultJsonArray.getJSONObject(i);
+            boolean success = currentObject.getBoolean("Success");
+            String errorMessage = null;
+            if (currentObject.isNull("ErrorMessage") == false) {
+                errorMessage = currentObject.getString("ErrorMessage");
+            }
+            returnArray.add(new ModelOperationResult(success, errorMessage));
+        }
+        return returnArray;
+    }
+    
+    /**
+     * Converts the inputted JSONObject to a ValidationResult object.
+     * @param   validationResultJsonObject  The JSONObject containing the serialized ValidationResult.
+     * @return                              The ValidationResult.
+     * @throws  JSONException               if an error occurs while deserializing.
+     */
+    private ValidationResult ConvertJsonObjectToValidationResult(JSONObject validationResultJsonObject) throws JSONException {
+        return new ValidationResult(validationResultJsonObject.getBoolean("IsValid"), validationResultJsonObject.getString("ValidationError"));
+    }
+    
+    /**
+     * Reads a single OracleObjectPermissionSet object from the inputted JsonStreamReader.
+     * @param   jsonReader     The JsonStreamReader positioned at the start of the serialized object.
+     * @param   stringPool     The pool used to share repeated names within the deserialized model.
+     * @return                 The deserialized OracleObjectPermissionSet.
+     * @throws  IOException    if an error occurs reading from the stream.
+     * @throws  JSONException  if an error occurs while deserializing.
+     */
+    private OracleObjectPermissionSet ReadOracleObjectPermissionSet(JsonStreamReader jsonReader, StringInternPool stringPool) throws IOException, JSONException {
+        String objectName = null;
+        String objectType = null;
+        String objectOwner = null;
+        Boolean addFlag = null;
+        Boolean removeFlag = null;
+        ArrayList<RoleToPermissionMap> objectPermissions = null;
+        
+        jsonReader.BeginObject();
+        while (jsonReader.HasNext() == true) {
+            String name = jsonReader.NextName();
+            if (name.equals("ObjectName") == true) {
+                objectName = jsonReader.NextString();
+            }
+            else if (name.equals("ObjectType") == true) {
+                objectType = stringPool.Intern(jsonReader.NextString());
+            }
+            else if (name.equals("ObjectOwner") == true) {
+                objectOwner = stringPool.Intern(jsonReader.NextString());
+            }
+            else if (name.equals("AddFlag") == true) {
+                addFlag = jsonReader.NextBoolean();
+            }
+            else if (name.equals("RemoveFlag") == true) {
+                removeFlag = jsonReader.NextBoolean();
+            }
+            else if (name.equals("ObjectPermissions") == true) {
+                objectPermissions = ReadRoleToPermissionMapArrayList(jsonReader, stringPool);
+            }
+            else {
+                jsonReader.SkipValue();
+            }
+        }
+        jsonReader.EndObject();
+        
+        CheckPropertyFound("ObjectName", objectName);
+        CheckPropertyFound("ObjectType", objectType);
+        CheckPropertyFound("ObjectOwner", objectOwner);
+        CheckPropertyFound("AddFlag", addFlag);
+        CheckPropertyFound("RemoveFlag", removeFlag);
+        CheckPropertyFound("ObjectPermissions", objectPermissions);
+        OracleObjectPermissionSet returnOracleObjectPermissionSet = new OracleObjectPermissionSet();
+        returnOracleObjectPermissionSet.setObjectName(objectName);
+        returnOracleObjectPermissionSet.setObjectType(objectType);
+        returnOracleObjectPermissionSet.setObjectOwner(objectOwner);
+        returnOracleObjectPermissionSet.setAddFlag(addFlag);
+        returnOracleObjectPermissionSet.setRemoveFlag(removeFlag);
+        returnOracleObjectPermissionSet.setObjectPermissions(objectPermissions);
+        
+        return returnOracleObjectPermissionSet;
+    }
+    
+    /**
+     * Reads an array of OracleObjectPermissionSet objects from the inputted JsonStreamReader.
+     * @param   jsonReader     The JsonStreamReader positioned at the start of the serialized array.
+     * @param   stringPool     The pool used to share repeated names within the deserialized model.
+     * @return                 The deserialized ArrayList of OracleObjectPermissionSet objects.
+     * @throws  IOException    if an error occurs reading from the stream.
+     * @throws  JSONException  if an error occurs while deserializing.
+     */
+    private ArrayList<OracleObjectPermissionSet> ReadOracleObjectPermissionSetArrayList(JsonStreamReader jsonReader, StringInternPool stringPool) throws IOException, JSONException {
+        ArrayList<OracleObjectPermissionSet> returnArrayList = new ArrayList<OracleObjectPermissionSet>();
+        
+        jsonReader.BeginArray();
+        while (jsonReader.HasNext() == true) {
+            returnArrayList.add(ReadOracleObjectPermissionSet(jsonReader, stringPool));
+        }
+        jsonReader.EndArray();
+        
+        return returnArrayList;
+    }
+    
+    /**
+     * Reads an array of RoleToPermissionMap objects from the inputted JsonStreamReader.
+     * @param   jsonReader     The JsonStreamReader positioned at the start of the serialized array.
+     * @param   stringPool     The pool used to share repeated names within the deserialized model.
+     * @return                 The deserialized ArrayList of RoleToPermissionMap objects.
+     * @throws  IOException    if an error occurs reading from the stream.
+     * @throws  JSONException  if an error occurs while deserializing.
+     */
+    private ArrayList<RoleToPermissionMap> ReadRoleToPermissionMapArrayList(JsonStreamReader jsonReader, StringInternPool stringPool) throws IOException, JSONException {
+        ArrayList<RoleToPermissionMap> returnArray = new ArrayList<RoleToPermissionMap>();
+        
+        jsonReader.BeginArray();
+        while (jsonReader.HasNext() == true) {
+            String role = null;
+            String permission = null;
+            jsonReader.BeginObject();
+            while (jsonReader.HasNext() == true) {
+                String name = jsonReader.NextName();
+                if (name.equals("Role") == true) {
+                    role = stringPool.Intern(jsonReader.NextString());
+                }
+                else if (name.equals("Permission") == true) {
+                    permission = stringPool.Intern(jsonReader.NextString());
+                }
+                else {
+                    jsonReader.SkipValue();
+                }
+            }
+            jsonReader.EndObject();
+            CheckPropertyFound("Role", role);
+            CheckPropertyFound("Permission", permission);
+            returnArray.add(new RoleToPermissionMap(role, permission));
+        }
+        jsonReader.EndArray();
+        
+        return returnArray;
+    }
+    
+    /**
+     * Reads an array of RoleToUserMap objects from the inputted JsonStreamReader.
+     * @param   jsonReader     The JsonStreamReader positioned at the start of the serialized array.
+     * @param   stringPool     The pool used to share repeated names within the deserialized model.
+     * @return                 The deserialized ArrayList of RoleToUserMap objects.
+     * @throws  IOException    if an error occurs reading from the stream.
+     * @throws  JSONException  if an error occurs while deserializing.
+     */
+    private ArrayList<RoleToUserMap> ReadRoleToUserMapArrayList(JsonStreamReader jsonReader, StringInternPool stringPool) throws IOException, JSONException {
+        ArrayList<RoleToUserMap> returnArray = new ArrayList<RoleToUserMap>();
+        
+        jsonReader.BeginArray();
+        while (jsonReader.HasNext() == true) {
+            String role = null;
+            String user = null;
+            jsonReader.BeginObject();
+            while (jsonReader.HasNext() == true) {
+                String name = jsonReader.NextName();
+                if (name.equals("Role") == true) {
+                    role = stringPool.Intern(jsonReader.NextString());
+                }
+                else if (name.equals("User") == true) {
+                    user = stringPool.Intern(jsonReader.NextString());
+                }
+                else {
+                    jsonReader.SkipValue();
+                }
+            }
+            jsonReader.EndObject();
+            CheckPropertyFound("Role", role);
+            CheckPropertyFound("User", user);
+            returnArray.add(new RoleToUserMap(role, user));
+        }
+        jsonReader.EndArray();
+        
+        return returnArray;
+    }
+    
+    /**
+     * Throws an exception if a required property was not found while deserializing a JSON object.
+     * @param   propertyName   The name of the property.
+     * @param   value          The value read for the property, or null if the property was not found.
+     * @throws  JSONException  if the value is null.
+     */
+    private void CheckPropertyFound(String propertyName, Object value) throws JSONException {
+        if (value == null) {
+            throw new JSONException("No value for " + propertyName + ".");
+        }
     }
 }
@@ -0,0 +1,589 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization;
+
+import java.io.*;
+
+import org.json.JSONException;
+
+/**
+ * Pull parser which reads JSON encoded values token by token from a character stream, without building an in-memory tree of the whole document.
+ * <b>Note</b> android.util.JsonReader provides similar functionality, but is only available from API level 11.
+ * @author Alastair Wyse
+ */
+public class JsonStreamReader {
+
+    private final int bufferSize = 1024;
+    private final int initialScopeStackSize = 32;
+
+    // Scopes which can be held in the scope stack
+    private final int emptyDocumentScope = 0;
+    private final int nonEmptyDocumentScope = 1;
+    private final int emptyArrayScope = 2;
+    private final int nonEmptyArrayScope = 3;
+    private final int emptyObjectScope = 4;
+    private final int danglingNameScope = 5;
+    private final int nonEmptyObjectScope = 6;
+
+    private Reader reader;
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private long bufferStartOffset;
+    private int[] scopeStack;
+    private int scopeStackSize;
+    private JsonToken peekedToken;
+    private StringBuilder stringBuilder;
+
+    /**
+     * Initialises a new instance of the JsonStreamReader class.
+     * @param  reader  The stream to read JSON encoded characters from.
+     */
+    public JsonStreamReader(Reader reader) {
+        this.reader = reader;
+        buffer = new char[bufferSize];
+        position = 0;
+        limit = 0;
+        bufferStartOffset = 0;
+        scopeStack = new int[initialScopeStackSize];
+        scopeStack[0] = emptyDocumentScope;
+        scopeStackSize = 1;
+        peekedToken = null;
+        stringBuilder = new StringBuilder();
+    }
+
+    /**
+     * Returns the type of the next token in the stream without consuming it.
+     * @return                 The type of the next token.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the stream does not contain valid JSON.
+     */
+    public JsonToken Peek() throws IOException, JSONException {
+        if (peekedToken != null) {
+            return peekedToken;
+        }
+
+        int currentScope = scopeStack[scopeStackSize - 1];
+        if (currentScope == emptyArrayScope) {
+            scopeStack[scopeStackSize - 1] = nonEmptyArrayScope;
+            if (PeekNonWhitespace() == ']') {
+                position++;
+                peekedToken = JsonToken.EndArray;
+                return peekedToken;
+            }
+        }
+        else if (currentScope == nonEmptyArrayScope) {
+            char separator = ReadNonWhitespace();
+            if (separator == ']') {
+                peekedToken = JsonToken.EndArray;
+                return peekedToken;
+            }
+            else if (separator != ',') {
+                throw new JSONException("Expected ',' or ']' but found '" + separator + "'" + GetPositionDescription() + ".");
+            }
+        }
+        else if (currentScope == emptyObjectScope || currentScope == nonEmptyObjectScope) {
+            scopeStack[scopeStackSize - 1] = danglingNameScope;
+            if (currentScope == nonEmptyObjectScope) {
+                char separator = ReadNonWhitespace();
+                if (separator == '}') {
+                    peekedToken = JsonToken.EndObject;
+                    return peekedToken;
+                }
+                else if (separator != ',') {
+                    throw new JSONException("Expected ',' or '}' but found '" + separator + "'" + GetPositionDescription() + ".");
+                }
+            }
+            char nameStart = PeekNonWhitespace();
+            if (currentScope == emptyObjectScope && nameStart == '}') {
+                position++;
+                peekedToken = JsonToken.EndObject;
+                return peekedToken;
+            }
+            if (nameStart != '"') {
+                throw new JSONException("Expected a property name but found '" + nameStart + "'" + GetPositionDescription() + ".");
+            }
+            peekedToken = JsonToken.Name;
+            return peekedToken;
+        }
+        else if (currentScope == danglingNameScope) {
+            scopeStack[scopeStackSize - 1] = nonEmptyObjectScope;
+            char separator = ReadNonWhitespace();
+            if (separator != ':') {
+                throw new JSONException("Expected ':' but found '" + separator + "'" + GetPositionDescription() + ".");
+            }
+        }
+        else if (currentScope == emptyDocumentScope) {
+            scopeStack[scopeStackSize - 1] = nonEmptyDocumentScope;
+        }
+        else if (currentScope == nonEmptyDocumentScope) {
+            if (SkipWhitespace() == false) {
+                peekedToken = JsonToken.EndDocument;
+                return peekedToken;
+            }
+            throw new JSONException("Expected end of document but found '" + buffer[position] + "'" + GetPositionDescription() + ".");
+        }
+
+        char valueStart = PeekNonWhitespace();
+        switch (valueStart) {
+        case '[':
+            peekedToken = JsonToken.BeginArray;
+            break;
+        case '{':
+            peekedToken = JsonToken.BeginObject;
+            break;
+        case '"':
+            peekedToken = JsonToken.StringValue;
+            break;
+        case 't':
+        case 'f':
+            peekedToken = JsonToken.BooleanValue;
+            break;
+        case 'n':
+            peekedToken = JsonToken.NullValue;
+            break;
+        default:
+            if (valueStart == '-' || (valueStart >= '0' && valueStart <= '9')) {
+                peekedToken = JsonToken.NumberValue;
+            }
+            else {
+                throw new JSONException("Unexpected character '" + valueStart + "'" + GetPositionDescription() + ".");
+            }
+        }
+        return peekedToken;
+    }
+
+    /**
+     * Returns true if the current array or object contains another element.
+     * @return                 Whether the current array or object contains another element.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the stream does not contain valid JSON.
+     */
+    public boolean HasNext() throws IOException, JSONException {
+        JsonToken nextToken = Peek();
+        return (nextToken != JsonToken.EndArray && nextToken != JsonToken.EndObject && nextToken != JsonToken.EndDocument);
+    }
+
+    /**
+     * Consumes the opening bracket of a JSON array.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not the start of an array.
+     */
+    public void BeginArray() throws IOException, JSONException {
+        ExpectToken(JsonToken.BeginArray);
+        position++;
+        PushScope(emptyArrayScope);
+        peekedToken = null;
+    }
+
+    /**
+     * Consumes the closing bracket of a JSON array.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not the end of an array.
+     */
+    public void EndArray() throws IOException, JSONException {
+        ExpectToken(JsonToken.EndArray);
+        scopeStackSize--;
+        peekedToken = null;
+    }
+
+    /**
+     * Consumes the opening brace of a JSON object.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not the start of an object.
+     */
+    public void BeginObject() throws IOException, JSONException {
+        ExpectToken(JsonToken.BeginObject);
+        position++;
+        PushScope(emptyObjectScope);
+        peekedToken = null;
+    }
+
+    /**
+     * Consumes the closing brace of a JSON object.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not the end of an object.
+     */
+    public void EndObject() throws IOException, JSONException {
+        ExpectToken(JsonToken.EndObject);
+        scopeStackSize--;
+        peekedToken = null;
+    }
+
+    /**
+     * Consumes and returns the next property name in the current JSON object.
+     * @return                 The property name.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not a property name.
+     */
+    public String NextName() throws IOException, JSONException {
+        ExpectToken(JsonToken.Name);
+        String name = ReadQuotedString();
+        peekedToken = null;
+        return name;
+    }
+
+    /**
+     * Consumes and returns the next string value.  Number and boolean values are also returned in their string form.
+     * @return                 The string value.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not a string, number or boolean.
+     */
+    public String NextString() throws IOException, JSONException {
+        JsonToken nextToken = Peek();
+        String value;
+        if (nextToken == JsonToken.StringValue) {
+            value = ReadQuotedString();
+        }
+        else if (nextToken == JsonToken.NumberValue || nextToken == JsonToken.BooleanValue) {
+            value = ReadUnquotedValue();
+        }
+        else {
+            throw new JSONException("Expected a string but found " + nextToken.name() + GetPositionDescription() + ".");
+        }
+        peekedToken = null;
+        return value;
+    }
+
+    /**
+     * Consumes and returns the next boolean value.
+     * @return                 The boolean value.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not a boolean.
+     */
+    public boolean NextBoolean() throws IOException, JSONException {
+        ExpectToken(JsonToken.BooleanValue);
+        String literal = ReadUnquotedValue();
+        peekedToken = null;
+        if (literal.equals("true") == true) {
+            return true;
+        }
+        else if (literal.equals("false") == true) {
+            return false;
+        }
+        else {
+            throw new JSONException("Invalid boolean value '" + literal + "'" + GetPositionDescription() + ".");
+        }
+    }
+
+    /**
+     * Consumes the next null value.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not null.
+     */
+    public void NextNull() throws IOException, JSONException {
+        ExpectToken(JsonToken.NullValue);
+        String literal = ReadUnquotedValue();
+        peekedToken = null;
+        if (literal.equals("null") == false) {
+            throw new JSONException("Invalid null value '" + literal + "'" + GetPositionDescription() + ".");
+        }
+    }
+
+    /**
+     * Consumes and returns the next number value as a long.
+     * @return                 The number value.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not a number, or cannot be represented as a long.
+     */
+    public long NextLong() throws IOException, JSONException {
+        ExpectToken(JsonToken.NumberValue);
+        String literal = ReadUnquotedValue();
+        peekedToken = null;
+        try {
+            return Long.parseLong(literal);
+        }
+        catch (NumberFormatException e) {
+            throw new JSONException("Invalid long value '" + literal + "'" + GetPositionDescription() + ".");
+        }
+    }
+
+    /**
+     * Consumes and returns the next number value as a double.
+     * @return                 The number value.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the next token is not a number.
+     */
+    public double NextDouble() throws IOException, JSONException {
+        ExpectToken(JsonToken.NumberValue);
+        String literal = ReadUnquotedValue();
+        peekedToken = null;
+        try {
+            return Double.parseDouble(literal);
+        }
+        catch (NumberFormatException e) {
+            throw new JSONException("Invalid double value '" + literal + "'" + GetPositionDescription() + ".");
+        }
+    }
+
+    /**
+     * Consumes and discards the next value, including any nested arrays and objects.
+     * @throws  IOException    if an error occurs reading from the underlying stream.
+     * @throws  JSONException  if the stream does not contain valid JSON.
+     */
+    public void SkipValue() throws IOException, JSONException {
+        int depth = 0;
+        do {
+            JsonToken nextToken = Peek();
+            switch (nextToken) {
+            case BeginArray:
+                BeginArray();
+                depth++;
+                break;
+            case BeginObject:
+                BeginObject();
+                depth++;
+                break;
+            case EndArray:
+                EndArray();
+                depth--;
+                break;
+            case EndObject:
+                EndObject();
+                depth--;
+                break;
+            case Name:
+                NextName();
+                break;
+            case StringValue:
+                ReadQuotedString();
+                peekedToken = null;
+                break;
+            case NumberValue:
+            case BooleanValue:
+            case NullValue:
+                ReadUnquotedValue();
+                peekedToken = null;
+                break;
+            case EndDocument:
+                throw new JSONException("Unexpected end of document" + GetPositionDescription() + ".");
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Closes the underlying stream.
+     * @throws  IOException  if an error occurs closing the underlying stream.
+     */
+    public void Close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Throws an exception if the next token is not of the specified type.
+     * @param   expectedToken  The expected type of the next token.
+     */
+    private void ExpectToken(JsonToken expectedToken) throws IOException, JSONException {
+        JsonToken nextToken = Peek();
+        if (nextToken != expectedToken) {
+            throw new JSONException("Expected " + expectedToken.name() + " but found " + nextToken.name() + GetPositionDescription() + ".");
+        }
+    }
+
+    /**
+     * Pushes a new scope onto the scope stack, expanding the stack if required.
+     * @param  scope  The scope to push.
+     */
+    private void PushScope(int scope) {
+        if (scopeStackSize == scopeStack.length) {
+            int[] expandedScopeStack = new int[scopeStack.length * 2];
+            System.arraycopy(scopeStack, 0, expandedScopeStack, 0, scopeStackSize);
+            scopeStack = expandedScopeStack;
+        }
+        scopeStack[scopeStackSize] = scope;
+        scopeStackSize++;
+    }
+
+    /**
+     * Reads a quoted string starting at the current position, and decodes any escape sequences it contains.
+     * @return  The decoded string.
+     */
+    private String ReadQuotedString() throws IOException, JSONException {
+        // Skip the opening quote
+        position++;
+        stringBuilder.setLength(0);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char currentCharacter = buffer[position];
+                if (currentCharacter == '"') {
+                    stringBuilder.append(buffer, start, position - start);
+                    position++;
+                    return stringBuilder.toString();
+                }
+                else if (currentCharacter == '\\') {
+                    stringBuilder.append(buffer, start, position - start);
+                    position++;
+                    stringBuilder.append(ReadEscapedCharacter());
+                    start = position;
+                }
+                else {
+                    position++;
+                }
+            }
+            stringBuilder.append(buffer, start, position - start);
+            if (FillBuffer(1) == false) {
+                throw new JSONException("Unterminated string" + GetPositionDescription() + ".");
+            }
+        }
+    }
+
+    /**
+     * Reads the character following a backslash in a quoted string, and returns the character it represents.
+     * @return  The unescaped character.
+     */
+    private char ReadEscapedCharacter() throws IOException, JSONException {
+        if (position == limit && FillBuffer(1) == false) {
+            throw new JSONException("Unterminated escape sequence" + GetPositionDescription() + ".");
+        }
+        char escapedCharacter = buffer[position];
+        position++;
+        switch (escapedCharacter) {
+        case 'u':
+            if (position + 4 > limit && FillBuffer(4) == false) {
+                throw new JSONException("Unterminated escape sequence" + GetPositionDescription() + ".");
+            }
+            int codePoint = 0;
+            for (int i = position; i < position + 4; i++) {
+                int digit = Character.digit(buffer[i], 16);
+                if (digit == -1) {
+                    throw new JSONException("Invalid unicode escape sequence" + GetPositionDescription() + ".");
+                }
+                codePoint = (codePoint << 4) + digit;
+            }
+            position += 4;
+            return (char)codePoint;
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case '"':
+        case '\\':
+        case '/':
+            return escapedCharacter;
+        default:
+            throw new JSONException("Invalid escape sequence '\\" + escapedCharacter + "'" + GetPositionDescription() + ".");
+        }
+    }
+
+    /**
+     * Reads an unquoted number or literal (true, false or null) starting at the current position.
+     * @return  The value as a string.
+     */
+    private String ReadUnquotedValue() throws IOException {
+        stringBuilder.setLength(0);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                if (IsUnquotedValueCharacter(buffer[position]) == false) {
+                    stringBuilder.append(buffer, start, position - start);
+                    return stringBuilder.toString();
+                }
+                position++;
+            }
+            stringBuilder.append(buffer, start, position - start);
+            if (FillBuffer(1) == false) {
+                return stringBuilder.toString();
+            }
+        }
+    }
+
+    /**
+     * Returns true if the inputted character can form part of an unquoted number or literal.
+     * @param   character  The character to check.
+     * @return             Whether the character can form part of an unquoted value.
+     */
+    private boolean IsUnquotedValueCharacter(char character) {
+        return ((character >= '0' && character <= '9') || (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || character == '-' || character == '+' || character == '.');
+    }
+
+    /**
+     * Skips whitespace and returns the next character in the stream without consuming it.
+     * @return  The next non-whitespace character.
+     */
+    private char PeekNonWhitespace() throws IOException, JSONException {
+        if (SkipWhitespace() == false) {
+            throw new JSONException("Unexpected end of document" + GetPositionDescription() + ".");
+        }
+        return buffer[position];
+    }
+
+    /**
+     * Skips whitespace and consumes and returns the next character in the stream.
+     * @return  The next non-whitespace character.
+     */
+    private char ReadNonWhitespace() throws IOException, JSONException {
+        char nextCharacter = PeekNonWhitespace();
+        position++;
+        return nextCharacter;
+    }
+
+    /**
+     * Advances the current position past any whitespace.
+     * @return  True if a non-whitespace character is available at the current position, or false if the end of the stream was reached.
+     */
+    private boolean SkipWhitespace() throws IOException {
+        while (true) {
+            while (position < limit) {
+                char currentCharacter = buffer[position];
+                if (currentCharacter != ' ' && currentCharacter != '\t' && currentCharacter != '\n' && currentCharacter != '\r') {
+                    return true;
+                }
+                position++;
+            }
+            if (FillBuffer(1) == false) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads from the underlying stream until at least the specified number of unconsumed characters are held in the buffer.
+     * @param   minimum  The minimum number of unconsumed characters required.
+     * @return           True if the required number of characters are available, or false if the end of the stream was reached.
+     */
+    private boolean FillBuffer(int minimum) throws IOException {
+        // Move any unconsumed characters to the start of the buffer
+        if (position > 0) {
+            bufferStartOffset = bufferStartOffset + position;
+            limit = limit - position;
+            System.arraycopy(buffer, position, buffer, 0, limit);
+            position = 0;
+        }
+        while (limit < minimum) {
+            int charactersRead = reader.read(buffer, limit, buffer.length - limit);
+            if (charactersRead == -1) {
+                return false;
+            }
+            limit = limit + charactersRead;
+        }
+        return true;
+    }
+
+    /**
+     * @return  A description of the current position in the stream, to include in exception messages.
+     */
+    private String GetPositionDescription() {
+        return " at character " + (bufferStartOffset + position);
+    }
+}
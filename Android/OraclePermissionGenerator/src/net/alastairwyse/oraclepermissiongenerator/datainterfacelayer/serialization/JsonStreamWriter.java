@@ -0,0 +1,282 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization;
+
+import java.io.*;
+
+import org.json.JSONException;
+
+/**
+ * Writes JSON encoded values token by token to a character stream, without building an in-memory tree of the whole document.
+ * <b>Note</b> android.util.JsonWriter provides similar functionality, but is only available from API level 11.  Strings are escaped in the same way as by the org.json classes.
+ * @author Alastair Wyse
+ */
+public class JsonStreamWriter {
+
+    private final int initialScopeStackSize = 32;
+    private final char[] hexDigits = new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+    // Scopes which can be held in the scope stack
+    private final int emptyDocumentScope = 0;
+    private final int nonEmptyDocumentScope = 1;
+    private final int emptyArrayScope = 2;
+    private final int nonEmptyArrayScope = 3;
+    private final int emptyObjectScope = 4;
+    private final int danglingNameScope = 5;
+    private final int nonEmptyObjectScope = 6;
+
+    private Writer writer;
+    private int[] scopeStack;
+    private int scopeStackSize;
+
+    /**
+     * Initialises a new instance of the JsonStreamWriter class.
+     * @param  writer  The stream to write JSON encoded characters to.
+     */
+    public JsonStreamWriter(Writer writer) {
+        this.writer = writer;
+        scopeStack = new int[initialScopeStackSize];
+        scopeStack[0] = emptyDocumentScope;
+        scopeStackSize = 1;
+    }
+
+    /**
+     * Writes the opening bracket of a JSON array.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if a value cannot be written at the current position.
+     */
+    public void BeginArray() throws IOException, JSONException {
+        BeforeValue();
+        PushScope(emptyArrayScope);
+        writer.write('[');
+    }
+
+    /**
+     * Writes the closing bracket of a JSON array.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if the current scope is not an array.
+     */
+    public void EndArray() throws IOException, JSONException {
+        int currentScope = scopeStack[scopeStackSize - 1];
+        if (currentScope != emptyArrayScope && currentScope != nonEmptyArrayScope) {
+            throw new JSONException("Cannot end an array outside of an array.");
+        }
+        scopeStackSize--;
+        writer.write(']');
+    }
+
+    /**
+     * Writes the opening brace of a JSON object.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if a value cannot be written at the current position.
+     */
+    public void BeginObject() throws IOException, JSONException {
+        BeforeValue();
+        PushScope(emptyObjectScope);
+        writer.write('{');
+    }
+
+    /**
+     * Writes the closing brace of a JSON object.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if the current scope is not an object, or a property name has been written without a value.
+     */
+    public void EndObject() throws IOException, JSONException {
+        int currentScope = scopeStack[scopeStackSize - 1];
+        if (currentScope != emptyObjectScope && currentScope != nonEmptyObjectScope) {
+            throw new JSONException("Cannot end an object outside of an object, or after a property name.");
+        }
+        scopeStackSize--;
+        writer.write('}');
+    }
+
+    /**
+     * Writes the name of a property of the current JSON object.  The value of the property should be written next.
+     * @param   name           The property name.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if the current scope is not an object, or the previous property name has not had a value written.
+     */
+    public void Name(String name) throws IOException, JSONException {
+        if (name == null) {
+            throw new IllegalArgumentException("Argument 'name' cannot be null.");
+        }
+        int currentScope = scopeStack[scopeStackSize - 1];
+        if (currentScope == nonEmptyObjectScope) {
+            writer.write(',');
+        }
+        else if (currentScope != emptyObjectScope) {
+            throw new JSONException("Cannot write a property name outside of an object, or directly after another property name.");
+        }
+        scopeStack[scopeStackSize - 1] = danglingNameScope;
+        WriteQuotedString(name);
+        writer.write(':');
+    }
+
+    /**
+     * Writes a string value.
+     * @param   value          The value, or null to write a JSON null value.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if a value cannot be written at the current position.
+     */
+    public void Value(String value) throws IOException, JSONException {
+        if (value == null) {
+            NullValue();
+            return;
+        }
+        BeforeValue();
+        WriteQuotedString(value);
+    }
+
+    /**
+     * Writes a boolean value.
+     * @param   value          The value.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if a value cannot be written at the current position.
+     */
+    public void Value(boolean value) throws IOException, JSONException {
+        BeforeValue();
+        writer.write(value ? "true" : "false");
+    }
+
+    /**
+     * Writes a numeric value.
+     * @param   value          The value.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if a value cannot be written at the current position.
+     */
+    public void Value(long value) throws IOException, JSONException {
+        BeforeValue();
+        writer.write(Long.toString(value));
+    }
+
+    /**
+     * Writes a JSON null value.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if a value cannot be written at the current position.
+     */
+    public void NullValue() throws IOException, JSONException {
+        BeforeValue();
+        writer.write("null");
+    }
+
+    /**
+     * Flushes the underlying stream.
+     * @throws  IOException  if an error occurs flushing the underlying stream.
+     */
+    public void Flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Updates the current scope before a value is written, and writes the separator preceding the value if required.
+     * @throws  IOException    if an error occurs writing to the underlying stream.
+     * @throws  JSONException  if a value cannot be written at the current position.
+     */
+    private void BeforeValue() throws IOException, JSONException {
+        int currentScope = scopeStack[scopeStackSize - 1];
+        switch (currentScope) {
+            case emptyDocumentScope:
+                scopeStack[scopeStackSize - 1] = nonEmptyDocumentScope;
+                break;
+            case emptyArrayScope:
+                scopeStack[scopeStackSize - 1] = nonEmptyArrayScope;
+                break;
+            case nonEmptyArrayScope:
+                writer.write(',');
+                break;
+            case danglingNameScope:
+                scopeStack[scopeStackSize - 1] = nonEmptyObjectScope;
+                break;
+            case nonEmptyDocumentScope:
+                throw new JSONException("A JSON document must contain a single top level value.");
+            default:
+                throw new JSONException("Cannot write a value within an object without first writing a property name.");
+        }
+    }
+
+    /**
+     * Pushes a new scope onto the scope stack, expanding the stack if required.
+     * @param  scope  The scope to push.
+     */
+    private void PushScope(int scope) {
+        if (scopeStackSize == scopeStack.length) {
+            int[] expandedScopeStack = new int[scopeStack.length * 2];
+            System.arraycopy(scopeStack, 0, expandedScopeStack, 0, scopeStackSize);
+            scopeStack = expandedScopeStack;
+        }
+        scopeStack[scopeStackSize] = scope;
+        scopeStackSize++;
+    }
+
+    /**
+     * Writes a string enclosed in quotes, escaping characters which cannot appear unescaped in a JSON string.
+     * @param   value        The string to write.
+     * @throws  IOException  if an error occurs writing to the underlying stream.
+     */
+    private void WriteQuotedString(String value) throws IOException {
+        writer.write('"');
+        int length = value.length();
+        // Write runs of characters which do not require escaping in a single call
+        int runStart = 0;
+        for (int i = 0; i < length; i++) {
+            char currentCharacter = value.charAt(i);
+            String replacement = null;
+            switch (currentCharacter) {
+                case '"':
+                    replacement = "\\\"";
+                    break;
+                case '\\':
+                    replacement = "\\\\";
+                    break;
+                case '/':
+                    replacement = "\\/";
+                    break;
+                case '\t':
+                    replacement = "\\t";
+                    break;
+                case '\b':
+                    replacement = "\\b";
+                    break;
+                case '\n':
+                    replacement = "\\n";
+                    break;
+                case '\r':
+                    replacement = "\\r";
+                    break;
+                case '\f':
+                    replacement = "\\f";
+                    break;
+                default:
+                    if (currentCharacter < 0x20 || currentCharacter == '\u2028' || currentCharacter == '\u2029') {
+                        writer.write(value, runStart, i - runStart);
+                        writer.write("\\u");
+                        writer.write(hexDigits[(currentCharacter >> 12) & 0x0F]);
+                        writer.write(hexDigits[(currentCharacter >> 8) & 0x0F]);
+                        writer.write(hexDigits[(currentCharacter >> 4) & 0x0F]);
+                        writer.write(hexDigits[currentCharacter & 0x0F]);
+                        runStart = i + 1;
+                    }
+                    continue;
+            }
+            writer.write(value, runStart, i - runStart);
+            writer.write(replacement);
+            runStart = i + 1;
+        }
+        writer.write(value, runStart, length - runStart);
+        writer.write('"');
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization;
+
+/**
+ * Represents the type of the next token in a JSON encoded stream read by the JsonStreamReader class.
+ * @author Alastair Wyse
+ */
+public enum JsonToken {
+    /** The opening bracket of a JSON array */
+    BeginArray,
+    /** The closing bracket of a JSON array */
+    EndArray,
+    /** The opening brace of a JSON object */
+    BeginObject,
+    /** The closing brace of a JSON object */
+    EndObject,
+    /** The name of a property of a JSON object */
+    Name,
+    /** A JSON string value */
+    StringValue,
+    /** A JSON number value */
+    NumberValue,
+    /** A JSON boolean value */
+    BooleanValue,
+    /** A JSON null value */
+    NullValue,
+    /** The end of the JSON stream */
+    EndDocument
+}
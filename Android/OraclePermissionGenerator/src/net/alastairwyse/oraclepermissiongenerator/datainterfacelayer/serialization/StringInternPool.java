@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/oraclepermissiongeneratorandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.alastairwyse.oraclepermissiongenerator.datainterfacelayer.serialization;
+
+import java.util.HashMap;
+
+/**
+ * Bounded pool of canonical String instances, which allows values that are repeated many times within a deserialized model (e.g. role, permission, object type and object owner names) to share a single instance rather than each occurrence holding its own copy.
+ * Unlike String.intern(), the pool is scoped rather than global.  Instances are intended to be created for a single deserialization operation and then discarded, so that pooled strings are not retained for the lifetime of the process.  Once the pool reaches its maximum size, strings which are not already pooled are returned as-is.
+ * The class is not thread-safe.
+ * @author Alastair Wyse
+ */
+public class StringInternPool {
+
+    private HashMap<String, String> pool;
+    private int maximumSize;
+
+    /**
+     * Initialises a new instance of the StringInternPool class.
+     * @param  maximumSize  The maximum number of distinct strings to hold in the pool.
+     */
+    public StringInternPool(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Argument 'maximumSize' must be greater than or equal to 0.");
+        }
+        
+        pool = new HashMap<String, String>();
+        this.maximumSize = maximumSize;
+    }
+    
+    /**
+     * @return  The maximum number of distinct strings to hold in the pool.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+    
+    /**
+     * @return  The number of distinct strings currently held in the pool.
+     */
+    public int getSize() {
+        return pool.size();
+    }
+    
+    /**
+     * Returns the pooled instance of the inputted string, adding the string to the pool if an equal instance is not already pooled and the pool is not full.
+     * @param   value  The string to intern.
+     * @return         The pooled instance equal to the inputted string, or the inputted string itself if it was not pooled.  Returns null if the inputted string is null.
+     */
+    public String Intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        
+        String pooledValue = pool.get(value);
+        if (pooledValue != null) {
+            return pooledValue;
+        }
+        if (pool.size() < maximumSize) {
+            pool.put(value, value);
+        }
+        return value;
+    }
+}
@@ -102,6 +102,45 @@ public String Serialize(List<RoleToUserMap> roleToUserMapList)
             return ConvertMemoryStreamToString(tempStream);
         }
 
+        /// <summary>
+        /// Serializes a list of ModelOperationResult objects to a JSON-encoded string.
+        /// </summary>
+        /// <param name="modelOperationResults">The list of ModelOperationResult objects to serialize.</param>
+        /// <returns>The list serialized as a string.</returns>
+        public String Serialize(List<ModelOperationResult> modelOperationResults)
+        {
+            DataContractJsonSerializer serializer = new DataContractJsonSerializer(typeof(List<ModelOperationResult>));
+            MemoryStream tempStream = new MemoryStream();
+            serializer.WriteObject(tempStream, modelOperationResults);
+            return ConvertMemoryStreamToString(tempStream);
+        }
+
+        /// <summary>
+        /// Serializes a ModelChangeSet object to a JSON-encoded string.
+        /// </summary>
+        /// <param name="modelChangeSet">The ModelChangeSet object to serialize.</param>
+        /// <returns>The ModelChangeSet serialized as a string.</returns>
+        public String Serialize(ModelChangeSet modelChangeSet)
+        {
+            DataContractJsonSerializer serializer = new DataContractJsonSerializer(typeof(ModelChangeSet));
+            MemoryStream tempStream = new MemoryStream();
+            serializer.WriteObject(tempStream, modelChangeSet);
+            return ConvertMemoryStreamToString(tempStream);
+        }
+
+        /// <summary>
+        /// Serializes an EntityValidationResults object to a JSON-encoded string.
+        /// </summary>
+        /// <param name="entityValidationResults">The EntityValidationResults object to serialize.</param>
+        /// <returns>The EntityValidationResults serialized as a string.</returns>
+        public String Serialize(EntityValidationResults entityValidationResults)
+        {
+            DataContractJsonSerializer serializer = new DataContractJsonSerializer(typeof(EntityValidationResults));
+            MemoryStream tempStream = new MemoryStream();
+            serializer.WriteObject(tempStream, entityValidationResults);
+            return ConvertMemoryStreamToString(tempStream);
+        }
+
         /// <summary>
         /// Deserializes an AuthenticationContext from a JSON-encoded string.
         /// </summary>
@@ -139,6 +178,48 @@ public List<RoleToPermissionMap> DeserializeRoleToPermissionMapList(String seria
             }
         }
 
+        /// <summary>
+        /// Deserializes a list of ModelOperation objects from a JSON-encoded string.
+        /// </summary>
+        /// <param name="serializedModelOperationList">A JSON-encoded string containing the list of ModelOperation objects.</param>
+        /// <returns>The list of ModelOperation objects.</returns>
+        public List<ModelOperation> DeserializeModelOperationList(String serializedModelOperationList)
+        {
+            DataContractJsonSerializer serializer = new DataContractJsonSerializer(typeof(List<ModelOperation>));
+            using (MemoryStream tempStream = ConvertStringToMemoryStream(serializedModelOperationList))
+            {
+                return (List<ModelOperation>)serializer.ReadObject(tempStream);
+            }
+        }
+
+        /// <summary>
+        /// Deserializes a list of OracleObjectPermissionSet objects from a JSON-encoded string.
+        /// </summary>
+        /// <param name="serializedOracleObjectPermissionSetList">A JSON-encoded string containing the list of OracleObjectPermissionSet objects.</param>
+        /// <returns>The list of OracleObjectPermissionSet objects.</returns>
+        public List<OracleObjectPermissionSet> DeserializeOracleObjectPermissionSetList(String serializedOracleObjectPermissionSetList)
+        {
+            DataContractJsonSerializer serializer = new DataContractJsonSerializer(typeof(List<OracleObjectPermissionSet>));
+            using (MemoryStream tempStream = ConvertStringToMemoryStream(serializedOracleObjectPermissionSetList))
+            {
+                return (List<OracleObjectPermissionSet>)serializer.ReadObject(tempStream);
+            }
+        }
+
+        /// <summary>
+        /// Deserializes a list of RoleToUserMap objects from a JSON-encoded string.
+        /// </summary>
+        /// <param name="serializedRoleToUserMapList">A JSON-encoded string containing the list of RoleToUserMap objects.</param>
+        /// <returns>The list of RoleToUserMap objects.</returns>
+        public List<RoleToUserMap> DeserializeRoleToUserMapList(String serializedRoleToUserMapList)
+        {
+            DataContractJsonSerializer serializer = new DataContractJsonSerializer(typeof(List<RoleToUserMap>));
+            using (MemoryStream tempStream = ConvertStringToMemoryStream(serializedRoleToUserMapList))
+            {
+                return (List<RoleToUserMap>)serializer.ReadObject(tempStream);
+            }
+        }
+
         #region Private Methods
 
         /// <summary>
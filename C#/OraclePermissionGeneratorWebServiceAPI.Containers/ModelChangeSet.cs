@@ -0,0 +1,141 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.Runtime.Serialization;
+
+namespace OraclePermissionGeneratorWebServiceAPI.Containers
+{
+    /// <summary>
+    /// Container class holding the changes made to the Oracle objects and role to user mappings in a data model since a specified model version.
+    /// </summary>
+    /// <remarks>If SnapshotRequired is true, the changes could not be determined (e.g. because the specified version is too old), and the lists of changes are empty.  In this case the consumer should retrieve the complete lists of objects and role to user mappings.</remarks>
+    [DataContract]
+    public class ModelChangeSet
+    {
+        private Int64 modelVersion;
+        private bool snapshotRequired;
+        private List<OracleObjectPermissionSet> addedObjects;
+        private List<OracleObjectPermissionSet> modifiedObjects;
+        private List<string> removedObjectNames;
+        private List<RoleToUserMap> addedRoleToUserMaps;
+        private List<RoleToUserMap> removedRoleToUserMaps;
+
+        [DataMember]
+        public Int64 ModelVersion
+        {
+            set
+            {
+                modelVersion = value;
+            }
+            get
+            {
+                return modelVersion;
+            }
+        }
+
+        [DataMember]
+        public bool SnapshotRequired
+        {
+            set
+            {
+                snapshotRequired = value;
+            }
+            get
+            {
+                return snapshotRequired;
+            }
+        }
+
+        [DataMember]
+        public List<OracleObjectPermissionSet> AddedObjects
+        {
+            set
+            {
+                addedObjects = value;
+            }
+            get
+            {
+                return addedObjects;
+            }
+        }
+
+        [DataMember]
+        public List<OracleObjectPermissionSet> ModifiedObjects
+        {
+            set
+            {
+                modifiedObjects = value;
+            }
+            get
+            {
+                return modifiedObjects;
+            }
+        }
+
+        [DataMember]
+        public List<string> RemovedObjectNames
+        {
+            set
+            {
+                removedObjectNames = value;
+            }
+            get
+            {
+                return removedObjectNames;
+            }
+        }
+
+        [DataMember]
+        public List<RoleToUserMap> AddedRoleToUserMaps
+        {
+            set
+            {
+                addedRoleToUserMaps = value;
+            }
+            get
+            {
+                return addedRoleToUserMaps;
+            }
+        }
+
+        [DataMember]
+        public List<RoleToUserMap> RemovedRoleToUserMaps
+        {
+            set
+            {
+                removedRoleToUserMaps = value;
+            }
+            get
+            {
+                return removedRoleToUserMaps;
+            }
+        }
+
+        public ModelChangeSet()
+        {
+            addedObjects = new List<OracleObjectPermissionSet>();
+            modifiedObjects = new List<OracleObjectPermissionSet>();
+            removedObjectNames = new List<string>();
+            addedRoleToUserMaps = new List<RoleToUserMap>();
+            removedRoleToUserMaps = new List<RoleToUserMap>();
+        }
+    }
+}
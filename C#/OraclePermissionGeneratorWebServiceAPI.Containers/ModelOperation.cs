@@ -0,0 +1,107 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.Runtime.Serialization;
+
+namespace OraclePermissionGeneratorWebServiceAPI.Containers
+{
+    /// <summary>
+    /// Container class representing a single mutating operation on the data model, to be executed as part of a batch.
+    /// </summary>
+    /// <remarks>The OperationType property holds one of 'AddPermission', 'RemovePermission', 'SetAddFlag' or 'SetRemoveFlag'.  Role and Permission are only used by the permission operations, and FlagValue only by the flag operations.</remarks>
+    [DataContract]
+    public class ModelOperation
+    {
+        private string operationType;
+        private string objectName;
+        private string role;
+        private string permission;
+        private bool flagValue;
+
+        [DataMember]
+        public string OperationType
+        {
+            set
+            {
+                operationType = value;
+            }
+            get
+            {
+                return operationType;
+            }
+        }
+
+        [DataMember]
+        public string ObjectName
+        {
+            set
+            {
+                objectName = value;
+            }
+            get
+            {
+                return objectName;
+            }
+        }
+
+        [DataMember]
+        public string Role
+        {
+            set
+            {
+                role = value;
+            }
+            get
+            {
+                return role;
+            }
+        }
+
+        [DataMember]
+        public string Permission
+        {
+            set
+            {
+                permission = value;
+            }
+            get
+            {
+                return permission;
+            }
+        }
+
+        [DataMember]
+        public bool FlagValue
+        {
+            set
+            {
+                flagValue = value;
+            }
+            get
+            {
+                return flagValue;
+            }
+        }
+
+        public ModelOperation()
+        {
+        }
+    }
+}
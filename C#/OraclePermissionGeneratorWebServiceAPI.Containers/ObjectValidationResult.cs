@@ -0,0 +1,78 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.Runtime.Serialization;
+
+namespace OraclePermissionGeneratorWebServiceAPI.Containers
+{
+    /// <summary>
+    /// Container class holding the results of validating each field of a single candidate Oracle object.
+    /// </summary>
+    [DataContract]
+    public class ObjectValidationResult
+    {
+        private ValidationResult objectNameResult;
+        private ValidationResult objectTypeResult;
+        private ValidationResult objectOwnerResult;
+
+        [DataMember]
+        public ValidationResult ObjectNameResult
+        {
+            set
+            {
+                objectNameResult = value;
+            }
+            get
+            {
+                return objectNameResult;
+            }
+        }
+
+        [DataMember]
+        public ValidationResult ObjectTypeResult
+        {
+            set
+            {
+                objectTypeResult = value;
+            }
+            get
+            {
+                return objectTypeResult;
+            }
+        }
+
+        [DataMember]
+        public ValidationResult ObjectOwnerResult
+        {
+            set
+            {
+                objectOwnerResult = value;
+            }
+            get
+            {
+                return objectOwnerResult;
+            }
+        }
+
+        public ObjectValidationResult()
+        {
+        }
+    }
+}
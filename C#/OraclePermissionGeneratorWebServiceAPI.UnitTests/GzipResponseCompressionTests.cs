@@ -0,0 +1,150 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.IO;
+using System.IO.Compression;
+using System.Net;
+using System.ServiceModel;
+using System.ServiceModel.Channels;
+using System.ServiceModel.Description;
+using NUnit.Framework;
+using NMock2;
+using OraclePermissionGeneratorDataInterfaceModel;
+using OraclePermissionGeneratorWebServiceAPI;
+
+namespace OraclePermissionGeneratorWebServiceAPI.UnitTests
+{
+    /// <summary>
+    /// Unit tests for classes OraclePermissionGeneratorWebServiceAPI.GzipResponseCompressionBehavior and OraclePermissionGeneratorWebServiceAPI.GzipMessageEncoder.
+    /// <remarks>Tests the compression of responses by hosting class RestWebServiceApi on the loopback interface, with the Tutorial 2 data model loaded.</remarks>
+    /// </summary>
+    [TestFixture]
+    public class GzipResponseCompressionTests
+    {
+        private const String testUserIdentifier = "tutorial_user@tempuri.org";
+        private const String testSerializedAuthenticationContext = @"{""UserIdentifier"":""" + testUserIdentifier + @"""}";
+        private const String testSerializedTrackingData = @"{""IpV4Address"":[192,168,2,101],""Location"":{""Latitude"":35.6895,""Longitude"":139.6917,""SecondsSinceUpdate"":23}}";
+        private Uri testBaseAddress = new Uri("http://localhost:5011/OraclePermissionGeneratorWebServiceAPI");
+
+        private Mockery mocks;
+        private ITrackingDataLogger mockTrackingDataLogger;
+        private ServiceHost testServiceHost;
+
+        [SetUp]
+        protected void SetUp()
+        {
+            mocks = new Mockery();
+            mockTrackingDataLogger = mocks.NewMock<ITrackingDataLogger>();
+            Stub.On(mockTrackingDataLogger).Method("Log");
+            RestWebServiceApi restApiInstance = new RestWebServiceApi(new Dictionary<string, OraclePermissionGeneratorDataInterfaceLayer>(), mockTrackingDataLogger);
+            restApiInstance.AddUser(testUserIdentifier);
+            restApiInstance.LoadDataModelFromFile(testUserIdentifier, @"..\..\..\Resources\Tutorial 2.xml", @"..\..\..\Resources\ORACLE_PERMISSION_GENERATOR_CONFIG.xsd");
+
+            testServiceHost = new ServiceHost(restApiInstance, testBaseAddress);
+            CustomBinding restBinding = GzipMessageEncodingBindingElement.CreateBinding(new WebHttpBinding());
+            ServiceEndpoint restEndpoint = testServiceHost.AddServiceEndpoint(typeof(IRestWebServiceApi), restBinding, "REST");
+            restEndpoint.Behaviors.Add(new WebHttpBehavior());
+            restEndpoint.Behaviors.Add(new GzipResponseCompressionBehavior());
+            testServiceHost.Description.Behaviors.Find<ServiceBehaviorAttribute>().InstanceContextMode = InstanceContextMode.Single;
+            testServiceHost.Open();
+        }
+
+        [TearDown]
+        protected void TearDown()
+        {
+            testServiceHost.Close();
+        }
+
+        [Test]
+        public void AcceptsGzip()
+        {
+            Assert.IsTrue(GzipResponseCompressionBehavior.AcceptsGzip("gzip"));
+            Assert.IsTrue(GzipResponseCompressionBehavior.AcceptsGzip("gzip, deflate"));
+            Assert.IsTrue(GzipResponseCompressionBehavior.AcceptsGzip("deflate, GZIP;q=0.5"));
+            Assert.IsTrue(GzipResponseCompressionBehavior.AcceptsGzip("*"));
+            Assert.IsFalse(GzipResponseCompressionBehavior.AcceptsGzip(null));
+            Assert.IsFalse(GzipResponseCompressionBehavior.AcceptsGzip(""));
+            Assert.IsFalse(GzipResponseCompressionBehavior.AcceptsGzip("deflate"));
+            Assert.IsFalse(GzipResponseCompressionBehavior.AcceptsGzip("gzip;q=0"));
+        }
+
+        [Test]
+        public void GetObjectsAcceptEncodingGzip()
+        {
+            String uncompressedBody;
+            Int64 uncompressedLength;
+            using (HttpWebResponse response = SendGetObjectsRequest(null))
+            using (MemoryStream bodyStream = new MemoryStream())
+            {
+                Assert.AreEqual(HttpStatusCode.OK, response.StatusCode);
+                Assert.IsNull(response.Headers[HttpResponseHeader.ContentEncoding]);
+                response.GetResponseStream().CopyTo(bodyStream);
+                uncompressedLength = bodyStream.Length;
+                uncompressedBody = Encoding.UTF8.GetString(bodyStream.ToArray());
+            }
+
+            using (HttpWebResponse response = SendGetObjectsRequest("gzip, deflate"))
+            using (MemoryStream compressedStream = new MemoryStream())
+            using (MemoryStream decompressedStream = new MemoryStream())
+            {
+                Assert.AreEqual(HttpStatusCode.OK, response.StatusCode);
+                Assert.AreEqual("gzip", response.Headers[HttpResponseHeader.ContentEncoding]);
+                response.GetResponseStream().CopyTo(compressedStream);
+                compressedStream.Position = 0;
+                using (GZipStream gzipStream = new GZipStream(compressedStream, CompressionMode.Decompress, true))
+                {
+                    gzipStream.CopyTo(decompressedStream);
+                }
+
+                Assert.AreEqual(uncompressedBody, Encoding.UTF8.GetString(decompressedStream.ToArray()));
+                Assert.Less(compressedStream.Length, uncompressedLength);
+            }
+        }
+
+        [Test]
+        public void GetObjectsAcceptEncodingGzipNotAcceptable()
+        {
+            using (HttpWebResponse response = SendGetObjectsRequest("gzip;q=0, deflate"))
+            {
+                Assert.AreEqual(HttpStatusCode.OK, response.StatusCode);
+                Assert.IsNull(response.Headers[HttpResponseHeader.ContentEncoding]);
+            }
+        }
+
+        /// <summary>
+        /// Sends a 'GET Objects' request to the hosted service, without automatically decompressing the response.
+        /// </summary>
+        /// <param name="acceptEncoding">The value of the 'Accept-Encoding' header to send, or null if the header should not be sent.</param>
+        /// <returns>The response.</returns>
+        private HttpWebResponse SendGetObjectsRequest(String acceptEncoding)
+        {
+            String url = testBaseAddress.ToString() + "/REST/Objects?authenticationContext=" + Uri.EscapeDataString(testSerializedAuthenticationContext) + "&trackingData=" + Uri.EscapeDataString(testSerializedTrackingData);
+            HttpWebRequest request = (HttpWebRequest)WebRequest.Create(url);
+            request.Method = "GET";
+            request.AutomaticDecompression = DecompressionMethods.None;
+            if (acceptEncoding != null)
+            {
+                request.Headers[HttpRequestHeader.AcceptEncoding] = acceptEncoding;
+            }
+
+            return (HttpWebResponse)request.GetResponse();
+        }
+    }
+}
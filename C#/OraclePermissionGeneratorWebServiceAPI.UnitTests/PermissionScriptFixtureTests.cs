@@ -0,0 +1,114 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.IO;
+using NUnit.Framework;
+using NMock2;
+using OraclePermissionGeneratorDataInterfaceModel;
+using OraclePermissionGeneratorWebServiceAPI;
+
+namespace OraclePermissionGeneratorWebServiceAPI.UnitTests
+{
+    /// <summary>
+    /// Verifies the scripts in the Resources\Scripts folder against the scripts generated by class OraclePermissionGeneratorWebServiceAPI.SoapWebServiceApi with the Tutorial 2 data model loaded.
+    /// <remarks>The Android client's ScriptGenerator class generates scripts locally, and its unit tests compare its output against the same files.</remarks>
+    /// </summary>
+    [TestFixture]
+    public class PermissionScriptFixtureTests
+    {
+        private const String testUserIdentifier = "tutorial_user@tempuri.org";
+        private const String testSerializedAuthenticationContext = @"{""UserIdentifier"":""" + testUserIdentifier + @"""}";
+        private const String testSerializedTrackingData = @"{""IpV4Address"":[192,168,2,101],""Location"":{""Latitude"":35.6895,""Longitude"":139.6917,""SecondsSinceUpdate"":23}}";
+        private const String scriptFixturePath = @"..\..\..\Resources\Scripts\";
+
+        private Mockery mocks;
+        private ITrackingDataLogger mockTrackingDataLogger;
+        private SoapWebServiceApi testSoapWebServiceApi;
+
+        [SetUp]
+        protected void SetUp()
+        {
+            mocks = new Mockery();
+            mockTrackingDataLogger = mocks.NewMock<ITrackingDataLogger>();
+            Stub.On(mockTrackingDataLogger).Method("Log");
+            testSoapWebServiceApi = new SoapWebServiceApi(new Dictionary<string, OraclePermissionGeneratorDataInterfaceLayer>(), mockTrackingDataLogger);
+            testSoapWebServiceApi.AddUser(testUserIdentifier);
+            testSoapWebServiceApi.LoadDataModelFromFile(testUserIdentifier, @"..\..\..\Resources\Tutorial 2.xml", @"..\..\..\Resources\ORACLE_PERMISSION_GENERATOR_CONFIG.xsd");
+        }
+
+        [Test]
+        public void CreatePrivilegeScriptRollout()
+        {
+            String privilegeScript = testSoapWebServiceApi.CreatePrivilegeScript("Rollout", false, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            Assert.AreEqual(ReadScriptFixture("Tutorial 2 Privilege Rollout.sql"), privilegeScript);
+        }
+
+        [Test]
+        public void CreatePrivilegeScriptRolloutWithRevokeStatements()
+        {
+            String privilegeScript = testSoapWebServiceApi.CreatePrivilegeScript("Rollout", true, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            Assert.AreEqual(ReadScriptFixture("Tutorial 2 Privilege Rollout Revoke.sql"), privilegeScript);
+        }
+
+        [Test]
+        public void CreatePrivilegeScriptRollback()
+        {
+            String privilegeScript = testSoapWebServiceApi.CreatePrivilegeScript("Rollback", false, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            Assert.AreEqual(ReadScriptFixture("Tutorial 2 Privilege Rollback.sql"), privilegeScript);
+        }
+
+        [Test]
+        public void CreatePrivilegeScriptRollbackWithRevokeStatements()
+        {
+            String privilegeScript = testSoapWebServiceApi.CreatePrivilegeScript("Rollback", true, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            Assert.AreEqual(ReadScriptFixture("Tutorial 2 Privilege Rollback Revoke.sql"), privilegeScript);
+        }
+
+        [Test]
+        public void CreateSynonymScriptRollout()
+        {
+            String synonymScript = testSoapWebServiceApi.CreateSynonymScript("Rollout", testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            Assert.AreEqual(ReadScriptFixture("Tutorial 2 Synonym Rollout.sql"), synonymScript);
+        }
+
+        [Test]
+        public void CreateSynonymScriptRollback()
+        {
+            String synonymScript = testSoapWebServiceApi.CreateSynonymScript("Rollback", testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            Assert.AreEqual(ReadScriptFixture("Tutorial 2 Synonym Rollback.sql"), synonymScript);
+        }
+
+        /// <summary>
+        /// Reads a script from the Resources\Scripts folder.
+        /// </summary>
+        /// <param name="fileName">The name of the script file.</param>
+        /// <returns>The contents of the script file, including line separators.</returns>
+        private String ReadScriptFixture(String fileName)
+        {
+            return File.ReadAllText(scriptFixturePath + fileName);
+        }
+    }
+}
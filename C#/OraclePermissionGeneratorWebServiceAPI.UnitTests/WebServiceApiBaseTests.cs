@@ -349,6 +349,57 @@ public void CreatePrivilegeScriptLoggingTest()
             mocks.VerifyAllExpectationsHaveBeenMet();
         }
 
+        [Test]
+        public void ExecuteBatchLoggingTest()
+        {
+            SetDataLoggingExpectations("AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, objectPermissions)");
+            SetDataLoggingExpectations("ExecuteBatch(operations)");
+
+            List<ModelOperation> operations = new List<ModelOperation>();
+            ModelOperation setAddFlagOperation = new ModelOperation();
+            setAddFlagOperation.OperationType = "SetAddFlag";
+            setAddFlagOperation.ObjectName = "ORDER_STATUSES";
+            setAddFlagOperation.FlagValue = false;
+            operations.Add(setAddFlagOperation);
+            ModelOperation invalidOperation = new ModelOperation();
+            invalidOperation.OperationType = "InvalidOperation";
+            invalidOperation.ObjectName = "ORDER_STATUSES";
+            operations.Add(invalidOperation);
+
+            testSoapWebServiceApi.AddObjectPermissionSet("ORDER_STATUSES", "Table", "XYZON", true, false, new List<RoleToPermissionMap>(), testSerializedAuthenticationContext, testSerializedTrackingData);
+            List<ModelOperationResult> results = testSoapWebServiceApi.ExecuteBatch(operations, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            mocks.VerifyAllExpectationsHaveBeenMet();
+            Assert.AreEqual(2, results.Count);
+            Assert.AreEqual(true, results[0].Success);
+            Assert.AreEqual(false, results[1].Success);
+            Assert.AreEqual("The string 'InvalidOperation' is not a valid operation type.", results[1].ErrorMessage);
+        }
+
+        [Test]
+        public void ValidateEntitiesLoggingTest()
+        {
+            SetDataLoggingExpectations("ValidateEntities(objects, roleToUserMaps)");
+
+            List<OracleObjectPermissionSet> objects = new List<OracleObjectPermissionSet>();
+            OracleObjectPermissionSet candidateObject = new OracleObjectPermissionSet();
+            candidateObject.ObjectName = "ORDER_STATUSES";
+            candidateObject.ObjectType = "Table";
+            candidateObject.ObjectOwner = "XYZON";
+            objects.Add(candidateObject);
+            List<RoleToUserMap> roleToUserMaps = new List<RoleToUserMap>();
+            RoleToUserMap candidateRoleToUserMap = new RoleToUserMap();
+            candidateRoleToUserMap.Role = "XYZON_READ_ROLE";
+            candidateRoleToUserMap.User = "XYZON_READ_USER";
+            roleToUserMaps.Add(candidateRoleToUserMap);
+
+            EntityValidationResults results = testSoapWebServiceApi.ValidateEntities(objects, roleToUserMaps, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            mocks.VerifyAllExpectationsHaveBeenMet();
+            Assert.AreEqual(1, results.ObjectResults.Count);
+            Assert.AreEqual(1, results.RoleToUserMapResults.Count);
+        }
+
         [Test]
         public void CreateSynonymScriptLoggingTest()
         {
@@ -359,6 +410,77 @@ public void CreateSynonymScriptLoggingTest()
             mocks.VerifyAllExpectationsHaveBeenMet();
         }
 
+        [Test]
+        public void GetChangesSinceLoggingTest()
+        {
+            SetDataLoggingExpectations("GetChangesSince(modelVersion)");
+
+            testSoapWebServiceApi.GetChangesSince(0, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            mocks.VerifyAllExpectationsHaveBeenMet();
+        }
+
+        [Test]
+        public void GetChangesSinceUnavailableVersion()
+        {
+            SetDataLoggingExpectations("GetChangesSince(modelVersion)");
+
+            ModelChangeSet changeSet = ((WebServiceApiBase)testSoapWebServiceApi).GetChangesSince(0, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            mocks.VerifyAllExpectationsHaveBeenMet();
+            Assert.AreEqual(true, changeSet.SnapshotRequired);
+            Assert.AreEqual(0, changeSet.AddedObjects.Count);
+            Assert.AreEqual(0, changeSet.ModifiedObjects.Count);
+            Assert.AreEqual(0, changeSet.RemovedObjectNames.Count);
+        }
+
+        [Test]
+        public void GetChangesSince()
+        {
+            SetDataLoggingExpectations("GetChangesSince(modelVersion)");
+            SetDataLoggingExpectations("AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, objectPermissions)");
+            SetDataLoggingExpectations("AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, objectPermissions)");
+            SetDataLoggingExpectations("GetChangesSince(modelVersion)");
+            SetDataLoggingExpectations("SetAddFlag(objectName, addFlagValue)");
+            SetDataLoggingExpectations("RemoveObjectPermissionSet(objectName)");
+            SetDataLoggingExpectations("AddRoleToUserMap(role, user)");
+            SetDataLoggingExpectations("GetChangesSince(modelVersion)");
+
+            WebServiceApiBase testWebServiceApi = testSoapWebServiceApi;
+            Int64 initialVersion = testWebServiceApi.GetChangesSince(0, testSerializedAuthenticationContext, testSerializedTrackingData).ModelVersion;
+            testWebServiceApi.AddObjectPermissionSet("ORDER_STATUSES", "Table", "XYZON", true, false, new List<RoleToPermissionMap>(), testSerializedAuthenticationContext, testSerializedTrackingData);
+            testWebServiceApi.AddObjectPermissionSet("ORDER_DETAILS", "Table", "XYZON", true, false, new List<RoleToPermissionMap>(), testSerializedAuthenticationContext, testSerializedTrackingData);
+            ModelChangeSet firstChangeSet = testWebServiceApi.GetChangesSince(initialVersion, testSerializedAuthenticationContext, testSerializedTrackingData);
+            testWebServiceApi.SetAddFlag("ORDER_STATUSES", false, testSerializedAuthenticationContext, testSerializedTrackingData);
+            testWebServiceApi.RemoveObjectPermissionSet("ORDER_DETAILS", testSerializedAuthenticationContext, testSerializedTrackingData);
+            testWebServiceApi.AddRoleToUserMap("XYZON_READ_ROLE", "XYZON_READ_USER", testSerializedAuthenticationContext, testSerializedTrackingData);
+            ModelChangeSet secondChangeSet = testWebServiceApi.GetChangesSince(firstChangeSet.ModelVersion, testSerializedAuthenticationContext, testSerializedTrackingData);
+
+            mocks.VerifyAllExpectationsHaveBeenMet();
+            Assert.AreEqual(false, firstChangeSet.SnapshotRequired);
+            Assert.AreEqual(initialVersion + 2, firstChangeSet.ModelVersion);
+            Assert.AreEqual(2, firstChangeSet.AddedObjects.Count);
+            List<String> addedObjectNames = new List<String>();
+            foreach (OracleObjectPermissionSet currentObject in firstChangeSet.AddedObjects)
+            {
+                addedObjectNames.Add(currentObject.ObjectName);
+            }
+            Assert.IsTrue(addedObjectNames.Contains("ORDER_STATUSES"));
+            Assert.IsTrue(addedObjectNames.Contains("ORDER_DETAILS"));
+            Assert.AreEqual(false, secondChangeSet.SnapshotRequired);
+            Assert.AreEqual(initialVersion + 5, secondChangeSet.ModelVersion);
+            Assert.AreEqual(0, secondChangeSet.AddedObjects.Count);
+            Assert.AreEqual(1, secondChangeSet.ModifiedObjects.Count);
+            Assert.AreEqual("ORDER_STATUSES", secondChangeSet.ModifiedObjects[0].ObjectName);
+            Assert.AreEqual(false, secondChangeSet.ModifiedObjects[0].AddFlag);
+            Assert.AreEqual(1, secondChangeSet.RemovedObjectNames.Count);
+            Assert.AreEqual("ORDER_DETAILS", secondChangeSet.RemovedObjectNames[0]);
+            Assert.AreEqual(1, secondChangeSet.AddedRoleToUserMaps.Count);
+            Assert.AreEqual("XYZON_READ_ROLE", secondChangeSet.AddedRoleToUserMaps[0].Role);
+            Assert.AreEqual("XYZON_READ_USER", secondChangeSet.AddedRoleToUserMaps[0].User);
+            Assert.AreEqual(0, secondChangeSet.RemovedRoleToUserMaps.Count);
+        }
+
         /// <summary>
         /// Calls the NMock2.Expect() method to setup expectations for calls to the Log() method on member mockTrackingDataLogger.
         /// </summary>
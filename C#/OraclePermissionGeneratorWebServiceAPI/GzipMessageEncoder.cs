@@ -0,0 +1,167 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.IO;
+using System.IO.Compression;
+using System.Net;
+using System.ServiceModel.Channels;
+
+namespace OraclePermissionGeneratorWebServiceAPI
+{
+    /// <summary>
+    /// Message encoder which wraps another encoder, and gzip compresses messages written by that encoder if the 'Content-Encoding' header of the message's HttpResponseMessageProperty is set to 'gzip'.
+    /// </summary>
+    /// <remarks>The 'Content-Encoding' header is set by class GzipResponseCompressionBehavior, for replies to requests which accept gzip encoding.  Messages read by the encoder are passed unaltered to the wrapped encoder.</remarks>
+    public class GzipMessageEncoder : MessageEncoder
+    {
+        private const String gzipEncoding = "gzip";
+
+        private MessageEncoder innerEncoder;
+
+        /// <summary>
+        /// Initialises a new instance of the OraclePermissionGeneratorWebServiceAPI.GzipMessageEncoder class.
+        /// </summary>
+        /// <param name="innerEncoder">The encoder to wrap.</param>
+        public GzipMessageEncoder(MessageEncoder innerEncoder)
+        {
+            if (innerEncoder == null)
+            {
+                throw new ArgumentNullException("innerEncoder", "Parameter 'innerEncoder' cannot be null.");
+            }
+
+            this.innerEncoder = innerEncoder;
+        }
+
+        /// <summary>
+        /// The content type produced by the wrapped encoder.
+        /// </summary>
+        public override string ContentType
+        {
+            get
+            {
+                return innerEncoder.ContentType;
+            }
+        }
+
+        /// <summary>
+        /// The media type produced by the wrapped encoder.
+        /// </summary>
+        public override string MediaType
+        {
+            get
+            {
+                return innerEncoder.MediaType;
+            }
+        }
+
+        /// <summary>
+        /// The message version of the wrapped encoder.
+        /// </summary>
+        public override MessageVersion MessageVersion
+        {
+            get
+            {
+                return innerEncoder.MessageVersion;
+            }
+        }
+
+        public override bool IsContentTypeSupported(string contentType)
+        {
+            return innerEncoder.IsContentTypeSupported(contentType);
+        }
+
+        public override T GetProperty<T>()
+        {
+            return innerEncoder.GetProperty<T>();
+        }
+
+        public override Message ReadMessage(ArraySegment<byte> buffer, BufferManager bufferManager, string contentType)
+        {
+            return innerEncoder.ReadMessage(buffer, bufferManager, contentType);
+        }
+
+        public override Message ReadMessage(Stream stream, int maxSizeOfHeaders, string contentType)
+        {
+            return innerEncoder.ReadMessage(stream, maxSizeOfHeaders, contentType);
+        }
+
+        public override ArraySegment<byte> WriteMessage(Message message, int maxMessageSize, BufferManager bufferManager, int messageOffset)
+        {
+            if (IsGzipEncoded(message) == false)
+            {
+                return innerEncoder.WriteMessage(message, maxMessageSize, bufferManager, messageOffset);
+            }
+
+            ArraySegment<byte> uncompressedBuffer = innerEncoder.WriteMessage(message, maxMessageSize, bufferManager, 0);
+            try
+            {
+                using (MemoryStream compressedStream = new MemoryStream())
+                {
+                    using (GZipStream gzipStream = new GZipStream(compressedStream, CompressionMode.Compress, true))
+                    {
+                        gzipStream.Write(uncompressedBuffer.Array, uncompressedBuffer.Offset, uncompressedBuffer.Count);
+                    }
+
+                    Int32 compressedLength = (Int32)compressedStream.Length;
+                    Byte[] compressedBuffer = bufferManager.TakeBuffer(messageOffset + compressedLength);
+                    Array.Copy(compressedStream.GetBuffer(), 0, compressedBuffer, messageOffset, compressedLength);
+                    return new ArraySegment<byte>(compressedBuffer, messageOffset, compressedLength);
+                }
+            }
+            finally
+            {
+                bufferManager.ReturnBuffer(uncompressedBuffer.Array);
+            }
+        }
+
+        public override void WriteMessage(Message message, Stream stream)
+        {
+            if (IsGzipEncoded(message) == false)
+            {
+                innerEncoder.WriteMessage(message, stream);
+            }
+            else
+            {
+                // Leave the transport stream open, as it is owned by the caller
+                using (GZipStream gzipStream = new GZipStream(stream, CompressionMode.Compress, true))
+                {
+                    innerEncoder.WriteMessage(message, gzipStream);
+                }
+            }
+        }
+
+        /// <summary>
+        /// Returns true if the 'Content-Encoding' header of the HttpResponseMessageProperty of the specified message is set to 'gzip'.
+        /// </summary>
+        /// <param name="message">The message.</param>
+        /// <returns>Whether the message should be gzip compressed.</returns>
+        private bool IsGzipEncoded(Message message)
+        {
+            Object responseProperty;
+            if (message.Properties.TryGetValue(HttpResponseMessageProperty.Name, out responseProperty) == false)
+            {
+                return false;
+            }
+
+            String contentEncoding = ((HttpResponseMessageProperty)responseProperty).Headers[HttpResponseHeader.ContentEncoding];
+            return String.Equals(contentEncoding, gzipEncoding, StringComparison.OrdinalIgnoreCase);
+        }
+    }
+}
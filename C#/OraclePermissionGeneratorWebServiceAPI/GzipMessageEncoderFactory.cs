@@ -0,0 +1,70 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.ServiceModel.Channels;
+
+namespace OraclePermissionGeneratorWebServiceAPI
+{
+    /// <summary>
+    /// Message encoder factory which creates GzipMessageEncoder instances wrapping the encoders of another factory.
+    /// </summary>
+    public class GzipMessageEncoderFactory : MessageEncoderFactory
+    {
+        private MessageEncoderFactory innerFactory;
+        private GzipMessageEncoder encoder;
+
+        /// <summary>
+        /// Initialises a new instance of the OraclePermissionGeneratorWebServiceAPI.GzipMessageEncoderFactory class.
+        /// </summary>
+        /// <param name="innerFactory">The factory which creates the encoders to wrap.</param>
+        public GzipMessageEncoderFactory(MessageEncoderFactory innerFactory)
+        {
+            if (innerFactory == null)
+            {
+                throw new ArgumentNullException("innerFactory", "Parameter 'innerFactory' cannot be null.");
+            }
+
+            this.innerFactory = innerFactory;
+            encoder = new GzipMessageEncoder(innerFactory.Encoder);
+        }
+
+        /// <summary>
+        /// The encoder created by the factory.
+        /// </summary>
+        public override MessageEncoder Encoder
+        {
+            get
+            {
+                return encoder;
+            }
+        }
+
+        /// <summary>
+        /// The message version of the wrapped factory.
+        /// </summary>
+        public override MessageVersion MessageVersion
+        {
+            get
+            {
+                return innerFactory.MessageVersion;
+            }
+        }
+    }
+}
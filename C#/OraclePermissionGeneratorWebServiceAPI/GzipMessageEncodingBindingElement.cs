@@ -0,0 +1,117 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.ServiceModel.Channels;
+
+namespace OraclePermissionGeneratorWebServiceAPI
+{
+    /// <summary>
+    /// Binding element which wraps the encoder of another message encoding binding element in a GzipMessageEncoder, so that replies marked with a 'Content-Encoding: gzip' header by class GzipResponseCompressionBehavior are compressed.
+    /// </summary>
+    public class GzipMessageEncodingBindingElement : MessageEncodingBindingElement
+    {
+        private MessageEncodingBindingElement innerBindingElement;
+
+        /// <summary>
+        /// Initialises a new instance of the OraclePermissionGeneratorWebServiceAPI.GzipMessageEncodingBindingElement class.
+        /// </summary>
+        /// <param name="innerBindingElement">The binding element whose encoder should be wrapped.</param>
+        public GzipMessageEncodingBindingElement(MessageEncodingBindingElement innerBindingElement)
+        {
+            if (innerBindingElement == null)
+            {
+                throw new ArgumentNullException("innerBindingElement", "Parameter 'innerBindingElement' cannot be null.");
+            }
+
+            this.innerBindingElement = innerBindingElement;
+        }
+
+        /// <summary>
+        /// Creates a custom binding consisting of the binding elements of the specified binding, with its message encoding binding element wrapped in a GzipMessageEncodingBindingElement.
+        /// </summary>
+        /// <param name="binding">The binding to create the custom binding from (e.g. a WebHttpBinding).</param>
+        /// <returns>The custom binding.</returns>
+        public static CustomBinding CreateBinding(Binding binding)
+        {
+            BindingElementCollection bindingElements = binding.CreateBindingElements();
+            MessageEncodingBindingElement encodingBindingElement = bindingElements.Find<MessageEncodingBindingElement>();
+            if (encodingBindingElement == null)
+            {
+                throw new ArgumentException("Parameter 'binding' does not contain a message encoding binding element.", "binding");
+            }
+            bindingElements[bindingElements.IndexOf(encodingBindingElement)] = new GzipMessageEncodingBindingElement(encodingBindingElement);
+
+            return new CustomBinding(bindingElements);
+        }
+
+        /// <summary>
+        /// The message version of the wrapped binding element.
+        /// </summary>
+        public override MessageVersion MessageVersion
+        {
+            get
+            {
+                return innerBindingElement.MessageVersion;
+            }
+            set
+            {
+                innerBindingElement.MessageVersion = value;
+            }
+        }
+
+        public override MessageEncoderFactory CreateMessageEncoderFactory()
+        {
+            return new GzipMessageEncoderFactory(innerBindingElement.CreateMessageEncoderFactory());
+        }
+
+        public override BindingElement Clone()
+        {
+            return new GzipMessageEncodingBindingElement((MessageEncodingBindingElement)innerBindingElement.Clone());
+        }
+
+        public override T GetProperty<T>(BindingContext context)
+        {
+            T property = innerBindingElement.GetProperty<T>(context);
+            if (property != null)
+            {
+                return property;
+            }
+            return context.GetInnerProperty<T>();
+        }
+
+        public override IChannelFactory<TChannel> BuildChannelFactory<TChannel>(BindingContext context)
+        {
+            context.BindingParameters.Add(this);
+            return context.BuildInnerChannelFactory<TChannel>();
+        }
+
+        public override IChannelListener<TChannel> BuildChannelListener<TChannel>(BindingContext context)
+        {
+            context.BindingParameters.Add(this);
+            return context.BuildInnerChannelListener<TChannel>();
+        }
+
+        public override bool CanBuildChannelListener<TChannel>(BindingContext context)
+        {
+            context.BindingParameters.Add(this);
+            return context.CanBuildInnerChannelListener<TChannel>();
+        }
+    }
+}
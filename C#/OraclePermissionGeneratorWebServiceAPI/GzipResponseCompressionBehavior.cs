@@ -0,0 +1,146 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.Net;
+using System.ServiceModel;
+using System.ServiceModel.Channels;
+using System.ServiceModel.Description;
+using System.ServiceModel.Dispatcher;
+
+namespace OraclePermissionGeneratorWebServiceAPI
+{
+    /// <summary>
+    /// Endpoint behavior which sets a 'Content-Encoding: gzip' header on replies to requests whose 'Accept-Encoding' header accepts gzip encoding.
+    /// </summary>
+    /// <remarks>The reply body is compressed by a GzipMessageEncoder, so the endpoint binding must include a GzipMessageEncodingBindingElement (see method GzipMessageEncodingBindingElement.CreateBinding()).</remarks>
+    public class GzipResponseCompressionBehavior : IEndpointBehavior, IDispatchMessageInspector
+    {
+        private const String gzipEncoding = "gzip";
+
+        /// <summary>
+        /// Initialises a new instance of the OraclePermissionGeneratorWebServiceAPI.GzipResponseCompressionBehavior class.
+        /// </summary>
+        public GzipResponseCompressionBehavior()
+        {
+        }
+
+        /// <summary>
+        /// Returns true if the specified 'Accept-Encoding' header value accepts gzip encoding.
+        /// </summary>
+        /// <param name="acceptEncoding">The value of the 'Accept-Encoding' header (e.g. 'gzip, deflate').</param>
+        /// <returns>Whether gzip encoding is accepted.</returns>
+        public static bool AcceptsGzip(String acceptEncoding)
+        {
+            if (acceptEncoding == null)
+            {
+                return false;
+            }
+
+            foreach (String currentCoding in acceptEncoding.Split(','))
+            {
+                String[] codingParts = currentCoding.Split(';');
+                String codingName = codingParts[0].Trim();
+                if (codingName.Equals(gzipEncoding, StringComparison.OrdinalIgnoreCase) == true || codingName == "*")
+                {
+                    // A quality value of 0 means the coding is not acceptable
+                    for (Int32 i = 1; i < codingParts.Length; i++)
+                    {
+                        String parameter = codingParts[i].Trim();
+                        Double quality;
+                        if (parameter.StartsWith("q=", StringComparison.OrdinalIgnoreCase) == true && Double.TryParse(parameter.Substring(2), System.Globalization.NumberStyles.Float, System.Globalization.CultureInfo.InvariantCulture, out quality) == true && quality == 0)
+                        {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        #region IEndpointBehavior Members
+
+        public void AddBindingParameters(ServiceEndpoint endpoint, BindingParameterCollection bindingParameters)
+        {
+        }
+
+        public void ApplyClientBehavior(ServiceEndpoint endpoint, ClientRuntime clientRuntime)
+        {
+        }
+
+        public void ApplyDispatchBehavior(ServiceEndpoint endpoint, EndpointDispatcher endpointDispatcher)
+        {
+            endpointDispatcher.DispatchRuntime.MessageInspectors.Add(this);
+        }
+
+        public void Validate(ServiceEndpoint endpoint)
+        {
+            if (endpoint.Binding.CreateBindingElements().Find<GzipMessageEncodingBindingElement>() == null)
+            {
+                throw new InvalidOperationException("The binding of endpoint '" + endpoint.Address + "' does not contain a GzipMessageEncodingBindingElement.");
+            }
+        }
+
+        #endregion
+
+        #region IDispatchMessageInspector Members
+
+        public object AfterReceiveRequest(ref Message request, IClientChannel channel, InstanceContext instanceContext)
+        {
+            Object requestProperty;
+            if (request.Properties.TryGetValue(HttpRequestMessageProperty.Name, out requestProperty) == false)
+            {
+                return false;
+            }
+
+            // The returned value is passed as the correlation state to BeforeSendReply()
+            return AcceptsGzip(((HttpRequestMessageProperty)requestProperty).Headers[HttpRequestHeader.AcceptEncoding]);
+        }
+
+        public void BeforeSendReply(ref Message reply, object correlationState)
+        {
+            if (reply == null || reply.IsEmpty == true || (bool)correlationState == false)
+            {
+                return;
+            }
+
+            HttpResponseMessageProperty responseProperty;
+            Object existingProperty;
+            if (reply.Properties.TryGetValue(HttpResponseMessageProperty.Name, out existingProperty) == true)
+            {
+                responseProperty = (HttpResponseMessageProperty)existingProperty;
+            }
+            else
+            {
+                responseProperty = new HttpResponseMessageProperty();
+                reply.Properties.Add(HttpResponseMessageProperty.Name, responseProperty);
+            }
+            // Replies without a body (e.g. '304 Not Modified') are not compressed
+            if (responseProperty.SuppressEntityBody == true || responseProperty.StatusCode == HttpStatusCode.NotModified)
+            {
+                return;
+            }
+            responseProperty.Headers[HttpResponseHeader.ContentEncoding] = gzipEncoding;
+        }
+
+        #endregion
+    }
+}
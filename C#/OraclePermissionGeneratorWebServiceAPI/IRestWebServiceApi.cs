@@ -147,5 +147,20 @@ public interface IRestWebServiceApi
         [OperationContract]
         [WebGet(UriTemplate = "/SynonymScripts/{scriptType}?authenticationContext={authenticationContext}&trackingData={trackingData}", RequestFormat = WebMessageFormat.Json, ResponseFormat = WebMessageFormat.Json)]
         String CreateSynonymScript(String scriptType, String authenticationContext, String trackingData);
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.ExecuteBatch(System.Collections.Generic.List{OraclePermissionGeneratorWebServiceAPI.Containers.ModelOperation},System.String,System.String)"]/*'/>
+        [OperationContract]
+        [WebInvoke(UriTemplate = "Batches?authenticationContext={authenticationContext}&trackingData={trackingData}", RequestFormat = WebMessageFormat.Json, ResponseFormat = WebMessageFormat.Json, Method = "POST", BodyStyle = WebMessageBodyStyle.WrappedRequest)]
+        List<ModelOperationResult> ExecuteBatch(List<ModelOperation> operations, String authenticationContext, String trackingData);
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.ValidateEntities(System.Collections.Generic.List{OraclePermissionGeneratorWebServiceAPI.Containers.OracleObjectPermissionSet},System.Collections.Generic.List{OraclePermissionGeneratorWebServiceAPI.Containers.RoleToUserMap},System.String,System.String)"]/*'/>
+        [OperationContract]
+        [WebInvoke(UriTemplate = "EntityValidations?authenticationContext={authenticationContext}&trackingData={trackingData}", RequestFormat = WebMessageFormat.Json, ResponseFormat = WebMessageFormat.Json, Method = "POST", BodyStyle = WebMessageBodyStyle.WrappedRequest)]
+        EntityValidationResults ValidateEntities(List<Containers.OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, String authenticationContext, String trackingData);
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetChangesSince(System.Int64,System.String,System.String)"]/*'/>
+        [OperationContract]
+        [WebGet(UriTemplate = "Changes?modelVersion={modelVersion}&authenticationContext={authenticationContext}&trackingData={trackingData}", RequestFormat = WebMessageFormat.Json, ResponseFormat = WebMessageFormat.Json)]
+        ModelChangeSet GetChangesSince(Int64 modelVersion, String authenticationContext, String trackingData);
     }
 }
@@ -125,5 +125,17 @@ public interface ISoapWebServiceApi
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.ISoapWebServiceApi.CreateSynonymScript(System.String,System.String,System.String)"]/*'/>
         [OperationContract]
         String CreateSynonymScript(String scriptType, String authenticationContext, String trackingData);
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.ISoapWebServiceApi.ExecuteBatch(System.String,System.String,System.String)"]/*'/>
+        [OperationContract]
+        String ExecuteBatch(String operations, String authenticationContext, String trackingData);
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.ISoapWebServiceApi.ValidateEntities(System.String,System.String,System.String,System.String)"]/*'/>
+        [OperationContract]
+        String ValidateEntities(String objects, String roleToUserMaps, String authenticationContext, String trackingData);
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.ISoapWebServiceApi.GetChangesSince(System.Int64,System.String,System.String)"]/*'/>
+        [OperationContract]
+        String GetChangesSince(Int64 modelVersion, String authenticationContext, String trackingData);
     }
 }
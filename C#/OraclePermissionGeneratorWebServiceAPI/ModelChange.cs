@@ -0,0 +1,80 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+
+namespace OraclePermissionGeneratorWebServiceAPI
+{
+    /// <summary>
+    /// Container class holding a single change recorded in a ModelChangeLog.
+    /// </summary>
+    public class ModelChange
+    {
+        private Int64 modelVersion;
+        private ModelChangeType changeType;
+        private String itemKey;
+
+        /// <summary>
+        /// The version of the data model resulting from the change.
+        /// </summary>
+        public Int64 ModelVersion
+        {
+            get
+            {
+                return modelVersion;
+            }
+        }
+
+        /// <summary>
+        /// The type of the change.
+        /// </summary>
+        public ModelChangeType ChangeType
+        {
+            get
+            {
+                return changeType;
+            }
+        }
+
+        /// <summary>
+        /// Identifies the item which was changed (the object name for object changes, or the role and user for role to user mapping changes).
+        /// </summary>
+        public String ItemKey
+        {
+            get
+            {
+                return itemKey;
+            }
+        }
+
+        /// <summary>
+        /// Initialises a new instance of the OraclePermissionGeneratorWebServiceAPI.ModelChange class.
+        /// </summary>
+        /// <param name="modelVersion">The version of the data model resulting from the change.</param>
+        /// <param name="changeType">The type of the change.</param>
+        /// <param name="itemKey">Identifies the item which was changed.</param>
+        public ModelChange(Int64 modelVersion, ModelChangeType changeType, String itemKey)
+        {
+            this.modelVersion = modelVersion;
+            this.changeType = changeType;
+            this.itemKey = itemKey;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+
+namespace OraclePermissionGeneratorWebServiceAPI
+{
+    /// <summary>
+    /// Records the version of a user's data model, and a bounded history of the changes made to the Oracle objects and role to user mappings in the data model, to allow consumers to retrieve only the changes made since a previous version.
+    /// </summary>
+    /// <remarks>Instances of this class are thread-safe.</remarks>
+    public class ModelChangeLog
+    {
+        private Int64 currentVersion;
+        /// <summary>The version after which all changes are held in the log.</summary>
+        private Int64 earliestAvailableVersion;
+        private int capacity;
+        private Queue<ModelChange> changes;
+        private Object lockObject;
+
+        /// <summary>
+        /// The current version of the data model.
+        /// </summary>
+        public Int64 CurrentVersion
+        {
+            get
+            {
+                lock (lockObject)
+                {
+                    return currentVersion;
+                }
+            }
+        }
+
+        /// <summary>
+        /// Initialises a new instance of the OraclePermissionGeneratorWebServiceAPI.ModelChangeLog class.
+        /// </summary>
+        /// <param name="initialVersion">The initial version of the data model.</param>
+        /// <param name="capacity">The maximum number of changes to hold in the log.  When the log is full, the oldest change is discarded when a new change is recorded.</param>
+        public ModelChangeLog(Int64 initialVersion, int capacity)
+        {
+            if (capacity < 1)
+            {
+                throw new ArgumentException("Parameter 'capacity' must be greater than 0.", "capacity");
+            }
+
+            currentVersion = initialVersion;
+            earliestAvailableVersion = initialVersion;
+            this.capacity = capacity;
+            changes = new Queue<ModelChange>();
+            lockObject = new Object();
+        }
+
+        /// <summary>
+        /// Records a change to an Oracle object or role to user mapping, and increments the version of the data model.
+        /// </summary>
+        /// <param name="changeType">The type of the change.</param>
+        /// <param name="itemKey">Identifies the item which was changed.</param>
+        public void RecordChange(ModelChangeType changeType, String itemKey)
+        {
+            lock (lockObject)
+            {
+                currentVersion++;
+                changes.Enqueue(new ModelChange(currentVersion, changeType, itemKey));
+                while (changes.Count > capacity)
+                {
+                    earliestAvailableVersion = changes.Dequeue().ModelVersion;
+                }
+            }
+        }
+
+        /// <summary>
+        /// Increments the version of the data model without recording a change, for changes which do not affect the Oracle objects or role to user mappings.
+        /// </summary>
+        public void IncrementVersion()
+        {
+            lock (lockObject)
+            {
+                currentVersion++;
+            }
+        }
+
+        /// <summary>
+        /// Discards all recorded changes and increments the version of the data model, for changes which replace the entire data model.
+        /// </summary>
+        public void Clear()
+        {
+            lock (lockObject)
+            {
+                currentVersion++;
+                changes.Clear();
+                earliestAvailableVersion = currentVersion;
+            }
+        }
+
+        /// <summary>
+        /// Returns the changes made since the specified version of the data model.
+        /// </summary>
+        /// <param name="modelVersion">The version of the data model to return the changes since.</param>
+        /// <param name="currentVersion">The current version of the data model, which the returned changes bring the specified version up to.</param>
+        /// <returns>The changes in the order they were made, or null if the changes since the specified version are not held in the log.</returns>
+        public List<ModelChange> GetChangesSince(Int64 modelVersion, out Int64 currentVersion)
+        {
+            lock (lockObject)
+            {
+                currentVersion = this.currentVersion;
+                if (modelVersion < earliestAvailableVersion || modelVersion > this.currentVersion)
+                {
+                    return null;
+                }
+
+                List<ModelChange> returnChanges = new List<ModelChange>();
+                foreach (ModelChange currentChange in changes)
+                {
+                    if (currentChange.ModelVersion > modelVersion)
+                    {
+                        returnChanges.Add(currentChange);
+                    }
+                }
+                return returnChanges;
+            }
+        }
+    }
+}
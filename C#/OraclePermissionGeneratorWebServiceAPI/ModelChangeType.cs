@@ -0,0 +1,41 @@
+﻿/*
+ * Copyright 2015 Alastair Wyse (http://www.oraclepermissiongenerator.net/methodinvocationremotingandroid/)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+
+namespace OraclePermissionGeneratorWebServiceAPI
+{
+    /// <summary>
+    /// The types of change which can be recorded in a ModelChangeLog.
+    /// </summary>
+    public enum ModelChangeType
+    {
+        /// <summary>An Oracle object was added.</summary>
+        ObjectAdded,
+        /// <summary>The flags or permissions of an Oracle object were changed.</summary>
+        ObjectModified,
+        /// <summary>An Oracle object was removed.</summary>
+        ObjectRemoved,
+        /// <summary>A role to user mapping was added.</summary>
+        RoleToUserMapAdded,
+        /// <summary>A role to user mapping was removed.</summary>
+        RoleToUserMapRemoved
+    }
+}
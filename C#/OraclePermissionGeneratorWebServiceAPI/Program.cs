@@ -19,6 +19,7 @@
 using System.Linq;
 using System.Text;
 using System.ServiceModel;
+using System.ServiceModel.Channels;
 using System.ServiceModel.Description;
 using OraclePermissionGeneratorDataInterfaceModel;
 
@@ -66,10 +67,12 @@ static void Main(string[] args)
                     restServiceMetadataBehavior.HttpGetEnabled = true;
                     restServiceMetadataBehavior.MetadataExporter.PolicyVersion = PolicyVersion.Policy15;
                     restServiceHost.Description.Behaviors.Add(restServiceMetadataBehavior);
-                    WebHttpBinding restBinding = new WebHttpBinding();
+                    // Wrap the encoder of the WebHttpBinding so that responses are gzip compressed for clients which accept it
+                    CustomBinding restBinding = GzipMessageEncodingBindingElement.CreateBinding(new WebHttpBinding());
                     ServiceEndpoint restEndpoint = restServiceHost.AddServiceEndpoint(typeof(IRestWebServiceApi), restBinding, restServiceEndpointAddress);
                     WebHttpBehavior restBehavior = new WebHttpBehavior();
                     restEndpoint.Behaviors.Add(restBehavior);
+                    restEndpoint.Behaviors.Add(new GzipResponseCompressionBehavior());
                     restServiceHost.Description.Behaviors.Find<ServiceBehaviorAttribute>().InstanceContextMode = InstanceContextMode.Single;
                     restServiceHost.Description.Behaviors.Find<ServiceDebugBehavior>().IncludeExceptionDetailInFaults = true;
 
@@ -18,6 +18,7 @@
 using System.Collections.Generic;
 using System.Linq;
 using System.Text;
+using System.ServiceModel.Web;
 using OraclePermissionGeneratorDataInterfaceModel;
 using OraclePermissionGeneratorWebServiceAPI.Containers;
 
@@ -28,6 +29,11 @@ namespace OraclePermissionGeneratorWebServiceAPI
     /// </summary>
     public class RestWebServiceApi : WebServiceApiBase, IRestWebServiceApi
     {
+        /// <summary>The name of the HTTP header used to pass the authentication context, as an alternative to the 'authenticationContext' query parameter.</summary>
+        protected const String authenticationContextHeaderName = "X-Authentication-Context";
+        /// <summary>The name of the HTTP header used to pass the tracking data, as an alternative to the 'trackingData' query parameter.</summary>
+        protected const String trackingDataHeaderName = "X-Tracking-Data";
+
         /// <summary>
         /// Initialises a new instance of the OraclePermissionGeneratorWebServiceAPI.RestWebServiceApi class.
         /// </summary>
@@ -50,139 +56,242 @@ public RestWebServiceApi(Dictionary<string, OraclePermissionGeneratorDataInterfa
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetDefaultObjectOwner(System.String,System.String)"]/*'/>
         public override String GetDefaultObjectOwner(String authenticationContext, String trackingData)
         {
-            return base.GetDefaultObjectOwner(authenticationContext, trackingData);
+            return base.GetDefaultObjectOwner(ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.SetDefaultObjectOwner(System.String,System.String,System.String)"]/*'/>
         public override void SetDefaultObjectOwner(String authenticationContext, String trackingData, String defaultObjectOwner)
         {
-            base.SetDefaultObjectOwner(defaultObjectOwner, authenticationContext, trackingData);
+            base.SetDefaultObjectOwner(defaultObjectOwner, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetObjectTypes(System.String,System.String)"]/*'/>
         public override List<String> GetObjectTypes(String authenticationContext, String trackingData)
         {
-            return base.GetObjectTypes(authenticationContext, trackingData);
+            return base.GetObjectTypes(ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetRoles(System.String,System.String)"]/*'/>
         public override List<String> GetRoles(String authenticationContext, String trackingData)
         {
-            return base.GetRoles(authenticationContext, trackingData);
+            return base.GetRoles(ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetPermissions(System.String,System.String,System.String)"]/*'/>
         public override List<String> GetPermissions(String objectType, String authenticationContext, String trackingData)
         {
-            return base.GetPermissions(objectType, authenticationContext, trackingData);
+            return base.GetPermissions(objectType, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetPermissionsForObject(System.String,System.String,System.String,System.String)"]/*'/>
         public override List<String> GetPermissionsForObject(String objectName, String role, String authenticationContext, String trackingData)
         {
-            return base.GetPermissionsForObject(objectName, role, authenticationContext, trackingData);
+            return base.GetPermissionsForObject(objectName, role, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetMasterRoleToUserMapCollection(System.String,System.String)"]/*'/>
         public override List<RoleToUserMap> GetMasterRoleToUserMapCollection(String authenticationContext, String trackingData)
         {
-            return base.GetMasterRoleToUserMapCollection(authenticationContext, trackingData);
+            String resolvedAuthenticationContext = ResolveAuthenticationContext(authenticationContext);
+            String resolvedTrackingData = ResolveTrackingData(trackingData);
+            String entityTag = CheckConditionalRetrieve(resolvedAuthenticationContext, resolvedTrackingData, "GetMasterRoleToUserMapCollection()");
+            List<RoleToUserMap> roleToUserMaps = base.GetMasterRoleToUserMapCollection(resolvedAuthenticationContext, resolvedTrackingData);
+            WebOperationContext.Current.OutgoingResponse.SetETag(entityTag);
+
+            return roleToUserMaps;
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.AddObjectPermissionSet(System.String,System.String,System.String,System.Boolean,System.Boolean,System.Collections.Generic.List{OraclePermissionGeneratorWebServiceAPI.Containers.RoleToPermissionMap},System.String,System.String)"]/*'/>
         public override void AddObjectPermissionSet(String objectName, String objectType, String objectOwner, bool addFlag, bool removeFlag, List<RoleToPermissionMap> objectPermissions, String authenticationContext, String trackingData)
         {
-            base.AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, objectPermissions, authenticationContext, trackingData);
+            base.AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, objectPermissions, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.RemoveObjectPermissionSet(System.String,System.String,System.String)"]/*'/>
         public override void RemoveObjectPermissionSet(String objectName, String authenticationContext, String trackingData)
         {
-            base.RemoveObjectPermissionSet(objectName, authenticationContext, trackingData);
+            base.RemoveObjectPermissionSet(objectName, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.ObjectNameValidate(System.String,System.String,System.String)"]/*'/>
         public override Containers.ValidationResult ObjectNameValidate(String objectName, String authenticationContext, String trackingData)
         {
-            return base.ObjectNameValidate(objectName, authenticationContext, trackingData);
+            return base.ObjectNameValidate(objectName, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.ObjectTypeValidate(System.String,System.String,System.String)"]/*'/>
         public override Containers.ValidationResult ObjectTypeValidate(String objectType, String authenticationContext, String trackingData)
         {
-            return base.ObjectTypeValidate(objectType, authenticationContext, trackingData);
+            return base.ObjectTypeValidate(objectType, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.ObjectOwnerValidate(System.String,System.String,System.String)"]/*'/>
         public override Containers.ValidationResult ObjectOwnerValidate(String objectOwner, String authenticationContext, String trackingData)
         {
-            return base.ObjectOwnerValidate(objectOwner, authenticationContext, trackingData);
+            return base.ObjectOwnerValidate(objectOwner, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetObjects(System.String,System.String)"]/*'/>
         public override List<Containers.OracleObjectPermissionSet> GetObjects(String authenticationContext, String trackingData)
         {
-            return base.GetObjects(authenticationContext, trackingData);
+            String resolvedAuthenticationContext = ResolveAuthenticationContext(authenticationContext);
+            String resolvedTrackingData = ResolveTrackingData(trackingData);
+            String entityTag = CheckConditionalRetrieve(resolvedAuthenticationContext, resolvedTrackingData, "GetObjects()");
+            List<Containers.OracleObjectPermissionSet> objects = base.GetObjects(resolvedAuthenticationContext, resolvedTrackingData);
+            WebOperationContext.Current.OutgoingResponse.SetETag(entityTag);
+
+            return objects;
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.SetAddFlag(System.String,System.Boolean,System.String,System.String)"]/*'/>
         public override void SetAddFlag(String objectName, bool addFlagValue, String authenticationContext, String trackingData)
         {
-            base.SetAddFlag(objectName, addFlagValue, authenticationContext, trackingData);
+            base.SetAddFlag(objectName, addFlagValue, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.SetRemoveFlag(System.String,System.Boolean,System.String,System.String)"]/*'/>
         public override void SetRemoveFlag(String objectName, bool removeFlagValue, String authenticationContext, String trackingData)
         {
-            base.SetRemoveFlag(objectName, removeFlagValue, authenticationContext, trackingData);
+            base.SetRemoveFlag(objectName, removeFlagValue, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.AddPermission(System.String,System.String,System.String,System.String,System.String)"]/*'/>
         public override void AddPermission(String objectName, String role, String permission, String authenticationContext, String trackingData)
         {
-            base.AddPermission(objectName, role, permission, authenticationContext, trackingData);
+            base.AddPermission(objectName, role, permission, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.RemovePermission(System.String,System.String,System.String,System.String,System.String)"]/*'/>
         public override void RemovePermission(String objectName, String role, String permission, String authenticationContext, String trackingData)
         {
-            base.RemovePermission(objectName, role, permission, authenticationContext, trackingData);
+            base.RemovePermission(objectName, role, permission, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.RoleGetReferencingObjects(System.String,System.String,System.String)"]/*'/>
         public override List<String> RoleGetReferencingObjects(String role, String authenticationContext, String trackingData)
         {
-            return base.RoleGetReferencingObjects(role, authenticationContext, trackingData);
+            return base.RoleGetReferencingObjects(role, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.AddRoleToUserMap(System.String,System.String,System.String,System.String)"]/*'/>
         public override void AddRoleToUserMap(String role, String user, String authenticationContext, String trackingData)
         {
-            base.AddRoleToUserMap(role, user, authenticationContext, trackingData);
+            base.AddRoleToUserMap(role, user, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.RemoveRoleToUserMap(System.String,System.String,System.String,System.String)"]/*'/>
         public override void RemoveRoleToUserMap(String role, String user, String authenticationContext, String trackingData)
         {
-            base.RemoveRoleToUserMap(role, user, authenticationContext, trackingData);
+            base.RemoveRoleToUserMap(role, user, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.RoleToUserMapValidate(System.String,System.String,System.String,System.String)"]/*'/>
         public override Containers.ValidationResult RoleToUserMapValidate(String role, String user, String authenticationContext, String trackingData)
         {
-            return base.RoleToUserMapValidate(role, user, authenticationContext, trackingData);
+            return base.RoleToUserMapValidate(role, user, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.CreatePrivilegeScript(System.String,System.Boolean,System.String,System.String)"]/*'/>
         public override String CreatePrivilegeScript(String scriptType, bool generateRevokeStatements, String authenticationContext, String trackingData)
         {
-            return base.CreatePrivilegeScript(scriptType, generateRevokeStatements, authenticationContext, trackingData);
+            return base.CreatePrivilegeScript(scriptType, generateRevokeStatements, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
         }
 
         /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.CreateSynonymScript(System.String,System.String,System.String)"]/*'/>
         public override String CreateSynonymScript(String scriptType, String authenticationContext, String trackingData)
         {
-            return base.CreateSynonymScript(scriptType, authenticationContext, trackingData);
+            return base.CreateSynonymScript(scriptType, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
+        }
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.ExecuteBatch(System.Collections.Generic.List{OraclePermissionGeneratorWebServiceAPI.Containers.ModelOperation},System.String,System.String)"]/*'/>
+        public override List<ModelOperationResult> ExecuteBatch(List<ModelOperation> operations, String authenticationContext, String trackingData)
+        {
+            return base.ExecuteBatch(operations, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
+        }
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.ValidateEntities(System.Collections.Generic.List{OraclePermissionGeneratorWebServiceAPI.Containers.OracleObjectPermissionSet},System.Collections.Generic.List{OraclePermissionGeneratorWebServiceAPI.Containers.RoleToUserMap},System.String,System.String)"]/*'/>
+        public override EntityValidationResults ValidateEntities(List<Containers.OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, String authenticationContext, String trackingData)
+        {
+            return base.ValidateEntities(objects, roleToUserMaps, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
+        }
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.IRestWebServiceApi.GetChangesSince(System.Int64,System.String,System.String)"]/*'/>
+        public override ModelChangeSet GetChangesSince(Int64 modelVersion, String authenticationContext, String trackingData)
+        {
+            return base.GetChangesSince(modelVersion, ResolveAuthenticationContext(authenticationContext), ResolveTrackingData(trackingData));
+        }
+
+        /// <summary>
+        /// Gets the entity tag of the current version of the user's data model, and responds with status 304 (Not Modified) if the entity tag matches the 'If-None-Match' header of the request.
+        /// </summary>
+        /// <param name="authenticationContext">The authentication context of the web service consumer or user.</param>
+        /// <param name="trackingData">Tracking information of the web service consumer or user.</param>
+        /// <param name="methodName">The name of the web service API method that was called, to log with the tracking data if the request is not modified.</param>
+        /// <returns>The entity tag, which should be set on the response if the request is modified.</returns>
+        /// <remarks>The entity tag is retrieved before the data model is read, so that a change to the data model made during the read results in an entity tag which does not match the next request.</remarks>
+        protected String CheckConditionalRetrieve(String authenticationContext, String trackingData, String methodName)
+        {
+            AuthenticationContext deserializedAuthenticationContext = jsonSerializer.DeserializeAuthenticationContext(authenticationContext);
+            ValidateUser(deserializedAuthenticationContext.UserIdentifier);
+            String entityTag = GetModelEntityTag(deserializedAuthenticationContext.UserIdentifier);
+            try
+            {
+                // Throws a WebFaultException with status 304 if the entity tag matches
+                WebOperationContext.Current.IncomingRequest.CheckConditionalRetrieve(entityTag);
+            }
+            catch (WebFaultException)
+            {
+                LogTrackingData(deserializedAuthenticationContext.UserIdentifier, methodName, trackingData);
+                throw;
+            }
+
+            return entityTag;
+        }
+
+        /// <summary>
+        /// Returns the authentication context passed in the query portion of the request URL, or if not included in the query, the authentication context passed in the 'X-Authentication-Context' header of the request.
+        /// </summary>
+        /// <param name="authenticationContext">The authentication context passed in the query portion of the request URL, or null if not included.</param>
+        /// <returns>The authentication context of the web service consumer or user.</returns>
+        /// <remarks>Passing the authentication context and tracking data in headers keeps the URL of GET requests stable, so that responses can be cached against the URL.</remarks>
+        protected String ResolveAuthenticationContext(String authenticationContext)
+        {
+            return ResolveRequestContextValue(authenticationContext, authenticationContextHeaderName);
+        }
+
+        /// <summary>
+        /// Returns the tracking data passed in the query portion of the request URL, or if not included in the query, the tracking data passed in the 'X-Tracking-Data' header of the request.
+        /// </summary>
+        /// <param name="trackingData">The tracking data passed in the query portion of the request URL, or null if not included.</param>
+        /// <returns>Tracking information of the web service consumer or user.</returns>
+        protected String ResolveTrackingData(String trackingData)
+        {
+            return ResolveRequestContextValue(trackingData, trackingDataHeaderName);
+        }
+
+        /// <summary>
+        /// Returns the specified query parameter value if it is set, otherwise the URL decoded value of the specified request header.
+        /// </summary>
+        /// <param name="queryParameterValue">The value of the query parameter.</param>
+        /// <param name="headerName">The name of the header to read if the query parameter is not set.</param>
+        /// <returns>The query parameter value, the decoded header value, or null if neither is set.</returns>
+        private String ResolveRequestContextValue(String queryParameterValue, String headerName)
+        {
+            if (queryParameterValue != null)
+            {
+                return queryParameterValue;
+            }
+            if (WebOperationContext.Current == null)
+            {
+                return null;
+            }
+            String headerValue = WebOperationContext.Current.IncomingRequest.Headers[headerName];
+            if (headerValue == null)
+            {
+                return null;
+            }
+
+            return Uri.UnescapeDataString(headerValue);
         }
     }
 }
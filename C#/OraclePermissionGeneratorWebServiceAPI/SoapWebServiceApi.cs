@@ -202,5 +202,33 @@ public override String CreateSynonymScript(String scriptType, String authenticat
         {
             return base.CreateSynonymScript(scriptType, authenticationContext, trackingData);
         }
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.ISoapWebServiceApi.ExecuteBatch(System.String,System.String,System.String)"]/*'/>
+        public String ExecuteBatch(String operations, String authenticationContext, String trackingData)
+        {
+            // Deserialize parameters
+            List<ModelOperation> deserializedOperations = jsonSerializer.DeserializeModelOperationList(operations);
+
+            List<ModelOperationResult> results = base.ExecuteBatch(deserializedOperations, authenticationContext, trackingData);
+            return jsonSerializer.Serialize(results);
+        }
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.ISoapWebServiceApi.ValidateEntities(System.String,System.String,System.String,System.String)"]/*'/>
+        public String ValidateEntities(String objects, String roleToUserMaps, String authenticationContext, String trackingData)
+        {
+            // Deserialize parameters
+            List<Containers.OracleObjectPermissionSet> deserializedObjects = jsonSerializer.DeserializeOracleObjectPermissionSetList(objects);
+            List<RoleToUserMap> deserializedRoleToUserMaps = jsonSerializer.DeserializeRoleToUserMapList(roleToUserMaps);
+
+            EntityValidationResults results = base.ValidateEntities(deserializedObjects, deserializedRoleToUserMaps, authenticationContext, trackingData);
+            return jsonSerializer.Serialize(results);
+        }
+
+        /// <include file='InterfaceDocumentationComments.xml' path='doc/members/member[@name="M:OraclePermissionGeneratorWebServiceAPI.ISoapWebServiceApi.GetChangesSince(System.Int64,System.String,System.String)"]/*'/>
+        public String GetChangesSince(Int64 modelVersion, String authenticationContext, String trackingData)
+        {
+            ModelChangeSet changeSet = base.GetChangesSince(modelVersion, authenticationContext, trackingData);
+            return jsonSerializer.Serialize(changeSet);
+        }
     }
 }
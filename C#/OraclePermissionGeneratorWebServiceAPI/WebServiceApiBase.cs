@@ -39,6 +39,16 @@ public abstract class WebServiceApiBase
         protected ITrackingDataLogger trackingDataLogger;
         /// <summary>Used to serialize and deserialize container objects to and from JSON.</summary>
         protected ContainerObjectJsonSerializer jsonSerializer;
+        /// <summary>Uniquely identifies this instance, so that entity tags issued by a previous instance (e.g. before the web service was restarted) are not mistaken for entity tags issued by this instance.</summary>
+        protected Guid instanceIdentifier;
+        /// <summary>Maps unique user identifiers to the log of changes made to the user's data model.</summary>
+        protected Dictionary<string, ModelChangeLog> userModelChangeLogs;
+        /// <summary>Lock object for the user model change logs.</summary>
+        protected Object userModelChangeLogsLock;
+        /// <summary>The maximum number of changes to hold in the change log for each user.</summary>
+        protected int modelChangeLogCapacity = 1000;
+        /// <summary>The maximum number of changed objects and role to user mappings to return from GetChangesSince(), above which the consumer is instead told to retrieve the complete lists.</summary>
+        protected int maximumChangeSetSize = 250;
 
         /// <summary>
         /// Initialises a new instance of the OraclePermissionGeneratorWebServiceAPI.WebServiceApiBase class.
@@ -50,6 +60,9 @@ protected WebServiceApiBase(Dictionary<string, OraclePermissionGeneratorDataInte
             containerObjectConverter = new ContainerObjectConverter();
             trackingDataLogger = new NullTrackingDataLogger();
             jsonSerializer = new ContainerObjectJsonSerializer();
+            instanceIdentifier = Guid.NewGuid();
+            userModelChangeLogs = new Dictionary<string, ModelChangeLog>();
+            userModelChangeLogsLock = new Object();
         }
 
         /// <summary>
@@ -92,6 +105,11 @@ public void AddUser(String userIdentifier)
             userDataInterfaceLayer.AddObjectTypeToPermissionMap("Stored Procedure", "EXECUTE");
 
             userDataRepository.Add(userIdentifier, userDataInterfaceLayer);
+            lock (userModelChangeLogsLock)
+            {
+                // Versions start from the current time, so that versions issued before the web service was restarted are lower than any version issued after, and are treated as unavailable
+                userModelChangeLogs[userIdentifier] = new ModelChangeLog(DateTime.UtcNow.Ticks, modelChangeLogCapacity);
+            }
         }
 
         /// <summary>
@@ -117,6 +135,7 @@ public void LoadDataModelFromFile(String userIdentifier, String dataFilePath, St
             {
                 throw new Exception("Failed to open data model data file at path '" + dataFilePath + "'.", e);
             }
+            GetModelChangeLog(userIdentifier).Clear();
         }
 
         /// <summary>
@@ -153,6 +172,7 @@ public virtual void SetDefaultObjectOwner(String defaultObjectOwner, String auth
             // Call data layer method
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].DefaultObjectOwner = defaultObjectOwner;
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).IncrementVersion();
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "SetDefaultObjectOwner(defaultObjectOwner)", trackingData);
         }
@@ -282,6 +302,7 @@ public virtual void AddObjectPermissionSet(String objectName, String objectType,
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             IRoleToPermissionMapCollection convertedObjectPermissions = containerObjectConverter.Convert(objectPermissions);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, convertedObjectPermissions);
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).RecordChange(ModelChangeType.ObjectAdded, objectName);
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "AddObjectPermissionSet(objectName, objectType, objectOwner, addFlag, removeFlag, objectPermissions)", trackingData);
         }
@@ -300,6 +321,7 @@ public virtual void RemoveObjectPermissionSet(String objectName, String authenti
             // Call data layer method
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].RemoveObjectPermissionSet(objectName);
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).RecordChange(ModelChangeType.ObjectRemoved, objectName);
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "RemoveObjectPermissionSet(objectName)", trackingData);
         }
@@ -406,6 +428,7 @@ public virtual void SetAddFlag(String objectName, bool addFlagValue, String auth
             // Call data layer method
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].SetAddFlag(objectName, addFlagValue);
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).RecordChange(ModelChangeType.ObjectModified, objectName);
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "SetAddFlag(objectName, addFlagValue)", trackingData);
         }
@@ -425,6 +448,7 @@ public virtual void SetRemoveFlag(String objectName, bool removeFlagValue, Strin
             // Call data layer method
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].SetRemoveFlag(objectName, removeFlagValue);
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).RecordChange(ModelChangeType.ObjectModified, objectName);
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "SetRemoveFlag(objectName, removeFlagValue)", trackingData);
         }
@@ -445,6 +469,7 @@ public virtual void AddPermission(String objectName, String role, String permiss
             // Call data layer method
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].AddPermission(objectName, role, permission);
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).RecordChange(ModelChangeType.ObjectModified, objectName);
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "AddPermission(objectName, role, permission)", trackingData);
         }
@@ -465,6 +490,7 @@ public virtual void RemovePermission(String objectName, String role, String perm
             // Call data layer method
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].RemovePermission(objectName, role, permission);
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).RecordChange(ModelChangeType.ObjectModified, objectName);
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "RemovePermission(objectName, role, permission)", trackingData);
         }
@@ -505,6 +531,7 @@ public virtual void AddRoleToUserMap(String role, String user, String authentica
             // Call data layer method
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].AddRoleToUserMap(role, user);
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).RecordChange(ModelChangeType.RoleToUserMapAdded, CreateRoleToUserMapKey(role, user));
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "AddRoleToUserMap(role, user)", trackingData);
         }
@@ -524,6 +551,7 @@ public virtual void RemoveRoleToUserMap(String role, String user, String authent
             // Call data layer method
             ValidateUser(deserializedAuthenticationContext.UserIdentifier);
             userDataRepository[deserializedAuthenticationContext.UserIdentifier].RemoveRoleToUserMap(role, user);
+            GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).RecordChange(ModelChangeType.RoleToUserMapRemoved, CreateRoleToUserMapKey(role, user));
 
             LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "RemoveRoleToUserMap(role, user)", trackingData);
         }
@@ -598,6 +626,108 @@ public virtual String CreateSynonymScript(String scriptType, String authenticati
             return synonymScript;
         }
 
+        /// <summary>
+        /// Executes a batch of operations which modify the data layer, in the order they appear in the batch.
+        /// </summary>
+        /// <param name="operations">The operations to execute.</param>
+        /// <param name="authenticationContext">The authentication context of the web service consumer or user.</param>
+        /// <param name="trackingData">Tracking information of the web service consumer or user.</param>
+        /// <returns>The result of each operation, in the same order as the operations were provided.</returns>
+        /// <remarks>The failure of an individual operation is reported in its result, and does not prevent subsequent operations in the batch from being executed.</remarks>
+        public virtual List<ModelOperationResult> ExecuteBatch(List<ModelOperation> operations, String authenticationContext, String trackingData)
+        {
+            // Deserialize parameters
+            AuthenticationContext deserializedAuthenticationContext = jsonSerializer.DeserializeAuthenticationContext(authenticationContext);
+
+            // Call data layer methods
+            ValidateUser(deserializedAuthenticationContext.UserIdentifier);
+            OraclePermissionGeneratorDataInterfaceLayer dataInterfaceLayer = userDataRepository[deserializedAuthenticationContext.UserIdentifier];
+            ModelChangeLog changeLog = GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier);
+            List<ModelOperationResult> results = new List<ModelOperationResult>(operations.Count);
+            foreach (ModelOperation currentOperation in operations)
+            {
+                ModelOperationResult currentResult = new ModelOperationResult();
+                try
+                {
+                    ExecuteOperation(dataInterfaceLayer, currentOperation);
+                    changeLog.RecordChange(ModelChangeType.ObjectModified, currentOperation.ObjectName);
+                    currentResult.Success = true;
+                }
+                catch (Exception e)
+                {
+                    currentResult.Success = false;
+                    currentResult.ErrorMessage = e.Message;
+                }
+                results.Add(currentResult);
+            }
+
+            LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "ExecuteBatch(operations)", trackingData);
+
+            return results;
+        }
+
+        /// <summary>
+        /// Validates a set of candidate Oracle objects and role to user mappings against the data model in a single operation.
+        /// </summary>
+        /// <param name="objects">The candidate objects.  Only the ObjectName, ObjectType and ObjectOwner properties are validated.</param>
+        /// <param name="roleToUserMaps">The candidate role to user mappings.</param>
+        /// <param name="authenticationContext">The authentication context of the web service consumer or user.</param>
+        /// <param name="trackingData">Tracking information of the web service consumer or user.</param>
+        /// <returns>The result of validating each field of each object and each role to user mapping, in the same order as the objects and mappings were provided.</returns>
+        public virtual EntityValidationResults ValidateEntities(List<Containers.OracleObjectPermissionSet> objects, List<RoleToUserMap> roleToUserMaps, String authenticationContext, String trackingData)
+        {
+            // Deserialize parameters
+            AuthenticationContext deserializedAuthenticationContext = jsonSerializer.DeserializeAuthenticationContext(authenticationContext);
+
+            // Call data layer methods
+            ValidateUser(deserializedAuthenticationContext.UserIdentifier);
+            OraclePermissionGeneratorDataInterfaceLayer dataInterfaceLayer = userDataRepository[deserializedAuthenticationContext.UserIdentifier];
+            EntityValidationResults results = new EntityValidationResults();
+            results.ObjectResults = new List<ObjectValidationResult>(objects.Count);
+            foreach (Containers.OracleObjectPermissionSet currentObject in objects)
+            {
+                ObjectValidationResult currentResult = new ObjectValidationResult();
+                currentResult.ObjectNameResult = containerObjectConverter.Convert(dataInterfaceLayer.ObjectNameValidate(currentObject.ObjectName));
+                currentResult.ObjectTypeResult = containerObjectConverter.Convert(dataInterfaceLayer.ObjectTypeValidate(currentObject.ObjectType));
+                currentResult.ObjectOwnerResult = containerObjectConverter.Convert(dataInterfaceLayer.ObjectOwnerValidate(currentObject.ObjectOwner));
+                results.ObjectResults.Add(currentResult);
+            }
+            results.RoleToUserMapResults = new List<Containers.ValidationResult>(roleToUserMaps.Count);
+            foreach (RoleToUserMap currentRoleToUserMap in roleToUserMaps)
+            {
+                results.RoleToUserMapResults.Add(containerObjectConverter.Convert(dataInterfaceLayer.RoleToUserMapValidate(currentRoleToUserMap.Role, currentRoleToUserMap.User)));
+            }
+
+            LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "ValidateEntities(objects, roleToUserMaps)", trackingData);
+
+            return results;
+        }
+
+        /// <summary>
+        /// Returns the changes made to the Oracle objects and role to user mappings in the data layer since the specified version of the data model.
+        /// </summary>
+        /// <param name="modelVersion">The version of the data model to return the changes since, as returned in the ModelVersion property of a previous change set.  Any version not issued by this instance of the web service (e.g. 0) results in a change set with the SnapshotRequired property set true.</param>
+        /// <param name="authenticationContext">The authentication context of the web service consumer or user.</param>
+        /// <param name="trackingData">Tracking information of the web service consumer or user.</param>
+        /// <returns>The changes, or a change set with the SnapshotRequired property set true if the changes are not available or are too numerous to return.</returns>
+        /// <remarks>Objects and role to user mappings are returned in their current state rather than the state after each individual change, hence applying a change set to a model which already includes some of the changes gives the same result.</remarks>
+        public virtual ModelChangeSet GetChangesSince(Int64 modelVersion, String authenticationContext, String trackingData)
+        {
+            // Deserialize parameters
+            AuthenticationContext deserializedAuthenticationContext = jsonSerializer.DeserializeAuthenticationContext(authenticationContext);
+
+            // Call data layer methods
+            ValidateUser(deserializedAuthenticationContext.UserIdentifier);
+            Int64 currentVersion;
+            List<ModelChange> changes = GetModelChangeLog(deserializedAuthenticationContext.UserIdentifier).GetChangesSince(modelVersion, out currentVersion);
+            ModelChangeSet changeSet = BuildModelChangeSet(userDataRepository[deserializedAuthenticationContext.UserIdentifier], changes);
+            changeSet.ModelVersion = currentVersion;
+
+            LogTrackingData(deserializedAuthenticationContext.UserIdentifier, "GetChangesSince(modelVersion)", trackingData);
+
+            return changeSet;
+        }
+
         /// <summary>
         /// Throws an exception if the inputted user cannot be validated.
         /// </summary>
@@ -610,6 +740,144 @@ protected void ValidateUser(string userIdentifier)
             }
         }
 
+        /// <summary>
+        /// Returns the log of changes made to the specified user's data model.
+        /// </summary>
+        /// <param name="userIdentifier">The unique identifier of the user.</param>
+        /// <returns>The change log.</returns>
+        protected ModelChangeLog GetModelChangeLog(string userIdentifier)
+        {
+            lock (userModelChangeLogsLock)
+            {
+                ModelChangeLog changeLog;
+                if (userModelChangeLogs.TryGetValue(userIdentifier, out changeLog) == false)
+                {
+                    // Users added to the data repository directly rather than via AddUser()
+                    changeLog = new ModelChangeLog(DateTime.UtcNow.Ticks, modelChangeLogCapacity);
+                    userModelChangeLogs.Add(userIdentifier, changeLog);
+                }
+                return changeLog;
+            }
+        }
+
+        /// <summary>
+        /// Returns an entity tag which identifies the current version of the specified user's data model.  The entity tag changes whenever the data model is changed, or the web service is restarted.
+        /// </summary>
+        /// <param name="userIdentifier">The unique identifier of the user.</param>
+        /// <returns>The entity tag.</returns>
+        protected String GetModelEntityTag(string userIdentifier)
+        {
+            return instanceIdentifier.ToString("N") + "-" + GetModelChangeLog(userIdentifier).CurrentVersion.ToString();
+        }
+
+        /// <summary>
+        /// Builds a ModelChangeSet from the specified changes, containing the current state of each changed object and role to user mapping.
+        /// </summary>
+        /// <param name="dataInterfaceLayer">The data interface layer the changes were made to.</param>
+        /// <param name="changes">The changes in the order they were made, or null if the changes are not available.</param>
+        /// <returns>The change set.</returns>
+        protected ModelChangeSet BuildModelChangeSet(OraclePermissionGeneratorDataInterfaceLayer dataInterfaceLayer, List<ModelChange> changes)
+        {
+            ModelChangeSet changeSet = new ModelChangeSet();
+            if (changes == null)
+            {
+                changeSet.SnapshotRequired = true;
+                return changeSet;
+            }
+
+            // Record the first change to each item, which determines whether the item existed before the changes were made
+            Dictionary<String, ModelChangeType> firstObjectChanges = new Dictionary<String, ModelChangeType>();
+            Dictionary<String, ModelChangeType> firstRoleToUserMapChanges = new Dictionary<String, ModelChangeType>();
+            foreach (ModelChange currentChange in changes)
+            {
+                Dictionary<String, ModelChangeType> firstChanges = firstObjectChanges;
+                if (currentChange.ChangeType == ModelChangeType.RoleToUserMapAdded || currentChange.ChangeType == ModelChangeType.RoleToUserMapRemoved)
+                {
+                    firstChanges = firstRoleToUserMapChanges;
+                }
+                if (firstChanges.ContainsKey(currentChange.ItemKey) == false)
+                {
+                    firstChanges.Add(currentChange.ItemKey, currentChange.ChangeType);
+                }
+            }
+            if (firstObjectChanges.Count + firstRoleToUserMapChanges.Count > maximumChangeSetSize)
+            {
+                changeSet.SnapshotRequired = true;
+                return changeSet;
+            }
+
+            if (firstObjectChanges.Count > 0)
+            {
+                List<IGenerateableOracleObjectPermissionSet> changedObjects = new List<IGenerateableOracleObjectPermissionSet>();
+                HashSet<String> currentObjectNames = new HashSet<String>();
+                foreach (IGenerateableOracleObjectPermissionSet currentObject in dataInterfaceLayer.GetObjects())
+                {
+                    if (firstObjectChanges.ContainsKey(currentObject.ObjectName) == true)
+                    {
+                        changedObjects.Add(currentObject);
+                        currentObjectNames.Add(currentObject.ObjectName);
+                    }
+                }
+                foreach (Containers.OracleObjectPermissionSet currentObject in containerObjectConverter.Convert(changedObjects))
+                {
+                    if (firstObjectChanges[currentObject.ObjectName] == ModelChangeType.ObjectAdded)
+                    {
+                        changeSet.AddedObjects.Add(currentObject);
+                    }
+                    else
+                    {
+                        changeSet.ModifiedObjects.Add(currentObject);
+                    }
+                }
+                foreach (KeyValuePair<String, ModelChangeType> currentObjectChange in firstObjectChanges)
+                {
+                    // Objects which were added and then removed again do not need to be included
+                    if (currentObjectNames.Contains(currentObjectChange.Key) == false && currentObjectChange.Value != ModelChangeType.ObjectAdded)
+                    {
+                        changeSet.RemovedObjectNames.Add(currentObjectChange.Key);
+                    }
+                }
+            }
+
+            if (firstRoleToUserMapChanges.Count > 0)
+            {
+                HashSet<String> currentRoleToUserMapKeys = new HashSet<String>();
+                foreach (RoleToUserMap currentRoleToUserMap in containerObjectConverter.Convert(dataInterfaceLayer.GetMasterRoleToUserMapCollection()))
+                {
+                    String currentKey = CreateRoleToUserMapKey(currentRoleToUserMap.Role, currentRoleToUserMap.User);
+                    currentRoleToUserMapKeys.Add(currentKey);
+                    if (firstRoleToUserMapChanges.ContainsKey(currentKey) == true && firstRoleToUserMapChanges[currentKey] == ModelChangeType.RoleToUserMapAdded)
+                    {
+                        changeSet.AddedRoleToUserMaps.Add(currentRoleToUserMap);
+                    }
+                }
+                foreach (KeyValuePair<String, ModelChangeType> currentRoleToUserMapChange in firstRoleToUserMapChanges)
+                {
+                    if (currentRoleToUserMapKeys.Contains(currentRoleToUserMapChange.Key) == false && currentRoleToUserMapChange.Value == ModelChangeType.RoleToUserMapRemoved)
+                    {
+                        String[] keyParts = currentRoleToUserMapChange.Key.Split('\0');
+                        RoleToUserMap removedRoleToUserMap = new RoleToUserMap();
+                        removedRoleToUserMap.Role = keyParts[0];
+                        removedRoleToUserMap.User = keyParts[1];
+                        changeSet.RemovedRoleToUserMaps.Add(removedRoleToUserMap);
+                    }
+                }
+            }
+
+            return changeSet;
+        }
+
+        /// <summary>
+        /// Creates a key which identifies a role to user mapping in a ModelChangeLog.
+        /// </summary>
+        /// <param name="role">The role in the mapping.</param>
+        /// <param name="user">The user in the mapping.</param>
+        /// <returns>The key.</returns>
+        protected String CreateRoleToUserMapKey(String role, String user)
+        {
+            return role + '\0' + user;
+        }
+
         /// <summary>
         /// If the provided serialized tracking data parameter is not null, deserializes the tracking data and logs it.
         /// </summary>
@@ -655,6 +923,32 @@ protected PermissionScriptGenerator BuildPermissionScriptGenerator(OraclePermiss
             return permissionScriptGenerator;
         }
 
+        /// <summary>
+        /// Executes a single operation from a batch against the specified data interface layer.
+        /// </summary>
+        /// <param name="dataInterfaceLayer">The data interface layer to execute the operation against.</param>
+        /// <param name="operation">The operation to execute.</param>
+        protected void ExecuteOperation(OraclePermissionGeneratorDataInterfaceLayer dataInterfaceLayer, ModelOperation operation)
+        {
+            switch (operation.OperationType)
+            {
+                case "AddPermission":
+                    dataInterfaceLayer.AddPermission(operation.ObjectName, operation.Role, operation.Permission);
+                    break;
+                case "RemovePermission":
+                    dataInterfaceLayer.RemovePermission(operation.ObjectName, operation.Role, operation.Permission);
+                    break;
+                case "SetAddFlag":
+                    dataInterfaceLayer.SetAddFlag(operation.ObjectName, operation.FlagValue);
+                    break;
+                case "SetRemoveFlag":
+                    dataInterfaceLayer.SetRemoveFlag(operation.ObjectName, operation.FlagValue);
+                    break;
+                default:
+                    throw new ArgumentException("The string '" + operation.OperationType + "' is not a valid operation type.");
+            }
+        }
+
         /// <summary>
         /// Attempts to deserialize the inputted string into a ScriptType enum.
         /// </summary>
@@ -0,0 +1,15 @@
+GRANT SELECT ON APPLICATION_STATS TO XYZON_APP_ROLE;
+GRANT INSERT ON APPLICATION_STATS TO XYZON_APP_ROLE;
+GRANT UPDATE ON APPLICATION_STATS TO XYZON_APP_ROLE;
+GRANT DELETE ON APPLICATION_STATS TO XYZON_APP_ROLE;
+REVOKE SELECT ON VW_ORDER_STATUSES FROM XYZON_APP_ROLE;
+REVOKE EXECUTE ON SP_ORDER_STATUSES_INS FROM XYZON_APP_ROLE;
+REVOKE EXECUTE ON SP_ORDER_STATUSES_UPD FROM XYZON_APP_ROLE;
+GRANT SELECT ON APPLICATION_STATS TO XYZON_POWER_ROLE;
+REVOKE SELECT ON ORDER_STATUSES FROM XYZON_POWER_ROLE;
+REVOKE SELECT ON VW_ORDER_STATUSES FROM XYZON_POWER_ROLE;
+REVOKE EXECUTE ON SP_ORDER_STATUSES_INS FROM XYZON_POWER_ROLE;
+REVOKE EXECUTE ON SP_ORDER_STATUSES_UPD FROM XYZON_POWER_ROLE;
+GRANT SELECT ON APPLICATION_STATS TO XYZON_READ_ROLE;
+REVOKE SELECT ON ORDER_STATUSES FROM XYZON_READ_ROLE;
+REVOKE SELECT ON VW_ORDER_STATUSES FROM XYZON_READ_ROLE;
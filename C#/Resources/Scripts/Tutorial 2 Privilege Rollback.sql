@@ -0,0 +1,6 @@
+GRANT SELECT ON APPLICATION_STATS TO XYZON_APP_ROLE;
+GRANT INSERT ON APPLICATION_STATS TO XYZON_APP_ROLE;
+GRANT UPDATE ON APPLICATION_STATS TO XYZON_APP_ROLE;
+GRANT DELETE ON APPLICATION_STATS TO XYZON_APP_ROLE;
+GRANT SELECT ON APPLICATION_STATS TO XYZON_POWER_ROLE;
+GRANT SELECT ON APPLICATION_STATS TO XYZON_READ_ROLE;
@@ -0,0 +1,9 @@
+GRANT SELECT ON VW_ORDER_STATUSES TO XYZON_APP_ROLE;
+GRANT EXECUTE ON SP_ORDER_STATUSES_INS TO XYZON_APP_ROLE;
+GRANT EXECUTE ON SP_ORDER_STATUSES_UPD TO XYZON_APP_ROLE;
+GRANT SELECT ON ORDER_STATUSES TO XYZON_POWER_ROLE;
+GRANT SELECT ON VW_ORDER_STATUSES TO XYZON_POWER_ROLE;
+GRANT EXECUTE ON SP_ORDER_STATUSES_INS TO XYZON_POWER_ROLE;
+GRANT EXECUTE ON SP_ORDER_STATUSES_UPD TO XYZON_POWER_ROLE;
+GRANT SELECT ON ORDER_STATUSES TO XYZON_READ_ROLE;
+GRANT SELECT ON VW_ORDER_STATUSES TO XYZON_READ_ROLE;
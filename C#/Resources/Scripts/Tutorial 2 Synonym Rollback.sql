@@ -0,0 +1,15 @@
+CREATE SYNONYM XYZON_APP_USER.APPLICATION_STATS FOR XYZON.APPLICATION_STATS;
+DROP SYNONYM XYZON_APP_USER.VW_ORDER_STATUSES;
+DROP SYNONYM XYZON_APP_USER.SP_ORDER_STATUSES_INS;
+DROP SYNONYM XYZON_APP_USER.SP_ORDER_STATUSES_UPD;
+CREATE SYNONYM XYZON_POWER_USER.APPLICATION_STATS FOR XYZON.APPLICATION_STATS;
+DROP SYNONYM XYZON_POWER_USER.ORDER_STATUSES;
+DROP SYNONYM XYZON_POWER_USER.VW_ORDER_STATUSES;
+DROP SYNONYM XYZON_POWER_USER.SP_ORDER_STATUSES_INS;
+DROP SYNONYM XYZON_POWER_USER.SP_ORDER_STATUSES_UPD;
+CREATE SYNONYM JONES_SAM.APPLICATION_STATS FOR XYZON.APPLICATION_STATS;
+CREATE SYNONYM SMITH_JOHN.APPLICATION_STATS FOR XYZON.APPLICATION_STATS;
+DROP SYNONYM JONES_SAM.ORDER_STATUSES;
+DROP SYNONYM SMITH_JOHN.ORDER_STATUSES;
+DROP SYNONYM JONES_SAM.VW_ORDER_STATUSES;
+DROP SYNONYM SMITH_JOHN.VW_ORDER_STATUSES;
@@ -0,0 +1,15 @@
+DROP SYNONYM XYZON_APP_USER.APPLICATION_STATS;
+CREATE SYNONYM XYZON_APP_USER.VW_ORDER_STATUSES FOR XYZON.VW_ORDER_STATUSES;
+CREATE SYNONYM XYZON_APP_USER.SP_ORDER_STATUSES_INS FOR XYZON.SP_ORDER_STATUSES_INS;
+CREATE SYNONYM XYZON_APP_USER.SP_ORDER_STATUSES_UPD FOR XYZON.SP_ORDER_STATUSES_UPD;
+DROP SYNONYM XYZON_POWER_USER.APPLICATION_STATS;
+CREATE SYNONYM XYZON_POWER_USER.ORDER_STATUSES FOR XYZON.ORDER_STATUSES;
+CREATE SYNONYM XYZON_POWER_USER.VW_ORDER_STATUSES FOR XYZON.VW_ORDER_STATUSES;
+CREATE SYNONYM XYZON_POWER_USER.SP_ORDER_STATUSES_INS FOR XYZON.SP_ORDER_STATUSES_INS;
+CREATE SYNONYM XYZON_POWER_USER.SP_ORDER_STATUSES_UPD FOR XYZON.SP_ORDER_STATUSES_UPD;
+DROP SYNONYM JONES_SAM.APPLICATION_STATS;
+DROP SYNONYM SMITH_JOHN.APPLICATION_STATS;
+CREATE SYNONYM JONES_SAM.ORDER_STATUSES FOR XYZON.ORDER_STATUSES;
+CREATE SYNONYM SMITH_JOHN.ORDER_STATUSES FOR XYZON.ORDER_STATUSES;
+CREATE SYNONYM JONES_SAM.VW_ORDER_STATUSES FOR XYZON.VW_ORDER_STATUSES;
+CREATE SYNONYM SMITH_JOHN.VW_ORDER_STATUSES FOR XYZON.VW_ORDER_STATUSES;